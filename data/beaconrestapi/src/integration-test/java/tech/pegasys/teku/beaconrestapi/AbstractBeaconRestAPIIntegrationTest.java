@@ -34,6 +34,7 @@ import org.junit.jupiter.api.BeforeEach;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.infrastructure.async.SyncAsyncRunner;
 import tech.pegasys.teku.infrastructure.events.EventChannels;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
 import tech.pegasys.teku.networking.eth2.Eth2P2PNetwork;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
@@ -44,6 +45,7 @@ import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.statetransition.OperationPool;
 import tech.pegasys.teku.statetransition.attestation.AggregatingAttestationPool;
 import tech.pegasys.teku.statetransition.attestation.AttestationManager;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.statetransition.block.BlockManager;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
@@ -94,6 +96,8 @@ public abstract class AbstractBeaconRestAPIIntegrationTest {
             spec,
             recentChainData,
             combinedChainDataClient,
+            new BlockEncodingCache(
+                new StubMetricsSystem(), BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES),
             eth2P2PNetwork,
             syncService,
             validatorApiChannel,
@@ -125,7 +125,7 @@ public class BeaconRestApi {
 
     addExceptionHandlers();
     addStandardApiHandlers(dataProvider, eventChannels, asyncRunner, configuration);
-    addTekuSpecificHandlers(dataProvider);
+    addTekuSpecificHandlers(dataProvider, asyncRunner);
   }
 
   private void addStandardApiHandlers(
@@ -133,12 +133,12 @@ public class BeaconRestApi {
       final EventChannels eventChannels,
       final AsyncRunner asyncRunner,
       final BeaconRestApiConfig configuration) {
-    addBeaconHandlers(dataProvider);
+    addBeaconHandlers(dataProvider, asyncRunner);
     addEventHandler(dataProvider, eventChannels, asyncRunner, configuration);
     addNodeHandlers(dataProvider);
     addValidatorHandlers(dataProvider);
     addConfigHandlers(dataProvider, configuration.getEth1DepositContractAddress());
-    addDebugHandlers(dataProvider);
+    addDebugHandlers(dataProvider, asyncRunner);
   }
 
   private void addConfigHandlers(
@@ -150,12 +150,13 @@ public class BeaconRestApi {
     app.get(GetSpec.ROUTE, new GetSpec(dataProvider, jsonProvider));
   }
 
-  private void addDebugHandlers(final DataProvider dataProvider) {
+  private void addDebugHandlers(final DataProvider dataProvider, final AsyncRunner asyncRunner) {
     app.get(GetChainHeads.ROUTE, new GetChainHeads(dataProvider, jsonProvider));
     app.get(
         tech.pegasys.teku.beaconrestapi.handlers.v1.debug.GetState.ROUTE,
-        new tech.pegasys.teku.beaconrestapi.handlers.v1.debug.GetState(dataProvider, jsonProvider));
-    app.get(GetState.ROUTE, new GetState(dataProvider, jsonProvider));
+        new tech.pegasys.teku.beaconrestapi.handlers.v1.debug.GetState(
+            dataProvider, jsonProvider, asyncRunner));
+    app.get(GetState.ROUTE, new GetState(dataProvider, jsonProvider, asyncRunner));
   }
 
   private void addHostAllowlistHandler(final BeaconRestApiConfig configuration) {
@@ -280,10 +281,11 @@ public class BeaconRestApi {
     return options;
   }
 
-  private void addTekuSpecificHandlers(final DataProvider provider) {
+  private void addTekuSpecificHandlers(final DataProvider provider, final AsyncRunner asyncRunner) {
     app.put(PutLogLevel.ROUTE, new PutLogLevel(jsonProvider));
-    app.get(GetSszState.ROUTE, new GetSszState(provider, jsonProvider));
-    app.get(GetStateByBlockRoot.ROUTE, new GetStateByBlockRoot(provider, jsonProvider));
+    app.get(GetSszState.ROUTE, new GetSszState(provider, jsonProvider, asyncRunner));
+    app.get(
+        GetStateByBlockRoot.ROUTE, new GetStateByBlockRoot(provider, jsonProvider, asyncRunner));
     app.get(Liveness.ROUTE, new Liveness());
     app.get(Readiness.ROUTE, new Readiness(provider));
     app.get(GetAllBlocksAtSlot.ROUTE, new GetAllBlocksAtSlot(provider, jsonProvider));
@@ -334,7 +336,7 @@ public class BeaconRestApi {
         PostContributionAndProofs.ROUTE, new PostContributionAndProofs(dataProvider, jsonProvider));
   }
 
-  private void addBeaconHandlers(final DataProvider dataProvider) {
+  private void addBeaconHandlers(final DataProvider dataProvider, final AsyncRunner asyncRunner) {
     app.get(GetGenesis.ROUTE, new GetGenesis(dataProvider, jsonProvider));
     app.get(GetStateRoot.ROUTE, new GetStateRoot(dataProvider, jsonProvider));
     app.get(GetStateFork.ROUTE, new GetStateFork(dataProvider, jsonProvider));
@@ -357,7 +359,7 @@ public class BeaconRestApi {
     app.get(
         tech.pegasys.teku.beaconrestapi.handlers.v2.beacon.GetBlock.ROUTE,
         new tech.pegasys.teku.beaconrestapi.handlers.v2.beacon.GetBlock(
-            dataProvider, jsonProvider));
+            dataProvider, jsonProvider, asyncRunner));
 
     app.get(GetBlockRoot.ROUTE, new GetBlockRoot(dataProvider, jsonProvider));
     app.get(GetBlockAttestations.ROUTE, new GetBlockAttestations(dataProvider, jsonProvider));
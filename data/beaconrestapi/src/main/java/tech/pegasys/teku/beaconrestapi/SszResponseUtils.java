@@ -0,0 +1,45 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi;
+
+import io.javalin.http.Context;
+import java.io.IOException;
+import tech.pegasys.teku.api.response.SszResponse;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+public class SszResponseUtils {
+
+  /**
+   * Writes the SSZ response straight to the servlet output stream as it is serialized rather than
+   * handing Javalin a fully serialized copy, so large states are never duplicated in memory.
+   */
+  public static void writeSszResponse(final Context ctx, final SszResponse response)
+      throws IOException {
+    ctx.contentType("application/octet-stream");
+    ctx.header("Content-Disposition", "filename=\"" + response.getFilename() + "\"");
+    ctx.res.setContentLength(response.getSize());
+    response.writeTo(ctx.res.getOutputStream());
+  }
+
+  /**
+   * Writes the SSZ response on the given async runner. The response future is usually completed by
+   * a storage or state regeneration thread, which must not be held while a slow client reads a
+   * large state.
+   */
+  public static SafeFuture<Void> writeSszResponseAsync(
+      final Context ctx, final SszResponse response, final AsyncRunner asyncRunner) {
+    return asyncRunner.runAsync(() -> writeSszResponse(ctx, response));
+  }
+}
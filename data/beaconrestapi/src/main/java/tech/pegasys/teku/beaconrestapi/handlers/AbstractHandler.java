@@ -13,13 +13,25 @@
 
 package tech.pegasys.teku.beaconrestapi.handlers;
 
+import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
+import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static tech.pegasys.teku.beaconrestapi.SszResponseUtils.writeSszResponseAsync;
+
+import com.google.common.base.Throwables;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import tech.pegasys.teku.api.response.SszResponse;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailure;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 
 public abstract class AbstractHandler implements Handler {
   protected final JsonProvider jsonProvider;
@@ -94,21 +106,17 @@ public abstract class AbstractHandler implements Handler {
             }));
   }
 
-  protected <T> void handleOptionalSszResult(
-      final Context ctx,
-      SafeFuture<Optional<T>> future,
-      ResultSszProcessor<T> resultProcessor,
-      SszFilenameFromResult<T> resultFilename,
-      final int missingStatus) {
+  /**
+   * Completes the request with a JSON response body that is generated while it is written, such as
+   * those produced by {@link tech.pegasys.teku.provider.JsonStreamingInputStream}.
+   */
+  protected void handleOptionalJsonStreamResult(
+      final Context ctx, SafeFuture<Optional<InputStream>> future, final int missingStatus) {
     ctx.result(
-        future.thenApplyChecked(
+        future.thenApply(
             result -> {
               if (result.isPresent()) {
-                ctx.contentType("application/octet-stream");
-                ctx.header(
-                    "Content-Disposition",
-                    "filename=\"" + resultFilename.getFilename(result.get()) + "\"");
-                return resultProcessor.process(ctx, result.get()).orElse(null);
+                return result.get();
               } else {
                 ctx.status(missingStatus);
                 ctx.result(BadRequest.serialize(jsonProvider, missingStatus, "Not found"));
@@ -117,21 +125,66 @@ public abstract class AbstractHandler implements Handler {
             }));
   }
 
-  @FunctionalInterface
-  public interface ResultProcessor<T> {
-    // Process result, returning an optional serialized response
-    Optional<String> process(Context context, T result) throws Exception;
+  protected void handleOptionalSszResult(
+      final Context ctx,
+      SafeFuture<Optional<SszResponse>> future,
+      final int missingStatus,
+      final AsyncRunner asyncRunner) {
+    ctx.result(
+        future.thenCompose(
+            result -> {
+              if (result.isPresent()) {
+                return writeSszResponseAsync(ctx, result.get(), asyncRunner);
+              } else {
+                ctx.status(missingStatus);
+                ctx.result(BadRequest.serialize(jsonProvider, missingStatus, "Not found"));
+                return SafeFuture.COMPLETE;
+              }
+            }));
   }
 
-  @FunctionalInterface
-  public interface ResultSszProcessor<T> {
-    // Process result, returning an optional Ssz byte stream response
-    Optional<ByteArrayInputStream> process(Context context, T result) throws Exception;
+  /**
+   * Completes a request that submitted a list of items, responding with 200 if all items were
+   * accepted or 400 with the index and reason of each rejected item otherwise.
+   */
+  protected void handlePostDataResult(
+      final Context ctx,
+      final SafeFuture<List<SubmitDataError>> future,
+      final String failureMessage) {
+    ctx.result(
+        future
+            .thenApplyChecked(
+                errors -> {
+                  if (errors.isEmpty()) {
+                    ctx.status(SC_OK);
+                    return null;
+                  }
+                  final PostDataFailureResponse data =
+                      new PostDataFailureResponse(
+                          SC_BAD_REQUEST,
+                          failureMessage,
+                          errors.stream()
+                              .map(e -> new PostDataFailure(e.getIndex(), e.getMessage()))
+                              .collect(Collectors.toList()));
+                  ctx.status(SC_BAD_REQUEST);
+                  return jsonProvider.objectToJSON(data);
+                })
+            .exceptionallyCompose(
+                error -> {
+                  final Throwable rootCause = Throwables.getRootCause(error);
+                  if (rootCause instanceof IllegalArgumentException) {
+                    ctx.status(SC_BAD_REQUEST);
+                    return SafeFuture.of(
+                        () -> BadRequest.badRequest(jsonProvider, rootCause.getMessage()));
+                  }
+                  return SafeFuture.failedFuture(error);
+                }));
   }
 
   @FunctionalInterface
-  public interface SszFilenameFromResult<T> {
-    String getFilename(T result) throws Exception;
+  public interface ResultProcessor<T> {
+    // Process result, returning an optional serialized response
+    Optional<String> process(Context context, T result) throws Exception;
   }
 
   @FunctionalInterface
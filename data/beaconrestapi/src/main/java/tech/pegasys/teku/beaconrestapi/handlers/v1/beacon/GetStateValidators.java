@@ -27,13 +27,13 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.STATUS;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_BEACON;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.http.Context;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
 import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -43,7 +43,6 @@ import org.jetbrains.annotations.NotNull;
 import tech.pegasys.teku.api.ChainDataProvider;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.api.response.v1.beacon.GetStateValidatorsResponse;
-import tech.pegasys.teku.api.response.v1.beacon.ValidatorResponse;
 import tech.pegasys.teku.api.response.v1.beacon.ValidatorStatus;
 import tech.pegasys.teku.beaconrestapi.ListQueryParameterUtils;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
@@ -114,15 +113,10 @@ public class GetStateValidators extends AbstractHandler {
 
     final Set<ValidatorStatus> statusFilter = stateValidatorsUtil.parseStatusFilter(queryParamMap);
 
-    SafeFuture<Optional<List<ValidatorResponse>>> future =
-        chainDataProvider.getStateValidators(
+    final SafeFuture<Optional<InputStream>> future =
+        chainDataProvider.getStateValidatorsJson(
             pathParamMap.getOrDefault(PARAM_STATE_ID, "head"), validators, statusFilter);
 
-    handleOptionalResult(ctx, future, this::handleResult, SC_NOT_FOUND);
-  }
-
-  private Optional<String> handleResult(Context ctx, final List<ValidatorResponse> response)
-      throws JsonProcessingException {
-    return Optional.of(jsonProvider.objectToJSON(new GetStateValidatorsResponse(response)));
+    handleOptionalJsonStreamResult(ctx, future, SC_NOT_FOUND);
   }
 }
@@ -14,8 +14,6 @@
 package tech.pegasys.teku.beaconrestapi.handlers.v1.beacon;
 
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
-import static javax.servlet.http.HttpServletResponse.SC_OK;
-import static tech.pegasys.teku.beaconrestapi.RestApiConstants.INVALID_BODY_SUPPLIED;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_BAD_REQUEST;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_INTERNAL_ERROR;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_OK;
@@ -33,6 +31,7 @@ import java.util.Arrays;
 import java.util.List;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.api.ValidatorDataProvider;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.api.schema.Attestation;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
@@ -66,7 +65,10 @@ public class PostAttestation extends AbstractHandler {
         @OpenApiResponse(
             status = RES_OK,
             description = "The Attestation was accepted, validated, and submitted"),
-        @OpenApiResponse(status = RES_BAD_REQUEST, description = INVALID_BODY_SUPPLIED),
+        @OpenApiResponse(
+            status = RES_BAD_REQUEST,
+            description = "Errors with one or more attestations",
+            content = @OpenApiContent(from = PostDataFailureResponse.class)),
         @OpenApiResponse(status = RES_INTERNAL_ERROR)
       })
   @Override
@@ -75,8 +77,10 @@ public class PostAttestation extends AbstractHandler {
       final String body = ctx.body();
       final List<Attestation> attestations =
           Arrays.asList(jsonProvider.jsonToObject(body, Attestation[].class));
-      provider.submitAttestations(attestations);
-      ctx.status(SC_OK);
+      handlePostDataResult(
+          ctx,
+          provider.submitAttestations(attestations),
+          "Some attestations failed to publish, refer to errors for details");
     } catch (final IllegalArgumentException | JsonMappingException e) {
       ctx.result(BadRequest.badRequest(jsonProvider, e.getMessage()));
       ctx.status(SC_BAD_REQUEST);
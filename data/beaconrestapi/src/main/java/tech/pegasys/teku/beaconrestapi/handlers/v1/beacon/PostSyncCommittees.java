@@ -18,12 +18,8 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_BAD_REQUEST;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_INTERNAL_ERROR;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_OK;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_EXPERIMENTAL;
-import static tech.pegasys.teku.infrastructure.async.SafeFuture.failedFuture;
-import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_OK;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.google.common.base.Throwables;
 import io.javalin.http.Context;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
 import io.javalin.plugin.openapi.annotations.OpenApi;
@@ -32,17 +28,13 @@ import io.javalin.plugin.openapi.annotations.OpenApiRequestBody;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.api.ValidatorDataProvider;
-import tech.pegasys.teku.api.response.v1.beacon.PostSyncCommitteeFailure;
-import tech.pegasys.teku.api.response.v1.beacon.PostSyncCommitteeFailureResponse;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.api.schema.altair.SyncCommitteeSignature;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
-import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
-import tech.pegasys.teku.validator.api.SubmitCommitteeSignatureError;
 import tech.pegasys.teku.validator.api.SubmitCommitteeSignaturesResult;
 
 public class PostSyncCommittees extends AbstractHandler {
@@ -78,7 +70,7 @@ public class PostSyncCommittees extends AbstractHandler {
         @OpenApiResponse(
             status = RES_BAD_REQUEST,
             description = "Errors with one or more sync committee signature",
-            content = @OpenApiContent(from = PostSyncCommitteeFailureResponse.class)),
+            content = @OpenApiContent(from = PostDataFailureResponse.class)),
         @OpenApiResponse(status = RES_INTERNAL_ERROR)
       })
   @Override
@@ -87,46 +79,15 @@ public class PostSyncCommittees extends AbstractHandler {
       final String body = ctx.body();
       final List<SyncCommitteeSignature> signatures =
           Arrays.asList(jsonProvider.jsonToObject(body, SyncCommitteeSignature[].class));
-      final SafeFuture<SubmitCommitteeSignaturesResult> future =
-          provider.submitCommitteeSignatures(signatures);
-
-      ctx.result(
-          future
-              .thenApplyChecked(response -> handleResult(ctx, response))
-              .exceptionallyCompose(error -> handleError(ctx, error)));
-
+      handlePostDataResult(
+          ctx,
+          provider
+              .submitCommitteeSignatures(signatures)
+              .thenApply(SubmitCommitteeSignaturesResult::getErrors),
+          "Some sync committee subscriptions failed, refer to errors for details");
     } catch (final IllegalArgumentException | JsonMappingException e) {
       ctx.result(BadRequest.badRequest(jsonProvider, e.getMessage()));
       ctx.status(SC_BAD_REQUEST);
     }
   }
-
-  private String handleResult(Context ctx, final SubmitCommitteeSignaturesResult response)
-      throws JsonProcessingException {
-    final List<SubmitCommitteeSignatureError> errors = response.getErrors();
-    if (errors.isEmpty()) {
-      ctx.status(SC_OK);
-      return null;
-    }
-
-    final PostSyncCommitteeFailureResponse data =
-        new PostSyncCommitteeFailureResponse(
-            SC_BAD_REQUEST,
-            "Some sync committee subscriptions failed, refer to errors for details",
-            errors.stream()
-                .map(e -> new PostSyncCommitteeFailure(e.getIndex(), e.getMessage()))
-                .collect(Collectors.toList()));
-    ctx.status(SC_BAD_REQUEST);
-    return jsonProvider.objectToJSON(data);
-  }
-
-  private SafeFuture<String> handleError(final Context ctx, final Throwable error) {
-    final Throwable rootCause = Throwables.getRootCause(error);
-    if (rootCause instanceof IllegalArgumentException) {
-      ctx.status(SC_BAD_REQUEST);
-      return SafeFuture.of(() -> BadRequest.badRequest(jsonProvider, rootCause.getMessage()));
-    } else {
-      return failedFuture(error);
-    }
-  }
 }
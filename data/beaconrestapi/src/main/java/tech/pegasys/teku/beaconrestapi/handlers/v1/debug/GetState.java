@@ -25,10 +25,8 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_OK;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_SERVICE_UNAVAILABLE;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.SERVICE_UNAVAILABLE;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_DEBUG;
-import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_BAD_REQUEST;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
@@ -36,7 +34,7 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -44,24 +42,30 @@ import tech.pegasys.teku.api.ChainDataProvider;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.api.response.SszResponse;
 import tech.pegasys.teku.api.response.v1.debug.GetStateResponse;
-import tech.pegasys.teku.api.schema.BeaconState;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
-import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
-import tech.pegasys.teku.spec.SpecMilestone;
 
 public class GetState extends AbstractHandler implements Handler {
   public static final String ROUTE = "/eth/v1/debug/beacon/states/:state_id";
   private final ChainDataProvider chainDataProvider;
+  private final AsyncRunner asyncRunner;
 
-  public GetState(final DataProvider dataProvider, final JsonProvider jsonProvider) {
-    this(dataProvider.getChainDataProvider(), jsonProvider);
+  public GetState(
+      final DataProvider dataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
+    this(dataProvider.getChainDataProvider(), jsonProvider, asyncRunner);
   }
 
-  public GetState(final ChainDataProvider chainDataProvider, final JsonProvider jsonProvider) {
+  public GetState(
+      final ChainDataProvider chainDataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
     super(jsonProvider);
     this.chainDataProvider = chainDataProvider;
+    this.asyncRunner = asyncRunner;
   }
 
   @OpenApi(
@@ -93,38 +97,13 @@ public class GetState extends AbstractHandler implements Handler {
     if (maybeAcceptHeader.orElse("").equalsIgnoreCase(HEADER_ACCEPT_OCTET)) {
       final SafeFuture<Optional<SszResponse>> future =
           chainDataProvider.getBeaconStateSsz(pathParamMap.get(PARAM_STATE_ID));
-      handleOptionalSszResult(
-          ctx, future, this::handleSszResult, this::resultFilename, SC_NOT_FOUND);
+      handleOptionalSszResult(ctx, future, SC_NOT_FOUND, asyncRunner);
     } else {
       // accept header is not octet, could be anything else, or even not set - our default return is
       // json.
-      final SafeFuture<Optional<BeaconState>> future =
-          chainDataProvider.getBeaconState(pathParamMap.get(PARAM_STATE_ID));
-      handleOptionalResult(ctx, future, this::handleJsonResult, SC_NOT_FOUND);
+      final SafeFuture<Optional<InputStream>> future =
+          chainDataProvider.getBeaconStateJson(pathParamMap.get(PARAM_STATE_ID));
+      handleOptionalJsonStreamResult(ctx, future, SC_NOT_FOUND);
     }
   }
-
-  private String resultFilename(final SszResponse response) {
-    return response.abbreviatedHash + ".ssz";
-  }
-
-  private Optional<ByteArrayInputStream> handleSszResult(
-      final Context context, final SszResponse response) {
-    return Optional.of(response.byteStream);
-  }
-
-  private Optional<String> handleJsonResult(Context ctx, final BeaconState response)
-      throws JsonProcessingException {
-    final SpecMilestone milestone = chainDataProvider.getMilestoneAtSlot(response.slot);
-    if (!milestone.equals(SpecMilestone.PHASE0)) {
-      ctx.status(SC_BAD_REQUEST);
-      return Optional.of(
-          BadRequest.badRequest(
-              jsonProvider,
-              String.format(
-                  "Slot %s is not a phase0 slot, please fetch via /eth/v2/debug/states",
-                  response.slot)));
-    }
-    return Optional.of(jsonProvider.objectToJSON(new GetStateResponse(milestone, response)));
-  }
 }
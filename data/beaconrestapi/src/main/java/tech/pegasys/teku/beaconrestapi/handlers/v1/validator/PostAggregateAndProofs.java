@@ -15,7 +15,6 @@ package tech.pegasys.teku.beaconrestapi.handlers.v1.validator;
 
 import static java.util.Arrays.asList;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
-import static javax.servlet.http.HttpServletResponse.SC_OK;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_BAD_REQUEST;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_INTERNAL_ERROR;
 import static tech.pegasys.teku.beaconrestapi.RestApiConstants.RES_OK;
@@ -24,7 +23,6 @@ import static tech.pegasys.teku.beaconrestapi.RestApiConstants.TAG_VALIDATOR_REQ
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import io.javalin.http.Context;
-import io.javalin.http.Handler;
 import io.javalin.plugin.openapi.annotations.HttpMethod;
 import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
@@ -32,16 +30,17 @@ import io.javalin.plugin.openapi.annotations.OpenApiRequestBody;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
 import tech.pegasys.teku.api.DataProvider;
 import tech.pegasys.teku.api.ValidatorDataProvider;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.api.schema.SignedAggregateAndProof;
+import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
 import tech.pegasys.teku.beaconrestapi.schema.BadRequest;
 import tech.pegasys.teku.provider.JsonProvider;
 
-public class PostAggregateAndProofs implements Handler {
+public class PostAggregateAndProofs extends AbstractHandler {
 
   public static final String ROUTE = "/eth/v1/validator/aggregate_and_proofs";
 
   private final ValidatorDataProvider provider;
-  private final JsonProvider jsonProvider;
 
   public PostAggregateAndProofs(final DataProvider provider, final JsonProvider jsonProvider) {
     this(provider.getValidatorDataProvider(), jsonProvider);
@@ -49,7 +48,7 @@ public class PostAggregateAndProofs implements Handler {
 
   public PostAggregateAndProofs(
       final ValidatorDataProvider provider, final JsonProvider jsonProvider) {
-    this.jsonProvider = jsonProvider;
+    super(jsonProvider);
     this.provider = provider;
   }
 
@@ -65,7 +64,10 @@ public class PostAggregateAndProofs implements Handler {
           "Verifies given aggregate and proofs and publishes it on appropriate gossipsub topic.",
       responses = {
         @OpenApiResponse(status = RES_OK, description = "Successfully published aggregate."),
-        @OpenApiResponse(status = RES_BAD_REQUEST, description = "Invalid parameter supplied."),
+        @OpenApiResponse(
+            status = RES_BAD_REQUEST,
+            description = "Errors with one or more aggregate and proofs",
+            content = @OpenApiContent(from = PostDataFailureResponse.class)),
         @OpenApiResponse(status = RES_INTERNAL_ERROR, description = "Beacon node internal error.")
       })
   @Override
@@ -74,8 +76,10 @@ public class PostAggregateAndProofs implements Handler {
       final SignedAggregateAndProof[] signedAggregateAndProofs =
           jsonProvider.jsonToObject(ctx.body(), SignedAggregateAndProof[].class);
 
-      provider.sendAggregateAndProofs(asList(signedAggregateAndProofs));
-      ctx.status(SC_OK);
+      handlePostDataResult(
+          ctx,
+          provider.sendAggregateAndProofs(asList(signedAggregateAndProofs)),
+          "Some aggregate and proofs failed to publish, refer to errors for details");
     } catch (final JsonMappingException e) {
       ctx.result(jsonProvider.objectToJSON(new BadRequest(e.getMessage())));
       ctx.status(SC_BAD_REQUEST);
@@ -32,7 +32,6 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
-import java.io.ByteArrayInputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -42,6 +41,7 @@ import tech.pegasys.teku.api.response.SszResponse;
 import tech.pegasys.teku.api.response.v2.beacon.GetBlockResponseV2;
 import tech.pegasys.teku.api.schema.SignedBeaconBlock;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
 import tech.pegasys.teku.spec.SpecMilestone;
@@ -49,14 +49,22 @@ import tech.pegasys.teku.spec.SpecMilestone;
 public class GetBlock extends AbstractHandler implements Handler {
   public static final String ROUTE = "/eth/v2/beacon/blocks/:block_id";
   private final ChainDataProvider chainDataProvider;
+  private final AsyncRunner asyncRunner;
 
-  public GetBlock(final DataProvider dataProvider, final JsonProvider jsonProvider) {
-    this(dataProvider.getChainDataProvider(), jsonProvider);
+  public GetBlock(
+      final DataProvider dataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
+    this(dataProvider.getChainDataProvider(), jsonProvider, asyncRunner);
   }
 
-  public GetBlock(final ChainDataProvider chainDataProvider, final JsonProvider jsonProvider) {
+  public GetBlock(
+      final ChainDataProvider chainDataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
     super(jsonProvider);
     this.chainDataProvider = chainDataProvider;
+    this.asyncRunner = asyncRunner;
   }
 
   @OpenApi(
@@ -82,8 +90,7 @@ public class GetBlock extends AbstractHandler implements Handler {
     if (maybeAcceptHeader.orElse("").equalsIgnoreCase(HEADER_ACCEPT_OCTET)) {
       final SafeFuture<Optional<SszResponse>> future =
           chainDataProvider.getBlockSsz(blockIdentifier);
-      handleOptionalSszResult(
-          ctx, future, this::handleSszResult, this::resultFilename, SC_NOT_FOUND);
+      handleOptionalSszResult(ctx, future, SC_NOT_FOUND, asyncRunner);
 
     } else {
       final SafeFuture<Optional<SignedBeaconBlock>> future =
@@ -98,13 +105,4 @@ public class GetBlock extends AbstractHandler implements Handler {
         chainDataProvider.getMilestoneAtSlot(response.getMessage().slot);
     return Optional.of(jsonProvider.objectToJSON(new GetBlockResponseV2(milestone, response)));
   }
-
-  private String resultFilename(final SszResponse response) {
-    return response.abbreviatedHash + ".ssz";
-  }
-
-  private Optional<ByteArrayInputStream> handleSszResult(
-      final Context context, final SszResponse response) {
-    return Optional.of(response.byteStream);
-  }
 }
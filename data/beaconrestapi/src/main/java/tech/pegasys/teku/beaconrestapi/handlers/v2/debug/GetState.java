@@ -35,7 +35,6 @@ import io.javalin.plugin.openapi.annotations.OpenApi;
 import io.javalin.plugin.openapi.annotations.OpenApiContent;
 import io.javalin.plugin.openapi.annotations.OpenApiParam;
 import io.javalin.plugin.openapi.annotations.OpenApiResponse;
-import java.io.ByteArrayInputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
@@ -45,6 +44,7 @@ import tech.pegasys.teku.api.response.SszResponse;
 import tech.pegasys.teku.api.response.v2.debug.GetStateResponseV2;
 import tech.pegasys.teku.api.schema.BeaconState;
 import tech.pegasys.teku.beaconrestapi.handlers.AbstractHandler;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.provider.JsonProvider;
 import tech.pegasys.teku.spec.SpecMilestone;
@@ -52,14 +52,22 @@ import tech.pegasys.teku.spec.SpecMilestone;
 public class GetState extends AbstractHandler implements Handler {
   public static final String ROUTE = "/eth/v2/debug/beacon/states/:state_id";
   private final ChainDataProvider chainDataProvider;
+  private final AsyncRunner asyncRunner;
 
-  public GetState(final DataProvider dataProvider, final JsonProvider jsonProvider) {
-    this(dataProvider.getChainDataProvider(), jsonProvider);
+  public GetState(
+      final DataProvider dataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
+    this(dataProvider.getChainDataProvider(), jsonProvider, asyncRunner);
   }
 
-  public GetState(final ChainDataProvider chainDataProvider, final JsonProvider jsonProvider) {
+  public GetState(
+      final ChainDataProvider chainDataProvider,
+      final JsonProvider jsonProvider,
+      final AsyncRunner asyncRunner) {
     super(jsonProvider);
     this.chainDataProvider = chainDataProvider;
+    this.asyncRunner = asyncRunner;
   }
 
   @OpenApi(
@@ -90,8 +98,7 @@ public class GetState extends AbstractHandler implements Handler {
     if (maybeAcceptHeader.orElse("").equalsIgnoreCase(HEADER_ACCEPT_OCTET)) {
       final SafeFuture<Optional<SszResponse>> future =
           chainDataProvider.getBeaconStateSsz(pathParamMap.get(PARAM_STATE_ID));
-      handleOptionalSszResult(
-          ctx, future, this::handleSszResult, this::resultFilename, SC_NOT_FOUND);
+      handleOptionalSszResult(ctx, future, SC_NOT_FOUND, asyncRunner);
     } else {
       // accept header is not octet, could be anything else, or even not set - our default return is
       // json.
@@ -101,15 +108,6 @@ public class GetState extends AbstractHandler implements Handler {
     }
   }
 
-  private String resultFilename(final SszResponse response) {
-    return response.abbreviatedHash + ".ssz";
-  }
-
-  private Optional<ByteArrayInputStream> handleSszResult(
-      final Context context, final SszResponse response) {
-    return Optional.of(response.byteStream);
-  }
-
   private Optional<String> handleJsonResult(Context ctx, final BeaconState response)
       throws JsonProcessingException {
     final SpecMilestone milestone = chainDataProvider.getMilestoneAtSlot(response.slot);
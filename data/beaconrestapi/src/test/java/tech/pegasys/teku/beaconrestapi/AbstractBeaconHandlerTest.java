@@ -20,6 +20,10 @@ import static org.mockito.Mockito.verify;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.javalin.core.util.Header;
 import io.javalin.http.Context;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.api.ChainDataProvider;
 import tech.pegasys.teku.api.ConfigProvider;
@@ -78,6 +82,21 @@ public abstract class AbstractBeaconHandlerTest {
     return jsonProvider.jsonToObject(data, clazz);
   }
 
+  @SuppressWarnings("unchecked")
+  protected <T> T getResponseFromStreamFuture(Class<T> clazz) throws IOException {
+    final ArgumentCaptor<SafeFuture<InputStream>> streamArgs =
+        ArgumentCaptor.forClass(SafeFuture.class);
+    verify(context).result(streamArgs.capture());
+    final SafeFuture<InputStream> future = streamArgs.getValue();
+    assertThat(future).isCompleted();
+    return jsonProvider.getObjectMapper().readValue(future.join(), clazz);
+  }
+
+  protected InputStream toStream(final Object response) throws JsonProcessingException {
+    return new ByteArrayInputStream(
+        jsonProvider.objectToJSON(response).getBytes(StandardCharsets.UTF_8));
+  }
+
   protected BadRequest getBadRequestFromFuture() throws JsonProcessingException {
     verify(context).result(args.capture());
     SafeFuture<String> future = args.getValue();
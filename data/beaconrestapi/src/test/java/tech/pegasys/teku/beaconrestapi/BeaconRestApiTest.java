@@ -76,6 +76,7 @@ class BeaconRestApiTest {
             storageClient,
             combinedChainDataClient,
             null,
+            null,
             syncService,
             null,
             attestationPool,
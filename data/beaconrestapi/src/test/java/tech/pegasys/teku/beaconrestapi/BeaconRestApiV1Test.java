@@ -130,6 +130,7 @@ public class BeaconRestApiV1Test {
             storageClient,
             combinedChainDataClient,
             null,
+            null,
             syncService,
             null,
             attestationPool,
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.beaconrestapi.handlers.tekuv1.beacon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.beaconrestapi.RestApiConstants.PARAM_STATE_ID;
+import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
+
+import io.javalin.http.Context;
+import io.javalin.http.util.ContextUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.api.ChainDataProvider;
+import tech.pegasys.teku.api.response.SszResponse;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.provider.JsonProvider;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class GetSszStateTest {
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createMinimalPhase0());
+  private final ChainDataProvider chainDataProvider = mock(ChainDataProvider.class);
+  private final HttpServletRequest req = mock(HttpServletRequest.class);
+  private final HttpServletResponse res = mock(HttpServletResponse.class);
+  private final ByteArrayOutputStream responseBody = new ByteArrayOutputStream();
+  private final Context context =
+      ContextUtil.init(req, res, GetSszState.ROUTE, Map.of(PARAM_STATE_ID, "head"));
+
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
+  private final GetSszState handler =
+      new GetSszState(chainDataProvider, new JsonProvider(), asyncRunner);
+
+  @BeforeEach
+  void setUp() throws IOException {
+    when(res.getOutputStream()).thenReturn(new CapturingOutputStream(responseBody));
+  }
+
+  @Test
+  public void shouldWriteStateSszToResponseStream() throws Exception {
+    final BeaconState state = dataStructureUtil.randomBeaconState();
+    when(chainDataProvider.getBeaconStateSsz("head"))
+        .thenReturn(completedFuture(Optional.of(new SszResponse(state, "0x1234"))));
+
+    handler.handle(context);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(context.resultFuture()).isCompleted();
+    verify(res).setContentType("application/octet-stream");
+    verify(res).setHeader("Content-Disposition", "filename=\"0x1234.ssz\"");
+    verify(res).setContentLength(state.getSszSize());
+    assertThat(Bytes.wrap(responseBody.toByteArray())).isEqualTo(state.sszSerialize());
+  }
+
+  @Test
+  public void shouldNotWriteResponseOnThreadThatCompletedStateFuture() throws Exception {
+    final BeaconState state = dataStructureUtil.randomBeaconState();
+    final SafeFuture<Optional<SszResponse>> stateFuture = new SafeFuture<>();
+    when(chainDataProvider.getBeaconStateSsz("head")).thenReturn(stateFuture);
+
+    handler.handle(context);
+    stateFuture.complete(Optional.of(new SszResponse(state, "0x1234")));
+
+    assertThat(context.resultFuture()).isNotCompleted();
+    assertThat(responseBody.size()).isZero();
+
+    asyncRunner.executeQueuedActions();
+
+    assertThat(context.resultFuture()).isCompleted();
+    assertThat(Bytes.wrap(responseBody.toByteArray())).isEqualTo(state.sszSerialize());
+  }
+
+  @Test
+  public void shouldReturnNotFoundWhenStateIsUnavailable() throws Exception {
+    when(chainDataProvider.getBeaconStateSsz("head")).thenReturn(completedFuture(Optional.empty()));
+
+    handler.handle(context);
+
+    assertThat(context.resultFuture()).isCompleted();
+    verify(res).setStatus(SC_NOT_FOUND);
+    assertThat(responseBody.size()).isZero();
+  }
+
+  private static class CapturingOutputStream extends ServletOutputStream {
+    private final ByteArrayOutputStream out;
+
+    private CapturingOutputStream(final ByteArrayOutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(final WriteListener writeListener) {}
+
+    @Override
+    public void write(final int b) {
+      out.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      out.write(b, off, len);
+    }
+  }
+}
@@ -37,11 +37,16 @@ public class GetStateValidatorBalancesTest extends AbstractBeaconHandlerTest {
   public void shouldGetValidatorBalancesFromState() throws Exception {
     when(context.pathParamMap()).thenReturn(Map.of("state_id", "head"));
     when(context.queryParamMap()).thenReturn(Map.of("id", List.of("1", "2", "3,4")));
-    when(chainDataProvider.getStateValidatorBalances("head", List.of("1", "2", "3", "4")))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(List.of(validatorBalanceResponse))));
+    when(chainDataProvider.getStateValidatorBalancesJson("head", List.of("1", "2", "3", "4")))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                Optional.of(
+                    toStream(
+                        new GetStateValidatorBalancesResponse(
+                            List.of(validatorBalanceResponse))))));
     handler.handle(context);
     GetStateValidatorBalancesResponse response =
-        getResponseFromFuture(GetStateValidatorBalancesResponse.class);
+        getResponseFromStreamFuture(GetStateValidatorBalancesResponse.class);
     assertThat(response.data).containsExactly(validatorBalanceResponse);
   }
 }
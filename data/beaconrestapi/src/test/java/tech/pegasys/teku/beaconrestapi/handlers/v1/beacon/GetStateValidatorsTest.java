@@ -60,10 +60,13 @@ public class GetStateValidatorsTest extends AbstractBeaconHandlerTest {
   public void shouldGetValidatorFromState() throws Exception {
     when(context.pathParamMap()).thenReturn(Map.of("state_id", "head"));
     when(context.queryParamMap()).thenReturn(Map.of("id", List.of("1", "2", "3,4")));
-    when(chainDataProvider.getStateValidators("head", List.of("1", "2", "3", "4"), emptySet()))
-        .thenReturn(SafeFuture.completedFuture(Optional.of(List.of(validatorResponse))));
+    when(chainDataProvider.getStateValidatorsJson("head", List.of("1", "2", "3", "4"), emptySet()))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                Optional.of(toStream(new GetStateValidatorsResponse(List.of(validatorResponse))))));
     handler.handle(context);
-    GetStateValidatorsResponse response = getResponseFromFuture(GetStateValidatorsResponse.class);
+    GetStateValidatorsResponse response =
+        getResponseFromStreamFuture(GetStateValidatorsResponse.class);
     assertThat(response.data).containsExactly(validatorResponse);
   }
 
@@ -71,7 +74,7 @@ public class GetStateValidatorsTest extends AbstractBeaconHandlerTest {
   public void shouldGetNotFoundForMissingState() throws Exception {
     when(context.pathParamMap()).thenReturn(Map.of("state_id", "1"));
     when(context.queryParamMap()).thenReturn(Map.of("id", List.of("1")));
-    when(chainDataProvider.getStateValidators("1", List.of("1"), emptySet()))
+    when(chainDataProvider.getStateValidatorsJson("1", List.of("1"), emptySet()))
         .thenReturn(SafeFuture.completedFuture(Optional.empty()));
     handler.handle(context);
     verify(context).status(SC_NOT_FOUND);
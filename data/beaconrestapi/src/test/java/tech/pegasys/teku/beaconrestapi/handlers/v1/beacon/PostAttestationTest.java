@@ -13,8 +13,11 @@
 
 package tech.pegasys.teku.beaconrestapi.handlers.v1.beacon;
 
+import static java.util.Collections.emptyList;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,10 +26,16 @@ import io.javalin.http.Context;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.api.ValidatorDataProvider;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailure;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.api.schema.Attestation;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.provider.JsonProvider;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 
 public class PostAttestationTest {
   private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
@@ -34,6 +43,10 @@ public class PostAttestationTest {
   private ValidatorDataProvider provider = mock(ValidatorDataProvider.class);
   private final JsonProvider jsonProvider = new JsonProvider();
   private PostAttestation handler;
+
+  @SuppressWarnings("unchecked")
+  private final ArgumentCaptor<SafeFuture<String>> args = ArgumentCaptor.forClass(SafeFuture.class);
+
   final Attestation attestation = new Attestation(dataStructureUtil.randomAttestation());
 
   @BeforeEach
@@ -44,11 +57,29 @@ public class PostAttestationTest {
   @Test
   void shouldBeAbleToSubmitAttestation() throws Exception {
     when(context.body()).thenReturn(jsonProvider.objectToJSON(List.of(attestation)));
+    when(provider.submitAttestations(any())).thenReturn(SafeFuture.completedFuture(emptyList()));
     handler.handle(context);
 
     verify(context).status(SC_OK);
   }
 
+  @Test
+  void shouldReturnFailuresIfAttestationRejected() throws Exception {
+    when(context.body()).thenReturn(jsonProvider.objectToJSON(List.of(attestation)));
+    when(provider.submitAttestations(any()))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                List.of(new SubmitDataError(UInt64.ZERO, "Attestation is invalid"))));
+    handler.handle(context);
+
+    verify(context).status(SC_BAD_REQUEST);
+    verify(context).result(args.capture());
+    final PostDataFailureResponse response =
+        jsonProvider.jsonToObject(args.getValue().join(), PostDataFailureResponse.class);
+    assertThat(response.failures)
+        .containsExactly(new PostDataFailure(UInt64.ZERO, "Attestation is invalid"));
+  }
+
   @Test
   void shouldReturnBadRequestIfAttestationInvalid() throws Exception {
     when(context.body()).thenReturn("{\"a\": \"field\"}");
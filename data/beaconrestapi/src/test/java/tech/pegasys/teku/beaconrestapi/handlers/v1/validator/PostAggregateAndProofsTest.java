@@ -13,9 +13,11 @@
 
 package tech.pegasys.teku.beaconrestapi.handlers.v1.validator;
 
+import static java.util.Collections.emptyList;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 import static javax.servlet.http.HttpServletResponse.SC_OK;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -70,6 +72,8 @@ class PostAggregateAndProofsTest {
 
     String signedAggregateAndProofAsJson = jsonProvider.objectToJSON(schemaSignedAggregateAndProof);
     when(context.body()).thenReturn(signedAggregateAndProofAsJson);
+    when(provider.sendAggregateAndProofs(any()))
+        .thenReturn(SafeFuture.completedFuture(emptyList()));
 
     handler.handle(context);
 
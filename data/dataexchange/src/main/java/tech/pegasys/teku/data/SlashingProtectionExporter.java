@@ -29,6 +29,7 @@ import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.api.schema.BLSPubKey;
 import tech.pegasys.teku.api.schema.PublicKeyException;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecordJournal;
 import tech.pegasys.teku.data.slashinginterchange.Metadata;
 import tech.pegasys.teku.data.slashinginterchange.SigningHistory;
 import tech.pegasys.teku.data.slashinginterchange.SlashingProtectionInterchangeFormat;
@@ -48,12 +49,21 @@ public class SlashingProtectionExporter {
   }
 
   public void initialise(final Path slashProtectionPath) {
+    foldJournal(slashProtectionPath);
     File slashingProtectionRecords = slashProtectionPath.toFile();
     Arrays.stream(slashingProtectionRecords.listFiles())
         .filter(file -> file.isFile() && file.getName().endsWith(".yml"))
         .forEach(this::readSlashProtectionFile);
   }
 
+  private void foldJournal(final Path slashProtectionPath) {
+    try {
+      ValidatorSigningRecordJournal.foldAllSegments(syncDataAccessor, slashProtectionPath);
+    } catch (IOException e) {
+      log.exit(1, "Failed to apply slashing protection journal in " + slashProtectionPath, e);
+    }
+  }
+
   private void readSlashProtectionFile(final File file) {
     try {
       Optional<ValidatorSigningRecord> maybeRecord =
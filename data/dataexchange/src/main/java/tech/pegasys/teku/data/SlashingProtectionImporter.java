@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecordJournal;
 import tech.pegasys.teku.data.slashinginterchange.Metadata;
 import tech.pegasys.teku.data.slashinginterchange.SignedAttestation;
 import tech.pegasys.teku.data.slashinginterchange.SignedBlock;
@@ -118,6 +119,12 @@ public class SlashingProtectionImporter {
 
   public void updateLocalRecords(final Path slashingProtectionPath) {
     this.slashingProtectionPath = slashingProtectionPath;
+    try {
+      // Make sure existing records include any journaled updates before merging into them
+      ValidatorSigningRecordJournal.foldAllSegments(syncDataAccessor, slashingProtectionPath);
+    } catch (IOException e) {
+      log.exit(1, "Failed to apply slashing protection journal in " + slashingProtectionPath, e);
+    }
     data.forEach(this::updateLocalRecord);
     log.display("Updated " + data.size() + " validator slashing protection records");
   }
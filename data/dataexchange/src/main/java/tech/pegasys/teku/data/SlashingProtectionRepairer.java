@@ -25,6 +25,7 @@ import java.util.Set;
 import tech.pegasys.teku.api.schema.BLSPubKey;
 import tech.pegasys.teku.api.schema.PublicKeyException;
 import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecordJournal;
 import tech.pegasys.teku.data.slashinginterchange.SigningHistory;
 import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
 import tech.pegasys.teku.infrastructure.logging.SubCommandLogger;
@@ -56,6 +57,11 @@ public class SlashingProtectionRepairer {
 
   private void initialise(final Path slashProtectionPath) {
     this.slashingProtectionPath = slashProtectionPath;
+    try {
+      ValidatorSigningRecordJournal.foldAllSegments(syncDataAccessor, slashProtectionPath);
+    } catch (IOException e) {
+      log.exit(1, "Failed to apply slashing protection journal in " + slashProtectionPath, e);
+    }
     File slashingProtectionRecords = slashProtectionPath.toFile();
     Arrays.stream(slashingProtectionRecords.listFiles())
         .filter(file -> file.isFile() && file.getName().endsWith(".yml"))
@@ -19,13 +19,16 @@ import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 import static tech.pegasys.teku.spec.config.SpecConfig.FAR_FUTURE_EPOCH;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntFunction;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -53,11 +56,18 @@ import tech.pegasys.teku.api.schema.SignedBeaconBlock;
 import tech.pegasys.teku.api.stateselector.StateSelectorFactory;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.provider.JsonStreamingInputStream;
+import tech.pegasys.teku.provider.JsonStreamingInputStream.JsonWriteStep;
+import tech.pegasys.teku.provider.SszJsonWriter;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecMilestone;
 import tech.pegasys.teku.spec.datastructures.state.CommitteeAssignment;
 import tech.pegasys.teku.spec.datastructures.state.SyncCommittee;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.ssz.Merkleizable;
+import tech.pegasys.teku.ssz.SszList;
+import tech.pegasys.teku.ssz.collections.SszUInt64List;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.client.ChainDataUnavailableException;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -70,14 +80,17 @@ public class ChainDataProvider {
   private final SchemaObjectProvider schemaObjectProvider;
 
   private final RecentChainData recentChainData;
+  private final BlockEncodingCache blockEncodingCache;
 
   public ChainDataProvider(
       final Spec spec,
       final RecentChainData recentChainData,
-      final CombinedChainDataClient combinedChainDataClient) {
+      final CombinedChainDataClient combinedChainDataClient,
+      final BlockEncodingCache blockEncodingCache) {
     this.spec = spec;
     this.combinedChainDataClient = combinedChainDataClient;
     this.recentChainData = recentChainData;
+    this.blockEncodingCache = blockEncodingCache;
     this.schemaObjectProvider = new SchemaObjectProvider(spec);
     this.defaultBlockSelectorFactory = new BlockSelectorFactory(combinedChainDataClient);
     this.defaultStateSelectorFactory = new StateSelectorFactory(combinedChainDataClient);
@@ -132,7 +145,7 @@ public class ChainDataProvider {
                 maybeBlock.map(
                     block ->
                         new SszResponse(
-                            new ByteArrayInputStream(block.sszSerialize().toArrayUnsafe()),
+                            blockEncodingCache.lookupSsz(block),
                             block.hashTreeRoot().toUnprefixedHexString())));
   }
 
@@ -182,6 +195,38 @@ public class ChainDataProvider {
         .thenApply(maybeState -> maybeState.map(schemaObjectProvider::getBeaconState));
   }
 
+  /**
+   * Returns the state as a phase0 debug state response, written as JSON directly from the SSZ state
+   * while the response is read rather than via the {@link BeaconState} schema object.
+   */
+  public SafeFuture<Optional<InputStream>> getBeaconStateJson(final String stateIdParam) {
+    return defaultStateSelectorFactory
+        .defaultStateSelector(stateIdParam)
+        .getState()
+        .thenApply(
+            maybeState ->
+                maybeState.map(
+                    state -> {
+                      if (!getMilestoneAtSlot(state.getSlot()).equals(SpecMilestone.PHASE0)) {
+                        throw new BadRequestException(
+                            String.format(
+                                "Slot %s is not a phase0 slot, please fetch via"
+                                    + " /eth/v2/debug/states",
+                                state.getSlot()));
+                      }
+                      return new JsonStreamingInputStream(
+                          Iterators.concat(
+                              Iterators.<JsonWriteStep>singletonIterator(
+                                  gen -> {
+                                    gen.writeStartObject();
+                                    gen.writeFieldName("data");
+                                  }),
+                              SszJsonWriter.steps(state),
+                              Iterators.<JsonWriteStep>singletonIterator(
+                                  JsonGenerator::writeEndObject)));
+                    }));
+  }
+
   public SafeFuture<Optional<SszResponse>> getBeaconStateSsz(final String stateIdParam) {
     return defaultStateSelectorFactory
         .defaultStateSelector(stateIdParam)
@@ -189,10 +234,7 @@ public class ChainDataProvider {
         .thenApply(
             maybeState ->
                 maybeState.map(
-                    state ->
-                        new SszResponse(
-                            new ByteArrayInputStream(state.sszSerialize().toArrayUnsafe()),
-                            state.hashTreeRoot().toUnprefixedHexString())));
+                    state -> new SszResponse(state, state.hashTreeRoot().toUnprefixedHexString())));
   }
 
   public SafeFuture<Set<SignedBeaconBlock>> getAllBlocksAtSlot(final String slot) {
@@ -217,10 +259,7 @@ public class ChainDataProvider {
         .thenApply(
             maybeState ->
                 maybeState.map(
-                    state ->
-                        new SszResponse(
-                            new ByteArrayInputStream(state.sszSerialize().toArrayUnsafe()),
-                            state.hashTreeRoot().toUnprefixedHexString())));
+                    state -> new SszResponse(state, state.hashTreeRoot().toUnprefixedHexString())));
   }
 
   public boolean isFinalized(final SignedBeaconBlock signedBeaconBlock) {
@@ -298,6 +337,31 @@ public class ChainDataProvider {
                 maybeState.map(state -> getValidatorBalancesFromState(state, validators)));
   }
 
+  /** Streaming equivalent of {@link #getStateValidatorBalances(String, List)}. */
+  public SafeFuture<Optional<InputStream>> getStateValidatorBalancesJson(
+      final String stateIdParam, final List<String> validators) {
+    return defaultStateSelectorFactory
+        .defaultStateSelector(stateIdParam)
+        .getState()
+        .thenApply(
+            maybeState ->
+                maybeState.map(
+                    state -> {
+                      final SszUInt64List balances = state.getBalances();
+                      return streamDataArray(
+                          getValidatorSelector(state, validators)
+                              .filter(index -> index < state.getValidators().size()),
+                          index ->
+                              gen -> {
+                                gen.writeStartObject();
+                                gen.writeStringField("index", Integer.toString(index));
+                                gen.writeStringField(
+                                    "balance", balances.getElement(index).toString());
+                                gen.writeEndObject();
+                              });
+                    }));
+  }
+
   @VisibleForTesting
   List<ValidatorBalanceResponse> getValidatorBalancesFromState(
       final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState state,
@@ -344,6 +408,65 @@ public class ChainDataProvider {
                 maybeState.map(state -> getFilteredValidatorList(state, validators, statusFilter)));
   }
 
+  /**
+   * Streaming equivalent of {@link #getStateValidators(String, List, Set)}. Validators are filtered
+   * and written one at a time as the response is read, so the size of the validator registry does
+   * not affect the memory required.
+   */
+  public SafeFuture<Optional<InputStream>> getStateValidatorsJson(
+      final String stateIdParam,
+      final List<String> validators,
+      final Set<ValidatorStatus> statusFilter) {
+    return defaultStateSelectorFactory
+        .defaultStateSelector(stateIdParam)
+        .getState()
+        .thenApply(
+            maybeState ->
+                maybeState.map(state -> streamFilteredValidators(state, validators, statusFilter)));
+  }
+
+  private InputStream streamFilteredValidators(
+      final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState state,
+      final List<String> validators,
+      final Set<ValidatorStatus> statusFilter) {
+    final UInt64 epoch = spec.getCurrentEpoch(state);
+    final SszList<Validator> registry = state.getValidators();
+    final SszUInt64List balances = state.getBalances();
+    return streamDataArray(
+        getValidatorSelector(state, validators)
+            .filter(index -> index < registry.size())
+            .filter(getStatusPredicate(state, statusFilter)),
+        index ->
+            gen -> {
+              final Validator validator = registry.get(index);
+              gen.writeStartObject();
+              gen.writeStringField("index", Integer.toString(index));
+              gen.writeStringField("balance", balances.getElement(index).toString());
+              gen.writeStringField(
+                  "status", getValidatorStatus(epoch, validator, FAR_FUTURE_EPOCH).name());
+              gen.writeFieldName("validator");
+              SszJsonWriter.write(gen, validator);
+              gen.writeEndObject();
+            });
+  }
+
+  private static InputStream streamDataArray(
+      final IntStream indices, final IntFunction<JsonWriteStep> elementWriter) {
+    return new JsonStreamingInputStream(
+        Iterators.concat(
+            Iterators.<JsonWriteStep>singletonIterator(
+                gen -> {
+                  gen.writeStartObject();
+                  gen.writeArrayFieldStart("data");
+                }),
+            Iterators.transform(indices.iterator(), elementWriter::apply),
+            Iterators.<JsonWriteStep>singletonIterator(
+                gen -> {
+                  gen.writeEndArray();
+                  gen.writeEndObject();
+                })));
+  }
+
   @VisibleForTesting
   List<ValidatorResponse> getFilteredValidatorList(
       final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState state,
@@ -21,6 +21,7 @@ import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.statetransition.OperationPool;
 import tech.pegasys.teku.statetransition.attestation.AggregatingAttestationPool;
 import tech.pegasys.teku.statetransition.attestation.AttestationManager;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.statetransition.block.BlockManager;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -39,6 +40,7 @@ public class DataProvider {
       final Spec spec,
       final RecentChainData recentChainData,
       final CombinedChainDataClient combinedChainDataClient,
+      final BlockEncodingCache blockEncodingCache,
       final Eth2P2PNetwork p2pNetwork,
       final SyncService syncService,
       final ValidatorApiChannel validatorApiChannel,
@@ -58,7 +60,8 @@ public class DataProvider {
             voluntaryExitPool,
             blockManager,
             attestationManager);
-    chainDataProvider = new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+    chainDataProvider =
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     syncDataProvider = new SyncDataProvider(syncService);
     this.validatorDataProvider =
         new ValidatorDataProvider(spec, validatorApiChannel, combinedChainDataClient);
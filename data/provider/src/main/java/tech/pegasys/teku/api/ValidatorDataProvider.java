@@ -59,6 +59,7 @@ import tech.pegasys.teku.validator.api.AttesterDuty;
 import tech.pegasys.teku.validator.api.CommitteeSubscriptionRequest;
 import tech.pegasys.teku.validator.api.ProposerDuty;
 import tech.pegasys.teku.validator.api.SubmitCommitteeSignaturesResult;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.SyncCommitteeDuty;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 
@@ -131,15 +132,21 @@ public class ValidatorDataProvider {
         .thenApply(maybeAttestation -> maybeAttestation.map(AttestationData::new));
   }
 
-  public void submitAttestations(List<Attestation> attestations) {
-    attestations.forEach(this::submitAttestation);
+  public SafeFuture<List<SubmitDataError>> submitAttestations(List<Attestation> attestations) {
+    attestations.forEach(this::checkAttestationSignature);
+    return validatorApiChannel.sendSignedAttestations(
+        attestations.stream().map(Attestation::asInternalAttestation).collect(Collectors.toList()));
   }
 
   public void submitAttestation(Attestation attestation) {
+    checkAttestationSignature(attestation);
+    validatorApiChannel.sendSignedAttestation(attestation.asInternalAttestation());
+  }
+
+  private void checkAttestationSignature(final Attestation attestation) {
     if (attestation.signature.asInternalBLSSignature().toSSZBytes().isZero()) {
       throw new IllegalArgumentException("Signed attestations must have a non zero signature");
     }
-    validatorApiChannel.sendSignedAttestation(attestation.asInternalAttestation());
   }
 
   public SignedBeaconBlock parseBlock(final JsonProvider jsonProvider, final String jsonBlock)
@@ -202,10 +209,12 @@ public class ValidatorDataProvider {
         .thenApply(maybeAttestation -> maybeAttestation.map(Attestation::new));
   }
 
-  public void sendAggregateAndProofs(List<SignedAggregateAndProof> aggregateAndProofs) {
-    aggregateAndProofs.stream()
-        .map(SignedAggregateAndProof::asInternalSignedAggregateAndProof)
-        .forEach(validatorApiChannel::sendAggregateAndProof);
+  public SafeFuture<List<SubmitDataError>> sendAggregateAndProofs(
+      List<SignedAggregateAndProof> aggregateAndProofs) {
+    return validatorApiChannel.sendAggregateAndProofs(
+        aggregateAndProofs.stream()
+            .map(SignedAggregateAndProof::asInternalSignedAggregateAndProof)
+            .collect(Collectors.toList()));
   }
 
   public void subscribeToBeaconCommittee(final List<BeaconCommitteeSubscriptionRequest> requests) {
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -36,9 +37,14 @@ import tech.pegasys.teku.api.exceptions.BadRequestException;
 import tech.pegasys.teku.api.response.v1.beacon.BlockHeader;
 import tech.pegasys.teku.api.response.v1.beacon.FinalityCheckpointsResponse;
 import tech.pegasys.teku.api.response.v1.beacon.GenesisData;
+import tech.pegasys.teku.api.response.v1.beacon.GetStateValidatorBalancesResponse;
+import tech.pegasys.teku.api.response.v1.beacon.GetStateValidatorsResponse;
 import tech.pegasys.teku.api.response.v1.beacon.StateSyncCommittees;
+import tech.pegasys.teku.api.response.v1.beacon.ValidatorBalanceResponse;
+import tech.pegasys.teku.api.response.v1.beacon.ValidatorResponse;
 import tech.pegasys.teku.api.response.v1.beacon.ValidatorStatus;
 import tech.pegasys.teku.api.response.v1.debug.ChainHead;
+import tech.pegasys.teku.api.response.v1.debug.GetStateResponse;
 import tech.pegasys.teku.api.schema.Attestation;
 import tech.pegasys.teku.api.schema.BLSSignature;
 import tech.pegasys.teku.api.schema.BeaconBlockHeader;
@@ -51,8 +57,11 @@ import tech.pegasys.teku.core.AttestationGenerator;
 import tech.pegasys.teku.core.ChainBuilder;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.async.SafeFutureAssert;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.provider.JsonProvider;
 import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.SpecMilestone;
 import tech.pegasys.teku.spec.TestSpecFactory;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
@@ -60,6 +69,7 @@ import tech.pegasys.teku.spec.datastructures.state.SyncCommittee;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 import tech.pegasys.teku.ssz.SszList;
 import tech.pegasys.teku.ssz.type.Bytes4;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.client.ChainDataUnavailableException;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -83,6 +93,9 @@ public class ChainDataProviderTest {
   private final Spec spec = TestSpecFactory.createMinimalPhase0();
   private final DataStructureUtil data = new DataStructureUtil(spec);
   private final SpecConfig specConfig = spec.getGenesisSpecConfig();
+  private final JsonProvider jsonProvider = new JsonProvider();
+  private final BlockEncodingCache blockEncodingCache =
+      new BlockEncodingCache(new StubMetricsSystem(), BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES);
 
   @BeforeEach
   public void setup() {
@@ -103,7 +116,7 @@ public class ChainDataProviderTest {
   public void getChainHeads_shouldReturnChainHeads()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final SafeFuture<Optional<List<ChainHead>>> future = provider.getChainHeads();
     final Optional<List<ChainHead>> maybeResult = future.get();
     assertThat(maybeResult.orElse(emptyList()))
@@ -113,7 +126,7 @@ public class ChainDataProviderTest {
   @Test
   public void getGenesisTime_shouldThrowIfStoreNotAvailable() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, null, mockCombinedChainDataClient);
+        new ChainDataProvider(spec, null, mockCombinedChainDataClient, blockEncodingCache);
     when(mockCombinedChainDataClient.isStoreAvailable()).thenReturn(false);
     assertThatThrownBy(provider::getGenesisTime).isInstanceOf(ChainDataUnavailableException.class);
   }
@@ -122,7 +135,7 @@ public class ChainDataProviderTest {
   public void getGenesisTime_shouldReturnValueIfStoreAvailable() {
     final UInt64 genesis = beaconStateInternal.getGenesis_time();
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     final UInt64 result = provider.getGenesisTime();
     assertEquals(genesis, result);
@@ -131,7 +144,7 @@ public class ChainDataProviderTest {
   @Test
   public void getGenesisData_shouldThrowIfStoreNotAvailable() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, null, mockCombinedChainDataClient);
+        new ChainDataProvider(spec, null, mockCombinedChainDataClient, blockEncodingCache);
     when(mockCombinedChainDataClient.isStoreAvailable()).thenReturn(false);
     assertThatThrownBy(provider::getGenesisData).isInstanceOf(ChainDataUnavailableException.class);
   }
@@ -143,7 +156,7 @@ public class ChainDataProviderTest {
     final Bytes4 genesisForkVersion = spec.atEpoch(ZERO).getConfig().getGenesisForkVersion();
 
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     final GenesisData result = provider.getGenesisData();
     assertThat(result)
@@ -154,7 +167,7 @@ public class ChainDataProviderTest {
   public void getBeaconState_shouldReturnEmptyWhenRootNotFound()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     SafeFuture<Optional<BeaconState>> future =
         provider.getBeaconState(data.randomBytes32().toHexString());
     final Optional<BeaconState> maybeState = future.get();
@@ -164,7 +177,7 @@ public class ChainDataProviderTest {
   @Test
   public void getBeaconState_shouldFindHeadState() throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     SafeFuture<Optional<BeaconState>> future = provider.getBeaconState("head");
     final Optional<BeaconState> maybeState = future.get();
     assertThat(maybeState.get().asInternalBeaconState(spec).hashTreeRoot())
@@ -174,7 +187,7 @@ public class ChainDataProviderTest {
   @Test
   public void validatorParameterToIndex_shouldThrowWhenStoreNotFound() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, null, mockCombinedChainDataClient);
+        new ChainDataProvider(spec, null, mockCombinedChainDataClient, blockEncodingCache);
     assertThrows(
         ChainDataUnavailableException.class, () -> provider.validatorParameterToIndex("1"));
   }
@@ -182,7 +195,7 @@ public class ChainDataProviderTest {
   @Test
   public void validatorParameterToIndex_shouldAcceptValidatorRoot() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     Validator validator =
         new Validator(recentChainData.getBestState().get().getValidators().get(1));
@@ -194,7 +207,7 @@ public class ChainDataProviderTest {
   @Test
   public void validatorParameterToIndex_shouldAcceptValidatorId() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThat(provider.validatorParameterToIndex("2")).isEqualTo(Optional.of(2));
   }
@@ -202,7 +215,7 @@ public class ChainDataProviderTest {
   @Test
   public void validatorParameterToIndex_shouldThrowException() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThrows(BadRequestException.class, () -> provider.validatorParameterToIndex("2a"));
   }
@@ -210,7 +223,7 @@ public class ChainDataProviderTest {
   @Test
   public void validatorParameterToIndex_shouldDetectAboveMaxInt() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThrows(
         BadRequestException.class,
@@ -222,7 +235,7 @@ public class ChainDataProviderTest {
   @Test
   public void validatorParameterToIndex_shouldThrowExceptionWithInvalidPublicKey() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThrows(
         BadRequestException.class,
@@ -233,7 +246,7 @@ public class ChainDataProviderTest {
   public void getBlockHeaderByBlockId_shouldGetHeadBlock()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock block =
         combinedChainDataClient.getBestBlock().get();
     BlockHeader result = provider.getBlockHeader("head").get().get();
@@ -257,7 +270,7 @@ public class ChainDataProviderTest {
   public void getStateRoot_shouldGetRootAtGenesis()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     final Optional<tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState> state =
         combinedChainDataClient.getStateAtSlotExact(ZERO).get();
@@ -270,7 +283,7 @@ public class ChainDataProviderTest {
   public void getBlockHeaders_shouldGetHeadBlockIfNoParameters()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock block =
         combinedChainDataClient.getBestBlock().get();
     List<BlockHeader> results = provider.getBlockHeaders(Optional.empty(), Optional.empty()).get();
@@ -281,7 +294,7 @@ public class ChainDataProviderTest {
   public void getBlockHeaders_shouldGetBlockGivenSlot()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final UInt64 slot = combinedChainDataClient.getCurrentSlot();
     List<BlockHeader> results = provider.getBlockHeaders(Optional.empty(), Optional.of(slot)).get();
     assertThat(results.get(0).header.message.slot).isEqualTo(slot);
@@ -290,7 +303,7 @@ public class ChainDataProviderTest {
   @Test
   public void shouldGetBlockHeadersOnEmptyChainHeadSlot() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     final UInt64 headSlot = recentChainData.getHeadSlot();
     storageSystem.chainUpdater().advanceChain(headSlot.plus(1));
@@ -307,7 +320,7 @@ public class ChainDataProviderTest {
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(1024);
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     List<Integer> indexes =
         provider.getFilteredValidatorList(internalState, List.of("1", "33"), emptySet()).stream()
             .map(v -> v.index.intValue())
@@ -320,7 +333,7 @@ public class ChainDataProviderTest {
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(1024);
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final String key = internalState.getValidators().get(12).getPubkeyBytes().toString();
     final String missingKey = data.randomPublicKey().toString();
     List<String> pubkeys =
@@ -332,24 +345,90 @@ public class ChainDataProviderTest {
     assertThat(pubkeys).containsExactly(key);
   }
 
+  @Test
+  public void getStateValidatorsJson_shouldMatchValidatorList() throws Exception {
+    final ChainDataProvider provider =
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
+    final List<String> validators = List.of("1", "3", "1024000");
+    final Set<ValidatorStatus> statusFilter = Set.of(ValidatorStatus.active_ongoing);
+    final List<ValidatorResponse> expected =
+        provider.getStateValidators("head", validators, statusFilter).join().orElseThrow();
+
+    final InputStream stream =
+        provider.getStateValidatorsJson("head", validators, statusFilter).join().orElseThrow();
+
+    assertThat(expected).hasSize(2);
+    assertThat(jsonProvider.getObjectMapper().readTree(stream))
+        .isEqualTo(
+            jsonProvider
+                .getObjectMapper()
+                .readTree(jsonProvider.objectToJSON(new GetStateValidatorsResponse(expected))));
+  }
+
+  @Test
+  public void getStateValidatorBalancesJson_shouldMatchBalanceList() throws Exception {
+    final ChainDataProvider provider =
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
+    final List<ValidatorBalanceResponse> expected =
+        provider.getStateValidatorBalances("head", emptyList()).join().orElseThrow();
+
+    final InputStream stream =
+        provider.getStateValidatorBalancesJson("head", emptyList()).join().orElseThrow();
+
+    assertThat(jsonProvider.getObjectMapper().readTree(stream))
+        .isEqualTo(
+            jsonProvider
+                .getObjectMapper()
+                .readTree(
+                    jsonProvider.objectToJSON(new GetStateValidatorBalancesResponse(expected))));
+  }
+
+  @Test
+  public void getBeaconStateJson_shouldMatchStateResponse() throws Exception {
+    final ChainDataProvider provider =
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
+    final BeaconState expected = provider.getBeaconState("head").join().orElseThrow();
+
+    final InputStream stream = provider.getBeaconStateJson("head").join().orElseThrow();
+
+    assertThat(jsonProvider.getObjectMapper().readTree(stream))
+        .isEqualTo(
+            jsonProvider
+                .getObjectMapper()
+                .readTree(
+                    jsonProvider.objectToJSON(
+                        new GetStateResponse(SpecMilestone.PHASE0, expected))));
+  }
+
+  @Test
+  public void getStateValidatorsJson_shouldReturnEmptyWhenStateNotFound() {
+    final ChainDataProvider provider =
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
+    assertThat(
+            provider
+                .getStateValidatorsJson(data.randomBytes32().toHexString(), emptyList(), emptySet())
+                .join())
+        .isEmpty();
+  }
+
   @Test
   public void validatorParameterToIndex_shouldThrowBadRequestExceptionWhenIndexInvalid() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     assertThrows(BadRequestException.class, () -> provider.validatorParameterToIndex("a"));
   }
 
   @Test
   public void validatorParameterToIndex_shouldReturnEmptyIfIndexOutOfBounds() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     assertThat(provider.validatorParameterToIndex("1024000")).isEmpty();
   }
 
   @Test
   public void validatorParameterToIndex_shouldThrowBadRequestExceptionWhenKeyNotFound() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     assertThrows(
         BadRequestException.class,
         () -> provider.validatorParameterToIndex(Bytes32.fromHexString("0x00").toHexString()));
@@ -360,7 +439,7 @@ public class ChainDataProviderTest {
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(11);
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThat(
             provider.getFilteredValidatorList(
@@ -376,7 +455,7 @@ public class ChainDataProviderTest {
   public void getStateCommittees_shouldReturnEmptyIfStateNotFound()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     assertThat(
             provider
                 .getStateCommittees(
@@ -393,7 +472,7 @@ public class ChainDataProviderTest {
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(64);
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThat(
             provider
@@ -408,7 +487,7 @@ public class ChainDataProviderTest {
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(64);
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThat(
             provider
@@ -425,7 +504,7 @@ public class ChainDataProviderTest {
   public void getStateFinalityCheckpoints_shouldGetEmptyCheckpointsBeforeFinalized()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     assertThat(provider.getStateFinalityCheckpoints("genesis").get().get())
         .isEqualTo(
@@ -439,7 +518,8 @@ public class ChainDataProviderTest {
   public void getStateFinalityCheckpoints_shouldGetCheckpointsAfterFinalized()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, mockCombinedChainDataClient);
+        new ChainDataProvider(
+            spec, recentChainData, mockCombinedChainDataClient, blockEncodingCache);
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(UInt64.valueOf(42));
     final FinalityCheckpointsResponse expected =
@@ -473,7 +553,7 @@ public class ChainDataProviderTest {
   public void getStateSyncCommittees_shouldReturnEmptyListBeforeAltair()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState();
     when(mockCombinedChainDataClient.getBestState()).thenReturn(Optional.of(internalState));
@@ -496,7 +576,7 @@ public class ChainDataProviderTest {
   public void getStateFork_shouldGetForkAtGenesis()
       throws ExecutionException, InterruptedException {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
 
     final Bytes4 bytes4 = Bytes4.fromHexString("0x00000001");
     final Optional<Fork> response = provider.getStateFork("genesis").get();
@@ -507,7 +587,7 @@ public class ChainDataProviderTest {
   @Test
   public void getValidatorBalancesFromState_shouldGetBalances() {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState internalState =
         data.randomBeaconState(1024);
     assertThat(provider.getValidatorBalancesFromState(internalState, emptyList())).hasSize(1024);
@@ -521,7 +601,7 @@ public class ChainDataProviderTest {
   @Test
   public void getBlockRoot_shouldReturnRootOfBlock() throws Exception {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     final Optional<Root> response = provider.getBlockRoot("head").get();
     assertThat(response).isPresent();
     assertThat(response.get()).isEqualTo(new Root(bestBlock.getRoot()));
@@ -530,7 +610,7 @@ public class ChainDataProviderTest {
   @Test
   public void getBlockAttestations_shouldReturnAttestationsOfBlock() throws Exception {
     final ChainDataProvider provider =
-        new ChainDataProvider(spec, recentChainData, combinedChainDataClient);
+        new ChainDataProvider(spec, recentChainData, combinedChainDataClient, blockEncodingCache);
     ChainBuilder chainBuilder = storageSystem.chainBuilder();
 
     ChainBuilder.BlockOptions blockOptions = ChainBuilder.BlockOptions.create();
@@ -560,7 +640,8 @@ public class ChainDataProviderTest {
     final Spec altair = TestSpecFactory.createMinimalAltair();
     final DataStructureUtil dataStructureUtil = new DataStructureUtil(altair);
     final ChainDataProvider provider =
-        new ChainDataProvider(altair, recentChainData, mockCombinedChainDataClient);
+        new ChainDataProvider(
+            altair, recentChainData, mockCombinedChainDataClient, blockEncodingCache);
 
     final SszList<tech.pegasys.teku.spec.datastructures.state.Validator> validators =
         dataStructureUtil.randomSszList(
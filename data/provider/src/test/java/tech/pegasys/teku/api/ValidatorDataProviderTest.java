@@ -34,6 +34,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
@@ -60,6 +61,7 @@ import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.validator.api.AttesterDuties;
 import tech.pegasys.teku.validator.api.AttesterDuty;
 import tech.pegasys.teku.validator.api.SendSignedBlockResult;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 
 public class ValidatorDataProviderTest {
@@ -212,6 +214,21 @@ public class ValidatorDataProviderTest {
     assertThatSszData(args.getValue()).isEqualByAllMeansTo(internalAttestation);
   }
 
+  @Test
+  void submitAttestations_shouldSubmitAllAttestationsInSingleRequest() {
+    final List<tech.pegasys.teku.spec.datastructures.operations.Attestation> internalAttestations =
+        List.of(dataStructureUtil.randomAttestation(), dataStructureUtil.randomAttestation());
+    final List<SubmitDataError> errors = List.of(new SubmitDataError(ONE, "Invalid"));
+    when(validatorApiChannel.sendSignedAttestations(internalAttestations))
+        .thenReturn(SafeFuture.completedFuture(errors));
+
+    final SafeFuture<List<SubmitDataError>> result =
+        provider.submitAttestations(
+            internalAttestations.stream().map(Attestation::new).collect(Collectors.toList()));
+
+    assertThat(result).isCompletedWithValue(errors);
+  }
+
   @Test
   public void submitAttestation_shouldThrowIllegalArgumentExceptionWhenSignatureIsEmpty() {
     final AttestationData attestationData = dataStructureUtil.randomAttestationData();
@@ -13,14 +13,56 @@
 
 package tech.pegasys.teku.api.response;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.ssz.SszData;
 
 public class SszResponse {
-  public final ByteArrayInputStream byteStream;
+  private final IntSupplier size;
+  private final Consumer<OutputStream> writer;
   public final String abbreviatedHash;
 
-  public SszResponse(final ByteArrayInputStream byteStream, final String abbreviatedHash) {
-    this.byteStream = byteStream;
+  public SszResponse(final SszData data, final String abbreviatedHash) {
+    this(data::getSszSize, data::sszSerialize, abbreviatedHash);
+  }
+
+  /** Creates a response for data which has already been serialized. */
+  public SszResponse(final Bytes ssz, final String abbreviatedHash) {
+    this(ssz::size, out -> write(out, ssz), abbreviatedHash);
+  }
+
+  private SszResponse(
+      final IntSupplier size, final Consumer<OutputStream> writer, final String abbreviatedHash) {
+    this.size = size;
+    this.writer = writer;
     this.abbreviatedHash = abbreviatedHash;
   }
+
+  public String getFilename() {
+    return abbreviatedHash + ".ssz";
+  }
+
+  public int getSize() {
+    return size.getAsInt();
+  }
+
+  /**
+   * Writes the SSZ serialization to the stream as it is generated, so a full copy of large objects
+   * such as states is never held in memory.
+   */
+  public void writeTo(final OutputStream out) {
+    writer.accept(out);
+  }
+
+  private static void write(final OutputStream out, final Bytes ssz) {
+    try {
+      out.write(ssz.toArrayUnsafe());
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 }
@@ -19,14 +19,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Objects;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
-public class PostSyncCommitteeFailure {
+public class PostDataFailure {
   @Schema(type = "string", format = "uint64")
   public final UInt64 index;
 
   public final String message;
 
   @JsonCreator
-  public PostSyncCommitteeFailure(
+  public PostDataFailure(
       @JsonProperty("index") final UInt64 index, @JsonProperty("message") final String message) {
     this.index = index;
     this.message = message;
@@ -36,7 +36,7 @@ public class PostSyncCommitteeFailure {
   public boolean equals(final Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
-    final PostSyncCommitteeFailure that = (PostSyncCommitteeFailure) o;
+    final PostDataFailure that = (PostDataFailure) o;
     return Objects.equals(index, that.index) && Objects.equals(message, that.message);
   }
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+/**
+ * An {@link InputStream} of JSON that is generated as the stream is read.
+ *
+ * <p>The document is described by a lazy sequence of {@link JsonWriteStep}s, each writing a small
+ * part of the document such as a single list element. Steps are only executed when the reader needs
+ * more data, so the memory used is bounded by the size of a step rather than the size of the
+ * document.
+ */
+public class JsonStreamingInputStream extends InputStream {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final int TARGET_CHUNK_SIZE = 8192;
+
+  private final Iterator<? extends JsonWriteStep> steps;
+  private final ChunkBuffer buffer = new ChunkBuffer();
+  private final JsonGenerator generator;
+  private int position = 0;
+
+  public JsonStreamingInputStream(final Iterator<? extends JsonWriteStep> steps) {
+    this.steps = steps;
+    try {
+      this.generator = JSON_FACTORY.createGenerator(buffer);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!fillBuffer()) {
+      return -1;
+    }
+    return buffer.getBytes()[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] dest, final int offset, final int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!fillBuffer()) {
+      return -1;
+    }
+    final int count = Math.min(length, buffer.size() - position);
+    System.arraycopy(buffer.getBytes(), position, dest, offset, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return buffer.size() - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    generator.close();
+  }
+
+  /**
+   * Runs steps until there is unread data in the buffer.
+   *
+   * @return false if the document is complete and all data has been read
+   */
+  private boolean fillBuffer() throws IOException {
+    if (position < buffer.size()) {
+      return true;
+    }
+    buffer.reset();
+    position = 0;
+    while (buffer.size() < TARGET_CHUNK_SIZE && steps.hasNext()) {
+      steps.next().write(generator);
+      generator.flush();
+    }
+    return buffer.size() > 0;
+  }
+
+  @FunctionalInterface
+  public interface JsonWriteStep {
+    void write(JsonGenerator generator) throws IOException;
+  }
+
+  private static class ChunkBuffer extends ByteArrayOutputStream {
+    private ChunkBuffer() {
+      super(TARGET_CHUNK_SIZE * 2);
+    }
+
+    private byte[] getBytes() {
+      return buf;
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.provider;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.Iterators;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import tech.pegasys.teku.provider.JsonStreamingInputStream.JsonWriteStep;
+import tech.pegasys.teku.ssz.SszCollection;
+import tech.pegasys.teku.ssz.SszContainer;
+import tech.pegasys.teku.ssz.SszData;
+import tech.pegasys.teku.ssz.collections.SszBitlist;
+import tech.pegasys.teku.ssz.collections.SszBitvector;
+import tech.pegasys.teku.ssz.collections.SszByteVector;
+import tech.pegasys.teku.ssz.primitive.SszBit;
+import tech.pegasys.teku.ssz.primitive.SszByte;
+import tech.pegasys.teku.ssz.primitive.SszBytes32;
+import tech.pegasys.teku.ssz.primitive.SszBytes4;
+import tech.pegasys.teku.ssz.primitive.SszUInt64;
+
+/**
+ * Writes SSZ data directly as JSON, producing the same output as serializing the equivalent API
+ * schema object with {@link JsonProvider}, without creating the intermediate schema objects.
+ *
+ * <p>Containers are written as objects keyed by the lower cased SSZ field names, collections as
+ * arrays, numbers as decimal strings and byte vectors and bit collections as hex strings of their
+ * SSZ serialization.
+ */
+public class SszJsonWriter {
+
+  /** Collections larger than this are written one element per step by {@link #steps} */
+  static final int STREAMED_COLLECTION_SIZE = 64;
+
+  public static void write(final JsonGenerator gen, final SszData data) throws IOException {
+    if (data instanceof SszBitlist || data instanceof SszBitvector) {
+      gen.writeString(data.sszSerialize().toHexString().toLowerCase());
+    } else if (data instanceof SszByteVector) {
+      gen.writeString(((SszByteVector) data).getBytes().toHexString().toLowerCase());
+    } else if (data instanceof SszContainer) {
+      writeContainer(gen, (SszContainer) data);
+    } else if (data instanceof SszCollection) {
+      gen.writeStartArray();
+      for (SszData element : (SszCollection<?>) data) {
+        write(gen, element);
+      }
+      gen.writeEndArray();
+    } else if (data instanceof SszUInt64) {
+      gen.writeString(((SszUInt64) data).get().toString());
+    } else if (data instanceof SszBytes32) {
+      gen.writeString(((SszBytes32) data).get().toHexString().toLowerCase());
+    } else if (data instanceof SszBytes4) {
+      gen.writeString(((SszBytes4) data).get().toHexString().toLowerCase());
+    } else if (data instanceof SszBit) {
+      gen.writeBoolean(((SszBit) data).get());
+    } else if (data instanceof SszByte) {
+      gen.writeString(Integer.toString(Byte.toUnsignedInt(((SszByte) data).get())));
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported SSZ type for JSON output: " + data.getClass().getName());
+    }
+  }
+
+  /**
+   * Writes the fields of a container into an object that has already been started, so callers can
+   * add their own fields alongside.
+   */
+  public static void writeFields(final JsonGenerator gen, final SszContainer container)
+      throws IOException {
+    final List<String> fieldNames = container.getSchema().getFieldNames();
+    for (int i = 0; i < fieldNames.size(); i++) {
+      gen.writeFieldName(jsonFieldName(fieldNames.get(i)));
+      write(gen, container.get(i));
+    }
+  }
+
+  /**
+   * Returns steps which write the container as a JSON object. Large collection fields (such as the
+   * validator registry of a state) are split into one step per element so the container is never
+   * held in serialized form in its entirety.
+   */
+  public static Iterator<JsonWriteStep> steps(final SszContainer container) {
+    final List<String> fieldNames = container.getSchema().getFieldNames();
+    final Iterator<Iterator<JsonWriteStep>> fieldSteps =
+        Iterators.transform(
+            IntStream.range(0, fieldNames.size()).iterator(),
+            index -> {
+              final String fieldName = jsonFieldName(fieldNames.get(index));
+              final SszData field = container.get(index);
+              if (isStreamedCollection(field)) {
+                return Iterators.concat(
+                    Iterators.singletonIterator(
+                        gen -> {
+                          gen.writeFieldName(fieldName);
+                          gen.writeStartArray();
+                        }),
+                    Iterators.transform(
+                        ((SszCollection<?>) field).iterator(),
+                        element -> gen -> write(gen, element)),
+                    Iterators.singletonIterator(JsonGenerator::writeEndArray));
+              }
+              return Iterators.singletonIterator(
+                  gen -> {
+                    gen.writeFieldName(fieldName);
+                    write(gen, field);
+                  });
+            });
+    return Iterators.concat(
+        Iterators.singletonIterator(JsonGenerator::writeStartObject),
+        Iterators.concat(fieldSteps),
+        Iterators.singletonIterator(JsonGenerator::writeEndObject));
+  }
+
+  private static void writeContainer(final JsonGenerator gen, final SszContainer container)
+      throws IOException {
+    gen.writeStartObject();
+    writeFields(gen, container);
+    gen.writeEndObject();
+  }
+
+  /**
+   * API field names are lower snake case while some SSZ schemas (notably the state, named after the
+   * {@code BeaconStateFields} constants) use upper case.
+   */
+  private static String jsonFieldName(final String sszFieldName) {
+    return sszFieldName.toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean isStreamedCollection(final SszData data) {
+    return data instanceof SszCollection
+        && !(data instanceof SszBitlist
+            || data instanceof SszBitvector
+            || data instanceof SszByteVector)
+        && ((SszCollection<?>) data).size() > STREAMED_COLLECTION_SIZE;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.Iterators;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.provider.JsonStreamingInputStream.JsonWriteStep;
+
+class JsonStreamingInputStreamTest {
+
+  @Test
+  public void shouldOnlyRunStepsAsDataIsRead() throws IOException {
+    final AtomicInteger stepsRun = new AtomicInteger();
+    final InputStream stream = createArrayStream(100_000, stepsRun);
+    assertThat(stepsRun).hasValue(0);
+
+    assertThat(stream.read()).isEqualTo('[');
+    assertThat(stepsRun.get()).isGreaterThan(0).isLessThan(10_000);
+  }
+
+  @Test
+  public void shouldProduceSameOutputRegardlessOfReadSize() throws IOException {
+    final String expected =
+        new String(
+            createArrayStream(5_000, new AtomicInteger()).readAllBytes(), StandardCharsets.UTF_8);
+
+    final InputStream stream = createArrayStream(5_000, new AtomicInteger());
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[7];
+    int read;
+    while ((read = stream.read(buffer, 0, buffer.length)) != -1) {
+      out.write(buffer, 0, read);
+      final int singleByte = stream.read();
+      if (singleByte == -1) {
+        break;
+      }
+      out.write(singleByte);
+    }
+
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    assertThat(expected).startsWith("[\"0\",\"1\",").endsWith(",\"4999\"]");
+  }
+
+  private InputStream createArrayStream(final int count, final AtomicInteger stepsRun) {
+    return new JsonStreamingInputStream(
+        Iterators.concat(
+            Iterators.<JsonWriteStep>singletonIterator(gen -> gen.writeStartArray()),
+            Iterators.transform(
+                IntStream.range(0, count).iterator(),
+                i ->
+                    gen -> {
+                      stepsRun.incrementAndGet();
+                      gen.writeString(Integer.toString(i));
+                    }),
+            Iterators.<JsonWriteStep>singletonIterator(gen -> gen.writeEndArray())));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.api.schema.Validator;
+import tech.pegasys.teku.api.schema.phase0.BeaconStatePhase0;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class SszJsonWriterTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final JsonProvider jsonProvider = new JsonProvider();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  public void write_shouldMatchSchemaObjectForValidator() throws IOException {
+    final tech.pegasys.teku.spec.datastructures.state.Validator validator =
+        dataStructureUtil.randomValidator();
+    final InputStream stream =
+        new JsonStreamingInputStream(
+            List.<JsonStreamingInputStream.JsonWriteStep>of(
+                    gen -> SszJsonWriter.write(gen, validator))
+                .iterator());
+
+    assertThat(readTree(stream))
+        .isEqualTo(objectMapper.readTree(jsonProvider.objectToJSON(new Validator(validator))));
+  }
+
+  @Test
+  public void steps_shouldMatchSchemaObjectForState() throws IOException {
+    final BeaconState state = dataStructureUtil.randomBeaconState(200);
+    final InputStream stream = new JsonStreamingInputStream(SszJsonWriter.steps(state));
+
+    assertThat(readTree(stream))
+        .isEqualTo(objectMapper.readTree(jsonProvider.objectToJSON(new BeaconStatePhase0(state))));
+  }
+
+  private JsonNode readTree(final InputStream stream) throws IOException {
+    return objectMapper.readTree(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.data.signingrecord;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+
+/**
+ * Append-only journal of validator signing records.
+ *
+ * <p>Each call to {@link #append(Map)} writes the records for a batch of validators and forces the
+ * file to disk once, so a single sync covers every record in the batch. The journal is split into
+ * numbered segments which are folded into the per-validator <code>.yml</code> signing record files
+ * and then deleted. Until a segment is folded its records are newer than the record files, so
+ * anything reading the record files must first call {@link #foldAllSegments(SyncDataAccessor,
+ * Path)}.
+ *
+ * <p>Each entry is the 4 byte length of the payload, the payload (48 byte validator public key
+ * followed by the serialized {@link ValidatorSigningRecord}) and the 4 byte CRC32 of the payload.
+ * An incomplete entry at the end of a segment can only be left by a write that was never
+ * acknowledged, so it and anything after it is ignored.
+ */
+public class ValidatorSigningRecordJournal implements AutoCloseable {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final String SEGMENT_PREFIX = "signing-records-";
+  private static final String SEGMENT_SUFFIX = ".journal";
+  private static final int LENGTH_SIZE = Integer.BYTES;
+  private static final int CHECKSUM_SIZE = Integer.BYTES;
+
+  private final Path path;
+  private final FileChannel channel;
+  private int entryCount;
+
+  private ValidatorSigningRecordJournal(final Path path, final FileChannel channel) {
+    this.path = path;
+    this.channel = channel;
+  }
+
+  /** Creates a new, empty journal segment in the specified directory. */
+  public static ValidatorSigningRecordJournal create(final Path directory, final long segmentNumber)
+      throws IOException {
+    Files.createDirectories(directory);
+    final Path path = directory.resolve(SEGMENT_PREFIX + segmentNumber + SEGMENT_SUFFIX);
+    final FileChannel channel =
+        FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    return new ValidatorSigningRecordJournal(path, channel);
+  }
+
+  /**
+   * Appends the records to the journal and forces them to disk. Returns only once the records are
+   * durable.
+   */
+  public void append(final Map<Bytes48, ValidatorSigningRecord> records) throws IOException {
+    checkState(channel.isOpen(), "Journal is closed");
+    final List<Bytes> payloads =
+        records.entrySet().stream()
+            .map(entry -> Bytes.wrap(entry.getKey(), entry.getValue().toBytes()))
+            .collect(Collectors.toList());
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(
+            payloads.stream()
+                .mapToInt(payload -> LENGTH_SIZE + payload.size() + CHECKSUM_SIZE)
+                .sum());
+    for (Bytes payload : payloads) {
+      buffer.putInt(payload.size());
+      buffer.put(payload.toArrayUnsafe());
+      buffer.putInt(checksum(payload.toArrayUnsafe(), 0, payload.size()));
+    }
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    channel.force(true);
+    entryCount += payloads.size();
+  }
+
+  public int getEntryCount() {
+    return entryCount;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /** Returns the number to use for a new segment in the directory. */
+  public static long getNextSegmentNumber(final Path directory) throws IOException {
+    return listSegments(directory).stream()
+            .mapToLong(ValidatorSigningRecordJournal::getSegmentNumber)
+            .max()
+            .orElse(-1)
+        + 1;
+  }
+
+  /**
+   * Folds all journal segments in the directory, oldest first, into the signing record files and
+   * deletes them.
+   */
+  public static void foldAllSegments(final SyncDataAccessor dataAccessor, final Path directory)
+      throws IOException {
+    for (Path segment : listSegments(directory)) {
+      foldSegment(dataAccessor, directory, segment);
+    }
+  }
+
+  /** Writes the latest record for each validator in the segment to its file and deletes it. */
+  public static void foldSegment(
+      final SyncDataAccessor dataAccessor, final Path directory, final Path segment)
+      throws IOException {
+    final Map<Bytes48, ValidatorSigningRecord> records = readSegment(segment);
+    for (Map.Entry<Bytes48, ValidatorSigningRecord> entry : records.entrySet()) {
+      dataAccessor.syncedWrite(
+          getSigningRecordPath(directory, entry.getKey()), entry.getValue().toBytes());
+    }
+    Files.delete(segment);
+    LOG.debug("Folded {} signing records from {}", records.size(), segment);
+  }
+
+  /** Reads the latest record for each validator from a journal segment. */
+  public static Map<Bytes48, ValidatorSigningRecord> readSegment(final Path segment)
+      throws IOException {
+    final byte[] data = Files.readAllBytes(segment);
+    final Map<Bytes48, ValidatorSigningRecord> records = new LinkedHashMap<>();
+    int offset = 0;
+    while (offset + LENGTH_SIZE <= data.length) {
+      final int payloadLength = ByteBuffer.wrap(data, offset, LENGTH_SIZE).getInt();
+      final int payloadOffset = offset + LENGTH_SIZE;
+      final int checksumOffset = payloadOffset + payloadLength;
+      if (payloadLength < Bytes48.SIZE
+          || payloadLength > data.length
+          || checksumOffset + CHECKSUM_SIZE > data.length
+          || ByteBuffer.wrap(data, checksumOffset, CHECKSUM_SIZE).getInt()
+              != checksum(data, payloadOffset, payloadLength)) {
+        break;
+      }
+      final Bytes48 publicKey = Bytes48.wrap(data, payloadOffset);
+      final ValidatorSigningRecord record =
+          ValidatorSigningRecord.fromBytes(
+              Bytes.wrap(data, payloadOffset + Bytes48.SIZE, payloadLength - Bytes48.SIZE));
+      records.put(publicKey, record);
+      offset = checksumOffset + CHECKSUM_SIZE;
+    }
+    if (offset < data.length) {
+      LOG.warn(
+          "Ignoring {} bytes of incomplete signing records at the end of {}",
+          data.length - offset,
+          segment);
+    }
+    return records;
+  }
+
+  public static Path getSigningRecordPath(final Path directory, final Bytes48 publicKey) {
+    return directory.resolve(publicKey.toUnprefixedHexString() + ".yml");
+  }
+
+  private static List<Path> listSegments(final Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> parseSegmentNumber(file).isPresent())
+          .sorted((a, b) -> Long.compare(getSegmentNumber(a), getSegmentNumber(b)))
+          .collect(Collectors.toList());
+    }
+  }
+
+  private static long getSegmentNumber(final Path segment) {
+    return parseSegmentNumber(segment).orElseThrow();
+  }
+
+  private static Optional<Long> parseSegmentNumber(final Path file) {
+    final String name = file.getFileName().toString();
+    if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(
+          Long.parseLong(
+              name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+    } catch (final NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static int checksum(final byte[] data, final int offset, final int length) {
+    final CRC32 crc = new CRC32();
+    crc.update(data, offset, length);
+    return (int) crc.getValue();
+  }
+}
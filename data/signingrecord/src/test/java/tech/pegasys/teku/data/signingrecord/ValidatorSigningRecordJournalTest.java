@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.data.signingrecord;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+class ValidatorSigningRecordJournalTest {
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT = Bytes32.fromHexString("0x1234");
+  private static final Bytes48 VALIDATOR_1 = Bytes48.fromHexString("0x01");
+  private static final Bytes48 VALIDATOR_2 = Bytes48.fromHexString("0x02");
+
+  private final SyncDataAccessor dataAccessor = new SyncDataAccessor();
+
+  @Test
+  void shouldReadLatestRecordForEachValidator(@TempDir final Path dir) throws IOException {
+    final Path segment;
+    try (final ValidatorSigningRecordJournal journal =
+        ValidatorSigningRecordJournal.create(dir, 0)) {
+      journal.append(Map.of(VALIDATOR_1, record(1, 2), VALIDATOR_2, record(3, 4)));
+      journal.append(Map.of(VALIDATOR_1, record(2, 3)));
+      assertThat(journal.getEntryCount()).isEqualTo(3);
+      segment = journal.getPath();
+    }
+
+    assertThat(ValidatorSigningRecordJournal.readSegment(segment))
+        .containsExactlyInAnyOrderEntriesOf(
+            Map.of(VALIDATOR_1, record(2, 3), VALIDATOR_2, record(3, 4)));
+  }
+
+  @Test
+  void shouldIgnoreIncompleteEntryAtEndOfSegment(@TempDir final Path dir) throws IOException {
+    final Path segment;
+    try (final ValidatorSigningRecordJournal journal =
+        ValidatorSigningRecordJournal.create(dir, 0)) {
+      journal.append(Map.of(VALIDATOR_1, record(1, 2)));
+      journal.append(Map.of(VALIDATOR_2, record(3, 4)));
+      segment = journal.getPath();
+    }
+    final byte[] data = Files.readAllBytes(segment);
+    Files.write(
+        segment, Arrays.copyOf(data, data.length - 3), StandardOpenOption.TRUNCATE_EXISTING);
+
+    assertThat(ValidatorSigningRecordJournal.readSegment(segment))
+        .containsExactlyEntriesOf(Map.of(VALIDATOR_1, record(1, 2)));
+  }
+
+  @Test
+  void shouldFoldSegmentsInOrder(@TempDir final Path dir) throws IOException {
+    try (final ValidatorSigningRecordJournal journal =
+        ValidatorSigningRecordJournal.create(dir, 0)) {
+      journal.append(Map.of(VALIDATOR_1, record(1, 2), VALIDATOR_2, record(3, 4)));
+    }
+    try (final ValidatorSigningRecordJournal journal =
+        ValidatorSigningRecordJournal.create(dir, 1)) {
+      journal.append(Map.of(VALIDATOR_1, record(5, 6)));
+    }
+    assertThat(ValidatorSigningRecordJournal.getNextSegmentNumber(dir)).isEqualTo(2);
+
+    ValidatorSigningRecordJournal.foldAllSegments(dataAccessor, dir);
+
+    assertThat(readRecord(dir, VALIDATOR_1)).isEqualTo(record(5, 6));
+    assertThat(readRecord(dir, VALIDATOR_2)).isEqualTo(record(3, 4));
+    assertThat(ValidatorSigningRecordJournal.getNextSegmentNumber(dir)).isZero();
+  }
+
+  @Test
+  void shouldPreserveOrderOfAppendedRecords(@TempDir final Path dir) throws IOException {
+    final Map<Bytes48, ValidatorSigningRecord> records = new LinkedHashMap<>();
+    for (int i = 0; i < 100; i++) {
+      records.put(Bytes48.leftPad(Bytes.ofUnsignedInt(i)), record(i, i + 1));
+    }
+    final Path segment;
+    try (final ValidatorSigningRecordJournal journal =
+        ValidatorSigningRecordJournal.create(dir, 0)) {
+      journal.append(records);
+      segment = journal.getPath();
+    }
+
+    assertThat(ValidatorSigningRecordJournal.readSegment(segment))
+        .containsExactlyEntriesOf(records);
+  }
+
+  private ValidatorSigningRecord readRecord(final Path dir, final Bytes48 validator)
+      throws IOException {
+    return dataAccessor
+        .read(ValidatorSigningRecordJournal.getSigningRecordPath(dir, validator))
+        .map(ValidatorSigningRecord::fromBytes)
+        .orElseThrow();
+  }
+
+  private ValidatorSigningRecord record(final int sourceEpoch, final int targetEpoch) {
+    return new ValidatorSigningRecord(
+        GENESIS_VALIDATORS_ROOT,
+        UInt64.valueOf(targetEpoch * 8L),
+        UInt64.valueOf(sourceEpoch),
+        UInt64.valueOf(targetEpoch));
+  }
+}
@@ -17,6 +17,7 @@ import static org.mockito.Mockito.mock;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
@@ -26,6 +27,7 @@ import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
@@ -47,6 +49,7 @@ import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.Validato
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.results.BlockImportResult;
 import tech.pegasys.teku.ssz.collections.SszMutableUInt64List;
+import tech.pegasys.teku.ssz.tree.TreeMerkleizer;
 import tech.pegasys.teku.statetransition.BeaconChainUtil;
 import tech.pegasys.teku.statetransition.block.BlockImportNotifications;
 import tech.pegasys.teku.statetransition.block.BlockImporter;
@@ -81,10 +84,24 @@ public class EpochTransitionBenchmark {
   @Param({"32768"})
   int validatorsCount = 32768;
 
+  @Param({"0", "4"})
+  int hashTreeRootThreads = 0;
+
+  ForkJoinPool hashTreeRootPool;
+  TreeMerkleizer merkleizer;
+
   @Setup(Level.Trial)
   public void init() throws Exception {
     Constants.setConstants("mainnet");
     AbstractBlockProcessor.BLS_VERIFY_DEPOSIT = false;
+    if (hashTreeRootThreads > 0) {
+      hashTreeRootPool = new ForkJoinPool(hashTreeRootThreads);
+      merkleizer =
+          TreeMerkleizer.parallel(
+              hashTreeRootPool, TreeMerkleizer.DEFAULT_PARALLEL_LEVEL_THRESHOLD);
+    } else {
+      merkleizer = TreeMerkleizer.sequential();
+    }
 
     String blocksFile =
         "/blocks/blocks_epoch_"
@@ -104,7 +121,8 @@ public class EpochTransitionBenchmark {
     wsValidator = WeakSubjectivityFactory.lenientValidator();
 
     recentChainData = MemoryOnlyRecentChainData.create(spec);
-    ForkChoice forkChoice = ForkChoice.create(spec, new InlineEventThread(), recentChainData);
+    ForkChoice forkChoice =
+        ForkChoice.create(spec, new InlineEventThread(), recentChainData, false, merkleizer);
     localChain = BeaconChainUtil.create(spec, recentChainData, validatorKeys, false);
     localChain.initializeStorage();
 
@@ -132,6 +150,13 @@ public class EpochTransitionBenchmark {
     System.out.println("Done!");
   }
 
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (hashTreeRootPool != null) {
+      hashTreeRootPool.shutdown();
+    }
+  }
+
   @Benchmark
   public void epochTransition(Blackhole bh) {
     try {
@@ -141,6 +166,19 @@ public class EpochTransitionBenchmark {
     }
   }
 
+  @Benchmark
+  public void epochTransitionWithHashTreeRoot(Blackhole bh) {
+    try {
+      bh.consume(
+          epochProcessor
+              .processEpoch(preEpochTransitionState)
+              .getBackingNode()
+              .hashTreeRoot(merkleizer));
+    } catch (EpochProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   @Benchmark
   public void processRewardsAndPenalties(Blackhole bh) {
     try {
@@ -24,6 +24,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.ssz.tree.Sha256Hasher;
 
 @State(Scope.Thread)
 public class Sha256Benchmark {
@@ -31,6 +32,8 @@ public class Sha256Benchmark {
   private MutableBytes data = Bytes.wrap(new byte[33]).mutableCopy();
   private byte[] dataArray = new byte[33];
   private int cnt = 0;
+  private final Bytes32 left = Bytes32.random();
+  private final Bytes32 right = Bytes32.random();
 
   @Benchmark
   @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
@@ -51,4 +54,20 @@ public class Sha256Benchmark {
     byte[] hash = Hash.sha2_256(dataArray);
     bh.consume(hash);
   }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofHashPairConcatenated(Blackhole bh) {
+    Bytes32 hash = Hash.sha2_256(Bytes.concatenate(left, right));
+    bh.consume(hash);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 10, time = 100, timeUnit = TimeUnit.MILLISECONDS)
+  public void sha256ofHashPairWithHasher(Blackhole bh) {
+    Bytes32 hash = Sha256Hasher.get().hashPair(left, right);
+    bh.consume(hash);
+  }
 }
@@ -36,7 +36,7 @@ import tech.pegasys.teku.util.config.Constants;
 @State(Scope.Thread)
 public class ShuffleBenchmark {
 
-  @Param({"16384", "32768"})
+  @Param({"16384", "32768", "262144", "524288"})
   int indexCount;
 
   Bytes32 seed = Bytes32.ZERO;
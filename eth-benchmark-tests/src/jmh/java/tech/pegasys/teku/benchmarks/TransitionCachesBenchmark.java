@@ -77,7 +77,6 @@ public class TransitionCachesBenchmark {
       fullCache
           .getValidatorsPubKeys()
           .invalidateWithNewValue(UInt64.valueOf(validatorIdx), publicKey);
-      fullCache.getValidatorIndexCache().invalidateWithNewValue(publicKey, validatorIdx);
     }
 
     fullCache.getBeaconProposerIndex().invalidateWithNewValue(UInt64.ONE, 0x777);
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.benchmarks.util.backing;
+
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.pegasys.teku.ssz.tree.BranchNode;
+import tech.pegasys.teku.ssz.tree.LeafNode;
+import tech.pegasys.teku.ssz.tree.TreeMerkleizer;
+import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeUpdates;
+import tech.pegasys.teku.ssz.tree.TreeUtil;
+
+/**
+ * Compares batched {@link TreeMerkleizer} hashing against naive recursive per-node hashing for a
+ * freshly built tree (e.g. a deserialized state) and for a tree with many scattered updates (e.g.
+ * balances after an epoch transition)
+ */
+@State(Scope.Thread)
+public class MerkleizationBenchmark {
+
+  @Param({"262144"})
+  int leafCount;
+
+  private List<LeafNode> leaves;
+  private TreeNode hashedTree;
+  private TreeUpdates scatteredUpdates;
+
+  @Setup
+  public void init() {
+    leaves =
+        IntStream.range(0, leafCount)
+            .mapToObj(
+                i ->
+                    LeafNode.create(Bytes32.leftPad(Bytes.ofUnsignedLong(i, ByteOrder.BIG_ENDIAN))))
+            .collect(Collectors.toList());
+    hashedTree = TreeUtil.createTree(leaves);
+    hashedTree.hashTreeRoot();
+
+    int depth = TreeUtil.treeDepth(leafCount);
+    scatteredUpdates =
+        new TreeUpdates(
+            IntStream.range(0, leafCount)
+                .filter(i -> i % 4 == 0)
+                .mapToObj(
+                    i ->
+                        new TreeUpdates.Update(
+                            (1L << depth) + i,
+                            LeafNode.create(
+                                Bytes32.leftPad(
+                                    Bytes.ofUnsignedLong(i + 1, ByteOrder.BIG_ENDIAN)))))
+                .collect(Collectors.toList()));
+  }
+
+  private static Bytes32 recursiveHashTreeRoot(TreeNode node) {
+    if (node instanceof BranchNode) {
+      BranchNode branch = (BranchNode) node;
+      return Hash.sha2_256(
+          Bytes.concatenate(
+              recursiveHashTreeRoot(branch.left()), recursiveHashTreeRoot(branch.right())));
+    } else {
+      return node.hashTreeRoot();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void fullTreeRecursive(Blackhole bh) {
+    bh.consume(recursiveHashTreeRoot(TreeUtil.createTree(leaves)));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void fullTreeMerkleizer(Blackhole bh) {
+    bh.consume(TreeMerkleizer.hashTreeRoot(TreeUtil.createTree(leaves)));
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  @Measurement(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+  public void scatteredUpdatesMerkleizer(Blackhole bh) {
+    TreeNode updatedTree = hashedTree.updated(scatteredUpdates);
+    bh.consume(TreeMerkleizer.hashTreeRoot(updatedTree));
+  }
+}
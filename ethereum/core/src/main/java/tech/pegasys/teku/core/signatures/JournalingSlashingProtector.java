@@ -0,0 +1,292 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecordJournal;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+
+/**
+ * A {@link SlashingProtector} which records signing decisions in an append-only journal rather than
+ * rewriting a file per decision.
+ *
+ * <p>Decisions are made under a per-validator lock so different validators don't wait on each
+ * other. Updated records are queued for a single journal writer which appends everything queued
+ * since its last write with one sync, and the returned futures only complete once the records are
+ * durable. Full journal segments are folded into the same per-validator files used by {@link
+ * LocalSlashingProtector} in the background, so slashing protection import and export continue to
+ * work against the same directory.
+ *
+ * <p>{@link #stop()} must be called on shutdown so the last segment is folded and the journal
+ * threads are released.
+ */
+public class JournalingSlashingProtector implements SlashingProtector {
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int MAX_SEGMENT_ENTRIES = 50_000;
+  private static final int LOCK_STRIPES = 256;
+
+  private final Striped<Lock> validatorLocks = Striped.lock(LOCK_STRIPES);
+  private final Map<BLSPublicKey, ValidatorSigningRecord> signingRecords =
+      new ConcurrentHashMap<>();
+
+  private final SyncDataAccessor dataAccessor;
+  private final Path slashingProtectionBaseDir;
+  private final ExecutorService journalExecutor;
+  private final ExecutorService foldExecutor;
+
+  private final Object pendingLock = new Object();
+  private Map<Bytes48, ValidatorSigningRecord> pendingRecords = new LinkedHashMap<>();
+  private List<SafeFuture<Void>> pendingFutures = new ArrayList<>();
+  private boolean writeScheduled = false;
+
+  // Only accessed from the journal executor
+  private Optional<ValidatorSigningRecordJournal> journal = Optional.empty();
+  private long nextSegmentNumber;
+  // Only accessed from the fold executor
+  private boolean foldFailed = false;
+
+  @VisibleForTesting
+  JournalingSlashingProtector(
+      final SyncDataAccessor dataAccessor,
+      final Path slashingProtectionBaseDir,
+      final ExecutorService journalExecutor,
+      final ExecutorService foldExecutor)
+      throws IOException {
+    this.dataAccessor = dataAccessor;
+    this.slashingProtectionBaseDir = slashingProtectionBaseDir;
+    this.journalExecutor = journalExecutor;
+    this.foldExecutor = foldExecutor;
+    // Bring the signing record files up to date with any journal left by a previous run
+    foldJournal(dataAccessor, slashingProtectionBaseDir);
+    this.nextSegmentNumber =
+        ValidatorSigningRecordJournal.getNextSegmentNumber(slashingProtectionBaseDir);
+  }
+
+  public static JournalingSlashingProtector create(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir)
+      throws IOException {
+    return new JournalingSlashingProtector(
+        dataAccessor,
+        slashingProtectionBaseDir,
+        Executors.newSingleThreadExecutor(createThreadFactory("slashing-protection-journal")),
+        Executors.newSingleThreadExecutor(createThreadFactory("slashing-protection-fold")));
+  }
+
+  /**
+   * Folds any journal segments left by a previous run into the per-validator signing record files.
+   *
+   * <p>Must be called before the files are read by anything other than this protector, such as
+   * {@link LocalSlashingProtector}, or the records they contain may be out of date.
+   */
+  public static void foldJournal(
+      final SyncDataAccessor dataAccessor, final Path slashingProtectionBaseDir)
+      throws IOException {
+    ValidatorSigningRecordJournal.foldAllSegments(dataAccessor, slashingProtectionBaseDir);
+  }
+
+  /**
+   * Writes any queued records, closes the current journal segment and folds it into the signing
+   * record files, then shuts down the journal threads. Signing decisions requested after this fail.
+   */
+  public SafeFuture<Void> stop() {
+    final SafeFuture<Void> stopped = new SafeFuture<>();
+    try {
+      // Queued after any pending write and the fold is queued after any earlier segment's fold
+      journalExecutor.execute(
+          () -> {
+            rotateJournal();
+            foldExecutor.execute(() -> stopped.complete(null));
+          });
+    } catch (final Throwable t) {
+      stopped.completeExceptionally(t);
+    }
+    return stopped.alwaysRun(
+        () -> {
+          journalExecutor.shutdown();
+          foldExecutor.shutdown();
+        });
+  }
+
+  @Override
+  public SafeFuture<Boolean> maySignBlock(
+      final BLSPublicKey validator, final Bytes32 genesisValidatorsRoot, final UInt64 slot) {
+    return maySign(
+        validator,
+        genesisValidatorsRoot,
+        signingRecord -> signingRecord.maySignBlock(genesisValidatorsRoot, slot));
+  }
+
+  @Override
+  public SafeFuture<Boolean> maySignAttestation(
+      final BLSPublicKey validator,
+      final Bytes32 genesisValidatorsRoot,
+      final UInt64 sourceEpoch,
+      final UInt64 targetEpoch) {
+    return maySign(
+        validator,
+        genesisValidatorsRoot,
+        signingRecord ->
+            signingRecord.maySignAttestation(genesisValidatorsRoot, sourceEpoch, targetEpoch));
+  }
+
+  private SafeFuture<Boolean> maySign(
+      final BLSPublicKey validator,
+      final Bytes32 genesisValidatorsRoot,
+      final Function<ValidatorSigningRecord, Optional<ValidatorSigningRecord>> check) {
+    final Lock lock = validatorLocks.get(validator);
+    lock.lock();
+    try {
+      final Optional<ValidatorSigningRecord> newRecord =
+          check.apply(loadSigningRecord(validator, genesisValidatorsRoot));
+      if (newRecord.isEmpty()) {
+        return SafeFuture.completedFuture(false);
+      }
+      // Later decisions must see the new record even before it is durable. If the write fails
+      // the in-memory record is still the more restrictive one so remains safe to use.
+      signingRecords.put(validator, newRecord.get());
+      return queueWrite(validator, newRecord.get()).thenApply(__ -> true);
+    } catch (final Throwable t) {
+      return SafeFuture.failedFuture(t);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private ValidatorSigningRecord loadSigningRecord(
+      final BLSPublicKey validator, final Bytes32 genesisValidatorsRoot) throws IOException {
+    ValidatorSigningRecord record = signingRecords.get(validator);
+    if (record != null) {
+      return record;
+    }
+    record =
+        dataAccessor
+            .read(
+                ValidatorSigningRecordJournal.getSigningRecordPath(
+                    slashingProtectionBaseDir, validator.toBytesCompressed()))
+            .map(ValidatorSigningRecord::fromBytes)
+            .orElseGet(() -> new ValidatorSigningRecord(genesisValidatorsRoot));
+    signingRecords.put(validator, record);
+    return record;
+  }
+
+  private SafeFuture<Void> queueWrite(
+      final BLSPublicKey validator, final ValidatorSigningRecord record) {
+    final SafeFuture<Void> result = new SafeFuture<>();
+    synchronized (pendingLock) {
+      pendingRecords.put(validator.toBytesCompressed(), record);
+      pendingFutures.add(result);
+      if (!writeScheduled) {
+        // Rejected once stopped, leaving the write unscheduled so later decisions fail too
+        journalExecutor.execute(this::writePendingRecords);
+        writeScheduled = true;
+      }
+    }
+    return result;
+  }
+
+  private void writePendingRecords() {
+    final Map<Bytes48, ValidatorSigningRecord> records;
+    final List<SafeFuture<Void>> futures;
+    synchronized (pendingLock) {
+      records = pendingRecords;
+      futures = pendingFutures;
+      pendingRecords = new LinkedHashMap<>();
+      pendingFutures = new ArrayList<>();
+      // Records queued while this batch is written are picked up together by the next write
+      writeScheduled = false;
+    }
+    try {
+      final ValidatorSigningRecordJournal currentJournal = getJournal();
+      try {
+        currentJournal.append(records);
+      } catch (final IOException e) {
+        // The segment may now end with a partial entry so nothing more can be appended to it
+        rotateJournal();
+        throw e;
+      }
+      futures.forEach(future -> future.complete(null));
+      if (currentJournal.getEntryCount() >= MAX_SEGMENT_ENTRIES) {
+        rotateJournal();
+      }
+    } catch (final Throwable t) {
+      LOG.error("Failed to write slashing protection records", t);
+      futures.forEach(future -> future.completeExceptionally(t));
+    }
+  }
+
+  private ValidatorSigningRecordJournal getJournal() throws IOException {
+    if (journal.isEmpty()) {
+      journal =
+          Optional.of(
+              ValidatorSigningRecordJournal.create(slashingProtectionBaseDir, nextSegmentNumber++));
+    }
+    return journal.get();
+  }
+
+  private void rotateJournal() {
+    journal.ifPresent(
+        currentJournal -> {
+          final Path segment = currentJournal.getPath();
+          try {
+            currentJournal.close();
+          } catch (final IOException e) {
+            LOG.warn("Failed to close slashing protection journal " + segment, e);
+          }
+          foldExecutor.execute(() -> foldSegment(segment));
+        });
+    journal = Optional.empty();
+  }
+
+  private void foldSegment(final Path segment) {
+    if (foldFailed) {
+      // Segments must be folded in order or older records would replace newer ones
+      return;
+    }
+    try {
+      ValidatorSigningRecordJournal.foldSegment(dataAccessor, slashingProtectionBaseDir, segment);
+    } catch (final Throwable t) {
+      // Remaining segments are left in place and folded on next startup
+      foldFailed = true;
+      LOG.warn("Failed to fold slashing protection journal " + segment, t);
+    }
+  }
+
+  private static ThreadFactory createThreadFactory(final String name) {
+    return new ThreadFactoryBuilder().setNameFormat(name).setDaemon(true).build();
+  }
+}
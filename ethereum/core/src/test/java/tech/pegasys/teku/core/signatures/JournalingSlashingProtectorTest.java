@@ -0,0 +1,221 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.core.signatures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecord;
+import tech.pegasys.teku.data.signingrecord.ValidatorSigningRecordJournal;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.io.SyncDataAccessor;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class JournalingSlashingProtectorTest {
+  private static final Bytes32 GENESIS_VALIDATORS_ROOT = Bytes32.fromHexString("0x561234");
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+
+  private final BLSPublicKey validator1 = dataStructureUtil.randomPublicKey();
+  private final BLSPublicKey validator2 = dataStructureUtil.randomPublicKey();
+  private final SyncDataAccessor dataAccessor = new SyncDataAccessor();
+  private final QueuedExecutorService journalExecutor = new QueuedExecutorService();
+  private final ExecutorService foldExecutor = MoreExecutors.newDirectExecutorService();
+
+  @TempDir Path baseDir;
+
+  @Test
+  void shouldOnlyCompleteOnceRecordIsWrittenToJournal() throws Exception {
+    final JournalingSlashingProtector protector = createProtector();
+    final SafeFuture<Boolean> result =
+        protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.ONE);
+    assertThat(result).isNotDone();
+
+    runJournalTasks();
+    assertThat(result).isCompletedWithValue(true);
+    assertThat(
+            ValidatorSigningRecordJournal.readSegment(baseDir.resolve("signing-records-0.journal"))
+                .get(validator1.toBytesCompressed()))
+        .isEqualTo(new ValidatorSigningRecord(GENESIS_VALIDATORS_ROOT, UInt64.ONE, null, null));
+  }
+
+  @Test
+  void shouldWriteQueuedDecisionsTogether() throws Exception {
+    final JournalingSlashingProtector protector = createProtector();
+    final SafeFuture<Boolean> result1 =
+        protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.ONE);
+    final SafeFuture<Boolean> result2 =
+        protector.maySignAttestation(
+            validator2, GENESIS_VALIDATORS_ROOT, UInt64.ONE, UInt64.valueOf(2));
+
+    assertThat(journalExecutor.getQueuedTaskCount()).isEqualTo(1);
+    runJournalTasks();
+    assertThat(result1).isCompletedWithValue(true);
+    assertThat(result2).isCompletedWithValue(true);
+  }
+
+  @Test
+  void shouldRejectSlashableDecisionBeforeEarlierDecisionIsDurable() throws Exception {
+    final JournalingSlashingProtector protector = createProtector();
+    final SafeFuture<Boolean> result1 =
+        protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(3));
+    final SafeFuture<Boolean> result2 =
+        protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(3));
+    final SafeFuture<Boolean> result3 =
+        protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(2));
+
+    assertThat(result2).isCompletedWithValue(false);
+    assertThat(result3).isCompletedWithValue(false);
+    runJournalTasks();
+    assertThat(result1).isCompletedWithValue(true);
+  }
+
+  @Test
+  void shouldRejectSlashableDecisionAfterRestart() throws Exception {
+    final JournalingSlashingProtector protector = createProtector();
+    protector.maySignAttestation(
+        validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(4), UInt64.valueOf(5));
+    runJournalTasks();
+
+    // Journal from the first instance is folded into the signing record files on startup
+    final JournalingSlashingProtector restarted = createProtector();
+    assertThat(
+            dataAccessor.read(
+                ValidatorSigningRecordJournal.getSigningRecordPath(
+                    baseDir, validator1.toBytesCompressed())))
+        .isPresent();
+    assertThat(
+            restarted.maySignAttestation(
+                validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(4), UInt64.valueOf(5)))
+        .isCompletedWithValue(false);
+    assertThat(
+            restarted.maySignAttestation(
+                validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(5), UInt64.valueOf(6)))
+        .isNotDone();
+  }
+
+  @Test
+  void shouldUseRecordsWrittenByLocalSlashingProtector() throws Exception {
+    final LocalSlashingProtector localProtector = new LocalSlashingProtector(dataAccessor, baseDir);
+    assertThat(localProtector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(6)))
+        .isCompletedWithValue(true);
+
+    final JournalingSlashingProtector protector = createProtector();
+    assertThat(protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(6)))
+        .isCompletedWithValue(false);
+  }
+
+  @Test
+  void shouldFoldJournalIntoSigningRecordsOnStop() throws Exception {
+    final JournalingSlashingProtector protector = createProtector();
+    final SafeFuture<Boolean> result =
+        protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(7));
+    final SafeFuture<Void> stopped = protector.stop();
+
+    runJournalTasks();
+    assertThat(result).isCompletedWithValue(true);
+    assertThat(stopped).isCompleted();
+    assertThat(journalExecutor.isShutdown()).isTrue();
+    assertThat(foldExecutor.isShutdown()).isTrue();
+
+    // Records are visible to a LocalSlashingProtector without the journal being folded again
+    final LocalSlashingProtector localProtector = new LocalSlashingProtector(dataAccessor, baseDir);
+    assertThat(localProtector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.valueOf(7)))
+        .isCompletedWithValue(false);
+  }
+
+  @Test
+  void shouldFailDecisionsAfterStop() throws Exception {
+    final JournalingSlashingProtector protector = createProtector();
+    protector.stop();
+    runJournalTasks();
+
+    assertThat(protector.maySignBlock(validator1, GENESIS_VALIDATORS_ROOT, UInt64.ONE))
+        .isCompletedExceptionally();
+    assertThat(protector.maySignBlock(validator2, GENESIS_VALIDATORS_ROOT, UInt64.ONE))
+        .isCompletedExceptionally();
+  }
+
+  private JournalingSlashingProtector createProtector() throws IOException {
+    return new JournalingSlashingProtector(dataAccessor, baseDir, journalExecutor, foldExecutor);
+  }
+
+  private void runJournalTasks() {
+    journalExecutor.runQueuedTasks();
+  }
+
+  /** Queues tasks until {@link #runQueuedTasks()} so tests control when the journal is written */
+  private static class QueuedExecutorService extends AbstractExecutorService {
+    private final List<Runnable> tasks = new ArrayList<>();
+    private boolean shutdown = false;
+
+    int getQueuedTaskCount() {
+      return tasks.size();
+    }
+
+    void runQueuedTasks() {
+      while (!tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      if (shutdown) {
+        throw new RejectedExecutionException("Executor is shut down");
+      }
+      tasks.add(command);
+    }
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      shutdown = true;
+      final List<Runnable> remaining = new ArrayList<>(tasks);
+      tasks.clear();
+      return remaining;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+      return isTerminated();
+    }
+  }
+}
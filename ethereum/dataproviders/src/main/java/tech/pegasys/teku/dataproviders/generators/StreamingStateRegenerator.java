@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.dataproviders.generators;
 
+import java.util.Iterator;
+import java.util.function.BiPredicate;
 import java.util.stream.Stream;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -48,4 +50,28 @@ public class StreamingStateRegenerator {
     blocks.forEach(regenerator::processBlock);
     return regenerator.state;
   }
+
+  /**
+   * Replays the blocks in order, first passing the current state and the next block to {@code
+   * shouldApplyBlock}. This allows the intermediate states to be captured as the replay passes
+   * them. Replay stops as soon as {@code shouldApplyBlock} returns false.
+   *
+   * @return the state after the last applied block
+   */
+  public static BeaconState regenerate(
+      final Spec spec,
+      final BeaconState initialState,
+      final Stream<SignedBeaconBlock> blocks,
+      final BiPredicate<BeaconState, SignedBeaconBlock> shouldApplyBlock) {
+    final StreamingStateRegenerator regenerator = new StreamingStateRegenerator(spec, initialState);
+    final Iterator<SignedBeaconBlock> iterator = blocks.iterator();
+    while (iterator.hasNext()) {
+      final SignedBeaconBlock block = iterator.next();
+      if (!shouldApplyBlock.test(regenerator.state, block)) {
+        break;
+      }
+      regenerator.processBlock(block);
+    }
+    return regenerator.state;
+  }
 }
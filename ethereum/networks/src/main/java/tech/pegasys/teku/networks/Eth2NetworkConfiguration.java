@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.networks;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Arrays.asList;
 import static tech.pegasys.teku.spec.networks.Eth2Network.LESS_SWIFT;
@@ -47,6 +48,7 @@ public class Eth2NetworkConfiguration {
   private final Eth1Address eth1DepositContractAddress;
   private final Optional<UInt64> eth1DepositContractDeployBlock;
   private final boolean balanceAttackMitigationEnabled;
+  private final int hashTreeRootThreads;
 
   private Eth2NetworkConfiguration(
       final Spec spec,
@@ -59,6 +61,7 @@ public class Eth2NetworkConfiguration {
       final Eth1Address eth1DepositContractAddress,
       final Optional<UInt64> eth1DepositContractDeployBlock,
       final boolean balanceAttackMitigationEnabled,
+      final int hashTreeRootThreads,
       final Optional<UInt64> altairForkEpoch) {
     this.spec = spec;
     this.constants = constants;
@@ -74,6 +77,7 @@ public class Eth2NetworkConfiguration {
             : eth1DepositContractAddress;
     this.eth1DepositContractDeployBlock = eth1DepositContractDeployBlock;
     this.balanceAttackMitigationEnabled = balanceAttackMitigationEnabled;
+    this.hashTreeRootThreads = hashTreeRootThreads;
   }
 
   public static Eth2NetworkConfiguration.Builder builder(final String network) {
@@ -133,6 +137,14 @@ public class Eth2NetworkConfiguration {
     return balanceAttackMitigationEnabled;
   }
 
+  /**
+   * @return the number of threads to calculate state hash tree roots with or 0 to hash on the
+   *     calling thread
+   */
+  public int getHashTreeRootThreads() {
+    return hashTreeRootThreads;
+  }
+
   public Optional<UInt64> getAltairForkEpoch() {
     return altairForkEpoch;
   }
@@ -152,6 +164,7 @@ public class Eth2NetworkConfiguration {
     private Eth1Address eth1DepositContractAddress;
     private Optional<UInt64> eth1DepositContractDeployBlock = Optional.empty();
     private boolean balanceAttackMitigationEnabled = false;
+    private int hashTreeRootThreads = 0;
     private Optional<UInt64> altairForkEpoch = Optional.empty();
 
     public Eth2NetworkConfiguration build() {
@@ -174,6 +187,7 @@ public class Eth2NetworkConfiguration {
           eth1DepositContractAddress,
           eth1DepositContractDeployBlock,
           balanceAttackMitigationEnabled,
+          hashTreeRootThreads,
           altairForkEpoch);
     }
 
@@ -237,6 +251,12 @@ public class Eth2NetworkConfiguration {
       return this;
     }
 
+    public Builder hashTreeRootThreads(final int hashTreeRootThreads) {
+      checkArgument(hashTreeRootThreads >= 0, "Hash tree root threads should not be negative");
+      this.hashTreeRootThreads = hashTreeRootThreads;
+      return this;
+    }
+
     public Builder altairForkEpoch(final UInt64 altairForkEpoch) {
       this.altairForkEpoch = Optional.of(altairForkEpoch);
       return this;
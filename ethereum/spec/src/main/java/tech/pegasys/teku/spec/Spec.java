@@ -68,6 +68,7 @@ import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitions;
 import tech.pegasys.teku.ssz.collections.SszBitlist;
+import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.type.Bytes4;
 
 public class Spec {
@@ -246,6 +247,18 @@ public class Spec {
         .sszDeserialize(serializedState);
   }
 
+  /**
+   * Deserializes a state from trusted storage. Parts of the state are only decoded when they are
+   * first accessed, so the SSZ is not fully validated up front.
+   */
+  public BeaconState deserializeBeaconStateLazily(final Bytes serializedState) {
+    final UInt64 slot = BeaconStateInvariants.extractSlot(serializedState);
+    return atSlot(slot)
+        .getSchemaDefinitions()
+        .getBeaconStateSchema()
+        .sszDeserialize(SszReader.fromBytesLazily(serializedState));
+  }
+
   public SignedBeaconBlock deserializeSignedBeaconBlock(final Bytes serializedState) {
     final UInt64 slot = BeaconBlockInvariants.extractSignedBeaconBlockSlot(serializedState);
     return atSlot(slot)
@@ -445,6 +458,16 @@ public class Spec {
         .onBlock(store, signedBlock, blockSlotState, indexedAttestationCache);
   }
 
+  public BlockImportResult onValidatedBlock(
+      final MutableStore store,
+      final SignedBeaconBlock signedBlock,
+      final BeaconState blockSlotState,
+      final BeaconState postState) {
+    return atBlock(signedBlock)
+        .getForkChoiceUtil()
+        .onValidatedBlock(store, signedBlock, blockSlotState, postState);
+  }
+
   public boolean blockDescendsFromLatestFinalizedBlock(
       final BeaconBlock block,
       final ReadOnlyStore store,
@@ -25,6 +25,17 @@ public interface VoteUpdater {
 
   Set<UInt64> getVotedValidatorIndices();
 
+  /**
+   * Returns the indices of validators whose vote may have a current root that differs from its next
+   * root. Any validator not included is guaranteed to have matching roots so its vote only affects
+   * fork choice weights if its balance changes.
+   *
+   * @return a superset of the validators with pending vote changes
+   */
+  default Set<UInt64> getValidatorIndicesWithChangedVotes() {
+    return getVotedValidatorIndices();
+  }
+
   void putVote(UInt64 validatorIndex, VoteTracker vote);
 
   Bytes32 applyForkChoiceScoreChanges(
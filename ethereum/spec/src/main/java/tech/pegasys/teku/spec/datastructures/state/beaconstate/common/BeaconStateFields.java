@@ -148,7 +148,9 @@ public enum BeaconStateFields {
             BeaconStateFields.BALANCES.name(),
             () ->
                 SszListSchema.create(
-                    SszPrimitiveSchemas.UINT64_SCHEMA, specConfig.getValidatorRegistryLimit()));
+                    SszPrimitiveSchemas.UINT64_SCHEMA,
+                    specConfig.getValidatorRegistryLimit(),
+                    SszSchemaHints.sszPackedNode(4)));
     SszField randaoMixesField =
         new SszField(
             13,
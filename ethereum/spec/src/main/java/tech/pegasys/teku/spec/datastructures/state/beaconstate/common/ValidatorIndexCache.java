@@ -14,82 +14,70 @@
 package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import tech.pegasys.teku.bls.BLSPublicKey;
-import tech.pegasys.teku.infrastructure.collections.cache.Cache;
-import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
-import tech.pegasys.teku.infrastructure.collections.cache.NoOpCache;
-import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.infrastructure.collections.LimitedMap;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
-import tech.pegasys.teku.ssz.SszList;
 
+/**
+ * Looks up validator indices by public key.
+ *
+ * <p>Indices are held in a {@link ValidatorPublicKeyIndex} shared by all states with the same
+ * genesis validators root, so states loaded independently (e.g. from storage or regenerated) don't
+ * each rebuild their own copy. The shared index can be preloaded with persisted keys via {@link
+ * #preloadPublicKeys(Bytes32, int, Bytes)} to avoid scanning the whole registry after a restart.
+ */
 public class ValidatorIndexCache {
-  private final Cache<BLSPublicKey, Integer> validatorIndexes;
-  private final AtomicInteger lastIndex;
+  private static final int MAX_CHAINS = 4;
+  private static final Map<Bytes32, ValidatorPublicKeyIndex> INDICES_BY_CHAIN =
+      LimitedMap.create(MAX_CHAINS);
 
-  private static final int INDEX_NONE = -1;
   static final ValidatorIndexCache NO_OP_INSTANCE =
-      new ValidatorIndexCache(NoOpCache.getNoOpCache(), INDEX_NONE);
+      new ValidatorIndexCache(__ -> new ValidatorPublicKeyIndex());
+
+  private final Function<Bytes32, ValidatorPublicKeyIndex> indexProvider;
 
   @VisibleForTesting
-  ValidatorIndexCache(final Cache<BLSPublicKey, Integer> validatorIndexes, final int lastIndex) {
-    this.validatorIndexes = validatorIndexes;
-    this.lastIndex = new AtomicInteger(lastIndex);
+  ValidatorIndexCache(final Function<Bytes32, ValidatorPublicKeyIndex> indexProvider) {
+    this.indexProvider = indexProvider;
   }
 
   public ValidatorIndexCache() {
-    this.validatorIndexes = LRUCache.create(Integer.MAX_VALUE - 1);
-    this.lastIndex = new AtomicInteger(INDEX_NONE);
-  }
-
-  public Optional<Integer> getValidatorIndex(
-      final BeaconState state, final BLSPublicKey publicKey) {
-    // Store lastIndex here in case we need to scan keys from the state.
-    // This ensures we're adding from a point that we're confident the cache is at
-    // when we scan for more keys through the state later.
-    final int lastIndexSnapshot = lastIndex.get();
-
-    final Optional<Integer> validatorIndex = validatorIndexes.getCached(publicKey);
-    if (validatorIndex.isPresent()) {
-      return validatorIndex.filter(index -> index < state.getValidators().size());
-    }
-
-    return findIndexFromState(state.getValidators(), publicKey, lastIndexSnapshot);
+    this(ValidatorIndexCache::getSharedIndex);
   }
 
-  private Optional<Integer> findIndexFromState(
-      final SszList<Validator> validatorList,
-      final BLSPublicKey publicKey,
-      final int lastIndexSnapshot) {
-    for (int i = Math.max(lastIndexSnapshot, 0); i < validatorList.size(); i++) {
-      BLSPublicKey pubKey = validatorList.get(i).getPublicKey();
-      validatorIndexes.invalidateWithNewValue(pubKey, i);
-      if (pubKey.equals(publicKey)) {
-        updateLastIndex(i);
-        return Optional.of(i);
-      }
-    }
-
-    updateLastIndex(validatorList.size());
-    return Optional.empty();
+  /**
+   * Adds the concatenated 48 byte compressed public keys of validators, starting at validator index
+   * <code>startIndex</code>, to the index shared by states with the specified genesis validators
+   * root.
+   */
+  public static void preloadPublicKeys(
+      final Bytes32 genesisValidatorsRoot, final int startIndex, final Bytes publicKeys) {
+    getSharedIndex(genesisValidatorsRoot).addAll(startIndex, publicKeys);
   }
 
-  private void updateLastIndex(final int i) {
-    lastIndex.updateAndGet(curr -> Math.max(curr, i));
+  private static ValidatorPublicKeyIndex getSharedIndex(final Bytes32 genesisValidatorsRoot) {
+    return INDICES_BY_CHAIN.computeIfAbsent(
+        genesisValidatorsRoot, __ -> new ValidatorPublicKeyIndex());
   }
 
-  public void invalidateWithNewValue(final BLSPublicKey pubKey, final int updatedIndex) {
-    validatorIndexes.invalidateWithNewValue(pubKey, updatedIndex);
+  public Optional<Integer> getValidatorIndex(
+      final BeaconState state, final BLSPublicKey publicKey) {
+    return getIndex(state).findValidatorIndex(state.getValidators(), publicKey.toBytesCompressed());
   }
 
-  @VisibleForTesting
-  int getLastIndex() {
-    return lastIndex.get();
+  /** Records the key of a validator just appended to the registry of the specified state. */
+  public void onValidatorAdded(
+      final BeaconState state, final int validatorIndex, final Bytes48 publicKey) {
+    getIndex(state).onValidatorAdded(validatorIndex, publicKey);
   }
 
-  @VisibleForTesting
-  Cache<BLSPublicKey, Integer> getValidatorIndexes() {
-    return validatorIndexes;
+  private ValidatorPublicKeyIndex getIndex(final BeaconState state) {
+    return indexProvider.apply(state.getGenesis_validators_root());
   }
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import tech.pegasys.teku.infrastructure.collections.LimitedMap;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.ssz.SszList;
+
+/**
+ * Maps compressed validator public keys to validator indices for a single chain.
+ *
+ * <p>Keys are stored back to back in a flat byte array in validator index order, so the index of a
+ * key is its position in that array. Lookups go through an open addressing hash table of <code>
+ * index + 1</code> values (0 marks an empty slot) so no boxed keys or entries are allocated.
+ *
+ * <p>The index only ever holds a prefix of the validator registry. Because a validator index never
+ * changes once assigned, the same index serves every state of the chain and is extended from the
+ * state on lookup when it falls behind.
+ */
+final class ValidatorPublicKeyIndex {
+  private static final int KEY_SIZE = Bytes48.SIZE;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int MAX_VERIFIED_REGISTRIES = 32;
+  private static final int NOT_FOUND = -1;
+  private static final int INCONSISTENT = -2;
+  private static final VarHandle LONG_VIEW =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private byte[] keys = new byte[INITIAL_CAPACITY * KEY_SIZE];
+  // Kept at most half full, capacity is always a power of two
+  private int[] slots = new int[INITIAL_CAPACITY * 2];
+  private int size;
+
+  // Number of leading keys of each recently seen registry known to match the indexed keys
+  private final Map<Bytes32, Integer> verifiedKeyCounts =
+      LimitedMap.create(MAX_VERIFIED_REGISTRIES);
+
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Finds the index of the validator with the specified key in the state's validator list,
+   * extending this index with any validators it has not seen yet.
+   *
+   * <p>The index is only used for registries whose keys match every indexed key they share. That is
+   * verified once per registry root, outside the lock, and registries that don't match are scanned
+   * directly.
+   */
+  Optional<Integer> findValidatorIndex(
+      final SszList<Validator> validators, final Bytes48 publicKey) {
+    final Bytes32 registryRoot = validators.hashTreeRoot();
+    final int verifiedCount = verifyIndexedKeys(validators, registryRoot);
+    if (verifiedCount == INCONSISTENT) {
+      // The state doesn't share the validators we've indexed so can't use or extend the index
+      return scanValidators(validators, publicKey);
+    }
+    final int index = findOrExtend(validators, registryRoot, verifiedCount, publicKey);
+    if (index == INCONSISTENT) {
+      return scanValidators(validators, publicKey);
+    }
+    return index == NOT_FOUND ? Optional.empty() : Optional.of(index);
+  }
+
+  /**
+   * Compares the keys in the registry with the indexed keys they overlap with.
+   *
+   * @return the number of leading keys known to match, or {@link #INCONSISTENT} if any differ
+   */
+  private int verifyIndexedKeys(final SszList<Validator> validators, final Bytes32 registryRoot) {
+    final byte[] indexedKeys;
+    final int commonCount;
+    final int previouslyVerifiedCount;
+    synchronized (this) {
+      // Indexed bytes are never modified once written so can be read after releasing the lock
+      indexedKeys = keys;
+      commonCount = Math.min(size, validators.size());
+      previouslyVerifiedCount = verifiedKeyCounts.getOrDefault(registryRoot, 0);
+    }
+    if (previouslyVerifiedCount >= commonCount) {
+      return previouslyVerifiedCount;
+    }
+    if (!keysMatch(validators, indexedKeys, previouslyVerifiedCount, commonCount)) {
+      return INCONSISTENT;
+    }
+    synchronized (this) {
+      recordVerifiedKeys(registryRoot, commonCount);
+    }
+    return commonCount;
+  }
+
+  private synchronized int findOrExtend(
+      final SszList<Validator> validators,
+      final Bytes32 registryRoot,
+      final int verifiedCount,
+      final Bytes48 publicKey) {
+    final int validatorCount = validators.size();
+    // Keys may have been indexed from another registry since the registry was verified
+    final int commonCount = Math.min(size, validatorCount);
+    if (!keysMatch(validators, keys, verifiedCount, commonCount)) {
+      return INCONSISTENT;
+    }
+
+    final int index = indexOf(publicKey);
+    if (index >= 0) {
+      // Keys are unique within a registry so the key can't be elsewhere in this one
+      return index < validatorCount ? index : NOT_FOUND;
+    }
+
+    int result = NOT_FOUND;
+    for (int i = size; i < validatorCount; i++) {
+      final Bytes48 validatorKey = validators.get(i).getPubkeyBytes();
+      add(validatorKey);
+      if (validatorKey.equals(publicKey)) {
+        result = i;
+        break;
+      }
+    }
+    recordVerifiedKeys(registryRoot, Math.min(size, validatorCount));
+    return result;
+  }
+
+  private void recordVerifiedKeys(final Bytes32 registryRoot, final int verifiedCount) {
+    verifiedKeyCounts.merge(registryRoot, verifiedCount, Math::max);
+  }
+
+  private static boolean keysMatch(
+      final SszList<Validator> validators,
+      final byte[] indexedKeys,
+      final int fromIndex,
+      final int toIndex) {
+    for (int i = fromIndex; i < toIndex; i++) {
+      final byte[] validatorKey = validators.get(i).getPubkeyBytes().toArrayUnsafe();
+      if (!Arrays.equals(
+          indexedKeys, i * KEY_SIZE, (i + 1) * KEY_SIZE, validatorKey, 0, KEY_SIZE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds the key of a newly created validator. Ignored unless the index is up to date with the
+   * validators preceding it.
+   */
+  synchronized void onValidatorAdded(final int validatorIndex, final Bytes48 publicKey) {
+    if (validatorIndex == size) {
+      add(publicKey);
+    }
+  }
+
+  /**
+   * Adds concatenated 48 byte keys for the validators from index <code>startIndex</code>. Keys for
+   * validators that are already indexed are skipped.
+   */
+  synchronized void addAll(final int startIndex, final Bytes publicKeys) {
+    checkArgument(publicKeys.size() % KEY_SIZE == 0, "Invalid public keys length");
+    checkArgument(startIndex <= size, "Public keys must follow the already indexed keys");
+    final int count = publicKeys.size() / KEY_SIZE;
+    for (int i = size - startIndex; i < count; i++) {
+      add(Bytes48.wrap(publicKeys.slice(i * KEY_SIZE, KEY_SIZE)));
+    }
+  }
+
+  synchronized Bytes48 getKey(final int index) {
+    return Bytes48.wrap(Arrays.copyOfRange(keys, index * KEY_SIZE, (index + 1) * KEY_SIZE));
+  }
+
+  private int indexOf(final Bytes48 publicKey) {
+    final byte[] key = publicKey.toArrayUnsafe();
+    final int mask = slots.length - 1;
+    for (int slot = hash(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+      final int index = slots[slot] - 1;
+      if (Arrays.equals(keys, index * KEY_SIZE, (index + 1) * KEY_SIZE, key, 0, KEY_SIZE)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  private void add(final Bytes48 publicKey) {
+    if (indexOf(publicKey) >= 0) {
+      // Duplicate keys can't get into the registry so only the first occurrence matters
+      return;
+    }
+    if ((size + 1) * KEY_SIZE > keys.length) {
+      keys = Arrays.copyOf(keys, keys.length * 2);
+    }
+    System.arraycopy(publicKey.toArrayUnsafe(), 0, keys, size * KEY_SIZE, KEY_SIZE);
+    size++;
+    if (size * 2 > slots.length) {
+      rehash(slots.length * 2);
+    } else {
+      insertSlot(size - 1);
+    }
+  }
+
+  private void rehash(final int capacity) {
+    slots = new int[capacity];
+    for (int i = 0; i < size; i++) {
+      insertSlot(i);
+    }
+  }
+
+  private void insertSlot(final int index) {
+    final int mask = slots.length - 1;
+    int slot = hashAt(index) & mask;
+    while (slots[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    slots[slot] = index + 1;
+  }
+
+  private int hashAt(final int index) {
+    return hash(keys, index * KEY_SIZE);
+  }
+
+  private static int hash(final byte[] key) {
+    return hash(key, 0);
+  }
+
+  private static int hash(final byte[] data, final int offset) {
+    // Mix every word of the key as keys used in tests (and benchmarks) are often mostly zeros
+    long hash = 0;
+    for (int i = offset; i < offset + KEY_SIZE; i += Long.BYTES) {
+      hash = hash * 0x9E3779B97F4A7C15L + (long) LONG_VIEW.get(data, i);
+    }
+    // MurmurHash3 finalizer
+    hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+    hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return (int) (hash ^ (hash >>> 33));
+  }
+
+  private Optional<Integer> scanValidators(
+      final SszList<Validator> validators, final Bytes48 publicKey) {
+    for (int i = 0; i < validators.size(); i++) {
+      if (validators.get(i).getPubkeyBytes().equals(publicKey)) {
+        return Optional.of(i);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -26,6 +26,7 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.BeaconStat
 import tech.pegasys.teku.ssz.primitive.SszByte;
 import tech.pegasys.teku.ssz.schema.SszListSchema;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.ssz.schema.SszSchemaHints;
 import tech.pegasys.teku.ssz.schema.collections.SszPrimitiveListSchema;
 import tech.pegasys.teku.ssz.schema.collections.SszUInt64ListSchema;
 import tech.pegasys.teku.ssz.sos.SszField;
@@ -56,20 +57,25 @@ public class BeaconStateSchemaAltair
             BeaconStateFields.PREVIOUS_EPOCH_PARTICIPATION.name(),
             () ->
                 SszListSchema.create(
-                    SszPrimitiveSchemas.BYTE_SCHEMA, specConfig.getValidatorRegistryLimit()));
+                    SszPrimitiveSchemas.BYTE_SCHEMA,
+                    specConfig.getValidatorRegistryLimit(),
+                    SszSchemaHints.sszPackedNode(4)));
     final SszField currentEpochAttestationsField =
         new SszField(
             CURRENT_EPOCH_PARTICIPATION_FIELD_INDEX,
             BeaconStateFields.CURRENT_EPOCH_PARTICIPATION.name(),
             () ->
                 SszListSchema.create(
-                    SszPrimitiveSchemas.BYTE_SCHEMA, specConfig.getValidatorRegistryLimit()));
+                    SszPrimitiveSchemas.BYTE_SCHEMA,
+                    specConfig.getValidatorRegistryLimit(),
+                    SszSchemaHints.sszPackedNode(4)));
 
     final SszField inactivityScores =
         new SszField(
             INACTIVITY_SCORES_FIELD_INDEX,
             BeaconStateFields.INACTIVITY_SCORES.name(),
-            SszUInt64ListSchema.create(specConfig.getValidatorRegistryLimit()));
+            SszUInt64ListSchema.create(
+                specConfig.getValidatorRegistryLimit(), SszSchemaHints.sszPackedNode(4)));
     final SszField currentSyncCommitteeField =
         new SszField(
             CURRENT_SYNC_COMMITTEE_FIELD_INDEX,
@@ -22,8 +22,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.function.Function;
-import java.util.stream.IntStream;
 import javax.annotation.CheckReturnValue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -57,6 +55,7 @@ import tech.pegasys.teku.spec.datastructures.operations.ProposerSlashing;
 import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
 import tech.pegasys.teku.spec.datastructures.util.AttestationProcessingResult;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
@@ -619,13 +618,11 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           pubKeyToIndexMap.putIfAbsent(pubkey, state.getValidators().size());
       existingIndex = cachedIndex == null ? OptionalInt.empty() : OptionalInt.of(cachedIndex);
     } else {
-      Function<Integer, BLSPublicKey> validatorPubkey =
-          index ->
-              beaconStateAccessors.getValidatorPubKey(state, UInt64.valueOf(index)).orElse(null);
       existingIndex =
-          IntStream.range(0, state.getValidators().size())
-              .filter(index -> pubkey.equals(validatorPubkey.apply(index)))
-              .findFirst();
+          validatorsUtil
+              .getValidatorIndex(state, pubkey)
+              .map(OptionalInt::of)
+              .orElseGet(OptionalInt::empty);
     }
 
     if (existingIndex.isEmpty()) {
@@ -678,8 +675,12 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
   }
 
   protected void processNewValidator(final MutableBeaconState state, final Deposit deposit) {
-    LOG.debug("Adding new validator with index {} to state", state.getValidators().size());
+    final int validatorIndex = state.getValidators().size();
+    LOG.debug("Adding new validator with index {} to state", validatorIndex);
     state.getValidators().append(getValidatorFromDeposit(deposit));
+    BeaconStateCache.getTransitionCaches(state)
+        .getValidatorIndexCache()
+        .onValidatorAdded(state, validatorIndex, deposit.getData().getPubkey().toBytesCompressed());
     state.getBalances().appendElement(deposit.getData().getAmount());
   }
 
@@ -20,12 +20,12 @@ import static tech.pegasys.teku.spec.logic.common.helpers.MathHelpers.uint64ToBy
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
 import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.collections.TekuPair;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfig;
@@ -77,17 +77,7 @@ public abstract class BeaconStateAccessors {
     return Optional.of(
         BeaconStateCache.getTransitionCaches(state)
             .getValidatorsPubKeys()
-            .get(
-                validatorIndex,
-                i -> {
-                  BLSPublicKey pubKey = state.getValidators().get(i.intValue()).getPublicKey();
-
-                  // eagerly pre-cache pubKey => validatorIndex mapping
-                  BeaconStateCache.getTransitionCaches(state)
-                      .getValidatorIndexCache()
-                      .invalidateWithNewValue(pubKey, i.intValue());
-                  return pubKey;
-                }));
+            .get(validatorIndex, i -> state.getValidators().get(i.intValue()).getPublicKey()));
   }
 
   /**
@@ -111,10 +101,10 @@ public abstract class BeaconStateAccessors {
             epoch,
             e -> {
               SszList<Validator> validators = state.getValidators();
-              return IntStream.range(0, validators.size())
-                  .filter(index -> predicates.isActiveValidator(validators.get(index), epoch))
-                  .boxed()
-                  .collect(Collectors.toList());
+              return IntList.wrap(
+                  IntStream.range(0, validators.size())
+                      .filter(index -> predicates.isActiveValidator(validators.get(index), epoch))
+                      .toArray());
             });
   }
 
@@ -19,12 +19,17 @@ import static tech.pegasys.teku.spec.logic.common.helpers.MathHelpers.uint64ToBy
 import static tech.pegasys.teku.spec.logic.common.helpers.MathHelpers.uintToBytes;
 
 import com.google.common.primitives.UnsignedBytes;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.crypto.Hash;
+import tech.pegasys.teku.infrastructure.collections.IntList;
+import tech.pegasys.teku.infrastructure.collections.cache.Cache;
+import tech.pegasys.teku.infrastructure.collections.cache.LRUCache;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.datastructures.state.ForkData;
@@ -34,9 +39,16 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateCache;
 import tech.pegasys.teku.ssz.Merkleizable;
 import tech.pegasys.teku.ssz.collections.SszByteVector;
 import tech.pegasys.teku.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.ssz.tree.Sha256Hasher;
 import tech.pegasys.teku.ssz.type.Bytes4;
 
 public class MiscHelpers {
+  // Lists smaller than this are quicker to shuffle without the overhead of parallelisation
+  private static final int PARALLEL_SHUFFLE_THRESHOLD = 16384;
+  private static final int MAX_SHARED_SHUFFLES = 8;
+  private static final Cache<ShuffleKey, IntList> SHUFFLE_CACHE =
+      LRUCache.create(MAX_SHARED_SHUFFLES);
+
   protected final SpecConfig specConfig;
 
   public MiscHelpers(final SpecConfig specConfig) {
@@ -147,10 +159,21 @@ public class MiscHelpers {
         .subList(fromIndex, toIndex);
   }
 
-  List<Integer> shuffleList(List<Integer> input, Bytes32 seed) {
-    int[] indexes = input.stream().mapToInt(i -> i).toArray();
-    shuffleList(indexes, seed);
-    return Arrays.stream(indexes).boxed().collect(Collectors.toList());
+  /**
+   * Returns the shuffled indices, reusing the result from any other state with the same seed and
+   * input indices. States on different forks, or regenerated copies of the same state, have their
+   * own transition caches but typically share their shuffling.
+   */
+  IntList shuffleList(List<Integer> input, Bytes32 seed) {
+    final ShuffleKey key =
+        new ShuffleKey(seed, specConfig.getShuffleRoundCount(), IntList.copyOf(input));
+    return SHUFFLE_CACHE.get(
+        key,
+        k -> {
+          final int[] indexes = k.indices.toIntArray();
+          shuffleList(indexes, seed);
+          return IntList.wrap(indexes);
+        });
   }
 
   public void shuffleList(int[] input, Bytes32 seed) {
@@ -160,38 +183,40 @@ public class MiscHelpers {
       return;
     }
 
-    for (int round = specConfig.getShuffleRoundCount() - 1; round >= 0; round--) {
-
-      Bytes roundAsByte = Bytes.of((byte) round);
-
-      // This needs to be unsigned modulo.
-      int pivot =
-          bytesToUInt64(Hash.sha2_256(Bytes.wrap(seed, roundAsByte)).slice(0, 8))
-              .mod(listSize)
-              .intValue();
-
-      Bytes hashBytes = Bytes.EMPTY;
+    // The pivots and source hashes only depend on the seed and list size so compute them for all
+    // rounds up front, leaving just the swaps to be done sequentially
+    final int roundCount = specConfig.getShuffleRoundCount();
+    final int[] pivots = new int[roundCount];
+    final byte[][] sources = new byte[roundCount][];
+    IntStream rounds = IntStream.range(0, roundCount);
+    if (listSize >= PARALLEL_SHUFFLE_THRESHOLD) {
+      rounds = rounds.parallel();
+    }
+    rounds.forEach(
+        round -> {
+          pivots[round] = computeShufflePivot(seed, round, listSize);
+          sources[round] = computeShuffleSources(seed, round, listSize);
+        });
+
+    for (int round = roundCount - 1; round >= 0; round--) {
+      final int pivot = pivots[round];
+      final byte[] source = sources[round];
       int mirror1 = (pivot + 2) / 2;
       int mirror2 = (pivot + listSize) / 2;
       for (int i = mirror1; i <= mirror2; i++) {
 
-        int flip, bitIndex;
+        // The bit is selected by the larger of the two positions being swapped
+        int flip, position;
         if (i <= pivot) {
           flip = pivot - i;
-          bitIndex = i & 0xff;
-          if (bitIndex == 0 || i == mirror1) {
-            hashBytes = Hash.sha2_256(Bytes.wrap(seed, roundAsByte, uintToBytes(i / 256, 4)));
-          }
+          position = i;
         } else {
           flip = pivot + listSize - i;
-          bitIndex = flip & 0xff;
-          if (bitIndex == 0xff || i == pivot + 1) {
-            hashBytes = Hash.sha2_256(Bytes.wrap(seed, roundAsByte, uintToBytes(flip / 256, 4)));
-          }
+          position = flip;
         }
 
-        int theByte = hashBytes.get(bitIndex / 8);
-        int theBit = (theByte >> (bitIndex & 0x07)) & 1;
+        int theByte = source[(position >>> 8) * Bytes32.SIZE + ((position & 0xff) >>> 3)];
+        int theBit = (theByte >> (position & 0x07)) & 1;
         if (theBit != 0) {
           int tmp = input[i];
           input[i] = input[flip];
@@ -201,6 +226,37 @@ public class MiscHelpers {
     }
   }
 
+  private static int computeShufflePivot(final Bytes32 seed, final int round, final int listSize) {
+    final byte[] preimage = Arrays.copyOf(seed.toArrayUnsafe(), Bytes32.SIZE + 1);
+    preimage[Bytes32.SIZE] = (byte) round;
+    final byte[] hash = new byte[Bytes32.SIZE];
+    Sha256Hasher.get().hash(preimage, 0, preimage.length, hash, 0);
+    // This needs to be unsigned modulo.
+    final long value = Bytes.wrap(hash, 0, Long.BYTES).toLong(ByteOrder.LITTLE_ENDIAN);
+    return (int) Long.remainderUnsigned(value, listSize);
+  }
+
+  /**
+   * Computes <code>hash(seed + round + uint_to_bytes(position // 256))</code> for every block of
+   * 256 positions, concatenated into a single array.
+   */
+  private static byte[] computeShuffleSources(
+      final Bytes32 seed, final int round, final int listSize) {
+    final int blockCount = (listSize + 255) / 256;
+    final byte[] sources = new byte[blockCount * Bytes32.SIZE];
+    final byte[] preimage = Arrays.copyOf(seed.toArrayUnsafe(), Bytes32.SIZE + 1 + Integer.BYTES);
+    preimage[Bytes32.SIZE] = (byte) round;
+    final Sha256Hasher hasher = Sha256Hasher.get();
+    for (int block = 0; block < blockCount; block++) {
+      preimage[Bytes32.SIZE + 1] = (byte) block;
+      preimage[Bytes32.SIZE + 2] = (byte) (block >>> 8);
+      preimage[Bytes32.SIZE + 3] = (byte) (block >>> 16);
+      preimage[Bytes32.SIZE + 4] = (byte) (block >>> 24);
+      hasher.hash(preimage, 0, preimage.length, sources, block * Bytes32.SIZE);
+    }
+    return sources;
+  }
+
   public Bytes computeSigningRoot(Merkleizable object, Bytes32 domain) {
     return new SigningData(object.hashTreeRoot(), domain).hashTreeRoot();
   }
@@ -237,4 +293,38 @@ public class MiscHelpers {
   private Bytes32 computeForkDataRoot(Bytes4 currentVersion, Bytes32 genesisValidatorsRoot) {
     return new ForkData(currentVersion, genesisValidatorsRoot).hashTreeRoot();
   }
+
+  private static final class ShuffleKey {
+    private final Bytes32 seed;
+    private final int roundCount;
+    private final IntList indices;
+    private final int hashCode;
+
+    private ShuffleKey(final Bytes32 seed, final int roundCount, final IntList indices) {
+      this.seed = seed;
+      this.roundCount = roundCount;
+      this.indices = indices;
+      this.hashCode = Objects.hash(seed, roundCount, indices);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ShuffleKey)) {
+        return false;
+      }
+      final ShuffleKey that = (ShuffleKey) o;
+      return hashCode == that.hashCode
+          && roundCount == that.roundCount
+          && seed.equals(that.seed)
+          && indices.equals(that.indices);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
 }
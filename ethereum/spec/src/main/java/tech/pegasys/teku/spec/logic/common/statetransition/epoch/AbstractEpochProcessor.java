@@ -14,6 +14,8 @@
 package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -26,7 +28,6 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconStat
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateAccessors;
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateMutators;
 import tech.pegasys.teku.spec.logic.common.helpers.MiscHelpers;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatusFactory;
@@ -41,6 +42,9 @@ import tech.pegasys.teku.ssz.collections.SszMutableUInt64List;
 import tech.pegasys.teku.ssz.collections.SszUInt64List;
 
 public abstract class AbstractEpochProcessor implements EpochProcessor {
+  // Rebuild a uint64 list rather than setting elements once at least 1/4 of the values changed
+  private static final int BULK_UPDATE_CHANGED_RATIO = 4;
+
   protected final SpecConfig specConfig;
   protected final MiscHelpers miscHelpers;
   protected final ValidatorsUtil validatorsUtil;
@@ -82,8 +86,7 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
     final ValidatorStatuses validatorStatuses =
         validatorStatusFactory.createValidatorStatuses(preState);
     processJustificationAndFinalization(state, validatorStatuses.getTotalBalances());
-    processInactivityUpdates(state, validatorStatuses);
-    processRewardsAndPenalties(state, validatorStatuses);
+    processInactivityUpdatesAndRewards(state, validatorStatuses);
     processRegistryUpdates(state, validatorStatuses.getStatuses());
     processSlashings(state, validatorStatuses.getTotalBalances().getCurrentEpochActiveValidators());
     processEth1DataReset(state);
@@ -173,6 +176,17 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
     }
   }
 
+  /**
+   * Processes inactivity updates followed by rewards and penalties. Forks that derive shared inputs
+   * from the validator statuses for both steps can override this to derive them once.
+   */
+  protected void processInactivityUpdatesAndRewards(
+      final MutableBeaconState state, final ValidatorStatuses validatorStatuses)
+      throws EpochProcessingException {
+    processInactivityUpdates(state, validatorStatuses);
+    processRewardsAndPenalties(state, validatorStatuses);
+  }
+
   @Override
   public void processInactivityUpdates(
       final MutableBeaconState state, final ValidatorStatuses validatorStatuses) {
@@ -183,13 +197,18 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
   public void processRewardsAndPenalties(
       MutableBeaconState state, ValidatorStatuses validatorStatuses)
       throws EpochProcessingException {
+    processRewardsAndPenalties(state, () -> getRewardAndPenaltyDeltas(state, validatorStatuses));
+  }
+
+  protected void processRewardsAndPenalties(
+      final MutableBeaconState state, final Supplier<RewardAndPenaltyDeltas> deltasSupplier)
+      throws EpochProcessingException {
     try {
       if (beaconStateAccessors.getCurrentEpoch(state).equals(SpecConfig.GENESIS_EPOCH)) {
         return;
       }
 
-      RewardAndPenaltyDeltas attestationDeltas =
-          getRewardAndPenaltyDeltas(state, validatorStatuses);
+      RewardAndPenaltyDeltas attestationDeltas = deltasSupplier.get();
 
       applyDeltas(state, attestationDeltas);
     } catch (IllegalArgumentException e) {
@@ -200,12 +219,41 @@ public abstract class AbstractEpochProcessor implements EpochProcessor {
   protected void applyDeltas(
       final MutableBeaconState state, final RewardAndPenaltyDeltas attestationDeltas) {
     final SszMutableUInt64List balances = state.getBalances();
-    // To optimize performance, calculate validator size once outside of the loop
-    int validatorsCount = state.getValidators().size();
-    for (int i = 0; i < validatorsCount; i++) {
-      final RewardAndPenalty delta = attestationDeltas.getDelta(i);
-      balances.setElement(
-          i, balances.getElement(i).plus(delta.getReward()).minusMinZero(delta.getPenalty()));
+    final long[] currentBalances = balances.toLongArray();
+    final long[] newBalances = new long[currentBalances.length];
+    for (int i = 0; i < currentBalances.length; i++) {
+      newBalances[i] = attestationDeltas.applyTo(i, currentBalances[i]);
+    }
+    updateUInt64List(balances, currentBalances, newBalances, state::setBalances);
+  }
+
+  /**
+   * Writes updated values back to a uint64 list. When a large share of the values changed the list
+   * is rebuilt in one go, which avoids recording and applying a tree update per element. Otherwise
+   * only the changed elements are set so the unchanged parts of the tree are shared.
+   */
+  protected static void updateUInt64List(
+      final SszMutableUInt64List list,
+      final long[] currentValues,
+      final long[] newValues,
+      final Consumer<SszUInt64List> replaceList) {
+    int changedCount = 0;
+    for (int i = 0; i < newValues.length; i++) {
+      if (currentValues[i] != newValues[i]) {
+        changedCount++;
+      }
+    }
+    if (changedCount == 0) {
+      return;
+    }
+    if (changedCount >= newValues.length / BULK_UPDATE_CHANGED_RATIO) {
+      replaceList.accept(list.getSchema().ofLongs(newValues));
+      return;
+    }
+    for (int i = 0; i < newValues.length; i++) {
+      if (currentValues[i] != newValues[i]) {
+        list.setElement(i, UInt64.fromLongBits(newValues[i]));
+      }
     }
   }
 
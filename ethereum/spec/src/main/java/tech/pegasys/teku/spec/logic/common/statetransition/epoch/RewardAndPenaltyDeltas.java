@@ -14,53 +14,111 @@
 package tech.pegasys.teku.spec.logic.common.statetransition.epoch;
 
 import com.google.common.base.MoreObjects;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * Reward and penalty totals for every validator, held as two primitive columns of uint64 values
+ * rather than an object per validator.
+ */
 public class RewardAndPenaltyDeltas {
-  private final List<RewardAndPenalty> deltas;
+  private final long[] rewards;
+  private final long[] penalties;
 
   public RewardAndPenaltyDeltas(final int validatorCount) {
-    this.deltas = new ArrayList<>(validatorCount);
-    for (int i = 0; i < validatorCount; i++) {
-      deltas.add(new RewardAndPenalty());
-    }
+    this.rewards = new long[validatorCount];
+    this.penalties = new long[validatorCount];
   }
 
   public RewardAndPenalty getDelta(final int validatorIndex) {
-    return deltas.get(validatorIndex);
+    return new RewardAndPenalty(this, validatorIndex);
+  }
+
+  public int getValidatorCount() {
+    return rewards.length;
+  }
+
+  public void reward(final int validatorIndex, final long amount) {
+    rewards[validatorIndex] = plusExact(rewards[validatorIndex], amount);
+  }
+
+  public void penalize(final int validatorIndex, final long amount) {
+    penalties[validatorIndex] = plusExact(penalties[validatorIndex], amount);
+  }
+
+  /**
+   * Applies the reward and then the penalty for a validator to its balance, matching
+   * increase_balance followed by decrease_balance in the spec.
+   */
+  public long applyTo(final int validatorIndex, final long balance) {
+    final long rewardedBalance = plusExact(balance, rewards[validatorIndex]);
+    final long penalty = penalties[validatorIndex];
+    return Long.compareUnsigned(rewardedBalance, penalty) > 0 ? rewardedBalance - penalty : 0;
+  }
+
+  private static long plusExact(final long value, final long amount) {
+    final long result = value + amount;
+    if (Long.compareUnsigned(result, value) < 0) {
+      throw new ArithmeticException("uint64 overflow");
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final RewardAndPenaltyDeltas that = (RewardAndPenaltyDeltas) o;
+    return Arrays.equals(rewards, that.rewards) && Arrays.equals(penalties, that.penalties);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(rewards) + Arrays.hashCode(penalties);
   }
 
   @Override
   public String toString() {
-    return MoreObjects.toStringHelper(this).add("deltas", deltas).toString();
+    return MoreObjects.toStringHelper(this)
+        .add("rewards", Arrays.toString(rewards))
+        .add("penalties", Arrays.toString(penalties))
+        .toString();
   }
 
+  /** View of the reward and penalty for a single validator */
   public static class RewardAndPenalty {
-    private UInt64 reward = UInt64.ZERO;
-    private UInt64 penalty = UInt64.ZERO;
+    private final RewardAndPenaltyDeltas deltas;
+    private final int validatorIndex;
+
+    private RewardAndPenalty(final RewardAndPenaltyDeltas deltas, final int validatorIndex) {
+      this.deltas = deltas;
+      this.validatorIndex = validatorIndex;
+    }
 
     public void reward(final UInt64 amount) {
-      reward = reward.plus(amount);
+      deltas.reward(validatorIndex, amount.longValue());
     }
 
     public void penalize(final UInt64 amount) {
-      penalty = penalty.plus(amount);
+      deltas.penalize(validatorIndex, amount.longValue());
     }
 
     public void add(final RewardAndPenalty other) {
-      reward(other.reward);
-      penalize(other.penalty);
+      reward(other.getReward());
+      penalize(other.getPenalty());
     }
 
     public UInt64 getReward() {
-      return reward;
+      return UInt64.fromLongBits(deltas.rewards[validatorIndex]);
     }
 
     public UInt64 getPenalty() {
-      return penalty;
+      return UInt64.fromLongBits(deltas.penalties[validatorIndex]);
     }
 
     @Override
@@ -72,19 +130,20 @@ public class RewardAndPenaltyDeltas {
         return false;
       }
       final RewardAndPenalty delta = (RewardAndPenalty) o;
-      return Objects.equals(reward, delta.reward) && Objects.equals(penalty, delta.penalty);
+      return Objects.equals(getReward(), delta.getReward())
+          && Objects.equals(getPenalty(), delta.getPenalty());
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(reward, penalty);
+      return Objects.hash(getReward(), getPenalty());
     }
 
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
-          .add("reward", reward)
-          .add("penalty", penalty)
+          .add("reward", getReward())
+          .add("penalty", getPenalty())
           .toString();
     }
   }
@@ -331,6 +331,32 @@ public class ForkChoiceUtil {
       return BlockImportResult.failedStateTransition(e);
     }
 
+    return addValidatedBlockToStore(store, signedBlock, state);
+  }
+
+  /**
+   * Add a block which has already been processed and fully validated, including signatures, to the
+   * store. The supplied postState must be the result of applying the block to blockSlotState.
+   */
+  @CheckReturnValue
+  public BlockImportResult onValidatedBlock(
+      final MutableStore store,
+      final SignedBeaconBlock signedBlock,
+      final BeaconState blockSlotState,
+      final BeaconState postState) {
+    checkArgument(
+        blockSlotState.getSlot().equals(signedBlock.getSlot()),
+        "State must have slots processed up to the block slot");
+    final Optional<BlockImportResult> maybeFailure =
+        checkOnBlockConditions(signedBlock.getMessage(), blockSlotState, store);
+    if (maybeFailure.isPresent()) {
+      return maybeFailure.get();
+    }
+    return addValidatedBlockToStore(store, signedBlock, postState);
+  }
+
+  private BlockImportResult addValidatedBlockToStore(
+      final MutableStore store, final SignedBeaconBlock signedBlock, final BeaconState state) {
     // Add new block to store
     store.putBlockAndState(signedBlock, state);
 
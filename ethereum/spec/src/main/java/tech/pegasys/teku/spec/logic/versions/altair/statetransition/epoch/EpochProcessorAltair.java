@@ -13,10 +13,10 @@
 
 package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
 
-import java.util.List;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.config.SpecConfigAltair;
+import tech.pegasys.teku.spec.constants.ParticipationFlags;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
@@ -24,9 +24,9 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.M
 import tech.pegasys.teku.spec.logic.common.helpers.BeaconStateMutators;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.AbstractEpochProcessor;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatusFactory;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.util.BeaconStateUtil;
 import tech.pegasys.teku.spec.logic.common.util.ValidatorsUtil;
 import tech.pegasys.teku.spec.logic.versions.altair.helpers.BeaconStateAccessorsAltair;
@@ -61,15 +61,34 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
     this.beaconStateAccessorsAltair = beaconStateAccessors;
   }
 
+  @Override
+  protected void processInactivityUpdatesAndRewards(
+      final MutableBeaconState state, final ValidatorStatuses validatorStatuses)
+      throws EpochProcessingException {
+    final ValidatorColumns validatorColumns = ValidatorColumns.create(validatorStatuses);
+    processInactivityUpdates(state, validatorColumns);
+    processRewardsAndPenalties(
+        state, () -> getRewardAndPenaltyDeltas(state, validatorStatuses, validatorColumns));
+  }
+
   @Override
   public RewardAndPenaltyDeltas getRewardAndPenaltyDeltas(
       final BeaconState genericState, final ValidatorStatuses validatorStatuses) {
+    return getRewardAndPenaltyDeltas(
+        genericState, validatorStatuses, ValidatorColumns.create(validatorStatuses));
+  }
+
+  private RewardAndPenaltyDeltas getRewardAndPenaltyDeltas(
+      final BeaconState genericState,
+      final ValidatorStatuses validatorStatuses,
+      final ValidatorColumns validatorColumns) {
     final BeaconStateAltair state = BeaconStateAltair.required(genericState);
     final RewardsAndPenaltiesCalculatorAltair calculator =
         new RewardsAndPenaltiesCalculatorAltair(
             specConfigAltair,
             state,
             validatorStatuses,
+            validatorColumns,
             miscHelpersAltair,
             beaconStateAccessorsAltair);
 
@@ -108,35 +127,49 @@ public class EpochProcessorAltair extends AbstractEpochProcessor {
   @Override
   public void processInactivityUpdates(
       final MutableBeaconState baseState, final ValidatorStatuses validatorStatuses) {
+    processInactivityUpdates(baseState, ValidatorColumns.create(validatorStatuses));
+  }
+
+  private void processInactivityUpdates(
+      final MutableBeaconState baseState, final ValidatorColumns validatorColumns) {
     if (beaconStateAccessors.getCurrentEpoch(baseState).equals(SpecConfig.GENESIS_EPOCH)) {
       return;
     }
     final MutableBeaconStateAltair state = MutableBeaconStateAltair.required(baseState);
     final SszMutableUInt64List inactivityScores = state.getInactivityScores();
-    final List<ValidatorStatus> statuses = validatorStatuses.getStatuses();
     final boolean isInInactivityLeak = beaconStateAccessors.isInactivityLeak(state);
-    for (int i = 0; i < statuses.size(); i++) {
-      final ValidatorStatus validatorStatus = statuses.get(i);
-      if (!validatorStatus.isEligibleValidator()) {
-        continue;
-      }
-
-      // Increase inactivity score of inactive validators
-      final UInt64 currentScore = inactivityScores.getElement(i);
-      UInt64 newScore;
-      if (validatorStatus.isNotSlashed() && validatorStatus.isPreviousEpochTargetAttester()) {
-        newScore = currentScore.minusMinZero(1);
-      } else {
-        newScore = currentScore.plus(specConfigAltair.getInactivityScoreBias());
-      }
-      // Decrease the score of all validators for forgiveness when not during a leak
-      if (!isInInactivityLeak) {
-        newScore = newScore.minusMinZero(specConfigAltair.getInactivityScoreRecoveryRate());
-      }
-      if (!currentScore.equals(newScore)) {
-        inactivityScores.setElement(i, newScore);
-      }
-    }
+    final long scoreBias = specConfigAltair.getInactivityScoreBias().longValue();
+    final long recoveryRate = specConfigAltair.getInactivityScoreRecoveryRate().longValue();
+
+    final long[] currentScores = inactivityScores.toLongArray();
+    final long[] newScores = currentScores.clone();
+    validatorColumns.forEachRange(
+        (fromIndex, toIndex) -> {
+          for (int i = fromIndex; i < toIndex; i++) {
+            if (!validatorColumns.isEligible(i)) {
+              continue;
+            }
+
+            // Increase inactivity score of inactive validators
+            long newScore = currentScores[i];
+            if (validatorColumns.isUnslashedParticipating(
+                i, ParticipationFlags.TIMELY_TARGET_FLAG_INDEX)) {
+              newScore = minusMinZero(newScore, 1);
+            } else {
+              newScore = Math.addExact(newScore, scoreBias);
+            }
+            // Decrease the score of all validators for forgiveness when not during a leak
+            if (!isInInactivityLeak) {
+              newScore = minusMinZero(newScore, recoveryRate);
+            }
+            newScores[i] = newScore;
+          }
+        });
+    updateUInt64List(inactivityScores, currentScores, newScores, state::setInactivityScores);
+  }
+
+  private static long minusMinZero(final long value, final long amount) {
+    return Long.compareUnsigned(value, amount) > 0 ? value - amount : 0;
   }
 
   @Override
@@ -15,20 +15,16 @@ package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
 
 import static tech.pegasys.teku.spec.constants.IncentivizationWeights.WEIGHT_DENOMINATOR;
 import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+import static tech.pegasys.teku.spec.constants.ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
 import static tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair.PARTICIPATION_FLAG_WEIGHTS;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfigAltair;
 import tech.pegasys.teku.spec.constants.ParticipationFlags;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas.RewardAndPenalty;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardsAndPenaltiesCalculator;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.TotalBalances;
-import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
 import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
 import tech.pegasys.teku.spec.logic.versions.altair.helpers.BeaconStateAccessorsAltair;
 import tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair;
@@ -39,7 +35,7 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
   private final BeaconStateAccessorsAltair beaconStateAccessorsAltair;
 
   private final BeaconStateAltair stateAltair;
-  private final Map<Integer, UInt64> baseRewardCache = new HashMap<>();
+  private final ValidatorColumns validatorColumns;
 
   public RewardsAndPenaltiesCalculatorAltair(
       final SpecConfigAltair specConfig,
@@ -47,10 +43,27 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
       final ValidatorStatuses validatorStatuses,
       final MiscHelpersAltair miscHelpers,
       final BeaconStateAccessorsAltair beaconStateAccessors) {
+    this(
+        specConfig,
+        state,
+        validatorStatuses,
+        ValidatorColumns.create(validatorStatuses),
+        miscHelpers,
+        beaconStateAccessors);
+  }
+
+  RewardsAndPenaltiesCalculatorAltair(
+      final SpecConfigAltair specConfig,
+      final BeaconStateAltair state,
+      final ValidatorStatuses validatorStatuses,
+      final ValidatorColumns validatorColumns,
+      final MiscHelpersAltair miscHelpers,
+      final BeaconStateAccessorsAltair beaconStateAccessors) {
     super(specConfig, miscHelpers, beaconStateAccessors, state, validatorStatuses);
     this.stateAltair = state;
     this.specConfigAltair = specConfig;
     this.beaconStateAccessorsAltair = beaconStateAccessors;
+    this.validatorColumns = validatorColumns;
   }
 
   /**
@@ -82,35 +95,43 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
    * @param flagIndex The flag index to process
    */
   public void processFlagIndexDeltas(final RewardAndPenaltyDeltas deltas, final int flagIndex) {
-    final List<ValidatorStatus> statusList = validatorStatuses.getStatuses();
     final TotalBalances totalBalances = validatorStatuses.getTotalBalances();
 
-    final UInt64 effectiveBalanceIncrement = specConfigAltair.getEffectiveBalanceIncrement();
-    final UInt64 unslashedParticipatingIncrements =
-        getPrevEpochTotalParticipatingBalance(flagIndex).dividedBy(effectiveBalanceIncrement);
-    final UInt64 weight = PARTICIPATION_FLAG_WEIGHTS.get(flagIndex);
-    final UInt64 activeIncrements =
-        totalBalances.getCurrentEpochActiveValidators().dividedBy(effectiveBalanceIncrement);
-
-    for (int i = 0; i < statusList.size(); i++) {
-      final ValidatorStatus validator = statusList.get(i);
-      if (!validator.isEligibleValidator()) {
-        continue;
-      }
-      final RewardAndPenalty validatorDeltas = deltas.getDelta(i);
-
-      final UInt64 baseReward = getBaseReward(i);
-      if (isUnslashedPrevEpochParticipatingIndex(validator, flagIndex)) {
-        if (!isInactivityLeak()) {
-          final UInt64 rewardNumerator =
-              baseReward.times(weight).times(unslashedParticipatingIncrements);
-          validatorDeltas.reward(
-              rewardNumerator.dividedBy(activeIncrements.times(WEIGHT_DENOMINATOR)));
-        }
-      } else if (flagIndex != TIMELY_HEAD_FLAG_INDEX) {
-        validatorDeltas.penalize(baseReward.times(weight).dividedBy(WEIGHT_DENOMINATOR));
-      }
-    }
+    final long effectiveBalanceIncrement =
+        specConfigAltair.getEffectiveBalanceIncrement().longValue();
+    final long unslashedParticipatingIncrements =
+        getPrevEpochTotalParticipatingBalance(flagIndex).longValue() / effectiveBalanceIncrement;
+    final long weight = PARTICIPATION_FLAG_WEIGHTS.get(flagIndex).longValue();
+    final long weightDenominator = WEIGHT_DENOMINATOR.longValue();
+    final long activeIncrements =
+        totalBalances.getCurrentEpochActiveValidators().longValue() / effectiveBalanceIncrement;
+    final long rewardDenominator = Math.multiplyExact(activeIncrements, weightDenominator);
+    final long baseRewardPerIncrement =
+        beaconStateAccessorsAltair.getBaseRewardPerIncrement(state).longValue();
+    final boolean isInactivityLeak = isInactivityLeak();
+
+    validatorColumns.forEachRange(
+        (fromIndex, toIndex) -> {
+          for (int i = fromIndex; i < toIndex; i++) {
+            if (!validatorColumns.isEligible(i)) {
+              continue;
+            }
+            final long baseReward =
+                Math.multiplyExact(
+                    validatorColumns.getEffectiveBalance(i) / effectiveBalanceIncrement,
+                    baseRewardPerIncrement);
+            if (validatorColumns.isUnslashedParticipating(i, flagIndex)) {
+              if (!isInactivityLeak) {
+                final long rewardNumerator =
+                    Math.multiplyExact(
+                        Math.multiplyExact(baseReward, weight), unslashedParticipatingIncrements);
+                deltas.reward(i, rewardNumerator / rewardDenominator);
+              }
+            } else if (flagIndex != TIMELY_HEAD_FLAG_INDEX) {
+              deltas.penalize(i, Math.multiplyExact(baseReward, weight) / weightDenominator);
+            }
+          }
+        });
   }
 
   /**
@@ -122,41 +143,24 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
    * @param deltas The deltas accumulator (holding deltas for all validators) to be updated
    */
   public void processInactivityPenaltyDeltas(final RewardAndPenaltyDeltas deltas) {
-    final List<ValidatorStatus> statusList = validatorStatuses.getStatuses();
-    for (int i = 0; i < statusList.size(); i++) {
-      final ValidatorStatus validator = statusList.get(i);
-      if (!validator.isEligibleValidator()) {
-        continue;
-      }
-      if (validator.isPreviousEpochTargetAttester() && !validator.isSlashed()) {
-        continue;
-      }
-
-      final UInt64 penaltyNumerator =
-          validator
-              .getCurrentEpochEffectiveBalance()
-              .times(stateAltair.getInactivityScores().get(i).get());
-      final UInt64 penaltyDenominator =
-          specConfigAltair
-              .getInactivityScoreBias()
-              .times(specConfigAltair.getInactivityPenaltyQuotientAltair());
-      final UInt64 penalty = penaltyNumerator.dividedBy(penaltyDenominator);
-      deltas.getDelta(i).penalize(penalty);
-    }
-  }
-
-  private boolean validatorHasPrevEpochParticipationFlag(
-      final ValidatorStatus validator, final int flagIndex) {
-    switch (flagIndex) {
-      case TIMELY_HEAD_FLAG_INDEX:
-        return validator.isPreviousEpochHeadAttester();
-      case ParticipationFlags.TIMELY_TARGET_FLAG_INDEX:
-        return validator.isPreviousEpochTargetAttester();
-      case ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX:
-        return validator.isPreviousEpochSourceAttester();
-      default:
-        throw new IllegalArgumentException("Unable to process unknown flag index:" + flagIndex);
-    }
+    final long[] inactivityScores = stateAltair.getInactivityScores().toLongArray();
+    final long penaltyDenominator =
+        specConfigAltair
+            .getInactivityScoreBias()
+            .times(specConfigAltair.getInactivityPenaltyQuotientAltair())
+            .longValue();
+    validatorColumns.forEachRange(
+        (fromIndex, toIndex) -> {
+          for (int i = fromIndex; i < toIndex; i++) {
+            if (!validatorColumns.isEligible(i)
+                || validatorColumns.isUnslashedParticipating(i, TIMELY_TARGET_FLAG_INDEX)) {
+              continue;
+            }
+            final long penaltyNumerator =
+                Math.multiplyExact(validatorColumns.getEffectiveBalance(i), inactivityScores[i]);
+            deltas.penalize(i, penaltyNumerator / penaltyDenominator);
+          }
+        });
   }
 
   private UInt64 getPrevEpochTotalParticipatingBalance(final int flagIndex) {
@@ -164,7 +168,7 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
     switch (flagIndex) {
       case TIMELY_HEAD_FLAG_INDEX:
         return totalBalances.getPreviousEpochHeadAttesters();
-      case ParticipationFlags.TIMELY_TARGET_FLAG_INDEX:
+      case TIMELY_TARGET_FLAG_INDEX:
         return totalBalances.getPreviousEpochTargetAttesters();
       case ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX:
         return totalBalances.getPreviousEpochSourceAttesters();
@@ -172,15 +176,4 @@ public class RewardsAndPenaltiesCalculatorAltair extends RewardsAndPenaltiesCalc
         throw new IllegalArgumentException("Unable to process unknown flag index:" + flagIndex);
     }
   }
-
-  private boolean isUnslashedPrevEpochParticipatingIndex(
-      final ValidatorStatus validatorStatus, final int flagIndex) {
-    return validatorStatus.isNotSlashed()
-        && validatorHasPrevEpochParticipationFlag(validatorStatus, flagIndex);
-  }
-
-  private UInt64 getBaseReward(final int validatorIndex) {
-    return baseRewardCache.computeIfAbsent(
-        validatorIndex, index -> beaconStateAccessorsAltair.getBaseReward(state, validatorIndex));
-  }
 }
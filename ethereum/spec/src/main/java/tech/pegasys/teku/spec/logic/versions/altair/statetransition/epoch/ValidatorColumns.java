@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import tech.pegasys.teku.spec.constants.ParticipationFlags;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
+
+/**
+ * The per-validator inputs to Altair rewards, penalties and inactivity updates, extracted once into
+ * primitive columns so the calculations can run as tight loops over arrays and be split across
+ * validator ranges.
+ */
+class ValidatorColumns {
+  private static final int PARALLEL_THRESHOLD = 16_384;
+  private static final int RANGE_SIZE = 8_192;
+
+  // Bits 0-2 hold the unslashed previous epoch participation flags, indexed by flag index
+  private static final byte ELIGIBLE_BIT = 1 << 3;
+
+  private final byte[] flags;
+  private final long[] effectiveBalances;
+
+  private ValidatorColumns(final byte[] flags, final long[] effectiveBalances) {
+    this.flags = flags;
+    this.effectiveBalances = effectiveBalances;
+  }
+
+  static ValidatorColumns create(final ValidatorStatuses validatorStatuses) {
+    final List<ValidatorStatus> statuses = validatorStatuses.getStatuses();
+    final byte[] flags = new byte[statuses.size()];
+    final long[] effectiveBalances = new long[statuses.size()];
+    for (int i = 0; i < flags.length; i++) {
+      final ValidatorStatus status = statuses.get(i);
+      int validatorFlags = 0;
+      if (status.isEligibleValidator()) {
+        validatorFlags |= ELIGIBLE_BIT;
+      }
+      if (status.isNotSlashed()) {
+        if (status.isPreviousEpochSourceAttester()) {
+          validatorFlags |= 1 << ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX;
+        }
+        if (status.isPreviousEpochTargetAttester()) {
+          validatorFlags |= 1 << ParticipationFlags.TIMELY_TARGET_FLAG_INDEX;
+        }
+        if (status.isPreviousEpochHeadAttester()) {
+          validatorFlags |= 1 << ParticipationFlags.TIMELY_HEAD_FLAG_INDEX;
+        }
+      }
+      flags[i] = (byte) validatorFlags;
+      effectiveBalances[i] = status.getCurrentEpochEffectiveBalance().longValue();
+    }
+    return new ValidatorColumns(flags, effectiveBalances);
+  }
+
+  int size() {
+    return flags.length;
+  }
+
+  boolean isEligible(final int validatorIndex) {
+    return (flags[validatorIndex] & ELIGIBLE_BIT) != 0;
+  }
+
+  boolean isUnslashedParticipating(final int validatorIndex, final int flagIndex) {
+    return (flags[validatorIndex] & (1 << flagIndex)) != 0;
+  }
+
+  long getEffectiveBalance(final int validatorIndex) {
+    return effectiveBalances[validatorIndex];
+  }
+
+  /**
+   * Runs the action over consecutive validator index ranges covering all validators. Large
+   * validator sets are processed in parallel so the action must only write to the entries of the
+   * range it is given.
+   */
+  void forEachRange(final RangeAction action) {
+    final int validatorCount = size();
+    if (validatorCount < PARALLEL_THRESHOLD) {
+      action.apply(0, validatorCount);
+      return;
+    }
+    final int rangeCount = (validatorCount + RANGE_SIZE - 1) / RANGE_SIZE;
+    IntStream.range(0, rangeCount)
+        .parallel()
+        .forEach(
+            range ->
+                action.apply(
+                    range * RANGE_SIZE, Math.min(validatorCount, (range + 1) * RANGE_SIZE)));
+  }
+
+  @FunctionalInterface
+  interface RangeAction {
+    void apply(int fromIndex, int toIndex);
+  }
+}
@@ -25,6 +25,8 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateSchema;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.MutableBeaconState;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.tree.InMemoryTreeNodeStore;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 
 @ExtendWith(BouncyCastleExtension.class)
 public abstract class AbstractBeaconStateTest<
@@ -70,6 +72,27 @@ public abstract class AbstractBeaconStateTest<
     assertThat(v2).isSameAs(val1);
   }
 
+  @Test
+  void loadBackingNodes_shouldNotReadNodesWhichAreNotAccessed() {
+    final T state = randomState();
+    final InMemoryTreeNodeStore nodeStore = new InMemoryTreeNodeStore();
+    TreeNodeStorage.storeTree(state.getBackingNode(), nodeStore);
+
+    final T loadedState =
+        schema.createFromBackingNode(schema.loadBackingNodes(nodeStore, state.hashTreeRoot()));
+    assertThat(loadedState.hashTreeRoot()).isEqualTo(state.hashTreeRoot());
+    assertThat(nodeStore.getReadsCount()).isZero();
+
+    assertThat(loadedState.getSlot()).isEqualTo(state.getSlot());
+    // only the branches on the path to the slot field are read
+    assertThat(nodeStore.getReadsCount()).isEqualTo(schema.treeDepth());
+
+    assertThat(loadedState.getValidators().get(0)).isEqualTo(state.getValidators().get(0));
+    assertThat(nodeStore.getReadsCount()).isLessThan(nodeStore.getBranchNodesCount() / 2);
+
+    assertThat(loadedState).isEqualTo(state);
+  }
+
   @SuppressWarnings("unchecked")
   public void equals_shouldReturnTrue() {
     final T state = randomState();
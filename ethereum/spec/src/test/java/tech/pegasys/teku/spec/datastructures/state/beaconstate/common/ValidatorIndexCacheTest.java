@@ -14,17 +14,14 @@
 package tech.pegasys.teku.spec.datastructures.state.beaconstate.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import java.util.Optional;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes48;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.bls.BLSPublicKey;
-import tech.pegasys.teku.infrastructure.collections.cache.Cache;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 
@@ -33,64 +30,127 @@ public class ValidatorIndexCacheTest {
   final BeaconState state = dataStructureUtil.randomBeaconState();
   final BLSPublicKey missingPublicKey = dataStructureUtil.randomPublicKey();
 
-  @SuppressWarnings("unchecked")
-  final Cache<BLSPublicKey, Integer> cache = mock(Cache.class);
+  final ValidatorPublicKeyIndex index = new ValidatorPublicKeyIndex();
+  final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache(__ -> index);
 
   @Test
   public void shouldNotScanStateIfAlreadyHaveValidators() {
-    final ValidatorIndexCache validatorIndexCache =
-        new ValidatorIndexCache(cache, state.getValidators().size());
+    index.addAll(0, getPublicKeys(state, state.getValidators().size()));
 
-    when(cache.getCached(missingPublicKey)).thenReturn(Optional.empty());
-    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
+    final Optional<Integer> result = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
 
-    verify(cache).getCached(missingPublicKey);
-    verify(cache, never()).invalidateWithNewValue(any(), any());
-    assertThat(index).isEmpty();
+    assertThat(result).isEmpty();
+    assertThat(index.size()).isEqualTo(state.getValidators().size());
   }
 
   @Test
   public void shouldScanNewValidatorsInSuppliedState() {
-    final ValidatorIndexCache validatorIndexCache =
-        new ValidatorIndexCache(cache, state.getValidators().size() - 5);
-
-    when(cache.getCached(missingPublicKey)).thenReturn(Optional.empty());
-    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
-    verify(cache).getCached(missingPublicKey);
-    verify(cache, times(5)).invalidateWithNewValue(any(), any());
-    assertThat(index).isEmpty();
+    index.addAll(0, getPublicKeys(state, state.getValidators().size() - 5));
+
+    final Optional<Integer> result = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
+
+    assertThat(result).isEmpty();
+    assertThat(index.size()).isEqualTo(state.getValidators().size());
   }
 
   @Test
   public void shouldGetAllValidatorKeysCachedIfMissingKeyPassed() {
-    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache();
-    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
-    assertThat(index).isEmpty();
-    assertThat(validatorIndexCache.getValidatorIndexes().size())
-        .isEqualTo(state.getValidators().size());
+    final Optional<Integer> result = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
+    assertThat(result).isEmpty();
+    assertThat(index.size()).isEqualTo(state.getValidators().size());
   }
 
   @Test
   public void shouldPopulateCacheItemsFromState() {
-    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache();
     final BLSPublicKey foundKey =
         BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkeyBytes());
 
-    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, foundKey);
-    assertThat(index.get()).isEqualTo(10);
-    assertThat(validatorIndexCache.getLastIndex()).isEqualTo(10);
-    assertThat(validatorIndexCache.getValidatorIndexes().size()).isEqualTo(11);
+    final Optional<Integer> result = validatorIndexCache.getValidatorIndex(state, foundKey);
+    assertThat(result).contains(10);
+    assertThat(index.size()).isEqualTo(11);
   }
 
   @Test
   public void shouldFilterItemsBeyondStateIndex() {
-    final ValidatorIndexCache validatorIndexCache = new ValidatorIndexCache();
-    validatorIndexCache.invalidateWithNewValue(missingPublicKey, 100);
-    final Optional<Integer> index = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
-
-    assertThat(index).isEmpty();
-    // state didn't get scanned, because we had the index but it was out of bounds
-    assertThat(validatorIndexCache.getLastIndex()).isEqualTo(-1);
-    assertThat(validatorIndexCache.getValidatorIndexes().size()).isEqualTo(1);
+    final int validatorCount = state.getValidators().size();
+    index.addAll(0, getPublicKeys(state, validatorCount));
+    index.onValidatorAdded(validatorCount, missingPublicKey.toBytesCompressed());
+
+    final Optional<Integer> result = validatorIndexCache.getValidatorIndex(state, missingPublicKey);
+
+    assertThat(result).isEmpty();
+    assertThat(index.size()).isEqualTo(validatorCount + 1);
+  }
+
+  @Test
+  public void shouldFindIndexInStateWithDifferentValidators() {
+    final BeaconState otherState = dataStructureUtil.randomBeaconState();
+    index.addAll(0, getPublicKeys(otherState, otherState.getValidators().size()));
+    final BLSPublicKey foundKey =
+        BLSPublicKey.fromBytesCompressed(state.getValidators().get(10).getPubkeyBytes());
+    final BLSPublicKey otherKey =
+        BLSPublicKey.fromBytesCompressed(otherState.getValidators().get(10).getPubkeyBytes());
+
+    assertThat(validatorIndexCache.getValidatorIndex(state, foundKey)).contains(10);
+    assertThat(validatorIndexCache.getValidatorIndex(state, otherKey)).isEmpty();
+    // Index isn't extended with validators from an unrelated state
+    assertThat(index.size()).isEqualTo(otherState.getValidators().size());
+  }
+
+  @Test
+  public void shouldScanStateWhenEarlierValidatorsDifferFromIndex() {
+    final int validatorCount = state.getValidators().size();
+    index.addAll(0, getPublicKeys(state, validatorCount));
+    index.onValidatorAdded(validatorCount, missingPublicKey.toBytesCompressed());
+    // Last validator still matches but validator 5 has a key indexed beyond this registry
+    final BeaconState otherState =
+        state.updated(
+            mutableState ->
+                mutableState
+                    .getValidators()
+                    .set(5, withPublicKey(mutableState.getValidators().get(5), missingPublicKey)));
+
+    assertThat(validatorIndexCache.getValidatorIndex(otherState, missingPublicKey)).contains(5);
+    assertThat(validatorIndexCache.getValidatorIndex(state, missingPublicKey)).isEmpty();
+    assertThat(index.size()).isEqualTo(validatorCount + 1);
+  }
+
+  @Test
+  public void shouldIgnoreAddedValidatorIfIndexIsBehind() {
+    index.onValidatorAdded(5, missingPublicKey.toBytesCompressed());
+    assertThat(index.size()).isZero();
+
+    index.onValidatorAdded(0, missingPublicKey.toBytesCompressed());
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.getKey(0)).isEqualTo(missingPublicKey.toBytesCompressed());
+  }
+
+  @Test
+  public void shouldSkipPreloadedKeysThatAreAlreadyIndexed() {
+    index.addAll(0, getPublicKeys(state, 20));
+    index.addAll(10, getPublicKeys(state, 30).slice(10 * Bytes48.SIZE));
+
+    assertThat(index.size()).isEqualTo(30);
+    assertThat(index.getKey(25)).isEqualTo(state.getValidators().get(25).getPubkeyBytes());
+  }
+
+  private Validator withPublicKey(final Validator validator, final BLSPublicKey publicKey) {
+    return new Validator(
+        publicKey.toBytesCompressed(),
+        validator.getWithdrawal_credentials(),
+        validator.getEffective_balance(),
+        validator.isSlashed(),
+        validator.getActivation_eligibility_epoch(),
+        validator.getActivation_epoch(),
+        validator.getExit_epoch(),
+        validator.getWithdrawable_epoch());
+  }
+
+  private Bytes getPublicKeys(final BeaconState state, final int count) {
+    return Bytes.concatenate(
+        IntStream.range(0, count)
+            .mapToObj(i -> state.getValidators().get(i))
+            .map(Validator::getPubkeyBytes)
+            .toArray(Bytes[]::new));
   }
 }
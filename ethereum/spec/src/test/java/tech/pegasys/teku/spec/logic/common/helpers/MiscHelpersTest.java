@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.collections.IntList;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.config.SpecConfig;
 import tech.pegasys.teku.spec.config.SpecConfigLoader;
@@ -92,6 +93,43 @@ class MiscHelpersTest {
         .containsExactlyElementsOf(Arrays.stream(indexes).boxed().collect(Collectors.toList()));
   }
 
+  @Test
+  void shuffleList_largeListShouldMatchComputeShuffledIndex() {
+    final SpecConfig specConfig = mock(SpecConfig.class);
+    final MiscHelpers miscHelpers = new MiscHelpers(specConfig);
+
+    when(specConfig.getShuffleRoundCount()).thenReturn(10);
+    Bytes32 seed = Bytes32.fromHexString("0x1234");
+    int index_count = 70_000;
+    int[] indexes = IntStream.range(0, index_count).toArray();
+
+    miscHelpers.shuffleList(indexes, seed);
+    assertThat(indexes)
+        .isEqualTo(
+            IntStream.range(0, index_count)
+                .map(i -> miscHelpers.computeShuffledIndex(i, indexes.length, seed))
+                .toArray());
+  }
+
+  @Test
+  void shuffleList_shouldShareResultForEqualInputs() {
+    final SpecConfig specConfig = mock(SpecConfig.class);
+    final MiscHelpers miscHelpers = new MiscHelpers(specConfig);
+
+    when(specConfig.getShuffleRoundCount()).thenReturn(10);
+    Bytes32 seed = Bytes32.fromHexString("0x5678");
+
+    final List<Integer> result1 =
+        miscHelpers.shuffleList(IntStream.range(0, 100).boxed().collect(Collectors.toList()), seed);
+    final List<Integer> result2 =
+        miscHelpers.shuffleList(IntList.wrap(IntStream.range(0, 100).toArray()), seed);
+    final List<Integer> result3 =
+        miscHelpers.shuffleList(IntList.wrap(IntStream.range(1, 101).toArray()), seed);
+
+    assertThat(result2).isSameAs(result1);
+    assertThat(result3).isNotSameAs(result1);
+  }
+
   @ParameterizedTest(name = "n={0}")
   @MethodSource("getNValues")
   void isSlotAtNthEpochBoundary_withSkippedBlock(final int n) {
@@ -14,13 +14,27 @@
 package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static tech.pegasys.teku.spec.config.SpecConfig.FAR_FUTURE_EPOCH;
 
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.config.SpecConfigAltair;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateSchemaAltair;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 import tech.pegasys.teku.ssz.SszList;
+import tech.pegasys.teku.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.ssz.primitive.SszByte;
 
 public class EpochProcessorAltairTest {
@@ -50,6 +64,98 @@ public class EpochProcessorAltairTest {
     }
   }
 
+  @ParameterizedTest(name = "validators={0}, activePercent={1}, finalizedEpoch={2}")
+  @CsvSource({"64, 100, 4", "64, 100, 0", "20000, 100, 4", "20000, 100, 0", "20000, 5, 4"})
+  public void processInactivityUpdates_shouldMatchSpecCalculation(
+      final int validatorCount, final int activePercent, final int finalizedEpoch) {
+    final SpecConfigAltair specConfig = SpecConfigAltair.required(spec.getGenesisSpecConfig());
+    final BeaconStateAltair state =
+        createStateWithValidators(validatorCount, activePercent, finalizedEpoch);
+    final ValidatorStatuses validatorStatuses =
+        spec.getGenesisSpec().getValidatorStatusFactory().createValidatorStatuses(state);
+    final boolean isInactivityLeak =
+        spec.getGenesisSpec().beaconStateAccessors().isInactivityLeak(state);
+
+    final BeaconStateAltair updated =
+        state.updatedAltair(
+            mutableState ->
+                epochProcessor.processInactivityUpdates(mutableState, validatorStatuses));
+
+    final SszUInt64List originalScores = state.getInactivityScores();
+    final SszUInt64List updatedScores = updated.getInactivityScores();
+    assertThat(updatedScores.size()).isEqualTo(validatorCount);
+    for (int i = 0; i < validatorCount; i++) {
+      final ValidatorStatus status = validatorStatuses.getStatuses().get(i);
+      UInt64 expected = originalScores.getElement(i);
+      if (status.isEligibleValidator()) {
+        if (status.isPreviousEpochTargetAttester() && status.isNotSlashed()) {
+          expected = expected.minusMinZero(1);
+        } else {
+          expected = expected.plus(specConfig.getInactivityScoreBias());
+        }
+        if (!isInactivityLeak) {
+          expected = expected.minusMinZero(specConfig.getInactivityScoreRecoveryRate());
+        }
+      }
+      assertThat(updatedScores.getElement(i)).isEqualTo(expected);
+    }
+    assertThat(updatedScores.hashTreeRoot())
+        .isEqualTo(
+            state
+                .getBeaconStateSchema()
+                .getInactivityScoresSchema()
+                .ofLongs(updatedScores.toLongArray())
+                .hashTreeRoot());
+  }
+
+  private BeaconStateAltair createStateWithValidators(
+      final int validatorCount, final int activePercent, final int finalizedEpoch) {
+    final Random random = new Random(validatorCount + activePercent + finalizedEpoch);
+    final BeaconStateSchemaAltair schema =
+        (BeaconStateSchemaAltair) spec.getGenesisSchemaDefinitions().getBeaconStateSchema();
+    final UInt64 maxEffectiveBalance = spec.getGenesisSpecConfig().getMaxEffectiveBalance();
+    final List<Validator> validators =
+        IntStream.range(0, validatorCount)
+            .mapToObj(
+                i ->
+                    new Validator(
+                        dataStructureUtil.randomPublicKeyBytes(),
+                        dataStructureUtil.randomBytes32(),
+                        maxEffectiveBalance,
+                        random.nextInt(10) == 0,
+                        UInt64.ZERO,
+                        random.nextInt(100) < activePercent ? UInt64.ZERO : FAR_FUTURE_EPOCH,
+                        FAR_FUTURE_EPOCH,
+                        FAR_FUTURE_EPOCH))
+            .collect(Collectors.toList());
+    return dataStructureUtil
+        .stateBuilderAltair()
+        .setSlotToStartOfEpoch(UInt64.valueOf(10))
+        .setFinalizedCheckpointToEpoch(UInt64.valueOf(finalizedEpoch))
+        .validators(schema.getValidatorsSchema().createFromElements(validators))
+        .balances(
+            schema
+                .getBalancesSchema()
+                .ofLongs(
+                    IntStream.range(0, validatorCount)
+                        .mapToLong(i -> maxEffectiveBalance.longValue())
+                        .toArray()))
+        .previousEpochAttestations(
+            IntStream.range(0, validatorCount)
+                .mapToObj(i -> SszByte.of(random.nextInt(8)))
+                .collect(schema.getPreviousEpochParticipationSchema().collector()))
+        .currentEpochAttestations(
+            IntStream.range(0, validatorCount)
+                .mapToObj(i -> SszByte.of(random.nextInt(8)))
+                .collect(schema.getCurrentEpochParticipationSchema().collector()))
+        .inactivityScores(
+            schema
+                .getInactivityScoresSchema()
+                .ofLongs(
+                    IntStream.range(0, validatorCount).mapToLong(i -> random.nextInt(3)).toArray()))
+        .build();
+  }
+
   private BeaconStateAltair generateRandomState() {
     return dataStructureUtil.stateBuilderAltair().build();
   }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.spec.logic.versions.altair.statetransition.epoch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.teku.spec.config.SpecConfig.FAR_FUTURE_EPOCH;
+import static tech.pegasys.teku.spec.constants.IncentivizationWeights.WEIGHT_DENOMINATOR;
+import static tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair.PARTICIPATION_FLAG_WEIGHTS;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.SpecVersion;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.config.SpecConfigAltair;
+import tech.pegasys.teku.spec.constants.ParticipationFlags;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateSchemaAltair;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.RewardAndPenaltyDeltas;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatus;
+import tech.pegasys.teku.spec.logic.common.statetransition.epoch.status.ValidatorStatuses;
+import tech.pegasys.teku.spec.logic.versions.altair.helpers.BeaconStateAccessorsAltair;
+import tech.pegasys.teku.spec.logic.versions.altair.helpers.MiscHelpersAltair;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.primitive.SszByte;
+
+class RewardsAndPenaltiesCalculatorAltairTest {
+  private final Spec spec = TestSpecFactory.createMinimalAltair();
+  private final SpecVersion genesisSpec = spec.getGenesisSpec();
+  private final SpecConfigAltair specConfig = SpecConfigAltair.required(genesisSpec.getConfig());
+  private final BeaconStateAccessorsAltair beaconStateAccessors =
+      (BeaconStateAccessorsAltair) genesisSpec.beaconStateAccessors();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+
+  @ParameterizedTest(name = "validators={0}, finalizedEpoch={1}")
+  @CsvSource({"64, 4", "64, 0", "20000, 4", "20000, 0"})
+  void getDeltas_shouldMatchSpecCalculation(final int validatorCount, final int finalizedEpoch) {
+    final BeaconStateAltair state = createState(validatorCount, finalizedEpoch);
+    final ValidatorStatuses validatorStatuses =
+        genesisSpec.getValidatorStatusFactory().createValidatorStatuses(state);
+    final RewardsAndPenaltiesCalculatorAltair calculator =
+        new RewardsAndPenaltiesCalculatorAltair(
+            specConfig,
+            state,
+            validatorStatuses,
+            (MiscHelpersAltair) genesisSpec.miscHelpers(),
+            beaconStateAccessors);
+
+    assertThat(calculator.getDeltas()).isEqualTo(calculateExpectedDeltas(state, validatorStatuses));
+  }
+
+  private BeaconStateAltair createState(final int validatorCount, final int finalizedEpoch) {
+    final Random random = new Random(validatorCount + finalizedEpoch);
+    final BeaconStateSchemaAltair schema =
+        (BeaconStateSchemaAltair) genesisSpec.getSchemaDefinitions().getBeaconStateSchema();
+    final UInt64 increment = specConfig.getEffectiveBalanceIncrement();
+    final int maxIncrements = specConfig.getMaxEffectiveBalance().dividedBy(increment).intValue();
+    final List<Validator> validators =
+        IntStream.range(0, validatorCount)
+            .mapToObj(
+                i ->
+                    new Validator(
+                        dataStructureUtil.randomPublicKeyBytes(),
+                        dataStructureUtil.randomBytes32(),
+                        increment.times(random.nextInt(maxIncrements) + 1),
+                        random.nextInt(10) == 0,
+                        UInt64.ZERO,
+                        UInt64.ZERO,
+                        FAR_FUTURE_EPOCH,
+                        FAR_FUTURE_EPOCH))
+            .collect(Collectors.toList());
+    return dataStructureUtil
+        .stateBuilderAltair()
+        .setSlotToStartOfEpoch(UInt64.valueOf(10))
+        .setFinalizedCheckpointToEpoch(UInt64.valueOf(finalizedEpoch))
+        .validators(schema.getValidatorsSchema().createFromElements(validators))
+        .balances(schema.getBalancesSchema().ofLongs(new long[validatorCount]))
+        .previousEpochAttestations(
+            IntStream.range(0, validatorCount)
+                .mapToObj(i -> SszByte.of(random.nextInt(8)))
+                .collect(schema.getPreviousEpochParticipationSchema().collector()))
+        .currentEpochAttestations(
+            IntStream.range(0, validatorCount)
+                .mapToObj(i -> SszByte.of(random.nextInt(8)))
+                .collect(schema.getCurrentEpochParticipationSchema().collector()))
+        .inactivityScores(
+            schema
+                .getInactivityScoresSchema()
+                .ofLongs(
+                    IntStream.range(0, validatorCount)
+                        .mapToLong(i -> random.nextInt(100))
+                        .toArray()))
+        .build();
+  }
+
+  private RewardAndPenaltyDeltas calculateExpectedDeltas(
+      final BeaconStateAltair state, final ValidatorStatuses validatorStatuses) {
+    final List<ValidatorStatus> statuses = validatorStatuses.getStatuses();
+    final RewardAndPenaltyDeltas deltas = new RewardAndPenaltyDeltas(statuses.size());
+    final UInt64 increment = specConfig.getEffectiveBalanceIncrement();
+    final UInt64 activeIncrements =
+        validatorStatuses.getTotalBalances().getCurrentEpochActiveValidators().dividedBy(increment);
+    final boolean isInactivityLeak = beaconStateAccessors.isInactivityLeak(state);
+    for (int flagIndex = 0; flagIndex < PARTICIPATION_FLAG_WEIGHTS.size(); flagIndex++) {
+      final UInt64 weight = PARTICIPATION_FLAG_WEIGHTS.get(flagIndex);
+      final UInt64 participatingIncrements =
+          getParticipatingBalance(validatorStatuses, flagIndex).dividedBy(increment);
+      for (int i = 0; i < statuses.size(); i++) {
+        final ValidatorStatus status = statuses.get(i);
+        if (!status.isEligibleValidator()) {
+          continue;
+        }
+        final UInt64 baseReward = beaconStateAccessors.getBaseReward(state, i);
+        if (status.isNotSlashed() && hasFlag(status, flagIndex)) {
+          if (!isInactivityLeak) {
+            deltas
+                .getDelta(i)
+                .reward(
+                    baseReward
+                        .times(weight)
+                        .times(participatingIncrements)
+                        .dividedBy(activeIncrements.times(WEIGHT_DENOMINATOR)));
+          }
+        } else if (flagIndex != ParticipationFlags.TIMELY_HEAD_FLAG_INDEX) {
+          deltas.getDelta(i).penalize(baseReward.times(weight).dividedBy(WEIGHT_DENOMINATOR));
+        }
+      }
+    }
+    for (int i = 0; i < statuses.size(); i++) {
+      final ValidatorStatus status = statuses.get(i);
+      if (!status.isEligibleValidator()
+          || (status.isPreviousEpochTargetAttester() && status.isNotSlashed())) {
+        continue;
+      }
+      deltas
+          .getDelta(i)
+          .penalize(
+              status
+                  .getCurrentEpochEffectiveBalance()
+                  .times(state.getInactivityScores().getElement(i))
+                  .dividedBy(
+                      specConfig
+                          .getInactivityScoreBias()
+                          .times(specConfig.getInactivityPenaltyQuotientAltair())));
+    }
+    return deltas;
+  }
+
+  private UInt64 getParticipatingBalance(
+      final ValidatorStatuses validatorStatuses, final int flagIndex) {
+    switch (flagIndex) {
+      case ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX:
+        return validatorStatuses.getTotalBalances().getPreviousEpochSourceAttesters();
+      case ParticipationFlags.TIMELY_TARGET_FLAG_INDEX:
+        return validatorStatuses.getTotalBalances().getPreviousEpochTargetAttesters();
+      default:
+        return validatorStatuses.getTotalBalances().getPreviousEpochHeadAttesters();
+    }
+  }
+
+  private boolean hasFlag(final ValidatorStatus status, final int flagIndex) {
+    switch (flagIndex) {
+      case ParticipationFlags.TIMELY_SOURCE_FLAG_INDEX:
+        return status.isPreviousEpochSourceAttester();
+      case ParticipationFlags.TIMELY_TARGET_FLAG_INDEX:
+        return status.isPreviousEpochTargetAttester();
+      default:
+        return status.isPreviousEpochHeadAttester();
+    }
+  }
+}
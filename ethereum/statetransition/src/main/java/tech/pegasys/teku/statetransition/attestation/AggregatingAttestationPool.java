@@ -14,16 +14,19 @@
 package tech.pegasys.teku.statetransition.attestation;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -46,6 +49,9 @@ import tech.pegasys.teku.util.config.Constants;
  * or as an aggregate to publish as part of the naive attestation aggregation algorithm. In both
  * cases the returned attestations are aggregated to maximise the number of validators that can be
  * included.
+ *
+ * <p>Adding and removing attestations only locks the group for the matching {@link AttestationData}
+ * so block production isn't blocked by incoming gossip. Pruning old slots takes an exclusive lock.
  */
 public class AggregatingAttestationPool implements SlotEventsChannel {
   static final long ATTESTATION_RETENTION_EPOCHS = 2;
@@ -53,13 +59,16 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
       SszListSchema.create(Attestation.SSZ_SCHEMA, Constants.MAX_ATTESTATIONS);
 
   private final Map<Bytes, MatchingDataAttestationGroup> attestationGroupByDataHash =
-      new HashMap<>();
-  private final NavigableMap<UInt64, Set<Bytes>> dataHashBySlot = new TreeMap<>();
+      new ConcurrentHashMap<>();
+  private final NavigableMap<UInt64, Set<Bytes>> dataHashBySlot = new ConcurrentSkipListMap<>();
+  private final ReadWriteLock pruneLock = new ReentrantReadWriteLock();
 
   private final Spec spec;
   private final AtomicInteger size = new AtomicInteger(0);
   private final SettableGauge sizeGauge;
 
+  private volatile ValidatedGroups validatedGroups = new ValidatedGroups(Optional.empty());
+
   public AggregatingAttestationPool(final Spec spec, final MetricsSystem metricsSystem) {
     this.spec = spec;
     this.sizeGauge =
@@ -70,15 +79,18 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
             "The number of attestations available to be included in proposed blocks");
   }
 
-  public synchronized void add(final ValidateableAttestation attestation) {
+  public void add(final ValidateableAttestation attestation) {
     final AttestationData attestationData = attestation.getAttestation().getData();
     final Bytes32 dataRoot = attestationData.hashTreeRoot();
-    final boolean add =
-        attestationGroupByDataHash
-            .computeIfAbsent(
-                dataRoot,
-                key ->
-                    new MatchingDataAttestationGroup(
+    pruneLock.readLock().lock();
+    try {
+      attestationGroupByDataHash.compute(
+          dataRoot,
+          (key, existingGroup) -> {
+            final MatchingDataAttestationGroup group =
+                existingGroup != null
+                    ? existingGroup
+                    : new MatchingDataAttestationGroup(
                         spec,
                         attestationData,
                         attestation
@@ -86,53 +98,75 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
                             .orElseThrow(
                                 () ->
                                     new UnsupportedOperationException(
-                                        "ValidateableAttestation does not have a randao mix."))))
-            .add(attestation);
-    if (add) {
-      updateSize(1);
+                                        "ValidateableAttestation does not have a randao mix.")));
+            final boolean added;
+            synchronized (group) {
+              added = group.add(attestation);
+            }
+            if (added) {
+              updateSize(1);
+            }
+            dataHashBySlot
+                .computeIfAbsent(attestationData.getSlot(), slot -> ConcurrentHashMap.newKeySet())
+                .add(dataRoot);
+            return group;
+          });
+    } finally {
+      pruneLock.readLock().unlock();
     }
-    dataHashBySlot
-        .computeIfAbsent(attestationData.getSlot(), slot -> new HashSet<>())
-        .add(dataRoot);
   }
 
   @Override
-  public synchronized void onSlot(final UInt64 slot) {
+  public void onSlot(final UInt64 slot) {
     final UInt64 attestationRetentionSlots =
         UInt64.valueOf(spec.getSlotsPerEpoch(slot) * ATTESTATION_RETENTION_EPOCHS);
     if (slot.compareTo(attestationRetentionSlots) <= 0) {
       return;
     }
     final UInt64 firstValidAttestationSlot = slot.minus(attestationRetentionSlots);
-    final Collection<Set<Bytes>> dataHashesToRemove =
-        dataHashBySlot.headMap(firstValidAttestationSlot, false).values();
-    dataHashesToRemove.stream()
-        .flatMap(Set::stream)
-        .forEach(
-            key -> {
-              final int removed = Math.toIntExact(attestationGroupByDataHash.get(key).size());
-              attestationGroupByDataHash.remove(key);
-              updateSize(-removed);
-            });
-    dataHashesToRemove.clear();
+    pruneLock.writeLock().lock();
+    try {
+      final Collection<Set<Bytes>> dataHashesToRemove =
+          dataHashBySlot.headMap(firstValidAttestationSlot, false).values();
+      dataHashesToRemove.stream()
+          .flatMap(Set::stream)
+          .forEach(
+              key -> {
+                final MatchingDataAttestationGroup removed = attestationGroupByDataHash.remove(key);
+                if (removed != null) {
+                  updateSize(-Math.toIntExact(removed.size()));
+                }
+              });
+      dataHashesToRemove.clear();
+    } finally {
+      pruneLock.writeLock().unlock();
+    }
   }
 
   public void removeAll(Iterable<Attestation> attestations) {
     attestations.forEach(this::remove);
   }
 
-  public synchronized void remove(final Attestation attestation) {
+  public void remove(final Attestation attestation) {
     final AttestationData attestationData = attestation.getData();
     final Bytes32 dataRoot = attestationData.hashTreeRoot();
-    final MatchingDataAttestationGroup attestations = attestationGroupByDataHash.get(dataRoot);
-    if (attestations == null) {
-      return;
-    }
-    final int numRemoved = attestations.remove(attestation);
-    updateSize(-numRemoved);
-    if (attestations.isEmpty()) {
-      attestationGroupByDataHash.remove(dataRoot);
-      removeFromSlotMappings(attestationData.getSlot(), dataRoot);
+    pruneLock.readLock().lock();
+    try {
+      attestationGroupByDataHash.computeIfPresent(
+          dataRoot,
+          (key, attestations) -> {
+            synchronized (attestations) {
+              final int numRemoved = attestations.remove(attestation);
+              updateSize(-numRemoved);
+              if (!attestations.isEmpty()) {
+                return attestations;
+              }
+            }
+            removeFromSlotMappings(attestationData.getSlot(), dataRoot);
+            return null;
+          });
+    } finally {
+      pruneLock.readLock().unlock();
     }
   }
 
@@ -144,10 +178,8 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
   private void removeFromSlotMappings(final UInt64 slot, final Bytes32 dataRoot) {
     final Set<Bytes> dataHashesForSlot = dataHashBySlot.get(slot);
     if (dataHashesForSlot != null) {
+      // Empty slots are left in place to avoid racing with adds and are removed when pruned
       dataHashesForSlot.remove(dataRoot);
-      if (dataHashesForSlot.isEmpty()) {
-        dataHashBySlot.remove(slot);
-      }
     }
   }
 
@@ -155,29 +187,29 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
     return size.get();
   }
 
-  public synchronized SszList<Attestation> getAttestationsForBlock(
+  public SszList<Attestation> getAttestationsForBlock(
       final BeaconState stateAtBlockSlot, final AttestationForkChecker forkChecker) {
-    final UInt64 currentEpoch = spec.getCurrentEpoch(stateAtBlockSlot);
-    final int previousEpochLimit = spec.getPreviousEpochAttestationCapacity(stateAtBlockSlot);
-
-    final AtomicInteger prevEpochCount = new AtomicInteger(0);
-    return dataHashBySlot.descendingMap().values().stream()
-        .flatMap(Collection::stream)
-        .map(attestationGroupByDataHash::get)
-        .filter(Objects::nonNull)
-        .filter(group -> isValid(stateAtBlockSlot, group.getAttestationData()))
-        .filter(forkChecker::areAttestationsFromCorrectFork)
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .limit(ATTESTATIONS_SCHEMA.getMaxLength())
-        .map(ValidateableAttestation::getAttestation)
-        .filter(
-            att -> {
-              if (spec.computeEpochAtSlot(att.getData().getSlot()).isLessThan(currentEpoch)) {
-                final int currentCount = prevEpochCount.getAndIncrement();
-                return currentCount < previousEpochLimit;
-              }
-              return true;
-            })
+    final int maxAttestations = Math.toIntExact(ATTESTATIONS_SCHEMA.getMaxLength());
+    final ValidatedGroups validatedGroups = getValidatedGroups(stateAtBlockSlot);
+    final AttestationPacker packer = new AttestationPacker(spec, stateAtBlockSlot);
+
+    pruneLock.readLock().lock();
+    try {
+      dataHashBySlot.descendingMap().values().stream()
+          .flatMap(Collection::stream)
+          .map(attestationGroupByDataHash::get)
+          .filter(Objects::nonNull)
+          .filter(group -> validatedGroups.isValid(stateAtBlockSlot, group))
+          .filter(forkChecker::areAttestationsFromCorrectFork)
+          .flatMap(group -> getAggregates(group, maxAttestations).stream())
+          .forEach(attestation -> packer.addCandidate(attestation.getAttestation()));
+    } finally {
+      pruneLock.readLock().unlock();
+    }
+
+    return packer
+        .pack(maxAttestations, spec.getPreviousEpochAttestationCapacity(stateAtBlockSlot))
+        .stream()
         .collect(ATTESTATIONS_SCHEMA.collector());
   }
 
@@ -192,25 +224,98 @@ public class AggregatingAttestationPool implements SlotEventsChannel {
                 .map(index -> group.getAttestationData().getIndex().equals(index))
                 .orElse(true);
 
-    return dataHashBySlot.descendingMap().entrySet().stream()
-        .filter(filterForSlot)
-        .map(Map.Entry::getValue)
-        .flatMap(Collection::stream)
-        .map(attestationGroupByDataHash::get)
-        .filter(Objects::nonNull)
-        .filter(filterForCommitteeIndex)
-        .flatMap(MatchingDataAttestationGroup::stream)
-        .map(ValidateableAttestation::getAttestation);
+    pruneLock.readLock().lock();
+    try {
+      return dataHashBySlot.descendingMap().entrySet().stream()
+          .filter(filterForSlot)
+          .map(Map.Entry::getValue)
+          .flatMap(Collection::stream)
+          .map(attestationGroupByDataHash::get)
+          .filter(Objects::nonNull)
+          .filter(filterForCommitteeIndex)
+          .flatMap(group -> getAggregates(group, Integer.MAX_VALUE).stream())
+          .map(ValidateableAttestation::getAttestation)
+          .collect(Collectors.toList())
+          .stream();
+    } finally {
+      pruneLock.readLock().unlock();
+    }
+  }
+
+  private List<ValidateableAttestation> getAggregates(
+      final MatchingDataAttestationGroup group, final int maxAggregates) {
+    synchronized (group) {
+      return group.stream().limit(maxAggregates).collect(Collectors.toList());
+    }
   }
 
-  private boolean isValid(
-      final BeaconState stateAtBlockSlot, final AttestationData attestationData) {
-    return spec.validateAttestation(stateAtBlockSlot, attestationData).isEmpty();
+  private ValidatedGroups getValidatedGroups(final BeaconState stateAtBlockSlot) {
+    final ValidationContext context = new ValidationContext(stateAtBlockSlot);
+    final ValidatedGroups current = validatedGroups;
+    if (current.isFor(context)) {
+      return current;
+    }
+    final ValidatedGroups updated = new ValidatedGroups(Optional.of(context));
+    validatedGroups = updated;
+    return updated;
   }
 
-  public synchronized Optional<ValidateableAttestation> createAggregateFor(
+  public Optional<ValidateableAttestation> createAggregateFor(
       final Bytes32 attestationHashTreeRoot) {
     return Optional.ofNullable(attestationGroupByDataHash.get(attestationHashTreeRoot))
-        .flatMap(attestations -> attestations.stream().findFirst());
+        .flatMap(attestations -> getAggregates(attestations, 1).stream().findFirst());
+  }
+
+  /**
+   * Caches the result of validating each group's {@link AttestationData} against the state for a
+   * block slot. States with the same slot and latest block header are built from the same chain so
+   * the result can be reused, for example when a block is produced more than once for a slot.
+   */
+  private class ValidatedGroups {
+    private final Optional<ValidationContext> context;
+    private final Map<Bytes, Boolean> validityByDataHash = new ConcurrentHashMap<>();
+
+    private ValidatedGroups(final Optional<ValidationContext> context) {
+      this.context = context;
+    }
+
+    boolean isFor(final ValidationContext context) {
+      return this.context.map(context::equals).orElse(false);
+    }
+
+    boolean isValid(final BeaconState state, final MatchingDataAttestationGroup group) {
+      final AttestationData attestationData = group.getAttestationData();
+      return validityByDataHash.computeIfAbsent(
+          attestationData.hashTreeRoot(),
+          __ -> spec.validateAttestation(state, attestationData).isEmpty());
+    }
+  }
+
+  private static class ValidationContext {
+    private final UInt64 slot;
+    private final Bytes32 latestBlockHeaderRoot;
+
+    private ValidationContext(final BeaconState state) {
+      this.slot = state.getSlot();
+      this.latestBlockHeaderRoot = state.getLatest_block_header().hashTreeRoot();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final ValidationContext that = (ValidationContext) o;
+      return Objects.equals(slot, that.slot)
+          && Objects.equals(latestBlockHeaderRoot, that.latestBlockHeaderRoot);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(slot, latestBlockHeaderRoot);
+    }
   }
 }
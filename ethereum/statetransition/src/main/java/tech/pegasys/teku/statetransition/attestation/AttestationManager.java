@@ -13,6 +13,8 @@
 
 package tech.pegasys.teku.statetransition.attestation;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -187,44 +189,76 @@ public class AttestationManager extends Service
 
     return attestationProcessor
         .onAttestation(attestation)
+        .thenApply(result -> processResult(attestation, result));
+  }
+
+  /**
+   * Processes a batch of attestations together, allowing their signatures to be verified as a batch
+   * and their votes to be applied to fork choice in a single update.
+   *
+   * @return the processing result for each attestation, in the same order as the attestations
+   */
+  public SafeFuture<List<AttestationProcessingResult>> onAttestations(
+      final List<ValidateableAttestation> attestations) {
+    final boolean[] pending = new boolean[attestations.size()];
+    final List<ValidateableAttestation> attestationsToProcess = new ArrayList<>();
+    for (int i = 0; i < attestations.size(); i++) {
+      pending[i] = pendingAttestations.contains(attestations.get(i));
+      if (!pending[i]) {
+        attestationsToProcess.add(attestations.get(i));
+      }
+    }
+    return attestationProcessor
+        .onAttestations(attestationsToProcess, signatureVerificationService)
         .thenApply(
-            result -> {
-              switch (result.getStatus()) {
-                case SUCCESSFUL:
-                  LOG.trace("Processed attestation {} successfully", attestation::hash_tree_root);
-                  aggregatingAttestationPool.add(attestation);
-                  sendToSubscribersIfProducedLocally(attestation);
-                  break;
-                case UNKNOWN_BLOCK:
-                  LOG.trace(
-                      "Deferring attestation {} as required block is not yet present",
-                      attestation::hash_tree_root);
-                  pendingAttestations.add(attestation);
-                  break;
-                case DEFER_FORK_CHOICE_PROCESSING:
-                  LOG.trace(
-                      "Defer fork choice processing of attestation {}",
-                      attestation::hash_tree_root);
-                  sendToSubscribersIfProducedLocally(attestation);
-                  aggregatingAttestationPool.add(attestation);
-                  futureAttestations.add(attestation);
-                  break;
-                case SAVED_FOR_FUTURE:
-                  LOG.trace(
-                      "Deferring attestation {} until a future slot", attestation::hash_tree_root);
-                  aggregatingAttestationPool.add(attestation);
-                  futureAttestations.add(attestation);
-                  break;
-                case INVALID:
-                  break;
-                default:
-                  throw new UnsupportedOperationException(
-                      "AttestationProcessingResult is unrecognizable");
+            processedResults -> {
+              final List<AttestationProcessingResult> results =
+                  new ArrayList<>(attestations.size());
+              final Iterator<AttestationProcessingResult> processedResult =
+                  processedResults.iterator();
+              for (int i = 0; i < attestations.size(); i++) {
+                results.add(
+                    pending[i]
+                        ? AttestationProcessingResult.SAVED_FOR_FUTURE
+                        : processResult(attestations.get(i), processedResult.next()));
               }
-              return result;
+              return results;
             });
   }
 
+  private AttestationProcessingResult processResult(
+      final ValidateableAttestation attestation, final AttestationProcessingResult result) {
+    switch (result.getStatus()) {
+      case SUCCESSFUL:
+        LOG.trace("Processed attestation {} successfully", attestation::hash_tree_root);
+        aggregatingAttestationPool.add(attestation);
+        sendToSubscribersIfProducedLocally(attestation);
+        break;
+      case UNKNOWN_BLOCK:
+        LOG.trace(
+            "Deferring attestation {} as required block is not yet present",
+            attestation::hash_tree_root);
+        pendingAttestations.add(attestation);
+        break;
+      case DEFER_FORK_CHOICE_PROCESSING:
+        LOG.trace("Defer fork choice processing of attestation {}", attestation::hash_tree_root);
+        sendToSubscribersIfProducedLocally(attestation);
+        aggregatingAttestationPool.add(attestation);
+        futureAttestations.add(attestation);
+        break;
+      case SAVED_FOR_FUTURE:
+        LOG.trace("Deferring attestation {} until a future slot", attestation::hash_tree_root);
+        aggregatingAttestationPool.add(attestation);
+        futureAttestations.add(attestation);
+        break;
+      case INVALID:
+        break;
+      default:
+        throw new UnsupportedOperationException("AttestationProcessingResult is unrecognizable");
+    }
+    return result;
+  }
+
   private void sendToSubscribersIfProducedLocally(ValidateableAttestation attestation) {
     if (!attestation.isProducedLocally()) {
       return;
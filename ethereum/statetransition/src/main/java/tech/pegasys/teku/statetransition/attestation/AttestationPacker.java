@@ -0,0 +1,224 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.attestation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.operations.Attestation;
+import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.altair.BeaconStateAltair;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.versions.phase0.BeaconStatePhase0;
+import tech.pegasys.teku.ssz.SszList;
+import tech.pegasys.teku.ssz.primitive.SszByte;
+
+/**
+ * Selects the attestations to include in a block using a greedy maximum coverage algorithm.
+ *
+ * <p>Each candidate is weighted by the number of validators it would add that are not already
+ * included on chain or by a previously selected attestation from the same committee. As adding
+ * attestations only ever reduces the weight of the remaining candidates, weights are recalculated
+ * lazily when a candidate reaches the head of the queue. Candidates with equal weight are selected
+ * in the order they were added.
+ */
+class AttestationPacker {
+
+  private static final Comparator<Candidate> CANDIDATE_ORDER =
+      Comparator.<Candidate>comparingInt(candidate -> candidate.weight)
+          .reversed()
+          .thenComparingInt(candidate -> candidate.order);
+
+  private final Spec spec;
+  private final BeaconState state;
+  private final List<Candidate> candidates = new ArrayList<>();
+
+  AttestationPacker(final Spec spec, final BeaconState state) {
+    this.spec = spec;
+    this.state = state;
+  }
+
+  void addCandidate(final Attestation attestation) {
+    final BitSet bits = new BitSet();
+    attestation.getAggregation_bits().streamAllSetBits().forEach(bits::set);
+    candidates.add(new Candidate(attestation, bits, candidates.size()));
+  }
+
+  /**
+   * Selects the candidates to include in the block.
+   *
+   * @param maxAttestations the maximum number of attestations to select
+   * @param previousEpochLimit the maximum number of attestations from the previous epoch to select
+   * @return the selected attestations in order of selection
+   */
+  List<Attestation> pack(final int maxAttestations, final int previousEpochLimit) {
+    final Map<CommitteeKey, BitSet> coverage = loadOnChainCoverage();
+    final UInt64 currentEpoch = spec.getCurrentEpoch(state);
+    final PriorityQueue<Candidate> queue = new PriorityQueue<>(CANDIDATE_ORDER);
+    candidates.forEach(
+        candidate -> {
+          candidate.weight = calculateWeight(candidate, coverage);
+          queue.add(candidate);
+        });
+
+    final List<Attestation> selected = new ArrayList<>();
+    int previousEpochCount = 0;
+    while (selected.size() < maxAttestations && !queue.isEmpty()) {
+      final Candidate candidate = queue.poll();
+      final int weight = calculateWeight(candidate, coverage);
+      if (weight == 0) {
+        continue;
+      }
+      if (weight < candidate.weight) {
+        // Some of the validators were included since the weight was calculated so re-queue
+        candidate.weight = weight;
+        queue.add(candidate);
+        continue;
+      }
+      final UInt64 attestationEpoch =
+          spec.computeEpochAtSlot(candidate.attestation.getData().getSlot());
+      if (attestationEpoch.isLessThan(currentEpoch)) {
+        if (previousEpochCount >= previousEpochLimit) {
+          continue;
+        }
+        previousEpochCount++;
+      }
+      coverage.computeIfAbsent(candidate.key, key -> new BitSet()).or(candidate.bits);
+      selected.add(candidate.attestation);
+    }
+    return selected;
+  }
+
+  private int calculateWeight(final Candidate candidate, final Map<CommitteeKey, BitSet> coverage) {
+    final BitSet covered = coverage.get(candidate.key);
+    if (covered == null) {
+      return candidate.bits.cardinality();
+    }
+    final BitSet newBits = (BitSet) candidate.bits.clone();
+    newBits.andNot(covered);
+    return newBits.cardinality();
+  }
+
+  private Map<CommitteeKey, BitSet> loadOnChainCoverage() {
+    final Map<CommitteeKey, BitSet> coverage = new HashMap<>();
+    if (candidates.isEmpty()) {
+      return coverage;
+    }
+    final Set<CommitteeKey> committees = new HashSet<>();
+    candidates.forEach(candidate -> committees.add(candidate.key));
+    state
+        .toVersionPhase0()
+        .ifPresent(
+            phase0State -> loadPendingAttestationCoverage(phase0State, committees, coverage));
+    state
+        .toVersionAltair()
+        .ifPresent(altairState -> loadParticipationCoverage(altairState, committees, coverage));
+    return coverage;
+  }
+
+  private void loadPendingAttestationCoverage(
+      final BeaconStatePhase0 state,
+      final Set<CommitteeKey> committees,
+      final Map<CommitteeKey, BitSet> coverage) {
+    addPendingAttestationCoverage(state.getPrevious_epoch_attestations(), committees, coverage);
+    addPendingAttestationCoverage(state.getCurrent_epoch_attestations(), committees, coverage);
+  }
+
+  private void addPendingAttestationCoverage(
+      final SszList<PendingAttestation> pendingAttestations,
+      final Set<CommitteeKey> committees,
+      final Map<CommitteeKey, BitSet> coverage) {
+    for (PendingAttestation pendingAttestation : pendingAttestations) {
+      final CommitteeKey key = new CommitteeKey(pendingAttestation.getData());
+      if (committees.contains(key)) {
+        final BitSet covered = coverage.computeIfAbsent(key, __ -> new BitSet());
+        pendingAttestation.getAggregation_bits().streamAllSetBits().forEach(covered::set);
+      }
+    }
+  }
+
+  private void loadParticipationCoverage(
+      final BeaconStateAltair state,
+      final Set<CommitteeKey> committees,
+      final Map<CommitteeKey, BitSet> coverage) {
+    final UInt64 currentEpoch = spec.getCurrentEpoch(state);
+    for (CommitteeKey key : committees) {
+      final SszList<SszByte> participation =
+          spec.computeEpochAtSlot(key.slot).equals(currentEpoch)
+              ? state.getCurrentEpochParticipation()
+              : state.getPreviousEpochParticipation();
+      final List<Integer> committee = spec.getBeaconCommittee(state, key.slot, key.index);
+      final BitSet covered = new BitSet();
+      for (int i = 0; i < committee.size(); i++) {
+        final int validatorIndex = committee.get(i);
+        if (validatorIndex < participation.size() && participation.get(validatorIndex).get() != 0) {
+          covered.set(i);
+        }
+      }
+      coverage.put(key, covered);
+    }
+  }
+
+  private static class Candidate {
+    private final Attestation attestation;
+    private final CommitteeKey key;
+    private final BitSet bits;
+    private final int order;
+    private int weight;
+
+    private Candidate(final Attestation attestation, final BitSet bits, final int order) {
+      this.attestation = attestation;
+      this.key = new CommitteeKey(attestation.getData());
+      this.bits = bits;
+      this.order = order;
+    }
+  }
+
+  private static class CommitteeKey {
+    private final UInt64 slot;
+    private final UInt64 index;
+
+    private CommitteeKey(final AttestationData data) {
+      this.slot = data.getSlot();
+      this.index = data.getIndex();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final CommitteeKey that = (CommitteeKey) o;
+      return Objects.equals(slot, that.slot) && Objects.equals(index, that.index);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(slot, index);
+    }
+  }
+}
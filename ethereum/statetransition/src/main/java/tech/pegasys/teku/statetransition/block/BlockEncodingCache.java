@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.block;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+
+/**
+ * Cache of the encodings of recently seen signed blocks, so a block received over gossip is
+ * serialized (and compressed) once rather than again each time it is requested by peers or
+ * downloaded via the REST API.
+ *
+ * <p>Entries are keyed by block root and checked against the block signature since blocks with the
+ * same message but different signatures share a root. The cache is bounded by the total size of the
+ * encodings it holds and evicts the least recently used blocks first.
+ */
+public class BlockEncodingCache {
+  public static final long DEFAULT_MAX_SIZE_BYTES = 32 * 1024 * 1024;
+
+  private final long maxSizeBytes;
+  private final Map<Bytes32, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private long sizeBytes = 0;
+
+  public BlockEncodingCache(final MetricsSystem metricsSystem, final long maxSizeBytes) {
+    checkArgument(maxSizeBytes >= 0, "Max size must not be negative");
+    this.maxSizeBytes = maxSizeBytes;
+    this.hitCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "block_encoding_cache_hits_total",
+            "Number of block encodings served from the block encoding cache");
+    this.missCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "block_encoding_cache_misses_total",
+            "Number of block encodings which had to be computed as they were not cached");
+    metricsSystem.createGauge(
+        TekuMetricCategory.BEACON,
+        "block_encoding_cache_size_bytes",
+        "Total size of the block encodings currently cached",
+        this::getSizeInBytes);
+  }
+
+  /**
+   * Records the SSZ serialization of a block that is already at hand, e.g. the decoded payload of a
+   * gossip message, so it never needs to be serialized again. Only blocks that have passed
+   * validation should be recorded, as an entry replaces any cached block with the same root.
+   */
+  public void putSsz(final SignedBeaconBlock block, final Bytes ssz) {
+    final Bytes32 root = block.getRoot();
+    final BLSSignature signature = block.getSignature();
+    synchronized (this) {
+      getOrCreateEntry(root, signature, ssz);
+      evictIfNecessary();
+    }
+  }
+
+  /** Returns the SSZ serialization of the block, only serializing it if it isn't cached. */
+  public Bytes getSsz(final SignedBeaconBlock block) {
+    return getSsz(block, true);
+  }
+
+  /**
+   * Returns the cached SSZ serialization of the block, or serializes the block without adding it to
+   * the cache. Used for old blocks, e.g. those served to syncing peers, which are unlikely to be
+   * requested again and would otherwise evict the recent blocks.
+   */
+  public Bytes lookupSsz(final SignedBeaconBlock block) {
+    return getSsz(block, false);
+  }
+
+  /**
+   * Returns the block in the named encoding, computing it from the (cached) SSZ serialization with
+   * the supplied encoder only if it isn't cached.
+   *
+   * @param block the block to encode
+   * @param encodingName identifies the encoding, must be unique for each distinct encoder
+   * @param encoder converts the block SSZ into the encoding
+   * @return the encoded block
+   */
+  public Bytes getEncoded(
+      final SignedBeaconBlock block,
+      final String encodingName,
+      final Function<Bytes, Bytes> encoder) {
+    return getEncoded(block, encodingName, encoder, true);
+  }
+
+  /**
+   * Returns the block in the named encoding if it is cached, or computes it with the supplied
+   * encoder without adding the block or the encoding to the cache.
+   *
+   * @see #getEncoded(SignedBeaconBlock, String, Function)
+   * @see #lookupSsz(SignedBeaconBlock)
+   */
+  public Bytes lookupEncoded(
+      final SignedBeaconBlock block,
+      final String encodingName,
+      final Function<Bytes, Bytes> encoder) {
+    return getEncoded(block, encodingName, encoder, false);
+  }
+
+  private Bytes getSsz(final SignedBeaconBlock block, final boolean cacheOnMiss) {
+    final Bytes32 root = block.getRoot();
+    final BLSSignature signature = block.getSignature();
+    synchronized (this) {
+      final Entry entry = getEntry(root, signature);
+      if (entry != null) {
+        hitCounter.inc();
+        return entry.ssz;
+      }
+    }
+    missCounter.inc();
+    final Bytes ssz = block.sszSerialize();
+    if (cacheOnMiss) {
+      putSsz(block, ssz);
+    }
+    return ssz;
+  }
+
+  private Bytes getEncoded(
+      final SignedBeaconBlock block,
+      final String encodingName,
+      final Function<Bytes, Bytes> encoder,
+      final boolean cacheOnMiss) {
+    final Bytes32 root = block.getRoot();
+    final BLSSignature signature = block.getSignature();
+    Bytes ssz = null;
+    synchronized (this) {
+      final Entry entry = getEntry(root, signature);
+      if (entry != null) {
+        final Bytes encoded = entry.encodings.get(encodingName);
+        if (encoded != null) {
+          hitCounter.inc();
+          return encoded;
+        }
+        ssz = entry.ssz;
+      }
+    }
+    missCounter.inc();
+    if (ssz == null) {
+      ssz = block.sszSerialize();
+    }
+    final Bytes encoded = encoder.apply(ssz);
+    if (cacheOnMiss) {
+      synchronized (this) {
+        final Entry entry = getOrCreateEntry(root, signature, ssz);
+        if (entry != null && entry.encodings.putIfAbsent(encodingName, encoded) == null) {
+          sizeBytes += encoded.size();
+        }
+        evictIfNecessary();
+      }
+    }
+    return encoded;
+  }
+
+  public synchronized long getSizeInBytes() {
+    return sizeBytes;
+  }
+
+  private Entry getEntry(final Bytes32 root, final BLSSignature signature) {
+    final Entry entry = entries.get(root);
+    return entry != null && entry.signature.equals(signature) ? entry : null;
+  }
+
+  private Entry getOrCreateEntry(
+      final Bytes32 root, final BLSSignature signature, final Bytes ssz) {
+    final Entry existing = entries.get(root);
+    if (existing != null) {
+      if (existing.signature.equals(signature)) {
+        return existing;
+      }
+      entries.remove(root);
+      sizeBytes -= existing.getSize();
+    }
+    if (ssz.size() > maxSizeBytes) {
+      return null;
+    }
+    final Entry entry = new Entry(signature, ssz);
+    entries.put(root, entry);
+    sizeBytes += entry.getSize();
+    return entry;
+  }
+
+  private void evictIfNecessary() {
+    final Iterator<Entry> iterator = entries.values().iterator();
+    while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+      sizeBytes -= iterator.next().getSize();
+      iterator.remove();
+    }
+  }
+
+  private static class Entry {
+    private final BLSSignature signature;
+    private final Bytes ssz;
+    private final Map<String, Bytes> encodings = new HashMap<>();
+
+    private Entry(final BLSSignature signature, final Bytes ssz) {
+      this.signature = signature;
+      this.ssz = ssz;
+    }
+
+    private long getSize() {
+      long size = ssz.size();
+      for (Bytes encoded : encodings.values()) {
+        size += encoded.size();
+      }
+      return size;
+    }
+  }
+}
@@ -14,6 +14,8 @@
 package tech.pegasys.teku.statetransition.block;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -93,16 +95,7 @@ public class BlockImporter {
                     () -> formatBlock(block));
                 return result;
               }
-              LOG.trace("Successfully imported block {}", () -> formatBlock(block));
-
-              blockImportNotifications.onBlockImported(block);
-
-              // Notify operation pools to remove operations only
-              // if the block is on our canonical chain
-              if (result.isBlockOnCanonicalChain()) {
-                notifyBlockOperationSubscribers(block);
-              }
-
+              onBlockImported(block, result);
               return result;
             })
         .exceptionally(
@@ -112,6 +105,80 @@ public class BlockImporter {
             });
   }
 
+  /**
+   * Import a chain of blocks, where each block is the parent of the next, verifying the signatures
+   * of all blocks in a single batch. Blocks are only imported if the whole batch is valid.
+   *
+   * @param blocks the blocks to import, in order
+   * @return the import result of each block up to and including the first failure, or empty if the
+   *     blocks could not be imported as a batch and should instead be imported individually with
+   *     {@link #importBlock(SignedBeaconBlock)}
+   */
+  @CheckReturnValue
+  public SafeFuture<Optional<List<BlockImportResult>>> importBlocksBatch(
+      final List<SignedBeaconBlock> blocks) {
+    final List<BlockImportResult> knownBlockResults = new ArrayList<>();
+    int firstUnknownBlock = 0;
+    while (firstUnknownBlock < blocks.size()
+        && recentChainData.containsBlock(blocks.get(firstUnknownBlock).getRoot())) {
+      knownBlockResults.add(BlockImportResult.knownBlock(blocks.get(firstUnknownBlock)));
+      firstUnknownBlock++;
+    }
+    final List<SignedBeaconBlock> blocksToImport = blocks.subList(firstUnknownBlock, blocks.size());
+    if (blocksToImport.isEmpty()) {
+      return SafeFuture.completedFuture(Optional.of(knownBlockResults));
+    }
+
+    final ReadOnlyForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
+    for (SignedBeaconBlock block : blocksToImport) {
+      if (recentChainData.containsBlock(block.getRoot())
+          || !weakSubjectivityValidator.isBlockValid(block, forkChoiceStrategy)) {
+        // Leave it to individual imports to handle and report these blocks
+        return SafeFuture.completedFuture(Optional.empty());
+      }
+    }
+
+    return validateWeakSubjectivityPeriod()
+        .thenCompose(__ -> forkChoice.onBlocksBatch(blocksToImport))
+        .thenApply(
+            maybeResults ->
+                maybeResults.map(
+                    results -> {
+                      for (int i = 0; i < results.size(); i++) {
+                        final SignedBeaconBlock block = blocksToImport.get(i);
+                        final BlockImportResult result = results.get(i);
+                        if (result.isSuccessful()) {
+                          onBlockImported(block, result);
+                        } else {
+                          LOG.trace(
+                              "Failed to import block for reason {}: {}",
+                              result::getFailureReason,
+                              () -> formatBlock(block));
+                        }
+                      }
+                      final List<BlockImportResult> allResults = new ArrayList<>(knownBlockResults);
+                      allResults.addAll(results);
+                      return allResults;
+                    }))
+        .exceptionally(
+            (e) -> {
+              LOG.error("Internal error while importing batch of blocks", e);
+              return Optional.empty();
+            });
+  }
+
+  private void onBlockImported(final SignedBeaconBlock block, final BlockImportResult result) {
+    LOG.trace("Successfully imported block {}", () -> formatBlock(block));
+
+    blockImportNotifications.onBlockImported(block);
+
+    // Notify operation pools to remove operations only
+    // if the block is on our canonical chain
+    if (result.isBlockOnCanonicalChain()) {
+      notifyBlockOperationSubscribers(block);
+    }
+  }
+
   private SafeFuture<?> validateWeakSubjectivityPeriod() {
     return getLatestCheckpointState()
         .thenCombine(
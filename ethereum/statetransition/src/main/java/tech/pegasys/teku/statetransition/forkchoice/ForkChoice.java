@@ -17,6 +17,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static tech.pegasys.teku.statetransition.forkchoice.StateRootCollector.addParentStateRoots;
 
 import com.google.common.base.Throwables;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
@@ -42,7 +44,13 @@ import tech.pegasys.teku.spec.datastructures.operations.IndexedAttestation;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.datastructures.util.AttestationProcessingResult;
+import tech.pegasys.teku.spec.logic.common.statetransition.blockvalidator.BatchSignatureVerifier;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.SlotProcessingException;
+import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.StateTransitionException;
 import tech.pegasys.teku.spec.logic.common.statetransition.results.BlockImportResult;
+import tech.pegasys.teku.spec.logic.common.util.AsyncBLSSignatureVerifier;
+import tech.pegasys.teku.ssz.tree.TreeMerkleizer;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.storage.store.UpdatableStore;
 import tech.pegasys.teku.storage.store.UpdatableStore.StoreTransaction;
@@ -54,16 +62,19 @@ public class ForkChoice {
   private final EventThread forkChoiceExecutor;
   private final RecentChainData recentChainData;
   private final ProposerWeightings proposerWeightings;
+  private final TreeMerkleizer stateMerkleizer;
 
   private ForkChoice(
       final Spec spec,
       final EventThread forkChoiceExecutor,
       final RecentChainData recentChainData,
-      final ProposerWeightings proposerWeightings) {
+      final ProposerWeightings proposerWeightings,
+      final TreeMerkleizer stateMerkleizer) {
     this.spec = spec;
     this.forkChoiceExecutor = forkChoiceExecutor;
     this.recentChainData = recentChainData;
     this.proposerWeightings = proposerWeightings;
+    this.stateMerkleizer = stateMerkleizer;
     recentChainData.subscribeStoreInitialized(this::initializeProtoArrayForkChoice);
   }
 
@@ -72,11 +83,26 @@ public class ForkChoice {
       final EventThread forkChoiceExecutor,
       final RecentChainData recentChainData,
       final boolean balanceAttackMitigationEnabled) {
+    return create(
+        spec,
+        forkChoiceExecutor,
+        recentChainData,
+        balanceAttackMitigationEnabled,
+        TreeMerkleizer.sequential());
+  }
+
+  public static ForkChoice create(
+      final Spec spec,
+      final EventThread forkChoiceExecutor,
+      final RecentChainData recentChainData,
+      final boolean balanceAttackMitigationEnabled,
+      final TreeMerkleizer stateMerkleizer) {
     final ProposerWeightings proposerWeightings =
         balanceAttackMitigationEnabled
             ? new ActiveProposerWeightings(forkChoiceExecutor, spec)
             : new InactiveProposerWeightings();
-    return new ForkChoice(spec, forkChoiceExecutor, recentChainData, proposerWeightings);
+    return new ForkChoice(
+        spec, forkChoiceExecutor, recentChainData, proposerWeightings, stateMerkleizer);
   }
 
   /**
@@ -91,6 +117,15 @@ public class ForkChoice {
     return create(spec, forkChoiceExecutor, recentChainData, false);
   }
 
+  /**
+   * Processing empty slots may leave a large part of the state dirty (e.g. after an epoch
+   * transition). Hash it with the state merkleizer upfront so the block processing only rehashes
+   * the few nodes the block itself changes.
+   */
+  private void hashState(final BeaconState state) {
+    state.getBackingNode().hashTreeRoot(stateMerkleizer);
+  }
+
   private void initializeProtoArrayForkChoice() {
     processHead().join();
   }
@@ -185,21 +220,151 @@ public class ForkChoice {
               IndexedAttestationCache.capturing();
 
           addParentStateRoots(blockSlotState.get(), transaction);
+          hashState(blockSlotState.get());
 
           final BlockImportResult result =
               spec.onBlock(transaction, block, blockSlotState.get(), indexedAttestationCache);
 
-          if (!result.isSuccessful()) {
-            return result;
-          }
-          // Note: not using thenRun here because we want to ensure each step is on the event thread
-          transaction.commit().join();
-          updateForkChoiceForImportedBlock(block, blockSlotState.get(), result, forkChoiceStrategy);
-          applyVotesFromBlock(forkChoiceStrategy, indexedAttestationCache);
-          return result;
+          return completeBlockImport(
+              transaction,
+              block,
+              blockSlotState.get(),
+              result,
+              forkChoiceStrategy,
+              indexedAttestationCache);
         });
   }
 
+  /**
+   * Import a chain of blocks, where each block is the parent of the next. The state transitions for
+   * the whole chain are run first with signature checks deferred, then all signatures in the chain
+   * are verified in a single batch. Blocks are only added to the store if every signature is valid.
+   *
+   * @param blocks the blocks to import, in order
+   * @return the import result of each block up to and including the first failure, or empty if the
+   *     blocks could not be validated as a batch, in which case none of them have been imported
+   */
+  public SafeFuture<Optional<List<BlockImportResult>>> onBlocksBatch(
+      final List<SignedBeaconBlock> blocks) {
+    checkArgument(!blocks.isEmpty(), "No blocks to import");
+    final SignedBeaconBlock firstBlock = blocks.get(0);
+    return recentChainData
+        .retrieveStateAtSlot(new SlotAndBlockRoot(firstBlock.getSlot(), firstBlock.getParentRoot()))
+        .thenApply(
+            maybeBlockSlotState ->
+                maybeBlockSlotState.flatMap(
+                    blockSlotState -> validateBlocksBatch(blocks, blockSlotState)))
+        .thenCompose(
+            maybeValidatedBlocks -> {
+              if (maybeValidatedBlocks.isEmpty()) {
+                return SafeFuture.completedFuture(Optional.empty());
+              }
+              return importValidatedBlocks(maybeValidatedBlocks.get()).thenApply(Optional::of);
+            });
+  }
+
+  private Optional<List<ValidatedBlock>> validateBlocksBatch(
+      final List<SignedBeaconBlock> blocks, final BeaconState firstBlockSlotState) {
+    final BatchSignatureVerifier signatureVerifier = new BatchSignatureVerifier();
+    final List<ValidatedBlock> validatedBlocks = new ArrayList<>(blocks.size());
+    try {
+      ValidatedBlock parent = null;
+      for (SignedBeaconBlock block : blocks) {
+        final BeaconState blockSlotState;
+        if (parent == null) {
+          blockSlotState = firstBlockSlotState;
+        } else if (block.getParentRoot().equals(parent.block.getRoot())
+            && block.getSlot().isGreaterThan(parent.block.getSlot())) {
+          blockSlotState = spec.processSlots(parent.postState, block.getSlot());
+        } else {
+          LOG.debug("Unable to import blocks as a batch because they do not form a chain");
+          return Optional.empty();
+        }
+        hashState(blockSlotState);
+        final CapturingIndexedAttestationCache indexedAttestationCache =
+            IndexedAttestationCache.capturing();
+        final BeaconState postState =
+            spec.getBlockProcessor(block.getSlot())
+                .processAndValidateBlock(
+                    block, blockSlotState, indexedAttestationCache, signatureVerifier);
+        parent = new ValidatedBlock(block, blockSlotState, postState, indexedAttestationCache);
+        validatedBlocks.add(parent);
+      }
+    } catch (final StateTransitionException
+        | SlotProcessingException
+        | EpochProcessingException e) {
+      LOG.debug("Unable to import blocks as a batch because a state transition failed", e);
+      return Optional.empty();
+    }
+    if (!signatureVerifier.batchVerify()) {
+      LOG.debug("Unable to import blocks as a batch because batch signature verification failed");
+      return Optional.empty();
+    }
+    return Optional.of(validatedBlocks);
+  }
+
+  private SafeFuture<List<BlockImportResult>> importValidatedBlocks(
+      final List<ValidatedBlock> validatedBlocks) {
+    final List<BlockImportResult> results = new ArrayList<>();
+    SafeFuture<Boolean> importSucceeded = SafeFuture.completedFuture(true);
+    for (ValidatedBlock validatedBlock : validatedBlocks) {
+      importSucceeded =
+          importSucceeded.thenCompose(
+              previousSucceeded -> {
+                if (!previousSucceeded) {
+                  return SafeFuture.completedFuture(false);
+                }
+                // Each block gets its own task so the fork choice thread isn't held for the batch
+                return onForkChoiceThread(
+                    () -> {
+                      final BlockImportResult result = importValidatedBlock(validatedBlock);
+                      results.add(result);
+                      return result.isSuccessful();
+                    });
+              });
+    }
+    return importSucceeded.thenApply(__ -> results);
+  }
+
+  private BlockImportResult importValidatedBlock(final ValidatedBlock validatedBlock) {
+    final ForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
+    final StoreTransaction transaction = recentChainData.startStoreTransaction();
+
+    addParentStateRoots(validatedBlock.blockSlotState, transaction);
+
+    final BlockImportResult result =
+        spec.onValidatedBlock(
+            transaction,
+            validatedBlock.block,
+            validatedBlock.blockSlotState,
+            validatedBlock.postState);
+
+    return completeBlockImport(
+        transaction,
+        validatedBlock.block,
+        validatedBlock.blockSlotState,
+        result,
+        forkChoiceStrategy,
+        validatedBlock.indexedAttestationCache);
+  }
+
+  private BlockImportResult completeBlockImport(
+      final StoreTransaction transaction,
+      final SignedBeaconBlock block,
+      final BeaconState blockSlotState,
+      final BlockImportResult result,
+      final ForkChoiceStrategy forkChoiceStrategy,
+      final CapturingIndexedAttestationCache indexedAttestationCache) {
+    if (!result.isSuccessful()) {
+      return result;
+    }
+    // Note: not using thenRun here because we want to ensure each step is on the event thread
+    transaction.commit().join();
+    updateForkChoiceForImportedBlock(block, blockSlotState, result, forkChoiceStrategy);
+    applyVotesFromBlock(forkChoiceStrategy, indexedAttestationCache);
+    return result;
+  }
+
   private void applyVotesFromBlock(
       final ForkChoiceStrategy forkChoiceStrategy,
       final CapturingIndexedAttestationCache indexedAttestationProvider) {
@@ -278,17 +443,88 @@ public class ForkChoice {
                       })
                   .thenApply(__ -> validationResult);
             })
-        .exceptionallyCompose(
-            error -> {
-              final Throwable rootCause = Throwables.getRootCause(error);
-              if (rootCause instanceof InvalidCheckpointException) {
-                return SafeFuture.completedFuture(
-                    AttestationProcessingResult.invalid(rootCause.getMessage()));
+        .exceptionallyCompose(this::handleAttestationProcessingError);
+  }
+
+  /**
+   * Processes a batch of attestations, typically produced by local validators.
+   *
+   * <p>The signatures of all attestations are passed to the signature verifier together so they can
+   * be verified as a batch, and the votes from all valid attestations are applied in a single fork
+   * choice update.
+   *
+   * @return the processing result for each attestation, in the same order as the attestations
+   */
+  public SafeFuture<List<AttestationProcessingResult>> onAttestations(
+      final List<ValidateableAttestation> attestations,
+      final AsyncBLSSignatureVerifier signatureVerifier) {
+    if (attestations.isEmpty()) {
+      return SafeFuture.completedFuture(Collections.emptyList());
+    }
+    return SafeFuture.collectAll(
+            attestations.stream()
+                .map(attestation -> validateAttestation(attestation, signatureVerifier)))
+        .thenCompose(
+            results -> {
+              final List<ValidateableAttestation> validAttestations = new ArrayList<>();
+              for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isSuccessful()) {
+                  validAttestations.add(attestations.get(i));
+                }
               }
-              return SafeFuture.failedFuture(error);
+              if (validAttestations.isEmpty()) {
+                return SafeFuture.completedFuture(results);
+              }
+              return onForkChoiceThread(
+                      () -> {
+                        final VoteUpdater transaction = recentChainData.startVoteUpdate();
+                        final ForkChoiceStrategy forkChoiceStrategy = getForkChoiceStrategy();
+                        validAttestations.forEach(
+                            attestation ->
+                                forkChoiceStrategy.onAttestation(
+                                    transaction, getIndexedAttestation(attestation)));
+                        transaction.commit();
+                      })
+                  .thenApply(__ -> results);
             });
   }
 
+  private SafeFuture<AttestationProcessingResult> validateAttestation(
+      final ValidateableAttestation attestation,
+      final AsyncBLSSignatureVerifier signatureVerifier) {
+    return recentChainData
+        .retrieveCheckpointState(attestation.getData().getTarget())
+        .thenCompose(
+            maybeTargetState ->
+                maybeTargetState
+                    // Verify the signature first so the attestation is already marked as valid
+                    // and validation below doesn't verify it again
+                    .map(
+                        targetState ->
+                            spec.isValidIndexedAttestation(
+                                targetState, attestation, signatureVerifier))
+                    .orElse(SafeFuture.completedFuture(AttestationProcessingResult.SUCCESSFUL))
+                    .thenApply(
+                        signatureResult ->
+                            signatureResult.ifSuccessful(
+                                () ->
+                                    spec.validateAttestation(
+                                        recentChainData.getStore(),
+                                        attestation,
+                                        maybeTargetState))))
+        .exceptionallyCompose(this::handleAttestationProcessingError);
+  }
+
+  private SafeFuture<AttestationProcessingResult> handleAttestationProcessingError(
+      final Throwable error) {
+    final Throwable rootCause = Throwables.getRootCause(error);
+    if (rootCause instanceof InvalidCheckpointException) {
+      return SafeFuture.completedFuture(
+          AttestationProcessingResult.invalid(rootCause.getMessage()));
+    }
+    return SafeFuture.failedFuture(error);
+  }
+
   public void applyIndexedAttestations(final List<ValidateableAttestation> attestations) {
     onForkChoiceThread(
             () -> {
@@ -343,4 +579,22 @@ public class ForkChoice {
   private <T> SafeFuture<T> onForkChoiceThread(final ExceptionThrowingSupplier<T> task) {
     return forkChoiceExecutor.execute(task);
   }
+
+  private static class ValidatedBlock {
+    private final SignedBeaconBlock block;
+    private final BeaconState blockSlotState;
+    private final BeaconState postState;
+    private final CapturingIndexedAttestationCache indexedAttestationCache;
+
+    private ValidatedBlock(
+        final SignedBeaconBlock block,
+        final BeaconState blockSlotState,
+        final BeaconState postState,
+        final CapturingIndexedAttestationCache indexedAttestationCache) {
+      this.block = block;
+      this.blockSlotState = blockSlotState;
+      this.postState = postState;
+      this.indexedAttestationCache = indexedAttestationCache;
+    }
+  }
 }
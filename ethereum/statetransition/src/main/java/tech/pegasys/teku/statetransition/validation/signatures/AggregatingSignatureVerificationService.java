@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -31,23 +32,36 @@ import tech.pegasys.teku.bls.BLSSignatureVerifier;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.AsyncRunnerFactory;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
 import tech.pegasys.teku.service.serviceutils.ServiceCapacityExceededException;
 
 class AggregatingSignatureVerificationService extends SignatureVerificationService {
   private static final Logger LOG = LogManager.getLogger();
 
-  static final int DEFAULT_QUEUE_CAPACITY = 5_000;
+  static final int DEFAULT_QUEUE_CAPACITY = 15_000;
   static final int DEFAULT_MAX_BATCH_SIZE = 250;
   static final int DEFAULT_MIN_BATCH_SIZE_TO_SPLIT = 25;
   static final int DEFAULT_THREAD_COUNT = 2;
 
-  private final int numThreads;
+  // Batches are sized so that verifying a batch should take around this long
+  static final long TARGET_BATCH_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+  // Workers above the minimum thread count shut down after being idle for this long
+  static final long IDLE_WORKER_TIMEOUT_MILLIS = 5_000;
+
+  private final int minThreads;
+  private final int maxThreads;
   private final int maxBatchSize;
   private final int minBatchSizeToSplit;
 
   @VisibleForTesting final BlockingQueue<SignatureTask> batchSignatureTasks;
   private final AsyncRunner asyncRunner;
+  private final AtomicInteger activeWorkers = new AtomicInteger(0);
+  private final MetricsHistogram batchSizeHistogram;
+  private final MetricsHistogram queueWaitTimeHistogram;
+
+  // Moving average of the time taken to verify a signature as part of a batch, 0 until measured
+  private volatile long nanosPerSignature = 0;
 
   @VisibleForTesting
   AggregatingSignatureVerificationService(
@@ -57,8 +71,29 @@ class AggregatingSignatureVerificationService extends SignatureVerificationServi
       final int queueCapacity,
       final int maxBatchSize,
       final int minBatchSizeToSplit) {
-    this.numThreads = Math.min(numThreads, Runtime.getRuntime().availableProcessors());
-    this.asyncRunner = asyncRunnerFactory.create(this.getClass().getSimpleName(), this.numThreads);
+    this(
+        metricsSystem,
+        asyncRunnerFactory,
+        numThreads,
+        Math.max(numThreads, Runtime.getRuntime().availableProcessors()),
+        queueCapacity,
+        maxBatchSize,
+        minBatchSizeToSplit);
+  }
+
+  @VisibleForTesting
+  AggregatingSignatureVerificationService(
+      final MetricsSystem metricsSystem,
+      final AsyncRunnerFactory asyncRunnerFactory,
+      final int minThreads,
+      final int maxThreads,
+      final int queueCapacity,
+      final int maxBatchSize,
+      final int minBatchSizeToSplit) {
+    final int availableProcessors = Runtime.getRuntime().availableProcessors();
+    this.minThreads = Math.min(minThreads, availableProcessors);
+    this.maxThreads = Math.max(this.minThreads, Math.min(maxThreads, availableProcessors));
+    this.asyncRunner = asyncRunnerFactory.create(this.getClass().getSimpleName(), this.maxThreads);
     this.maxBatchSize = maxBatchSize;
 
     this.batchSignatureTasks = new ArrayBlockingQueue<>(queueCapacity);
@@ -68,6 +103,26 @@ class AggregatingSignatureVerificationService extends SignatureVerificationServi
         "signature_verifications_queue_size",
         "Tracks number of signatures waiting to be batch verified",
         this::getQueueSize);
+    metricsSystem.createGauge(
+        TekuMetricCategory.EXECUTOR,
+        "signature_verifications_active_workers",
+        "Tracks number of threads currently batch verifying signatures",
+        activeWorkers::get);
+    batchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.EXECUTOR,
+            metricsSystem,
+            "signature_verifications_batch_size",
+            "Histogram of the number of signatures verified in each batch",
+            1);
+    queueWaitTimeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.EXECUTOR,
+            metricsSystem,
+            "signature_verifications_queue_wait_time",
+            "Histogram of the time in milliseconds signatures wait in the queue before"
+                + " verification",
+            1);
   }
 
   AggregatingSignatureVerificationService(
@@ -83,13 +138,9 @@ class AggregatingSignatureVerificationService extends SignatureVerificationServi
 
   @Override
   protected SafeFuture<?> doStart() {
-    for (int i = 0; i < numThreads; i++) {
-      asyncRunner
-          .runAsync(this::run)
-          .finish(
-              err ->
-                  AggregatingSignatureVerificationService.LOG.error(
-                      "Signature Verification Task failed", err));
+    for (int i = 0; i < minThreads; i++) {
+      activeWorkers.incrementAndGet();
+      startWorker();
     }
 
     return SafeFuture.COMPLETE;
@@ -110,60 +161,143 @@ class AggregatingSignatureVerificationService extends SignatureVerificationServi
       final Throwable error =
           new ServiceCapacityExceededException("Failed to process signature, queue is full.");
       task.result.completeExceptionally(error);
+    } else {
+      maybeAddWorker();
     }
     return task.result;
   }
 
+  private void maybeAddWorker() {
+    final int workers = activeWorkers.get();
+    // Only add a worker if the current ones can't clear the queue with a batch each
+    if (workers < maxThreads
+        && batchSignatureTasks.size() > workers * getLatencyBoundedBatchSize()
+        && activeWorkers.compareAndSet(workers, workers + 1)) {
+      startWorker();
+    }
+  }
+
+  private void startWorker() {
+    asyncRunner
+        .runAsync(this::run)
+        .finish(
+            err ->
+                AggregatingSignatureVerificationService.LOG.error(
+                    "Signature Verification Task failed", err));
+  }
+
   private void run() {
-    while (isRunning()) {
-      final List<SignatureTask> tasks = waitForBatch();
-      if (!tasks.isEmpty()) {
-        batchVerifySignatures(tasks);
+    boolean retired = false;
+    try {
+      while (isRunning()) {
+        final List<SignatureTask> tasks = waitForBatch();
+        if (!tasks.isEmpty()) {
+          verifyBatch(tasks);
+        } else if (tryRetireWorker()) {
+          retired = true;
+          return;
+        }
+      }
+    } finally {
+      if (!retired) {
+        activeWorkers.decrementAndGet();
       }
     }
   }
 
+  private boolean tryRetireWorker() {
+    final int workers = activeWorkers.get();
+    return workers > minThreads && activeWorkers.compareAndSet(workers, workers - 1);
+  }
+
   private List<SignatureTask> waitForBatch() {
     final List<SignatureTask> tasks = new ArrayList<>();
     try {
-      int batchSize = maxBatchSize;
-      final SignatureTask firstTask = batchSignatureTasks.poll(30, TimeUnit.SECONDS);
+      final SignatureTask firstTask =
+          batchSignatureTasks.poll(IDLE_WORKER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
       if (firstTask != null) {
         tasks.add(firstTask);
-        batchSize -= 1;
+        final int batchSize = calculateBatchSize(batchSignatureTasks.size() + 1);
+        batchSignatureTasks.drainTo(tasks, batchSize - 1);
       }
-      batchSignatureTasks.drainTo(tasks, batchSize);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
     }
     return tasks;
   }
 
+  /**
+   * Sizes the next batch by sharing the waiting signatures between the active workers, capped so
+   * that the batch is expected to complete within {@link #TARGET_BATCH_LATENCY_NANOS}.
+   */
   @VisibleForTesting
-  void batchVerifySignatures(final List<SignatureTask> tasks) {
-    final List<List<BLSPublicKey>> allKeys = new ArrayList<>();
-    final List<Bytes> allMessages = new ArrayList<>();
-    final List<BLSSignature> allSignatures = new ArrayList<>();
+  int calculateBatchSize(final int queueDepth) {
+    final int workers = Math.max(1, activeWorkers.get());
+    final int fairShare = (queueDepth + workers - 1) / workers;
+    return Math.max(1, Math.min(fairShare, getLatencyBoundedBatchSize()));
+  }
 
+  private int getLatencyBoundedBatchSize() {
+    final long nanosPerSignature = this.nanosPerSignature;
+    if (nanosPerSignature <= 0) {
+      return maxBatchSize;
+    }
+    return (int)
+        Math.max(1, Math.min(maxBatchSize, TARGET_BATCH_LATENCY_NANOS / nanosPerSignature));
+  }
+
+  private void verifyBatch(final List<SignatureTask> tasks) {
+    final long startTime = System.nanoTime();
     for (SignatureTask task : tasks) {
-      allKeys.add(task.publicKeys);
-      allMessages.add(task.message);
-      allSignatures.add(task.signature);
+      queueWaitTimeHistogram.recordValue(
+          TimeUnit.NANOSECONDS.toMillis(startTime - task.creationTimeNanos));
     }
+    batchSizeHistogram.recordValue(tasks.size());
 
-    final boolean batchIsValid = BLS.batchVerify(allKeys, allMessages, allSignatures);
-    if (batchIsValid) {
-      for (SignatureTask task : tasks) {
-        task.result.complete(true);
-      }
+    batchVerifySignatures(tasks);
+
+    recordBatchDuration(tasks.size(), System.nanoTime() - startTime);
+  }
+
+  @VisibleForTesting
+  void recordBatchDuration(final int batchSize, final long durationNanos) {
+    final long sample = durationNanos / batchSize;
+    final long previous = nanosPerSignature;
+    // Races between workers may lose an update which is fine for a moving average
+    nanosPerSignature = previous == 0 ? sample : (previous * 4 + sample) / 5;
+  }
+
+  @VisibleForTesting
+  void batchVerifySignatures(final List<SignatureTask> tasks) {
+    batchVerifySignatures(tasks, false);
+  }
+
+  /**
+   * Verifies the tasks, bisecting the batch to find invalid signatures if required.
+   *
+   * @param tasks the tasks to verify
+   * @param containsInvalidSignature true if these tasks are already known to contain at least one
+   *     invalid signature, in which case there's no point verifying them together again
+   */
+  private void batchVerifySignatures(
+      final List<SignatureTask> tasks, final boolean containsInvalidSignature) {
+    if (!containsInvalidSignature && verifyTogether(tasks)) {
+      completeTasks(tasks, true);
     } else if (tasks.size() == 1) {
       // We only had 1 signature, so it must be invalid
       tasks.get(0).result.complete(false);
     } else if (tasks.size() >= minBatchSizeToSplit) {
       // Split up tasks and try to verify in smaller batches
       final List<List<SignatureTask>> splitTasks = splitTasks(tasks);
-      for (List<SignatureTask> splitTask : splitTasks) {
-        batchVerifySignatures(splitTask);
+      final List<SignatureTask> firstHalf = splitTasks.get(0);
+      final List<SignatureTask> secondHalf = splitTasks.get(1);
+      if (verifyTogether(firstHalf)) {
+        completeTasks(firstHalf, true);
+        // The invalid signatures must all be in the second half
+        batchVerifySignatures(secondHalf, true);
+      } else {
+        batchVerifySignatures(firstHalf, true);
+        batchVerifySignatures(secondHalf, false);
       }
     } else {
       // Validate each signature individually
@@ -175,6 +309,26 @@ class AggregatingSignatureVerificationService extends SignatureVerificationServi
     }
   }
 
+  private boolean verifyTogether(final List<SignatureTask> tasks) {
+    final List<List<BLSPublicKey>> allKeys = new ArrayList<>();
+    final List<Bytes> allMessages = new ArrayList<>();
+    final List<BLSSignature> allSignatures = new ArrayList<>();
+
+    for (SignatureTask task : tasks) {
+      allKeys.add(task.publicKeys);
+      allMessages.add(task.message);
+      allSignatures.add(task.signature);
+    }
+
+    return BLS.batchVerify(allKeys, allMessages, allSignatures);
+  }
+
+  private void completeTasks(final List<SignatureTask> tasks, final boolean result) {
+    for (SignatureTask task : tasks) {
+      task.result.complete(result);
+    }
+  }
+
   @VisibleForTesting
   List<List<SignatureTask>> splitTasks(final List<SignatureTask> tasks) {
     final int splitListSize = Math.toIntExact((long) Math.ceil(tasks.size() / 2.0));
@@ -191,6 +345,7 @@ class AggregatingSignatureVerificationService extends SignatureVerificationServi
     final List<BLSPublicKey> publicKeys;
     final Bytes message;
     final BLSSignature signature;
+    final long creationTimeNanos = System.nanoTime();
 
     private SignatureTask(
         final List<BLSPublicKey> publicKeys, final Bytes message, final BLSSignature signature) {
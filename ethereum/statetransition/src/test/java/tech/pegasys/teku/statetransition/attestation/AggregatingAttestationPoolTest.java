@@ -35,6 +35,7 @@ import tech.pegasys.teku.spec.TestSpecFactory;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
+import tech.pegasys.teku.spec.datastructures.state.PendingAttestation;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.spec.logic.common.operations.validation.AttestationDataValidator.AttestationInvalidReason;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
@@ -190,6 +191,54 @@ class AggregatingAttestationPoolTest {
         .containsExactly(attestation3, attestation2, attestation1);
   }
 
+  @Test
+  void getAttestationsForBlock_shouldIncludeAttestationsWithMoreNewValidatorsFirst() {
+    final Attestation attestation1 =
+        addAttestationFromValidators(dataStructureUtil.randomAttestationData(UInt64.valueOf(6)), 1);
+    final Attestation attestation2 =
+        addAttestationFromValidators(
+            dataStructureUtil.randomAttestationData(UInt64.valueOf(5)), 1, 2, 3);
+
+    final BeaconState stateAtBlockSlot = dataStructureUtil.randomBeaconState(UInt64.valueOf(10));
+
+    assertThat(aggregatingPool.getAttestationsForBlock(stateAtBlockSlot, forkChecker))
+        .containsExactly(attestation2, attestation1);
+  }
+
+  @Test
+  void getAttestationsForBlock_shouldNotIncludeAttestationsAlreadyIncludedOnChain() {
+    final AttestationData attestationData = dataStructureUtil.randomAttestationData();
+    final AttestationData otherBlockRootData =
+        new AttestationData(
+            attestationData.getSlot(),
+            attestationData.getIndex(),
+            dataStructureUtil.randomBytes32(),
+            attestationData.getSource(),
+            attestationData.getTarget());
+    addAttestationFromValidators(attestationData, 1, 2);
+    final Attestation attestation2 = addAttestationFromValidators(otherBlockRootData, 2, 3);
+
+    final PendingAttestation pendingAttestation =
+        new PendingAttestation(
+            Attestation.SSZ_SCHEMA.getAggregationBitsSchema().ofBits(20, 1, 2),
+            attestationData,
+            ONE,
+            UInt64.ZERO);
+    final BeaconState state =
+        dataStructureUtil
+            .randomBeaconState()
+            .updated(
+                mutableState ->
+                    mutableState
+                        .toMutableVersionPhase0()
+                        .orElseThrow()
+                        .getPrevious_epoch_attestations()
+                        .append(pendingAttestation));
+
+    assertThat(aggregatingPool.getAttestationsForBlock(state, forkChecker))
+        .containsExactly(attestation2);
+  }
+
   @Test
   public void getAttestationsForBlock_shouldNotAddMoreAttestationsThanAllowedInBlock() {
     final BeaconState state = dataStructureUtil.randomBeaconState();
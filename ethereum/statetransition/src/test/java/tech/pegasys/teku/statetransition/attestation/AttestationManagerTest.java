@@ -208,6 +208,46 @@ class AttestationManagerTest {
     verifyNoInteractions(attestationPool);
   }
 
+  @Test
+  public void shouldProcessMultipleAttestationsInSingleForkChoiceUpdate() {
+    final ValidateableAttestation attestation1 =
+        ValidateableAttestation.from(spec, dataStructureUtil.randomAttestation());
+    final ValidateableAttestation attestation2 =
+        ValidateableAttestation.from(spec, dataStructureUtil.randomAttestation());
+    final AttestationProcessingResult invalid = AttestationProcessingResult.invalid("Nope");
+    when(forkChoice.onAttestations(
+            List.of(attestation1, attestation2), signatureVerificationService))
+        .thenReturn(completedFuture(List.of(SUCCESSFUL, invalid)));
+
+    final SafeFuture<List<AttestationProcessingResult>> result =
+        attestationManager.onAttestations(List.of(attestation1, attestation2));
+
+    assertThat(result).isCompletedWithValue(List.of(SUCCESSFUL, invalid));
+    verify(attestationPool).add(attestation1);
+    verifyNoMoreInteractions(attestationPool);
+    verify(forkChoice, never()).onAttestation(any());
+  }
+
+  @Test
+  public void shouldNotReprocessPendingAttestationsWhenProcessingMultipleAttestations() {
+    final ValidateableAttestation pendingAttestation =
+        ValidateableAttestation.from(
+            spec, attestationFromSlot(1, dataStructureUtil.randomBytes32()));
+    final ValidateableAttestation attestation =
+        ValidateableAttestation.from(spec, dataStructureUtil.randomAttestation());
+    when(forkChoice.onAttestation(any())).thenReturn(completedFuture(UNKNOWN_BLOCK));
+    attestationManager.onAttestation(pendingAttestation).reportExceptions();
+    assertThat(pendingAttestations.contains(pendingAttestation)).isTrue();
+
+    when(forkChoice.onAttestations(List.of(attestation), signatureVerificationService))
+        .thenReturn(completedFuture(List.of(SUCCESSFUL)));
+    final SafeFuture<List<AttestationProcessingResult>> result =
+        attestationManager.onAttestations(List.of(pendingAttestation, attestation));
+
+    assertThat(result).isCompletedWithValue(List.of(SAVED_FOR_FUTURE, SUCCESSFUL));
+    verify(attestationPool).add(attestation);
+  }
+
   private Attestation attestationFromSlot(final long slot) {
     return attestationFromSlot(slot, Bytes32.ZERO);
   }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.statetransition.block;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+class BlockEncodingCacheTest {
+  private final Spec spec = TestSpecFactory.createMinimalPhase0();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+  private final int blockSize = block.getSszSize();
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final BlockEncodingCache cache = new BlockEncodingCache(metricsSystem, 10L * blockSize);
+
+  @Test
+  void getSsz_shouldSerializeBlockOnlyOnce() {
+    final Bytes first = cache.getSsz(block);
+    final Bytes second = cache.getSsz(block);
+
+    assertThat(first).isEqualTo(block.sszSerialize());
+    assertThat(second).isSameAs(first);
+    assertThat(getMissCount()).isEqualTo(1);
+    assertThat(getHitCount()).isEqualTo(1);
+    assertThat(cache.getSizeInBytes()).isEqualTo(blockSize);
+  }
+
+  @Test
+  void getSsz_shouldReturnSuppliedSsz() {
+    final Bytes ssz = block.sszSerialize();
+    cache.putSsz(block, ssz);
+
+    assertThat(cache.getSsz(block)).isSameAs(ssz);
+    assertThat(getMissCount()).isZero();
+  }
+
+  @Test
+  void getSsz_shouldNotReturnSszForBlockWithDifferentSignature() {
+    final SignedBeaconBlock otherBlock =
+        SignedBeaconBlock.create(spec, block.getMessage(), dataStructureUtil.randomSignature());
+    assertThat(otherBlock.getRoot()).isEqualTo(block.getRoot());
+    cache.getSsz(block);
+
+    assertThat(cache.getSsz(otherBlock)).isEqualTo(otherBlock.sszSerialize());
+    assertThat(cache.getSsz(block)).isEqualTo(block.sszSerialize());
+    assertThat(cache.getSizeInBytes()).isEqualTo(blockSize);
+  }
+
+  @Test
+  void getEncoded_shouldEncodeFromCachedSszOnlyOnce() {
+    final AtomicInteger encodeCount = new AtomicInteger();
+    final Function<Bytes, Bytes> encoder =
+        ssz -> {
+          encodeCount.incrementAndGet();
+          return Bytes.concatenate(Bytes.of(1), ssz);
+        };
+    final Bytes ssz = cache.getSsz(block);
+
+    final Bytes first = cache.getEncoded(block, "test", encoder);
+    final Bytes second = cache.getEncoded(block, "test", encoder);
+
+    assertThat(first).isEqualTo(Bytes.concatenate(Bytes.of(1), ssz));
+    assertThat(second).isSameAs(first);
+    assertThat(encodeCount).hasValue(1);
+    assertThat(cache.getSizeInBytes()).isEqualTo(ssz.size() + first.size());
+  }
+
+  @Test
+  void getEncoded_shouldCacheEachEncodingSeparately() {
+    final Bytes first = cache.getEncoded(block, "first", ssz -> Bytes.of(1));
+    final Bytes second = cache.getEncoded(block, "second", ssz -> Bytes.of(2));
+
+    assertThat(first).isEqualTo(Bytes.of(1));
+    assertThat(second).isEqualTo(Bytes.of(2));
+    assertThat(cache.getEncoded(block, "first", ssz -> Bytes.EMPTY)).isEqualTo(first);
+    assertThat(cache.getSizeInBytes()).isEqualTo(blockSize + 2);
+  }
+
+  @Test
+  void lookupSsz_shouldNotCacheBlockOnMiss() {
+    assertThat(cache.lookupSsz(block)).isEqualTo(block.sszSerialize());
+    assertThat(cache.getSizeInBytes()).isZero();
+
+    final Bytes ssz = cache.getSsz(block);
+    assertThat(cache.lookupSsz(block)).isSameAs(ssz);
+    assertThat(getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void lookupEncoded_shouldNotCacheEncodingOnMiss() {
+    final Function<Bytes, Bytes> encoder = ssz -> Bytes.concatenate(Bytes.of(1), ssz);
+
+    assertThat(cache.lookupEncoded(block, "test", encoder))
+        .isEqualTo(Bytes.concatenate(Bytes.of(1), block.sszSerialize()));
+    assertThat(cache.getSizeInBytes()).isZero();
+
+    final Bytes encoded = cache.getEncoded(block, "test", encoder);
+    assertThat(cache.lookupEncoded(block, "test", encoder)).isSameAs(encoded);
+    assertThat(getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedBlocksWhenOverBudget() {
+    final BlockEncodingCache cache = new BlockEncodingCache(metricsSystem, 2L * blockSize);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block3 = dataStructureUtil.randomSignedBeaconBlock(1);
+    cache.getSsz(block);
+    cache.getSsz(block2);
+    cache.getSsz(block);
+    cache.getSsz(block3);
+    assertThat(getMissCount()).isEqualTo(3);
+
+    cache.getSsz(block);
+    assertThat(getMissCount()).isEqualTo(3);
+    cache.getSsz(block2);
+    assertThat(getMissCount()).isEqualTo(4);
+    assertThat(cache.getSizeInBytes()).isLessThanOrEqualTo(2L * blockSize);
+  }
+
+  @Test
+  void shouldReportCachedSizeAsGauge() {
+    cache.getSsz(block);
+
+    assertThat(
+            metricsSystem
+                .getGauge(TekuMetricCategory.BEACON, "block_encoding_cache_size_bytes")
+                .getValue())
+        .isEqualTo(blockSize);
+  }
+
+  @Test
+  void shouldNotCacheBlocksLargerThanBudget() {
+    final BlockEncodingCache cache = new BlockEncodingCache(metricsSystem, blockSize - 1);
+
+    assertThat(cache.getSsz(block)).isEqualTo(block.sszSerialize());
+    assertThat(cache.getSsz(block)).isEqualTo(block.sszSerialize());
+    assertThat(getMissCount()).isEqualTo(2);
+    assertThat(cache.getSizeInBytes()).isZero();
+  }
+
+  private long getHitCount() {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.BEACON, "block_encoding_cache_hits_total")
+        .getValue();
+  }
+
+  private long getMissCount() {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.BEACON, "block_encoding_cache_misses_total")
+        .getValue();
+  }
+}
@@ -19,6 +19,7 @@ import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +36,7 @@ import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.blocks.Eth1Data;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
 import tech.pegasys.teku.spec.datastructures.operations.Attestation;
 import tech.pegasys.teku.spec.datastructures.operations.AttestationData;
@@ -342,6 +344,40 @@ class ForkChoiceTest {
     importBlock(epoch2Block);
   }
 
+  @Test
+  void onBlocksBatch_shouldImportChainOfBlocks() {
+    final List<SignedBlockAndState> blocks = chainBuilder.generateBlocksUpToSlot(5);
+    final List<SignedBeaconBlock> blocksToImport =
+        blocks.stream().map(SignedBlockAndState::getBlock).collect(Collectors.toList());
+
+    final SafeFuture<Optional<List<BlockImportResult>>> result =
+        forkChoice.onBlocksBatch(blocksToImport);
+
+    assertThat(result).isCompleted();
+    final List<BlockImportResult> results = result.join().orElseThrow();
+    assertThat(results).hasSize(blocks.size()).allMatch(BlockImportResult::isSuccessful);
+    final SignedBlockAndState lastBlock = blocks.get(blocks.size() - 1);
+    assertThat(recentChainData.getHeadBlock()).contains(lastBlock.getBlock());
+    assertThat(recentChainData.getStore().getBlockStateIfAvailable(lastBlock.getRoot()))
+        .contains(lastBlock.getState());
+  }
+
+  @Test
+  void onBlocksBatch_shouldNotImportAnyBlocksWhenSignatureIsInvalid() {
+    final List<SignedBlockAndState> blocks = chainBuilder.generateBlocksUpToSlot(3);
+    final SignedBeaconBlock invalidBlock =
+        SignedBeaconBlock.create(
+            spec, blocks.get(2).getBlock().getMessage(), dataStructureUtil.randomSignature());
+
+    final SafeFuture<Optional<List<BlockImportResult>>> result =
+        forkChoice.onBlocksBatch(
+            List.of(blocks.get(0).getBlock(), blocks.get(1).getBlock(), invalidBlock));
+
+    assertThat(result).isCompletedWithValue(Optional.empty());
+    assertThat(recentChainData.containsBlock(blocks.get(0).getRoot())).isFalse();
+    assertThat(recentChainData.getHeadBlock()).contains(genesis.getBlock());
+  }
+
   @Test
   void onAttestation_shouldBeInvalidWhenInvalidCheckpointThrown() {
     final SignedBlockAndState targetBlock = chainBuilder.generateBlockAtSlot(5);
@@ -210,6 +210,45 @@ public class AggregatingSignatureVerificationServiceTest {
     }
   }
 
+  @Test
+  public void calculateBatchSize_shouldBeLimitedByQueueDepthAndMaxBatchSize() {
+    service = createSingleThreadedService();
+    startService();
+
+    assertThat(service.calculateBatchSize(0)).isEqualTo(1);
+    assertThat(service.calculateBatchSize(10)).isEqualTo(10);
+    assertThat(service.calculateBatchSize(queueCapacity)).isEqualTo(batchSize);
+  }
+
+  @Test
+  public void calculateBatchSize_shouldBeLimitedByMeasuredLatency() {
+    service = createSingleThreadedService();
+    startService();
+
+    final long nanosPerSignature =
+        AggregatingSignatureVerificationService.TARGET_BATCH_LATENCY_NANOS / 10;
+    service.recordBatchDuration(5, nanosPerSignature * 5);
+
+    assertThat(service.calculateBatchSize(queueCapacity)).isEqualTo(10);
+    assertThat(service.calculateBatchSize(4)).isEqualTo(4);
+  }
+
+  @Test
+  public void verify_mixedSignatures_shouldBisectWithSingleInvalidSignature() {
+    startService();
+
+    final List<SafeFuture<Boolean>> futures = new ArrayList<>();
+    for (int j = 0; j < queueCapacity; j++) {
+      futures.add(j == queueCapacity - 1 ? executeInvalidVerify(j, j) : executeValidVerify(j, j));
+    }
+    runPendingTasks();
+
+    for (int j = 0; j < queueCapacity - 1; j++) {
+      assertThat(futures.get(j)).isCompletedWithValue(true);
+    }
+    assertThat(futures.get(queueCapacity - 1)).isCompletedWithValue(false);
+  }
+
   @SuppressWarnings("FutureReturnValueIgnored")
   @Test
   public void splitTasks_evenNumber() {
@@ -265,6 +304,17 @@ public class AggregatingSignatureVerificationServiceTest {
     assertThat(split.get(0).size()).isEqualTo(1);
   }
 
+  private AggregatingSignatureVerificationService createSingleThreadedService() {
+    return new AggregatingSignatureVerificationService(
+        new StubMetricsSystem(),
+        asyncRunnerFactory,
+        1,
+        1,
+        queueCapacity,
+        batchSize,
+        minBatchSizeToSplit);
+  }
+
   private void startService() {
     try {
       service.start().get(500, TimeUnit.MILLISECONDS);
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.collections;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable list of ints backed by a primitive array.
+ *
+ * <p>Implements {@link java.util.List} so it can be passed anywhere a list of boxed integers is
+ * expected, while {@link #getInt(int)} and {@link #intStream()} give access without boxing. Sub
+ * lists are views sharing the same backing array.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+  private static final IntList EMPTY = new IntList(new int[0], 0, 0);
+
+  private final int[] values;
+  private final int offset;
+  private final int size;
+
+  private IntList(final int[] values, final int offset, final int size) {
+    this.values = values;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  public static IntList empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a list backed directly by the supplied array. The caller must not modify the array
+   * afterwards.
+   */
+  public static IntList wrap(final int[] values) {
+    return new IntList(values, 0, values.length);
+  }
+
+  public static IntList copyOf(final int[] values) {
+    return wrap(Arrays.copyOf(values, values.length));
+  }
+
+  public static IntList copyOf(final Collection<Integer> values) {
+    if (values instanceof IntList) {
+      return (IntList) values;
+    }
+    return wrap(values.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  public int getInt(final int index) {
+    checkElementIndex(index, size);
+    return values[offset + index];
+  }
+
+  @Override
+  public Integer get(final int index) {
+    return getInt(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public IntList subList(final int fromIndex, final int toIndex) {
+    checkPositionIndexes(fromIndex, toIndex, size);
+    return new IntList(values, offset + fromIndex, toIndex - fromIndex);
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    if (!(o instanceof Integer)) {
+      return -1;
+    }
+    final int value = (Integer) o;
+    for (int i = 0; i < size; i++) {
+      if (values[offset + i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    if (!(o instanceof Integer)) {
+      return -1;
+    }
+    final int value = (Integer) o;
+    for (int i = size - 1; i >= 0; i--) {
+      if (values[offset + i] == value) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (o instanceof IntList) {
+      final IntList other = (IntList) o;
+      return Arrays.equals(
+          values, offset, offset + size, other.values, other.offset, other.offset + other.size);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    // Same as List.hashCode() but without boxing each value
+    int hashCode = 1;
+    for (int i = 0; i < size; i++) {
+      hashCode = 31 * hashCode + values[offset + i];
+    }
+    return hashCode;
+  }
+
+  public int[] toIntArray() {
+    return Arrays.copyOfRange(values, offset, offset + size);
+  }
+
+  public IntStream intStream() {
+    return Arrays.stream(values, offset, offset + size);
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class IntListTest {
+
+  @Test
+  public void shouldBehaveAsListOfIntegers() {
+    final IntList list = IntList.wrap(new int[] {5, 3, 9, 3});
+
+    assertThat(list).containsExactly(5, 3, 9, 3);
+    assertThat(list).isEqualTo(List.of(5, 3, 9, 3));
+    assertThat(list.hashCode()).isEqualTo(List.of(5, 3, 9, 3).hashCode());
+    assertThat(list.indexOf(3)).isEqualTo(1);
+    assertThat(list.lastIndexOf(3)).isEqualTo(3);
+    assertThat(list.contains(7)).isFalse();
+  }
+
+  @Test
+  public void subList_shouldBeViewOfRange() {
+    final IntList list = IntList.wrap(new int[] {0, 1, 2, 3, 4, 5});
+
+    final IntList subList = list.subList(1, 5).subList(1, 3);
+
+    assertThat(subList).containsExactly(2, 3);
+    assertThat(subList.getInt(0)).isEqualTo(2);
+    assertThat(subList.toIntArray()).containsExactly(2, 3);
+    assertThat(subList.intStream()).containsExactly(2, 3);
+    assertThat(subList.indexOf(4)).isEqualTo(-1);
+    assertThatThrownBy(() -> subList.getInt(2)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  public void shouldNotBeModifiable() {
+    final IntList list = IntList.copyOf(List.of(1, 2, 3));
+
+    assertThatThrownBy(() -> list.set(0, 5)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> list.add(4)).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void copyOf_shouldNotShareArray() {
+    final int[] values = {1, 2, 3};
+    final IntList list = IntList.copyOf(values);
+    values[0] = 10;
+
+    assertThat(list).containsExactly(1, 2, 3);
+  }
+}
@@ -19,46 +19,91 @@ import static java.util.Collections.synchronizedMap;
 import java.lang.reflect.Method;
 import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer.TimingContext;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
   private static final Logger LOG = LogManager.getLogger();
-  private static final int QUEUE_CAPACITY = 500;
+  static final int QUEUE_CAPACITY = 512;
+  private static final Object[] NO_ARGS = new Object[0];
 
-  private final Map<T, BlockingQueue<Runnable>> eventQueuesBySubscriber =
+  private final Map<T, SubscriberQueue> queuesBySubscriber =
       synchronizedMap(new IdentityHashMap<>());
+  private final Map<Method, MethodMetrics> methodMetrics = new ConcurrentHashMap<>();
   private final AtomicBoolean stopped = new AtomicBoolean(false);
+  private final AtomicInteger subscriberCount = new AtomicInteger(0);
+  private final String channelName;
   private final ExecutorService executor;
+  private final OverflowPolicy overflowPolicy;
+  private final AsyncEventMetrics asyncEventMetrics;
 
-  public AsyncEventDeliverer(
+  AsyncEventDeliverer(
+      final String channelName,
       final ExecutorService executor,
+      final OverflowPolicy overflowPolicy,
       final ChannelExceptionHandler exceptionHandler,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final AsyncEventMetrics asyncEventMetrics) {
     super(exceptionHandler, metricsSystem);
+    this.channelName = channelName;
     this.executor = executor;
+    this.overflowPolicy = overflowPolicy;
+    this.asyncEventMetrics = asyncEventMetrics;
   }
 
   @Override
   void subscribe(final T subscriber, final int numberOfThreads) {
-    final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
-    eventQueuesBySubscriber.put(subscriber, queue);
+    final SubscriberQueue queue = new SubscriberQueue();
+    queuesBySubscriber.put(subscriber, queue);
+    asyncEventMetrics.queueSize.labels(
+        queue.events::size, channelName, subscriberLabel(subscriber));
     super.subscribe(subscriber, numberOfThreads);
     for (int i = 0; i < numberOfThreads; i++) {
-      executor.execute(new QueueReader(queue));
+      executor.execute(new QueueReader(queue.events));
     }
   }
 
+  /**
+   * Class names alone may be shared by several subscribers, are empty for anonymous classes and
+   * include a generated suffix for lambdas, so label each subscriber with the enclosing class name
+   * and the order in which it subscribed.
+   */
+  private String subscriberLabel(final T subscriber) {
+    final String className = subscriber.getClass().getName();
+    final int lambdaIndex = className.indexOf("$$Lambda");
+    final String baseName = lambdaIndex >= 0 ? className.substring(0, lambdaIndex) : className;
+    return baseName.substring(baseName.lastIndexOf('.') + 1)
+        + "-"
+        + subscriberCount.getAndIncrement();
+  }
+
   @Override
   protected void deliverTo(final T subscriber, final Method method, final Object[] args) {
-    enqueueDelivery(subscriber, method, () -> super.deliverTo(subscriber, method, args));
+    final SubscriberQueue queue = checkNotNull(queuesBySubscriber.get(subscriber));
+    switch (overflowPolicy) {
+      case COALESCE:
+        coalesceDelivery(subscriber, queue, method, args);
+        break;
+      case DROP_OLDEST:
+        queue.events.putDiscardingOldest(
+            new QueuedEvent(method, () -> super.deliverTo(subscriber, method, args)),
+            discardedEvent -> getMethodMetrics(discardedEvent.method).droppedEvents.inc());
+        break;
+      case BLOCK:
+      default:
+        enqueueDelivery(queue, method, () -> super.deliverTo(subscriber, method, args));
+    }
   }
 
   @Override
@@ -67,9 +112,10 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
       final Method method,
       final Object[] args,
       final AsyncRunner responseRunner) {
+    final SubscriberQueue queue = checkNotNull(queuesBySubscriber.get(subscriber));
     final SafeFuture<X> result = new SafeFuture<>();
     enqueueDelivery(
-        subscriber,
+        queue,
         method,
         () ->
             super.<X>deliverToWithResponse(subscriber, method, args, responseRunner)
@@ -77,11 +123,27 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
     return result;
   }
 
-  private void enqueueDelivery(final T subscriber, final Method method, final Runnable action) {
-    final BlockingQueue<Runnable> queue = checkNotNull(eventQueuesBySubscriber.get(subscriber));
+  private void coalesceDelivery(
+      final T subscriber, final SubscriberQueue queue, final Method method, final Object[] args) {
+    final AtomicReference<Object[]> pendingArgs =
+        queue.pendingArgsByMethod.computeIfAbsent(method, __ -> new AtomicReference<>());
+    if (pendingArgs.getAndSet(args != null ? args : NO_ARGS) != null) {
+      // A delivery is already queued and will pick up the new arguments
+      getMethodMetrics(method).droppedEvents.inc();
+      return;
+    }
+    enqueueDelivery(
+        queue, method, () -> super.deliverTo(subscriber, method, pendingArgs.getAndSet(null)));
+  }
+
+  private void enqueueDelivery(
+      final SubscriberQueue queue, final Method method, final Runnable action) {
+    final QueuedEvent event = new QueuedEvent(method, action);
     while (!stopped.get()) {
       try {
-        queue.put(action);
+        if (queue.events.put(event)) {
+          getMethodMetrics(method).blockedPublishes.inc();
+        }
         return;
       } catch (final InterruptedException e) {
         LOG.debug("Interrupted while trying to publish event {}", method::getName);
@@ -89,6 +151,10 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
     }
   }
 
+  private MethodMetrics getMethodMetrics(final Method method) {
+    return methodMetrics.computeIfAbsent(method, MethodMetrics::new);
+  }
+
   @Override
   public void stop() {
     stopped.set(true);
@@ -96,9 +162,9 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
   }
 
   class QueueReader implements Runnable {
-    private final BlockingQueue<Runnable> queue;
+    private final EventQueue<QueuedEvent> queue;
 
-    public QueueReader(final BlockingQueue<Runnable> queue) {
+    public QueueReader(final EventQueue<QueuedEvent> queue) {
       this.queue = queue;
     }
 
@@ -114,7 +180,43 @@ public class AsyncEventDeliverer<T> extends DirectEventDeliverer<T> {
     }
 
     void deliverNextEvent() throws InterruptedException {
-      queue.take().run();
+      queue.take().deliver();
+    }
+  }
+
+  private class SubscriberQueue {
+    private final EventQueue<QueuedEvent> events = new EventQueue<>(QUEUE_CAPACITY);
+    private final Map<Method, AtomicReference<Object[]>> pendingArgsByMethod =
+        new ConcurrentHashMap<>();
+  }
+
+  private class QueuedEvent {
+    private final Method method;
+    private final Runnable action;
+    private final TimingContext dispatchTimer;
+
+    private QueuedEvent(final Method method, final Runnable action) {
+      this.method = method;
+      this.action = action;
+      this.dispatchTimer = getMethodMetrics(method).dispatchLatency.startTimer();
+    }
+
+    void deliver() {
+      dispatchTimer.stopTimer();
+      action.run();
+    }
+  }
+
+  private class MethodMetrics {
+    private final OperationTimer dispatchLatency;
+    private final Counter droppedEvents;
+    private final Counter blockedPublishes;
+
+    private MethodMetrics(final Method method) {
+      final String methodName = method.getName();
+      dispatchLatency = asyncEventMetrics.dispatchLatency.labels(channelName, methodName);
+      droppedEvents = asyncEventMetrics.droppedEvents.labels(channelName, methodName);
+      blockedPublishes = asyncEventMetrics.blockedPublishes.labels(channelName, methodName);
     }
   }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+import static tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory.EVENTBUS;
+
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import tech.pegasys.teku.infrastructure.metrics.LabelledSuppliedGauge;
+
+/**
+ * Metrics shared by all async event channels. Created once per metrics system so the queue size
+ * gauge is only registered once.
+ */
+class AsyncEventMetrics {
+  final LabelledSuppliedGauge queueSize;
+  final LabelledMetric<OperationTimer> dispatchLatency;
+  final LabelledMetric<Counter> droppedEvents;
+  final LabelledMetric<Counter> blockedPublishes;
+
+  AsyncEventMetrics(final MetricsSystem metricsSystem) {
+    queueSize =
+        LabelledSuppliedGauge.create(
+            metricsSystem,
+            EVENTBUS,
+            "event_queue_size",
+            "Number of events waiting to be processed by a subscriber",
+            "channel",
+            "subscriber");
+    dispatchLatency =
+        metricsSystem.createLabelledTimer(
+            EVENTBUS,
+            "event_dispatch_latency",
+            "Time events spend waiting in the subscriber queue before being processed",
+            "channel",
+            "method");
+    droppedEvents =
+        metricsSystem.createLabelledCounter(
+            EVENTBUS,
+            "event_dropped_count",
+            "Number of events discarded or coalesced by the channel overflow policy",
+            "channel",
+            "method");
+    blockedPublishes =
+        metricsSystem.createLabelledCounter(
+            EVENTBUS,
+            "event_publish_blocked_count",
+            "Number of events where the publisher had to wait for space in a subscriber queue",
+            "channel",
+            "method");
+  }
+}
@@ -15,8 +15,12 @@ package tech.pegasys.teku.infrastructure.events;
 
 import static tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory.EVENTBUS;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
@@ -24,6 +28,10 @@ import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 class DirectEventDeliverer<T> extends EventDeliverer<T> {
+  private static final MethodType INVOKER_TYPE =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+
+  private final Map<Method, MethodHandle> methodInvokers = new ConcurrentHashMap<>();
   private final ChannelExceptionHandler exceptionHandler;
   private final LabelledMetric<Counter> consumedEventCounter;
   private final LabelledMetric<Counter> failedEventCounter;
@@ -71,18 +79,34 @@ class DirectEventDeliverer<T> extends EventDeliverer<T> {
   private <X> SafeFuture<X> executeMethod(
       final T subscriber, final Method method, final Object[] args) {
     try {
-      return (SafeFuture<X>) method.invoke(subscriber, args);
-    } catch (IllegalAccessException e) {
+      return (SafeFuture<X>) (Object) getInvoker(method).invokeExact((Object) subscriber, args);
+    } catch (Throwable e) {
       incrementCounter(failedEventCounter, subscriber, method);
       return SafeFuture.failedFuture(e);
-    } catch (InvocationTargetException e) {
-      incrementCounter(failedEventCounter, subscriber, method);
-      return SafeFuture.failedFuture(e.getTargetException());
     } finally {
       incrementCounter(consumedEventCounter, subscriber, method);
     }
   }
 
+  /**
+   * Returns a method handle that invokes {@code method} with the arguments spread from an array.
+   * Access checks and adapting the arguments are done once when the handle is created rather than
+   * on every call as with {@link Method#invoke(Object, Object...)}.
+   */
+  private MethodHandle getInvoker(final Method method) throws IllegalAccessException {
+    final MethodHandle cachedInvoker = methodInvokers.get(method);
+    if (cachedInvoker != null) {
+      return cachedInvoker;
+    }
+    final MethodHandle invoker =
+        MethodHandles.lookup()
+            .unreflect(method)
+            .asSpreader(Object[].class, method.getParameterCount())
+            .asType(INVOKER_TYPE);
+    methodInvokers.put(method, invoker);
+    return invoker;
+  }
+
   private void incrementCounter(
       final LabelledMetric<Counter> counter, final T subscriber, final Method method) {
     counter
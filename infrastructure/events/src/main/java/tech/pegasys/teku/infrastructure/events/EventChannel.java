@@ -55,13 +55,19 @@ class EventChannel<T> {
       final Class<T> channelInterface,
       final ChannelExceptionHandler exceptionHandler,
       final MetricsSystem metricsSystem) {
-    return create(channelInterface, new DirectEventDeliverer<>(exceptionHandler, metricsSystem));
+    // Events are delivered on the publisher thread so there is no queue that could overflow
+    return create(
+        channelInterface,
+        new DirectEventDeliverer<>(exceptionHandler, metricsSystem),
+        OverflowPolicy.BLOCK);
   }
 
   static <T> EventChannel<T> createAsync(
       final Class<T> channelInterface,
+      final OverflowPolicy overflowPolicy,
       final ChannelExceptionHandler exceptionHandler,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final AsyncEventMetrics asyncEventMetrics) {
     return createAsync(
         channelInterface,
         Executors.newCachedThreadPool(
@@ -69,32 +75,56 @@ class EventChannel<T> {
                 .setDaemon(true)
                 .setNameFormat(channelInterface.getSimpleName() + "-%d")
                 .build()),
+        overflowPolicy,
         exceptionHandler,
-        metricsSystem);
+        metricsSystem,
+        asyncEventMetrics);
   }
 
   static <T> EventChannel<T> createAsync(
       final Class<T> channelInterface,
       final ExecutorService executor,
       final MetricsSystem metricsSystem) {
+    return createAsync(channelInterface, executor, OverflowPolicy.BLOCK, metricsSystem);
+  }
+
+  static <T> EventChannel<T> createAsync(
+      final Class<T> channelInterface,
+      final ExecutorService executor,
+      final OverflowPolicy overflowPolicy,
+      final MetricsSystem metricsSystem) {
     return createAsync(
         channelInterface,
         executor,
+        overflowPolicy,
         LoggingChannelExceptionHandler.LOGGING_EXCEPTION_HANDLER,
-        metricsSystem);
+        metricsSystem,
+        new AsyncEventMetrics(metricsSystem));
   }
 
   static <T> EventChannel<T> createAsync(
       final Class<T> channelInterface,
       final ExecutorService executor,
+      final OverflowPolicy overflowPolicy,
       final ChannelExceptionHandler exceptionHandler,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final AsyncEventMetrics asyncEventMetrics) {
     return create(
-        channelInterface, new AsyncEventDeliverer<>(executor, exceptionHandler, metricsSystem));
+        channelInterface,
+        new AsyncEventDeliverer<>(
+            channelInterface.getSimpleName(),
+            executor,
+            overflowPolicy,
+            exceptionHandler,
+            metricsSystem,
+            asyncEventMetrics),
+        overflowPolicy);
   }
 
   private static <T> EventChannel<T> create(
-      final Class<T> channelInterface, final EventDeliverer<T> eventDeliverer) {
+      final Class<T> channelInterface,
+      final EventDeliverer<T> eventDeliverer,
+      final OverflowPolicy overflowPolicy) {
     checkArgument(channelInterface.isInterface(), "Must provide an interface for the channel");
     final String illegalMethods =
         Stream.of(channelInterface.getMethods())
@@ -115,6 +145,10 @@ class EventChannel<T> {
               + VoidReturningChannelInterface.class.getSimpleName()
               + " but has non-void return types");
     }
+    checkArgument(
+        !hasReturnValues || overflowPolicy == OverflowPolicy.BLOCK,
+        "Overflow policy %s may discard events so cannot be used with non-void return types",
+        overflowPolicy);
 
     return new EventChannel<>(channelInterface, eventDeliverer, !hasReturnValues);
   }
@@ -13,9 +13,13 @@
 
 package tech.pegasys.teku.infrastructure.events;
 
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
@@ -23,13 +27,26 @@ import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 public class EventChannels {
 
   private final ConcurrentMap<Class<?>, EventChannel<?>> channels = new ConcurrentHashMap<>();
-  private final Function<Class<?>, EventChannel<?>> eventChannelFactory;
+  private final Map<Class<?>, OverflowPolicy> overflowPolicies = new ConcurrentHashMap<>();
+  private final BiFunction<Class<?>, OverflowPolicy, EventChannel<?>> eventChannelFactory;
 
   public EventChannels(
       final ChannelExceptionHandler exceptionHandler, final MetricsSystem metricsSystem) {
+    this(exceptionHandler, metricsSystem, new AsyncEventMetrics(metricsSystem));
+  }
+
+  private EventChannels(
+      final ChannelExceptionHandler exceptionHandler,
+      final MetricsSystem metricsSystem,
+      final AsyncEventMetrics asyncEventMetrics) {
     this(
-        channelInterface ->
-            EventChannel.createAsync(channelInterface, exceptionHandler, metricsSystem));
+        (channelInterface, overflowPolicy) ->
+            EventChannel.createAsync(
+                channelInterface,
+                overflowPolicy,
+                exceptionHandler,
+                metricsSystem,
+                asyncEventMetrics));
   }
 
   public static EventChannels createSyncChannels(
@@ -39,9 +56,36 @@ public class EventChannels {
   }
 
   EventChannels(final Function<Class<?>, EventChannel<?>> eventChannelFactory) {
+    this((channelInterface, overflowPolicy) -> eventChannelFactory.apply(channelInterface));
+  }
+
+  EventChannels(final BiFunction<Class<?>, OverflowPolicy, EventChannel<?>> eventChannelFactory) {
     this.eventChannelFactory = eventChannelFactory;
   }
 
+  /**
+   * Sets what happens when events are published faster than a subscriber to the channel can process
+   * them. Channels use {@link OverflowPolicy#BLOCK} unless otherwise specified.
+   *
+   * <p>Must be called before any publisher or subscriber is created for the channel. The policy has
+   * no effect if this instance was created with {@link #createSyncChannels(ChannelExceptionHandler,
+   * MetricsSystem)} as events are then delivered immediately on the publishing thread.
+   *
+   * @param channelInterface the channel to configure
+   * @param overflowPolicy the policy to apply when a subscriber's queue is full
+   * @param <T> the interface type
+   * @return this instance
+   */
+  public <T extends VoidReturningChannelInterface> EventChannels setOverflowPolicy(
+      final Class<T> channelInterface, final OverflowPolicy overflowPolicy) {
+    checkState(
+        !channels.containsKey(channelInterface),
+        "Overflow policy must be set before channel %s is used",
+        channelInterface.getSimpleName());
+    overflowPolicies.put(channelInterface, overflowPolicy);
+    return this;
+  }
+
   /**
    * Creates a publisher to send events to an event channel. Unless this instance was created with
    * {@link #createSyncChannels(ChannelExceptionHandler, MetricsSystem)} calls will return
@@ -104,7 +148,13 @@ public class EventChannels {
 
   @SuppressWarnings("unchecked")
   private <T extends ChannelInterface> EventChannel<T> getChannel(final Class<T> channelInterface) {
-    return (EventChannel<T>) channels.computeIfAbsent(channelInterface, eventChannelFactory);
+    return (EventChannel<T>)
+        channels.computeIfAbsent(
+            channelInterface,
+            __ ->
+                eventChannelFactory.apply(
+                    channelInterface,
+                    overflowPolicies.getOrDefault(channelInterface, OverflowPolicy.BLOCK)));
   }
 
   public void stop() {
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, multi-consumer queue backed by a preallocated ring buffer.
+ *
+ * <p>Slots are claimed with a compare-and-set on the head or tail position and each slot carries a
+ * sequence number recording whether it is ready to be written or read, so adding and removing
+ * events doesn't take a lock or allocate. Semaphores counting free slots and available events are
+ * only used to park threads when the queue is full or empty.
+ */
+class EventQueue<E> {
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+  private final Semaphore availableSlots;
+  private final Semaphore availableElements = new Semaphore(0);
+
+  EventQueue(final int capacity) {
+    checkArgument(
+        capacity > 0 && Integer.bitCount(capacity) == 1, "Capacity must be a power of two");
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    this.elements = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.availableSlots = new Semaphore(capacity);
+  }
+
+  /**
+   * Adds an element to the queue, waiting for space to become available if necessary.
+   *
+   * @return true if the caller had to wait for space
+   */
+  boolean put(final E element) throws InterruptedException {
+    final boolean hadSpace = availableSlots.tryAcquire();
+    if (!hadSpace) {
+      availableSlots.acquire();
+    }
+    insert(element);
+    return !hadSpace;
+  }
+
+  /**
+   * Adds an element to the queue without waiting, discarding the oldest elements until there is
+   * space.
+   *
+   * @param element the element to add
+   * @param discardedElementHandler called with each element that was discarded
+   */
+  void putDiscardingOldest(final E element, final Consumer<E> discardedElementHandler) {
+    while (!availableSlots.tryAcquire()) {
+      if (availableElements.tryAcquire()) {
+        // Take over the slot freed by removing the oldest element rather than releasing it
+        discardedElementHandler.accept(remove());
+        break;
+      }
+      // A consumer has claimed an element but not yet released its slot
+      Thread.onSpinWait();
+    }
+    insert(element);
+  }
+
+  /** Removes the oldest element from the queue, waiting for one to be added if necessary. */
+  E take() throws InterruptedException {
+    availableElements.acquire();
+    final E element = remove();
+    availableSlots.release();
+    return element;
+  }
+
+  int size() {
+    return (int) Math.max(0, Math.min(capacity, tail.get() - head.get()));
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+  /** Writes an element to the next slot. The caller must hold a permit from availableSlots. */
+  private void insert(final E element) {
+    while (!tryInsert(element)) {
+      // The next slot has been claimed by a consumer that hasn't finished reading it yet
+      Thread.onSpinWait();
+    }
+    availableElements.release();
+  }
+
+  /** Reads the next element. The caller must hold a permit from availableElements. */
+  private E remove() {
+    E element;
+    while ((element = tryRemove()) == null) {
+      // The next slot has been claimed by a producer that hasn't finished writing it yet
+      Thread.onSpinWait();
+    }
+    return element;
+  }
+
+  private boolean tryInsert(final E element) {
+    long position = tail.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements.set(index, element);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (available < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  private E tryRemove() {
+    long position = head.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long available = sequences.get(index) - (position + 1);
+      if (available == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          final E element = elements.get(index);
+          elements.set(index, null);
+          sequences.set(index, position + capacity);
+          return element;
+        }
+        position = head.get();
+      } else if (available < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+/**
+ * Determines what happens when an event is published to an async event channel while a subscriber
+ * already has a full queue of events waiting to be processed.
+ *
+ * <p>Policies other than {@link #BLOCK} may discard events and so can only be used with channels
+ * that extend {@link VoidReturningChannelInterface}.
+ */
+public enum OverflowPolicy {
+  /** The publisher waits until the subscriber has made space in its queue. */
+  BLOCK,
+
+  /** The oldest event waiting in the subscriber's queue is discarded to make space. */
+  DROP_OLDEST,
+
+  /**
+   * Only the most recent call to each method is retained while it is waiting to be processed, so
+   * repeated calls are collapsed into one delivery with the latest arguments. The queue can then
+   * hold at most one pending call per method and never fills.
+   */
+  COALESCE
+}
@@ -278,6 +278,83 @@ class EventChannelTest {
     assertThat(result).isCompletedWithValue("Yay");
   }
 
+  @Test
+  public void shouldRejectOverflowPoliciesThatDiscardEventsWhenMethodsHaveReturnValues() {
+    assertThatThrownBy(
+            () ->
+                EventChannel.createAsync(
+                    WithFuture.class,
+                    mock(ExecutorService.class),
+                    OverflowPolicy.DROP_OLDEST,
+                    metricsSystem))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void shouldDiscardOldestEventsWhenQueueIsFull() throws Exception {
+    final ExecutorService executor = mock(ExecutorService.class);
+    final EventChannel<EventWithArgument> channel =
+        EventChannel.createAsync(
+            EventWithArgument.class, executor, OverflowPolicy.DROP_OLDEST, metricsSystem);
+    final EventWithArgument subscriber = mock(EventWithArgument.class);
+    channel.subscribe(subscriber);
+
+    final EventWithArgument publisher = channel.getPublisher(Optional.empty());
+    for (int i = 0; i < AsyncEventDeliverer.QUEUE_CAPACITY + 2; i++) {
+      publisher.method1("Event" + i);
+    }
+
+    final QueueReader queueReader = getQueueReader(executor);
+    for (int i = 0; i < AsyncEventDeliverer.QUEUE_CAPACITY; i++) {
+      queueReader.deliverNextEvent();
+    }
+
+    final InOrder inOrder = inOrder(subscriber);
+    for (int i = 2; i < AsyncEventDeliverer.QUEUE_CAPACITY + 2; i++) {
+      inOrder.verify(subscriber).method1("Event" + i);
+    }
+    verifyNoMoreInteractions(subscriber);
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  public void shouldCoalesceRepeatedCallsToTheSameMethod() throws Exception {
+    final ExecutorService executor = mock(ExecutorService.class);
+    final EventChannel<EventWithArgument> channel =
+        EventChannel.createAsync(
+            EventWithArgument.class, executor, OverflowPolicy.COALESCE, metricsSystem);
+    final EventWithArgument subscriber = mock(EventWithArgument.class);
+    channel.subscribe(subscriber);
+
+    final EventWithArgument publisher = channel.getPublisher(Optional.empty());
+    publisher.method1("Event1");
+    publisher.method2("Event2");
+    publisher.method1("Event3");
+
+    final QueueReader queueReader = getQueueReader(executor);
+    queueReader.deliverNextEvent();
+    queueReader.deliverNextEvent();
+
+    // Calls are delivered in order of the first pending call, with the latest arguments
+    final InOrder inOrder = inOrder(subscriber);
+    inOrder.verify(subscriber).method1("Event3");
+    inOrder.verify(subscriber).method2("Event2");
+    verifyNoMoreInteractions(subscriber);
+
+    // Once delivered, the next call is queued again
+    publisher.method1("Event4");
+    queueReader.deliverNextEvent();
+    verify(subscriber).method1("Event4");
+  }
+
+  @SuppressWarnings("rawtypes")
+  private QueueReader getQueueReader(final ExecutorService executor) {
+    final ArgumentCaptor<QueueReader> consumerCaptor = ArgumentCaptor.forClass(QueueReader.class);
+    verify(executor).execute(consumerCaptor.capture());
+    return consumerCaptor.getValue();
+  }
+
   private void waitForCountDownLatchComplete(final CountDownLatch started1)
       throws InterruptedException {
     assertThat(started1.await(5, TimeUnit.SECONDS)).isTrue();
@@ -13,11 +13,15 @@
 
 package tech.pegasys.teku.infrastructure.events;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Test;
 
@@ -83,6 +87,34 @@ class EventChannelsTest {
     verifyNoMoreInteractions(runnableSubscriber);
   }
 
+  @Test
+  public void shouldCreateChannelsWithConfiguredOverflowPolicy() {
+    final Map<Class<?>, OverflowPolicy> createdPolicies = new HashMap<>();
+    final EventChannels channels =
+        new EventChannels(
+            (channel, overflowPolicy) -> {
+              createdPolicies.put(channel, overflowPolicy);
+              return EventChannel.create(channel, new NoOpMetricsSystem());
+            });
+    channels.setOverflowPolicy(SimpleConsumer.class, OverflowPolicy.COALESCE);
+
+    channels.getPublisher(SimpleChannel.class);
+    channels.getPublisher(SimpleConsumer.class);
+
+    assertThat(createdPolicies)
+        .containsEntry(SimpleChannel.class, OverflowPolicy.BLOCK)
+        .containsEntry(SimpleConsumer.class, OverflowPolicy.COALESCE);
+  }
+
+  @Test
+  public void shouldNotAllowOverflowPolicyToChangeAfterChannelIsCreated() {
+    channels.subscribe(SimpleChannel.class, mock(SimpleChannel.class));
+
+    assertThatThrownBy(
+            () -> channels.setOverflowPolicy(SimpleChannel.class, OverflowPolicy.DROP_OLDEST))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
   private interface SimpleConsumer extends VoidReturningChannelInterface {
     void accept(int value);
   }
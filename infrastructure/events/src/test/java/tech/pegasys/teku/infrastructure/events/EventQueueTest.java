@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EventQueueTest {
+  private final EventQueue<Integer> queue = new EventQueue<>(4);
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldRejectCapacityThatIsNotPowerOfTwo() {
+    assertThatThrownBy(() -> new EventQueue<>(3)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new EventQueue<>(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldTakeElementsInOrderTheyWereAdded() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      assertThat(queue.put(i)).isFalse();
+      assertThat(queue.size()).isEqualTo(1);
+      assertThat(queue.take()).isEqualTo(i);
+      assertThat(queue.size()).isZero();
+    }
+  }
+
+  @Test
+  void put_shouldWaitForSpaceWhenFull() throws Exception {
+    for (int i = 0; i < queue.getCapacity(); i++) {
+      queue.put(i);
+    }
+
+    final Future<Boolean> blockedPut = executor.submit(() -> queue.put(99));
+    Thread.sleep(100);
+    assertThat(blockedPut).isNotDone();
+    assertThat(queue.size()).isEqualTo(4);
+
+    assertThat(queue.take()).isEqualTo(0);
+    assertThat(blockedPut.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(takeAll()).containsExactly(1, 2, 3, 99);
+  }
+
+  @Test
+  void putDiscardingOldest_shouldDiscardOldestElementsWhenFull() throws Exception {
+    final List<Integer> discarded = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      queue.putDiscardingOldest(i, discarded::add);
+    }
+
+    assertThat(discarded).containsExactly(0, 1);
+    assertThat(takeAll()).containsExactly(2, 3, 4, 5);
+  }
+
+  @Test
+  void take_shouldWaitForElement() throws Exception {
+    final Future<Integer> blockedTake = executor.submit(queue::take);
+    Thread.sleep(100);
+    assertThat(blockedTake).isNotDone();
+
+    queue.put(1);
+    assertThat(blockedTake.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldDeliverAllElementsWithConcurrentProducersAndConsumers() throws Exception {
+    final int producerCount = 4;
+    final int elementsPerProducer = 10_000;
+    final List<Future<Long>> consumers = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      consumers.add(
+          executor.submit(
+              () -> {
+                long sum = 0;
+                int value;
+                while ((value = queue.take()) >= 0) {
+                  sum += value;
+                }
+                return sum;
+              }));
+    }
+    final List<Future<?>> producers = new ArrayList<>();
+    for (int producer = 0; producer < producerCount; producer++) {
+      producers.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                  queue.put(i);
+                }
+                return null;
+              }));
+    }
+    for (Future<?> producer : producers) {
+      producer.get(30, TimeUnit.SECONDS);
+    }
+    // Signal the consumers to stop
+    for (int i = 0; i < consumers.size(); i++) {
+      queue.put(-1);
+    }
+
+    long total = 0;
+    for (Future<Long> consumer : consumers) {
+      total += consumer.get(30, TimeUnit.SECONDS);
+    }
+    final long expectedSumPerProducer = (long) elementsPerProducer * (elementsPerProducer - 1) / 2;
+    assertThat(total).isEqualTo(expectedSumPerProducer * producerCount);
+    assertThat(queue.size()).isZero();
+  }
+
+  private List<Integer> takeAll() throws InterruptedException {
+    final List<Integer> elements = new ArrayList<>();
+    while (queue.size() > 0) {
+      elements.add(queue.take());
+    }
+    return elements;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.infrastructure.metrics;
+
+import io.prometheus.client.Collector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
+
+/**
+ * A gauge metric with labels where the value for each set of label values is read from a supplier
+ * when metrics are collected. Only reports values when the metrics system is a {@link
+ * PrometheusMetricsSystem}.
+ */
+public class LabelledSuppliedGauge {
+  private final List<String> labelNames;
+  private final Map<List<String>, DoubleSupplier> valueSuppliers = new ConcurrentHashMap<>();
+
+  private LabelledSuppliedGauge(final List<String> labelNames) {
+    this.labelNames = labelNames;
+  }
+
+  public static LabelledSuppliedGauge create(
+      final MetricsSystem metricsSystem,
+      final MetricCategory category,
+      final String name,
+      final String help,
+      final String... labelNames) {
+    final LabelledSuppliedGauge gauge = new LabelledSuppliedGauge(List.of(labelNames));
+    if (metricsSystem instanceof PrometheusMetricsSystem) {
+      ((PrometheusMetricsSystem) metricsSystem)
+          .addCollector(category, () -> gauge.toCollector(category, name, help));
+    }
+    return gauge;
+  }
+
+  /**
+   * Sets the supplier to read the value for the specified label values from, replacing any
+   * previously registered supplier for those label values.
+   *
+   * @param valueSupplier the supplier of the current value
+   * @param labelValues the label values, in the same order as the label names
+   */
+  public void labels(final DoubleSupplier valueSupplier, final String... labelValues) {
+    if (labelValues.length != labelNames.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + labelNames.size() + " label values but got " + labelValues.length);
+    }
+    valueSuppliers.put(List.of(labelValues), valueSupplier);
+  }
+
+  private Collector toCollector(
+      final MetricCategory metricCategory, final String name, final String help) {
+    return new Collector() {
+      final String metricName =
+          metricCategory.getApplicationPrefix().orElse("") + metricCategory.getName() + "_" + name;
+
+      @Override
+      public List<MetricFamilySamples> collect() {
+        final List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+        valueSuppliers.forEach(
+            (labelValues, valueSupplier) ->
+                samples.add(
+                    new MetricFamilySamples.Sample(
+                        metricName, labelNames, labelValues, valueSupplier.getAsDouble())));
+        return Collections.singletonList(
+            new MetricFamilySamples(metricName, Type.GAUGE, help, samples));
+      }
+    };
+  }
+}
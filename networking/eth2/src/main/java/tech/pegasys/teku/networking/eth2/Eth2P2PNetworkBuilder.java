@@ -65,6 +65,7 @@ import tech.pegasys.teku.spec.datastructures.operations.versions.altair.Validate
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.util.ForkAndSpecMilestone;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitionsSupplier;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.client.RecentChainData;
 import tech.pegasys.teku.storage.store.KeyValueStore;
@@ -90,6 +91,7 @@ public class Eth2P2PNetworkBuilder {
   private ProcessedAttestationSubscriptionProvider processedAttestationSubscriptionProvider;
   private StorageQueryChannel historicalChainData;
   private MetricsSystem metricsSystem;
+  private BlockEncodingCache blockEncodingCache;
   private final List<RpcMethod<?, ?, ?>> rpcMethods = new ArrayList<>();
   private final List<PeerHandler> peerHandlers = new ArrayList<>();
   private TimeProvider timeProvider;
@@ -129,6 +131,7 @@ public class Eth2P2PNetworkBuilder {
             attestationSubnetService,
             syncCommitteeSubnetService,
             rpcEncoding,
+            blockEncodingCache,
             requiredCheckpoint,
             eth2RpcPingInterval,
             eth2RpcOutstandingPingThreshold,
@@ -189,6 +192,7 @@ public class Eth2P2PNetworkBuilder {
             network,
             recentChainData,
             gossipEncoding,
+            blockEncodingCache,
             gossipedBlockProcessor,
             gossipedAttestationConsumer,
             gossipedAggregateProcessor,
@@ -207,6 +211,7 @@ public class Eth2P2PNetworkBuilder {
             network,
             recentChainData,
             gossipEncoding,
+            blockEncodingCache,
             gossipedBlockProcessor,
             gossipedAttestationConsumer,
             gossipedAggregateProcessor,
@@ -288,6 +293,7 @@ public class Eth2P2PNetworkBuilder {
     assertNotNull("config", config);
     assertNotNull("eventChannels", eventChannels);
     assertNotNull("metricsSystem", metricsSystem);
+    assertNotNull("blockEncodingCache", blockEncodingCache);
     assertNotNull("chainStorageClient", recentChainData);
     assertNotNull("keyValueStore", keyValueStore);
     assertNotNull("timeProvider", timeProvider);
@@ -448,6 +454,12 @@ public class Eth2P2PNetworkBuilder {
     return this;
   }
 
+  public Eth2P2PNetworkBuilder blockEncodingCache(final BlockEncodingCache blockEncodingCache) {
+    checkNotNull(blockEncodingCache);
+    this.blockEncodingCache = blockEncodingCache;
+    return this;
+  }
+
   public Eth2P2PNetworkBuilder timeProvider(final TimeProvider timeProvider) {
     this.timeProvider = timeProvider;
     return this;
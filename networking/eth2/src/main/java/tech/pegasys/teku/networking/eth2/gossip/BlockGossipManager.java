@@ -21,16 +21,19 @@ import tech.pegasys.teku.networking.eth2.gossip.topics.GossipTopicName;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.eth2.gossip.topics.topichandlers.Eth2TopicHandler;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
+import tech.pegasys.teku.networking.p2p.gossip.PreparedGossipMessage;
 import tech.pegasys.teku.networking.p2p.gossip.TopicChannel;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlockSchema;
 import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class BlockGossipManager implements GossipManager {
 
   private final GossipEncoding gossipEncoding;
+  private final BlockEncodingCache blockEncodingCache;
   private final TopicChannel channel;
 
   private final AtomicBoolean shutdown = new AtomicBoolean(false);
@@ -41,9 +44,11 @@ public class BlockGossipManager implements GossipManager {
       final AsyncRunner asyncRunner,
       final GossipNetwork gossipNetwork,
       final GossipEncoding gossipEncoding,
+      final BlockEncodingCache blockEncodingCache,
       final ForkInfo forkInfo,
       final OperationProcessor<SignedBeaconBlock> processor) {
     this.gossipEncoding = gossipEncoding;
+    this.blockEncodingCache = blockEncodingCache;
 
     // Gossip topics are specific to a fork so use the schema for the current fork.
     final SignedBeaconBlockSchema signedBeaconBlockSchema =
@@ -58,12 +63,24 @@ public class BlockGossipManager implements GossipManager {
             gossipEncoding,
             forkInfo.getForkDigest(spec),
             GossipTopicName.BEACON_BLOCK,
-            signedBeaconBlockSchema);
+            signedBeaconBlockSchema) {
+          @Override
+          protected void onMessageAccepted(
+              final PreparedGossipMessage message, final SignedBeaconBlock block) {
+            // The decoded payload is the canonical SSZ so keep it to avoid serializing it again.
+            // Only valid blocks are cached so junk can't displace them.
+            message
+                .getDecodedMessage()
+                .getDecodedMessage()
+                .ifPresent(ssz -> blockEncodingCache.putSsz(block, ssz));
+          }
+        };
     this.channel = gossipNetwork.subscribe(topicHandler.getTopic(), topicHandler);
   }
 
   public void publishBlock(final SignedBeaconBlock block) {
-    final Bytes data = gossipEncoding.encode(block);
+    // Caches the SSZ of locally produced blocks so it is reused when the block is stored.
+    final Bytes data = gossipEncoding.encodeSsz(blockEncodingCache.getSsz(block));
     channel.gossip(data);
   }
 
@@ -41,6 +41,14 @@ public interface GossipEncoding {
    */
   <T extends SszData> Bytes encode(T value);
 
+  /**
+   * Encode a value which has already been SSZ serialized for transmission over gossip.
+   *
+   * @param ssz The SSZ serialized value.
+   * @return The encoded bytes.
+   */
+  Bytes encodeSsz(Bytes ssz);
+
   /** @return A factory for creating PreparedGossipMessages */
   Eth2PreparedGossipMessageFactory createPreparedGossipMessageFactory(
       ForkDigestToMilestone forkDigestToMilestone);
@@ -15,7 +15,6 @@ package tech.pegasys.teku.networking.eth2.gossip.encoding;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
-import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding.ForkDigestToMilestone;
 import tech.pegasys.teku.networking.eth2.gossip.topics.GossipTopics;
@@ -39,7 +38,7 @@ class SnappyPreparedGossipMessage implements PreparedGossipMessage {
   private final MessageIdCalculator messageIdCalculator;
 
   private final Supplier<DecodedMessageResult> decodedResult =
-      Suppliers.memoize(this::getDecodedMessage);
+      Suppliers.memoize(this::decodeMessage);
 
   static SnappyPreparedGossipMessage createUnknown(
       final String topic,
@@ -97,6 +96,10 @@ class SnappyPreparedGossipMessage implements PreparedGossipMessage {
 
   @Override
   public DecodedMessageResult getDecodedMessage() {
+    return decodedResult.get();
+  }
+
+  private DecodedMessageResult decodeMessage() {
     try {
       if (valueType == null) {
         return DecodedMessageResult.failed();
@@ -109,17 +112,14 @@ class SnappyPreparedGossipMessage implements PreparedGossipMessage {
     }
   }
 
-  private Optional<Bytes> getUncompressed() {
-    return decodedResult.get().getDecodedMessage();
-  }
-
   private Bytes uncompressPayload() throws DecodingException {
     return snappyCompressor.uncompress(compressedData, valueType.getSszLengthBounds());
   }
 
   @Override
   public Bytes getMessageId() {
-    return getUncompressed()
+    return getDecodedMessage()
+        .getDecodedMessage()
         .map(messageIdCalculator::getValidMessageId)
         .orElseGet(messageIdCalculator::getInvalidMessageId);
   }
@@ -38,6 +38,11 @@ class SszSnappyEncoding implements GossipEncoding {
     return snappyCompressor.compress(sszCodec.encode(value));
   }
 
+  @Override
+  public Bytes encodeSsz(final Bytes ssz) {
+    return snappyCompressor.compress(ssz);
+  }
+
   @Override
   public <T extends SszData> T decodeMessage(PreparedGossipMessage message, SszSchema<T> valueType)
       throws DecodingException {
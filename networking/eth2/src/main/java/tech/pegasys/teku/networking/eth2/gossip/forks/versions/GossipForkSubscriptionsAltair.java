@@ -33,6 +33,7 @@ import tech.pegasys.teku.spec.datastructures.operations.versions.altair.Validate
 import tech.pegasys.teku.spec.datastructures.state.Fork;
 import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitionsAltair;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.statetransition.synccommittee.SyncCommitteeStateUtils;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
@@ -56,6 +57,7 @@ public class GossipForkSubscriptionsAltair extends GossipForkSubscriptionsPhase0
       final DiscoveryNetwork<?> discoveryNetwork,
       final RecentChainData recentChainData,
       final GossipEncoding gossipEncoding,
+      final BlockEncodingCache blockEncodingCache,
       final OperationProcessor<SignedBeaconBlock> blockProcessor,
       final OperationProcessor<ValidateableAttestation> attestationProcessor,
       final OperationProcessor<ValidateableAttestation> aggregateProcessor,
@@ -80,6 +82,7 @@ public class GossipForkSubscriptionsAltair extends GossipForkSubscriptionsPhase0
         discoveryNetwork,
         recentChainData,
         gossipEncoding,
+        blockEncodingCache,
         blockProcessor,
         attestationProcessor,
         aggregateProcessor,
@@ -41,6 +41,7 @@ import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.spec.datastructures.operations.versions.altair.ValidateableSyncCommitteeSignature;
 import tech.pegasys.teku.spec.datastructures.state.Fork;
 import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
 public class GossipForkSubscriptionsPhase0 implements GossipForkSubscriptions {
@@ -53,6 +54,7 @@ public class GossipForkSubscriptionsPhase0 implements GossipForkSubscriptions {
   protected final DiscoveryNetwork<?> discoveryNetwork;
   protected final RecentChainData recentChainData;
   protected final GossipEncoding gossipEncoding;
+  private final BlockEncodingCache blockEncodingCache;
 
   // Upstream consumers
   private final OperationProcessor<SignedBeaconBlock> blockProcessor;
@@ -77,6 +79,7 @@ public class GossipForkSubscriptionsPhase0 implements GossipForkSubscriptions {
       final DiscoveryNetwork<?> discoveryNetwork,
       final RecentChainData recentChainData,
       final GossipEncoding gossipEncoding,
+      final BlockEncodingCache blockEncodingCache,
       final OperationProcessor<SignedBeaconBlock> blockProcessor,
       final OperationProcessor<ValidateableAttestation> attestationProcessor,
       final OperationProcessor<ValidateableAttestation> aggregateProcessor,
@@ -93,6 +96,7 @@ public class GossipForkSubscriptionsPhase0 implements GossipForkSubscriptions {
     this.discoveryNetwork = discoveryNetwork;
     this.recentChainData = recentChainData;
     this.gossipEncoding = gossipEncoding;
+    this.blockEncodingCache = blockEncodingCache;
     this.blockProcessor = blockProcessor;
     this.attestationProcessor = attestationProcessor;
     this.aggregateProcessor = aggregateProcessor;
@@ -132,6 +136,7 @@ public class GossipForkSubscriptionsPhase0 implements GossipForkSubscriptions {
             asyncRunner,
             discoveryNetwork,
             gossipEncoding,
+            blockEncodingCache,
             forkInfo,
             blockProcessor);
     addGossipManager(blockGossipManager);
@@ -95,14 +95,17 @@ public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler
                             .process(deserialized)
                             .thenApply(
                                 internalValidation -> {
-                                  processMessage(internalValidation);
+                                  processMessage(message, deserialized, internalValidation);
                                   return GossipSubValidationUtil.fromInternalValidationResult(
                                       internalValidation);
                                 })))
         .exceptionally(this::handleMessageProcessingError);
   }
 
-  private void processMessage(final InternalValidationResult internalValidationResult) {
+  private void processMessage(
+      final PreparedGossipMessage message,
+      final MessageT deserialized,
+      final InternalValidationResult internalValidationResult) {
     switch (internalValidationResult.code()) {
       case REJECT:
       case IGNORE:
@@ -112,6 +115,7 @@ public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler
         LOG.trace("Deferring message for topic: {}", this::getTopic);
         break;
       case ACCEPT:
+        onMessageAccepted(message, deserialized);
         break;
       default:
         throw new UnsupportedOperationException(
@@ -153,6 +157,10 @@ public class Eth2TopicHandler<MessageT extends SszData> implements TopicHandler
     return getGossipEncoding().decodeMessage(message, getMessageType());
   }
 
+  /** Called once a message has passed validation, before it is forwarded to peers. */
+  protected void onMessageAccepted(
+      final PreparedGossipMessage message, final MessageT deserialized) {}
+
   public String getTopic() {
     return GossipTopics.getTopic(getForkDigest(), getTopicName(), getGossipEncoding());
   }
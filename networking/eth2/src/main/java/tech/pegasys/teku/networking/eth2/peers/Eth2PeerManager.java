@@ -44,6 +44,7 @@ import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.networking.libp2p.rpc.metadata.MetadataMessage;
 import tech.pegasys.teku.spec.datastructures.networking.libp2p.rpc.metadata.MetadataMessageSchema;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
@@ -77,6 +78,7 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
       final StatusMessageFactory statusMessageFactory,
       final MetadataMessagesFactory metadataMessagesFactory,
       final RpcEncoding rpcEncoding,
+      final BlockEncodingCache blockEncodingCache,
       final Duration eth2RpcPingInterval,
       final int eth2RpcOutstandingPingThreshold,
       final Duration eth2StatusUpdateInterval) {
@@ -94,7 +96,8 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
             metricsSystem,
             statusMessageFactory,
             metadataMessagesFactory,
-            rpcEncoding);
+            rpcEncoding,
+            blockEncodingCache);
     this.eth2RpcPingInterval = eth2RpcPingInterval;
     this.eth2RpcOutstandingPingThreshold = eth2RpcOutstandingPingThreshold;
     this.eth2StatusUpdateInterval = eth2StatusUpdateInterval;
@@ -108,6 +111,7 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
       final SubnetSubscriptionService attestationSubnetService,
       final SubnetSubscriptionService syncCommitteeSubnetService,
       final RpcEncoding rpcEncoding,
+      final BlockEncodingCache blockEncodingCache,
       final Optional<Checkpoint> requiredCheckpoint,
       final Duration eth2RpcPingInterval,
       final int eth2RpcOutstandingPingThreshold,
@@ -145,6 +149,7 @@ public class Eth2PeerManager implements PeerLookup, PeerHandler {
         statusMessageFactory,
         metadataMessagesFactory,
         rpcEncoding,
+        blockEncodingCache,
         eth2RpcPingInterval,
         eth2RpcOutstandingPingThreshold,
         eth2StatusUpdateInterval);
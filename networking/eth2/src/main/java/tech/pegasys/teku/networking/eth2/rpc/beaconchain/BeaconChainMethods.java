@@ -18,6 +18,7 @@ import static tech.pegasys.teku.util.config.Constants.MAX_BLOCK_BY_RANGE_REQUEST
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
@@ -53,6 +54,7 @@ import tech.pegasys.teku.spec.datastructures.networking.libp2p.rpc.StatusMessage
 import tech.pegasys.teku.spec.datastructures.networking.libp2p.rpc.metadata.MetadataMessage;
 import tech.pegasys.teku.ssz.schema.SszSchema;
 import tech.pegasys.teku.ssz.type.Bytes4;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
@@ -95,13 +97,21 @@ public class BeaconChainMethods {
       final MetricsSystem metricsSystem,
       final StatusMessageFactory statusMessageFactory,
       final MetadataMessagesFactory metadataMessagesFactory,
-      final RpcEncoding rpcEncoding) {
+      final RpcEncoding rpcEncoding,
+      final BlockEncodingCache blockEncodingCache) {
     return new BeaconChainMethods(
         createStatus(asyncRunner, statusMessageFactory, peerLookup, rpcEncoding),
         createGoodBye(asyncRunner, metricsSystem, peerLookup, rpcEncoding),
-        createBeaconBlocksByRoot(spec, asyncRunner, recentChainData, peerLookup, rpcEncoding),
+        createBeaconBlocksByRoot(
+            spec, asyncRunner, recentChainData, peerLookup, rpcEncoding, blockEncodingCache),
         createBeaconBlocksByRange(
-            spec, asyncRunner, recentChainData, combinedChainDataClient, peerLookup, rpcEncoding),
+            spec,
+            asyncRunner,
+            recentChainData,
+            combinedChainDataClient,
+            peerLookup,
+            rpcEncoding,
+            blockEncodingCache),
         createMetadata(spec, asyncRunner, metadataMessagesFactory, peerLookup, rpcEncoding),
         createPing(asyncRunner, metadataMessagesFactory, peerLookup, rpcEncoding));
   }
@@ -152,7 +162,8 @@ public class BeaconChainMethods {
           final AsyncRunner asyncRunner,
           final RecentChainData recentChainData,
           final PeerLookup peerLookup,
-          final RpcEncoding rpcEncoding) {
+          final RpcEncoding rpcEncoding,
+          final BlockEncodingCache blockEncodingCache) {
     final BeaconBlocksByRootMessageHandler beaconBlocksByRootHandler =
         new BeaconBlocksByRootMessageHandler(spec, recentChainData);
 
@@ -177,7 +188,9 @@ public class BeaconChainMethods {
                 expectResponseToRequest,
                 noContextCodec,
                 beaconBlocksByRootHandler,
-                peerLookup);
+                peerLookup,
+                Optional.of(blockEncodingCache),
+                true);
 
     if (spec.isMilestoneSupported(SpecMilestone.ALTAIR)) {
       final RpcContextCodec<Bytes4, SignedBeaconBlock> forkDigestContextCodec =
@@ -195,7 +208,9 @@ public class BeaconChainMethods {
                   expectResponseToRequest,
                   forkDigestContextCodec,
                   beaconBlocksByRootHandler,
-                  peerLookup);
+                  peerLookup,
+                  Optional.of(blockEncodingCache),
+                  true);
 
       return VersionedEth2RpcMethod.create(
           rpcEncoding, requestType, expectResponseToRequest, List.of(v2Method, v1Method));
@@ -211,7 +226,8 @@ public class BeaconChainMethods {
           final RecentChainData recentChainData,
           final CombinedChainDataClient combinedChainDataClient,
           final PeerLookup peerLookup,
-          final RpcEncoding rpcEncoding) {
+          final RpcEncoding rpcEncoding,
+          final BlockEncodingCache blockEncodingCache) {
 
     final BeaconBlocksByRangeMessageHandler beaconBlocksByRangeHandler =
         new BeaconBlocksByRangeMessageHandler(
@@ -225,6 +241,8 @@ public class BeaconChainMethods {
     final BeaconBlocksByRangeRequestMessageSchema requestType =
         BeaconBlocksByRangeRequestMessage.SSZ_SCHEMA;
     final boolean expectResponseToRequest = true;
+    // Ranges are mostly old finalized blocks requested by syncing peers, so they are served from
+    // the cache when present but not added to it
 
     final SingleProtocolEth2RpcMethod<BeaconBlocksByRangeRequestMessage, SignedBeaconBlock>
         v1Method =
@@ -237,7 +255,9 @@ public class BeaconChainMethods {
                 expectResponseToRequest,
                 noContextCodec,
                 beaconBlocksByRangeHandler,
-                peerLookup);
+                peerLookup,
+                Optional.of(blockEncodingCache),
+                false);
 
     if (spec.isMilestoneSupported(SpecMilestone.ALTAIR)) {
       final RpcContextCodec<Bytes4, SignedBeaconBlock> forkDigestContextCodec =
@@ -255,7 +275,9 @@ public class BeaconChainMethods {
                   expectResponseToRequest,
                   forkDigestContextCodec,
                   beaconBlocksByRangeHandler,
-                  peerLookup);
+                  peerLookup,
+                  Optional.of(blockEncodingCache),
+                  false);
 
       return VersionedEth2RpcMethod.create(
           rpcEncoding, requestType, expectResponseToRequest, List.of(v2Method, v1Method));
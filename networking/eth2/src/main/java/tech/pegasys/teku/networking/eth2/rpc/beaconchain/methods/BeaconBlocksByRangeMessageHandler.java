@@ -191,19 +191,11 @@ public class BeaconBlocksByRangeMessageHandler
         complete -> complete ? completedFuture(requestState) : sendNextBlock(requestState));
   }
 
+  /** Sends the next block, if any, and returns true if the request is now complete. */
   private SafeFuture<Boolean> processNextBlock(final RequestState requestState) {
     // Ensure blocks are loaded off of the event thread
     return requestState
-        .loadNextBlock()
-        .thenCompose(block -> handleLoadedBlock(requestState, block));
-  }
-
-  /** Sends the block and returns true if the request is now complete. */
-  private SafeFuture<Boolean> handleLoadedBlock(
-      final RequestState requestState, final Optional<SignedBeaconBlock> block) {
-    return block
-        .map(requestState::sendBlock)
-        .orElse(SafeFuture.COMPLETE)
+        .loadAndSendNextBlock()
         .thenApply(
             __ -> {
               if (requestState.isComplete()) {
@@ -252,8 +244,8 @@ public class BeaconBlocksByRangeMessageHandler
       return !needsMoreBlocks() || hasReachedHeadSlot();
     }
 
-    SafeFuture<Void> sendBlock(final SignedBeaconBlock block) {
-      return callback.respond(block);
+    private SafeFuture<Void> sendBlock(final Optional<SignedBeaconBlock> block) {
+      return block.map(callback::respond).orElse(SafeFuture.COMPLETE);
     }
 
     void incrementCurrentSlot() {
@@ -261,22 +253,33 @@ public class BeaconBlocksByRangeMessageHandler
       currentSlot = currentSlot.plus(step);
     }
 
-    SafeFuture<Optional<SignedBeaconBlock>> loadNextBlock() {
+    SafeFuture<Void> loadAndSendNextBlock() {
       final UInt64 slot = this.currentSlot;
       final Bytes32 knownBlockRoot = knownBlockRoots.get(slot);
       if (knownBlockRoot != null) {
         // Known root so lookup by root
         return combinedChainDataClient
             .getBlockByBlockRoot(knownBlockRoot)
-            .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)));
+            .thenApply(maybeBlock -> maybeBlock.filter(block -> block.getSlot().equals(slot)))
+            .thenCompose(this::sendBlock);
       } else if ((!knownBlockRoots.isEmpty() && slot.compareTo(knownBlockRoots.firstKey()) >= 0)
           || slot.compareTo(headSlot) > 0) {
         // Unknown root but not finalized means this is an empty slot
         // Could also be because the first block requested is above our head slot
-        return SafeFuture.completedFuture(Optional.empty());
+        return SafeFuture.COMPLETE;
       } else {
-        // Must be a finalized block so lookup by slot
-        return combinedChainDataClient.getBlockAtSlotExact(slot);
+        // Must be a finalized block so send the stored SSZ as is, without deserializing it
+        return combinedChainDataClient
+            .getFinalizedBlockSszAtSlot(slot)
+            .thenCompose(
+                maybeSsz -> {
+                  if (maybeSsz.isPresent()) {
+                    return callback.respondSsz(maybeSsz.get());
+                  }
+                  return combinedChainDataClient
+                      .getBlockAtSlotExact(slot)
+                      .thenCompose(this::sendBlock);
+                });
       }
     }
   }
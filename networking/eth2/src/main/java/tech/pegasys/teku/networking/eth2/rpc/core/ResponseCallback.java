@@ -13,11 +13,20 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core;
 
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 
 public interface ResponseCallback<T> {
   SafeFuture<Void> respond(T data);
 
+  /**
+   * Sends a response payload which is already SSZ serialized, e.g. as read directly from storage,
+   * without deserializing it first.
+   *
+   * @param sszData the SSZ serialized response payload
+   */
+  SafeFuture<Void> respondSsz(Bytes sszData);
+
   void respondAndCompleteSuccessfully(T data);
 
   void completeSuccessfully();
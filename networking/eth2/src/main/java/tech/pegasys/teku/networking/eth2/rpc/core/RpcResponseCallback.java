@@ -16,6 +16,7 @@ package tech.pegasys.teku.networking.eth2.rpc.core;
 import java.nio.channels.ClosedChannelException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.RootCauseExceptionHandler;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.networking.eth2.rpc.core.RpcException.ServerErrorException;
@@ -40,6 +41,11 @@ class RpcResponseCallback<TResponse extends SszData> implements ResponseCallback
     return rpcStream.writeBytes(responseEncoder.encodeSuccessfulResponse(data));
   }
 
+  @Override
+  public SafeFuture<Void> respondSsz(final Bytes sszData) {
+    return rpcStream.writeBytes(responseEncoder.encodeSuccessfulSszResponse(sszData));
+  }
+
   @Override
   public void respondAndCompleteSuccessfully(TResponse data) {
     respond(data)
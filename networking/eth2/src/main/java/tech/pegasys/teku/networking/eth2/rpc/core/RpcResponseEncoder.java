@@ -15,25 +15,62 @@ package tech.pegasys.teku.networking.eth2.rpc.core;
 
 import static tech.pegasys.teku.networking.eth2.rpc.core.RpcResponseStatus.SUCCESS_RESPONSE_CODE;
 
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.context.RpcContextCodec;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.ssz.SszData;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 
 public final class RpcResponseEncoder<TPayload extends SszData, TContext> {
   private final RpcEncoding encoding;
   private final RpcContextCodec<TContext, TPayload> contextCodec;
+  private final Optional<BlockEncodingCache> blockEncodingCache;
+  private final boolean cacheBlockEncodings;
 
   public RpcResponseEncoder(
       final RpcEncoding encoding, final RpcContextCodec<TContext, TPayload> contextCodec) {
+    this(encoding, contextCodec, Optional.empty(), false);
+  }
+
+  /**
+   * @param blockEncodingCache cache to take block payloads from
+   * @param cacheBlockEncodings whether payloads of blocks which aren't cached are added to the
+   *     cache. Should only be set for responses which are mostly recent blocks
+   */
+  public RpcResponseEncoder(
+      final RpcEncoding encoding,
+      final RpcContextCodec<TContext, TPayload> contextCodec,
+      final Optional<BlockEncodingCache> blockEncodingCache,
+      final boolean cacheBlockEncodings) {
     this.encoding = encoding;
     this.contextCodec = contextCodec;
+    this.blockEncodingCache = blockEncodingCache;
+    this.cacheBlockEncodings = cacheBlockEncodings;
   }
 
   public Bytes encodeSuccessfulResponse(TPayload response) {
     final Bytes context = contextCodec.encodeContext(response);
+    return Bytes.concatenate(Bytes.of(SUCCESS_RESPONSE_CODE), context, encodePayload(response));
+  }
+
+  public Bytes encodeSuccessfulSszResponse(final Bytes responseSsz) {
+    final Bytes context = contextCodec.encodeContextFromSsz(responseSsz);
     return Bytes.concatenate(
-        Bytes.of(SUCCESS_RESPONSE_CODE), context, encoding.encodePayload(response));
+        Bytes.of(SUCCESS_RESPONSE_CODE), context, encoding.encodeSszPayload(responseSsz));
+  }
+
+  private Bytes encodePayload(final TPayload response) {
+    if (blockEncodingCache.isPresent() && response instanceof SignedBeaconBlock) {
+      // Recent blocks are commonly requested by many peers so reuse the compressed payload
+      final SignedBeaconBlock block = (SignedBeaconBlock) response;
+      final String encodingName = "rpc_" + encoding.getName();
+      return cacheBlockEncodings
+          ? blockEncodingCache.get().getEncoded(block, encodingName, encoding::encodeSszPayload)
+          : blockEncodingCache.get().lookupEncoded(block, encodingName, encoding::encodeSszPayload);
+    }
+    return encoding.encodePayload(response);
   }
 
   public Bytes encodeErrorResponse(RpcException error) {
@@ -33,6 +33,15 @@ public interface RpcEncoding {
    */
   <T extends SszData> Bytes encodePayload(T payload);
 
+  /**
+   * Encodes an already SSZ serialized payload with its encoding-dependent header, avoiding the need
+   * to materialize the payload object
+   *
+   * @param sszPayload The SSZ bytes of the payload to encode
+   * @return The encoded header and payload bytes
+   */
+  Bytes encodeSszPayload(Bytes sszPayload);
+
   /**
    * Creates a brand new disposable {@link RpcByteBufDecoder} instance for decoding a payload with
    * it's encoding-dependent header
@@ -13,7 +13,9 @@
 
 package tech.pegasys.teku.networking.eth2.rpc.core.encodings.context;
 
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockInvariants;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitions;
 import tech.pegasys.teku.ssz.SszData;
@@ -28,6 +30,11 @@ public interface ForkDigestPayloadContext<TPayload extends SszData> {
           return responsePayload.getMessage().getSlot();
         }
 
+        @Override
+        public UInt64 getSlotFromPayloadSsz(final Bytes responsePayloadSsz) {
+          return BeaconBlockInvariants.extractSignedBeaconBlockSlot(responsePayloadSsz);
+        }
+
         @Override
         public SszSchema<SignedBeaconBlock> getSchemaFromSchemaDefinitions(
             final SchemaDefinitions schemaDefinitions) {
@@ -37,5 +44,7 @@ public interface ForkDigestPayloadContext<TPayload extends SszData> {
 
   UInt64 getSlotFromPayload(final TPayload responsePayload);
 
+  UInt64 getSlotFromPayloadSsz(final Bytes responsePayloadSsz);
+
   SszSchema<TPayload> getSchemaFromSchemaDefinitions(final SchemaDefinitions schemaDefinitions);
 }
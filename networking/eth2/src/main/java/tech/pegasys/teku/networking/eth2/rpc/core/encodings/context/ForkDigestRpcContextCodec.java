@@ -47,7 +47,15 @@ class ForkDigestRpcContextCodec<TPayload extends SszData>
 
   @Override
   public Bytes encodeContext(TPayload responsePayload) {
-    final UInt64 slot = payloadContext.getSlotFromPayload(responsePayload);
+    return encodeContextForSlot(payloadContext.getSlotFromPayload(responsePayload));
+  }
+
+  @Override
+  public Bytes encodeContextFromSsz(final Bytes responsePayloadSsz) {
+    return encodeContextForSlot(payloadContext.getSlotFromPayloadSsz(responsePayloadSsz));
+  }
+
+  private Bytes encodeContextForSlot(final UInt64 slot) {
     final SpecMilestone specMilestone = spec.getForkSchedule().getSpecMilestoneAtSlot(slot);
     return recentChainData
         .getForkDigestByMilestone(specMilestone)
@@ -39,6 +39,11 @@ class NoopRpcContextCodec<TPayload extends SszData> implements RpcContextCodec<B
     return Bytes.EMPTY;
   }
 
+  @Override
+  public Bytes encodeContextFromSsz(final Bytes responsePayloadSsz) {
+    return Bytes.EMPTY;
+  }
+
   @Override
   public Optional<SszSchema<TPayload>> getSchemaFromContext(final Bytes bytes) {
     return Optional.of(schema);
@@ -39,5 +39,13 @@ public interface RpcContextCodec<TContext, TPayload extends SszData> {
 
   Bytes encodeContext(TPayload responsePayload);
 
+  /**
+   * Encodes the context for a response payload which is only available in its SSZ serialized form.
+   *
+   * @param responsePayloadSsz The SSZ bytes of the response payload
+   * @return The encoded context bytes
+   */
+  Bytes encodeContextFromSsz(Bytes responsePayloadSsz);
+
   Optional<SszSchema<TPayload>> getSchemaFromContext(final TContext context);
 }
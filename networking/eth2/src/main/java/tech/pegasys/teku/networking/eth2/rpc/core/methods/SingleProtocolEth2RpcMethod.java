@@ -17,6 +17,7 @@ import static tech.pegasys.teku.networking.eth2.rpc.beaconchain.BeaconChainMetho
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.networking.eth2.peers.PeerLookup;
 import tech.pegasys.teku.networking.eth2.rpc.core.Eth2IncomingRequestHandler;
@@ -30,6 +31,7 @@ import tech.pegasys.teku.networking.eth2.rpc.core.encodings.context.RpcContextCo
 import tech.pegasys.teku.spec.datastructures.networking.libp2p.rpc.RpcRequest;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.schema.SszSchema;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 
 public class SingleProtocolEth2RpcMethod<
         TRequest extends RpcRequest & SszData, TResponse extends SszData>
@@ -55,10 +57,37 @@ public class SingleProtocolEth2RpcMethod<
       final RpcContextCodec<?, TResponse> contextCodec,
       final LocalMessageHandler<TRequest, TResponse> localMessageHandler,
       final PeerLookup peerLookup) {
+    this(
+        asyncRunner,
+        protocolIdPrefix,
+        protocolVersion,
+        encoding,
+        requestType,
+        expectResponseToRequest,
+        contextCodec,
+        localMessageHandler,
+        peerLookup,
+        Optional.empty(),
+        false);
+  }
+
+  public SingleProtocolEth2RpcMethod(
+      final AsyncRunner asyncRunner,
+      final String protocolIdPrefix,
+      final int protocolVersion,
+      final RpcEncoding encoding,
+      final SszSchema<TRequest> requestType,
+      final boolean expectResponseToRequest,
+      final RpcContextCodec<?, TResponse> contextCodec,
+      final LocalMessageHandler<TRequest, TResponse> localMessageHandler,
+      final PeerLookup peerLookup,
+      final Optional<BlockEncodingCache> blockEncodingCache,
+      final boolean cacheBlockEncodings) {
     super(encoding, requestType, expectResponseToRequest);
     this.asyncRunner = asyncRunner;
     this.contextCodec = contextCodec;
-    this.responseEncoder = new RpcResponseEncoder<>(encoding, contextCodec);
+    this.responseEncoder =
+        new RpcResponseEncoder<>(encoding, contextCodec, blockEncodingCache, cacheBlockEncodings);
     this.protocolId = getMethodId(protocolIdPrefix, protocolVersion, encoding);
     this.protocolVersion = protocolVersion;
     this.localMessageHandler = localMessageHandler;
@@ -13,15 +13,21 @@
 
 package tech.pegasys.teku.networking.eth2.gossip;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.libp2p.core.pubsub.ValidationResult;
 import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.gossip.encoding.GossipEncoding;
@@ -29,11 +35,14 @@ import tech.pegasys.teku.networking.eth2.gossip.topics.GossipTopicName;
 import tech.pegasys.teku.networking.eth2.gossip.topics.OperationProcessor;
 import tech.pegasys.teku.networking.p2p.gossip.GossipNetwork;
 import tech.pegasys.teku.networking.p2p.gossip.TopicChannel;
+import tech.pegasys.teku.networking.p2p.gossip.TopicHandler;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
+import tech.pegasys.teku.statetransition.validation.InternalValidationResult;
 import tech.pegasys.teku.storage.storageSystem.InMemoryStorageSystemBuilder;
 import tech.pegasys.teku.storage.storageSystem.StorageSystem;
 
@@ -46,6 +55,8 @@ public class BlockGossipManagerTest {
   private final GossipNetwork gossipNetwork = mock(GossipNetwork.class);
   private final GossipEncoding gossipEncoding = GossipEncoding.SSZ_SNAPPY;
   private final TopicChannel topicChannel = mock(TopicChannel.class);
+  private final BlockEncodingCache blockEncodingCache =
+      new BlockEncodingCache(new NoOpMetricsSystem(), BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES);
   private final ForkInfo forkInfo =
       new ForkInfo(spec.fork(UInt64.ZERO), dataStructureUtil.randomBytes32());
 
@@ -67,6 +78,7 @@ public class BlockGossipManagerTest {
             asyncRunner,
             gossipNetwork,
             gossipEncoding,
+            blockEncodingCache,
             forkInfo,
             processor);
   }
@@ -80,4 +92,54 @@ public class BlockGossipManagerTest {
 
     verify(topicChannel).gossip(serialized);
   }
+
+  @Test
+  public void publishBlock_shouldCacheSszForStorage() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+    blockGossipManager.publishBlock(block);
+
+    assertThat(blockEncodingCache.getSizeInBytes()).isEqualTo(block.sszSerialize().size());
+  }
+
+  @Test
+  public void shouldCacheAcceptedBlock() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    assertThat(handleGossipedBlock(block, InternalValidationResult.ACCEPT))
+        .isCompletedWithValue(ValidationResult.Valid);
+    assertThat(blockEncodingCache.getSizeInBytes()).isEqualTo(block.sszSerialize().size());
+  }
+
+  @Test
+  public void shouldNotCacheRejectedBlock() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    assertThat(handleGossipedBlock(block, InternalValidationResult.REJECT))
+        .isCompletedWithValue(ValidationResult.Invalid);
+    assertThat(blockEncodingCache.getSizeInBytes()).isZero();
+  }
+
+  @Test
+  public void shouldNotCacheIgnoredBlock() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    assertThat(handleGossipedBlock(block, InternalValidationResult.IGNORE))
+        .isCompletedWithValue(ValidationResult.Ignore);
+    assertThat(blockEncodingCache.getSizeInBytes()).isZero();
+  }
+
+  private SafeFuture<ValidationResult> handleGossipedBlock(
+      final SignedBeaconBlock block, final InternalValidationResult validationResult) {
+    final ArgumentCaptor<TopicHandler> topicHandler = ArgumentCaptor.forClass(TopicHandler.class);
+    verify(gossipNetwork)
+        .subscribe(contains(GossipTopicName.BEACON_BLOCK.toString()), topicHandler.capture());
+    when(processor.process(block)).thenReturn(SafeFuture.completedFuture(validationResult));
+
+    final SafeFuture<ValidationResult> result =
+        topicHandler
+            .getValue()
+            .handleMessage(topicHandler.getValue().prepareMessage(gossipEncoding.encode(block)));
+    asyncRunner.executeQueuedActions();
+    return result;
+  }
 }
@@ -98,6 +98,13 @@ public class SszSnappyGossipEncodingTest {
     assertThat(decoded).isEqualTo(original);
   }
 
+  @Test
+  public void encodeSsz_shouldMatchEncodingOfValue() {
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    assertThat(encoding.encodeSsz(block.sszSerialize())).isEqualTo(encoding.encode(block));
+  }
+
   @Test
   public void decode_emptyValue() {
     assertThatThrownBy(() -> decode(topicName, encoding, Bytes.EMPTY, beaconStateSchema))
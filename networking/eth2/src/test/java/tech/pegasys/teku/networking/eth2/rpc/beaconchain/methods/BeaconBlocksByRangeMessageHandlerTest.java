@@ -93,6 +93,8 @@ class BeaconBlocksByRangeMessageHandlerTest {
     when(peer.wantToReceiveObjects(any(), anyLong())).thenReturn(true);
     when(combinedChainDataClient.getEarliestAvailableBlockSlot())
         .thenReturn(completedFuture(Optional.of(ZERO)));
+    when(combinedChainDataClient.getFinalizedBlockSszAtSlot(any()))
+        .thenReturn(completedFuture(Optional.empty()));
   }
 
   @Test
@@ -412,6 +414,30 @@ class BeaconBlocksByRangeMessageHandlerTest {
     verifyBlocksReturned(1, 2, 3, 4, 5);
   }
 
+  @Test
+  void shouldSendStoredSszForFinalizedBlocks() {
+    final int startBlock = 1;
+    final int count = 5;
+    final int skip = 1;
+    withCanonicalHeadBlock(blocksWStates.get(8));
+    withAncestorRoots(startBlock, count, skip, hotBlocks(4, 5, 6));
+    withFinalizedBlocks(0, 1, 2, 3);
+    withFinalizedBlockSsz(1, 2, 3);
+    when(listener.respondSsz(any())).thenReturn(SafeFuture.COMPLETE);
+
+    requestBlocks(startBlock, count, skip);
+
+    final InOrder inOrder = Mockito.inOrder(listener);
+    inOrder.verify(listener).respondSsz(blocks.get(1).sszSerialize());
+    inOrder.verify(listener).respondSsz(blocks.get(2).sszSerialize());
+    inOrder.verify(listener).respondSsz(blocks.get(3).sszSerialize());
+    inOrder.verify(listener).respond(blocks.get(4));
+    inOrder.verify(listener).respond(blocks.get(5));
+    inOrder.verify(listener).completeSuccessfully();
+    verifyNoMoreInteractions(listener);
+    verify(combinedChainDataClient, never()).getBlockAtSlotExact(any());
+  }
+
   private void requestBlocks(final int startBlock, final long count, final int skip) {
 
     handler.onIncomingMessage(
@@ -475,6 +501,16 @@ class BeaconBlocksByRangeMessageHandlerTest {
             });
   }
 
+  private void withFinalizedBlockSsz(final int... slots) {
+    IntStream.of(slots)
+        .forEach(
+            slot -> {
+              final SignedBeaconBlock block = blocks.get(slot);
+              when(combinedChainDataClient.getFinalizedBlockSszAtSlot(block.getSlot()))
+                  .thenReturn(completedFuture(Optional.of(block.sszSerialize())));
+            });
+  }
+
   private void withCanonicalHeadBlock(final StateAndBlockSummary chainHead) {
     when(combinedChainDataClient.getChainHead()).thenReturn(Optional.of(chainHead));
   }
@@ -37,6 +37,7 @@ import tech.pegasys.teku.networking.p2p.rpc.RpcStream;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.storage.client.RecentChainData;
 
@@ -68,7 +69,9 @@ abstract class AbstractRequestHandlerTest<T extends RpcRequestHandler> {
             new NoOpMetricsSystem(),
             new StatusMessageFactory(recentChainData),
             new MetadataMessagesFactory(),
-            getRpcEncoding());
+            getRpcEncoding(),
+            new BlockEncodingCache(
+                new NoOpMetricsSystem(), BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES));
 
     reqHandler = createRequestHandler(beaconChainMethods);
 
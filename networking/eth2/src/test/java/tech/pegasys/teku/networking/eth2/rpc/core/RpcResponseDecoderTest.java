@@ -312,6 +312,12 @@ class RpcResponseDecoderTest extends RpcDecoderTestBase {
       return Bytes.EMPTY;
     }
 
+    @Override
+    public Bytes encodeContextFromSsz(final Bytes responsePayloadSsz) {
+      // Unused for these tests
+      return Bytes.EMPTY;
+    }
+
     @Override
     public Optional<SszSchema<BeaconState>> getSchemaFromContext(final Bytes4 forkDigest) {
       final SszSchema<BeaconState> phase0Schema =
@@ -14,15 +14,26 @@
 package tech.pegasys.teku.networking.eth2.rpc.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.RpcEncoding;
 import tech.pegasys.teku.networking.eth2.rpc.core.encodings.context.RpcContextCodec;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.networking.libp2p.rpc.StatusMessage;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
 import tech.pegasys.teku.ssz.type.Bytes4;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 
 final class RpcResponseEncoderTest {
 
@@ -38,14 +49,54 @@ final class RpcResponseEncoderTest {
               "0x30A903798306695D21D1FAA76363A0070677130835E503760B0E84479B7819E6"),
           UInt64.ZERO);
 
+  private final Spec spec = TestSpecFactory.createMinimalPhase0();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
   private final RpcContextCodec<?, StatusMessage> contextCodec =
       RpcContextCodec.noop(StatusMessage.SSZ_SCHEMA);
   private final RpcResponseEncoder<StatusMessage, ?> responseEncoder =
       new RpcResponseEncoder<>(RpcEncoding.SSZ_SNAPPY, contextCodec);
 
+  private final RpcEncoding blockEncoding = spy(RpcEncoding.SSZ_SNAPPY);
+  private final RpcContextCodec<?, SignedBeaconBlock> blockContextCodec =
+      RpcContextCodec.noop(spec.getGenesisSchemaDefinitions().getSignedBeaconBlockSchema());
+  private final BlockEncodingCache blockEncodingCache =
+      new BlockEncodingCache(new NoOpMetricsSystem(), BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES);
+
   @Test
   public void shouldEncodeSuccessfulResponse() {
     final Bytes actual = responseEncoder.encodeSuccessfulResponse(RECORDED_STATUS_MESSAGE_DATA);
     assertThat(actual).isEqualTo(RECORDED_STATUS_RESPONSE_BYTES);
   }
+
+  @Test
+  public void shouldOnlyCompressRepeatedBlockResponseOnceWhenCachingEncodings() {
+    final RpcResponseEncoder<SignedBeaconBlock, ?> blockResponseEncoder =
+        new RpcResponseEncoder<>(
+            blockEncoding, blockContextCodec, Optional.of(blockEncodingCache), true);
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    final Bytes first = blockResponseEncoder.encodeSuccessfulResponse(block);
+    final Bytes second = blockResponseEncoder.encodeSuccessfulResponse(block);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(first)
+        .isEqualTo(
+            new RpcResponseEncoder<>(RpcEncoding.SSZ_SNAPPY, blockContextCodec)
+                .encodeSuccessfulResponse(block));
+    verify(blockEncoding, times(1)).encodeSszPayload(any());
+  }
+
+  @Test
+  public void shouldCompressEachBlockResponseWhenNotCachingEncodings() {
+    final RpcResponseEncoder<SignedBeaconBlock, ?> blockResponseEncoder =
+        new RpcResponseEncoder<>(
+            blockEncoding, blockContextCodec, Optional.of(blockEncodingCache), false);
+    final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(1);
+
+    blockResponseEncoder.encodeSuccessfulResponse(block);
+    blockResponseEncoder.encodeSuccessfulResponse(block);
+
+    verify(blockEncoding, times(2)).encodeSszPayload(any());
+    assertThat(blockEncodingCache.getSizeInBytes()).isZero();
+  }
 }
@@ -79,6 +79,7 @@ import tech.pegasys.teku.spec.datastructures.operations.SignedVoluntaryExit;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitionsSupplier;
 import tech.pegasys.teku.statetransition.BeaconChainUtil;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.statetransition.block.VerifiedBlockOperationsListener;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.api.StubStorageQueryChannel;
@@ -176,6 +177,8 @@ public class Eth2P2PNetworkFactory {
         final SubnetSubscriptionService attestationSubnetService = new SubnetSubscriptionService();
         final SubnetSubscriptionService syncCommitteeSubnetService =
             new SubnetSubscriptionService();
+        final BlockEncodingCache blockEncodingCache =
+            new BlockEncodingCache(METRICS_SYSTEM, BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES);
         final Eth2PeerManager eth2PeerManager =
             Eth2PeerManager.create(
                 asyncRunner,
@@ -185,6 +188,7 @@ public class Eth2P2PNetworkFactory {
                 attestationSubnetService,
                 syncCommitteeSubnetService,
                 rpcEncoding,
+                blockEncodingCache,
                 requiredCheckpoint,
                 eth2RpcPingInterval,
                 eth2RpcOutstandingPingThreshold,
@@ -266,6 +270,7 @@ public class Eth2P2PNetworkFactory {
                 network,
                 recentChainData,
                 gossipEncoding,
+                blockEncodingCache,
                 gossipedBlockProcessor,
                 gossipedAttestationProcessor,
                 gossipedAggregateProcessor,
@@ -14,17 +14,16 @@
 package tech.pegasys.teku.protoarray;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableMap;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -47,16 +46,19 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 
 public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoiceStrategy {
   private static final Logger LOG = LogManager.getLogger();
-  private final ReadWriteLock protoArrayLock = new ReentrantReadWriteLock();
+  // Guards updates to the protoarray. Reads use the published view and don't need to lock.
+  private final Lock protoArrayLock = new ReentrantLock();
   private final ReadWriteLock votesLock = new ReentrantReadWriteLock();
-  private final ReadWriteLock balancesLock = new ReentrantReadWriteLock();
   private final ProtoArray protoArray;
+  private volatile ProtoArrayView protoArrayView;
 
-  private List<UInt64> balances;
+  // Only accessed while holding protoArrayLock
+  private long[] balances;
 
-  private ForkChoiceStrategy(ProtoArray protoArray, List<UInt64> balances) {
+  private ForkChoiceStrategy(ProtoArray protoArray, long[] balances) {
     this.protoArray = protoArray;
     this.balances = balances;
+    this.protoArrayView = protoArray.createView();
   }
 
   // Public
@@ -85,21 +87,23 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
   }
 
   public static ForkChoiceStrategy initialize(final ProtoArray protoArray) {
-    return new ForkChoiceStrategy(protoArray, new ArrayList<>());
+    return new ForkChoiceStrategy(protoArray, new long[0]);
   }
 
   public SlotAndBlockRoot findHead(
       final Checkpoint justifiedCheckpoint, final Checkpoint finalizedCheckpoint) {
-    protoArrayLock.readLock().lock();
+    protoArrayLock.lock();
     try {
-      final ProtoNode bestNode =
-          protoArray.findHead(
+      final int bestNodeIndex =
+          protoArray.findHeadIndex(
               justifiedCheckpoint.getRoot(),
               justifiedCheckpoint.getEpoch(),
               finalizedCheckpoint.getEpoch());
-      return new SlotAndBlockRoot(bestNode.getBlockSlot(), bestNode.getBlockRoot());
+      publishView();
+      return new SlotAndBlockRoot(
+          protoArray.getBlockSlot(bestNodeIndex), protoArray.getBlockRoot(bestNodeIndex));
     } finally {
-      protoArrayLock.readLock().unlock();
+      protoArrayLock.unlock();
     }
   }
 
@@ -150,29 +154,19 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
 
   @Override
   public Map<Bytes32, UInt64> getChainHeads() {
-    protoArrayLock.readLock().lock();
     try {
-      final Map<Bytes32, UInt64> chainHeads = new HashMap<>();
-      protoArray.getNodes().stream()
-          .filter(
-              protoNode ->
-                  protoNode.getBestChildIndex().isEmpty()
-                      && protoArray.nodeIsViableForHead(protoNode))
-          .forEach(protoNode -> chainHeads.put(protoNode.getBlockRoot(), protoNode.getBlockSlot()));
-      return ImmutableMap.copyOf(chainHeads);
+      return protoArrayView.getChainHeads();
     } catch (Throwable t) {
       LOG.trace("Failed to get chain heads", t);
       return Collections.emptyMap();
-    } finally {
-      protoArrayLock.readLock().unlock();
     }
   }
 
   // Internal
   private static SafeFuture<ProtoArray> processBlocksInStoreAtStartup(
       ReadOnlyStore store, ProtoArray protoArray) {
-    List<Bytes32> alreadyIncludedBlockRoots =
-        protoArray.getNodes().stream().map(ProtoNode::getBlockRoot).collect(Collectors.toList());
+    Set<Bytes32> alreadyIncludedBlockRoots =
+        protoArray.getNodes().stream().map(ProtoNode::getBlockRoot).collect(Collectors.toSet());
 
     SafeFuture<Void> future = SafeFuture.completedFuture(null);
     for (Bytes32 blockRoot : store.getOrderedBlockRoots()) {
@@ -220,115 +214,68 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
       UInt64 finalizedEpoch,
       List<UInt64> justifiedStateBalances,
       final List<ProposerWeighting> removedProposerWeightings) {
-    protoArrayLock.writeLock().lock();
+    protoArrayLock.lock();
     votesLock.writeLock().lock();
-    balancesLock.writeLock().lock();
     try {
-      List<Long> deltas =
+      final long[] newBalances =
+          justifiedStateBalances.stream().mapToLong(UInt64::longValue).toArray();
+      long[] deltas =
           ProtoArrayScoreCalculator.computeDeltas(
               voteUpdater,
               getTotalTrackedNodeCount(),
               protoArray::getIndexByRoot,
               balances,
-              justifiedStateBalances,
+              newBalances,
               removedProposerWeightings);
 
       protoArray.applyScoreChanges(deltas, justifiedEpoch, finalizedEpoch);
-      balances = justifiedStateBalances;
+      balances = newBalances;
 
-      return protoArray.findHead(justifiedRoot, justifiedEpoch, finalizedEpoch).getBlockRoot();
+      final int headIndex = protoArray.findHeadIndex(justifiedRoot, justifiedEpoch, finalizedEpoch);
+      publishView();
+      return protoArray.getBlockRoot(headIndex);
     } finally {
-      protoArrayLock.writeLock().unlock();
       votesLock.writeLock().unlock();
-      balancesLock.writeLock().unlock();
+      protoArrayLock.unlock();
     }
   }
 
   public void setPruneThreshold(int pruneThreshold) {
-    protoArrayLock.writeLock().lock();
+    protoArrayLock.lock();
     try {
       protoArray.setPruneThreshold(pruneThreshold);
     } finally {
-      protoArrayLock.writeLock().unlock();
+      protoArrayLock.unlock();
     }
   }
 
   public int getTotalTrackedNodeCount() {
-    protoArrayLock.readLock().lock();
-    try {
-      return protoArray.getTotalTrackedNodeCount();
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    return protoArrayView.getTotalTrackedNodeCount();
   }
 
   @Override
   public boolean contains(Bytes32 blockRoot) {
-    protoArrayLock.readLock().lock();
-    try {
-      return protoArray.contains(blockRoot);
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    return protoArrayView.contains(blockRoot);
   }
 
   @Override
   public Optional<UInt64> blockSlot(Bytes32 blockRoot) {
-    protoArrayLock.readLock().lock();
-    try {
-      return getProtoNode(blockRoot).map(ProtoNode::getBlockSlot);
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    return protoArrayView.blockSlot(blockRoot);
   }
 
   @Override
   public Optional<Bytes32> blockParentRoot(Bytes32 blockRoot) {
-    protoArrayLock.readLock().lock();
-    try {
-      return getProtoNode(blockRoot).map(ProtoNode::getParentRoot);
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    return protoArrayView.blockParentRoot(blockRoot);
   }
 
   @Override
   public Optional<Bytes32> getAncestor(final Bytes32 blockRoot, final UInt64 slot) {
-    protoArrayLock.readLock().lock();
-    try {
-      // Note: This code could be more succinct if currentNode were an Optional and we used flatMap
-      // and map but during long periods of finality this becomes a massive hot spot in the code and
-      // our performance is dominated by the time taken to create Optional instances within the map
-      // calls.
-      final Optional<ProtoNode> startingNode = getProtoNode(blockRoot);
-      if (startingNode.isEmpty()) {
-        return Optional.empty();
-      }
-      ProtoNode currentNode = startingNode.get();
-      while (currentNode.getBlockSlot().isGreaterThan(slot)) {
-        final Optional<Integer> parentIndex = currentNode.getParentIndex();
-        if (parentIndex.isEmpty()) {
-          return Optional.empty();
-        }
-        currentNode = protoArray.getNodes().get(parentIndex.get());
-      }
-      return Optional.of(currentNode.getBlockRoot());
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    return protoArrayView.getAncestor(blockRoot, slot);
   }
 
   @Override
   public Set<Bytes32> getBlockRootsAtSlot(final UInt64 slot) {
-    protoArrayLock.readLock().lock();
-    try {
-      return protoArray.getNodes().stream()
-          .filter(protoNode -> protoNode.getBlockSlot().equals(slot))
-          .map(ProtoNode::getBlockRoot)
-          .collect(Collectors.toSet());
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    return protoArrayView.getBlockRootsAtSlot(slot);
   }
 
   /**
@@ -352,45 +299,12 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
    */
   @Override
   public void processHashesInChainWhile(final Bytes32 head, HaltableNodeProcessor nodeProcessor) {
-    protoArrayLock.readLock().lock();
-    try {
-      final Optional<ProtoNode> startingNode = getProtoNode(head);
-      if (startingNode.isEmpty()) {
-        throw new IllegalArgumentException("Unknown root supplied: " + head);
-      }
-      ProtoNode currentNode = startingNode.orElseThrow();
-
-      while (protoArray.contains(currentNode.getBlockRoot())) {
-        final boolean shouldContinue =
-            nodeProcessor.process(
-                currentNode.getBlockRoot(),
-                currentNode.getBlockSlot(),
-                currentNode.getParentRoot());
-        if (!shouldContinue || currentNode.getParentIndex().isEmpty()) {
-          break;
-        }
-        currentNode = protoArray.getNodes().get(currentNode.getParentIndex().get());
-      }
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    protoArrayView.processHashesInChainWhile(head, nodeProcessor);
   }
 
   @Override
   public void processAllInOrder(final NodeProcessor nodeProcessor) {
-    protoArrayLock.readLock().lock();
-    try {
-      final Map<Bytes32, Integer> indices = protoArray.getRootIndices();
-      protoArray.getNodes().stream()
-          // Filter out nodes that could be pruned but are still in the protoarray
-          .filter(node -> indices.containsKey(node.getBlockRoot()))
-          .forEach(
-              node ->
-                  nodeProcessor.process(
-                      node.getBlockRoot(), node.getBlockSlot(), node.getParentRoot()));
-    } finally {
-      protoArrayLock.readLock().unlock();
-    }
+    protoArrayView.processAllInOrder(nodeProcessor);
   }
 
   @Override
@@ -398,13 +312,13 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
       final Collection<BlockAndCheckpointEpochs> newBlocks,
       final Set<Bytes32> removedBlockRoots,
       final Checkpoint finalizedCheckpoint) {
-    protoArrayLock.writeLock().lock();
+    protoArrayLock.lock();
     try {
       newBlocks.stream()
           .sorted(Comparator.comparing(BlockAndCheckpointEpochs::getSlot))
           .forEach(
               block ->
-                  processBlock(
+                  protoArray.onBlock(
                       block.getBlock().getSlot(),
                       block.getBlock().getRoot(),
                       block.getBlock().getParentRoot(),
@@ -413,18 +327,20 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
                       block.getCheckpointEpochs().getFinalizedEpoch()));
       removedBlockRoots.forEach(protoArray::removeBlockRoot);
       protoArray.maybePrune(finalizedCheckpoint.getRoot());
+      publishView();
     } finally {
-      protoArrayLock.writeLock().unlock();
+      protoArrayLock.unlock();
     }
     return this;
   }
 
   public void applyProposerWeighting(final ProposerWeighting proposerWeighting) {
-    protoArrayLock.writeLock().lock();
+    protoArrayLock.lock();
     try {
       protoArray.applyProposerWeighting(proposerWeighting);
+      publishView();
     } finally {
-      protoArrayLock.writeLock().unlock();
+      protoArrayLock.unlock();
     }
   }
 
@@ -436,10 +352,17 @@ public class ForkChoiceStrategy implements BlockMetadataStore, ReadOnlyForkChoic
       Bytes32 stateRoot,
       UInt64 justifiedEpoch,
       UInt64 finalizedEpoch) {
-    protoArray.onBlock(blockSlot, blockRoot, parentRoot, stateRoot, justifiedEpoch, finalizedEpoch);
+    protoArrayLock.lock();
+    try {
+      protoArray.onBlock(
+          blockSlot, blockRoot, parentRoot, stateRoot, justifiedEpoch, finalizedEpoch);
+      publishView();
+    } finally {
+      protoArrayLock.unlock();
+    }
   }
 
-  private Optional<ProtoNode> getProtoNode(Bytes32 blockRoot) {
-    return protoArray.getProtoNode(blockRoot);
+  private void publishView() {
+    protoArrayView = protoArray.createView();
   }
 }
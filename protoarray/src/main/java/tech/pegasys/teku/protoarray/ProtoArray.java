@@ -14,10 +14,11 @@
 package tech.pegasys.teku.protoarray;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,8 +28,20 @@ import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.forkchoice.ProposerWeighting;
 
+/**
+ * The proto-array fork choice tree.
+ *
+ * <p>Nodes are stored as a set of parallel arrays indexed by node index rather than as individual
+ * objects so that applying score changes and finding the head only touch primitive arrays and don't
+ * allocate. {@link ProtoNode} instances are only created when nodes are requested by callers.
+ *
+ * <p>This class is not thread safe. Writers must be synchronized externally and readers should use
+ * the immutable {@link ProtoArrayView} returned from {@link #createView()}.
+ */
 public class ProtoArray {
   private static final Logger LOG = LogManager.getLogger();
+  static final int NO_INDEX = -1;
+  private static final int INITIAL_CAPACITY = 64;
 
   private int pruneThreshold;
 
@@ -39,22 +52,47 @@ public class ProtoArray {
   private final UInt64 initialEpoch;
 
   /**
-   * Lists all the known nodes. It is guaranteed that a node will be after its parent in the list.
+   * The number of known nodes. Each of the node arrays below has an entry for every node index less
+   * than this value. It is guaranteed that a node will be after its parent in the arrays.
    *
-   * <p>The list may contain nodes which have been removed from the indices collection either
+   * <p>The arrays may contain nodes which have been removed from the indices collection either
    * because they are now before the finalized checkpoint but pruning has not yet occurred or
    * because they extended from a now-invalid chain and were removed. This avoids having to update
-   * the indices to entries in the list too often.
+   * the indices to entries in the arrays too often.
+   *
+   * <p>Entries for existing nodes in the slot, root, epoch and parent arrays are never modified
+   * once set. Pruning and growing the arrays always allocates new arrays so that views created
+   * earlier continue to see consistent data.
    */
-  private final List<ProtoNode> nodes = new ArrayList<>();
+  private int nodeCount = 0;
+
+  private long[] blockSlots = new long[INITIAL_CAPACITY];
+  private Bytes32[] blockRoots = new Bytes32[INITIAL_CAPACITY];
+  private Bytes32[] parentRoots = new Bytes32[INITIAL_CAPACITY];
+  private Bytes32[] stateRoots = new Bytes32[INITIAL_CAPACITY];
+  private long[] justifiedEpochs = new long[INITIAL_CAPACITY];
+  private long[] finalizedEpochs = new long[INITIAL_CAPACITY];
+  private int[] parentIndices = new int[INITIAL_CAPACITY];
+
+  private long[] weights = new long[INITIAL_CAPACITY];
+  private int[] bestChildIndices = new int[INITIAL_CAPACITY];
+  private int[] bestDescendantIndices = new int[INITIAL_CAPACITY];
+
+  /**
+   * The copy of bestChildIndices given to the last created view. Views only need their own copy of
+   * the best child indices because they are updated in place, so it is reused until they change.
+   */
+  private int[] publishedBestChildIndices;
+
+  private boolean bestChildIndicesChanged = true;
 
   /**
    * protoArrayIndices allows root lookup to retrieve indices of protoNodes without looking through
-   * the nodes list
+   * the node arrays
    *
-   * <p>Needs to be Maintained when nodes are added or removed from the nodes list.
+   * <p>Needs to be Maintained when nodes are added or removed from the node arrays.
    */
-  private final ProtoArrayIndices indices = new ProtoArrayIndices();
+  private ProtoArrayIndices indices = new ProtoArrayIndices();
 
   ProtoArray(
       int pruneThreshold, UInt64 justifiedEpoch, UInt64 finalizedEpoch, UInt64 initialEpoch) {
@@ -77,25 +115,61 @@ public class ProtoArray {
   }
 
   public Optional<ProtoNode> getProtoNode(final Bytes32 root) {
-    return indices
-        .get(root)
-        .flatMap(
-            blockIndex -> {
-              if (blockIndex < getTotalTrackedNodeCount()) {
-                return Optional.of(nodes.get(blockIndex));
-              }
-              return Optional.empty();
-            });
+    final int blockIndex = indices.getOrDefault(root, NO_INDEX);
+    if (blockIndex == NO_INDEX || blockIndex >= nodeCount) {
+      return Optional.empty();
+    }
+    return Optional.of(createProtoNode(blockIndex));
   }
 
+  /**
+   * Creates a list of {@link ProtoNode} for every node currently in the array. Changes to the
+   * returned list are not reflected in this array.
+   *
+   * @return the current nodes
+   */
   public List<ProtoNode> getNodes() {
-    return nodes;
+    final List<ProtoNode> nodes = new ArrayList<>(nodeCount);
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      nodes.add(createProtoNode(nodeIndex));
+    }
+    return Collections.unmodifiableList(nodes);
   }
 
   public void setPruneThreshold(int pruneThreshold) {
     this.pruneThreshold = pruneThreshold;
   }
 
+  /**
+   * Creates an immutable view of the current nodes which can safely be read from other threads
+   * while this array continues to be updated.
+   *
+   * @return the view of the current state of the array
+   */
+  ProtoArrayView createView() {
+    return new ProtoArrayView(
+        nodeCount,
+        blockSlots,
+        blockRoots,
+        parentRoots,
+        justifiedEpochs,
+        finalizedEpochs,
+        parentIndices,
+        getPublishedBestChildIndices(),
+        indices,
+        justifiedEpoch.longValue(),
+        finalizedEpoch.longValue(),
+        initialEpoch.longValue());
+  }
+
+  private int[] getPublishedBestChildIndices() {
+    if (bestChildIndicesChanged) {
+      publishedBestChildIndices = Arrays.copyOf(bestChildIndices, nodeCount);
+      bestChildIndicesChanged = false;
+    }
+    return publishedBestChildIndices;
+  }
+
   /**
    * Register a block with the fork choice. It is only sane to supply a `None` parent for the
    * genesis block.
@@ -117,25 +191,24 @@ public class ProtoArray {
       return;
     }
 
-    int nodeIndex = getTotalTrackedNodeCount();
-
-    ProtoNode node =
-        new ProtoNode(
-            blockSlot,
-            stateRoot,
-            blockRoot,
-            parentRoot,
-            indices.get(parentRoot),
-            justifiedEpoch,
-            finalizedEpoch,
-            UInt64.ZERO,
-            Optional.empty(),
-            Optional.empty());
+    ensureCapacity(nodeCount + 1);
+    final int nodeIndex = nodeCount;
+    blockSlots[nodeIndex] = blockSlot.longValue();
+    blockRoots[nodeIndex] = blockRoot;
+    parentRoots[nodeIndex] = parentRoot;
+    stateRoots[nodeIndex] = stateRoot;
+    justifiedEpochs[nodeIndex] = justifiedEpoch.longValue();
+    finalizedEpochs[nodeIndex] = finalizedEpoch.longValue();
+    parentIndices[nodeIndex] = indices.getOrDefault(parentRoot, NO_INDEX);
+    weights[nodeIndex] = 0;
+    bestChildIndices[nodeIndex] = NO_INDEX;
+    bestDescendantIndices[nodeIndex] = NO_INDEX;
+    bestChildIndicesChanged = true;
 
     indices.add(blockRoot, nodeIndex);
-    nodes.add(node);
+    nodeCount++;
 
-    updateBestDescendantOfParent(node, nodeIndex);
+    updateBestDescendantOfParent(nodeIndex);
   }
 
   /**
@@ -145,51 +218,63 @@ public class ProtoArray {
    * @return the best node according to fork choice
    */
   public ProtoNode findHead(Bytes32 justifiedRoot, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
+    return createProtoNode(findHeadIndex(justifiedRoot, justifiedEpoch, finalizedEpoch));
+  }
+
+  int findHeadIndex(Bytes32 justifiedRoot, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
     if (!this.justifiedEpoch.equals(justifiedEpoch)
         || !this.finalizedEpoch.equals(finalizedEpoch)) {
       this.justifiedEpoch = justifiedEpoch;
       this.finalizedEpoch = finalizedEpoch;
       // Justified or finalized epoch changed we we have to re-evaluate all best descendants.
-      applyToNodes(this::updateBestDescendantOfParent);
+      for (int nodeIndex = nodeCount - 1; nodeIndex >= 0; nodeIndex--) {
+        if (!isGenesisNode(nodeIndex)) {
+          updateBestDescendantOfParent(nodeIndex);
+        }
+      }
     }
-    int justifiedIndex =
-        indices
-            .get(justifiedRoot)
-            .orElseThrow(
-                () ->
-                    new IllegalArgumentException(
-                        "ProtoArray: Unknown justified root " + justifiedRoot.toHexString()));
-
-    ProtoNode justifiedNode =
-        checkNotNull(nodes.get(justifiedIndex), "ProtoArray: Unknown justified index");
+    final int justifiedIndex = indices.getOrDefault(justifiedRoot, NO_INDEX);
+    if (justifiedIndex == NO_INDEX) {
+      throw new IllegalArgumentException(
+          "ProtoArray: Unknown justified root " + justifiedRoot.toHexString());
+    }
+    checkState(justifiedIndex < nodeCount, "ProtoArray: Unknown justified index");
 
-    int bestDescendantIndex = justifiedNode.getBestDescendantIndex().orElse(justifiedIndex);
-    ProtoNode bestNode =
-        checkNotNull(nodes.get(bestDescendantIndex), "ProtoArray: Unknown best descendant index");
+    int bestNodeIndex =
+        bestDescendantIndices[justifiedIndex] != NO_INDEX
+            ? bestDescendantIndices[justifiedIndex]
+            : justifiedIndex;
 
     // Normally the best descendant index would point straight to chain head, but onBlock only
     // updates the parent, not all the ancestors. When applyScoreChanges runs it propagates the
     // change back up and everything works, but we run findHead to determine if the new block should
     // become the best head so need to follow down the chain.
-    while (bestNode.getBestDescendantIndex().isPresent()) {
-      bestDescendantIndex = bestNode.getBestDescendantIndex().get();
-      bestNode =
-          checkNotNull(nodes.get(bestDescendantIndex), "ProtoArray: Unknown best descendant index");
+    while (bestDescendantIndices[bestNodeIndex] != NO_INDEX) {
+      bestNodeIndex = bestDescendantIndices[bestNodeIndex];
+      checkState(bestNodeIndex < nodeCount, "ProtoArray: Unknown best descendant index");
     }
 
     // Perform a sanity check that the node is indeed valid to be the head.
-    if (!nodeIsViableForHead(bestNode)) {
+    if (!nodeIsViableForHead(bestNodeIndex)) {
       throw new RuntimeException("ProtoArray: Best node is not viable for head");
     }
 
-    return bestNode;
+    return bestNodeIndex;
+  }
+
+  Bytes32 getBlockRoot(final int nodeIndex) {
+    return blockRoots[nodeIndex];
+  }
+
+  UInt64 getBlockSlot(final int nodeIndex) {
+    return UInt64.fromLongBits(blockSlots[nodeIndex]);
   }
 
   /**
    * Iterate backwards through the array, touching all nodes and their parents and potentially the
    * bestChildIndex of each parent.
    *
-   * <p>The structure of the `nodes` array ensures that the child of each node is always touched
+   * <p>The structure of the node arrays ensures that the child of each node is always touched
    * before its parent.
    *
    * <p>For each node, the following is done:
@@ -203,12 +288,12 @@ public class ProtoArray {
    *       descendant.
    * </ul>
    *
-   * @param deltas
+   * @param deltas the weight change for each node, modified in place as deltas are propagated
    * @param justifiedEpoch
    * @param finalizedEpoch
    */
-  public void applyScoreChanges(List<Long> deltas, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
-    checkArgument(deltas.size() == getTotalTrackedNodeCount(), "ProtoArray: Invalid delta length");
+  public void applyScoreChanges(long[] deltas, UInt64 justifiedEpoch, UInt64 finalizedEpoch) {
+    checkArgument(deltas.length == getTotalTrackedNodeCount(), "ProtoArray: Invalid delta length");
 
     if (!justifiedEpoch.equals(this.justifiedEpoch)
         || !finalizedEpoch.equals(this.finalizedEpoch)) {
@@ -220,7 +305,7 @@ public class ProtoArray {
   }
 
   public int getTotalTrackedNodeCount() {
-    return nodes.size();
+    return nodeCount;
   }
 
   /**
@@ -235,13 +320,11 @@ public class ProtoArray {
    * @param finalizedRoot
    */
   public void maybePrune(Bytes32 finalizedRoot) {
-    int finalizedIndex =
-        indices
-            .get(finalizedRoot)
-            .orElseThrow(
-                () ->
-                    new IllegalArgumentException(
-                        "ProtoArray: Finalized root is unknown " + finalizedRoot.toHexString()));
+    final int finalizedIndex = indices.getOrDefault(finalizedRoot, NO_INDEX);
+    if (finalizedIndex == NO_INDEX) {
+      throw new IllegalArgumentException(
+          "ProtoArray: Finalized root is unknown " + finalizedRoot.toHexString());
+    }
 
     if (finalizedIndex < pruneThreshold) {
       // Pruning at small numbers incurs more cost than benefit.
@@ -249,49 +332,58 @@ public class ProtoArray {
     }
 
     // Remove the `indices` key/values for all the to-be-deleted nodes.
+    // A new indices instance is used so existing views are not affected.
+    final ProtoArrayIndices prunedIndices = indices.copy();
     for (int nodeIndex = 0; nodeIndex < finalizedIndex; nodeIndex++) {
-      Bytes32 root =
-          checkNotNull(nodes.get(nodeIndex), "ProtoArray: Invalid node index").getBlockRoot();
-      indices.remove(root);
+      prunedIndices.remove(blockRoots[nodeIndex]);
     }
+    prunedIndices.offsetIndexes(finalizedIndex);
 
     // Drop all the nodes prior to finalization.
-    nodes.subList(0, finalizedIndex).clear();
-
-    indices.offsetIndexes(finalizedIndex);
+    final int remainingNodeCount = nodeCount - finalizedIndex;
+    final int capacity = Math.max(INITIAL_CAPACITY, blockSlots.length - finalizedIndex);
+    blockSlots = Arrays.copyOfRange(blockSlots, finalizedIndex, finalizedIndex + capacity);
+    blockRoots = Arrays.copyOfRange(blockRoots, finalizedIndex, finalizedIndex + capacity);
+    parentRoots = Arrays.copyOfRange(parentRoots, finalizedIndex, finalizedIndex + capacity);
+    stateRoots = Arrays.copyOfRange(stateRoots, finalizedIndex, finalizedIndex + capacity);
+    justifiedEpochs =
+        Arrays.copyOfRange(justifiedEpochs, finalizedIndex, finalizedIndex + capacity);
+    finalizedEpochs =
+        Arrays.copyOfRange(finalizedEpochs, finalizedIndex, finalizedIndex + capacity);
+    parentIndices = Arrays.copyOfRange(parentIndices, finalizedIndex, finalizedIndex + capacity);
+    weights = Arrays.copyOfRange(weights, finalizedIndex, finalizedIndex + capacity);
+    bestChildIndices =
+        Arrays.copyOfRange(bestChildIndices, finalizedIndex, finalizedIndex + capacity);
+    bestDescendantIndices =
+        Arrays.copyOfRange(bestDescendantIndices, finalizedIndex, finalizedIndex + capacity);
+    nodeCount = remainingNodeCount;
+    indices = prunedIndices;
+    bestChildIndicesChanged = true;
 
     // Iterate through all the existing nodes and adjust their indices to match the
     // new layout of nodes.
-    for (ProtoNode node : nodes) {
-      node.getParentIndex()
-          .ifPresent(
-              parentIndex -> {
-                // If node.parentIndex is less than finalizedIndex, set is to None.
-                if (parentIndex < finalizedIndex) {
-                  node.setParentIndex(Optional.empty());
-                } else {
-                  node.setParentIndex(Optional.of(parentIndex - finalizedIndex));
-                }
-              });
-
-      node.getBestChildIndex()
-          .ifPresent(
-              bestChildIndex -> {
-                int newBestChildIndex = bestChildIndex - finalizedIndex;
-                checkState(
-                    newBestChildIndex >= 0, "ProtoArray: New best child index is less than 0");
-                node.setBestChildIndex(Optional.of(newBestChildIndex));
-              });
-
-      node.getBestDescendantIndex()
-          .ifPresent(
-              bestDescendantIndex -> {
-                int newBestDescendantIndex = bestDescendantIndex - finalizedIndex;
-                checkState(
-                    newBestDescendantIndex >= 0,
-                    "ProtoArray: New best descendant index is less than 0");
-                node.setBestDescendantIndex(Optional.of(newBestDescendantIndex));
-              });
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      final int parentIndex = parentIndices[nodeIndex];
+      if (parentIndex != NO_INDEX) {
+        // If node.parentIndex is less than finalizedIndex, set is to None.
+        parentIndices[nodeIndex] =
+            parentIndex < finalizedIndex ? NO_INDEX : parentIndex - finalizedIndex;
+      }
+
+      final int bestChildIndex = bestChildIndices[nodeIndex];
+      if (bestChildIndex != NO_INDEX) {
+        final int newBestChildIndex = bestChildIndex - finalizedIndex;
+        checkState(newBestChildIndex >= 0, "ProtoArray: New best child index is less than 0");
+        bestChildIndices[nodeIndex] = newBestChildIndex;
+      }
+
+      final int bestDescendantIndex = bestDescendantIndices[nodeIndex];
+      if (bestDescendantIndex != NO_INDEX) {
+        final int newBestDescendantIndex = bestDescendantIndex - finalizedIndex;
+        checkState(
+            newBestDescendantIndex >= 0, "ProtoArray: New best descendant index is less than 0");
+        bestDescendantIndices[nodeIndex] = newBestDescendantIndex;
+      }
     }
   }
 
@@ -317,100 +409,111 @@ public class ProtoArray {
    */
   @SuppressWarnings("StatementWithEmptyBody")
   private void maybeUpdateBestChildAndDescendant(int parentIndex, int childIndex) {
-    ProtoNode child = nodes.get(childIndex);
-    ProtoNode parent = nodes.get(parentIndex);
-
-    boolean childLeadsToViableHead = nodeLeadsToViableHead(child);
-
-    parent
-        .getBestChildIndex()
-        .ifPresentOrElse(
-            bestChildIndex -> {
-              if (bestChildIndex.equals(childIndex) && !childLeadsToViableHead) {
-                // If the child is already the best-child of the parent but it's not viable for
-                // the head, remove it.
-                changeToNone(parent);
-              } else if (bestChildIndex.equals(childIndex)) {
-                // If the child is the best-child already, set it again to ensure that the
-                // best-descendant of the parent is updated.
-                changeToChild(parent, childIndex);
-              } else {
-                ProtoNode bestChild = nodes.get(bestChildIndex);
-
-                boolean bestChildLeadsToViableHead = nodeLeadsToViableHead(bestChild);
-
-                if (childLeadsToViableHead && !bestChildLeadsToViableHead) {
-                  // The child leads to a viable head, but the current best-child doesn't.
-                  changeToChild(parent, childIndex);
-                } else if (!childLeadsToViableHead && bestChildLeadsToViableHead) {
-                  // The best child leads to a viable head, but the child doesn't.
-                  // No change.
-                } else if (child.getWeight().equals(bestChild.getWeight())) {
-                  // Tie-breaker of equal weights by root.
-                  if (child
-                          .getBlockRoot()
-                          .toHexString()
-                          .compareTo(bestChild.getBlockRoot().toHexString())
-                      >= 0) {
-                    changeToChild(parent, childIndex);
-                  } else {
-                    // No change.
-                  }
-                } else {
-                  // Choose the winner by weight.
-                  if (child.getWeight().compareTo(bestChild.getWeight()) >= 0) {
-                    changeToChild(parent, childIndex);
-                  } else {
-                    // No change.
-                  }
-                }
-              }
-            },
-            () -> {
-              if (childLeadsToViableHead) {
-                // There is no current best-child and the child is viable.
-                changeToChild(parent, childIndex);
-              } else {
-                // There is no current best-child but the child is not not viable.
-                // No change.
-              }
-            });
+    final boolean childLeadsToViableHead = nodeLeadsToViableHead(childIndex);
+    final int bestChildIndex = bestChildIndices[parentIndex];
+
+    if (bestChildIndex == NO_INDEX) {
+      if (childLeadsToViableHead) {
+        // There is no current best-child and the child is viable.
+        changeToChild(parentIndex, childIndex);
+      } else {
+        // There is no current best-child but the child is not not viable.
+        // No change.
+      }
+    } else if (bestChildIndex == childIndex && !childLeadsToViableHead) {
+      // If the child is already the best-child of the parent but it's not viable for
+      // the head, remove it.
+      changeToNone(parentIndex);
+    } else if (bestChildIndex == childIndex) {
+      // If the child is the best-child already, set it again to ensure that the
+      // best-descendant of the parent is updated.
+      changeToChild(parentIndex, childIndex);
+    } else {
+      final boolean bestChildLeadsToViableHead = nodeLeadsToViableHead(bestChildIndex);
+
+      if (childLeadsToViableHead && !bestChildLeadsToViableHead) {
+        // The child leads to a viable head, but the current best-child doesn't.
+        changeToChild(parentIndex, childIndex);
+      } else if (!childLeadsToViableHead && bestChildLeadsToViableHead) {
+        // The best child leads to a viable head, but the child doesn't.
+        // No change.
+      } else if (weights[childIndex] == weights[bestChildIndex]) {
+        // Tie-breaker of equal weights by root.
+        if (compareRoots(blockRoots[childIndex], blockRoots[bestChildIndex]) >= 0) {
+          changeToChild(parentIndex, childIndex);
+        } else {
+          // No change.
+        }
+      } else {
+        // Choose the winner by weight.
+        if (Long.compareUnsigned(weights[childIndex], weights[bestChildIndex]) >= 0) {
+          changeToChild(parentIndex, childIndex);
+        } else {
+          // No change.
+        }
+      }
+    }
+  }
+
+  /**
+   * Compares roots as unsigned big-endian values, equivalent to comparing their hex strings without
+   * having to create them.
+   */
+  private static int compareRoots(final Bytes32 a, final Bytes32 b) {
+    for (int i = 0; i < Bytes32.SIZE; i++) {
+      final int result =
+          Integer.compare(Byte.toUnsignedInt(a.get(i)), Byte.toUnsignedInt(b.get(i)));
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
   }
 
   /**
    * Helper for maybeUpdateBestChildAndDescendant
    *
-   * @param parent
+   * @param parentIndex
    * @param childIndex
    */
-  private void changeToChild(ProtoNode parent, int childIndex) {
-    ProtoNode child = nodes.get(childIndex);
-    parent.setBestChildIndex(Optional.of(childIndex));
-    parent.setBestDescendantIndex(Optional.of(child.getBestDescendantIndex().orElse(childIndex)));
+  private void changeToChild(int parentIndex, int childIndex) {
+    setBestChildIndex(parentIndex, childIndex);
+    bestDescendantIndices[parentIndex] =
+        bestDescendantIndices[childIndex] != NO_INDEX
+            ? bestDescendantIndices[childIndex]
+            : childIndex;
   }
 
   /**
    * Helper for maybeUpdateBestChildAndDescendant
    *
-   * @param parent
+   * @param parentIndex
    */
-  private void changeToNone(ProtoNode parent) {
-    parent.setBestChildIndex(Optional.empty());
-    parent.setBestDescendantIndex(Optional.empty());
+  private void changeToNone(int parentIndex) {
+    setBestChildIndex(parentIndex, NO_INDEX);
+    bestDescendantIndices[parentIndex] = NO_INDEX;
+  }
+
+  private void setBestChildIndex(final int parentIndex, final int childIndex) {
+    if (bestChildIndices[parentIndex] != childIndex) {
+      bestChildIndices[parentIndex] = childIndex;
+      bestChildIndicesChanged = true;
+    }
   }
 
   /**
    * Indicates if the node itself is viable for the head, or if it's best descendant is viable for
    * the head.
    *
-   * @param node
+   * @param nodeIndex
    * @return
    */
-  private boolean nodeLeadsToViableHead(ProtoNode node) {
-    boolean bestDescendantIsViableForHead =
-        node.getBestDescendantIndex().map(nodes::get).map(this::nodeIsViableForHead).orElse(false);
+  private boolean nodeLeadsToViableHead(int nodeIndex) {
+    final int bestDescendantIndex = bestDescendantIndices[nodeIndex];
+    final boolean bestDescendantIsViableForHead =
+        bestDescendantIndex != NO_INDEX && nodeIsViableForHead(bestDescendantIndex);
 
-    return bestDescendantIsViableForHead || nodeIsViableForHead(node);
+    return bestDescendantIsViableForHead || nodeIsViableForHead(nodeIndex);
   }
 
   /**
@@ -425,8 +528,31 @@ public class ProtoArray {
    * @return
    */
   public boolean nodeIsViableForHead(ProtoNode node) {
-    return (node.getJustifiedEpoch().equals(justifiedEpoch) || justifiedEpoch.equals(initialEpoch))
-        && (node.getFinalizedEpoch().equals(finalizedEpoch) || finalizedEpoch.equals(initialEpoch));
+    return isViableForHead(
+        node.getJustifiedEpoch().longValue(),
+        node.getFinalizedEpoch().longValue(),
+        justifiedEpoch.longValue(),
+        finalizedEpoch.longValue(),
+        initialEpoch.longValue());
+  }
+
+  private boolean nodeIsViableForHead(int nodeIndex) {
+    return isViableForHead(
+        justifiedEpochs[nodeIndex],
+        finalizedEpochs[nodeIndex],
+        justifiedEpoch.longValue(),
+        finalizedEpoch.longValue(),
+        initialEpoch.longValue());
+  }
+
+  static boolean isViableForHead(
+      final long nodeJustifiedEpoch,
+      final long nodeFinalizedEpoch,
+      final long justifiedEpoch,
+      final long finalizedEpoch,
+      final long initialEpoch) {
+    return (nodeJustifiedEpoch == justifiedEpoch || justifiedEpoch == initialEpoch)
+        && (nodeFinalizedEpoch == finalizedEpoch || finalizedEpoch == initialEpoch);
   }
 
   public UInt64 getJustifiedEpoch() {
@@ -454,62 +580,110 @@ public class ProtoArray {
   }
 
   public void applyProposerWeighting(final ProposerWeighting weighting) {
-    Optional<Integer> nodeIndex = indices.get(weighting.getTargetRoot());
-    if (nodeIndex.isEmpty()) {
+    int nodeIndex = indices.getOrDefault(weighting.getTargetRoot(), NO_INDEX);
+    if (nodeIndex == NO_INDEX) {
       LOG.warn("Applying proposer weighting for unknown block root {}", weighting.getTargetRoot());
       return;
     }
-    while (nodeIndex.isPresent()) {
-      final ProtoNode protoNode = nodes.get(nodeIndex.get());
-
+    while (nodeIndex != NO_INDEX) {
       // Genesis block is fixed so we don't apply scores to it
-      if (protoNode.getBlockRoot().equals(Bytes32.ZERO)) {
+      if (isGenesisNode(nodeIndex)) {
         break;
       }
 
-      protoNode.adjustWeight(weighting.getWeight().longValue());
-      updateBestDescendantOfParent(protoNode, nodeIndex.get());
-      nodeIndex = protoNode.getParentIndex();
+      adjustWeight(nodeIndex, weighting.getWeight().longValue());
+      updateBestDescendantOfParent(nodeIndex);
+      nodeIndex = parentIndices[nodeIndex];
+    }
+  }
+
+  private void applyDeltas(final long[] deltas) {
+    for (int nodeIndex = nodeCount - 1; nodeIndex >= 0; nodeIndex--) {
+      // No point processing the genesis block.
+      if (isGenesisNode(nodeIndex)) {
+        continue;
+      }
+      final long nodeDelta = deltas[nodeIndex];
+      adjustWeight(nodeIndex, nodeDelta);
+
+      final int parentIndex = parentIndices[nodeIndex];
+      if (parentIndex != NO_INDEX) {
+        deltas[parentIndex] += nodeDelta;
+      }
+    }
+    for (int nodeIndex = nodeCount - 1; nodeIndex >= 0; nodeIndex--) {
+      if (!isGenesisNode(nodeIndex)) {
+        updateBestDescendantOfParent(nodeIndex);
+      }
     }
   }
 
-  private void applyDeltas(final List<Long> deltas) {
-    applyToNodes((node, nodeIndex) -> applyDelta(deltas, node, nodeIndex));
-    applyToNodes(this::updateBestDescendantOfParent);
+  private void adjustWeight(final int nodeIndex, final long delta) {
+    final long weight = weights[nodeIndex];
+    if (delta < 0 && Long.compareUnsigned(-delta, weight) > 0) {
+      throw new RuntimeException(
+          "ProtoNode: Delta to be subtracted is greater than node weight for block "
+              + blockRoots[nodeIndex]
+              + " ("
+              + getBlockSlot(nodeIndex)
+              + "). Attempting to subtract "
+              + UInt64.fromLongBits(-delta)
+              + " from "
+              + UInt64.fromLongBits(weight));
+    }
+    if (delta > 0 && Long.compareUnsigned(delta, UInt64.MAX_VALUE.longValue() - weight) > 0) {
+      throw new ArithmeticException("uint64 overflow");
+    }
+    weights[nodeIndex] = weight + delta;
   }
 
-  private void updateBestDescendantOfParent(final ProtoNode node, final int nodeIndex) {
-    node.getParentIndex()
-        .ifPresent(parentIndex -> maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex));
+  private boolean isGenesisNode(final int nodeIndex) {
+    return blockRoots[nodeIndex].equals(Bytes32.ZERO);
   }
 
-  private void applyDelta(final List<Long> deltas, final ProtoNode node, final int nodeIndex) {
-    long nodeDelta = deltas.get(nodeIndex);
-    node.adjustWeight(nodeDelta);
+  private void updateBestDescendantOfParent(final int nodeIndex) {
+    final int parentIndex = parentIndices[nodeIndex];
+    if (parentIndex != NO_INDEX) {
+      maybeUpdateBestChildAndDescendant(parentIndex, nodeIndex);
+    }
+  }
 
-    if (node.getParentIndex().isPresent()) {
-      int parentIndex = node.getParentIndex().get();
-      deltas.set(parentIndex, deltas.get(parentIndex) + nodeDelta);
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity <= blockSlots.length) {
+      return;
     }
+    final int capacity = Math.max(requiredCapacity, blockSlots.length * 2);
+    blockSlots = Arrays.copyOf(blockSlots, capacity);
+    blockRoots = Arrays.copyOf(blockRoots, capacity);
+    parentRoots = Arrays.copyOf(parentRoots, capacity);
+    stateRoots = Arrays.copyOf(stateRoots, capacity);
+    justifiedEpochs = Arrays.copyOf(justifiedEpochs, capacity);
+    finalizedEpochs = Arrays.copyOf(finalizedEpochs, capacity);
+    parentIndices = Arrays.copyOf(parentIndices, capacity);
+    weights = Arrays.copyOf(weights, capacity);
+    bestChildIndices = Arrays.copyOf(bestChildIndices, capacity);
+    bestDescendantIndices = Arrays.copyOf(bestDescendantIndices, capacity);
   }
 
-  private void applyToNodes(final NodeVisitor action) {
-    for (int nodeIndex = getTotalTrackedNodeCount() - 1; nodeIndex >= 0; nodeIndex--) {
-      final ProtoNode node = nodes.get(nodeIndex);
+  private ProtoNode createProtoNode(final int nodeIndex) {
+    return new ProtoNode(
+        getBlockSlot(nodeIndex),
+        stateRoots[nodeIndex],
+        blockRoots[nodeIndex],
+        parentRoots[nodeIndex],
+        toOptionalIndex(parentIndices[nodeIndex]),
+        UInt64.fromLongBits(justifiedEpochs[nodeIndex]),
+        UInt64.fromLongBits(finalizedEpochs[nodeIndex]),
+        UInt64.fromLongBits(weights[nodeIndex]),
+        toOptionalIndex(bestChildIndices[nodeIndex]),
+        toOptionalIndex(bestDescendantIndices[nodeIndex]));
+  }
 
-      // No point processing the genesis block.
-      if (node.getBlockRoot().equals(Bytes32.ZERO)) {
-        continue;
-      }
-      action.onNode(node, nodeIndex);
-    }
+  private static Optional<Integer> toOptionalIndex(final int index) {
+    return index == NO_INDEX ? Optional.empty() : Optional.of(index);
   }
 
   public Map<Bytes32, Integer> getRootIndices() {
     return indices.getRootIndices();
   }
-
-  private interface NodeVisitor {
-    void onNode(ProtoNode node, int nodeIndex);
-  }
 }
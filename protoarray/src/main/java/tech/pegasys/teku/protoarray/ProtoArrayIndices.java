@@ -15,13 +15,14 @@ package tech.pegasys.teku.protoarray;
 
 import static com.google.common.base.Preconditions.checkState;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class ProtoArrayIndices {
-  private final Map<Bytes32, Integer> rootIndices = new HashMap<>();
+  // Concurrent so that views of the protoarray can read indices while new blocks are added
+  private final Map<Bytes32, Integer> rootIndices = new ConcurrentHashMap<>();
 
   public boolean contains(final Bytes32 root) {
     return rootIndices.containsKey(root);
@@ -35,6 +36,16 @@ public class ProtoArrayIndices {
     return Optional.ofNullable(rootIndices.get(root));
   }
 
+  public int getOrDefault(final Bytes32 root, final int defaultIndex) {
+    return rootIndices.getOrDefault(root, defaultIndex);
+  }
+
+  public ProtoArrayIndices copy() {
+    final ProtoArrayIndices copy = new ProtoArrayIndices();
+    copy.rootIndices.putAll(rootIndices);
+    return copy;
+  }
+
   public void remove(final Bytes32 root) {
     rootIndices.remove(root);
   }
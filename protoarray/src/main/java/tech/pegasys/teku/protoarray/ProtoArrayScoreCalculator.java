@@ -18,10 +18,10 @@ import static java.lang.Math.addExact;
 import static java.lang.Math.subtractExact;
 import static java.lang.Math.toIntExact;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,7 +35,7 @@ class ProtoArrayScoreCalculator {
   private static final Logger LOG = LogManager.getLogger();
 
   /**
-   * Returns a list of `deltas`, where there is one delta for each of the indices in
+   * Returns an array of `deltas`, where there is one delta for each of the indices in
    * `0..indices.size()`.
    *
    * <p>The deltas are formed by a change between `oldBalances` and `newBalances`, and/or a change
@@ -49,16 +49,21 @@ class ProtoArrayScoreCalculator {
    *       is always valid).
    * </ul>
    */
-  static List<Long> computeDeltas(
+  static long[] computeDeltas(
       VoteUpdater store,
       int protoArraySize,
       Function<Bytes32, Optional<Integer>> getIndexByRoot,
-      List<UInt64> oldBalances,
-      List<UInt64> newBalances,
+      long[] oldBalances,
+      long[] newBalances,
       List<ProposerWeighting> removedProposerWeightings) {
-    List<Long> deltas = new ArrayList<>(Collections.nCopies(protoArraySize, 0L));
+    long[] deltas = new long[protoArraySize];
 
-    for (UInt64 validatorIndex : store.getVotedValidatorIndices()) {
+    // If balances haven't changed, only votes which moved to a different root affect the weights
+    final Set<UInt64> validatorIndices =
+        Arrays.equals(oldBalances, newBalances)
+            ? store.getValidatorIndicesWithChangedVotes()
+            : store.getVotedValidatorIndices();
+    for (UInt64 validatorIndex : validatorIndices) {
       VoteTracker vote = store.getVote(validatorIndex);
 
       // There is no need to create a score change if the validator has never voted
@@ -71,18 +76,16 @@ class ProtoArrayScoreCalculator {
       int validatorIndexInt = toIntExact(validatorIndex.longValue());
       // If the validator was not included in the oldBalances (i.e. it did not exist yet)
       // then say its balance was zero.
-      UInt64 oldBalance =
-          oldBalances.size() > validatorIndexInt ? oldBalances.get(validatorIndexInt) : UInt64.ZERO;
+      long oldBalance = oldBalances.length > validatorIndexInt ? oldBalances[validatorIndexInt] : 0;
 
       // If the validator vote is not known in the newBalances, then use a balance of zero.
       //
       // It is possible that there is a vote for an unknown validator if we change our
       // justified state to a new state with a higher epoch that is on a different fork
       // because that may have on-boarded less validators than the prior fork.
-      UInt64 newBalance =
-          newBalances.size() > validatorIndexInt ? newBalances.get(validatorIndexInt) : UInt64.ZERO;
+      long newBalance = newBalances.length > validatorIndexInt ? newBalances[validatorIndexInt] : 0;
 
-      if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || !oldBalance.equals(newBalance)) {
+      if (!vote.getCurrentRoot().equals(vote.getNextRoot()) || oldBalance != newBalance) {
         subtractBalance(getIndexByRoot, deltas, vote.getCurrentRoot(), oldBalance);
         addBalance(getIndexByRoot, deltas, vote.getNextRoot(), newBalance);
 
@@ -95,15 +98,18 @@ class ProtoArrayScoreCalculator {
     removedProposerWeightings.forEach(
         weighting ->
             subtractBalance(
-                getIndexByRoot, deltas, weighting.getTargetRoot(), weighting.getWeight()));
+                getIndexByRoot,
+                deltas,
+                weighting.getTargetRoot(),
+                weighting.getWeight().longValue()));
     return deltas;
   }
 
   private static void addBalance(
       final Function<Bytes32, Optional<Integer>> getIndexByRoot,
-      final List<Long> deltas,
+      final long[] deltas,
       final Bytes32 targetRoot,
-      final UInt64 balanceToAdd) {
+      final long balanceToAdd) {
     // We ignore the vote if it is not known in `indices`. We assume that it is outside
     // of our tree (i.e. pre-finalization) and therefore not interesting.
     getIndexByRoot
@@ -111,17 +117,16 @@ class ProtoArrayScoreCalculator {
         .ifPresent(
             nextDeltaIndex -> {
               checkState(
-                  nextDeltaIndex < deltas.size(), "ProtoArrayForkChoice: Invalid node delta index");
-              long delta = addExact(deltas.get(nextDeltaIndex), balanceToAdd.longValue());
-              deltas.set(nextDeltaIndex, delta);
+                  nextDeltaIndex < deltas.length, "ProtoArrayForkChoice: Invalid node delta index");
+              deltas[nextDeltaIndex] = addExact(deltas[nextDeltaIndex], balanceToAdd);
             });
   }
 
   private static void subtractBalance(
       final Function<Bytes32, Optional<Integer>> getIndexByRoot,
-      final List<Long> deltas,
+      final long[] deltas,
       final Bytes32 targetRoot,
-      final UInt64 balanceToRemove) {
+      final long balanceToRemove) {
 
     // We ignore the change if it is not known in `indices`. We assume that it is outside
     // of our tree (i.e. pre-finalization) and therefore not interesting.
@@ -130,11 +135,9 @@ class ProtoArrayScoreCalculator {
         .ifPresent(
             currentDeltaIndex -> {
               checkState(
-                  currentDeltaIndex < deltas.size(),
+                  currentDeltaIndex < deltas.length,
                   "ProtoArrayForkChoice: Invalid node delta index");
-              long delta =
-                  subtractExact(deltas.get(currentDeltaIndex), balanceToRemove.longValue());
-              deltas.set(currentDeltaIndex, delta);
+              deltas[currentDeltaIndex] = subtractExact(deltas[currentDeltaIndex], balanceToRemove);
             });
   }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.protoarray;
+
+import static tech.pegasys.teku.protoarray.ProtoArray.NO_INDEX;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.protoarray.BlockMetadataStore.HaltableNodeProcessor;
+import tech.pegasys.teku.protoarray.BlockMetadataStore.NodeProcessor;
+
+/**
+ * An immutable view of a {@link ProtoArray} at a point in time.
+ *
+ * <p>The view shares the node arrays with the protoarray it was created from. This is safe because
+ * the protoarray only ever appends to those arrays beyond the node count captured here or replaces
+ * them entirely, so a view can be read from any thread without locking.
+ */
+class ProtoArrayView {
+  private final int nodeCount;
+  private final long[] blockSlots;
+  private final Bytes32[] blockRoots;
+  private final Bytes32[] parentRoots;
+  private final long[] justifiedEpochs;
+  private final long[] finalizedEpochs;
+  private final int[] parentIndices;
+  private final int[] bestChildIndices;
+  private final ProtoArrayIndices indices;
+  private final long justifiedEpoch;
+  private final long finalizedEpoch;
+  private final long initialEpoch;
+
+  ProtoArrayView(
+      final int nodeCount,
+      final long[] blockSlots,
+      final Bytes32[] blockRoots,
+      final Bytes32[] parentRoots,
+      final long[] justifiedEpochs,
+      final long[] finalizedEpochs,
+      final int[] parentIndices,
+      final int[] bestChildIndices,
+      final ProtoArrayIndices indices,
+      final long justifiedEpoch,
+      final long finalizedEpoch,
+      final long initialEpoch) {
+    this.nodeCount = nodeCount;
+    this.blockSlots = blockSlots;
+    this.blockRoots = blockRoots;
+    this.parentRoots = parentRoots;
+    this.justifiedEpochs = justifiedEpochs;
+    this.finalizedEpochs = finalizedEpochs;
+    this.parentIndices = parentIndices;
+    this.bestChildIndices = bestChildIndices;
+    this.indices = indices;
+    this.justifiedEpoch = justifiedEpoch;
+    this.finalizedEpoch = finalizedEpoch;
+    this.initialEpoch = initialEpoch;
+  }
+
+  int getTotalTrackedNodeCount() {
+    return nodeCount;
+  }
+
+  boolean contains(final Bytes32 blockRoot) {
+    return getIndex(blockRoot) != NO_INDEX;
+  }
+
+  Optional<UInt64> blockSlot(final Bytes32 blockRoot) {
+    final int nodeIndex = getIndex(blockRoot);
+    return nodeIndex == NO_INDEX
+        ? Optional.empty()
+        : Optional.of(UInt64.fromLongBits(blockSlots[nodeIndex]));
+  }
+
+  Optional<Bytes32> blockParentRoot(final Bytes32 blockRoot) {
+    final int nodeIndex = getIndex(blockRoot);
+    return nodeIndex == NO_INDEX ? Optional.empty() : Optional.of(parentRoots[nodeIndex]);
+  }
+
+  Optional<Bytes32> getAncestor(final Bytes32 blockRoot, final UInt64 slot) {
+    int nodeIndex = getIndex(blockRoot);
+    if (nodeIndex == NO_INDEX) {
+      return Optional.empty();
+    }
+    final long ancestorSlot = slot.longValue();
+    while (Long.compareUnsigned(blockSlots[nodeIndex], ancestorSlot) > 0) {
+      nodeIndex = parentIndices[nodeIndex];
+      if (nodeIndex == NO_INDEX) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(blockRoots[nodeIndex]);
+  }
+
+  Set<Bytes32> getBlockRootsAtSlot(final UInt64 slot) {
+    final long requiredSlot = slot.longValue();
+    final Set<Bytes32> blockRootsAtSlot = new HashSet<>();
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      if (blockSlots[nodeIndex] == requiredSlot) {
+        blockRootsAtSlot.add(blockRoots[nodeIndex]);
+      }
+    }
+    return blockRootsAtSlot;
+  }
+
+  Map<Bytes32, UInt64> getChainHeads() {
+    final ImmutableMap.Builder<Bytes32, UInt64> chainHeads = ImmutableMap.builder();
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      if (bestChildIndices[nodeIndex] == NO_INDEX && isViableForHead(nodeIndex)) {
+        chainHeads.put(blockRoots[nodeIndex], UInt64.fromLongBits(blockSlots[nodeIndex]));
+      }
+    }
+    return chainHeads.build();
+  }
+
+  void processHashesInChainWhile(final Bytes32 head, final HaltableNodeProcessor nodeProcessor) {
+    int nodeIndex = getIndex(head);
+    if (nodeIndex == NO_INDEX) {
+      throw new IllegalArgumentException("Unknown root supplied: " + head);
+    }
+
+    while (contains(blockRoots[nodeIndex])) {
+      final boolean shouldContinue =
+          nodeProcessor.process(
+              blockRoots[nodeIndex],
+              UInt64.fromLongBits(blockSlots[nodeIndex]),
+              parentRoots[nodeIndex]);
+      if (!shouldContinue || parentIndices[nodeIndex] == NO_INDEX) {
+        break;
+      }
+      nodeIndex = parentIndices[nodeIndex];
+    }
+  }
+
+  void processAllInOrder(final NodeProcessor nodeProcessor) {
+    for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+      // Filter out nodes that could be pruned but are still in the protoarray
+      if (indices.contains(blockRoots[nodeIndex])) {
+        nodeProcessor.process(
+            blockRoots[nodeIndex],
+            UInt64.fromLongBits(blockSlots[nodeIndex]),
+            parentRoots[nodeIndex]);
+      }
+    }
+  }
+
+  private boolean isViableForHead(final int nodeIndex) {
+    return ProtoArray.isViableForHead(
+        justifiedEpochs[nodeIndex],
+        finalizedEpochs[nodeIndex],
+        justifiedEpoch,
+        finalizedEpoch,
+        initialEpoch);
+  }
+
+  private int getIndex(final Bytes32 blockRoot) {
+    final int nodeIndex = indices.getOrDefault(blockRoot, NO_INDEX);
+    // Nodes added to the protoarray after this view was created are not visible
+    return nodeIndex < nodeCount ? nodeIndex : NO_INDEX;
+  }
+}
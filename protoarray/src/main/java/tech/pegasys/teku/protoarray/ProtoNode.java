@@ -19,6 +19,10 @@ import java.util.Optional;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 
+/**
+ * A snapshot of a single node in a {@link ProtoArray}. Nodes are not stored as ProtoNode instances
+ * so changes to the array are not reflected in previously created nodes.
+ */
 public class ProtoNode {
 
   // The `slot` and `stateRoot` is not necessary for `ProtoArray`, it just exists so external
@@ -32,10 +36,10 @@ public class ProtoNode {
   private final UInt64 justifiedEpoch;
   private final UInt64 finalizedEpoch;
 
-  private UInt64 weight;
-  private Optional<Integer> parentIndex;
-  private Optional<Integer> bestChildIndex;
-  private Optional<Integer> bestDescendantIndex;
+  private final UInt64 weight;
+  private final Optional<Integer> parentIndex;
+  private final Optional<Integer> bestChildIndex;
+  private final Optional<Integer> bestDescendantIndex;
 
   ProtoNode(
       final UInt64 blockSlot,
@@ -60,26 +64,6 @@ public class ProtoNode {
     this.bestDescendantIndex = bestDescendantIndex;
   }
 
-  public void adjustWeight(long delta) {
-    if (delta < 0) {
-      UInt64 deltaAbsoluteValue = UInt64.valueOf(Math.abs(delta));
-      if (deltaAbsoluteValue.isGreaterThan(weight)) {
-        throw new RuntimeException(
-            "ProtoNode: Delta to be subtracted is greater than node weight for block "
-                + blockRoot
-                + " ("
-                + blockSlot
-                + "). Attempting to subtract "
-                + deltaAbsoluteValue
-                + " from "
-                + weight);
-      }
-      weight = weight.minus(deltaAbsoluteValue);
-    } else {
-      weight = weight.plus(delta);
-    }
-  }
-
   public Bytes32 getParentRoot() {
     return parentRoot;
   }
@@ -112,26 +96,14 @@ public class ProtoNode {
     return finalizedEpoch;
   }
 
-  public void setParentIndex(Optional<Integer> parentIndex) {
-    this.parentIndex = parentIndex;
-  }
-
   public Optional<Integer> getBestChildIndex() {
     return bestChildIndex;
   }
 
-  public void setBestChildIndex(Optional<Integer> bestChildIndex) {
-    this.bestChildIndex = bestChildIndex;
-  }
-
   public Optional<Integer> getBestDescendantIndex() {
     return bestDescendantIndex;
   }
 
-  public void setBestDescendantIndex(Optional<Integer> bestDescendantIndex) {
-    this.bestDescendantIndex = bestDescendantIndex;
-  }
-
   public BlockInformation createBlockInformation() {
     return new BlockInformation(
         blockSlot, blockRoot, parentRoot, stateRoot, justifiedEpoch, finalizedEpoch);
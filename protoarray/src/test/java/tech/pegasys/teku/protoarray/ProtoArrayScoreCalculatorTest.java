@@ -15,6 +15,10 @@ package tech.pegasys.teku.protoarray;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
 import static tech.pegasys.teku.protoarray.ProtoArrayScoreCalculator.computeDeltas;
 import static tech.pegasys.teku.protoarray.ProtoArrayTestUtil.createStoreToManipulateVotes;
@@ -26,6 +30,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -63,8 +68,14 @@ public class ProtoArrayScoreCalculatorTest {
       newBalances.add(ZERO);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(validatorCount);
 
     // Deltas should all be zero
@@ -85,12 +96,18 @@ public class ProtoArrayScoreCalculatorTest {
       newBalances.add(BALANCE);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(validatorCount);
 
-    for (int i = 0; i < deltas.size(); i++) {
-      long delta = deltas.get(i);
+    for (int i = 0; i < deltas.length; i++) {
+      long delta = deltas[i];
       if (i == 0) {
         // Zero'th root should have a delta
         assertThat(delta).isEqualTo(BALANCE.longValue() * Integer.toUnsignedLong(validatorCount));
@@ -117,8 +134,14 @@ public class ProtoArrayScoreCalculatorTest {
       newBalances.add(BALANCE);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(validatorCount);
 
     // Each root should have the same delta
@@ -141,14 +164,20 @@ public class ProtoArrayScoreCalculatorTest {
       newBalances.add(BALANCE);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
 
     assertThat(deltas).hasSize(validatorCount);
     long totalDelta = BALANCE.longValue() * Integer.toUnsignedLong(validatorCount);
 
-    for (int i = 0; i < deltas.size(); i++) {
-      long delta = deltas.get(i);
+    for (int i = 0; i < deltas.length; i++) {
+      long delta = deltas[i];
       if (i == 0) {
         // Zero'th root should have a negative delta
         assertThat(delta).isEqualTo(-totalDelta);
@@ -186,12 +215,18 @@ public class ProtoArrayScoreCalculatorTest {
         new VoteTracker(getHash(1), getHash(1337), validator2vote.getNextEpoch());
     store.putVote(UInt64.valueOf(1), newVote2);
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(1);
 
     // The block should have lost both balances
-    assertThat(deltas.get(0)).isEqualTo(-BALANCE.longValue() * 2);
+    assertThat(deltas[0]).isEqualTo(-BALANCE.longValue() * 2);
 
     votesShouldBeUpdated(store);
   }
@@ -213,12 +248,18 @@ public class ProtoArrayScoreCalculatorTest {
       newBalances.add(NEW_BALANCE);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(validatorCount);
 
-    for (int i = 0; i < deltas.size(); i++) {
-      long delta = deltas.get(i);
+    for (int i = 0; i < deltas.length; i++) {
+      long delta = deltas[i];
       if (i == 0) {
         // Zero'th root should have a negative delta
         assertThat(delta).isEqualTo(-OLD_BALANCE.longValue() * validatorCount);
@@ -255,15 +296,21 @@ public class ProtoArrayScoreCalculatorTest {
       store.putVote(UInt64.valueOf(i), newVote);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(2);
 
     // Block 1 should have only lost one balance
-    assertThat(deltas.get(0)).isEqualTo(-BALANCE.longValue());
+    assertThat(deltas[0]).isEqualTo(-BALANCE.longValue());
 
     // Block 2 should have gained two balances
-    assertThat(deltas.get(1)).isEqualTo(2 * BALANCE.longValue());
+    assertThat(deltas[1]).isEqualTo(2 * BALANCE.longValue());
 
     votesShouldBeUpdated(store);
   }
@@ -289,19 +336,55 @@ public class ProtoArrayScoreCalculatorTest {
       store.putVote(UInt64.valueOf(i), newVote);
     }
 
-    List<Long> deltas =
-        computeDeltas(store, indices.size(), this::getIndex, oldBalances, newBalances, emptyList());
+    long[] deltas =
+        computeDeltas(
+            store,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
     assertThat(deltas).hasSize(2);
 
     // Block 1 should have lost both balances
-    assertThat(deltas.get(0)).isEqualTo(-BALANCE.longValue() * 2);
+    assertThat(deltas[0]).isEqualTo(-BALANCE.longValue() * 2);
 
     // Block 2 should have only gained one balance
-    assertThat(deltas.get(1)).isEqualTo(BALANCE.longValue());
+    assertThat(deltas[1]).isEqualTo(BALANCE.longValue());
 
     votesShouldBeUpdated(store);
   }
 
+  @Test
+  void computeDeltas_unchangedBalancesShouldOnlyVisitValidatorsWithChangedVotes() {
+    final UInt64 BALANCE = UInt64.valueOf(42);
+    indices.put(getHash(1), 0);
+    indices.put(getHash(2), 1);
+    oldBalances = List.of(BALANCE, BALANCE);
+    newBalances = List.of(BALANCE, BALANCE);
+
+    store.putVote(UInt64.valueOf(0), new VoteTracker(getHash(1), getHash(2), UInt64.ONE));
+    store.putVote(UInt64.valueOf(1), new VoteTracker(getHash(1), getHash(2), UInt64.ONE));
+    final VoteUpdater voteUpdater = spy(store);
+    when(voteUpdater.getValidatorIndicesWithChangedVotes()).thenReturn(Set.of(UInt64.valueOf(0)));
+
+    long[] deltas =
+        computeDeltas(
+            voteUpdater,
+            indices.size(),
+            this::getIndex,
+            toLongArray(oldBalances),
+            toLongArray(newBalances),
+            emptyList());
+
+    assertThat(deltas).containsExactly(-BALANCE.longValue(), BALANCE.longValue());
+    verify(voteUpdater, never()).getVotedValidatorIndices();
+  }
+
+  private static long[] toLongArray(final List<UInt64> balances) {
+    return balances.stream().mapToLong(UInt64::longValue).toArray();
+  }
+
   private void votesShouldBeUpdated(VoteUpdater store) {
     for (UInt64 i : store.getVotedValidatorIndices()) {
       VoteTracker vote = store.getVote(i);
@@ -14,9 +14,9 @@
 package tech.pegasys.teku.protoarray;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
-import java.util.Collections;
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
@@ -117,6 +117,57 @@ class ProtoArrayTest {
     assertAllWeightsAreZero();
   }
 
+  @Test
+  void applyProposerWeighting_shouldThrowWhenWeightOverflows() {
+    final Bytes32 block1 = dataStructureUtil.randomBytes32();
+    addBlock(1, block1, Bytes32.ZERO);
+    final ProposerWeighting proposerWeighting =
+        new ProposerWeighting(block1, UInt64.valueOf(Long.MAX_VALUE));
+    protoArray.applyProposerWeighting(proposerWeighting);
+    protoArray.applyProposerWeighting(proposerWeighting);
+
+    assertThatThrownBy(() -> protoArray.applyProposerWeighting(proposerWeighting))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void createView_shouldNotIncludeBlocksAddedAfterViewCreated() {
+    final Bytes32 block1 = dataStructureUtil.randomBytes32();
+    final Bytes32 block2 = dataStructureUtil.randomBytes32();
+    addBlock(1, block1, Bytes32.ZERO);
+
+    final ProtoArrayView view = protoArray.createView();
+    addBlock(2, block2, block1);
+
+    assertThat(view.contains(block1)).isTrue();
+    assertThat(view.contains(block2)).isFalse();
+    assertThat(view.blockSlot(block2)).isEmpty();
+    assertThat(view.getTotalTrackedNodeCount()).isEqualTo(2);
+    assertThat(view.getChainHeads()).containsOnlyKeys(block1);
+    assertThat(protoArray.createView().getChainHeads()).containsOnlyKeys(block2);
+  }
+
+  @Test
+  void createView_shouldNotBeAffectedByPruning() {
+    final Bytes32 block1 = dataStructureUtil.randomBytes32();
+    final Bytes32 block2 = dataStructureUtil.randomBytes32();
+    final Bytes32 block3 = dataStructureUtil.randomBytes32();
+    addBlock(1, block1, Bytes32.ZERO);
+    addBlock(2, block2, block1);
+    addBlock(3, block3, block2);
+
+    final ProtoArrayView view = protoArray.createView();
+    protoArray.setPruneThreshold(1);
+    protoArray.maybePrune(block2);
+
+    assertThat(protoArray.getTotalTrackedNodeCount()).isEqualTo(2);
+    assertThat(protoArray.createView().getAncestor(block3, UInt64.ONE)).isEmpty();
+
+    assertThat(view.getTotalTrackedNodeCount()).isEqualTo(4);
+    assertThat(view.contains(block1)).isTrue();
+    assertThat(view.getAncestor(block3, UInt64.ONE)).contains(block1);
+  }
+
   private void addBlock(final long slot, final Bytes32 blockRoot, final Bytes32 parentRoot) {
     protoArray.onBlock(
         UInt64.valueOf(slot),
@@ -128,13 +179,13 @@ class ProtoArrayTest {
   }
 
   private void reverseProposerWeightings(final ProposerWeighting... weightings) {
-    final List<Long> deltas =
+    final long[] deltas =
         ProtoArrayScoreCalculator.computeDeltas(
             voteUpdater,
             protoArray.getTotalTrackedNodeCount(),
             protoArray::getIndexByRoot,
-            Collections.emptyList(),
-            Collections.emptyList(),
+            new long[0],
+            new long[0],
             List.of(weightings));
     protoArray.applyScoreChanges(
         deltas, GENESIS_CHECKPOINT.getEpoch(), GENESIS_CHECKPOINT.getEpoch());
@@ -26,6 +26,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
@@ -71,11 +72,13 @@ import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SignedCo
 import tech.pegasys.teku.spec.datastructures.operations.versions.altair.ValidateableSyncCommitteeSignature;
 import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.ssz.tree.TreeMerkleizer;
 import tech.pegasys.teku.statetransition.EpochCachePrimer;
 import tech.pegasys.teku.statetransition.OperationPool;
 import tech.pegasys.teku.statetransition.OperationsReOrgManager;
 import tech.pegasys.teku.statetransition.attestation.AggregatingAttestationPool;
 import tech.pegasys.teku.statetransition.attestation.AttestationManager;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.statetransition.block.BlockImportChannel;
 import tech.pegasys.teku.statetransition.block.BlockImportNotifications;
 import tech.pegasys.teku.statetransition.block.BlockImporter;
@@ -119,6 +122,7 @@ import tech.pegasys.teku.validator.coordinator.ActiveValidatorTracker;
 import tech.pegasys.teku.validator.coordinator.BlockFactory;
 import tech.pegasys.teku.validator.coordinator.DepositProvider;
 import tech.pegasys.teku.validator.coordinator.DutyMetrics;
+import tech.pegasys.teku.validator.coordinator.DutyTableCache;
 import tech.pegasys.teku.validator.coordinator.Eth1DataCache;
 import tech.pegasys.teku.validator.coordinator.Eth1VotingPeriod;
 import tech.pegasys.teku.validator.coordinator.ValidatorApiHandler;
@@ -149,6 +153,8 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private final WeakSubjectivityInitializer wsInitializer = new WeakSubjectivityInitializer();
   private final AsyncRunnerEventThread forkChoiceExecutor;
 
+  private volatile Optional<ForkJoinPool> hashTreeRootPool = Optional.empty();
+  private volatile TreeMerkleizer stateMerkleizer = TreeMerkleizer.sequential();
   private volatile ForkChoice forkChoice;
   private volatile ForkChoiceTrigger forkChoiceTrigger;
   private volatile BlockImporter blockImporter;
@@ -161,6 +167,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private volatile AttestationManager attestationManager;
   private volatile SignatureVerificationService signatureVerificationService;
   private volatile CombinedChainDataClient combinedChainDataClient;
+  private final BlockEncodingCache blockEncodingCache;
   private volatile Eth1DataCache eth1DataCache;
   private volatile SlotProcessor slotProcessor;
   private volatile OperationPool<AttesterSlashing> attesterSlashingPool;
@@ -181,8 +188,11 @@ public class BeaconChainController extends Service implements TimeTickChannel {
   private BlockManager blockManager;
 
   public BeaconChainController(
-      final ServiceConfig serviceConfig, final BeaconChainConfiguration beaconConfig) {
+      final ServiceConfig serviceConfig,
+      final BeaconChainConfiguration beaconConfig,
+      final BlockEncodingCache blockEncodingCache) {
     this.beaconConfig = beaconConfig;
+    this.blockEncodingCache = blockEncodingCache;
     this.spec = beaconConfig.getSpec();
     this.beaconBlockSchemaSupplier =
         slot -> spec.atSlot(slot).getSchemaDefinitions().getBeaconBlockBodySchema();
@@ -247,11 +257,13 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             blockManager.stop(),
             attestationManager.stop(),
             p2pNetwork.stop())
-        .thenRun(forkChoiceExecutor::stop);
+        .thenRun(forkChoiceExecutor::stop)
+        .thenRun(() -> hashTreeRootPool.ifPresent(ForkJoinPool::shutdown));
   }
 
   private SafeFuture<?> initialize() {
     final StoreConfig storeConfig = beaconConfig.storeConfig();
+    initTreeMerkleizer();
     coalescingChainHeadChannel =
         new CoalescingChainHeadChannel(eventChannels.getPublisher(ChainHeadChannel.class));
 
@@ -296,6 +308,17 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             });
   }
 
+  private void initTreeMerkleizer() {
+    final int hashTreeRootThreads = beaconConfig.eth2NetworkConfig().getHashTreeRootThreads();
+    if (hashTreeRootThreads > 0) {
+      LOG.debug("Hashing large state updates with {} threads", hashTreeRootThreads);
+      final ForkJoinPool pool = new ForkJoinPool(hashTreeRootThreads);
+      hashTreeRootPool = Optional.of(pool);
+      stateMerkleizer =
+          TreeMerkleizer.parallel(pool, TreeMerkleizer.DEFAULT_PARALLEL_LEVEL_THRESHOLD);
+    }
+  }
+
   public void initAll() {
     initForkChoice();
     initBlockImporter();
@@ -405,7 +428,11 @@ public class BeaconChainController extends Service implements TimeTickChannel {
         beaconConfig.eth2NetworkConfig().isBalanceAttackMitigationEnabled();
     forkChoice =
         ForkChoice.create(
-            spec, forkChoiceExecutor, recentChainData, balanceAttackMitigationEnabled);
+            spec,
+            forkChoiceExecutor,
+            recentChainData,
+            balanceAttackMitigationEnabled,
+            stateMerkleizer);
     forkChoiceTrigger = ForkChoiceTrigger.create(forkChoice, balanceAttackMitigationEnabled);
   }
 
@@ -473,9 +500,11 @@ public class BeaconChainController extends Service implements TimeTickChannel {
         eventChannels.getPublisher(BlockImportChannel.class, beaconAsyncRunner);
     final BlockGossipChannel blockGossipChannel =
         eventChannels.getPublisher(BlockGossipChannel.class);
+    final DutyTableCache dutyTableCache = new DutyTableCache(spec, combinedChainDataClient);
     final ValidatorApiHandler validatorApiHandler =
         new ValidatorApiHandler(
-            new ChainDataProvider(spec, recentChainData, combinedChainDataClient),
+            new ChainDataProvider(
+                spec, recentChainData, combinedChainDataClient, blockEncodingCache),
             combinedChainDataClient,
             syncService,
             blockFactory,
@@ -491,9 +520,11 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             forkChoiceTrigger,
             syncCommitteeSignaturePool,
             syncCommitteeContributionPool,
-            syncCommitteeSubscriptionManager);
+            syncCommitteeSubscriptionManager,
+            dutyTableCache);
     eventChannels
         .subscribe(SlotEventsChannel.class, activeValidatorTracker)
+        .subscribe(ChainHeadChannel.class, dutyTableCache)
         .subscribe(ValidatorApiChannel.class, validatorApiHandler);
 
     // if subscribeAllSubnets is set, the slot events in these handlers are empty,
@@ -642,6 +673,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             .config(beaconConfig.p2pConfig())
             .eventChannels(eventChannels)
             .recentChainData(recentChainData)
+            .blockEncodingCache(blockEncodingCache)
             .gossipedBlockProcessor(blockManager::validateAndImportBlock)
             .gossipedAttestationProcessor(attestationManager::addAttestation)
             .gossipedAggregateProcessor(attestationManager::addAggregate)
@@ -694,6 +726,7 @@ public class BeaconChainController extends Service implements TimeTickChannel {
             spec,
             recentChainData,
             combinedChainDataClient,
+            blockEncodingCache,
             p2pNetwork,
             syncService,
             eventChannels.getPublisher(ValidatorApiChannel.class, beaconAsyncRunner),
@@ -16,14 +16,17 @@ package tech.pegasys.teku.services.beaconchain;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.service.serviceutils.Service;
 import tech.pegasys.teku.service.serviceutils.ServiceConfig;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 
 public class BeaconChainService extends Service {
 
   private final BeaconChainController controller;
 
   public BeaconChainService(
-      final ServiceConfig serviceConfig, final BeaconChainConfiguration beaconConfig) {
-    this.controller = new BeaconChainController(serviceConfig, beaconConfig);
+      final ServiceConfig serviceConfig,
+      final BeaconChainConfiguration beaconConfig,
+      final BlockEncodingCache blockEncodingCache) {
+    this.controller = new BeaconChainController(serviceConfig, beaconConfig, blockEncodingCache);
   }
 
   @Override
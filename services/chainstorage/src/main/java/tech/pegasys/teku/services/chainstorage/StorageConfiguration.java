@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.services.chainstorage;
 
+import java.time.Duration;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.eth1.Eth1Address;
 import tech.pegasys.teku.storage.server.DatabaseVersion;
@@ -26,6 +27,7 @@ public class StorageConfiguration {
   private final DatabaseVersion dataStorageCreateDbVersion;
   private final Spec spec;
   private final boolean storeNonCanonicalBlocks;
+  private final Duration updateBatchDelay;
 
   private StorageConfiguration(
       final Eth1Address eth1DepositContract,
@@ -33,12 +35,14 @@ public class StorageConfiguration {
       final long dataStorageFrequency,
       final DatabaseVersion dataStorageCreateDbVersion,
       final boolean storeNonCanonicalBlocks,
+      final Duration updateBatchDelay,
       final Spec spec) {
     this.eth1DepositContract = eth1DepositContract;
     this.dataStorageMode = dataStorageMode;
     this.dataStorageFrequency = dataStorageFrequency;
     this.dataStorageCreateDbVersion = dataStorageCreateDbVersion;
     this.storeNonCanonicalBlocks = storeNonCanonicalBlocks;
+    this.updateBatchDelay = updateBatchDelay;
     this.spec = spec;
   }
 
@@ -66,6 +70,10 @@ public class StorageConfiguration {
     return storeNonCanonicalBlocks;
   }
 
+  public Duration getUpdateBatchDelay() {
+    return updateBatchDelay;
+  }
+
   public Spec getSpec() {
     return spec;
   }
@@ -78,6 +86,7 @@ public class StorageConfiguration {
     private DatabaseVersion dataStorageCreateDbVersion;
     private Spec spec;
     private boolean storeNonCanonicalBlocks;
+    private Duration updateBatchDelay = Duration.ZERO;
 
     private Builder() {}
 
@@ -111,6 +120,11 @@ public class StorageConfiguration {
       return this;
     }
 
+    public Builder updateBatchDelay(final Duration updateBatchDelay) {
+      this.updateBatchDelay = updateBatchDelay;
+      return this;
+    }
+
     public StorageConfiguration build() {
       return new StorageConfiguration(
           eth1DepositContract,
@@ -118,6 +132,7 @@ public class StorageConfiguration {
           dataStorageFrequency,
           dataStorageCreateDbVersion,
           storeNonCanonicalBlocks,
+          updateBatchDelay,
           spec);
     }
   }
@@ -16,11 +16,14 @@ package tech.pegasys.teku.services.chainstorage;
 import static tech.pegasys.teku.util.config.Constants.STORAGE_QUERY_CHANNEL_PARALLELISM;
 
 import java.util.Optional;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.pow.api.Eth1EventsChannel;
 import tech.pegasys.teku.protoarray.ProtoArrayStorageChannel;
 import tech.pegasys.teku.service.serviceutils.Service;
 import tech.pegasys.teku.service.serviceutils.ServiceConfig;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.storage.api.Eth1DepositStorageChannel;
 import tech.pegasys.teku.storage.api.StorageQueryChannel;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
@@ -37,11 +40,19 @@ public class StorageService extends Service {
   private volatile ProtoArrayStorage protoArrayStorage;
   private final ServiceConfig serviceConfig;
   private volatile Database database;
+  private final Function<SignedBeaconBlock, Bytes> blockSszSerializer;
 
+  /**
+   * @param blockSszSerializer provides the SSZ written for each stored block so an encoding already
+   *     produced by the beacon chain can be reused
+   */
   public StorageService(
-      final ServiceConfig serviceConfig, final StorageConfiguration storageConfiguration) {
+      final ServiceConfig serviceConfig,
+      final StorageConfiguration storageConfiguration,
+      final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
     this.serviceConfig = serviceConfig;
     this.config = storageConfiguration;
+    this.blockSszSerializer = blockSszSerializer;
   }
 
   @Override
@@ -58,10 +69,18 @@ public class StorageService extends Service {
                   config.getDataStorageFrequency(),
                   config.getEth1DepositContract(),
                   config.isStoreNonCanonicalBlocksEnabled(),
+                  blockSszSerializer,
                   config.getSpec());
           database = dbFactory.createDatabase();
 
-          chainStorage = ChainStorage.create(database, config.getSpec());
+          chainStorage =
+              ChainStorage.create(
+                  database,
+                  config.getSpec(),
+                  serviceConfig.createAsyncRunner("state_regeneration"),
+                  serviceConfig.createAsyncRunner("storage_writer", 1),
+                  config.getUpdateBatchDelay(),
+                  serviceConfig.getMetricsSystem());
           final DepositStorage depositStorage =
               DepositStorage.create(
                   serviceConfig.getEventChannels().getPublisher(Eth1EventsChannel.class), database);
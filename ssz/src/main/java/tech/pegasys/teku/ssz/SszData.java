@@ -13,9 +13,11 @@
 
 package tech.pegasys.teku.ssz;
 
+import java.io.OutputStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.schema.SszSchema;
+import tech.pegasys.teku.ssz.sos.SszOutputStreamWriter;
 import tech.pegasys.teku.ssz.sos.SszWriter;
 import tech.pegasys.teku.ssz.tree.TreeNode;
 
@@ -56,4 +58,19 @@ public interface SszData extends Merkleizable, SimpleOffsetSerializable {
   default int sszSerialize(SszWriter writer) {
     return getSchema().sszSerializeTree(getBackingNode(), writer);
   }
+
+  /**
+   * SSZ serializes this data directly to the stream without building the complete serialization in
+   * memory first
+   *
+   * @return number of bytes written
+   */
+  default int sszSerialize(OutputStream out) {
+    return sszSerialize(new SszOutputStreamWriter(out));
+  }
+
+  /** Returns the size of this data SSZ serialization in bytes */
+  default int getSszSize() {
+    return getSchema().getSszSize(getBackingNode());
+  }
 }
@@ -13,11 +13,28 @@
 
 package tech.pegasys.teku.ssz.collections;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.ssz.schema.collections.SszUInt64ListSchema;
 
 public interface SszUInt64List extends SszPrimitiveList<UInt64, SszUInt64> {
 
   @Override
   SszMutableUInt64List createWritableCopy();
+
+  @Override
+  SszUInt64ListSchema<?> getSchema();
+
+  /** Reads all the elements with a single pass over the packed leaves of the backing tree */
+  default long[] toLongArray() {
+    final long[] values = new long[size()];
+    final ByteBuffer buffer =
+        ByteBuffer.wrap(sszSerialize().toArrayUnsafe()).order(ByteOrder.LITTLE_ENDIAN);
+    for (int i = 0; i < values.length; i++) {
+      values[i] = buffer.getLong();
+    }
+    return values;
+  }
 }
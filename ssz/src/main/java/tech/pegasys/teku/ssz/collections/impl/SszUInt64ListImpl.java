@@ -38,4 +38,9 @@ public class SszUInt64ListImpl extends SszPrimitiveListImpl<UInt64, SszUInt64>
   public SszMutableUInt64List createWritableCopy() {
     return new SszMutableUInt64ListImpl(this);
   }
+
+  @Override
+  public SszUInt64ListSchema<?> getSchema() {
+    return (SszUInt64ListSchema<?>) super.getSchema();
+  }
 }
@@ -14,11 +14,14 @@
 package tech.pegasys.teku.ssz.schema;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 
 /**
  * Base class for any SSZ structure schema like Vector, List, Container, primitive types
@@ -56,6 +59,17 @@ public interface SszSchema<SszDataT extends SszData> extends SszType {
 
   boolean isPrimitive();
 
+  /**
+   * Loads the backing tree of this schema with the specified root from the nodes persisted with
+   * {@link TreeNodeStorage#storeTree}
+   *
+   * <p>The schema is required since leaf data lengths can't be recovered from the node hashes
+   *
+   * <p>Nodes are read from the {@code nodeSource} lazily when they are first accessed, so the
+   * source must remain readable for as long as the returned tree is in use
+   */
+  TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash);
+
   default Bytes sszSerialize(SszDataT view) {
     return sszSerializeTree(view.getBackingNode());
   }
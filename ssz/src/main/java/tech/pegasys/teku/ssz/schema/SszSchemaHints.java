@@ -16,6 +16,7 @@ package tech.pegasys.teku.ssz.schema;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import tech.pegasys.teku.ssz.tree.SszPackedNode;
 import tech.pegasys.teku.ssz.tree.SszSuperNode;
 
 /**
@@ -46,6 +47,27 @@ public class SszSchemaHints {
     }
   }
 
+  /**
+   * Hint to use {@link SszPackedNode} for lists of primitive values to reduce the number of tree
+   * nodes and speed up bulk updates when the list is large and frequently updated as a whole
+   *
+   * <p>The <code>depth</code> parameter specifies the maximum number (<code>2 ^ depth</code>) of 32
+   * byte chunks (each packing several primitive values) a single node can contain. Increasing this
+   * parameter saves memory but makes individual value updates and hashTreeRoot recalculation more
+   * CPU expensive
+   */
+  public static final class SszPackedNodeHint extends SszSchemaHint {
+    private final int depth;
+
+    public SszPackedNodeHint(int depth) {
+      this.depth = depth;
+    }
+
+    public int getDepth() {
+      return depth;
+    }
+  }
+
   public static SszSchemaHints of(SszSchemaHint... hints) {
     return new SszSchemaHints(Arrays.asList(hints));
   }
@@ -58,6 +80,10 @@ public class SszSchemaHints {
     return of(new SszSuperNodeHint(superNodeDepth));
   }
 
+  public static SszSchemaHints sszPackedNode(int packedNodeDepth) {
+    return of(new SszPackedNodeHint(packedNodeDepth));
+  }
+
   private final List<SszSchemaHint> hints;
 
   private SszSchemaHints(List<SszSchemaHint> hints) {
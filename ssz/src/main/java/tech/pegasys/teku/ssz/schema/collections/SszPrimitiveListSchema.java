@@ -41,9 +41,10 @@ public interface SszPrimitiveListSchema<
     if (elementSchema == SszPrimitiveSchemas.BIT_SCHEMA) {
       return (SszPrimitiveListSchema<PrimT, SszPrimT, ?>) SszBitlistSchema.create(maxLength);
     } else if (elementSchema == SszPrimitiveSchemas.UINT64_SCHEMA) {
-      return (SszPrimitiveListSchema<PrimT, SszPrimT, ?>) SszUInt64ListSchema.create(maxLength);
+      return (SszPrimitiveListSchema<PrimT, SszPrimT, ?>)
+          SszUInt64ListSchema.create(maxLength, hints);
     } else {
-      return new SszPrimitiveListSchemaImpl<>(elementSchema, maxLength);
+      return new SszPrimitiveListSchemaImpl<>(elementSchema, maxLength, hints);
     }
   }
 }
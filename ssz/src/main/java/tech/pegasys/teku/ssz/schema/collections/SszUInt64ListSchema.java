@@ -16,12 +16,24 @@ package tech.pegasys.teku.ssz.schema.collections;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.ssz.primitive.SszUInt64;
+import tech.pegasys.teku.ssz.schema.SszSchemaHints;
 import tech.pegasys.teku.ssz.schema.collections.impl.SszUInt64ListSchemaImpl;
 
 public interface SszUInt64ListSchema<SszListT extends SszUInt64List>
     extends SszPrimitiveListSchema<UInt64, SszUInt64, SszListT> {
 
   static SszUInt64ListSchema<SszUInt64List> create(long maxLength) {
-    return new SszUInt64ListSchemaImpl<>(maxLength);
+    return create(maxLength, SszSchemaHints.none());
   }
+
+  static SszUInt64ListSchema<SszUInt64List> create(long maxLength, SszSchemaHints hints) {
+    return new SszUInt64ListSchemaImpl<>(maxLength, hints);
+  }
+
+  /**
+   * Creates a list holding the supplied values. The backing tree is built bottom up in a single
+   * pass, which is much cheaper than setting each element of a mutable list when most of the
+   * elements change.
+   */
+  SszListT ofLongs(long[] values);
 }
@@ -17,6 +17,7 @@ import tech.pegasys.teku.ssz.SszPrimitive;
 import tech.pegasys.teku.ssz.collections.SszPrimitiveList;
 import tech.pegasys.teku.ssz.collections.impl.SszPrimitiveListImpl;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchema;
+import tech.pegasys.teku.ssz.schema.SszSchemaHints;
 import tech.pegasys.teku.ssz.schema.collections.SszPrimitiveListSchema;
 import tech.pegasys.teku.ssz.schema.impl.AbstractSszListSchema;
 import tech.pegasys.teku.ssz.tree.TreeNode;
@@ -30,7 +31,14 @@ public class SszPrimitiveListSchemaImpl<
 
   public SszPrimitiveListSchemaImpl(
       SszPrimitiveSchema<ElementT, SszElementT> elementSchema, long maxLength) {
-    super(elementSchema, maxLength);
+    this(elementSchema, maxLength, SszSchemaHints.none());
+  }
+
+  public SszPrimitiveListSchemaImpl(
+      SszPrimitiveSchema<ElementT, SszElementT> elementSchema,
+      long maxLength,
+      SszSchemaHints hints) {
+    super(elementSchema, maxLength, hints);
   }
 
   @Override
@@ -13,10 +13,16 @@
 
 package tech.pegasys.teku.ssz.schema.collections.impl;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.ssz.collections.SszUInt64List;
 import tech.pegasys.teku.ssz.collections.impl.SszUInt64ListImpl;
 import tech.pegasys.teku.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchemas;
+import tech.pegasys.teku.ssz.schema.SszSchemaHints;
 import tech.pegasys.teku.ssz.schema.collections.SszUInt64ListSchema;
 import tech.pegasys.teku.ssz.schema.impl.AbstractSszListSchema;
 import tech.pegasys.teku.ssz.tree.TreeNode;
@@ -25,7 +31,25 @@ public class SszUInt64ListSchemaImpl<SszListT extends SszUInt64List>
     extends AbstractSszListSchema<SszUInt64, SszListT> implements SszUInt64ListSchema<SszListT> {
 
   public SszUInt64ListSchemaImpl(long maxLength) {
-    super(SszPrimitiveSchemas.UINT64_SCHEMA, maxLength);
+    this(maxLength, SszSchemaHints.none());
+  }
+
+  public SszUInt64ListSchemaImpl(long maxLength, SszSchemaHints hints) {
+    super(SszPrimitiveSchemas.UINT64_SCHEMA, maxLength, hints);
+  }
+
+  @Override
+  public SszListT ofLongs(final long[] values) {
+    checkArgument(values.length <= getMaxLength(), "Too many elements for this collection type");
+    final ByteBuffer buffer =
+        ByteBuffer.allocate(values.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (long value : values) {
+      buffer.putLong(value);
+    }
+    final TreeNode dataTree =
+        SchemaUtils.createTreeFromBytes(
+            Bytes.wrap(buffer.array()), getCompatibleVectorSchema().treeDepth());
+    return createFromBackingNode(createTree(dataTree, values.length));
   }
 
   @Override
@@ -15,6 +15,7 @@ package tech.pegasys.teku.ssz.schema.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Integer.min;
+import static tech.pegasys.teku.ssz.tree.TreeUtil.bitsCeilToBytes;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -25,21 +26,27 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.SszCollection;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.schema.SszCompositeSchema;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchema;
 import tech.pegasys.teku.ssz.schema.SszSchema;
 import tech.pegasys.teku.ssz.schema.SszSchemaHints;
+import tech.pegasys.teku.ssz.schema.SszSchemaHints.SszPackedNodeHint;
 import tech.pegasys.teku.ssz.schema.SszSchemaHints.SszSuperNodeHint;
 import tech.pegasys.teku.ssz.schema.SszType;
 import tech.pegasys.teku.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
+import tech.pegasys.teku.ssz.tree.LazyBranchNode;
 import tech.pegasys.teku.ssz.tree.LeafNode;
 import tech.pegasys.teku.ssz.tree.SszNodeTemplate;
+import tech.pegasys.teku.ssz.tree.SszPackedNode;
 import tech.pegasys.teku.ssz.tree.SszSuperNode;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 import tech.pegasys.teku.ssz.tree.TreeUtil;
 
 /** Type of homogeneous collections (like List and Vector) */
@@ -169,10 +176,39 @@ public abstract class AbstractSszCollectionSchema<
     return variableOffset;
   }
 
+  /**
+   * Returns the depth of {@link SszPackedNode}s to store the collection data if the {@link
+   * SszPackedNodeHint} is specified and elements are primitive
+   */
+  protected Optional<Integer> getPackedNodeDepth() {
+    if (!(getElementSchema() instanceof AbstractSszPrimitiveSchema)) {
+      return Optional.empty();
+    }
+    return getHints()
+        .getHint(SszPackedNodeHint.class)
+        .map(hint -> min(hint.getDepth(), treeDepth()))
+        // a packed node of zero depth is just an ordinary leaf
+        .filter(depth -> depth > 0);
+  }
+
+  /**
+   * Returns the {@link SszSuperNodeHint} if it is specified and elements are composite. The hint is
+   * ignored for primitive elements since they are packed into leaves
+   */
+  protected Optional<SszSuperNodeHint> getSuperNodeHint() {
+    if (getElementSchema() instanceof AbstractSszPrimitiveSchema) {
+      return Optional.empty();
+    }
+    return getHints().getHint(SszSuperNodeHint.class);
+  }
+
   protected DeserializedData sszDeserializeVector(SszReader reader) {
     if (getElementSchema().isFixedSize()) {
-      Optional<SszSuperNodeHint> sszSuperNodeHint = getHints().getHint(SszSuperNodeHint.class);
-      if (sszSuperNodeHint.isPresent()) {
+      Optional<Integer> packedNodeDepth = getPackedNodeDepth();
+      Optional<SszSuperNodeHint> sszSuperNodeHint = getSuperNodeHint();
+      if (packedNodeDepth.isPresent()) {
+        return sszDeserializePacked(reader, packedNodeDepth.get());
+      } else if (sszSuperNodeHint.isPresent()) {
         return sszDeserializeSupernode(reader, sszSuperNodeHint.get().getDepth());
       } else {
         return sszDeserializeFixed(reader);
@@ -207,8 +243,32 @@ public abstract class AbstractSszCollectionSchema<
     return new DeserializedData(tree, elementsCount);
   }
 
-  private DeserializedData sszDeserializeFixed(SszReader reader) {
+  private DeserializedData sszDeserializePacked(SszReader reader, int packedNodeDepth) {
     int bytesSize = reader.getAvailableBytes();
+    checkFixedSszLength(bytesSize);
+    int nodeSize = LeafNode.MAX_BYTE_SIZE << packedNodeDepth;
+    int bytesRemain = bytesSize;
+    List<SszPackedNode> packedNodes = new ArrayList<>(bytesRemain / nodeSize + 1);
+    Bytes lastNodeData = Bytes.EMPTY;
+    while (bytesRemain > 0) {
+      int toRead = min(bytesRemain, nodeSize);
+      bytesRemain -= toRead;
+      lastNodeData = reader.read(toRead);
+      packedNodes.add(new SszPackedNode(packedNodeDepth, lastNodeData));
+    }
+    Optional<Byte> lastByte =
+        lastNodeData.isEmpty()
+            ? Optional.empty()
+            : Optional.of(lastNodeData.get(lastNodeData.size() - 1));
+    TreeNode tree =
+        TreeUtil.createTree(
+            packedNodes,
+            new SszPackedNode(packedNodeDepth, Bytes.EMPTY),
+            treeDepth() - packedNodeDepth);
+    return new DeserializedData(tree, bytesSize * 8 / getSszElementBitSize(), lastByte);
+  }
+
+  private void checkFixedSszLength(int bytesSize) {
     checkSsz(
         bytesSize % getElementSchema().getSszFixedPartSize() == 0,
         "SSZ sequence length is not multiple of fixed element size");
@@ -223,6 +283,12 @@ public abstract class AbstractSszCollectionSchema<
           (bytesSize - 1) * 8 / elementBitSize <= getMaxLength(),
           "SSZ sequence length exceeds max type length");
     }
+  }
+
+  private DeserializedData sszDeserializeFixed(SszReader reader) {
+    int bytesSize = reader.getAvailableBytes();
+    checkFixedSszLength(bytesSize);
+    int elementBitSize = getSszElementBitSize();
     if (getElementSchema() instanceof AbstractSszPrimitiveSchema) {
       int bytesRemain = bytesSize;
       List<LeafNode> childNodes = new ArrayList<>(bytesRemain / LeafNode.MAX_BYTE_SIZE + 1);
@@ -248,7 +314,7 @@ public abstract class AbstractSszCollectionSchema<
       List<TreeNode> childNodes = new ArrayList<>();
       for (int i = 0; i < elementsCount; i++) {
         try (SszReader sszReader = reader.slice(getElementSchema().getSszFixedPartSize())) {
-          TreeNode childNode = getElementSchema().sszDeserializeTree(sszReader);
+          TreeNode childNode = LazyBranchNode.deserializeChildTree(getElementSchema(), sszReader);
           childNodes.add(childNode);
         }
       }
@@ -284,13 +350,98 @@ public abstract class AbstractSszCollectionSchema<
 
       for (int elementSize : elementSizes) {
         try (SszReader sszReader = reader.slice(elementSize)) {
-          childNodes.add(getElementSchema().sszDeserializeTree(sszReader));
+          childNodes.add(LazyBranchNode.deserializeChildTree(getElementSchema(), sszReader));
         }
       }
     }
     return new DeserializedData(TreeUtil.createTree(childNodes, treeDepth()), childNodes.size());
   }
 
+  /**
+   * Loads the vector tree with the first {@code elementsCount} elements from the node source. The
+   * rest of the tree is taken from the default tree
+   *
+   * @see SszSchema#loadBackingNodes(TreeNodeSource, Bytes32)
+   */
+  protected TreeNode loadVectorBackingNodes(
+      TreeNodeSource nodeSource, Bytes32 rootHash, int elementsCount) {
+    if (getElementSchema() instanceof AbstractSszPrimitiveSchema) {
+      int dataSize = (int) bitsCeilToBytes((long) elementsCount * getSszElementBitSize());
+      Optional<Integer> packedNodeDepth = getPackedNodeDepth();
+      if (packedNodeDepth.isPresent()) {
+        int depth = packedNodeDepth.get();
+        int nodeSize = LeafNode.MAX_BYTE_SIZE << depth;
+        return TreeNodeStorage.loadTree(
+            nodeSource,
+            rootHash,
+            treeDepth() - depth,
+            (dataSize + nodeSize - 1) / nodeSize,
+            getDefaultTree(),
+            (index, nodeRoot) -> {
+              int size = min(nodeSize, dataSize - (int) index * nodeSize);
+              return new SszPackedNode(
+                  depth, TreeNodeStorage.loadLeafData(nodeSource, nodeRoot, depth, size));
+            });
+      } else {
+        return TreeNodeStorage.loadTree(
+            nodeSource,
+            rootHash,
+            treeDepth(),
+            (dataSize + LeafNode.MAX_BYTE_SIZE - 1) / LeafNode.MAX_BYTE_SIZE,
+            getDefaultTree(),
+            (index, leafRoot) -> {
+              int size =
+                  min(LeafNode.MAX_BYTE_SIZE, dataSize - (int) index * LeafNode.MAX_BYTE_SIZE);
+              return LeafNode.create(leafRoot.slice(0, size));
+            });
+      }
+    } else {
+      Optional<SszSuperNodeHint> sszSuperNodeHint = getSuperNodeHint();
+      if (sszSuperNodeHint.isPresent()) {
+        int depth = sszSuperNodeHint.get().getDepth();
+        int nodeElementsCount = 1 << depth;
+        SszNodeTemplate template = elementSszSupernodeTemplate.get();
+        return TreeNodeStorage.loadTree(
+            nodeSource,
+            rootHash,
+            treeDepth() - depth,
+            (elementsCount + nodeElementsCount - 1) / nodeElementsCount,
+            getDefaultTree(),
+            (index, nodeRoot) -> {
+              int count = min(nodeElementsCount, elementsCount - (int) index * nodeElementsCount);
+              Optional<Bytes> ssz = nodeSource.loadLeafDataNode(nodeRoot);
+              if (ssz.isPresent()) {
+                // nodes of single leaf elements may differ in trailing zero elements
+                int size = count * template.getSszLength();
+                Bytes nodeSsz =
+                    ssz.get().size() >= size
+                        ? ssz.get().slice(0, size)
+                        : Bytes.wrap(ssz.get(), Bytes.wrap(new byte[size - ssz.get().size()]));
+                return new SszSuperNode(depth, template, nodeSsz);
+              } else {
+                // the subtree was stored as ordinary nodes (e.g. it is a zero subtree)
+                return TreeNodeStorage.loadTree(
+                    nodeSource,
+                    nodeRoot,
+                    depth,
+                    count,
+                    TreeUtil.ZERO_TREES[depth],
+                    (elementIndex, elementRoot) ->
+                        getElementSchema().loadBackingNodes(nodeSource, elementRoot));
+              }
+            });
+      } else {
+        return TreeNodeStorage.loadTree(
+            nodeSource,
+            rootHash,
+            treeDepth(),
+            elementsCount,
+            getDefaultTree(),
+            (index, elementRoot) -> getElementSchema().loadBackingNodes(nodeSource, elementRoot));
+      }
+    }
+  }
+
   protected static void checkSsz(boolean condition, String error) {
     if (!condition) {
       throw new SszDeserializeException(error);
@@ -24,6 +24,7 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.SszContainer;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.schema.SszContainerSchema;
@@ -33,7 +34,10 @@ import tech.pegasys.teku.ssz.sos.SszDeserializeException;
 import tech.pegasys.teku.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
+import tech.pegasys.teku.ssz.tree.LazyBranchNode;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 import tech.pegasys.teku.ssz.tree.TreeUtil;
 
 public abstract class AbstractSszContainerSchema<C extends SszContainer>
@@ -259,7 +263,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
       SszSchema<?> childType = getChildSchema(i);
       if (childType.isFixedSize()) {
         try (SszReader sszReader = reader.slice(childType.getSszFixedPartSize())) {
-          TreeNode childNode = childType.sszDeserializeTree(sszReader);
+          TreeNode childNode = LazyBranchNode.deserializeChildTree(childType, sszReader);
           fixedChildrenSubtrees.add(childNode);
         }
       } else {
@@ -299,7 +303,7 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
         childrenSubtrees.add(fixedChildrenSubtrees.remove());
       } else {
         try (SszReader sszReader = reader.slice(variableChildrenSizes.remove())) {
-          TreeNode childNode = childType.sszDeserializeTree(sszReader);
+          TreeNode childNode = LazyBranchNode.deserializeChildTree(childType, sszReader);
           childrenSubtrees.add(childNode);
         }
       }
@@ -308,6 +312,17 @@ public abstract class AbstractSszContainerSchema<C extends SszContainer>
     return TreeUtil.createTree(childrenSubtrees);
   }
 
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    return TreeNodeStorage.loadTree(
+        nodeSource,
+        rootHash,
+        treeDepth(),
+        getFieldsCount(),
+        getDefaultTree(),
+        (index, childRoot) -> getChildSchema((int) index).loadBackingNodes(nodeSource, childRoot));
+  }
+
   @Override
   public SszLengthBounds getSszLengthBounds() {
     return IntStream.range(0, getFieldsCount())
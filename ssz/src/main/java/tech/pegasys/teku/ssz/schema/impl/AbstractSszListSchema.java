@@ -17,6 +17,7 @@ import static tech.pegasys.teku.ssz.tree.TreeUtil.bitsCeilToBytes;
 
 import java.nio.ByteOrder;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.SszList;
 import tech.pegasys.teku.ssz.schema.SszListSchema;
@@ -27,9 +28,13 @@ import tech.pegasys.teku.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
 import tech.pegasys.teku.ssz.tree.BranchNode;
+import tech.pegasys.teku.ssz.tree.BranchNodeChildren;
 import tech.pegasys.teku.ssz.tree.GIndexUtil;
+import tech.pegasys.teku.ssz.tree.LazyBranchNode;
 import tech.pegasys.teku.ssz.tree.LeafNode;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 
 public abstract class AbstractSszListSchema<
         ElementDataT extends SszData, SszListT extends SszList<ElementDataT>>
@@ -125,6 +130,24 @@ public abstract class AbstractSszListSchema<
     }
   }
 
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    // the length is only known once the list root is read so it is read lazily too
+    return LazyBranchNode.create(
+        rootHash,
+        () -> {
+          BranchNodeChildren children = TreeNodeStorage.loadBranchNode(nodeSource, rootHash);
+          // the length leaf is not stored: its data is the length node hash
+          long longLength = children.getRightRoot().slice(0, 8).toLong(ByteOrder.LITTLE_ENDIAN);
+          assert longLength < Integer.MAX_VALUE;
+          int length = (int) longLength;
+          TreeNode vectorNode =
+              getCompatibleVectorSchema()
+                  .loadVectorBackingNodes(nodeSource, children.getLeftRoot(), length);
+          return createTree(vectorNode, length);
+        });
+  }
+
   private static TreeNode toLengthNode(int length) {
     return length == 0
         ? LeafNode.ZERO_LEAVES[8]
@@ -18,6 +18,7 @@ import static tech.pegasys.teku.ssz.tree.TreeUtil.bitsCeilToBytes;
 
 import java.util.List;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.SszPrimitive;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchema;
@@ -28,6 +29,7 @@ import tech.pegasys.teku.ssz.sos.SszWriter;
 import tech.pegasys.teku.ssz.tree.LeafDataNode;
 import tech.pegasys.teku.ssz.tree.LeafNode;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
 
 /**
  * Represents primitive view type
@@ -125,6 +127,11 @@ public abstract class AbstractSszPrimitiveSchema<
     return LeafNode.create(bytes);
   }
 
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    return LeafNode.create(rootHash.slice(0, getSSZBytesSize()));
+  }
+
   @Override
   public SszLengthBounds getSszLengthBounds() {
     return SszLengthBounds.ofBits(getBitsSize());
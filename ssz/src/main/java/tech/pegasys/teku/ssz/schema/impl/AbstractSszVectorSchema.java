@@ -20,6 +20,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ssz.SszData;
 import tech.pegasys.teku.ssz.SszVector;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchemas;
@@ -32,8 +33,10 @@ import tech.pegasys.teku.ssz.sos.SszLengthBounds;
 import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
 import tech.pegasys.teku.ssz.tree.LeafNode;
+import tech.pegasys.teku.ssz.tree.SszPackedNode;
 import tech.pegasys.teku.ssz.tree.SszSuperNode;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
 import tech.pegasys.teku.ssz.tree.TreeUtil;
 
 public abstract class AbstractSszVectorSchema<
@@ -71,8 +74,13 @@ public abstract class AbstractSszVectorSchema<
   @Override
   protected TreeNode createDefaultTree() {
     if (isListBacking) {
-      Optional<SszSuperNodeHint> sszSuperNodeHint = getHints().getHint(SszSuperNodeHint.class);
-      if (sszSuperNodeHint.isPresent()) {
+      Optional<Integer> packedNodeDepth = getPackedNodeDepth();
+      Optional<SszSuperNodeHint> sszSuperNodeHint = getSuperNodeHint();
+      if (packedNodeDepth.isPresent()) {
+        SszPackedNode defaultPackedNode = new SszPackedNode(packedNodeDepth.get(), Bytes.EMPTY);
+        int binaryDepth = treeDepth() - packedNodeDepth.get();
+        return TreeUtil.createTree(emptyList(), defaultPackedNode, binaryDepth);
+      } else if (sszSuperNodeHint.isPresent()) {
         int superNodeDepth = sszSuperNodeHint.get().getDepth();
         SszSuperNode defaultSuperSszNode =
             new SszSuperNode(superNodeDepth, elementSszSupernodeTemplate.get(), Bytes.EMPTY);
@@ -162,6 +170,11 @@ public abstract class AbstractSszVectorSchema<
     return data.getDataTree();
   }
 
+  @Override
+  public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+    return loadVectorBackingNodes(nodeSource, rootHash, getLength());
+  }
+
   @Override
   public SszLengthBounds getSszLengthBounds() {
     return getElementSchema()
@@ -18,10 +18,21 @@ import org.apache.tuweni.bytes.Bytes;
 public class SimpleSszReader implements SszReader {
 
   private final Bytes bytes;
+  private final boolean lazy;
   protected int offset = 0;
 
   public SimpleSszReader(Bytes bytes) {
+    this(bytes, false);
+  }
+
+  public SimpleSszReader(Bytes bytes, boolean lazy) {
     this.bytes = bytes;
+    this.lazy = lazy;
+  }
+
+  @Override
+  public boolean isLazy() {
+    return lazy;
   }
 
   @Override
@@ -32,7 +43,7 @@ public class SimpleSszReader implements SszReader {
   @Override
   public SszReader slice(int size) {
     checkIfAvailable(size);
-    SimpleSszReader ret = new SimpleSszReader(bytes.slice(offset, size));
+    SimpleSszReader ret = new SimpleSszReader(bytes.slice(offset, size), lazy);
     offset += size;
     return ret;
   }
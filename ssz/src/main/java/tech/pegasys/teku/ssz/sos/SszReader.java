@@ -24,6 +24,21 @@ public interface SszReader extends Closeable {
     return new SimpleSszReader(bytes);
   }
 
+  /**
+   * Creates a reader for trusted SSZ where composite values may be deserialized on first access
+   * rather than up front
+   *
+   * @see tech.pegasys.teku.ssz.tree.LazyBranchNode
+   */
+  static SszReader fromBytesLazily(Bytes bytes) {
+    return new SimpleSszReader(bytes, true);
+  }
+
+  /** Returns true if composite values read from this reader may be deserialized lazily */
+  default boolean isLazy() {
+    return false;
+  }
+
   /** Number of bytes available for reading */
   int getAvailableBytes();
 
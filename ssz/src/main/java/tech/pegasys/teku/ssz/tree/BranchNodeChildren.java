@@ -0,0 +1,62 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Roots of the left and right children of a stored {@link BranchNode} */
+public class BranchNodeChildren {
+  private final Bytes32 leftRoot;
+  private final Bytes32 rightRoot;
+
+  public BranchNodeChildren(Bytes32 leftRoot, Bytes32 rightRoot) {
+    this.leftRoot = leftRoot;
+    this.rightRoot = rightRoot;
+  }
+
+  public Bytes32 getLeftRoot() {
+    return leftRoot;
+  }
+
+  public Bytes32 getRightRoot() {
+    return rightRoot;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    BranchNodeChildren that = (BranchNodeChildren) o;
+    return Objects.equals(leftRoot, that.leftRoot) && Objects.equals(rightRoot, that.rightRoot);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(leftRoot, rightRoot);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("leftRoot", leftRoot)
+        .add("rightRoot", rightRoot)
+        .toString();
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.jetbrains.annotations.NotNull;
+import tech.pegasys.teku.ssz.schema.SszCompositeSchema;
+import tech.pegasys.teku.ssz.schema.SszListSchema;
+import tech.pegasys.teku.ssz.schema.SszSchema;
+import tech.pegasys.teku.ssz.schema.SszType;
+import tech.pegasys.teku.ssz.sos.SszReader;
+
+/**
+ * Branch node standing in for a subtree which has not been loaded yet. The real subtree is built
+ * the first time any part of it is accessed, and the loader is released once it is built.
+ *
+ * <p>Nodes created with {@link #LazyBranchNode(SszType, Bytes)} stand in for the root of an SSZ
+ * value which has not been deserialized yet. The subtree is itself deserialized lazily, so
+ * accessing a single element of a large list only builds the list structure and that one element.
+ *
+ * <p>Nodes created with {@link #create(Bytes32, Supplier)} stand in for a subtree persisted to a
+ * {@link TreeNodeStore}. Their root is known up front so hashing a tree of such nodes doesn't load
+ * anything (see {@link TreeNodeStorage#loadTree(TreeNodeSource, Bytes32, int, long, TreeNode,
+ * TreeNodeStorage.BottomNodeLoader)}).
+ *
+ * <p>Nodes created by {@link #deserializeChildTree(SszSchema, SszReader)} hold their own copy of
+ * their SSZ bytes rather than a slice of the enclosing value's bytes, so that releasing them
+ * actually frees the memory instead of waiting for every sibling to be loaded.
+ *
+ * <p>The SSZ bytes are not validated until the node is accessed, so this must only be used for
+ * trusted data such as values read back from the local database.
+ */
+public final class LazyBranchNode implements BranchNode {
+  /** Smaller values are cheap enough to deserialize immediately */
+  static final int MIN_LAZY_SSZ_SIZE = 64;
+
+  // Null if the root is not known until the subtree is loaded
+  private final Bytes32 rootHash;
+  // Guarded by this, cleared once node is set
+  private Supplier<TreeNode> loader;
+  private volatile BranchNode node;
+
+  public LazyBranchNode(final SszType type, final Bytes ssz) {
+    this(null, () -> type.sszDeserializeTree(SszReader.fromBytesLazily(ssz)));
+  }
+
+  private LazyBranchNode(final Bytes32 rootHash, final Supplier<TreeNode> loader) {
+    this.rootHash = rootHash;
+    this.loader = loader;
+  }
+
+  /**
+   * Creates a node with the specified root which builds its subtree with the {@code loader} the
+   * first time the node children are accessed. The loader must return a branch node with the same
+   * root.
+   */
+  public static LazyBranchNode create(final Bytes32 rootHash, final Supplier<TreeNode> loader) {
+    return new LazyBranchNode(rootHash, loader);
+  }
+
+  /**
+   * Deserializes a child value of a composite. If the reader is {@link SszReader#isLazy() lazy} and
+   * the value is large enough, a {@link LazyBranchNode} is returned instead of the full subtree.
+   */
+  public static TreeNode deserializeChildTree(final SszSchema<?> schema, final SszReader reader) {
+    if (reader.isLazy()
+        && reader.getAvailableBytes() >= MIN_LAZY_SSZ_SIZE
+        && hasBranchRoot(schema)) {
+      final Bytes ssz = reader.read(reader.getAvailableBytes());
+      return new LazyBranchNode(schema, Bytes.wrap(ssz.toArray()));
+    }
+    return schema.sszDeserializeTree(reader);
+  }
+
+  private static boolean hasBranchRoot(final SszSchema<?> schema) {
+    // lists always mix in the length, other composites have a branch root unless single-chunk
+    return schema instanceof SszListSchema
+        || (schema instanceof SszCompositeSchema
+            && ((SszCompositeSchema<?>) schema).treeDepth() > 0);
+  }
+
+  public boolean isLoaded() {
+    return node != null;
+  }
+
+  @VisibleForTesting
+  synchronized boolean isLoaderRetained() {
+    return loader != null;
+  }
+
+  private BranchNode getNode() {
+    BranchNode loaded = node;
+    if (loaded == null) {
+      synchronized (this) {
+        loaded = node;
+        if (loaded == null) {
+          final TreeNode tree = loader.get();
+          checkState(tree instanceof BranchNode, "Lazily loaded subtree must have a branch root");
+          loaded = (BranchNode) tree;
+          // Readers which see the node never touch the loader so it can be released
+          node = loaded;
+          loader = null;
+        }
+      }
+    }
+    return loaded;
+  }
+
+  @NotNull
+  @Override
+  public TreeNode left() {
+    return getNode().left();
+  }
+
+  @NotNull
+  @Override
+  public TreeNode right() {
+    return getNode().right();
+  }
+
+  @Override
+  public BranchNode rebind(final boolean left, final TreeNode newNode) {
+    return getNode().rebind(left, newNode);
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    return rootHash != null ? rootHash : getNode().hashTreeRoot();
+  }
+
+  @Override
+  public TreeNode updated(final TreeUpdates newNodes) {
+    return newNodes.isEmpty() ? this : getNode().updated(newNodes);
+  }
+
+  @Override
+  public String toString() {
+    final BranchNode loaded = node;
+    if (loaded != null) {
+      return loaded.toString();
+    }
+    return rootHash != null ? "(lazy " + rootHash + ")" : "(lazy)";
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * SHA-256 hasher specialized for merkleization: hashes pairs of 32-byte child roots without
+ * concatenating them into a fresh buffer and reuses a single {@link MessageDigest} instance instead
+ * of looking up a new one for every hash as {@link org.apache.tuweni.crypto.Hash} does.
+ *
+ * <p>Instances are not thread safe. Use {@link #get()} to obtain the instance bound to the current
+ * thread
+ */
+public final class Sha256Hasher {
+  public static final int HASH_SIZE = Bytes32.SIZE;
+
+  private static final ThreadLocal<Sha256Hasher> THREAD_INSTANCE =
+      ThreadLocal.withInitial(Sha256Hasher::new);
+
+  private final MessageDigest digest;
+
+  private Sha256Hasher() {
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 algorithm is not available", e);
+    }
+  }
+
+  /** Returns the hasher bound to the current thread */
+  public static Sha256Hasher get() {
+    return THREAD_INSTANCE.get();
+  }
+
+  /** Calculates <code>sha256(left ++ right)</code> */
+  public Bytes32 hashPair(Bytes32 left, Bytes32 right) {
+    digest.update(left.toArrayUnsafe());
+    digest.update(right.toArrayUnsafe());
+    return Bytes32.wrap(digest.digest());
+  }
+
+  /**
+   * Calculates <code>sha256(src[offset..offset+length])</code> and writes the result to <code>
+   * dest[destOffset..destOffset+32]</code>.
+   */
+  public void hash(byte[] src, int offset, int length, byte[] dest, int destOffset) {
+    digest.update(src, offset, length);
+    try {
+      digest.digest(dest, destOffset, HASH_SIZE);
+    } catch (DigestException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Calculates <code>sha256(src[leftOffset..leftOffset+32] ++ src[rightOffset..rightOffset+32])
+   * </code> and writes the result to <code>dest[destOffset..destOffset+32]</code>.
+   *
+   * <p>The destination range may overlap either of the source ranges
+   */
+  public void hashPair(byte[] src, int leftOffset, int rightOffset, byte[] dest, int destOffset) {
+    digest.update(src, leftOffset, HASH_SIZE);
+    digest.update(src, rightOffset, HASH_SIZE);
+    try {
+      digest.digest(dest, destOffset, HASH_SIZE);
+    } catch (DigestException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The same as {@link #hashPair(byte[], int, int, byte[], int)} with the right hash taken from a
+   * separate {@link Bytes32} (e.g. a zero subtree root)
+   */
+  public void hashPair(byte[] src, int leftOffset, Bytes32 right, byte[] dest, int destOffset) {
+    digest.update(src, leftOffset, HASH_SIZE);
+    digest.update(right.toArrayUnsafe());
+    try {
+      digest.digest(dest, destOffset, HASH_SIZE);
+    } catch (DigestException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Merkleizes the first <code>chunkCount</code> 32-byte chunks of <code>chunks</code> as the
+   * leftmost leaves of a subtree of the specified <code>depth</code>. The chunks are folded in
+   * place, one tree level per pass, and missing right siblings are substituted with zero subtree
+   * roots of the corresponding height.
+   *
+   * <p>The content of the <code>chunks</code> buffer is overwritten
+   */
+  public Bytes32 merkleizeChunks(byte[] chunks, int chunkCount, int depth) {
+    if (chunkCount == 0) {
+      return TreeUtil.ZERO_TREES[depth].hashTreeRoot();
+    }
+    int levelCount = chunkCount;
+    for (int height = 0; height < depth; height++) {
+      int parentCount = (levelCount + 1) / 2;
+      for (int i = 0; i < parentCount; i++) {
+        int leftOffset = 2 * i * HASH_SIZE;
+        int destOffset = i * HASH_SIZE;
+        if (2 * i + 1 < levelCount) {
+          hashPair(chunks, leftOffset, leftOffset + HASH_SIZE, chunks, destOffset);
+        } else {
+          hashPair(
+              chunks, leftOffset, TreeUtil.ZERO_TREES[height].hashTreeRoot(), chunks, destOffset);
+        }
+      }
+      levelCount = parentCount;
+    }
+    return Bytes32.wrap(Arrays.copyOf(chunks, HASH_SIZE));
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.jetbrains.annotations.NotNull;
+import tech.pegasys.teku.ssz.tree.GIndexUtil.NodeRelation;
+
+/**
+ * Stores consecutive leaves of packed primitive values (e.g. <code>List[uint64, N]</code>) as a
+ * single contiguous bytes array instead of a binary tree of {@link LeafNode}s. The leaves content
+ * is concatenated exactly as it appears in the SSZ representation of the values sequence.
+ *
+ * <p>This node represents a subtree with up to <code>2 ^ depth</code> 32 byte leaves (<code>depth
+ * </code> should be positive, a single leaf is represented by a {@link LeafNode}). Leaves beyond
+ * the stored bytes are considered empty (as in the default list tree). Only the last stored leaf
+ * may be shorter than 32 bytes: inner leaves which are updated with shorter data are right padded
+ * with zeroes which doesn't affect the hash tree root.
+ *
+ * <p>The node is immutable: every update copies the bytes once for the whole batch of {@link
+ * TreeUpdates} so updating many values at once (e.g. all validator balances during epoch
+ * processing) is much cheaper than rebuilding the corresponding binary subtree. On the other hand
+ * the hash tree root of the whole node is recalculated after any update thus <code>depth</code>
+ * should be kept relatively small. See {@link
+ * tech.pegasys.teku.ssz.schema.SszSchemaHints.SszPackedNodeHint}
+ */
+public class SszPackedNode implements TreeNode, LeafDataNode {
+  private static final int CHUNK_SIZE = LeafNode.MAX_BYTE_SIZE;
+  /** Limited by the maximum byte array size */
+  public static final int MAX_DEPTH = 25;
+
+  private final int depth;
+  private final Bytes data;
+  private volatile Bytes32 cachedHash;
+
+  public SszPackedNode(int depth, Bytes data) {
+    checkArgument(depth > 0 && depth <= MAX_DEPTH, "Invalid depth: %s", depth);
+    this.depth = depth;
+    this.data = data;
+    checkArgument(data.size() <= getMaxByteSize(), "Data is too large for node depth");
+  }
+
+  private int getMaxByteSize() {
+    return CHUNK_SIZE << depth;
+  }
+
+  private int getChunksCount() {
+    return (data.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  @Override
+  public Bytes32 hashTreeRoot() {
+    Bytes32 hash = cachedHash;
+    if (hash == null) {
+      hash = calcHashTreeRoot();
+      cachedHash = hash;
+    }
+    return hash;
+  }
+
+  private Bytes32 calcHashTreeRoot() {
+    int chunksCount = getChunksCount();
+    byte[] chunks = new byte[chunksCount * CHUNK_SIZE];
+    data.copyTo(MutableBytes.wrap(chunks), 0);
+    return Sha256Hasher.get().merkleizeChunks(chunks, chunksCount, depth);
+  }
+
+  @NotNull
+  @Override
+  public TreeNode get(long generalizedIndex) {
+    if (GIndexUtil.gIdxIsSelf(generalizedIndex)) {
+      return this;
+    }
+    int nodeDepth = GIndexUtil.gIdxGetDepth(generalizedIndex);
+    checkArgument(nodeDepth <= depth, "Invalid index: %s", generalizedIndex);
+    int subtreeDepth = depth - nodeDepth;
+    int subtreeByteSize = CHUNK_SIZE << subtreeDepth;
+    int offset = GIndexUtil.gIdxGetChildIndex(generalizedIndex, nodeDepth) * subtreeByteSize;
+    Bytes subtreeData =
+        offset < data.size()
+            ? data.slice(offset, Math.min(subtreeByteSize, data.size() - offset))
+            : Bytes.EMPTY;
+    if (subtreeDepth == 0) {
+      return subtreeData.isEmpty() ? LeafNode.EMPTY_LEAF : LeafNode.create(subtreeData);
+    } else {
+      return new SszPackedNode(subtreeDepth, subtreeData);
+    }
+  }
+
+  @Override
+  public boolean iterate(
+      long thisGeneralizedIndex, long startGeneralizedIndex, TreeVisitor visitor) {
+    if (GIndexUtil.gIdxCompare(thisGeneralizedIndex, startGeneralizedIndex) == NodeRelation.Left) {
+      return true;
+    } else {
+      return visitor.visit(this, thisGeneralizedIndex);
+    }
+  }
+
+  @Override
+  public TreeNode updated(TreeUpdates newNodes) {
+    if (newNodes.isEmpty()) {
+      return this;
+    }
+    // all the updated nodes are at the same depth
+    int updateDepth = GIndexUtil.gIdxGetDepth(newNodes.getRelativeGIndex(0));
+    checkArgument(updateDepth <= depth, "Can't update nodes below packed leaves");
+    if (updateDepth == 0) {
+      return newNodes.getNode(0);
+    }
+    int subtreeByteSize = CHUNK_SIZE << (depth - updateDepth);
+
+    int lastOffset =
+        GIndexUtil.gIdxGetChildIndex(newNodes.getRelativeGIndex(newNodes.size() - 1), updateDepth)
+            * subtreeByteSize;
+    byte[] bytes = new byte[Math.max(data.size(), lastOffset + subtreeByteSize)];
+    MutableBytes mutableBytes = MutableBytes.wrap(bytes);
+    data.copyTo(mutableBytes, 0);
+
+    int size = data.size();
+    for (int i = 0; i < newNodes.size(); i++) {
+      int offset =
+          GIndexUtil.gIdxGetChildIndex(newNodes.getRelativeGIndex(i), updateDepth)
+              * subtreeByteSize;
+      Bytes subtreeData = getSubtreeData(newNodes.getNode(i));
+      checkArgument(subtreeData.size() <= subtreeByteSize, "Updated node data is too large");
+      subtreeData.copyTo(mutableBytes, offset);
+      int dataEnd = offset + subtreeData.size();
+      int subtreeEnd = offset + subtreeByteSize;
+      Arrays.fill(bytes, dataEnd, subtreeEnd, (byte) 0);
+      if (subtreeEnd >= size) {
+        // the updated subtree covers the tail: its data length defines the new size
+        size = dataEnd;
+      }
+    }
+    return new SszPackedNode(
+        depth, Bytes.wrap(size == bytes.length ? bytes : Arrays.copyOf(bytes, size)));
+  }
+
+  private static Bytes getSubtreeData(TreeNode node) {
+    if (node instanceof LeafDataNode) {
+      return ((LeafDataNode) node).getData();
+    } else {
+      return TreeUtil.concatenateLeavesData(node);
+    }
+  }
+
+  @Override
+  public Bytes getData() {
+    return data;
+  }
+
+  @Override
+  public String toString() {
+    return "SszPackedNode{depth=" + depth + ", data=" + data + "}";
+  }
+}
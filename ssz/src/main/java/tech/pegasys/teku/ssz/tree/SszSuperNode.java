@@ -22,7 +22,6 @@ import java.util.stream.IntStream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.MutableBytes;
-import org.apache.tuweni.crypto.Hash;
 import org.jetbrains.annotations.NotNull;
 import tech.pegasys.teku.ssz.tree.GIndexUtil.NodeRelation;
 import tech.pegasys.teku.ssz.tree.SszNodeTemplate.Location;
@@ -44,8 +43,6 @@ import tech.pegasys.teku.ssz.tree.SszNodeTemplate.Location;
  * list)
  */
 public class SszSuperNode implements TreeNode, LeafDataNode {
-  private static final TreeNode DEFAULT_NODE = LeafNode.EMPTY_LEAF;
-
   private final int depth;
   private final SszNodeTemplate elementTemplate;
   private final Bytes ssz;
@@ -72,26 +69,24 @@ public class SszSuperNode implements TreeNode, LeafDataNode {
     return hashTreeRoot.get();
   }
 
+  /**
+   * Merkleizes elements level by level: element roots are written to a single buffer which is then
+   * folded in place by {@link Sha256Hasher#merkleizeChunks(byte[], int, int)}
+   */
   private Bytes32 calcHashTreeRoot() {
-    return hashTreeRoot(0, 0);
-  }
-
-  private Bytes32 hashTreeRoot(int curDepth, int offset) {
-    if (curDepth == depth) {
-      if (offset < ssz.size()) {
-        return elementTemplate.calculateHashTreeRoot(ssz, offset);
-      } else {
-        assert offset <= elementTemplate.getSszLength() * (getMaxElements() - 1);
-        return DEFAULT_NODE.hashTreeRoot();
-      }
-    } else {
-      return Hash.sha2_256(
-          Bytes.wrap(
-              hashTreeRoot(curDepth + 1, offset),
-              hashTreeRoot(
-                  curDepth + 1,
-                  offset + elementTemplate.getSszLength() * (1 << ((depth - curDepth) - 1)))));
+    int elementsCount = getElementsCount();
+    int elementSszLength = elementTemplate.getSszLength();
+    byte[] levelHashes = new byte[elementsCount * Sha256Hasher.HASH_SIZE];
+    for (int i = 0; i < elementsCount; i++) {
+      Bytes32 elementRoot = elementTemplate.calculateHashTreeRoot(ssz, i * elementSszLength);
+      System.arraycopy(
+          elementRoot.toArrayUnsafe(),
+          0,
+          levelHashes,
+          i * Sha256Hasher.HASH_SIZE,
+          Sha256Hasher.HASH_SIZE);
     }
+    return Sha256Hasher.get().merkleizeChunks(levelHashes, elementsCount, depth);
   }
 
   @NotNull
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.ssz.tree.TreeNodeImpl.BranchNodeImpl;
+
+/**
+ * Calculates <code>hash_tree_root</code> of a tree in a batched manner.
+ *
+ * <p>Instead of recursing through {@link BranchNode#hashTreeRoot()} for every node the merkleizer
+ * first collects all branch nodes which don't have a cached hash yet (dirty nodes) grouping them by
+ * depth. Then the levels are hashed bottom-up in tight loops with a reused {@link Sha256Hasher} and
+ * the resulting hashes are cached back into the nodes.
+ *
+ * <p>Subtrees with already cached hashes (which is the most part of a tree after a typical update)
+ * are not traversed at all.
+ *
+ * <p>A merkleizer created with {@link #parallel(ForkJoinPool, int)} descends the dirty part of the
+ * tree level by level until it reaches a level of at least <code>parallelLevelThreshold</code>
+ * dirty nodes. The subtrees rooted at that level are independent from each other and are each
+ * hashed to completion by fork/join tasks without waiting for the other subtrees, then the few
+ * levels above are hashed on the calling thread. Small updates never reach the threshold and are
+ * hashed on the calling thread.
+ *
+ * <p>{@link BranchNode#hashTreeRoot()} always uses the {@link #sequential()} merkleizer. Components
+ * hashing large trees (like beacon states) may be supplied with a parallel merkleizer and pass it
+ * to {@link TreeNode#hashTreeRoot(TreeMerkleizer)}
+ */
+public final class TreeMerkleizer {
+  public static final int DEFAULT_PARALLEL_LEVEL_THRESHOLD = 4096;
+
+  private static final int TASKS_PER_THREAD = 4;
+
+  private static final TreeMerkleizer SEQUENTIAL = new TreeMerkleizer(Optional.empty(), 0);
+
+  private final Optional<ForkJoinPool> pool;
+  private final int parallelLevelThreshold;
+
+  private TreeMerkleizer(Optional<ForkJoinPool> pool, int parallelLevelThreshold) {
+    this.pool = pool;
+    this.parallelLevelThreshold = parallelLevelThreshold;
+  }
+
+  /** Returns a merkleizer which hashes all the nodes on the calling thread */
+  public static TreeMerkleizer sequential() {
+    return SEQUENTIAL;
+  }
+
+  /**
+   * Returns a merkleizer which hashes independent subtrees of large dirty trees in parallel on the
+   * specified pool. The pool is owned by the caller which is responsible for shutting it down
+   *
+   * @param pool the pool to run hashing tasks on. Its parallelism bounds the number of threads used
+   *     for hashing
+   * @param parallelLevelThreshold the minimal number of dirty nodes in a tree level to hash the
+   *     subtrees rooted at that level in parallel
+   */
+  public static TreeMerkleizer parallel(ForkJoinPool pool, int parallelLevelThreshold) {
+    checkArgument(parallelLevelThreshold > 0, "Parallel level threshold should be positive");
+    return new TreeMerkleizer(Optional.of(pool), parallelLevelThreshold);
+  }
+
+  /**
+   * Calculates (if necessary) and returns the node <code>hash_tree_root</code> with the sequential
+   * merkleizer. For branch nodes all the calculated descendant hashes are cached
+   */
+  public static Bytes32 hashTreeRoot(TreeNode node) {
+    return SEQUENTIAL.merkleize(node);
+  }
+
+  /**
+   * Calculates (if necessary) and returns the node <code>hash_tree_root</code>. For branch nodes
+   * all the calculated descendant hashes are cached
+   */
+  public Bytes32 merkleize(TreeNode node) {
+    if (!(node instanceof BranchNodeImpl)) {
+      return node.hashTreeRoot();
+    }
+    BranchNodeImpl root = (BranchNodeImpl) node;
+    Bytes32 cachedHash = root.getCachedHash();
+    if (cachedHash != null) {
+      return cachedHash;
+    }
+
+    if (isHashed(root.left()) && isHashed(root.right())) {
+      // fast path: only the root itself is dirty
+      return hashBranch(root, Sha256Hasher.get());
+    }
+
+    List<List<BranchNodeImpl>> dirtyLevels = new ArrayList<>();
+    if (pool.isPresent()) {
+      collectDirtyLevelsUntil(root, parallelLevelThreshold, dirtyLevels);
+      List<BranchNodeImpl> lastLevel = dirtyLevels.get(dirtyLevels.size() - 1);
+      if (lastLevel.size() >= parallelLevelThreshold) {
+        // subtrees below the last collected level are independent: hash each to completion
+        ForkJoinPool forkJoinPool = pool.get();
+        int maxTaskSize =
+            Math.max(1, lastLevel.size() / (forkJoinPool.getParallelism() * TASKS_PER_THREAD));
+        forkJoinPool.invoke(new HashSubtreesTask(lastLevel, 0, lastLevel.size(), maxTaskSize));
+      }
+    } else {
+      collectDirtyNodes(root, 0, dirtyLevels);
+    }
+
+    for (int depth = dirtyLevels.size() - 1; depth >= 0; depth--) {
+      List<BranchNodeImpl> level = dirtyLevels.get(depth);
+      hashLevel(level, 0, level.size());
+    }
+    return root.getCachedHash();
+  }
+
+  private static void hashLevel(List<BranchNodeImpl> level, int fromIndex, int toIndex) {
+    Sha256Hasher hasher = Sha256Hasher.get();
+    for (int i = fromIndex; i < toIndex; i++) {
+      BranchNodeImpl branch = level.get(i);
+      if (branch.getCachedHash() == null) {
+        hashBranch(branch, hasher);
+      }
+    }
+  }
+
+  private static void collectDirtyNodes(
+      BranchNodeImpl node, int depth, List<List<BranchNodeImpl>> dirtyLevels) {
+    if (dirtyLevels.size() == depth) {
+      dirtyLevels.add(new ArrayList<>());
+    }
+    dirtyLevels.get(depth).add(node);
+
+    TreeNode left = node.left();
+    TreeNode right = node.right();
+    if (isDirtyBranch(left)) {
+      collectDirtyNodes((BranchNodeImpl) left, depth + 1, dirtyLevels);
+    }
+    // default subtrees are frequently shared by both children: don't traverse them twice
+    if (right != left && isDirtyBranch(right)) {
+      collectDirtyNodes((BranchNodeImpl) right, depth + 1, dirtyLevels);
+    }
+  }
+
+  /**
+   * Collects dirty nodes breadth first until the whole dirty part of the tree is collected or a
+   * level of at least <code>maxLevelSize</code> nodes is reached. In the latter case the last
+   * collected level nodes are the roots of the remaining (not collected) dirty subtrees
+   */
+  private static void collectDirtyLevelsUntil(
+      BranchNodeImpl root, int maxLevelSize, List<List<BranchNodeImpl>> dirtyLevels) {
+    List<BranchNodeImpl> level = List.of(root);
+    while (!level.isEmpty()) {
+      dirtyLevels.add(level);
+      if (level.size() >= maxLevelSize) {
+        return;
+      }
+      List<BranchNodeImpl> nextLevel = new ArrayList<>();
+      for (BranchNodeImpl node : level) {
+        TreeNode left = node.left();
+        TreeNode right = node.right();
+        if (isDirtyBranch(left)) {
+          nextLevel.add((BranchNodeImpl) left);
+        }
+        if (right != left && isDirtyBranch(right)) {
+          nextLevel.add((BranchNodeImpl) right);
+        }
+      }
+      level = nextLevel;
+    }
+  }
+
+  private static Bytes32 hashBranch(BranchNodeImpl branch, Sha256Hasher hasher) {
+    Bytes32 hash = hasher.hashPair(childHash(branch.left()), childHash(branch.right()));
+    branch.setCachedHash(hash);
+    return hash;
+  }
+
+  private static Bytes32 childHash(TreeNode child) {
+    if (child instanceof BranchNodeImpl) {
+      Bytes32 cachedHash = ((BranchNodeImpl) child).getCachedHash();
+      if (cachedHash != null) {
+        return cachedHash;
+      }
+    }
+    // either a non-branch node or a branch shared at different depths which wasn't
+    // processed in the expected order: fall back to the node own hashing
+    return child.hashTreeRoot();
+  }
+
+  private static boolean isDirtyBranch(TreeNode node) {
+    return node instanceof BranchNodeImpl && ((BranchNodeImpl) node).getCachedHash() == null;
+  }
+
+  private static boolean isHashed(TreeNode node) {
+    return !isDirtyBranch(node);
+  }
+
+  private static class HashSubtreesTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final List<BranchNodeImpl> subtreeRoots;
+    private final int fromIndex;
+    private final int toIndex;
+    private final int maxTaskSize;
+
+    private HashSubtreesTask(
+        List<BranchNodeImpl> subtreeRoots, int fromIndex, int toIndex, int maxTaskSize) {
+      this.subtreeRoots = subtreeRoots;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+      this.maxTaskSize = maxTaskSize;
+    }
+
+    @Override
+    protected void compute() {
+      if (toIndex - fromIndex <= maxTaskSize) {
+        for (int i = fromIndex; i < toIndex; i++) {
+          SEQUENTIAL.merkleize(subtreeRoots.get(i));
+        }
+      } else {
+        int middle = (fromIndex + toIndex) >>> 1;
+        invokeAll(
+            new HashSubtreesTask(subtreeRoots, fromIndex, middle, maxTaskSize),
+            new HashSubtreesTask(subtreeRoots, middle, toIndex, maxTaskSize));
+      }
+    }
+  }
+}
@@ -35,6 +35,15 @@ public interface TreeNode {
    */
   Bytes32 hashTreeRoot();
 
+  /**
+   * Calculates (if necessary) and returns `hash_tree_root` of this tree node using the specified
+   * merkleizer. A parallel {@link TreeMerkleizer} hashes independent nodes of large dirty subtrees
+   * concurrently
+   */
+  default Bytes32 hashTreeRoot(TreeMerkleizer merkleizer) {
+    return merkleizer.merkleize(this);
+  }
+
   /**
    * Gets this node descendant by its 'generalized index'
    *
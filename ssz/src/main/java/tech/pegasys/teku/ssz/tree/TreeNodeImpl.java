@@ -121,12 +121,21 @@ abstract class TreeNodeImpl implements TreeNode {
 
     @Override
     public Bytes32 hashTreeRoot() {
-      if (cachedHash == null) {
-        cachedHash = BranchNode.super.hashTreeRoot();
+      Bytes32 hash = cachedHash;
+      if (hash == null) {
+        hash = TreeMerkleizer.hashTreeRoot(this);
       }
+      return hash;
+    }
+
+    Bytes32 getCachedHash() {
       return cachedHash;
     }
 
+    void setCachedHash(Bytes32 hash) {
+      cachedHash = hash;
+    }
+
     @Override
     public String toString() {
       return left == right ? ("(2x " + left + ")") : ("(" + left + ", " + right + ')');
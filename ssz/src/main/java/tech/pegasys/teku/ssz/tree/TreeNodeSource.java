@@ -0,0 +1,31 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** Source of tree nodes previously persisted to a {@link TreeNodeStore} */
+public interface TreeNodeSource {
+
+  /** Returns the roots of the left and right children of the stored branch node */
+  Optional<BranchNodeChildren> loadBranchNode(Bytes32 rootHash);
+
+  /**
+   * Returns the data of the stored {@link LeafDataNode} which packs several leaves (like {@link
+   * SszSuperNode} or {@link SszPackedNode})
+   */
+  Optional<Bytes> loadLeafDataNode(Bytes32 rootHash);
+}
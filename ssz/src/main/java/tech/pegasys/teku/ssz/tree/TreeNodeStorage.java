@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static java.lang.Integer.min;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Persists binary trees to a {@link TreeNodeStore} and loads them back from a {@link
+ * TreeNodeSource}. Nodes are keyed by their hash tree roots so subtrees shared between several
+ * trees (e.g. states of successive slots) are stored only once.
+ *
+ * <p>Only branch nodes and {@link LeafDataNode}s packing several leaves ({@link SszSuperNode},
+ * {@link SszPackedNode}) are persisted. Single {@link LeafNode}s are not stored since their data is
+ * the node hash itself truncated to the length known from the schema. Zero subtrees ({@link
+ * TreeUtil#ZERO_TREES}) are not stored either. For these reasons a tree can only be loaded with its
+ * schema (see {@link tech.pegasys.teku.ssz.schema.SszSchema#loadBackingNodes(TreeNodeSource,
+ * Bytes32)})
+ */
+public class TreeNodeStorage {
+
+  private static final Map<Bytes32, Integer> ZERO_TREE_HEIGHTS = new HashMap<>();
+
+  static {
+    for (int i = 1; i < TreeUtil.ZERO_TREES.length; i++) {
+      ZERO_TREE_HEIGHTS.put(TreeUtil.ZERO_TREES[i].hashTreeRoot(), i);
+    }
+  }
+
+  @FunctionalInterface
+  public interface BottomNodeLoader {
+
+    /**
+     * Loads the bottom node of a subtree
+     *
+     * @param index the index of the node among the subtree bottom nodes
+     * @param rootHash the hash of the node to load
+     */
+    TreeNode load(long index, Bytes32 rootHash);
+  }
+
+  /**
+   * Stores all the nodes of the tree which are not yet in the store. If a branch node is already
+   * stored then its whole subtree is considered stored and is skipped
+   */
+  public static void storeTree(TreeNode node, TreeNodeStore store) {
+    if (node instanceof LeafNode) {
+      // leaf data is recovered from the node hash
+      return;
+    }
+    Bytes32 rootHash = node.hashTreeRoot();
+    if (node instanceof LeafDataNode) {
+      if (!store.containsLeafDataNode(rootHash)) {
+        store.storeLeafDataNode(rootHash, ((LeafDataNode) node).getData());
+      }
+    } else if (node instanceof BranchNode) {
+      if (isZeroTreeRoot(rootHash) || store.containsBranchNode(rootHash)) {
+        return;
+      }
+      BranchNode branchNode = (BranchNode) node;
+      storeTree(branchNode.left(), store);
+      if (branchNode.right() != branchNode.left()) {
+        storeTree(branchNode.right(), store);
+      }
+      // the branch is stored after its children so a stored branch always has a complete subtree
+      store.storeBranchNode(
+          rootHash, branchNode.left().hashTreeRoot(), branchNode.right().hashTreeRoot());
+    } else {
+      throw new IllegalArgumentException("Unsupported tree node type: " + node.getClass());
+    }
+  }
+
+  /**
+   * Loads a binary subtree of the specified depth. The first {@code width} bottom nodes are loaded
+   * with the {@code bottomLoader}, the rest of the nodes are taken from the {@code defaultTree}
+   *
+   * <p>Branch nodes are loaded lazily: each is returned as a {@link LazyBranchNode} which reads its
+   * children from the {@code source} only when they are first accessed, so parts of the tree which
+   * are never accessed are never read. A missing branch node is therefore only reported on access
+   */
+  public static TreeNode loadTree(
+      TreeNodeSource source,
+      Bytes32 rootHash,
+      int depth,
+      long width,
+      TreeNode defaultTree,
+      BottomNodeLoader bottomLoader) {
+    return loadTree(
+        source, rootHash, depth, 0, width, defaultTree, GIndexUtil.SELF_G_INDEX, bottomLoader);
+  }
+
+  private static TreeNode loadTree(
+      TreeNodeSource source,
+      Bytes32 rootHash,
+      int height,
+      long fromIndex,
+      long width,
+      TreeNode defaultTree,
+      long generalizedIndex,
+      BottomNodeLoader bottomLoader) {
+    if (fromIndex >= width) {
+      return defaultTree.get(generalizedIndex);
+    }
+    if (height == 0) {
+      return bottomLoader.load(fromIndex, rootHash);
+    }
+    return LazyBranchNode.create(
+        rootHash,
+        () -> {
+          BranchNodeChildren children = loadBranchNode(source, rootHash);
+          TreeNode left =
+              loadTree(
+                  source,
+                  children.getLeftRoot(),
+                  height - 1,
+                  fromIndex,
+                  width,
+                  defaultTree,
+                  GIndexUtil.gIdxLeftGIndex(generalizedIndex),
+                  bottomLoader);
+          TreeNode right =
+              loadTree(
+                  source,
+                  children.getRightRoot(),
+                  height - 1,
+                  fromIndex + (1L << (height - 1)),
+                  width,
+                  defaultTree,
+                  GIndexUtil.gIdxRightGIndex(generalizedIndex),
+                  bottomLoader);
+          return BranchNode.create(left, right);
+        });
+  }
+
+  /** Returns the roots of the children of the branch node with the specified root */
+  public static BranchNodeChildren loadBranchNode(TreeNodeSource source, Bytes32 rootHash) {
+    return source
+        .loadBranchNode(rootHash)
+        .orElseGet(
+            () -> {
+              Integer zeroTreeHeight = ZERO_TREE_HEIGHTS.get(rootHash);
+              if (zeroTreeHeight == null) {
+                throw new IllegalStateException("Branch node not found: " + rootHash);
+              }
+              Bytes32 childRoot = TreeUtil.ZERO_TREES[zeroTreeHeight - 1].hashTreeRoot();
+              return new BranchNodeChildren(childRoot, childRoot);
+            });
+  }
+
+  /**
+   * Loads the data of the {@link LeafDataNode} of the specified depth packing several leaves.
+   *
+   * <p>The data is truncated or padded with zeroes to the {@code size} which is known from the
+   * schema: the stored node hash commits to its data only up to the trailing zero bytes. If the
+   * node data wasn't stored (e.g. it is a zero subtree or it was stored as ordinary branches) then
+   * it is assembled from the leaves
+   */
+  public static Bytes loadLeafData(TreeNodeSource source, Bytes32 rootHash, int depth, int size) {
+    Bytes data =
+        source
+            .loadLeafDataNode(rootHash)
+            .orElseGet(
+                () -> {
+                  byte[] bytes = new byte[size];
+                  loadLeavesData(source, rootHash, depth, bytes, 0);
+                  return Bytes.wrap(bytes);
+                });
+    if (data.size() > size) {
+      return data.slice(0, size);
+    } else if (data.size() < size) {
+      return Bytes.wrap(data, Bytes.wrap(new byte[size - data.size()]));
+    } else {
+      return data;
+    }
+  }
+
+  private static void loadLeavesData(
+      TreeNodeSource source, Bytes32 rootHash, int height, byte[] dest, int offset) {
+    if (offset >= dest.length || isZeroTreeRoot(rootHash)) {
+      return;
+    }
+    if (height == 0) {
+      System.arraycopy(
+          rootHash.toArrayUnsafe(),
+          0,
+          dest,
+          offset,
+          min(LeafNode.MAX_BYTE_SIZE, dest.length - offset));
+      return;
+    }
+    BranchNodeChildren children = loadBranchNode(source, rootHash);
+    loadLeavesData(source, children.getLeftRoot(), height - 1, dest, offset);
+    loadLeavesData(
+        source,
+        children.getRightRoot(),
+        height - 1,
+        dest,
+        offset + (LeafNode.MAX_BYTE_SIZE << (height - 1)));
+  }
+
+  public static boolean isZeroTreeRoot(Bytes32 rootHash) {
+    return ZERO_TREE_HEIGHTS.containsKey(rootHash);
+  }
+}
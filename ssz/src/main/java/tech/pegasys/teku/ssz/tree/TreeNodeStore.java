@@ -0,0 +1,34 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Storage of tree nodes keyed by their hash tree roots. Since the key is the node hash the nodes
+ * shared between several trees are stored just once
+ *
+ * @see TreeNodeStorage#storeTree(TreeNode, TreeNodeStore)
+ */
+public interface TreeNodeStore {
+
+  boolean containsBranchNode(Bytes32 rootHash);
+
+  void storeBranchNode(Bytes32 rootHash, Bytes32 leftRoot, Bytes32 rightRoot);
+
+  boolean containsLeafDataNode(Bytes32 rootHash);
+
+  void storeLeafDataNode(Bytes32 rootHash, Bytes data);
+}
@@ -29,6 +29,7 @@ import tech.pegasys.teku.ssz.sos.SszReader;
 import tech.pegasys.teku.ssz.sos.SszWriter;
 import tech.pegasys.teku.ssz.tree.LeafNode;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
 
 public class SszCompositeListTest {
 
@@ -80,6 +81,11 @@ public class SszCompositeListTest {
           return null;
         }
 
+        @Override
+        public TreeNode loadBackingNodes(TreeNodeSource nodeSource, Bytes32 rootHash) {
+          throw new UnsupportedOperationException();
+        }
+
         @Override
         public SszLengthBounds getSszLengthBounds() {
           return SszLengthBounds.ZERO;
@@ -16,6 +16,7 @@ package tech.pegasys.teku.ssz;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,7 +28,10 @@ import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.ssz.sos.SszReader;
+import tech.pegasys.teku.ssz.tree.InMemoryTreeNodeStore;
 import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 
 @TestInstance(Lifecycle.PER_CLASS)
 public interface SszDataTestBase {
@@ -69,6 +73,22 @@ public interface SszDataTestBase {
     SszDataAssert.assertThatSszData(data1).isEqualByAllMeansTo(data);
   }
 
+  @MethodSource("sszDataArguments")
+  @ParameterizedTest
+  default void sszSerialize_outputStreamShouldMatchBytes(SszData data) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    int size = data.sszSerialize(out);
+    assertThat(Bytes.wrap(out.toByteArray())).isEqualTo(data.sszSerialize());
+    assertThat(size).isEqualTo(data.getSszSize());
+  }
+
+  @MethodSource("sszDataArguments")
+  @ParameterizedTest
+  default void sszDeserialize_lazyShouldMatchEager(SszData data) {
+    SszData data1 = data.getSchema().sszDeserialize(SszReader.fromBytesLazily(data.sszSerialize()));
+    SszDataAssert.assertThatSszData(data1).isEqualByAllMeansTo(data);
+  }
+
   @MethodSource("sszDataArguments")
   @ParameterizedTest
   default void getBackingNode_testTreeRoundtrip(SszData data) {
@@ -77,6 +97,16 @@ public interface SszDataTestBase {
     SszDataAssert.assertThatSszData(data1).isEqualByAllMeansTo(data);
   }
 
+  @MethodSource("sszDataArguments")
+  @ParameterizedTest
+  default void loadBackingNodes_testStoredTreeRoundtrip(SszData data) {
+    InMemoryTreeNodeStore nodeStore = new InMemoryTreeNodeStore();
+    TreeNodeStorage.storeTree(data.getBackingNode(), nodeStore);
+    TreeNode tree = data.getSchema().loadBackingNodes(nodeStore, data.hashTreeRoot());
+    SszData data1 = data.getSchema().createFromBackingNode(tree);
+    SszDataAssert.assertThatSszData(data1).isEqualByAllMeansTo(data);
+  }
+
   @MethodSource("sszWritableDataArguments")
   @ParameterizedTest
   default void createWritableCopy_commitShouldReturnEqualInstance(SszData data) {
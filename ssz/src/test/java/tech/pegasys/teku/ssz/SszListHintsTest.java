@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -35,10 +36,16 @@ import tech.pegasys.teku.ssz.TestContainers.TestContainer;
 import tech.pegasys.teku.ssz.TestContainers.TestDoubleSuperContainer;
 import tech.pegasys.teku.ssz.TestContainers.TestSmallContainer;
 import tech.pegasys.teku.ssz.TestContainers.TestSubContainer;
+import tech.pegasys.teku.ssz.primitive.SszByte;
+import tech.pegasys.teku.ssz.primitive.SszBytes32;
+import tech.pegasys.teku.ssz.primitive.SszUInt64;
 import tech.pegasys.teku.ssz.schema.SszListSchema;
+import tech.pegasys.teku.ssz.schema.SszPrimitiveSchemas;
 import tech.pegasys.teku.ssz.schema.SszSchema;
 import tech.pegasys.teku.ssz.schema.SszSchemaHints;
 import tech.pegasys.teku.ssz.sos.SszReader;
+import tech.pegasys.teku.ssz.tree.InMemoryTreeNodeStore;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
 
 public class SszListHintsTest {
 
@@ -49,6 +56,9 @@ public class SszListHintsTest {
     if (!(list0 instanceof SszMutableData)) {
       ret.add(type.createFromBackingNode(list0.getBackingNode()));
       ret.add(type.sszDeserialize(SszReader.fromBytes(list0.sszSerialize())));
+      InMemoryTreeNodeStore nodeStore = new InMemoryTreeNodeStore();
+      TreeNodeStorage.storeTree(list0.getBackingNode(), nodeStore);
+      ret.add(type.createFromBackingNode(type.loadBackingNodes(nodeStore, list0.hashTreeRoot())));
     }
     return ret;
   }
@@ -152,6 +162,16 @@ public class SszListHintsTest {
                 TestByteVectorContainer.random(random),
                 random.nextLong());
 
+    SszSchema<?> listElementType5 = SszPrimitiveSchemas.UINT64_SCHEMA;
+    Supplier<SszUInt64> elementSupplier5 =
+        () -> SszUInt64.of(UInt64.fromLongBits(random.nextLong()));
+
+    SszSchema<?> listElementType6 = SszPrimitiveSchemas.BYTE_SCHEMA;
+    Supplier<SszByte> elementSupplier6 = () -> SszByte.of(random.nextInt());
+
+    SszSchema<?> listElementType7 = SszPrimitiveSchemas.BYTES32_SCHEMA;
+    Supplier<SszBytes32> elementSupplier7 = () -> SszBytes32.of(Bytes32.random(random));
+
     return Stream.of(
         Arguments.of(listElementType1, 3, elementSupplier1),
         Arguments.of(listElementType1, 4, elementSupplier1),
@@ -176,16 +196,32 @@ public class SszListHintsTest {
         Arguments.of(listElementType3, 17, elementSupplier3),
         Arguments.of(listElementType4, 15, elementSupplier4),
         Arguments.of(listElementType4, 16, elementSupplier4),
-        Arguments.of(listElementType4, 17, elementSupplier4));
+        Arguments.of(listElementType4, 17, elementSupplier4),
+        Arguments.of(listElementType5, 15, elementSupplier5),
+        Arguments.of(listElementType5, 16, elementSupplier5),
+        Arguments.of(listElementType5, 17, elementSupplier5),
+        Arguments.of(listElementType5, 1000, elementSupplier5),
+        Arguments.of(listElementType5, Integer.MAX_VALUE, elementSupplier5),
+        Arguments.of(listElementType6, 31, elementSupplier6),
+        Arguments.of(listElementType6, 32, elementSupplier6),
+        Arguments.of(listElementType6, 33, elementSupplier6),
+        Arguments.of(listElementType6, 1000, elementSupplier6),
+        Arguments.of(listElementType7, 15, elementSupplier7),
+        Arguments.of(listElementType7, 16, elementSupplier7),
+        Arguments.of(listElementType7, 17, elementSupplier7));
   }
 
   static <TElement extends SszData> List<SszListSchema<TElement, ?>> generateTypesWithHints(
       SszListSchema<TElement, ?> originalType) {
+    IntFunction<SszSchemaHints> hintsFactory =
+        originalType.getElementSchema().isPrimitive()
+            ? SszSchemaHints::sszPackedNode
+            : SszSchemaHints::sszSuperNode;
     return Stream.concat(
             Stream.of(originalType),
             IntStream.of(0, 1, 2, 4, 8, 10)
                 .filter(i -> (1 << i) < originalType.getMaxLength())
-                .mapToObj(SszSchemaHints::sszSuperNode)
+                .mapToObj(hintsFactory)
                 .map(
                     typeHints ->
                         (SszListSchema<TElement, ?>)
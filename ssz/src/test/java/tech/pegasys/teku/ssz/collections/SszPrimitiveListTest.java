@@ -13,8 +13,15 @@
 
 package tech.pegasys.teku.ssz.collections;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.ssz.RandomSszDataGenerator;
+import tech.pegasys.teku.ssz.SszDataAssert;
 import tech.pegasys.teku.ssz.schema.SszPrimitiveSchemas;
 import tech.pegasys.teku.ssz.schema.collections.SszPrimitiveListSchema;
 
@@ -64,4 +71,25 @@ public class SszPrimitiveListTest implements SszMutablePrimitiveListTestBase {
                         .randomData(schema)) // full
             );
   }
+
+  public Stream<Arguments> sszUInt64ListArguments() {
+    return sszData().filter(data -> data instanceof SszUInt64List).map(Arguments::of);
+  }
+
+  @MethodSource("sszUInt64ListArguments")
+  @ParameterizedTest
+  void toLongArray_shouldMatchElements(SszUInt64List data) {
+    final long[] values = data.toLongArray();
+    assertThat(values).hasSize(data.size());
+    for (int i = 0; i < values.length; i++) {
+      assertThat(UInt64.fromLongBits(values[i])).isEqualTo(data.getElement(i));
+    }
+  }
+
+  @MethodSource("sszUInt64ListArguments")
+  @ParameterizedTest
+  void ofLongs_shouldMatchOriginalList(SszUInt64List data) {
+    final SszUInt64List copy = data.getSchema().ofLongs(data.toLongArray());
+    SszDataAssert.assertThatSszData(copy).isEqualByAllMeansTo(data);
+  }
 }
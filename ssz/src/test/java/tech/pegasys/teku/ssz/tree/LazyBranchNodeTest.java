@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.ssz.SszDataAssert;
+import tech.pegasys.teku.ssz.SszList;
+import tech.pegasys.teku.ssz.SszMutableList;
+import tech.pegasys.teku.ssz.TestContainers.TestByteVectorContainer;
+import tech.pegasys.teku.ssz.schema.SszListSchema;
+import tech.pegasys.teku.ssz.sos.SszReader;
+
+public class LazyBranchNodeTest {
+  private final Random random = new Random(1);
+  private final SszListSchema<TestByteVectorContainer, ?> listSchema =
+      SszListSchema.create(TestByteVectorContainer.SSZ_SCHEMA, 100);
+  private final SszList<TestByteVectorContainer> list =
+      listSchema.createFromElements(
+          IntStream.range(0, 10)
+              .mapToObj(__ -> TestByteVectorContainer.random(random))
+              .collect(Collectors.toList()));
+
+  @Test
+  public void deserializeChildTree_shouldDeserializeEagerlyWhenReaderIsNotLazy() {
+    final TreeNode node =
+        LazyBranchNode.deserializeChildTree(listSchema, SszReader.fromBytes(list.sszSerialize()));
+    assertThat(node).isNotInstanceOf(LazyBranchNode.class);
+    assertThat(node.hashTreeRoot()).isEqualTo(list.hashTreeRoot());
+  }
+
+  @Test
+  public void deserializeChildTree_shouldDeserializeSmallValuesEagerly() {
+    final TestByteVectorContainer element = list.get(0);
+    final TreeNode node =
+        LazyBranchNode.deserializeChildTree(
+            element.getSchema().getChildSchema(0),
+            SszReader.fromBytesLazily(element.get(0).sszSerialize()));
+    assertThat(node).isNotInstanceOf(LazyBranchNode.class);
+  }
+
+  @Test
+  public void shouldOnlyLoadAccessedElements() {
+    final SszList<TestByteVectorContainer> lazyList =
+        listSchema.sszDeserialize(SszReader.fromBytesLazily(list.sszSerialize()));
+    final List<LazyBranchNode> elementNodes =
+        IntStream.range(0, list.size())
+            .mapToObj(i -> lazyList.getBackingNode().get(listSchema.getChildGeneralizedIndex(i)))
+            .map(LazyBranchNode.class::cast)
+            .collect(Collectors.toList());
+    assertThat(elementNodes).noneMatch(LazyBranchNode::isLoaded);
+
+    assertThat(lazyList.get(3).get(0)).isEqualTo(list.get(3).get(0));
+
+    assertThat(elementNodes.get(3).isLoaded()).isTrue();
+    assertThat(elementNodes.get(4).isLoaded()).isFalse();
+  }
+
+  @Test
+  public void shouldReleaseSszOnceLoaded() {
+    final LazyBranchNode node = new LazyBranchNode(listSchema, list.sszSerialize());
+    assertThat(node.isLoaderRetained()).isTrue();
+
+    assertThat(node.hashTreeRoot()).isEqualTo(list.hashTreeRoot());
+
+    assertThat(node.isLoaded()).isTrue();
+    assertThat(node.isLoaderRetained()).isFalse();
+  }
+
+  @Test
+  public void create_shouldNotLoadToReturnKnownRoot() {
+    final BranchNode listNode = (BranchNode) list.getBackingNode();
+    final AtomicInteger loadsCount = new AtomicInteger();
+    final LazyBranchNode node =
+        LazyBranchNode.create(
+            list.hashTreeRoot(),
+            () -> {
+              loadsCount.incrementAndGet();
+              return listNode;
+            });
+
+    assertThat(node.hashTreeRoot()).isEqualTo(list.hashTreeRoot());
+    assertThat(loadsCount).hasValue(0);
+
+    assertThat(node.left()).isSameAs(listNode.left());
+    assertThat(node.right()).isSameAs(listNode.right());
+    assertThat(loadsCount).hasValue(1);
+    assertThat(node.isLoaderRetained()).isFalse();
+  }
+
+  @Test
+  public void shouldNotShareSszWithEnclosingValue() {
+    final byte[] ssz = list.sszSerialize().toArray();
+    final SszList<TestByteVectorContainer> lazyList =
+        listSchema.sszDeserialize(SszReader.fromBytesLazily(Bytes.wrap(ssz)));
+
+    Arrays.fill(ssz, (byte) 0);
+
+    SszDataAssert.assertThatSszData(lazyList).isEqualByAllMeansTo(list);
+  }
+
+  @Test
+  public void shouldBeEqualToEagerlyDeserializedValue() {
+    final SszList<TestByteVectorContainer> lazyList =
+        listSchema.sszDeserialize(SszReader.fromBytesLazily(list.sszSerialize()));
+    SszDataAssert.assertThatSszData(lazyList).isEqualByAllMeansTo(list);
+  }
+
+  @Test
+  public void shouldSupportUpdates() {
+    final SszList<TestByteVectorContainer> lazyList =
+        listSchema.sszDeserialize(SszReader.fromBytesLazily(list.sszSerialize()));
+    final TestByteVectorContainer newElement = TestByteVectorContainer.random(random);
+
+    final SszMutableList<TestByteVectorContainer> updated = lazyList.createWritableCopy();
+    updated.set(5, newElement);
+    final SszMutableList<TestByteVectorContainer> expected = list.createWritableCopy();
+    expected.set(5, newElement);
+
+    assertThat(updated.commitChanges().hashTreeRoot())
+        .isEqualTo(expected.commitChanges().hashTreeRoot());
+  }
+}
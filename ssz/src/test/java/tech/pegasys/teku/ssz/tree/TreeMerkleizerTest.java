@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.crypto.Hash;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.ssz.tree.TreeUpdates.Update;
+
+public class TreeMerkleizerTest {
+
+  private static Bytes32 referenceHashTreeRoot(TreeNode node) {
+    if (node instanceof BranchNode) {
+      BranchNode branch = (BranchNode) node;
+      return Hash.sha2_256(
+          Bytes.concatenate(
+              referenceHashTreeRoot(branch.left()), referenceHashTreeRoot(branch.right())));
+    } else {
+      return node.hashTreeRoot();
+    }
+  }
+
+  private static TreeNode createTestTree(int leafCount) {
+    return TreeUtil.createTree(
+        IntStream.range(0, leafCount).mapToObj(TreeTest::newTestLeaf).collect(Collectors.toList()));
+  }
+
+  @Test
+  void hashTreeRoot_shouldMatchReferenceHashing() {
+    for (int leafCount : List.of(1, 2, 3, 5, 8, 13, 100, 1024)) {
+      TreeNode tree = createTestTree(leafCount);
+      Bytes32 expected = referenceHashTreeRoot(tree);
+      assertThat(TreeMerkleizer.hashTreeRoot(tree)).isEqualTo(expected);
+      assertThat(tree.hashTreeRoot()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void hashTreeRoot_shouldCacheAllBranchHashes() {
+    TreeNode tree = createTestTree(64);
+    TreeMerkleizer.hashTreeRoot(tree);
+
+    tree.iterateAll(
+        node -> {
+          if (node instanceof TreeNodeImpl.BranchNodeImpl) {
+            assertThat(((TreeNodeImpl.BranchNodeImpl) node).getCachedHash())
+                .isEqualTo(referenceHashTreeRoot(node));
+          }
+        });
+  }
+
+  @Test
+  void hashTreeRoot_shouldRehashOnlyUpdatedPaths() {
+    TreeNode tree = createTestTree(256);
+    TreeMerkleizer.hashTreeRoot(tree);
+
+    TreeNode updatedTree =
+        tree.updated(
+            new TreeUpdates(
+                List.of(
+                    new Update(256 + 3, TreeTest.newTestLeaf(1003)),
+                    new Update(256 + 200, TreeTest.newTestLeaf(1200)))));
+
+    assertThat(TreeMerkleizer.hashTreeRoot(updatedTree))
+        .isEqualTo(referenceHashTreeRoot(updatedTree))
+        .isNotEqualTo(tree.hashTreeRoot());
+  }
+
+  @Test
+  void hashTreeRoot_shouldHandleSharedDefaultSubtrees() {
+    int depth = 20;
+    TreeNode tree = TreeUtil.createDefaultTree(1 << depth, TreeTest.newTestLeaf(111));
+
+    Bytes32 expected = TreeTest.newTestLeaf(111).hashTreeRoot();
+    for (int i = 0; i < depth; i++) {
+      expected = Hash.sha2_256(Bytes.concatenate(expected, expected));
+    }
+    assertThat(TreeMerkleizer.hashTreeRoot(tree)).isEqualTo(expected);
+  }
+
+  @Test
+  void parallelMerkleizer_shouldMatchReferenceHashing() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      TreeMerkleizer merkleizer = TreeMerkleizer.parallel(pool, 16);
+      for (int leafCount : List.of(1, 3, 100, 1024, 5000)) {
+        TreeNode tree = createTestTree(leafCount);
+        assertThat(tree.hashTreeRoot(merkleizer)).isEqualTo(referenceHashTreeRoot(tree));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void parallelMerkleizer_shouldRehashUpdatedTree() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      TreeMerkleizer merkleizer = TreeMerkleizer.parallel(pool, 16);
+      TreeNode tree = createTestTree(4096);
+      tree.hashTreeRoot(merkleizer);
+
+      TreeNode updatedTree =
+          tree.updated(
+              new TreeUpdates(
+                  IntStream.range(0, 4096)
+                      .filter(i -> i % 3 == 0)
+                      .mapToObj(i -> new Update(4096 + i, TreeTest.newTestLeaf(i + 10_000)))
+                      .collect(Collectors.toList())));
+      assertThat(updatedTree.hashTreeRoot(merkleizer))
+          .isEqualTo(referenceHashTreeRoot(updatedTree));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void parallelMerkleizer_shouldCacheAllBranchHashesOfUnevenTree() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      TreeMerkleizer merkleizer = TreeMerkleizer.parallel(pool, 16);
+      TreeNode tree =
+          BranchNode.create(
+              createTestTree(4096), BranchNode.create(createTestTree(3), LeafNode.EMPTY_LEAF));
+
+      assertThat(tree.hashTreeRoot(merkleizer)).isEqualTo(referenceHashTreeRoot(tree));
+      tree.iterateAll(
+          node -> {
+            if (node instanceof TreeNodeImpl.BranchNodeImpl) {
+              assertThat(((TreeNodeImpl.BranchNodeImpl) node).getCachedHash()).isNotNull();
+            }
+          });
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void hashTreeRoot_shouldReturnLeafData() {
+    LeafNode leaf = TreeTest.newTestLeaf(777);
+    assertThat(TreeMerkleizer.hashTreeRoot(leaf)).isEqualTo(leaf.hashTreeRoot());
+  }
+}
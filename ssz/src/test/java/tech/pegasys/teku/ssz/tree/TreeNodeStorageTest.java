@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static tech.pegasys.teku.ssz.tree.TreeUpdatesTest.newTestLeaf;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class TreeNodeStorageTest {
+
+  private final InMemoryTreeNodeStore nodeStore = new InMemoryTreeNodeStore();
+
+  private static TreeNode createTestTree(int leavesCount) {
+    List<TreeNode> leaves =
+        IntStream.range(0, leavesCount)
+            .mapToObj(TreeUpdatesTest::newTestLeaf)
+            .collect(Collectors.toList());
+    return TreeUtil.createTree(leaves);
+  }
+
+  private TreeNode loadTestTree(Bytes32 rootHash, int depth) {
+    return TreeNodeStorage.loadTree(
+        nodeStore,
+        rootHash,
+        depth,
+        1L << depth,
+        TreeUtil.ZERO_TREES[depth],
+        (index, leafRoot) -> LeafNode.create(leafRoot));
+  }
+
+  @Test
+  void storeTree_shouldStoreOnlyChangedBranchesOfUpdatedTree() {
+    TreeNode tree1 = createTestTree(16);
+    TreeNodeStorage.storeTree(tree1, nodeStore);
+    assertThat(nodeStore.getBranchNodesCount()).isEqualTo(15);
+
+    TreeNode tree2 = tree1.updated(GIndexUtil.gIdxChildGIndex(1, 5, 4), newTestLeaf(100));
+    TreeNodeStorage.storeTree(tree2, nodeStore);
+    assertThat(nodeStore.getBranchNodesCount()).isEqualTo(15 + 4);
+
+    assertThat(loadTestTree(tree1.hashTreeRoot(), 4).hashTreeRoot())
+        .isEqualTo(tree1.hashTreeRoot());
+    TreeNode loadedTree2 = loadTestTree(tree2.hashTreeRoot(), 4);
+    assertThat(loadedTree2.hashTreeRoot()).isEqualTo(tree2.hashTreeRoot());
+    assertThat(loadedTree2.get(GIndexUtil.gIdxChildGIndex(1, 5, 4)).hashTreeRoot())
+        .isEqualTo(newTestLeaf(100).hashTreeRoot());
+  }
+
+  @Test
+  void storeTree_shouldNotStoreZeroSubtrees() {
+    TreeNode tree =
+        TreeUtil.ZERO_TREES[10].updated(GIndexUtil.gIdxChildGIndex(1, 0, 10), newTestLeaf(1));
+    TreeNodeStorage.storeTree(tree, nodeStore);
+    assertThat(nodeStore.getBranchNodesCount()).isEqualTo(10);
+
+    TreeNode loadedTree = loadTestTree(tree.hashTreeRoot(), 10);
+    assertThat(loadedTree.hashTreeRoot()).isEqualTo(tree.hashTreeRoot());
+  }
+
+  @Test
+  void loadTree_shouldTakeNodesBeyondWidthFromDefaultTree() {
+    TreeNode tree = createTestTree(3);
+    TreeNodeStorage.storeTree(tree, nodeStore);
+    TreeNode defaultTree = TreeUtil.createDefaultTree(4, LeafNode.ZERO_LEAVES[8]);
+
+    TreeNode loadedTree =
+        TreeNodeStorage.loadTree(
+            nodeStore,
+            tree.hashTreeRoot(),
+            2,
+            3,
+            defaultTree,
+            (index, leafRoot) -> LeafNode.create(leafRoot));
+
+    assertThat(loadedTree.hashTreeRoot()).isEqualTo(tree.hashTreeRoot());
+    assertThat(loadedTree.get(GIndexUtil.gIdxChildGIndex(1, 3, 2)))
+        .isSameAs(LeafNode.ZERO_LEAVES[8]);
+  }
+
+  @Test
+  void loadTree_shouldOnlyReadAccessedNodes() {
+    TreeNode tree = createTestTree(16);
+    TreeNodeStorage.storeTree(tree, nodeStore);
+
+    TreeNode loadedTree = loadTestTree(tree.hashTreeRoot(), 4);
+    assertThat(loadedTree.hashTreeRoot()).isEqualTo(tree.hashTreeRoot());
+    assertThat(nodeStore.getReadsCount()).isZero();
+
+    long leafGIndex = GIndexUtil.gIdxChildGIndex(1, 5, 4);
+    assertThat(loadedTree.get(leafGIndex).hashTreeRoot())
+        .isEqualTo(tree.get(leafGIndex).hashTreeRoot());
+    // only the branches on the path to the leaf are read
+    assertThat(nodeStore.getReadsCount()).isEqualTo(4);
+  }
+
+  @Test
+  void loadTree_shouldFailOnAccessToMissingBranchNode() {
+    TreeNode tree = createTestTree(4);
+    TreeNode loadedTree = loadTestTree(tree.hashTreeRoot(), 2);
+    assertThatThrownBy(() -> loadedTree.get(GIndexUtil.gIdxChildGIndex(1, 0, 2)))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.ssz.tree;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+public class InMemoryTreeNodeStore implements TreeNodeStore, TreeNodeSource {
+
+  private final Map<Bytes32, BranchNodeChildren> branchNodes = new HashMap<>();
+  private final Map<Bytes32, Bytes> leafDataNodes = new HashMap<>();
+  private int readsCount;
+
+  @Override
+  public boolean containsBranchNode(Bytes32 rootHash) {
+    return branchNodes.containsKey(rootHash);
+  }
+
+  @Override
+  public void storeBranchNode(Bytes32 rootHash, Bytes32 leftRoot, Bytes32 rightRoot) {
+    branchNodes.put(rootHash, new BranchNodeChildren(leftRoot, rightRoot));
+  }
+
+  @Override
+  public boolean containsLeafDataNode(Bytes32 rootHash) {
+    return leafDataNodes.containsKey(rootHash);
+  }
+
+  @Override
+  public void storeLeafDataNode(Bytes32 rootHash, Bytes data) {
+    leafDataNodes.put(rootHash, data);
+  }
+
+  @Override
+  public Optional<BranchNodeChildren> loadBranchNode(Bytes32 rootHash) {
+    readsCount++;
+    return Optional.ofNullable(branchNodes.get(rootHash));
+  }
+
+  @Override
+  public Optional<Bytes> loadLeafDataNode(Bytes32 rootHash) {
+    readsCount++;
+    return Optional.ofNullable(leafDataNodes.get(rootHash));
+  }
+
+  public int getBranchNodesCount() {
+    return branchNodes.size();
+  }
+
+  /** Returns the number of branch and leaf data node reads, including reads of missing nodes */
+  public int getReadsCount() {
+    return readsCount;
+  }
+}
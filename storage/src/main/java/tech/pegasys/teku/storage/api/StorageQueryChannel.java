@@ -16,6 +16,7 @@ package tech.pegasys.teku.storage.api;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.events.ChannelInterface;
@@ -42,6 +43,12 @@ public interface StorageQueryChannel extends ChannelInterface {
 
   SafeFuture<Optional<SignedBeaconBlock>> getFinalizedBlockAtSlot(final UInt64 slot);
 
+  /**
+   * @return The SSZ serialized finalized block at the given slot, read straight from storage
+   *     without being deserialized
+   */
+  SafeFuture<Optional<Bytes>> getFinalizedBlockSszAtSlot(final UInt64 slot);
+
   SafeFuture<Optional<SignedBeaconBlock>> getLatestFinalizedBlockAtSlot(final UInt64 slot);
 
   SafeFuture<Optional<SignedBeaconBlock>> getBlockByBlockRoot(final Bytes32 blockRoot);
@@ -26,6 +26,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -131,6 +132,21 @@ public class CombinedChainDataClient {
     return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
   }
 
+  /**
+   * Returns the SSZ serialized form of the finalized block proposed at the requested slot, read
+   * directly from storage without being deserialized. If the slot is empty or the block is not
+   * available in finalized storage, empty is returned.
+   *
+   * @param slot the finalized slot to get the block for
+   * @return the SSZ bytes of the block at the requested slot or empty
+   */
+  public SafeFuture<Optional<Bytes>> getFinalizedBlockSszAtSlot(final UInt64 slot) {
+    if (!isChainDataFullyAvailable()) {
+      return SafeFuture.completedFuture(Optional.empty());
+    }
+    return historicalChainData.getFinalizedBlockSszAtSlot(slot);
+  }
+
   public SafeFuture<Optional<SignedBeaconBlock>> getFinalizedBlockInEffectAtSlot(
       final UInt64 slot) {
     return historicalChainData.getLatestFinalizedBlockAtSlot(slot);
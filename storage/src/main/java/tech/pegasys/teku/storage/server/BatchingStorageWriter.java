@@ -0,0 +1,253 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpointEpochs;
+import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+
+/**
+ * Applies writes to the database one at a time, in the order they were submitted, merging
+ * consecutive {@link StorageUpdate}s into a single database transaction where possible.
+ *
+ * <p>Writes are queued and the returned future completes once the write has been committed. While
+ * one batch is being committed, newly submitted updates accumulate so they can all be committed
+ * together by the next batch. A batch delay can be configured to wait for further updates before
+ * committing the first one, trading latency for fewer, larger commits.
+ *
+ * <p>At most {@link #MAX_PENDING_WRITES} writes are queued. Submitting further writes blocks the
+ * caller until the queue drains, so a slow disk backs up into the caller rather than growing the
+ * queue (and the states it holds) without limit.
+ *
+ * <p>Only updates that add hot data are merged. Updates that finalize or delete blocks read the
+ * existing database content while being applied, so they are always committed on their own.
+ */
+public class BatchingStorageWriter {
+  private static final Logger LOG = LogManager.getLogger();
+  static final int MAX_UPDATES_PER_BATCH = 64;
+  // Enough to keep a full batch queued while the previous one is committed
+  static final int MAX_PENDING_WRITES = 2 * MAX_UPDATES_PER_BATCH;
+
+  private final Database database;
+  private final AsyncRunner asyncRunner;
+  private final Duration batchDelay;
+  private final MetricsHistogram batchSizeHistogram;
+  private final MetricsHistogram commitDurationHistogram;
+
+  private final Queue<PendingWrite> pendingWrites = new ArrayDeque<>();
+  private boolean writeScheduled = false;
+
+  public BatchingStorageWriter(
+      final Database database,
+      final AsyncRunner asyncRunner,
+      final Duration batchDelay,
+      final MetricsSystem metricsSystem) {
+    this.database = database;
+    this.asyncRunner = asyncRunner;
+    this.batchDelay = batchDelay;
+    this.batchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.STORAGE,
+            metricsSystem,
+            "update_batch_size",
+            "Number of storage updates committed in a single database transaction",
+            3);
+    this.commitDurationHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.STORAGE,
+            metricsSystem,
+            "update_commit_duration_ms",
+            "Time taken to commit a batch of storage updates to the database in milliseconds",
+            3);
+  }
+
+  /**
+   * Queues a storage update, merging it with adjacent updates where possible. Blocks while the
+   * queue is full.
+   */
+  public SafeFuture<Void> update(final StorageUpdate update) {
+    return enqueue(new PendingWrite(Optional.of(update), () -> database.update(update)));
+  }
+
+  /**
+   * Queues an arbitrary write to be applied after all previously queued writes. The write is never
+   * merged with other writes. Blocks while the queue is full.
+   */
+  public SafeFuture<Void> write(final Runnable write) {
+    return enqueue(new PendingWrite(Optional.empty(), write));
+  }
+
+  private SafeFuture<Void> enqueue(final PendingWrite write) {
+    final boolean startWriting;
+    synchronized (this) {
+      try {
+        while (pendingWrites.size() >= MAX_PENDING_WRITES) {
+          wait();
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return SafeFuture.failedFuture(e);
+      }
+      pendingWrites.add(write);
+      startWriting = !writeScheduled;
+      writeScheduled = true;
+    }
+    if (startWriting) {
+      final SafeFuture<Void> writeTask =
+          batchDelay.isZero()
+              ? asyncRunner.runAsync(this::writePendingUpdates)
+              : asyncRunner.runAfterDelay(this::writePendingUpdates, batchDelay);
+      writeTask.finish(this::failPendingWrites);
+    }
+    return write.result;
+  }
+
+  private void writePendingUpdates() {
+    List<PendingWrite> batch = takeNextBatch();
+    while (!batch.isEmpty()) {
+      writeBatch(batch);
+      batch = takeNextBatch();
+    }
+  }
+
+  private void failPendingWrites(final Throwable error) {
+    LOG.error("Failed to write pending storage updates", error);
+    final List<PendingWrite> failedWrites;
+    synchronized (this) {
+      failedWrites = new ArrayList<>(pendingWrites);
+      pendingWrites.clear();
+      writeScheduled = false;
+      notifyAll();
+    }
+    failedWrites.forEach(pendingWrite -> pendingWrite.result.completeExceptionally(error));
+  }
+
+  private synchronized List<PendingWrite> takeNextBatch() {
+    final PendingWrite first = pendingWrites.poll();
+    if (first == null) {
+      writeScheduled = false;
+      return Collections.emptyList();
+    }
+    final List<PendingWrite> batch = new ArrayList<>();
+    batch.add(first);
+    if (first.isMergeable()) {
+      while (batch.size() < MAX_UPDATES_PER_BATCH
+          && !pendingWrites.isEmpty()
+          && pendingWrites.peek().isMergeable()) {
+        batch.add(pendingWrites.poll());
+      }
+    }
+    notifyAll();
+    return batch;
+  }
+
+  private void writeBatch(final List<PendingWrite> batch) {
+    final long startTime = System.nanoTime();
+    try {
+      if (batch.size() == 1) {
+        batch.get(0).write.run();
+      } else {
+        final List<StorageUpdate> updates = new ArrayList<>(batch.size());
+        batch.forEach(pendingWrite -> updates.add(pendingWrite.update.orElseThrow()));
+        database.update(mergeUpdates(updates));
+      }
+    } catch (final Throwable t) {
+      batch.forEach(pendingWrite -> pendingWrite.result.completeExceptionally(t));
+      return;
+    }
+    batchSizeHistogram.recordValue(batch.size());
+    commitDurationHistogram.recordValue(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    batch.forEach(pendingWrite -> pendingWrite.result.complete(null));
+  }
+
+  static boolean isMergeable(final StorageUpdate update) {
+    return update.getFinalizedCheckpoint().isEmpty() && update.getDeletedHotBlocks().isEmpty();
+  }
+
+  /**
+   * Combines updates into a single update with the same effect as applying each in order. Later
+   * updates take precedence where the same value is set more than once.
+   */
+  static StorageUpdate mergeUpdates(final List<StorageUpdate> updates) {
+    Optional<UInt64> genesisTime = Optional.empty();
+    Optional<Checkpoint> justifiedCheckpoint = Optional.empty();
+    Optional<Checkpoint> bestJustifiedCheckpoint = Optional.empty();
+    final Map<Bytes32, BlockAndCheckpointEpochs> hotBlocks = new HashMap<>();
+    final Map<Bytes32, BeaconState> hotStates = new HashMap<>();
+    final Map<Bytes32, SlotAndBlockRoot> stateRoots = new HashMap<>();
+    for (StorageUpdate update : updates) {
+      checkArgument(isMergeable(update), "Cannot merge updates that finalize or delete data");
+      if (update.getGenesisTime().isPresent()) {
+        genesisTime = update.getGenesisTime();
+      }
+      if (update.getJustifiedCheckpoint().isPresent()) {
+        justifiedCheckpoint = update.getJustifiedCheckpoint();
+      }
+      if (update.getBestJustifiedCheckpoint().isPresent()) {
+        bestJustifiedCheckpoint = update.getBestJustifiedCheckpoint();
+      }
+      hotBlocks.putAll(update.getHotBlocks());
+      hotStates.putAll(update.getHotStates());
+      stateRoots.putAll(update.getStateRoots());
+    }
+    return new StorageUpdate(
+        genesisTime,
+        Optional.empty(),
+        justifiedCheckpoint,
+        bestJustifiedCheckpoint,
+        hotBlocks,
+        hotStates,
+        Collections.emptySet(),
+        stateRoots);
+  }
+
+  private static class PendingWrite {
+    private final Optional<StorageUpdate> update;
+    private final Runnable write;
+    private final SafeFuture<Void> result = new SafeFuture<>();
+
+    private PendingWrite(final Optional<StorageUpdate> update, final Runnable write) {
+      this.update = update;
+      this.write = write;
+    }
+
+    private boolean isMergeable() {
+      return update.map(BatchingStorageWriter::isMergeable).orElse(false);
+    }
+  }
+}
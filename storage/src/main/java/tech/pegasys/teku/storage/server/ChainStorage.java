@@ -13,11 +13,15 @@
 
 package tech.pegasys.teku.storage.server;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -41,20 +45,61 @@ import tech.pegasys.teku.storage.server.state.FinalizedStateCache;
 import tech.pegasys.teku.storage.store.StoreBuilder;
 
 public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel, VoteUpdateChannel {
+  private static final int MAX_CONCURRENT_STATE_REGENERATIONS = 2;
 
   private final Database database;
   private final FinalizedStateCache finalizedStateCache;
+  private final BatchingStorageWriter storageWriter;
   private volatile Optional<StoreBuilder> cachedStore = Optional.empty();
 
-  private ChainStorage(final Database database, final FinalizedStateCache finalizedStateCache) {
+  private ChainStorage(
+      final Database database,
+      final FinalizedStateCache finalizedStateCache,
+      final BatchingStorageWriter storageWriter) {
     this.database = database;
     this.finalizedStateCache = finalizedStateCache;
-  }
-
-  public static ChainStorage create(final Database database, final Spec spec) {
+    this.storageWriter = storageWriter;
+  }
+
+  public static ChainStorage create(
+      final Database database,
+      final Spec spec,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem) {
+    return create(database, spec, asyncRunner, asyncRunner, Duration.ZERO, metricsSystem);
+  }
+
+  /**
+   * Creates a chain storage server.
+   *
+   * @param database the database to store data in
+   * @param spec the spec
+   * @param asyncRunner the runner used to regenerate finalized states
+   * @param writerAsyncRunner the runner used to write updates to the database
+   * @param updateBatchDelay the time to wait for further storage updates to merge into the same
+   *     database transaction before committing
+   * @param metricsSystem the metrics system
+   * @return the new chain storage server
+   */
+  public static ChainStorage create(
+      final Database database,
+      final Spec spec,
+      final AsyncRunner asyncRunner,
+      final AsyncRunner writerAsyncRunner,
+      final Duration updateBatchDelay,
+      final MetricsSystem metricsSystem) {
     final int finalizedStateCacheSize = spec.getSlotsPerEpoch(SpecConfig.GENESIS_EPOCH) * 3;
     return new ChainStorage(
-        database, new FinalizedStateCache(spec, database, finalizedStateCacheSize, true));
+        database,
+        new FinalizedStateCache(
+            spec,
+            database,
+            asyncRunner,
+            metricsSystem,
+            finalizedStateCacheSize,
+            true,
+            MAX_CONCURRENT_STATE_REGENERATIONS),
+        new BatchingStorageWriter(database, writerAsyncRunner, updateBatchDelay, metricsSystem));
   }
 
   private synchronized Optional<StoreBuilder> getStore() {
@@ -86,27 +131,24 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
 
   @Override
   public SafeFuture<Void> onStorageUpdate(final StorageUpdate event) {
-    return SafeFuture.fromRunnable(
-        () -> {
-          database.update(event);
-          handleStoreUpdate();
-        });
+    return storageWriter.update(event).thenRun(this::handleStoreUpdate);
   }
 
   @Override
   public SafeFuture<Void> onFinalizedBlocks(final Collection<SignedBeaconBlock> finalizedBlocks) {
-    return SafeFuture.fromRunnable(() -> database.storeFinalizedBlocks(finalizedBlocks));
+    return storageWriter.write(() -> database.storeFinalizedBlocks(finalizedBlocks));
   }
 
   @Override
   public void onChainInitialized(final AnchorPoint initialAnchor) {
+    // The store is created from the anchor so no updates can be queued ahead of it. Write directly
+    // rather than blocking the channel thread on the writer runner.
     database.storeInitialAnchor(initialAnchor);
   }
 
   @Override
   public SafeFuture<Void> onWeakSubjectivityUpdate(WeakSubjectivityUpdate weakSubjectivityUpdate) {
-    return SafeFuture.fromRunnable(
-        () -> database.updateWeakSubjectivityState(weakSubjectivityUpdate));
+    return storageWriter.write(() -> database.updateWeakSubjectivityState(weakSubjectivityUpdate));
   }
 
   @Override
@@ -124,6 +166,11 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
     return SafeFuture.of(() -> database.getFinalizedBlockAtSlot(slot));
   }
 
+  @Override
+  public SafeFuture<Optional<Bytes>> getFinalizedBlockSszAtSlot(final UInt64 slot) {
+    return SafeFuture.of(() -> database.getFinalizedBlockSszAtSlot(slot));
+  }
+
   @Override
   public SafeFuture<Optional<SignedBeaconBlock>> getLatestFinalizedBlockAtSlot(final UInt64 slot) {
     return SafeFuture.of(() -> database.getLatestFinalizedBlockAtSlot(slot));
@@ -177,16 +224,17 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
 
   @Override
   public SafeFuture<Optional<BeaconState>> getLatestFinalizedStateAtSlot(final UInt64 slot) {
-    return SafeFuture.of(() -> getLatestFinalizedStateAtSlotSync(slot));
+    return finalizedStateCache.getFinalizedState(slot);
   }
 
   @Override
   public SafeFuture<Optional<BeaconState>> getFinalizedStateByBlockRoot(final Bytes32 blockRoot) {
-    return SafeFuture.of(
-        () ->
-            database
-                .getSlotForFinalizedBlockRoot(blockRoot)
-                .flatMap(this::getLatestFinalizedStateAtSlotSync));
+    return SafeFuture.of(() -> database.getSlotForFinalizedBlockRoot(blockRoot))
+        .thenCompose(
+            maybeSlot ->
+                maybeSlot
+                    .map(finalizedStateCache::getFinalizedState)
+                    .orElseGet(() -> SafeFuture.completedFuture(Optional.empty())));
   }
 
   @Override
@@ -199,10 +247,6 @@ public class ChainStorage implements StorageUpdateChannel, StorageQueryChannel,
     return SafeFuture.of(() -> database.getNonCanonicalBlocksAtSlot(slot));
   }
 
-  private Optional<BeaconState> getLatestFinalizedStateAtSlotSync(final UInt64 slot) {
-    return finalizedStateCache.getFinalizedState(slot);
-  }
-
   @Override
   public void onVotesUpdated(final Map<UInt64, VoteTracker> votes) {
     database.storeVotes(votes);
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ethereum.pow.api.DepositsFromBlockEvent;
 import tech.pegasys.teku.ethereum.pow.api.MinGenesisTimeBlockEvent;
@@ -63,6 +64,16 @@ public interface Database extends AutoCloseable {
    */
   Optional<SignedBeaconBlock> getFinalizedBlockAtSlot(UInt64 slot);
 
+  /**
+   * Return the serialized SSZ of the finalized block at this slot if such a block exists, without
+   * deserializing it.
+   *
+   * @param slot The slot to query
+   * @return Returns the SSZ bytes of the finalized block proposed at this slot, if such a block
+   *     exists
+   */
+  Optional<Bytes> getFinalizedBlockSszAtSlot(UInt64 slot);
+
   /** @return The earliest available finalized block's slot */
   Optional<UInt64> getEarliestAvailableBlockSlot();
 
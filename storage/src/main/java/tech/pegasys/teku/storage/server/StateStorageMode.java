@@ -16,6 +16,9 @@ package tech.pegasys.teku.storage.server;
 public enum StateStorageMode {
   // All historical state is available to query in archive mode
   ARCHIVE,
+  // All historical state is available to query, states are stored as trees sharing unchanged nodes
+  // Stored tree nodes are never pruned so the database grows without bound as in ARCHIVE mode
+  TREE_ARCHIVE,
   // No historical state is available to query in mode "prune"
   PRUNE
 }
@@ -20,10 +20,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.eth1.Eth1Address;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreConfiguration;
 import tech.pegasys.teku.storage.server.kvstore.schema.V4SchemaHot;
@@ -57,6 +60,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
   private final Eth1Address eth1Address;
   private final Spec spec;
   private final boolean storeNonCanonicalBlocks;
+  private final Function<SignedBeaconBlock, Bytes> blockSszSerializer;
 
   public VersionedDatabaseFactory(
       final MetricsSystem metricsSystem,
@@ -108,6 +112,34 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
       final Eth1Address eth1Address,
       final boolean storeNonCanonicalBlocks,
       final Spec spec) {
+    this(
+        metricsSystem,
+        dataPath,
+        maybeArchiveDataPath,
+        dataStorageMode,
+        createDatabaseVersion,
+        stateStorageFrequency,
+        eth1Address,
+        storeNonCanonicalBlocks,
+        SignedBeaconBlock::sszSerialize,
+        spec);
+  }
+
+  /**
+   * @param blockSszSerializer provides the SSZ of blocks being stored, allowing an encoding that
+   *     was already produced for the network to be written without serializing the block again
+   */
+  public VersionedDatabaseFactory(
+      final MetricsSystem metricsSystem,
+      final Path dataPath,
+      final Optional<Path> maybeArchiveDataPath,
+      final StateStorageMode dataStorageMode,
+      final DatabaseVersion createDatabaseVersion,
+      final long stateStorageFrequency,
+      final Eth1Address eth1Address,
+      final boolean storeNonCanonicalBlocks,
+      final Function<SignedBeaconBlock, Bytes> blockSszSerializer,
+      final Spec spec) {
     this.metricsSystem = metricsSystem;
     this.dataDirectory = dataPath.toFile();
     this.dbDirectory = this.dataDirectory.toPath().resolve(DB_PATH).toFile();
@@ -118,6 +150,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
     this.stateStorageFrequency = stateStorageFrequency;
     this.eth1Address = eth1Address;
     this.storeNonCanonicalBlocks = storeNonCanonicalBlocks;
+    this.blockSszSerializer = blockSszSerializer;
     this.spec = spec;
 
     this.createDatabaseVersion = createDatabaseVersion;
@@ -223,6 +256,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           stateStorageMode,
           stateStorageFrequency,
           storeNonCanonicalBlocks,
+          blockSszSerializer,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read configuration file", e);
@@ -247,6 +281,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           stateStorageMode,
           stateStorageFrequency,
           storeNonCanonicalBlocks,
+          blockSszSerializer,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
@@ -293,8 +328,8 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           metricsSystem,
           hotOrSingleDBConfiguration.withDatabaseDir(dbDirectory.toPath()),
           finalizedConfiguration,
-          V4SchemaHot.create(spec),
-          V6SchemaFinalized.create(spec),
+          V4SchemaHot.create(spec, blockSszSerializer),
+          V6SchemaFinalized.create(spec, blockSszSerializer),
           stateStorageMode,
           stateStorageFrequency,
           storeNonCanonicalBlocks,
@@ -322,6 +357,7 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           stateStorageMode,
           stateStorageFrequency,
           storeNonCanonicalBlocks,
+          blockSszSerializer,
           spec);
     } catch (final IOException e) {
       throw DatabaseStorageException.unrecoverable("Failed to read metadata", e);
@@ -368,8 +404,8 @@ public class VersionedDatabaseFactory implements DatabaseFactory {
           metricsSystem,
           hotOrSingleDBConfiguration.withDatabaseDir(dbDirectory.toPath()),
           finalizedConfiguration,
-          V4SchemaHot.create(spec),
-          V6SchemaFinalized.create(spec),
+          V4SchemaHot.create(spec, blockSszSerializer),
+          V6SchemaFinalized.create(spec, blockSszSerializer),
           stateStorageMode,
           stateStorageFrequency,
           storeNonCanonicalBlocks,
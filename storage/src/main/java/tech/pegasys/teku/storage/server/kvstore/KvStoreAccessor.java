@@ -29,6 +29,17 @@ public interface KvStoreAccessor extends AutoCloseable {
 
   <K, V> Optional<V> get(KvStoreColumn<K, V> column, K key);
 
+  /**
+   * Returns the serialized value stored in a column for the given key without deserializing it.
+   *
+   * @param column The column we want to query
+   * @param key The requested key
+   * @param <K> The key type of the column
+   * @param <V> The value type of the column
+   * @return The raw bytes stored for {@code key}, if any
+   */
+  <K, V> Optional<Bytes> getRaw(KvStoreColumn<K, V> column, K key);
+
   <K, V> Map<K, V> getAll(KvStoreColumn<K, V> column);
 
   /**
@@ -40,6 +40,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.bls.BLS;
 import tech.pegasys.teku.bls.BLSPublicKey;
@@ -67,7 +68,10 @@ import tech.pegasys.teku.spec.datastructures.hashtree.HashTree;
 import tech.pegasys.teku.spec.datastructures.state.AnchorPoint;
 import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
 import tech.pegasys.teku.spec.datastructures.state.Fork;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.common.ValidatorIndexCache;
+import tech.pegasys.teku.ssz.SszList;
 import tech.pegasys.teku.storage.events.StorageUpdate;
 import tech.pegasys.teku.storage.events.WeakSubjectivityState;
 import tech.pegasys.teku.storage.events.WeakSubjectivityUpdate;
@@ -94,6 +98,12 @@ public class KvStoreDatabase implements Database {
   private static final Logger LOG = LogManager.getLogger();
 
   private static final int TX_BATCH_SIZE = 500;
+  // Each vote update is stored as a single batch. Once this many batches have been written, they
+  // are merged into one so loading votes doesn't have to replay an unbounded number of batches.
+  static final int MAX_VOTE_BATCHES = 32;
+  // Validator public keys are stored as chunks of this many concatenated keys so adding validators
+  // only rewrites the last chunk.
+  static final int VALIDATOR_PUBLIC_KEYS_PER_CHUNK = 1024;
 
   private final MetricsSystem metricsSystem;
   private final StateStorageMode stateStorageMode;
@@ -106,6 +116,11 @@ public class KvStoreDatabase implements Database {
   private final Spec spec;
   private final boolean storeNonCanonicalBlocks;
 
+  // Only accessed from storeVotes. Batches are merged on the first update after startup which
+  // also migrates votes stored individually by earlier versions.
+  private Optional<UInt64> nextVoteBatchNumber = Optional.empty();
+  private int unmergedVoteBatches = MAX_VOTE_BATCHES;
+
   public static Database createV4(
       final MetricsSystem metricsSystem,
       final KvStoreAccessor hotDb,
@@ -113,11 +128,16 @@ public class KvStoreDatabase implements Database {
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
       final boolean storeNonCanonicalBlocks,
+      final Function<SignedBeaconBlock, Bytes> blockSszSerializer,
       final Spec spec) {
-    final V4HotKvStoreDao dao = new V4HotKvStoreDao(hotDb, V4SchemaHot.create(spec));
+    final V4HotKvStoreDao dao =
+        new V4HotKvStoreDao(hotDb, V4SchemaHot.create(spec, blockSszSerializer));
     final V4FinalizedKvStoreDao finalizedDbDao =
         new V4FinalizedKvStoreDao(
-            finalizedDb, V4SchemaFinalized.create(spec), stateStorageFrequency);
+            finalizedDb,
+            V4SchemaFinalized.create(spec, blockSszSerializer),
+            stateStorageFrequency,
+            spec);
     return new KvStoreDatabase(
         metricsSystem,
         dao,
@@ -141,7 +161,7 @@ public class KvStoreDatabase implements Database {
       final Spec spec) {
     final V4HotKvStoreDao dao = new V4HotKvStoreDao(hotDb, schemaHot);
     final V4FinalizedKvStoreDao finalizedDbDao =
-        new V4FinalizedKvStoreDao(finalizedDb, schemaFinalized, stateStorageFrequency);
+        new V4FinalizedKvStoreDao(finalizedDb, schemaFinalized, stateStorageFrequency, spec);
     return new KvStoreDatabase(
         metricsSystem,
         dao,
@@ -189,6 +209,7 @@ public class KvStoreDatabase implements Database {
       hotUpdater.setBestJustifiedCheckpoint(anchorCheckpoint);
       hotUpdater.setFinalizedCheckpoint(anchorCheckpoint);
       hotUpdater.setLatestFinalizedState(anchorState);
+      storeValidatorPublicKeys(hotUpdater, anchorState);
 
       // We need to store the anchor block in both hot and cold storage so that on restart
       // we're guaranteed to have at least one block / state to load into RecentChainData.
@@ -331,6 +352,7 @@ public class KvStoreDatabase implements Database {
     final BeaconState finalizedState = hotDao.getLatestFinalizedState().orElseThrow();
 
     final Map<UInt64, VoteTracker> votes = hotDao.getVotes();
+    preloadValidatorPublicKeys(finalizedState);
 
     // Build map with block information
     final Map<Bytes32, StoredBlockMetadata> blockInformation = new HashMap<>();
@@ -415,6 +437,11 @@ public class KvStoreDatabase implements Database {
     return finalizedDao.getFinalizedBlockAtSlot(slot);
   }
 
+  @Override
+  public Optional<Bytes> getFinalizedBlockSszAtSlot(final UInt64 slot) {
+    return finalizedDao.getFinalizedBlockSszAtSlot(slot);
+  }
+
   @Override
   public Optional<UInt64> getEarliestAvailableBlockSlot() {
     return finalizedDao.getEarliestFinalizedBlockSlot();
@@ -555,11 +582,63 @@ public class KvStoreDatabase implements Database {
   }
 
   @Override
-  public void storeVotes(final Map<UInt64, VoteTracker> votes) {
+  public synchronized void storeVotes(final Map<UInt64, VoteTracker> votes) {
+    final UInt64 batchNumber =
+        nextVoteBatchNumber.orElseGet(
+            () -> hotDao.getLastVoteBatchNumber().map(UInt64::increment).orElse(UInt64.ZERO));
     try (final KvStoreHotDao.HotUpdater hotUpdater = hotDao.hotUpdater()) {
-      hotUpdater.addVotes(votes);
+      if (unmergedVoteBatches >= MAX_VOTE_BATCHES) {
+        final Map<UInt64, VoteTracker> allVotes = hotDao.getVotes();
+        allVotes.putAll(votes);
+        hotUpdater.deleteAllVotes();
+        hotUpdater.addVoteBatch(batchNumber, allVotes);
+        unmergedVoteBatches = 0;
+      } else {
+        hotUpdater.addVoteBatch(batchNumber, votes);
+      }
       hotUpdater.commit();
     }
+    nextVoteBatchNumber = Optional.of(batchNumber.increment());
+    unmergedVoteBatches++;
+  }
+
+  private void storeValidatorPublicKeys(final HotUpdater updater, final BeaconState state) {
+    final SszList<Validator> validators = state.getValidators();
+    final Optional<UInt64> lastChunkNumber = hotDao.getLastValidatorPublicKeysChunkNumber();
+    final Bytes lastChunk =
+        lastChunkNumber.flatMap(hotDao::getValidatorPublicKeys).orElse(Bytes.EMPTY);
+    int index =
+        lastChunkNumber
+                .map(chunkNumber -> chunkNumber.intValue() * VALIDATOR_PUBLIC_KEYS_PER_CHUNK)
+                .orElse(0)
+            + lastChunk.size() / Bytes48.SIZE;
+    while (index < validators.size()) {
+      final int chunkNumber = index / VALIDATOR_PUBLIC_KEYS_PER_CHUNK;
+      final int chunkEnd =
+          Math.min((chunkNumber + 1) * VALIDATOR_PUBLIC_KEYS_PER_CHUNK, validators.size());
+      final List<Bytes> publicKeys = new ArrayList<>();
+      if (index % VALIDATOR_PUBLIC_KEYS_PER_CHUNK != 0) {
+        // Extending the partially filled last chunk
+        publicKeys.add(lastChunk);
+      }
+      for (; index < chunkEnd; index++) {
+        publicKeys.add(validators.get(index).getPubkeyBytes());
+      }
+      updater.setValidatorPublicKeys(
+          UInt64.valueOf(chunkNumber), Bytes.concatenate(publicKeys.toArray(Bytes[]::new)));
+    }
+  }
+
+  private void preloadValidatorPublicKeys(final BeaconState finalizedState) {
+    final Bytes32 genesisValidatorsRoot = finalizedState.getGenesis_validators_root();
+    try (final Stream<Bytes> chunks = hotDao.streamValidatorPublicKeys()) {
+      int startIndex = 0;
+      for (Iterator<Bytes> i = chunks.iterator(); i.hasNext(); ) {
+        final Bytes publicKeys = i.next();
+        ValidatorIndexCache.preloadPublicKeys(genesisValidatorsRoot, startIndex, publicKeys);
+        startIndex += publicKeys.size() / Bytes48.SIZE;
+      }
+    }
   }
 
   @Override
@@ -594,7 +673,13 @@ public class KvStoreDatabase implements Database {
 
       update.getJustifiedCheckpoint().ifPresent(updater::setJustifiedCheckpoint);
       update.getBestJustifiedCheckpoint().ifPresent(updater::setBestJustifiedCheckpoint);
-      update.getLatestFinalizedState().ifPresent(updater::setLatestFinalizedState);
+      update
+          .getLatestFinalizedState()
+          .ifPresent(
+              state -> {
+                updater.setLatestFinalizedState(state);
+                storeValidatorPublicKeys(updater, state);
+              });
 
       updater.addHotBlocks(update.getHotBlocks());
       updater.addHotStates(update.getHotStates());
@@ -624,6 +709,7 @@ public class KvStoreDatabase implements Database {
 
     switch (stateStorageMode) {
       case ARCHIVE:
+      case TREE_ARCHIVE:
         updateFinalizedDataArchiveMode(finalizedChildToParentMap, finalizedBlocks, finalizedStates);
         break;
 
@@ -708,7 +794,7 @@ public class KvStoreDatabase implements Database {
               .or(() -> getHotState(blockRoot))
               .ifPresent(
                   state -> {
-                    updater.addFinalizedState(blockRoot, state);
+                    putFinalizedState(updater, blockRoot, state);
                     recorder.acceptNextState(state);
                   });
 
@@ -779,6 +865,9 @@ public class KvStoreDatabase implements Database {
       case ARCHIVE:
         updater.addFinalizedState(blockRoot, state);
         break;
+      case TREE_ARCHIVE:
+        updater.addFinalizedStateTree(blockRoot, state);
+        break;
       case PRUNE:
         // Don't persist finalized state
         break;
@@ -18,6 +18,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -36,6 +37,8 @@ public interface KvStoreFinalizedDao extends AutoCloseable {
 
   Optional<SignedBeaconBlock> getFinalizedBlockAtSlot(UInt64 slot);
 
+  Optional<Bytes> getFinalizedBlockSszAtSlot(UInt64 slot);
+
   Optional<UInt64> getEarliestFinalizedBlockSlot();
 
   Optional<SignedBeaconBlock> getEarliestFinalizedBlock();
@@ -69,6 +72,12 @@ public interface KvStoreFinalizedDao extends AutoCloseable {
 
     void addFinalizedState(final Bytes32 blockRoot, final BeaconState state);
 
+    /**
+     * Stores the state as a tree of nodes keyed by their roots so that the nodes shared with
+     * previously stored states are not stored again
+     */
+    void addFinalizedStateTree(final Bytes32 blockRoot, final BeaconState state);
+
     void addFinalizedStateRoot(final Bytes32 stateRoot, final UInt64 slot);
 
     void commit();
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpointEpochs;
@@ -63,8 +64,19 @@ public interface KvStoreHotDao extends AutoCloseable {
   @MustBeClosed
   Stream<SignedBeaconBlock> streamHotBlocks();
 
+  /** Returns all stored votes, with votes from later batches replacing those from earlier ones. */
   Map<UInt64, VoteTracker> getVotes();
 
+  Optional<UInt64> getLastVoteBatchNumber();
+
+  /** Returns the chunks of concatenated validator public keys in validator index order. */
+  @MustBeClosed
+  Stream<Bytes> streamValidatorPublicKeys();
+
+  Optional<UInt64> getLastValidatorPublicKeysChunkNumber();
+
+  Optional<Bytes> getValidatorPublicKeys(UInt64 chunkNumber);
+
   HotUpdater hotUpdater();
 
   void ingest(KvStoreHotDao hotDao, final int batchSize, final Consumer<String> logger);
@@ -97,7 +109,11 @@ public interface KvStoreHotDao extends AutoCloseable {
       states.forEach(this::addHotState);
     }
 
-    void addVotes(Map<UInt64, VoteTracker> states);
+    void addVoteBatch(UInt64 batchNumber, Map<UInt64, VoteTracker> votes);
+
+    void deleteAllVotes();
+
+    void setValidatorPublicKeys(UInt64 chunkNumber, Bytes publicKeys);
 
     default void addHotBlocks(final Map<Bytes32, BlockAndCheckpointEpochs> blocks) {
       blocks.values().forEach(this::addHotBlock);
@@ -26,9 +26,16 @@ import java.util.stream.Stream;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SlotAndBlockRoot;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconStateSchema;
+import tech.pegasys.teku.ssz.tree.BranchNodeChildren;
+import tech.pegasys.teku.ssz.tree.TreeNode;
+import tech.pegasys.teku.ssz.tree.TreeNodeSource;
+import tech.pegasys.teku.ssz.tree.TreeNodeStorage;
+import tech.pegasys.teku.ssz.tree.TreeNodeStore;
 import tech.pegasys.teku.storage.server.kvstore.ColumnEntry;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor.KvStoreTransaction;
@@ -40,12 +47,17 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
   private final KvStoreAccessor db;
   private final SchemaFinalized schema;
   private final UInt64 stateStorageFrequency;
+  private final Spec spec;
 
   public V4FinalizedKvStoreDao(
-      final KvStoreAccessor db, final SchemaFinalized schema, final long stateStorageFrequency) {
+      final KvStoreAccessor db,
+      final SchemaFinalized schema,
+      final long stateStorageFrequency,
+      final Spec spec) {
     this.db = db;
     this.schema = schema;
     this.stateStorageFrequency = UInt64.valueOf(stateStorageFrequency);
+    this.spec = spec;
   }
 
   @Override
@@ -58,6 +70,11 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
     return db.get(schema.getColumnFinalizedBlocksBySlot(), slot);
   }
 
+  @Override
+  public Optional<Bytes> getFinalizedBlockSszAtSlot(final UInt64 slot) {
+    return db.getRaw(schema.getColumnFinalizedBlocksBySlot(), slot);
+  }
+
   @Override
   public Optional<UInt64> getEarliestFinalizedBlockSlot() {
     return db.getFirstEntry(schema.getColumnFinalizedBlocksBySlot()).map(ColumnEntry::getKey);
@@ -85,8 +102,30 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
 
   @Override
   public Optional<BeaconState> getLatestAvailableFinalizedState(final UInt64 maxSlot) {
-    return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
-        .map(ColumnEntry::getValue);
+    final Optional<ColumnEntry<UInt64, Bytes32>> maybeStateTreeRoot =
+        db.getFloorEntry(schema.getColumnFinalizedStateTreeRootsBySlot(), maxSlot);
+    if (maybeStateTreeRoot.isEmpty()) {
+      return db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
+          .map(ColumnEntry::getValue);
+    }
+    // Full states could also be stored before switching the storage mode, pick the latest one
+    final UInt64 stateTreeSlot = maybeStateTreeRoot.get().getKey();
+    final Optional<BeaconState> maybeFullState =
+        db.getFloorEntry(schema.getColumnFinalizedStatesBySlot(), maxSlot)
+            .filter(entry -> entry.getKey().isGreaterThan(stateTreeSlot))
+            .map(ColumnEntry::getValue);
+    if (maybeFullState.isPresent()) {
+      return maybeFullState;
+    }
+    return Optional.of(loadStateTree(stateTreeSlot, maybeStateTreeRoot.get().getValue()));
+  }
+
+  private BeaconState loadStateTree(final UInt64 slot, final Bytes32 stateRoot) {
+    final BeaconStateSchema<?, ?> stateSchema =
+        spec.atSlot(slot).getSchemaDefinitions().getBeaconStateSchema();
+    // Nodes are read from the database only as the returned state is accessed
+    final TreeNode tree = stateSchema.loadBackingNodes(new StateTreeNodeSource(), stateRoot);
+    return stateSchema.createFromBackingNode(tree);
   }
 
   @Override
@@ -179,6 +218,24 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
     return new V4FinalizedKvStoreDao.V4FinalizedUpdater(db, schema, stateStorageFrequency);
   }
 
+  private class StateTreeNodeSource implements TreeNodeSource {
+
+    @Override
+    public Optional<BranchNodeChildren> loadBranchNode(final Bytes32 rootHash) {
+      return db.get(schema.getColumnStateTreeBranchNodes(), rootHash)
+          .map(
+              children ->
+                  new BranchNodeChildren(
+                      Bytes32.wrap(children.slice(0, Bytes32.SIZE)),
+                      Bytes32.wrap(children.slice(Bytes32.SIZE, Bytes32.SIZE))));
+    }
+
+    @Override
+    public Optional<Bytes> loadLeafDataNode(final Bytes32 rootHash) {
+      return db.get(schema.getColumnStateTreeLeafDataNodes(), rootHash);
+    }
+  }
+
   static class V4FinalizedUpdater implements FinalizedUpdater {
     private final KvStoreTransaction transaction;
     private final KvStoreAccessor db;
@@ -186,6 +243,9 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
     private final UInt64 stateStorageFrequency;
     private Optional<UInt64> lastStateStoredSlot = Optional.empty();
     private boolean loadedLastStoreState = false;
+    private Optional<UInt64> lastStateTreeStoredSlot = Optional.empty();
+    private boolean loadedLastStoreStateTree = false;
+    private final StateTreeNodeStore stateTreeNodeStore = new StateTreeNodeStore();
 
     KvStoreTransaction getTransaction() {
       return transaction;
@@ -227,16 +287,31 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
         lastStateStoredSlot = db.getLastKey(schema.getColumnFinalizedStatesBySlot());
         loadedLastStoreState = true;
       }
-      if (lastStateStoredSlot.isPresent()) {
-        UInt64 nextStorageSlot = lastStateStoredSlot.get().plus(stateStorageFrequency);
-        if (state.getSlot().compareTo(nextStorageSlot) >= 0) {
-          addFinalizedState(state);
-        }
-      } else {
+      if (isStorageSlot(lastStateStoredSlot, state.getSlot())) {
         addFinalizedState(state);
       }
     }
 
+    @Override
+    public void addFinalizedStateTree(final Bytes32 blockRoot, final BeaconState state) {
+      if (!loadedLastStoreStateTree) {
+        lastStateTreeStoredSlot = db.getLastKey(schema.getColumnFinalizedStateTreeRootsBySlot());
+        loadedLastStoreStateTree = true;
+      }
+      if (isStorageSlot(lastStateTreeStoredSlot, state.getSlot())) {
+        TreeNodeStorage.storeTree(state.getBackingNode(), stateTreeNodeStore);
+        transaction.put(
+            schema.getColumnFinalizedStateTreeRootsBySlot(), state.getSlot(), state.hashTreeRoot());
+        lastStateTreeStoredSlot = Optional.of(state.getSlot());
+      }
+    }
+
+    private boolean isStorageSlot(final Optional<UInt64> lastStoredSlot, final UInt64 slot) {
+      return lastStoredSlot
+          .map(lastSlot -> slot.isGreaterThanOrEqualTo(lastSlot.plus(stateStorageFrequency)))
+          .orElse(true);
+    }
+
     @Override
     public void addFinalizedStateRoot(final Bytes32 stateRoot, final UInt64 slot) {
       transaction.put(schema.getColumnSlotsByFinalizedStateRoot(), stateRoot, slot);
@@ -247,6 +322,41 @@ public class V4FinalizedKvStoreDao implements KvStoreFinalizedDao {
       lastStateStoredSlot = Optional.of(state.getSlot());
     }
 
+    /**
+     * Writes state tree nodes to the updater transaction. Nodes written by this updater are tracked
+     * since they are not visible to the database reads until the transaction is committed
+     */
+    private class StateTreeNodeStore implements TreeNodeStore {
+      private final Set<Bytes32> storedBranchNodes = new HashSet<>();
+      private final Set<Bytes32> storedLeafDataNodes = new HashSet<>();
+
+      @Override
+      public boolean containsBranchNode(final Bytes32 rootHash) {
+        return storedBranchNodes.contains(rootHash)
+            || db.get(schema.getColumnStateTreeBranchNodes(), rootHash).isPresent();
+      }
+
+      @Override
+      public void storeBranchNode(
+          final Bytes32 rootHash, final Bytes32 leftRoot, final Bytes32 rightRoot) {
+        transaction.put(
+            schema.getColumnStateTreeBranchNodes(), rootHash, Bytes.wrap(leftRoot, rightRoot));
+        storedBranchNodes.add(rootHash);
+      }
+
+      @Override
+      public boolean containsLeafDataNode(final Bytes32 rootHash) {
+        return storedLeafDataNodes.contains(rootHash)
+            || db.get(schema.getColumnStateTreeLeafDataNodes(), rootHash).isPresent();
+      }
+
+      @Override
+      public void storeLeafDataNode(final Bytes32 rootHash, final Bytes data) {
+        transaction.put(schema.getColumnStateTreeLeafDataNodes(), rootHash, data);
+        storedLeafDataNodes.add(rootHash);
+      }
+    }
+
     @Override
     public void commit() {
       // Commit db updates
@@ -15,6 +15,7 @@ package tech.pegasys.teku.storage.server.kvstore.dataaccess;
 
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.MustBeClosed;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -125,7 +126,33 @@ public class V4HotKvStoreDao implements KvStoreHotDao, KvStoreEth1Dao, KvStorePr
 
   @Override
   public Map<UInt64, VoteTracker> getVotes() {
-    return db.getAll(schema.getColumnVotes());
+    final Map<UInt64, VoteTracker> votes = new HashMap<>(db.getAll(schema.getColumnVotes()));
+    try (final Stream<ColumnEntry<UInt64, Map<UInt64, VoteTracker>>> batches =
+        db.stream(schema.getColumnVoteBatches())) {
+      batches.forEach(batch -> votes.putAll(batch.getValue()));
+    }
+    return votes;
+  }
+
+  @Override
+  public Optional<UInt64> getLastVoteBatchNumber() {
+    return db.getLastKey(schema.getColumnVoteBatches());
+  }
+
+  @Override
+  @MustBeClosed
+  public Stream<Bytes> streamValidatorPublicKeys() {
+    return db.stream(schema.getColumnValidatorPublicKeys()).map(ColumnEntry::getValue);
+  }
+
+  @Override
+  public Optional<UInt64> getLastValidatorPublicKeysChunkNumber() {
+    return db.getLastKey(schema.getColumnValidatorPublicKeys());
+  }
+
+  @Override
+  public Optional<Bytes> getValidatorPublicKeys(final UInt64 chunkNumber) {
+    return db.get(schema.getColumnValidatorPublicKeys(), chunkNumber);
   }
 
   @Override
@@ -217,6 +244,7 @@ public class V4HotKvStoreDao implements KvStoreHotDao, KvStoreEth1Dao, KvStorePr
 
   static class V4HotUpdater implements HotUpdater, Eth1Updater, ProtoArrayUpdater {
 
+    private final KvStoreAccessor db;
     private final KvStoreTransaction transaction;
     private final SchemaHot schema;
 
@@ -225,6 +253,7 @@ public class V4HotKvStoreDao implements KvStoreHotDao, KvStoreEth1Dao, KvStorePr
     }
 
     V4HotUpdater(final KvStoreAccessor db, final SchemaHot schema) {
+      this.db = db;
       this.transaction = db.startTransaction();
       this.schema = schema;
     }
@@ -304,9 +333,29 @@ public class V4HotKvStoreDao implements KvStoreHotDao, KvStoreEth1Dao, KvStorePr
     }
 
     @Override
-    public void addVotes(final Map<UInt64, VoteTracker> votes) {
-      votes.forEach(
-          (validatorIndex, vote) -> transaction.put(schema.getColumnVotes(), validatorIndex, vote));
+    public void addVoteBatch(final UInt64 batchNumber, final Map<UInt64, VoteTracker> votes) {
+      transaction.put(schema.getColumnVoteBatches(), batchNumber, votes);
+    }
+
+    @Override
+    public void deleteAllVotes() {
+      deleteAll(schema.getColumnVotes());
+      deleteAll(schema.getColumnVoteBatches());
+    }
+
+    @Override
+    public void setValidatorPublicKeys(final UInt64 chunkNumber, final Bytes publicKeys) {
+      transaction.put(schema.getColumnValidatorPublicKeys(), chunkNumber, publicKeys);
+    }
+
+    private <K, V> void deleteAll(final KvStoreColumn<K, V> column) {
+      // Only the keys are needed so avoid deserializing the values
+      try (final Stream<ColumnEntry<Bytes, Bytes>> entries = db.streamRaw(column)) {
+        entries.forEach(
+            entry ->
+                transaction.delete(
+                    column, column.getKeySerializer().deserialize(entry.getKey().toArrayUnsafe())));
+      }
     }
 
     @Override
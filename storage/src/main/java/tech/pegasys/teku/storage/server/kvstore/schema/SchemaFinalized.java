@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -35,6 +36,15 @@ public interface SchemaFinalized extends Schema {
 
   KvStoreColumn<UInt64, Set<Bytes32>> getColumnNonCanonicalRootsBySlot();
 
+  /** Roots of the finalized states stored as trees with {@link #getColumnStateTreeBranchNodes()} */
+  KvStoreColumn<UInt64, Bytes32> getColumnFinalizedStateTreeRootsBySlot();
+
+  /** Concatenated left and right child roots of the state tree branch nodes by the node root */
+  KvStoreColumn<Bytes32, Bytes> getColumnStateTreeBranchNodes();
+
+  /** Data of the state tree nodes packing several leaves by the node root */
+  KvStoreColumn<Bytes32, Bytes> getColumnStateTreeLeafDataNodes();
+
   @Override
   default Collection<KvStoreColumn<?, ?>> getAllColumns() {
     return getColumnMap().values();
@@ -47,7 +57,10 @@ public interface SchemaFinalized extends Schema {
         "FINALIZED_STATES_BY_SLOT", getColumnFinalizedStatesBySlot(),
         "SLOTS_BY_FINALIZED_STATE_ROOT", getColumnSlotsByFinalizedStateRoot(),
         "NON_CANONICAL_BLOCKS_BY_ROOT", getColumnNonCanonicalBlocksByRoot(),
-        "NON_CANONICAL_BLOCK_ROOTS_BY_SLOT", getColumnNonCanonicalRootsBySlot());
+        "NON_CANONICAL_BLOCK_ROOTS_BY_SLOT", getColumnNonCanonicalRootsBySlot(),
+        "FINALIZED_STATE_TREE_ROOTS_BY_SLOT", getColumnFinalizedStateTreeRootsBySlot(),
+        "STATE_TREE_BRANCH_NODES", getColumnStateTreeBranchNodes(),
+        "STATE_TREE_LEAF_DATA_NODES", getColumnStateTreeLeafDataNodes());
   }
 
   @Override
@@ -15,6 +15,7 @@ package tech.pegasys.teku.storage.server.kvstore.schema;
 
 import java.util.Collection;
 import java.util.Map;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ethereum.pow.api.DepositsFromBlockEvent;
 import tech.pegasys.teku.ethereum.pow.api.MinGenesisTimeBlockEvent;
@@ -35,8 +36,13 @@ public interface SchemaHot extends Schema {
   // Checkpoint states are no longer stored, keeping only for backwards compatibility.
   KvStoreColumn<Checkpoint, BeaconState> getColumnCheckpointStates();
 
+  // Votes are now stored in batches, keeping only for backwards compatibility.
   KvStoreColumn<UInt64, VoteTracker> getColumnVotes();
 
+  KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> getColumnVoteBatches();
+
+  KvStoreColumn<UInt64, Bytes> getColumnValidatorPublicKeys();
+
   KvStoreColumn<UInt64, DepositsFromBlockEvent> getColumnDepositsFromBlockEvents();
 
   KvStoreColumn<Bytes32, SlotAndBlockRoot> getColumnStateRootToSlotAndBlockRoot();
@@ -53,6 +59,8 @@ public interface SchemaHot extends Schema {
         "HOT_BLOCKS_BY_ROOT", getColumnHotBlocksByRoot(),
         "CHECKPOINT_STATES", getColumnCheckpointStates(),
         "VOTES", getColumnVotes(),
+        "VOTE_BATCHES", getColumnVoteBatches(),
+        "VALIDATOR_PUBLIC_KEYS", getColumnValidatorPublicKeys(),
         "DEPOSITS_FROM_BLOCK_EVENTS", getColumnDepositsFromBlockEvents(),
         "STATE_ROOT_TO_SLOT_AND_BLOCK_ROOT", getColumnStateRootToSlotAndBlockRoot(),
         "HOT_STATES_BY_ROOT", getColumnHotStatesByRoot(),
@@ -15,11 +15,14 @@ package tech.pegasys.teku.storage.server.kvstore.schema;
 
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BLOCK_ROOTS_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BYTES_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.UINT64_SERIALIZER;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -37,20 +40,30 @@ public class V4SchemaFinalized implements SchemaFinalized {
       KvStoreColumn.create(4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
   private static final KvStoreColumn<UInt64, Set<Bytes32>> NON_CANONICAL_BLOCK_ROOTS_BY_SLOT =
       KvStoreColumn.create(6, UINT64_SERIALIZER, BLOCK_ROOTS_SERIALIZER);
+  private static final KvStoreColumn<UInt64, Bytes32> FINALIZED_STATE_TREE_ROOTS_BY_SLOT =
+      KvStoreColumn.create(7, UINT64_SERIALIZER, BYTES32_SERIALIZER);
+  private static final KvStoreColumn<Bytes32, Bytes> STATE_TREE_BRANCH_NODES =
+      KvStoreColumn.create(8, BYTES32_SERIALIZER, BYTES_SERIALIZER);
+  private static final KvStoreColumn<Bytes32, Bytes> STATE_TREE_LEAF_DATA_NODES =
+      KvStoreColumn.create(9, BYTES32_SERIALIZER, BYTES_SERIALIZER);
 
-  private V4SchemaFinalized(final Spec spec) {
-    finalizedBlocksBySlot =
-        KvStoreColumn.create(
-            2, UINT64_SERIALIZER, KvStoreSerializer.createSignedBlockSerializer(spec));
+  private V4SchemaFinalized(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
+    final KvStoreSerializer<SignedBeaconBlock> signedBlockSerializer =
+        KvStoreSerializer.createSignedBlockSerializer(spec, blockSszSerializer);
+    finalizedBlocksBySlot = KvStoreColumn.create(2, UINT64_SERIALIZER, signedBlockSerializer);
     this.finalizedStatesBySlot =
         KvStoreColumn.create(3, UINT64_SERIALIZER, KvStoreSerializer.createStateSerializer(spec));
-    nonCanonicalBlocksByRoot =
-        KvStoreColumn.create(
-            5, BYTES32_SERIALIZER, KvStoreSerializer.createSignedBlockSerializer(spec));
+    nonCanonicalBlocksByRoot = KvStoreColumn.create(5, BYTES32_SERIALIZER, signedBlockSerializer);
   }
 
   public static SchemaFinalized create(final Spec spec) {
-    return new V4SchemaFinalized(spec);
+    return create(spec, SignedBeaconBlock::sszSerialize);
+  }
+
+  public static SchemaFinalized create(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
+    return new V4SchemaFinalized(spec, blockSszSerializer);
   }
 
   @Override
@@ -83,6 +96,21 @@ public class V4SchemaFinalized implements SchemaFinalized {
     return NON_CANONICAL_BLOCK_ROOTS_BY_SLOT;
   }
 
+  @Override
+  public KvStoreColumn<UInt64, Bytes32> getColumnFinalizedStateTreeRootsBySlot() {
+    return FINALIZED_STATE_TREE_ROOTS_BY_SLOT;
+  }
+
+  @Override
+  public KvStoreColumn<Bytes32, Bytes> getColumnStateTreeBranchNodes() {
+    return STATE_TREE_BRANCH_NODES;
+  }
+
+  @Override
+  public KvStoreColumn<Bytes32, Bytes> getColumnStateTreeLeafDataNodes() {
+    return STATE_TREE_LEAF_DATA_NODES;
+  }
+
   @Override
   public List<KvStoreVariable<?>> getAllVariables() {
     return Collections.emptyList();
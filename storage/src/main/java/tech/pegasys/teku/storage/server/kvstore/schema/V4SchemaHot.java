@@ -14,6 +14,7 @@
 package tech.pegasys.teku.storage.server.kvstore.schema;
 
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BYTES_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.CHECKPOINT_EPOCHS_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.CHECKPOINT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER;
@@ -22,7 +23,11 @@ import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSeri
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.SLOT_AND_BLOCK_ROOT_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.UINT64_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.VOTES_SERIALIZER;
+import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.VOTE_BATCH_SERIALIZER;
 
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ethereum.pow.api.DepositsFromBlockEvent;
 import tech.pegasys.teku.ethereum.pow.api.MinGenesisTimeBlockEvent;
@@ -41,6 +46,7 @@ public class V4SchemaHot implements SchemaHot {
   private final KvStoreColumn<Bytes32, SignedBeaconBlock> hotBlocksByRoot;
   // Checkpoint states are no longer stored, keeping only for backwards compatibility.
   private final KvStoreColumn<Checkpoint, BeaconState> checkpointStates;
+  // Votes are now stored in batches, keeping only for backwards compatibility.
   private static final KvStoreColumn<UInt64, VoteTracker> VOTES =
       KvStoreColumn.create(3, UINT64_SERIALIZER, VOTES_SERIALIZER);
   private static final KvStoreColumn<UInt64, DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENTS =
@@ -51,6 +57,11 @@ public class V4SchemaHot implements SchemaHot {
   private static final KvStoreColumn<Bytes32, CheckpointEpochs>
       HOT_BLOCK_CHECKPOINT_EPOCHS_BY_ROOT =
           KvStoreColumn.create(7, BYTES32_SERIALIZER, CHECKPOINT_EPOCHS_SERIALIZER);
+  private static final KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> VOTE_BATCHES =
+      KvStoreColumn.create(8, UINT64_SERIALIZER, VOTE_BATCH_SERIALIZER);
+  // Concatenated validator public keys, keyed by chunk number
+  private static final KvStoreColumn<UInt64, Bytes> VALIDATOR_PUBLIC_KEYS =
+      KvStoreColumn.create(9, UINT64_SERIALIZER, BYTES_SERIALIZER);
 
   // Variables
   private static final KvStoreVariable<UInt64> GENESIS_TIME =
@@ -71,9 +82,10 @@ public class V4SchemaHot implements SchemaHot {
   private static final KvStoreVariable<Checkpoint> ANCHOR_CHECKPOINT =
       KvStoreVariable.create(9, CHECKPOINT_SERIALIZER);
 
-  private V4SchemaHot(final Spec spec) {
+  private V4SchemaHot(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
     final KvStoreSerializer<SignedBeaconBlock> signedBlockSerializer =
-        KvStoreSerializer.createSignedBlockSerializer(spec);
+        KvStoreSerializer.createSignedBlockSerializer(spec, blockSszSerializer);
     hotBlocksByRoot = KvStoreColumn.create(1, BYTES32_SERIALIZER, signedBlockSerializer);
 
     final KvStoreSerializer<BeaconState> stateSerializer =
@@ -84,7 +96,12 @@ public class V4SchemaHot implements SchemaHot {
   }
 
   public static V4SchemaHot create(final Spec spec) {
-    return new V4SchemaHot(spec);
+    return create(spec, SignedBeaconBlock::sszSerialize);
+  }
+
+  public static V4SchemaHot create(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
+    return new V4SchemaHot(spec, blockSszSerializer);
   }
 
   @Override
@@ -107,6 +124,16 @@ public class V4SchemaHot implements SchemaHot {
     return VOTES;
   }
 
+  @Override
+  public KvStoreColumn<UInt64, Map<UInt64, VoteTracker>> getColumnVoteBatches() {
+    return VOTE_BATCHES;
+  }
+
+  @Override
+  public KvStoreColumn<UInt64, Bytes> getColumnValidatorPublicKeys() {
+    return VALIDATOR_PUBLIC_KEYS;
+  }
+
   @Override
   public KvStoreColumn<UInt64, DepositsFromBlockEvent> getColumnDepositsFromBlockEvents() {
     return DEPOSITS_FROM_BLOCK_EVENTS;
@@ -15,9 +15,12 @@ package tech.pegasys.teku.storage.server.kvstore.schema;
 
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BLOCK_ROOTS_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BYTES32_SERIALIZER;
+import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.BYTES_SERIALIZER;
 import static tech.pegasys.teku.storage.server.kvstore.serialization.KvStoreSerializer.UINT64_SERIALIZER;
 
 import java.util.Set;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
@@ -43,21 +46,33 @@ public class V6SchemaFinalized implements SchemaFinalized {
       KvStoreColumn.create(ID_OFFSET + 4, BYTES32_SERIALIZER, UINT64_SERIALIZER);
   private static final KvStoreColumn<UInt64, Set<Bytes32>> NON_CANONICAL_BLOCK_ROOTS_BY_SLOT =
       KvStoreColumn.create(ID_OFFSET + 6, UINT64_SERIALIZER, BLOCK_ROOTS_SERIALIZER);
+  private static final KvStoreColumn<UInt64, Bytes32> FINALIZED_STATE_TREE_ROOTS_BY_SLOT =
+      KvStoreColumn.create(ID_OFFSET + 7, UINT64_SERIALIZER, BYTES32_SERIALIZER);
+  private static final KvStoreColumn<Bytes32, Bytes> STATE_TREE_BRANCH_NODES =
+      KvStoreColumn.create(ID_OFFSET + 8, BYTES32_SERIALIZER, BYTES_SERIALIZER);
+  private static final KvStoreColumn<Bytes32, Bytes> STATE_TREE_LEAF_DATA_NODES =
+      KvStoreColumn.create(ID_OFFSET + 9, BYTES32_SERIALIZER, BYTES_SERIALIZER);
 
-  private V6SchemaFinalized(final Spec spec) {
+  private V6SchemaFinalized(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
+    final KvStoreSerializer<SignedBeaconBlock> signedBlockSerializer =
+        KvStoreSerializer.createSignedBlockSerializer(spec, blockSszSerializer);
     finalizedBlocksBySlot =
-        KvStoreColumn.create(
-            ID_OFFSET + 2, UINT64_SERIALIZER, KvStoreSerializer.createSignedBlockSerializer(spec));
+        KvStoreColumn.create(ID_OFFSET + 2, UINT64_SERIALIZER, signedBlockSerializer);
     finalizedStatesBySlot =
         KvStoreColumn.create(
             ID_OFFSET + 3, UINT64_SERIALIZER, KvStoreSerializer.createStateSerializer(spec));
     nonCanonicalBlocksByRoot =
-        KvStoreColumn.create(
-            ID_OFFSET + 5, BYTES32_SERIALIZER, KvStoreSerializer.createSignedBlockSerializer(spec));
+        KvStoreColumn.create(ID_OFFSET + 5, BYTES32_SERIALIZER, signedBlockSerializer);
   }
 
   public static SchemaFinalized create(final Spec spec) {
-    return new V6SchemaFinalized(spec);
+    return create(spec, SignedBeaconBlock::sszSerialize);
+  }
+
+  public static SchemaFinalized create(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
+    return new V6SchemaFinalized(spec, blockSszSerializer);
   }
 
   @Override
@@ -89,4 +104,19 @@ public class V6SchemaFinalized implements SchemaFinalized {
   public KvStoreColumn<UInt64, Set<Bytes32>> getColumnNonCanonicalRootsBySlot() {
     return NON_CANONICAL_BLOCK_ROOTS_BY_SLOT;
   }
+
+  @Override
+  public KvStoreColumn<UInt64, Bytes32> getColumnFinalizedStateTreeRootsBySlot() {
+    return FINALIZED_STATE_TREE_ROOTS_BY_SLOT;
+  }
+
+  @Override
+  public KvStoreColumn<Bytes32, Bytes> getColumnStateTreeBranchNodes() {
+    return STATE_TREE_BRANCH_NODES;
+  }
+
+  @Override
+  public KvStoreColumn<Bytes32, Bytes> getColumnStateTreeLeafDataNodes() {
+    return STATE_TREE_LEAF_DATA_NODES;
+  }
 }
@@ -28,7 +28,7 @@ class BeaconStateSerializer implements KvStoreSerializer<BeaconState> {
 
   @Override
   public BeaconState deserialize(final byte[] data) {
-    return spec.deserializeBeaconState(Bytes.wrap(data));
+    return spec.deserializeBeaconStateLazily(Bytes.wrap(data));
   }
 
   @Override
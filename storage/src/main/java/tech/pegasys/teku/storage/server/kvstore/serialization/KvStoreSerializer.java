@@ -13,7 +13,10 @@
 
 package tech.pegasys.teku.storage.server.kvstore.serialization;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ethereum.pow.api.DepositsFromBlockEvent;
 import tech.pegasys.teku.ethereum.pow.api.MinGenesisTimeBlockEvent;
@@ -29,9 +32,11 @@ import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 
 public interface KvStoreSerializer<T> {
   KvStoreSerializer<UInt64> UINT64_SERIALIZER = new UInt64Serializer();
+  KvStoreSerializer<Bytes> BYTES_SERIALIZER = new BytesSerializer<>(Bytes::wrap);
   KvStoreSerializer<Bytes32> BYTES32_SERIALIZER = new BytesSerializer<>(Bytes32::wrap);
   KvStoreSerializer<Checkpoint> CHECKPOINT_SERIALIZER = new SszSerializer<>(Checkpoint.SSZ_SCHEMA);
   KvStoreSerializer<VoteTracker> VOTES_SERIALIZER = new VoteTrackerSerializer();
+  KvStoreSerializer<Map<UInt64, VoteTracker>> VOTE_BATCH_SERIALIZER = new VoteBatchSerializer();
   KvStoreSerializer<DepositsFromBlockEvent> DEPOSITS_FROM_BLOCK_EVENT_SERIALIZER =
       new DepositsFromBlockEventSerializer();
   KvStoreSerializer<MinGenesisTimeBlockEvent> MIN_GENESIS_TIME_BLOCK_EVENT_SERIALIZER =
@@ -49,7 +54,16 @@ public interface KvStoreSerializer<T> {
   }
 
   static KvStoreSerializer<SignedBeaconBlock> createSignedBlockSerializer(final Spec spec) {
-    return new SignedBeaconBlockSerializer(spec);
+    return createSignedBlockSerializer(spec, SignedBeaconBlock::sszSerialize);
+  }
+
+  /**
+   * Creates a block serializer which obtains the SSZ of blocks being written from {@code
+   * blockSszSerializer}, allowing an encoding already produced elsewhere to be reused.
+   */
+  static KvStoreSerializer<SignedBeaconBlock> createSignedBlockSerializer(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
+    return new SignedBeaconBlockSerializer(spec, blockSszSerializer);
   }
 
   T deserialize(final byte[] data);
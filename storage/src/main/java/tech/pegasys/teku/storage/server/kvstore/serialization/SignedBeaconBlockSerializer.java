@@ -14,6 +14,7 @@
 package tech.pegasys.teku.storage.server.kvstore.serialization;
 
 import java.util.Objects;
+import java.util.function.Function;
 import org.apache.tuweni.bytes.Bytes;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -21,9 +22,12 @@ import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 class SignedBeaconBlockSerializer implements KvStoreSerializer<SignedBeaconBlock> {
 
   private final Spec spec;
+  private final Function<SignedBeaconBlock, Bytes> blockSszSerializer;
 
-  SignedBeaconBlockSerializer(final Spec spec) {
+  SignedBeaconBlockSerializer(
+      final Spec spec, final Function<SignedBeaconBlock, Bytes> blockSszSerializer) {
     this.spec = spec;
+    this.blockSszSerializer = blockSszSerializer;
   }
 
   @Override
@@ -33,7 +37,7 @@ class SignedBeaconBlockSerializer implements KvStoreSerializer<SignedBeaconBlock
 
   @Override
   public byte[] serialize(final SignedBeaconBlock value) {
-    return value.sszSerialize().toArrayUnsafe();
+    return blockSszSerializer.apply(value).toArrayUnsafe();
   }
 
   @Override
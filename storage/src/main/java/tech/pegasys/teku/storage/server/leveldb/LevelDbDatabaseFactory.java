@@ -20,8 +20,11 @@ import static tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory.STORAG
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Function;
+import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.storage.server.Database;
 import tech.pegasys.teku.storage.server.StateStorageMode;
 import tech.pegasys.teku.storage.server.kvstore.KvStoreAccessor;
@@ -41,6 +44,7 @@ public class LevelDbDatabaseFactory {
       final StateStorageMode stateStorageMode,
       final long stateStorageFrequency,
       final boolean storeNonCanonicalBlocks,
+      final Function<SignedBeaconBlock, Bytes> blockSszSerializer,
       final Spec spec) {
     final Collection<KvStoreColumn<?, ?>> v4FinalizedColumns =
         V4SchemaFinalized.create(spec).getAllColumns();
@@ -57,6 +61,7 @@ public class LevelDbDatabaseFactory {
         stateStorageMode,
         stateStorageFrequency,
         storeNonCanonicalBlocks,
+        blockSszSerializer,
         spec);
   }
 
@@ -109,6 +109,12 @@ public class LevelDbInstance implements KvStoreAccessor {
         .map(column.getValueSerializer()::deserialize);
   }
 
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
+    assertOpen();
+    return Optional.ofNullable(db.get(getColumnKey(column, key))).map(Bytes::wrap);
+  }
+
   @Override
   public <K, V> Map<K, V> getAll(final KvStoreColumn<K, V> column) {
     return withIterator(
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.ethereum.pow.api.DepositsFromBlockEvent;
 import tech.pegasys.teku.ethereum.pow.api.MinGenesisTimeBlockEvent;
@@ -81,6 +82,11 @@ public class NoOpDatabase implements Database {
     return Optional.empty();
   }
 
+  @Override
+  public Optional<Bytes> getFinalizedBlockSszAtSlot(final UInt64 slot) {
+    return Optional.empty();
+  }
+
   @Override
   public Optional<UInt64> getEarliestAvailableBlockSlot() {
     return Optional.empty();
@@ -13,25 +13,21 @@
 
 package tech.pegasys.teku.storage.server.state;
 
-import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
-
-import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalNotification;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.stream.Stream;
-import tech.pegasys.teku.dataproviders.generators.StreamingStateRegenerator;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
-import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
 import tech.pegasys.teku.storage.server.Database;
+import tech.pegasys.teku.storage.server.state.StateRegenerationScheduler.Priority;
 
 public class FinalizedStateCache {
   /**
@@ -41,17 +37,17 @@ public class FinalizedStateCache {
    */
   private final NavigableSet<UInt64> availableSlots = new ConcurrentSkipListSet<>();
 
-  private final LoadingCache<UInt64, BeaconState> stateCache;
-  private final Spec spec;
-  private final Database database;
+  private final Cache<UInt64, BeaconState> stateCache;
+  private final StateRegenerationScheduler regenerationScheduler;
 
   public FinalizedStateCache(
       final Spec spec,
       final Database database,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem,
       final int maximumCacheSize,
-      final boolean useSoftReferences) {
-    this.spec = spec;
-    this.database = database;
+      final boolean useSoftReferences,
+      final int maxConcurrentRegenerations) {
     final CacheBuilder<UInt64, BeaconState> cacheBuilder =
         CacheBuilder.newBuilder()
             .maximumSize(maximumCacheSize)
@@ -59,7 +55,19 @@ public class FinalizedStateCache {
     if (useSoftReferences) {
       cacheBuilder.softValues();
     }
-    this.stateCache = cacheBuilder.build(new StateCacheLoader());
+    this.stateCache = cacheBuilder.build();
+    // Requests are coalesced over at most as many slots as the cache can hold so the states
+    // regenerated along the way remain available for subsequent requests
+    this.regenerationScheduler =
+        new StateRegenerationScheduler(
+            spec,
+            database,
+            asyncRunner,
+            metricsSystem,
+            this::getLatestStateFromCache,
+            this::onStateRegenerated,
+            maxConcurrentRegenerations,
+            maximumCacheSize);
   }
 
   private void onRemovedFromCache(
@@ -69,57 +77,25 @@ public class FinalizedStateCache {
     }
   }
 
-  public Optional<BeaconState> getFinalizedState(final UInt64 slot) {
-    try {
-      return Optional.of(stateCache.getUnchecked(slot));
-    } catch (final UncheckedExecutionException e) {
-      if (Throwables.getRootCause(e) instanceof StateUnavailableException) {
-        return Optional.empty();
-      }
-      throw new RuntimeException("Error while regenerating state", e);
-    }
-  }
-
-  private Optional<BeaconState> getLatestStateFromCache(final UInt64 slot) {
-    return Optional.ofNullable(availableSlots.floor(slot)).map(stateCache::getIfPresent);
+  public SafeFuture<Optional<BeaconState>> getFinalizedState(final UInt64 slot) {
+    return getFinalizedState(slot, Priority.INTERACTIVE);
   }
 
-  private class StateCacheLoader extends CacheLoader<UInt64, BeaconState> {
-
-    @Override
-    public BeaconState load(final UInt64 key) {
-      return regenerateState(key).orElseThrow(StateUnavailableException::new);
-    }
-
-    private Optional<BeaconState> regenerateState(final UInt64 slot) {
-      return database
-          .getLatestAvailableFinalizedState(slot)
-          .map(state -> regenerateState(slot, state));
+  public SafeFuture<Optional<BeaconState>> getFinalizedState(
+      final UInt64 slot, final Priority priority) {
+    final BeaconState cachedState = stateCache.getIfPresent(slot);
+    if (cachedState != null) {
+      return SafeFuture.completedFuture(Optional.of(cachedState));
     }
+    return regenerationScheduler.regenerate(slot, priority);
+  }
 
-    private BeaconState regenerateState(final UInt64 slot, final BeaconState stateFromDisk) {
-      final Optional<BeaconState> latestStateFromCache = getLatestStateFromCache(slot);
-      final BeaconState preState =
-          latestStateFromCache
-              .filter(
-                  stateFromCache ->
-                      stateFromCache.getSlot().compareTo(stateFromDisk.getSlot()) >= 0)
-              .orElse(stateFromDisk);
-      if (preState.getSlot().equals(slot)) {
-        return preState;
-      }
-      try (final Stream<SignedBeaconBlock> blocks =
-          database.streamFinalizedBlocks(preState.getSlot().plus(ONE), slot)) {
-        final BeaconState state = StreamingStateRegenerator.regenerate(spec, preState, blocks);
-        availableSlots.add(state.getSlot());
-        return state;
-      }
-    }
+  private void onStateRegenerated(final UInt64 slot, final BeaconState state) {
+    availableSlots.add(slot);
+    stateCache.put(slot, state);
   }
 
-  /**
-   * Cache doesn't allow returning null but we may not be able to regenerate a state so throw this
-   * exception and catch it in {@link #getFinalizedState(UInt64)}
-   */
-  private static class StateUnavailableException extends RuntimeException {}
+  private Optional<BeaconState> getLatestStateFromCache(final UInt64 slot) {
+    return Optional.ofNullable(availableSlots.floor(slot)).map(stateCache::getIfPresent);
+  }
 }
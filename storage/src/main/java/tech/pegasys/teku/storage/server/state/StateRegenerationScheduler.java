@@ -0,0 +1,323 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import tech.pegasys.teku.dataproviders.generators.StreamingStateRegenerator;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.storage.server.Database;
+
+/**
+ * Regenerates finalized states by replaying blocks on top of the closest available state.
+ *
+ * <p>Requests for nearby slots are coalesced into a single job which streams the blocks once and
+ * completes each request as soon as the replay passes its slot. A request joins a queued job if all
+ * of the job's slots still fit within the coalescing window, or a running job if the replay has not
+ * yet passed the slot but will reach it. At most {@code maxConcurrentReplays} jobs run at a time
+ * and queued jobs are started in priority order, so interactive requests are not stuck behind bulk
+ * ones.
+ */
+public class StateRegenerationScheduler {
+
+  public enum Priority {
+    INTERACTIVE,
+    BULK
+  }
+
+  private final Spec spec;
+  private final Database database;
+  private final AsyncRunner asyncRunner;
+  private final Function<UInt64, Optional<BeaconState>> cachedStateProvider;
+  private final BiConsumer<UInt64, BeaconState> regeneratedStateHandler;
+  private final int maxConcurrentReplays;
+  private final int coalescingWindowSlots;
+
+  private final PriorityQueue<RegenerationJob> queuedJobs =
+      new PriorityQueue<>(
+          Comparator.comparing((RegenerationJob job) -> job.priority)
+              .thenComparing(job -> job.requests.firstKey()));
+  private final List<RegenerationJob> activeJobs = new ArrayList<>();
+
+  private final Counter newRequestCounter;
+  private final Counter coalescedRequestCounter;
+
+  public StateRegenerationScheduler(
+      final Spec spec,
+      final Database database,
+      final AsyncRunner asyncRunner,
+      final MetricsSystem metricsSystem,
+      final Function<UInt64, Optional<BeaconState>> cachedStateProvider,
+      final BiConsumer<UInt64, BeaconState> regeneratedStateHandler,
+      final int maxConcurrentReplays,
+      final int coalescingWindowSlots) {
+    this.spec = spec;
+    this.database = database;
+    this.asyncRunner = asyncRunner;
+    this.cachedStateProvider = cachedStateProvider;
+    this.regeneratedStateHandler = regeneratedStateHandler;
+    this.maxConcurrentReplays = maxConcurrentReplays;
+    this.coalescingWindowSlots = coalescingWindowSlots;
+
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.STORAGE,
+        "finalized_state_regeneration_jobs_queued",
+        "Number of state regeneration jobs waiting to start",
+        this::getQueuedJobCount);
+    metricsSystem.createIntegerGauge(
+        TekuMetricCategory.STORAGE,
+        "finalized_state_regeneration_jobs_active",
+        "Number of state regeneration jobs currently replaying blocks",
+        this::getActiveJobCount);
+    final LabelledMetric<Counter> labelledCounter =
+        metricsSystem.createLabelledCounter(
+            TekuMetricCategory.STORAGE,
+            "finalized_state_regeneration_requests_total",
+            "Total number of finalized state regeneration requests",
+            "type");
+    newRequestCounter = labelledCounter.labels("new");
+    coalescedRequestCounter = labelledCounter.labels("coalesced");
+  }
+
+  /**
+   * Regenerates the latest finalized state at or before the specified slot.
+   *
+   * @return a future containing the state, or empty if no state is available to replay from
+   */
+  public SafeFuture<Optional<BeaconState>> regenerate(final UInt64 slot, final Priority priority) {
+    final SafeFuture<Optional<BeaconState>> result;
+    final List<RegenerationJob> jobsToStart;
+    synchronized (this) {
+      final Optional<RegenerationJob> existingJob = findJobIncluding(slot);
+      if (existingJob.isPresent()) {
+        coalescedRequestCounter.inc();
+        final RegenerationJob job = existingJob.get();
+        if (job.started) {
+          result = job.addRequest(slot);
+        } else {
+          // Re-add the job so the queue reflects its updated priority and first slot
+          queuedJobs.remove(job);
+          result = job.addRequest(slot);
+          if (priority.compareTo(job.priority) < 0) {
+            job.priority = priority;
+          }
+          queuedJobs.add(job);
+        }
+      } else {
+        newRequestCounter.inc();
+        final RegenerationJob job = new RegenerationJob(priority);
+        result = job.addRequest(slot);
+        queuedJobs.add(job);
+      }
+      jobsToStart = pollJobsToStart();
+    }
+    jobsToStart.forEach(this::startJob);
+    return result;
+  }
+
+  private synchronized int getQueuedJobCount() {
+    return queuedJobs.size();
+  }
+
+  private synchronized int getActiveJobCount() {
+    return activeJobs.size();
+  }
+
+  private Optional<RegenerationJob> findJobIncluding(final UInt64 slot) {
+    return Stream.concat(activeJobs.stream(), queuedJobs.stream())
+        .filter(job -> job.canInclude(slot))
+        .findFirst();
+  }
+
+  private List<RegenerationJob> pollJobsToStart() {
+    final List<RegenerationJob> jobsToStart = new ArrayList<>();
+    while (activeJobs.size() < maxConcurrentReplays && !queuedJobs.isEmpty()) {
+      final RegenerationJob job = queuedJobs.remove();
+      job.start();
+      activeJobs.add(job);
+      jobsToStart.add(job);
+    }
+    return jobsToStart;
+  }
+
+  private void startJob(final RegenerationJob job) {
+    asyncRunner
+        .runAsync(() -> runJob(job))
+        .whenException(error -> completeRemainingRequestsExceptionally(job, error))
+        .always(() -> onJobComplete(job));
+  }
+
+  private void onJobComplete(final RegenerationJob job) {
+    final List<RegenerationJob> jobsToStart;
+    synchronized (this) {
+      activeJobs.remove(job);
+      jobsToStart = pollJobsToStart();
+    }
+    jobsToStart.forEach(this::startJob);
+  }
+
+  private void runJob(final RegenerationJob job) {
+    while (true) {
+      final Optional<UInt64> firstSlot = getFirstRequestedSlot(job);
+      if (firstSlot.isEmpty()) {
+        return;
+      }
+      final Optional<BeaconState> baseState = findBaseState(firstSlot.get());
+      if (baseState.isPresent()) {
+        replayBlocks(job, baseState.get());
+        return;
+      }
+      // Nothing to replay from for the first slot but later slots may still be available
+      completeRequests(takeRequestsBefore(job, firstSlot.get().plus(ONE)), Optional.empty());
+    }
+  }
+
+  private Optional<BeaconState> findBaseState(final UInt64 slot) {
+    final Optional<BeaconState> stateFromDisk = database.getLatestAvailableFinalizedState(slot);
+    if (stateFromDisk.isEmpty()) {
+      return Optional.empty();
+    }
+    final UInt64 diskSlot = stateFromDisk.get().getSlot();
+    return cachedStateProvider
+        .apply(slot)
+        .filter(stateFromCache -> stateFromCache.getSlot().isGreaterThanOrEqualTo(diskSlot))
+        .or(() -> stateFromDisk);
+  }
+
+  private void replayBlocks(final RegenerationJob job, final BeaconState baseState) {
+    final UInt64 lastSlot = job.lastSlot;
+    BeaconState state = baseState;
+    if (baseState.getSlot().isLessThan(lastSlot)) {
+      try (final Stream<SignedBeaconBlock> blocks =
+          database.streamFinalizedBlocks(baseState.getSlot().plus(ONE), lastSlot)) {
+        state =
+            StreamingStateRegenerator.regenerate(
+                spec,
+                baseState,
+                blocks,
+                (preState, block) -> {
+                  completeRequests(takeRequestsBefore(job, block.getSlot()), Optional.of(preState));
+                  return hasRemainingRequests(job);
+                });
+      }
+    }
+    completeRequests(takeRequestsBefore(job, lastSlot.plus(ONE)), Optional.of(state));
+  }
+
+  private synchronized Optional<UInt64> getFirstRequestedSlot(final RegenerationJob job) {
+    return job.requests.isEmpty() ? Optional.empty() : Optional.of(job.requests.firstKey());
+  }
+
+  private synchronized boolean hasRemainingRequests(final RegenerationJob job) {
+    if (job.requests.isEmpty()) {
+      // Stop accepting new requests so the replay can finish early
+      job.closed = true;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Removes the requests for slots before the specified slot. The replay is about to move past
+   * these slots so new requests for them can no longer join the job.
+   */
+  private synchronized List<Map.Entry<UInt64, SafeFuture<Optional<BeaconState>>>>
+      takeRequestsBefore(final RegenerationJob job, final UInt64 slot) {
+    final NavigableMap<UInt64, SafeFuture<Optional<BeaconState>>> completedRequests =
+        job.requests.headMap(slot, false);
+    final List<Map.Entry<UInt64, SafeFuture<Optional<BeaconState>>>> result =
+        new ArrayList<>(completedRequests.entrySet());
+    completedRequests.clear();
+    job.minimumJoinSlot = job.minimumJoinSlot.max(slot);
+    return result;
+  }
+
+  private void completeRequests(
+      final List<Map.Entry<UInt64, SafeFuture<Optional<BeaconState>>>> requests,
+      final Optional<BeaconState> state) {
+    for (Map.Entry<UInt64, SafeFuture<Optional<BeaconState>>> request : requests) {
+      state.ifPresent(value -> regeneratedStateHandler.accept(request.getKey(), value));
+      request.getValue().complete(state);
+    }
+  }
+
+  private void completeRemainingRequestsExceptionally(
+      final RegenerationJob job, final Throwable error) {
+    final List<SafeFuture<Optional<BeaconState>>> remainingRequests;
+    synchronized (this) {
+      job.closed = true;
+      remainingRequests = new ArrayList<>(job.requests.values());
+      job.requests.clear();
+    }
+    remainingRequests.forEach(request -> request.completeExceptionally(error));
+  }
+
+  /** Guarded by the scheduler's lock. */
+  private class RegenerationJob {
+    private final NavigableMap<UInt64, SafeFuture<Optional<BeaconState>>> requests =
+        new TreeMap<>();
+    private Priority priority;
+    private boolean started = false;
+    private boolean closed = false;
+    private UInt64 minimumJoinSlot = UInt64.ZERO;
+    private UInt64 lastSlot = UInt64.ZERO;
+
+    private RegenerationJob(final Priority priority) {
+      this.priority = priority;
+    }
+
+    private SafeFuture<Optional<BeaconState>> addRequest(final UInt64 slot) {
+      return requests.computeIfAbsent(slot, __ -> new SafeFuture<>());
+    }
+
+    private boolean canInclude(final UInt64 slot) {
+      if (closed) {
+        return false;
+      }
+      if (started) {
+        // The replay only streams blocks up to the last slot requested before it started
+        return slot.isGreaterThanOrEqualTo(minimumJoinSlot) && slot.isLessThanOrEqualTo(lastSlot);
+      }
+      final UInt64 firstSlot = slot.min(requests.firstKey());
+      final UInt64 lastSlot = slot.max(requests.lastKey());
+      return lastSlot.minus(firstSlot).isLessThan(coalescingWindowSlots);
+    }
+
+    private void start() {
+      started = true;
+      minimumJoinSlot = requests.firstKey();
+      lastSlot = requests.lastKey();
+    }
+  }
+}
@@ -23,8 +23,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -95,7 +93,7 @@ class Store implements UpdatableStore {
   final CachingTaskQueue<Bytes32, StateAndBlockSummary> states;
   final Map<Bytes32, SignedBeaconBlock> blocks;
   final CachingTaskQueue<SlotAndBlockRoot, BeaconState> checkpointStates;
-  final Map<UInt64, VoteTracker> votes;
+  final VoteColumns votes;
   private ForkChoiceStrategy forkChoiceStrategy;
 
   private Store(
@@ -137,7 +135,7 @@ class Store implements UpdatableStore {
     this.justified_checkpoint = justified_checkpoint;
     this.best_justified_checkpoint = best_justified_checkpoint;
     this.blocks = blocks;
-    this.votes = new HashMap<>(votes);
+    this.votes = new VoteColumns(votes);
     this.blockMetadata = blockMetadata;
 
     // Track latest finalized block
@@ -514,7 +512,16 @@ class Store implements UpdatableStore {
   Set<UInt64> getVotedValidatorIndices() {
     readLock.lock();
     try {
-      return new HashSet<>(votes.keySet());
+      return votes.getVotedValidatorIndices();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  Set<UInt64> getValidatorIndicesWithChangedVotes() {
+    readLock.lock();
+    try {
+      return votes.getValidatorIndicesWithChangedVotes();
     } finally {
       readLock.unlock();
     }
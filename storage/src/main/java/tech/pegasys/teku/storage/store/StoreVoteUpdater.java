@@ -57,6 +57,11 @@ public class StoreVoteUpdater implements VoteUpdater {
     return Sets.union(votes.keySet(), store.getVotedValidatorIndices());
   }
 
+  @Override
+  public Set<UInt64> getValidatorIndicesWithChangedVotes() {
+    return Sets.union(votes.keySet(), store.getValidatorIndicesWithChangedVotes());
+  }
+
   @Override
   public void putVote(UInt64 validatorIndex, VoteTracker vote) {
     votes.put(validatorIndex, vote);
@@ -91,7 +96,12 @@ public class StoreVoteUpdater implements VoteUpdater {
   public void commit() {
     // Votes are applied to the store immediately since the changes to the in-memory ProtoArray
     // can't be rolled back.
-    store.votes.putAll(votes);
+    lock.writeLock().lock();
+    try {
+      store.votes.putAll(votes);
+    } finally {
+      lock.writeLock().unlock();
+    }
     voteUpdateChannel.onVotesUpdated(votes);
   }
 }
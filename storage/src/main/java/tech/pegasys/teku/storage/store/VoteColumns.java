@@ -0,0 +1,146 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.store;
+
+import static java.lang.Math.toIntExact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+
+/**
+ * Holds validator votes as columns indexed by validator index rather than as a map of {@link
+ * VoteTracker} instances. Vote roots are interned so each vote costs two ints and a long.
+ *
+ * <p>Validators whose current root differs from their next root are tracked separately, since those
+ * are the only votes fork choice needs to visit when balances haven't changed.
+ *
+ * <p>Not thread safe, callers are expected to hold the store lock.
+ */
+class VoteColumns {
+  private static final int MIN_ROOT_COMPACTION_THRESHOLD = 4096;
+
+  private final Map<Bytes32, Integer> rootIds = new HashMap<>();
+  private final List<Bytes32> roots = new ArrayList<>();
+  private int rootCompactionThreshold = MIN_ROOT_COMPACTION_THRESHOLD;
+
+  private int[] currentRootIds = new int[0];
+  private int[] nextRootIds = new int[0];
+  private long[] nextEpochs = new long[0];
+  private final BitSet votedValidators = new BitSet();
+  private final BitSet changedValidators = new BitSet();
+
+  VoteColumns(final Map<UInt64, VoteTracker> votes) {
+    putAll(votes);
+  }
+
+  /** Returns the vote for the validator or null if the validator has not voted. */
+  VoteTracker get(final UInt64 validatorIndex) {
+    final int index = toIntExact(validatorIndex.longValue());
+    if (!votedValidators.get(index)) {
+      return null;
+    }
+    return new VoteTracker(
+        roots.get(currentRootIds[index]),
+        roots.get(nextRootIds[index]),
+        UInt64.fromLongBits(nextEpochs[index]));
+  }
+
+  void put(final UInt64 validatorIndex, final VoteTracker vote) {
+    final int index = toIntExact(validatorIndex.longValue());
+    ensureCapacity(index + 1);
+    // Compact before allocating ids so they can't be invalidated part way through the update
+    if (roots.size() >= rootCompactionThreshold) {
+      compactRoots();
+    }
+    final int currentRootId = getOrCreateRootId(vote.getCurrentRoot());
+    final int nextRootId = getOrCreateRootId(vote.getNextRoot());
+    currentRootIds[index] = currentRootId;
+    nextRootIds[index] = nextRootId;
+    nextEpochs[index] = vote.getNextEpoch().longValue();
+    votedValidators.set(index);
+    changedValidators.set(index, currentRootId != nextRootId);
+  }
+
+  void putAll(final Map<UInt64, VoteTracker> votes) {
+    votes.forEach(this::put);
+  }
+
+  Set<UInt64> getVotedValidatorIndices() {
+    return toIndexSet(votedValidators);
+  }
+
+  /** Returns the indices of validators whose current and next vote roots differ. */
+  Set<UInt64> getValidatorIndicesWithChangedVotes() {
+    return toIndexSet(changedValidators);
+  }
+
+  private static Set<UInt64> toIndexSet(final BitSet validators) {
+    return validators.stream().mapToObj(UInt64::valueOf).collect(Collectors.toSet());
+  }
+
+  private void ensureCapacity(final int requiredCapacity) {
+    if (requiredCapacity <= currentRootIds.length) {
+      return;
+    }
+    final int newCapacity =
+        Math.max(requiredCapacity, currentRootIds.length + (currentRootIds.length >> 1));
+    currentRootIds = Arrays.copyOf(currentRootIds, newCapacity);
+    nextRootIds = Arrays.copyOf(nextRootIds, newCapacity);
+    nextEpochs = Arrays.copyOf(nextEpochs, newCapacity);
+  }
+
+  private int getOrCreateRootId(final Bytes32 root) {
+    final Integer existingId = rootIds.get(root);
+    return existingId != null ? existingId : addRoot(root);
+  }
+
+  private int addRoot(final Bytes32 root) {
+    final int id = roots.size();
+    roots.add(root);
+    rootIds.put(root, id);
+    return id;
+  }
+
+  /**
+   * Votes only ever reference recent blocks, so roots which are no longer referenced by any vote
+   * are dropped by rebuilding the root table from the remaining votes.
+   */
+  private void compactRoots() {
+    final List<Bytes32> oldRoots = new ArrayList<>(roots);
+    roots.clear();
+    rootIds.clear();
+    votedValidators.stream()
+        .forEach(
+            index -> {
+              currentRootIds[index] = remapRootId(oldRoots, currentRootIds[index]);
+              nextRootIds[index] = remapRootId(oldRoots, nextRootIds[index]);
+            });
+    rootCompactionThreshold = Math.max(MIN_ROOT_COMPACTION_THRESHOLD, roots.size() * 2);
+  }
+
+  private int remapRootId(final List<Bytes32> oldRoots, final int oldId) {
+    final Bytes32 root = oldRoots.get(oldId);
+    final Integer newId = rootIds.get(root);
+    return newId != null ? newId : addRoot(root);
+  }
+}
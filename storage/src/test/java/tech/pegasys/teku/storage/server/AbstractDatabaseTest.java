@@ -582,6 +582,11 @@ public abstract class AbstractDatabaseTest {
     testShouldRecordFinalizedBlocksAndStates(StateStorageMode.ARCHIVE, false);
   }
 
+  @Test
+  public void shouldRecordFinalizedBlocksAndStates_treeArchiveMode() {
+    testShouldRecordFinalizedBlocksAndStates(StateStorageMode.TREE_ARCHIVE, false);
+  }
+
   @Test
   public void testShouldRecordFinalizedBlocksAndStatesInBatchUpdate() {
     testShouldRecordFinalizedBlocksAndStates(StateStorageMode.ARCHIVE, true);
@@ -847,6 +852,29 @@ public abstract class AbstractDatabaseTest {
     assertThat(database.getVotes()).isEqualTo(expected);
   }
 
+  @Test
+  void shouldRetainLatestVotesWhenVoteBatchesAreMerged() {
+    final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+    createStorage(StateStorageMode.PRUNE);
+
+    final Map<UInt64, VoteTracker> expected = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      final Map<UInt64, VoteTracker> votes =
+          Map.of(
+              UInt64.valueOf(i % 7), dataStructureUtil.randomVoteTracker(),
+              UInt64.valueOf(100 + i), dataStructureUtil.randomVoteTracker());
+      database.storeVotes(votes);
+      expected.putAll(votes);
+      if (i % 30 == 0) {
+        restartStorage();
+      }
+    }
+
+    assertThat(database.getVotes()).isEqualTo(expected);
+    restartStorage();
+    assertThat(database.getVotes()).isEqualTo(expected);
+  }
+
   public void testStartupFromNonGenesisStateAndFinalizeNewCheckpoint(
       final StateStorageMode storageMode) {
     createStorage(storageMode);
@@ -974,6 +1002,7 @@ public abstract class AbstractDatabaseTest {
 
     switch (storageMode) {
       case ARCHIVE:
+      case TREE_ARCHIVE:
         // Finalized states should be available
         final Map<Bytes32, BeaconState> expectedStates =
             primaryChain
@@ -1015,6 +1044,9 @@ public abstract class AbstractDatabaseTest {
       assertThat(database.getFinalizedBlockAtSlot(block.getSlot()))
           .describedAs("Block at slot %s", block.getSlot())
           .contains(block);
+      assertThat(database.getFinalizedBlockSszAtSlot(block.getSlot()))
+          .describedAs("Block SSZ at slot %s", block.getSlot())
+          .contains(block.sszSerialize());
     }
   }
 
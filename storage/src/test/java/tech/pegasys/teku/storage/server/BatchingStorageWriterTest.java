@@ -0,0 +1,282 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.async.Waiter;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.BlockAndCheckpointEpochs;
+import tech.pegasys.teku.spec.datastructures.state.Checkpoint;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.storage.events.FinalizedChainData;
+import tech.pegasys.teku.storage.events.StorageUpdate;
+
+class BatchingStorageWriterTest {
+  private final DataStructureUtil dataStructureUtil =
+      new DataStructureUtil(TestSpecFactory.createMinimalPhase0());
+  private final Database database = mock(Database.class);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+
+  private final BatchingStorageWriter writer =
+      new BatchingStorageWriter(database, asyncRunner, Duration.ZERO, new NoOpMetricsSystem());
+
+  @Test
+  void update_shouldCompleteFutureOnlyAfterUpdateIsWritten() {
+    final StorageUpdate update = createHotUpdate();
+
+    final SafeFuture<Void> result = writer.update(update);
+    assertThat(result).isNotDone();
+    verifyNoInteractions(database);
+
+    asyncRunner.executeQueuedActions();
+    verify(database).update(update);
+    assertThat(result).isCompleted();
+  }
+
+  @Test
+  void update_shouldMergeHotUpdatesQueuedWhileWaitingToWrite() {
+    final StorageUpdate update1 = createHotUpdate();
+    final StorageUpdate update2 = createHotUpdate();
+    final StorageUpdate update3 = createHotUpdate();
+
+    final SafeFuture<Void> result1 = writer.update(update1);
+    final SafeFuture<Void> result2 = writer.update(update2);
+    final SafeFuture<Void> result3 = writer.update(update3);
+
+    asyncRunner.executeQueuedActions();
+
+    final ArgumentCaptor<StorageUpdate> updateCaptor = ArgumentCaptor.forClass(StorageUpdate.class);
+    verify(database).update(updateCaptor.capture());
+    final StorageUpdate mergedUpdate = updateCaptor.getValue();
+    assertThat(mergedUpdate.getHotBlocks())
+        .containsAllEntriesOf(update1.getHotBlocks())
+        .containsAllEntriesOf(update2.getHotBlocks())
+        .containsAllEntriesOf(update3.getHotBlocks())
+        .hasSize(3);
+    assertThat(mergedUpdate.getHotStates()).hasSize(3);
+    assertThat(result1).isCompleted();
+    assertThat(result2).isCompleted();
+    assertThat(result3).isCompleted();
+  }
+
+  @Test
+  void update_shouldNotMergeUpdatesThatFinalizeOrDeleteData() {
+    final StorageUpdate hotUpdate1 = createHotUpdate();
+    final StorageUpdate finalizingUpdate = createFinalizingUpdate();
+    final StorageUpdate hotUpdate2 = createHotUpdate();
+    final StorageUpdate deletingUpdate = createDeletingUpdate();
+
+    writer.update(hotUpdate1);
+    writer.update(finalizingUpdate);
+    writer.update(hotUpdate2);
+    writer.update(deletingUpdate);
+    asyncRunner.executeQueuedActions();
+
+    final InOrder inOrder = inOrder(database);
+    inOrder.verify(database).update(hotUpdate1);
+    inOrder.verify(database).update(finalizingUpdate);
+    inOrder.verify(database).update(hotUpdate2);
+    inOrder.verify(database).update(deletingUpdate);
+    inOrder.verifyNoMoreInteractions();
+  }
+
+  @Test
+  void write_shouldApplyWritesInOrderSubmitted() {
+    final StorageUpdate update1 = createHotUpdate();
+    final StorageUpdate update2 = createHotUpdate();
+    final Runnable otherWrite = mock(Runnable.class);
+
+    writer.update(update1);
+    final SafeFuture<Void> otherWriteResult = writer.write(otherWrite);
+    writer.update(update2);
+    asyncRunner.executeQueuedActions();
+
+    final InOrder inOrder = inOrder(database, otherWrite);
+    inOrder.verify(database).update(update1);
+    inOrder.verify(otherWrite).run();
+    inOrder.verify(database).update(update2);
+    assertThat(otherWriteResult).isCompleted();
+  }
+
+  @Test
+  void update_shouldFailAllUpdatesInBatchWhenWriteFails() {
+    final RuntimeException error = new RuntimeException("Nope");
+    doThrow(error).when(database).update(any());
+
+    final SafeFuture<Void> result1 = writer.update(createHotUpdate());
+    final SafeFuture<Void> result2 = writer.update(createHotUpdate());
+    asyncRunner.executeQueuedActions();
+
+    assertThatSafeFuture(result1).isCompletedExceptionallyWith(error);
+    assertThatSafeFuture(result2).isCompletedExceptionallyWith(error);
+
+    // Later writes are still processed
+    final Runnable laterWrite = mock(Runnable.class);
+    final SafeFuture<Void> laterResult = writer.write(laterWrite);
+    asyncRunner.executeQueuedActions();
+    verify(laterWrite).run();
+    assertThat(laterResult).isCompleted();
+  }
+
+  @Test
+  void update_shouldWaitForBatchDelayBeforeWriting() {
+    final BatchingStorageWriter writer =
+        new BatchingStorageWriter(
+            database, asyncRunner, Duration.ofMillis(50), new NoOpMetricsSystem());
+
+    writer.update(createHotUpdate());
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+    writer.update(createHotUpdate());
+    // Only one write task is scheduled at a time
+    assertThat(asyncRunner.countDelayedActions()).isEqualTo(1);
+
+    asyncRunner.executeQueuedActions();
+    verify(database).update(any());
+  }
+
+  @Test
+  void write_shouldBlockWhileQueueIsFull() throws Exception {
+    for (int i = 0; i < BatchingStorageWriter.MAX_PENDING_WRITES; i++) {
+      writer.write(() -> {});
+    }
+    final Runnable blockedWrite = mock(Runnable.class);
+    final AtomicReference<SafeFuture<Void>> blockedResult = new AtomicReference<>();
+    final Thread submitter = new Thread(() -> blockedResult.set(writer.write(blockedWrite)));
+    submitter.start();
+
+    Waiter.waitFor(() -> assertThat(submitter.getState()).isEqualTo(Thread.State.WAITING));
+    assertThat(blockedResult).hasValue(null);
+
+    asyncRunner.executeQueuedActions();
+    submitter.join(5000);
+    assertThat(blockedResult.get()).isNotNull();
+
+    asyncRunner.executeQueuedActions();
+    verify(blockedWrite).run();
+    assertThat(blockedResult.get()).isCompleted();
+  }
+
+  @Test
+  void mergeUpdates_shouldUseLatestValues() {
+    final Checkpoint justified1 = dataStructureUtil.randomCheckpoint();
+    final Checkpoint justified2 = dataStructureUtil.randomCheckpoint();
+    final Checkpoint bestJustified = dataStructureUtil.randomCheckpoint();
+    final Bytes32 blockRoot = dataStructureUtil.randomBytes32();
+    final BlockAndCheckpointEpochs block1 = mock(BlockAndCheckpointEpochs.class);
+    final BlockAndCheckpointEpochs block2 = mock(BlockAndCheckpointEpochs.class);
+
+    final StorageUpdate mergedUpdate =
+        BatchingStorageWriter.mergeUpdates(
+            List.of(
+                new StorageUpdate(
+                    Optional.of(UInt64.ONE),
+                    Optional.empty(),
+                    Optional.of(justified1),
+                    Optional.of(bestJustified),
+                    Map.of(blockRoot, block1),
+                    Collections.emptyMap(),
+                    Collections.emptySet(),
+                    Collections.emptyMap()),
+                new StorageUpdate(
+                    Optional.empty(),
+                    Optional.empty(),
+                    Optional.of(justified2),
+                    Optional.empty(),
+                    Map.of(blockRoot, block2),
+                    Collections.emptyMap(),
+                    Collections.emptySet(),
+                    Collections.emptyMap())));
+
+    assertThat(mergedUpdate.getGenesisTime()).contains(UInt64.ONE);
+    assertThat(mergedUpdate.getJustifiedCheckpoint()).contains(justified2);
+    assertThat(mergedUpdate.getBestJustifiedCheckpoint()).contains(bestJustified);
+    assertThat(mergedUpdate.getHotBlocks()).containsExactly(Map.entry(blockRoot, block2));
+    assertThat(mergedUpdate.getFinalizedCheckpoint()).isEmpty();
+  }
+
+  @Test
+  void mergeUpdates_shouldRejectUpdatesThatDeleteData() {
+    assertThatThrownBy(
+            () ->
+                BatchingStorageWriter.mergeUpdates(
+                    List.of(createHotUpdate(), createDeletingUpdate())))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private StorageUpdate createHotUpdate() {
+    final Bytes32 blockRoot = dataStructureUtil.randomBytes32();
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Map.of(blockRoot, mock(BlockAndCheckpointEpochs.class)),
+        Map.of(blockRoot, mock(BeaconState.class)),
+        Collections.emptySet(),
+        Collections.emptyMap());
+  }
+
+  private StorageUpdate createFinalizingUpdate() {
+    final FinalizedChainData finalizedChainData = mock(FinalizedChainData.class);
+    when(finalizedChainData.getFinalizedCheckpoint())
+        .thenReturn(dataStructureUtil.randomCheckpoint());
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.of(finalizedChainData),
+        Optional.empty(),
+        Optional.empty(),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Collections.emptySet(),
+        Collections.emptyMap());
+  }
+
+  private StorageUpdate createDeletingUpdate() {
+    return new StorageUpdate(
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        Collections.emptyMap(),
+        Collections.emptyMap(),
+        Set.of(dataStructureUtil.randomBytes32()),
+        Collections.emptyMap());
+  }
+}
@@ -24,7 +24,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -240,6 +242,23 @@ public abstract class AbstractKvStoreDatabaseTest extends AbstractStorageBackedD
     }
   }
 
+  @Test
+  public void shouldStoreValidatorPublicKeysFromLatestFinalizedState() {
+    createStorage(StateStorageMode.PRUNE);
+    initGenesis();
+
+    final BeaconState genesisState = genesisBlockAndState.getState();
+    final Bytes expected =
+        Bytes.concatenate(
+            IntStream.range(0, genesisState.getValidators().size())
+                .mapToObj(i -> genesisState.getValidators().get(i).getPubkeyBytes())
+                .toArray(Bytes[]::new));
+    try (final Stream<Bytes> chunks =
+        ((KvStoreDatabase) database).hotDao.streamValidatorPublicKeys()) {
+      assertThat(Bytes.concatenate(chunks.toArray(Bytes[]::new))).isEqualTo(expected);
+    }
+  }
+
   @Test
   public void shouldPruneHotBlocksOlderThanFinalizedSlotAfterRestart__archive(
       @TempDir final Path tempDir) {
@@ -296,6 +315,7 @@ public abstract class AbstractKvStoreDatabaseTest extends AbstractStorageBackedD
 
     switch (storageMode) {
       case ARCHIVE:
+      case TREE_ARCHIVE:
         assertFinalizedStatesAvailable(historicalStates);
         break;
       case PRUNE:
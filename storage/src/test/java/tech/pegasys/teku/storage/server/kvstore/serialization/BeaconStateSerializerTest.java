@@ -34,4 +34,13 @@ public class BeaconStateSerializerTest {
     final BeaconState deserialized = stateSerializer.deserialize(bytes);
     assertThat(deserialized).isEqualTo(value);
   }
+
+  @Test
+  public void deserialize_shouldReadSingleValidator() {
+    final BeaconState value = dataStructureUtil.randomBeaconState(11);
+    final BeaconState deserialized = stateSerializer.deserialize(stateSerializer.serialize(value));
+    assertThat(deserialized.getValidators().get(7)).isEqualTo(value.getValidators().get(7));
+    assertThat(deserialized.getBalances().getElement(7))
+        .isEqualTo(value.getBalances().getElement(7));
+  }
 }
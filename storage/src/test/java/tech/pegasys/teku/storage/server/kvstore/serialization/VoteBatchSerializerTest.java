@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.kvstore.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.forkchoice.VoteTracker;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+
+public class VoteBatchSerializerTest {
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil();
+  private final VoteBatchSerializer serializer = new VoteBatchSerializer();
+
+  @Test
+  public void roundTrip() {
+    final VoteTracker vote = dataStructureUtil.randomVoteTracker();
+    final Map<UInt64, VoteTracker> votes =
+        Map.of(
+            UInt64.ZERO,
+            vote,
+            UInt64.valueOf(5),
+            new VoteTracker(vote.getNextRoot(), vote.getNextRoot(), vote.getNextEpoch()),
+            UInt64.MAX_VALUE,
+            dataStructureUtil.randomVoteTracker());
+
+    assertThat(serializer.deserialize(serializer.serialize(votes))).isEqualTo(votes);
+  }
+
+  @Test
+  public void roundTrip_empty() {
+    assertThat(serializer.deserialize(serializer.serialize(Map.of()))).isEmpty();
+  }
+}
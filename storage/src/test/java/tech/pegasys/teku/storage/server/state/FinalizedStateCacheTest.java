@@ -13,13 +13,14 @@
 
 package tech.pegasys.teku.storage.server.state;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+import static tech.pegasys.teku.infrastructure.async.SyncAsyncRunner.SYNC_RUNNER;
 import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
 
 import java.util.List;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.bls.BLSKeyGenerator;
 import tech.pegasys.teku.bls.BLSKeyPair;
 import tech.pegasys.teku.core.ChainBuilder;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
@@ -44,7 +46,8 @@ class FinalizedStateCacheTest {
   private final Database database = mock(Database.class);
   // We don't use soft references in unit tests to avoid intermittency
   private final FinalizedStateCache cache =
-      new FinalizedStateCache(spec, database, MAXIMUM_CACHE_SIZE, false);
+      new FinalizedStateCache(
+          spec, database, SYNC_RUNNER, new StubMetricsSystem(), MAXIMUM_CACHE_SIZE, false, 1);
 
   @BeforeEach
   public void setUp() {
@@ -56,10 +59,11 @@ class FinalizedStateCacheTest {
     final BeaconState state = chainBuilder.generateBlockAtSlot(ONE).getState();
     when(database.getLatestAvailableFinalizedState(state.getSlot())).thenReturn(Optional.of(state));
 
-    final Optional<BeaconState> initialResult = cache.getFinalizedState(state.getSlot());
-    assertThat(initialResult).contains(state);
+    assertThatSafeFuture(cache.getFinalizedState(state.getSlot()))
+        .isCompletedWithOptionalContaining(state);
 
-    assertThat(cache.getFinalizedState(state.getSlot())).contains(state);
+    assertThatSafeFuture(cache.getFinalizedState(state.getSlot()))
+        .isCompletedWithOptionalContaining(state);
     verify(database, times(1)).getLatestAvailableFinalizedState(state.getSlot());
     verifyNoMoreInteractions(database);
   }
@@ -77,13 +81,13 @@ class FinalizedStateCacheTest {
     allowStreamingBlocks();
 
     // Should regenerate the same state
-    assertThat(cache.getFinalizedState(cachedSlot))
-        .contains(chainBuilder.getStateAtSlot(cachedSlot));
+    assertThatSafeFuture(cache.getFinalizedState(cachedSlot))
+        .isCompletedWithOptionalContaining(chainBuilder.getStateAtSlot(cachedSlot));
     verify(database).streamFinalizedBlocks(databaseSlot.plus(ONE), cachedSlot);
 
     // Should only need the blocks from the cached state forward
-    assertThat(cache.getFinalizedState(requestedSlot))
-        .contains(chainBuilder.getStateAtSlot(requestedSlot));
+    assertThatSafeFuture(cache.getFinalizedState(requestedSlot))
+        .isCompletedWithOptionalContaining(chainBuilder.getStateAtSlot(requestedSlot));
     verify(database).streamFinalizedBlocks(cachedSlot.plus(ONE), requestedSlot);
   }
 
@@ -109,7 +113,7 @@ class FinalizedStateCacheTest {
   void shouldReturnEmptyWhenStateIsNotAvailable() {
     when(database.getLatestAvailableFinalizedState(any())).thenReturn(Optional.empty());
 
-    assertThat(cache.getFinalizedState(ONE)).isEmpty();
+    assertThatSafeFuture(cache.getFinalizedState(ONE)).isCompletedWithEmptyOptional();
   }
 
   private void allowStreamingBlocks() {
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.storage.server.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SafeFutureAssert.assertThatSafeFuture;
+import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.storage.server.Database;
+import tech.pegasys.teku.storage.server.state.StateRegenerationScheduler.Priority;
+
+class StateRegenerationSchedulerTest {
+  private static final int COALESCING_WINDOW_SLOTS = 4;
+  private static final int CHAIN_LENGTH = 20;
+  private final Spec spec = mock(Spec.class);
+  private final Database database = mock(Database.class);
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final Map<UInt64, BeaconState> regeneratedStates = new HashMap<>();
+  private final List<BeaconState> states = new ArrayList<>();
+  private final List<SignedBeaconBlock> blocks = new ArrayList<>();
+
+  private final StateRegenerationScheduler scheduler =
+      new StateRegenerationScheduler(
+          spec,
+          database,
+          asyncRunner,
+          metricsSystem,
+          slot -> Optional.empty(),
+          regeneratedStates::put,
+          1,
+          COALESCING_WINDOW_SLOTS);
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    for (int i = 0; i <= CHAIN_LENGTH; i++) {
+      final UInt64 slot = UInt64.valueOf(i);
+      final BeaconState state = mock(BeaconState.class);
+      when(state.getSlot()).thenReturn(slot);
+      states.add(state);
+      final SignedBeaconBlock block = mock(SignedBeaconBlock.class);
+      when(block.getSlot()).thenReturn(slot);
+      blocks.add(block);
+    }
+    when(spec.replayValidatedBlock(any(), any()))
+        .thenAnswer(
+            invocation -> getStateAtSlot(invocation.<SignedBeaconBlock>getArgument(1).getSlot()));
+    when(database.getLatestAvailableFinalizedState(any())).thenReturn(Optional.of(states.get(0)));
+    when(database.streamFinalizedBlocks(any(), any()))
+        .thenAnswer(
+            invocation ->
+                blocks.stream()
+                    .filter(
+                        block ->
+                            block
+                                    .getSlot()
+                                    .isGreaterThanOrEqualTo(invocation.<UInt64>getArgument(0))
+                                && block.getSlot().isLessThanOrEqualTo(invocation.getArgument(1))));
+  }
+
+  @Test
+  void shouldServeCoalescedRequestsFromSingleReplay() {
+    final SafeFuture<Optional<BeaconState>> result3 = regenerate(3, Priority.INTERACTIVE);
+    final SafeFuture<Optional<BeaconState>> result1 = regenerate(1, Priority.INTERACTIVE);
+    final SafeFuture<Optional<BeaconState>> result2 = regenerate(2, Priority.BULK);
+
+    // First request started immediately so only the later two are coalesced
+    asyncRunner.executeQueuedActions();
+    assertThatSafeFuture(result3).isCompletedWithOptionalContaining(getStateAtSlot(3));
+    assertThat(result1).isNotDone();
+
+    asyncRunner.executeQueuedActions();
+    assertThatSafeFuture(result1).isCompletedWithOptionalContaining(getStateAtSlot(1));
+    assertThatSafeFuture(result2).isCompletedWithOptionalContaining(getStateAtSlot(2));
+    verify(database).streamFinalizedBlocks(ONE, UInt64.valueOf(2));
+
+    assertThat(regeneratedStates).containsOnlyKeys(ONE, UInt64.valueOf(2), UInt64.valueOf(3));
+    assertThat(getRequestCount("new")).isEqualTo(2);
+    assertThat(getRequestCount("coalesced")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCoalesceRequestsOutsideWindow() {
+    regenerate(1, Priority.INTERACTIVE);
+    regenerate(5, Priority.INTERACTIVE);
+    regenerate(5 + COALESCING_WINDOW_SLOTS, Priority.INTERACTIVE);
+
+    assertThat(getGaugeValue("finalized_state_regeneration_jobs_queued")).isEqualTo(2);
+    assertThat(getGaugeValue("finalized_state_regeneration_jobs_active")).isEqualTo(1);
+    assertThat(getRequestCount("new")).isEqualTo(3);
+  }
+
+  @Test
+  void shouldStartInteractiveJobsBeforeBulkJobs() {
+    final SafeFuture<Optional<BeaconState>> first = regenerate(1, Priority.BULK);
+    final SafeFuture<Optional<BeaconState>> bulk = regenerate(5, Priority.BULK);
+    final SafeFuture<Optional<BeaconState>> interactive = regenerate(15, Priority.INTERACTIVE);
+
+    asyncRunner.executeQueuedActions();
+    assertThat(first).isDone();
+    asyncRunner.executeQueuedActions();
+    assertThat(interactive).isDone();
+    assertThat(bulk).isNotDone();
+    asyncRunner.executeQueuedActions();
+    assertThat(bulk).isDone();
+
+    final InOrder inOrder = inOrder(database);
+    inOrder.verify(database).streamFinalizedBlocks(ONE, ONE);
+    inOrder.verify(database).streamFinalizedBlocks(ONE, UInt64.valueOf(15));
+    inOrder.verify(database).streamFinalizedBlocks(ONE, UInt64.valueOf(5));
+  }
+
+  @Test
+  void shouldRaisePriorityOfQueuedJobWhenInteractiveRequestJoins() {
+    regenerate(1, Priority.BULK);
+    final SafeFuture<Optional<BeaconState>> bulk = regenerate(10, Priority.BULK);
+    final SafeFuture<Optional<BeaconState>> later = regenerate(5, Priority.BULK);
+    final SafeFuture<Optional<BeaconState>> joined = regenerate(11, Priority.INTERACTIVE);
+
+    asyncRunner.executeQueuedActions();
+    asyncRunner.executeQueuedActions();
+    assertThat(bulk).isDone();
+    assertThat(joined).isDone();
+    assertThat(later).isNotDone();
+  }
+
+  @Test
+  void shouldReturnEmptyWhenNoStateIsAvailable() {
+    when(database.getLatestAvailableFinalizedState(any())).thenReturn(Optional.empty());
+
+    final SafeFuture<Optional<BeaconState>> result = regenerate(3, Priority.INTERACTIVE);
+    asyncRunner.executeQueuedActions();
+
+    assertThatSafeFuture(result).isCompletedWithEmptyOptional();
+    assertThat(regeneratedStates).isEmpty();
+  }
+
+  @Test
+  void shouldFailRequestsWhenReplayFails() {
+    final RuntimeException error = new RuntimeException("Nope");
+    when(database.streamFinalizedBlocks(any(), any())).thenThrow(error);
+
+    final SafeFuture<Optional<BeaconState>> result = regenerate(3, Priority.INTERACTIVE);
+    asyncRunner.executeQueuedActions();
+
+    assertThatSafeFuture(result).isCompletedExceptionallyWith(error);
+    assertThat(getGaugeValue("finalized_state_regeneration_jobs_active")).isZero();
+  }
+
+  private BeaconState getStateAtSlot(final long slot) {
+    return getStateAtSlot(UInt64.valueOf(slot));
+  }
+
+  private BeaconState getStateAtSlot(final UInt64 slot) {
+    return states.get(slot.intValue());
+  }
+
+  private SafeFuture<Optional<BeaconState>> regenerate(final int slot, final Priority priority) {
+    return scheduler.regenerate(UInt64.valueOf(slot), priority);
+  }
+
+  private long getRequestCount(final String type) {
+    return metricsSystem
+        .getCounter(TekuMetricCategory.STORAGE, "finalized_state_regeneration_requests_total")
+        .getValue(type);
+  }
+
+  private double getGaugeValue(final String name) {
+    return metricsSystem.getGauge(TekuMetricCategory.STORAGE, name).getValue();
+  }
+}
@@ -68,6 +68,25 @@ class StoreVoteUpdaterTest extends AbstractStoreTest {
         .containsExactlyInAnyOrder(UInt64.ZERO, UInt64.ONE, UInt64.valueOf(2));
   }
 
+  @Test
+  void shouldOnlyIncludeVotesWithDifferentCurrentAndNextRootsInChangedVotes() {
+    final VoteTracker movedVote = dataStructureUtil.randomVoteTracker();
+    final VoteTracker settledVote =
+        new VoteTracker(movedVote.getNextRoot(), movedVote.getNextRoot(), movedVote.getNextEpoch());
+    setVote(UInt64.ZERO, movedVote);
+    setVote(UInt64.ONE, settledVote);
+
+    final VoteUpdater voteUpdater = store.startVoteUpdate(voteUpdateChannel);
+    voteUpdater.putVote(UInt64.valueOf(2), dataStructureUtil.randomVoteTracker());
+
+    assertThat(voteUpdater.getValidatorIndicesWithChangedVotes())
+        .containsExactlyInAnyOrder(UInt64.ZERO, UInt64.valueOf(2));
+
+    setVote(UInt64.ZERO, settledVote);
+    assertThat(store.startVoteUpdate(voteUpdateChannel).getValidatorIndicesWithChangedVotes())
+        .isEmpty();
+  }
+
   private void setVote(final UInt64 validatorIndex, final VoteTracker vote) {
     final VoteUpdater voteUpdater = store.startVoteUpdate(voteUpdateChannel);
     voteUpdater.putVote(validatorIndex, vote);
@@ -93,6 +93,13 @@ public class MockKvStoreInstance implements KvStoreAccessor {
     return columnValue(column, valueBytes);
   }
 
+  @Override
+  public <K, V> Optional<Bytes> getRaw(final KvStoreColumn<K, V> column, final K key) {
+    assertOpen();
+    assertValidColumn(column);
+    return Optional.ofNullable(columnData.get(column).get(keyToBytes(column, key)));
+  }
+
   @Override
   public <K, V> Map<K, V> getAll(final KvStoreColumn<K, V> column) {
     assertOpen();
@@ -81,7 +81,8 @@ public class StorageSystem implements AutoCloseable {
     final StubMetricsSystem metricsSystem = new StubMetricsSystem();
 
     // Create and start storage server
-    final ChainStorage chainStorageServer = ChainStorage.create(database, spec);
+    final ChainStorage chainStorageServer =
+        ChainStorage.create(database, spec, SYNC_RUNNER, metricsSystem);
 
     // Create recent chain data
     final FinalizedCheckpointChannel finalizedCheckpointChannel =
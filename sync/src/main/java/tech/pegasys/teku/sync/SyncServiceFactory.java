@@ -137,7 +137,8 @@ public class SyncServiceFactory {
         asyncRunner,
         p2pNetwork,
         combinedChainDataClient,
-        syncStateProvider);
+        syncStateProvider,
+        timeProvider);
   }
 
   private SyncStateTracker createSyncStateTracker(final ForwardSync forwardSync) {
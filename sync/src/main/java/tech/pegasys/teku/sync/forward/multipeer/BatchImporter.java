@@ -43,6 +43,10 @@ public class BatchImporter {
   /**
    * Import the blocks in the specified batch.
    *
+   * <p>The batch is first imported as a whole, verifying the signatures of every block in a single
+   * batch. If that isn't possible, e.g. because one of the signatures is invalid, blocks are
+   * imported one at a time so the valid blocks before the failing one are still imported.
+   *
    * <p>Guaranteed to return immediately and perform the import on worker threads.
    *
    * @param batch the batch to import
@@ -55,34 +59,47 @@ public class BatchImporter {
 
     checkState(!blocks.isEmpty(), "Batch has no blocks to import");
     return asyncRunner.runAsync(
-        () -> {
-          SafeFuture<BlockImportResult> importResult =
-              importBlock(blocks.get(0), source.orElseThrow());
-          for (int i = 1; i < blocks.size(); i++) {
-            final SignedBeaconBlock block = blocks.get(i);
-            importResult =
-                importResult.thenCompose(
-                    previousResult -> {
-                      if (previousResult.isSuccessful()) {
-                        return importBlock(block, source.orElseThrow());
-                      } else {
-                        return SafeFuture.completedFuture(previousResult);
+        () ->
+            blockImporter
+                .importBlocksBatch(blocks)
+                .thenCompose(
+                    maybeBatchResults -> {
+                      if (maybeBatchResults.isPresent()) {
+                        final List<BlockImportResult> results = maybeBatchResults.get();
+                        return SafeFuture.completedFuture(results.get(results.size() - 1));
+                      }
+                      return importBlocksIndividually(blocks, source.orElseThrow());
+                    })
+                .thenApply(
+                    lastBlockImportResult -> {
+                      if (lastBlockImportResult.isSuccessful()) {
+                        return BatchImportResult.IMPORTED_ALL_BLOCKS;
                       }
-                    });
-          }
-          return importResult.thenApply(
-              lastBlockImportResult -> {
-                if (lastBlockImportResult.isSuccessful()) {
-                  return BatchImportResult.IMPORTED_ALL_BLOCKS;
+                      LOG.debug(
+                          "Failed to import batch {}: {}",
+                          batch,
+                          lastBlockImportResult.getFailureReason(),
+                          lastBlockImportResult.getFailureCause().orElse(null));
+                      return BatchImportResult.IMPORT_FAILED;
+                    }));
+  }
+
+  private SafeFuture<BlockImportResult> importBlocksIndividually(
+      final List<SignedBeaconBlock> blocks, final SyncSource source) {
+    SafeFuture<BlockImportResult> importResult = importBlock(blocks.get(0), source);
+    for (int i = 1; i < blocks.size(); i++) {
+      final SignedBeaconBlock block = blocks.get(i);
+      importResult =
+          importResult.thenCompose(
+              previousResult -> {
+                if (previousResult.isSuccessful()) {
+                  return importBlock(block, source);
+                } else {
+                  return SafeFuture.completedFuture(previousResult);
                 }
-                LOG.debug(
-                    "Failed to import batch {}: {}",
-                    batch,
-                    lastBlockImportResult.getFailureReason(),
-                    lastBlockImportResult.getFailureCause().orElse(null));
-                return BatchImportResult.IMPORT_FAILED;
               });
-        });
+    }
+    return importResult;
   }
 
   private SafeFuture<BlockImportResult> importBlock(
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.sync.historical;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.networking.p2p.peer.NodeId;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+
+/**
+ * Splits the missing historical slots into batches that can be fetched concurrently and assembles
+ * the fetched batches into a single chain, working from the newest block back to genesis.
+ *
+ * <p>A fetched batch is accepted once all newer batches have been accepted and its newest block is
+ * the parent of the oldest block accepted so far. A batch without blocks can't be checked, since
+ * its slots may simply be empty, so it is accepted provisionally. If the next batch with blocks
+ * then doesn't link up, the provisionally accepted batches are fetched again along with it.
+ *
+ * <p>Only a batch whose newest block was checked directly against the expected root identifies a
+ * peer on a different chain. When provisional batches came before it, any of them may have withheld
+ * blocks instead, so no peer is blamed.
+ */
+class HistoricalBatchAssembler {
+  private final UInt64 maxSlotsAhead;
+
+  private final NavigableSet<Batch> batchesToRefetch =
+      new TreeSet<>(Comparator.comparing(Batch::getEndSlot).reversed());
+  private final NavigableMap<UInt64, FetchedBatch> fetchedBatches = new TreeMap<>();
+  private final List<FetchedBatch> provisionalBatches = new ArrayList<>();
+
+  private Optional<UInt64> nextSlotToAssign;
+  private Optional<UInt64> nextSlotToAssemble;
+  private Bytes32 expectedBlockRoot;
+
+  /**
+   * @param maxSlot The newest slot that is missing
+   * @param expectedBlockRoot The root of the newest missing block
+   * @param maxSlotsAhead The maximum number of slots batches may be assigned ahead of the last
+   *     assembled batch
+   */
+  HistoricalBatchAssembler(
+      final UInt64 maxSlot, final Bytes32 expectedBlockRoot, final UInt64 maxSlotsAhead) {
+    this.nextSlotToAssign = Optional.of(maxSlot);
+    this.nextSlotToAssemble = Optional.of(maxSlot);
+    this.expectedBlockRoot = expectedBlockRoot;
+    this.maxSlotsAhead = maxSlotsAhead;
+  }
+
+  /**
+   * Select the next batch to fetch. Batches that need to be fetched again take precedence over new
+   * batches, which are assigned from the newest slots downwards.
+   *
+   * @param batchSize The number of slots to include in a new batch
+   * @return The batch to fetch or empty if there is nothing to fetch right now
+   */
+  synchronized Optional<Batch> assignBatch(final UInt64 batchSize) {
+    if (!batchesToRefetch.isEmpty()) {
+      return Optional.of(batchesToRefetch.pollFirst());
+    }
+    if (nextSlotToAssign.isEmpty() || nextSlotToAssemble.isEmpty()) {
+      return Optional.empty();
+    }
+    final UInt64 endSlot = nextSlotToAssign.get();
+    if (nextSlotToAssemble.get().minus(endSlot).isGreaterThanOrEqualTo(maxSlotsAhead)) {
+      // Wait for older batches to be assembled before fetching further ahead
+      return Optional.empty();
+    }
+    final UInt64 startSlot = endSlot.plus(1).safeMinus(batchSize).orElse(UInt64.ZERO);
+    nextSlotToAssign = previousSlot(startSlot);
+    return Optional.of(new Batch(startSlot, endSlot));
+  }
+
+  /**
+   * Get the root of the newest block the batch must contain, if that is already known.
+   *
+   * @param batch The batch to be fetched
+   * @return The expected root if all newer batches have been assembled
+   */
+  synchronized Optional<Bytes32> getExpectedBlockRoot(final Batch batch) {
+    return nextSlotToAssemble
+        .filter(slot -> slot.equals(batch.getEndSlot()))
+        .map(__ -> expectedBlockRoot);
+  }
+
+  /** Return a batch that could not be fetched so it will be assigned again. */
+  synchronized void onBatchFailed(final Batch batch) {
+    batchesToRefetch.add(batch);
+  }
+
+  /**
+   * Add a fetched batch and assemble as many batches as possible.
+   *
+   * @param batch The batch that was fetched
+   * @param blocks The blocks in the batch, ordered by slot
+   * @param source The peer the batch was fetched from
+   * @return The newly accepted blocks, the batches that were rejected and the peer that provided
+   *     blocks from a different chain, if known
+   */
+  synchronized AssemblyResult onBatchFetched(
+      final Batch batch, final List<SignedBeaconBlock> blocks, final NodeId source) {
+    fetchedBatches.put(batch.getEndSlot(), new FetchedBatch(batch, blocks, source));
+
+    final List<SignedBeaconBlock> acceptedBlocks = new ArrayList<>();
+    final List<FetchedBatch> rejectedBatches = new ArrayList<>();
+    Optional<NodeId> chainBreakingSource = Optional.empty();
+    while (nextSlotToAssemble.isPresent()) {
+      final FetchedBatch fetchedBatch = fetchedBatches.remove(nextSlotToAssemble.get());
+      if (fetchedBatch == null) {
+        break;
+      }
+
+      if (fetchedBatch.getBlocks().isEmpty()) {
+        provisionalBatches.add(fetchedBatch);
+      } else if (fetchedBatch.getNewestBlock().getRoot().equals(expectedBlockRoot)) {
+        provisionalBatches.clear();
+        acceptedBlocks.addAll(0, fetchedBatch.getBlocks());
+        expectedBlockRoot = fetchedBatch.getBlocks().get(0).getParentRoot();
+      } else {
+        if (provisionalBatches.isEmpty()) {
+          chainBreakingSource = Optional.of(fetchedBatch.getSource());
+        }
+        rejectedBatches.addAll(provisionalBatches);
+        rejectedBatches.add(fetchedBatch);
+        break;
+      }
+      nextSlotToAssemble = previousSlot(fetchedBatch.getBatch().getStartSlot());
+    }
+
+    if (nextSlotToAssemble.isEmpty() && !provisionalBatches.isEmpty()) {
+      // The genesis block must exist so the empty batches can't all be right
+      rejectedBatches.addAll(provisionalBatches);
+    }
+    if (!rejectedBatches.isEmpty()) {
+      provisionalBatches.clear();
+      rejectedBatches.forEach(rejected -> batchesToRefetch.add(rejected.getBatch()));
+      nextSlotToAssemble = Optional.of(rejectedBatches.get(0).getBatch().getEndSlot());
+    }
+    return new AssemblyResult(acceptedBlocks, rejectedBatches, chainBreakingSource);
+  }
+
+  /** @return true when all batches back to genesis have been assembled */
+  synchronized boolean isComplete() {
+    return nextSlotToAssemble.isEmpty();
+  }
+
+  private static Optional<UInt64> previousSlot(final UInt64 slot) {
+    return slot.isGreaterThan(UInt64.ZERO) ? Optional.of(slot.minus(1)) : Optional.empty();
+  }
+
+  static class Batch {
+    private final UInt64 startSlot;
+    private final UInt64 endSlot;
+
+    Batch(final UInt64 startSlot, final UInt64 endSlot) {
+      this.startSlot = startSlot;
+      this.endSlot = endSlot;
+    }
+
+    public UInt64 getStartSlot() {
+      return startSlot;
+    }
+
+    public UInt64 getEndSlot() {
+      return endSlot;
+    }
+
+    public UInt64 getSlotCount() {
+      return endSlot.plus(1).minus(startSlot);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final Batch batch = (Batch) o;
+      return Objects.equals(startSlot, batch.startSlot) && Objects.equals(endSlot, batch.endSlot);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(startSlot, endSlot);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("startSlot", startSlot)
+          .add("endSlot", endSlot)
+          .toString();
+    }
+  }
+
+  static class AssemblyResult {
+    private final List<SignedBeaconBlock> acceptedBlocks;
+    private final List<FetchedBatch> rejectedBatches;
+    private final Optional<NodeId> chainBreakingSource;
+
+    private AssemblyResult(
+        final List<SignedBeaconBlock> acceptedBlocks,
+        final List<FetchedBatch> rejectedBatches,
+        final Optional<NodeId> chainBreakingSource) {
+      this.acceptedBlocks = acceptedBlocks;
+      this.rejectedBatches = rejectedBatches;
+      this.chainBreakingSource = chainBreakingSource;
+    }
+
+    /** @return The accepted blocks, ordered by slot */
+    public List<SignedBeaconBlock> getAcceptedBlocks() {
+      return acceptedBlocks;
+    }
+
+    public List<Batch> getRejectedBatches() {
+      return rejectedBatches.stream().map(FetchedBatch::getBatch).collect(Collectors.toList());
+    }
+
+    /** @return The peer whose blocks didn't link up with the assembled chain, if known */
+    public Optional<NodeId> getChainBreakingSource() {
+      return chainBreakingSource;
+    }
+  }
+
+  private static class FetchedBatch {
+    private final Batch batch;
+    private final List<SignedBeaconBlock> blocks;
+    private final NodeId source;
+
+    private FetchedBatch(
+        final Batch batch, final List<SignedBeaconBlock> blocks, final NodeId source) {
+      this.batch = batch;
+      this.blocks = blocks;
+      this.source = source;
+    }
+
+    public Batch getBatch() {
+      return batch;
+    }
+
+    public List<SignedBeaconBlock> getBlocks() {
+      return blocks;
+    }
+
+    public SignedBeaconBlock getNewestBlock() {
+      return blocks.get(blocks.size() - 1);
+    }
+
+    public NodeId getSource() {
+      return source;
+    }
+  }
+}
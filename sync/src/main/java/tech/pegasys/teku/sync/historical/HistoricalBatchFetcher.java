@@ -15,10 +15,11 @@ package tech.pegasys.teku.sync.historical;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import org.apache.logging.log4j.LogManager;
@@ -29,101 +30,152 @@ import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.teku.networking.eth2.rpc.core.InvalidResponseException;
 import tech.pegasys.teku.networking.p2p.peer.DisconnectReason;
-import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockSummary;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
-import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 
-/** Fetches a target batch of blocks from a peer. */
+/**
+ * Fetches the blocks within a range of slots from a peer.
+ *
+ * <p>The fetched blocks are checked to form a single chain and their proposer signatures are
+ * verified. When the root of the newest block in the range is known, the fetch only succeeds once
+ * that block is received, or once it is confirmed to be older than the range. Otherwise whether the
+ * range links up with the blocks around it can only be decided once the neighbouring ranges are
+ * fetched too. See {@link HistoricalBatchAssembler}.
+ */
 public class HistoricalBatchFetcher {
   private static final Logger LOG = LogManager.getLogger();
 
   private static final int MAX_REQUESTS = 2;
 
-  private final StorageUpdateChannel storageUpdateChannel;
   private final Eth2Peer peer;
-  private final UInt64 maxSlot;
-  private final Bytes32 lastBlockRoot;
-  private final UInt64 batchSize;
+  private final UInt64 startSlot;
+  private final UInt64 endSlot;
+  private final Optional<Bytes32> expectedBlockRoot;
+  private final HistoricalBlockSignatureVerifier signatureVerifier;
   private final int maxRequests;
 
-  private final SafeFuture<BeaconBlockSummary> future = new SafeFuture<>();
-  private final Deque<SignedBeaconBlock> blocksToImport = new ConcurrentLinkedDeque<>();
+  private final SafeFuture<List<SignedBeaconBlock>> future = new SafeFuture<>();
+  private final Deque<SignedBeaconBlock> receivedBlocks = new ConcurrentLinkedDeque<>();
   private final AtomicInteger requestCount = new AtomicInteger(0);
+  private volatile boolean requestLimitReached = false;
+  private volatile boolean confirmedEmpty = false;
 
   /**
-   * @param storageUpdateChannel The storage channel where finalized blocks will be imported
    * @param peer The peer to request blocks from
-   * @param maxSlot The maxSlot to pull
-   * @param lastBlockRoot The block root that defines the last block in our batch
-   * @param batchSize The number of blocks to sync (assuming all slots are filled)
+   * @param startSlot The first slot to pull
+   * @param endSlot The last slot to pull
+   * @param expectedBlockRoot The root of the newest block at or before the last slot, if known
+   * @param signatureVerifier The verifier used to check proposer signatures
    * @param maxRequests The number of blocksByRange requests allowed to pull this batch
    */
   @VisibleForTesting
   HistoricalBatchFetcher(
-      final StorageUpdateChannel storageUpdateChannel,
       final Eth2Peer peer,
-      final UInt64 maxSlot,
-      final Bytes32 lastBlockRoot,
-      final UInt64 batchSize,
+      final UInt64 startSlot,
+      final UInt64 endSlot,
+      final Optional<Bytes32> expectedBlockRoot,
+      final HistoricalBlockSignatureVerifier signatureVerifier,
       final int maxRequests) {
-    this.storageUpdateChannel = storageUpdateChannel;
     this.peer = peer;
-    this.maxSlot = maxSlot;
-    this.lastBlockRoot = lastBlockRoot;
-    this.batchSize = batchSize;
+    this.startSlot = startSlot;
+    this.endSlot = endSlot;
+    this.expectedBlockRoot = expectedBlockRoot;
+    this.signatureVerifier = signatureVerifier;
     this.maxRequests = maxRequests;
   }
 
   public static HistoricalBatchFetcher create(
-      final StorageUpdateChannel storageUpdateChannel,
       final Eth2Peer peer,
-      final UInt64 maxSlot,
-      final Bytes32 lastBlockRoot,
-      final UInt64 batchSize) {
+      final UInt64 startSlot,
+      final UInt64 endSlot,
+      final Optional<Bytes32> expectedBlockRoot,
+      final HistoricalBlockSignatureVerifier signatureVerifier) {
     return new HistoricalBatchFetcher(
-        storageUpdateChannel, peer, maxSlot, lastBlockRoot, batchSize, MAX_REQUESTS);
+        peer, startSlot, endSlot, expectedBlockRoot, signatureVerifier, MAX_REQUESTS);
   }
 
   /**
-   * Fetch the batch of blocks up to {@link #maxSlot}, save them to the database, and return the new
-   * value for the earliest block.
+   * Fetch the blocks from {@link #startSlot} to {@link #endSlot} and verify their signatures.
    *
-   * @return A future that resolves with the earliest block pulled and saved.
+   * @return A future that resolves with the received blocks, ordered by slot.
    */
-  public SafeFuture<BeaconBlockSummary> run() {
+  public SafeFuture<List<SignedBeaconBlock>> run() {
     SafeFuture.asyncDoWhile(this::requestBlocksByRange)
         .thenCompose(
             __ -> {
-              if (blocksToImport.isEmpty()) {
+              if (receivedBlocks.isEmpty()) {
                 // If we've received no blocks, this range of blocks may be empty
-                // Try to look up the next block by root
-                return requestBlockByHash();
+                // Try to look up the expected block by root to confirm it is older
+                return requestExpectedBlockByRoot();
               } else {
                 return SafeFuture.COMPLETE;
               }
             })
-        .thenCompose(__ -> complete())
+        .thenRun(this::checkBatchComplete)
+        .thenCompose(__ -> verifySignatures())
+        .thenAccept(__ -> future.complete(new ArrayList<>(receivedBlocks)))
         .finish(this::handleRequestError);
 
     return future;
   }
 
-  private SafeFuture<Void> complete() {
-    final Optional<SignedBeaconBlock> latestBlock = getLatestReceivedBlock();
+  private SafeFuture<Void> requestExpectedBlockByRoot() {
+    if (expectedBlockRoot.isEmpty()) {
+      return SafeFuture.COMPLETE;
+    }
+    LOG.trace("Request expected historical block directly by hash {}", expectedBlockRoot.get());
+    return peer.requestBlockByRoot(expectedBlockRoot.get())
+        .thenAccept(
+            maybeBlock ->
+                maybeBlock.ifPresent(
+                    block -> {
+                      if (block.getSlot().isLessThan(startSlot)) {
+                        confirmedEmpty = true;
+                      } else if (block.getSlot().isLessThanOrEqualTo(endSlot)) {
+                        throw new InvalidResponseException(
+                            "Expected block was missing from requested range");
+                      }
+                    }));
+  }
 
-    if (latestBlockCompletesBatch(latestBlock)) {
-      LOG.trace("Import batch of {} blocks", blocksToImport.size());
-      return importBatch();
-    } else if (latestBlockShouldCompleteBatch(latestBlock)) {
+  private void checkBatchComplete() {
+    if (expectedBlockRoot.isEmpty()) {
+      if (requestLimitReached) {
+        // Remaining slots may still contain blocks
+        throw new InvalidResponseException("Failed to deliver full batch");
+      }
+      return;
+    }
+    if (reachedExpectedBlock() || confirmedEmpty) {
+      return;
+    }
+    final boolean reachedEndSlot =
+        getLatestReceivedBlock()
+            .map(block -> block.getSlot().isGreaterThanOrEqualTo(endSlot))
+            .orElse(false);
+    if (reachedEndSlot) {
       // Nothing left to request but the batch is incomplete
       // It appears our peer is on a different chain
       LOG.warn("Received invalid blocks from a different chain. Disconnecting peer: " + peer);
       peer.disconnectCleanly(DisconnectReason.IRRELEVANT_NETWORK).reportExceptions();
       throw new InvalidResponseException("Received invalid blocks from a different chain");
-    } else {
-      // We haven't completed the batch and we've hit our request limit
-      throw new InvalidResponseException("Failed to deliver full batch");
     }
+    // We haven't completed the batch and the peer has nothing more to give us
+    throw new InvalidResponseException("Failed to deliver full batch");
+  }
+
+  private SafeFuture<Void> verifySignatures() {
+    if (receivedBlocks.isEmpty()) {
+      return SafeFuture.COMPLETE;
+    }
+    LOG.trace("Verify signatures of {} blocks", receivedBlocks.size());
+    return signatureVerifier
+        .verify(new ArrayList<>(receivedBlocks))
+        .thenAccept(
+            valid -> {
+              if (!valid) {
+                throw new InvalidResponseException("Received blocks with invalid signatures");
+              }
+            });
   }
 
   private void handleRequestError(final Throwable throwable) {
@@ -138,143 +190,101 @@ public class HistoricalBatchFetcher {
     }
   }
 
-  private boolean batchIsComplete() {
-    return getLatestReceivedBlock()
-        .map(SignedBeaconBlock::getRoot)
-        .map(r -> r.equals(lastBlockRoot))
-        .orElse(false);
-  }
-
   private SafeFuture<Boolean> requestBlocksByRange() {
-    final RequestParameters requestParams = calculateRequestParams();
-    if (requestParams.getCount().equals(UInt64.ZERO)) {
+    final UInt64 requestStartSlot = getNextSlotToRequest();
+    if (requestStartSlot.isGreaterThan(endSlot)) {
       // Nothing left to request
       return SafeFuture.completedFuture(false);
     }
+    final UInt64 count = endSlot.plus(1).minus(requestStartSlot);
 
-    LOG.trace(
-        "Request {} blocks from {} to {}",
-        requestParams.getCount(),
-        requestParams.getStartSlot(),
-        requestParams.getEndSlot());
+    LOG.trace("Request {} blocks from {} to {}", count, requestStartSlot, endSlot);
     final RequestManager requestManager =
-        new RequestManager(lastBlockRoot, getLatestReceivedBlock(), blocksToImport::addLast);
+        new RequestManager(
+            endSlot, expectedBlockRoot, getLatestReceivedBlock(), receivedBlocks::addLast);
     return peer.requestBlocksByRange(
-            requestParams.getStartSlot(),
-            requestParams.getCount(),
-            UInt64.ONE,
-            requestManager::processBlock)
-        .thenApply(__ -> shouldRetryBlockByRangeRequest());
+            requestStartSlot, count, UInt64.ONE, requestManager::processBlock)
+        .thenApply(__ -> shouldRetryBlockByRangeRequest(requestManager));
   }
 
-  private boolean shouldRetryBlockByRangeRequest() {
-    return !batchIsComplete() && requestCount.incrementAndGet() < maxRequests;
-  }
-
-  private SafeFuture<Void> requestBlockByHash() {
-    LOG.trace("Request next historical block directly by hash {}", lastBlockRoot);
-    return peer.requestBlockByRoot(lastBlockRoot)
-        .thenAccept(maybeBlock -> maybeBlock.ifPresent(blocksToImport::add));
-  }
-
-  private SafeFuture<Void> importBatch() {
-    final SignedBeaconBlock newEarliestBlock = blocksToImport.getFirst();
-    return storageUpdateChannel
-        .onFinalizedBlocks(blocksToImport)
-        .thenRun(() -> future.complete(newEarliestBlock));
-  }
-
-  private RequestParameters calculateRequestParams() {
-    final UInt64 startSlot = getStartSlot();
-    final UInt64 count = maxSlot.plus(1).minus(startSlot);
-    return new RequestParameters(startSlot, count);
-  }
-
-  private UInt64 getStartSlot() {
-    if (blocksToImport.isEmpty()) {
-      return maxSlot.plus(1).safeMinus(batchSize).orElse(UInt64.ZERO);
+  private boolean shouldRetryBlockByRangeRequest(final RequestManager requestManager) {
+    // Peers may cap the number of blocks they return, so continue from the last block received.
+    // An empty response means the remaining slots are empty.
+    if (reachedExpectedBlock()
+        || !requestManager.hasReceivedBlocks()
+        || getNextSlotToRequest().isGreaterThan(endSlot)) {
+      return false;
     }
-
-    return blocksToImport.getLast().getSlot().plus(1);
+    if (requestCount.incrementAndGet() < maxRequests) {
+      return true;
+    }
+    requestLimitReached = true;
+    return false;
   }
 
-  private Optional<SignedBeaconBlock> getLatestReceivedBlock() {
-    return Optional.ofNullable(blocksToImport.peekLast());
+  private boolean reachedExpectedBlock() {
+    return expectedBlockRoot.isPresent()
+        && getLatestReceivedBlock()
+            .map(block -> block.getRoot().equals(expectedBlockRoot.get()))
+            .orElse(false);
   }
 
-  private boolean latestBlockCompletesBatch(Optional<SignedBeaconBlock> latestBlock) {
-    return latestBlock
-        .map(SignedBeaconBlock::getRoot)
-        .map(r -> r.equals(lastBlockRoot))
-        .orElse(false);
+  private UInt64 getNextSlotToRequest() {
+    return getLatestReceivedBlock().map(block -> block.getSlot().plus(1)).orElse(startSlot);
   }
 
-  private boolean latestBlockShouldCompleteBatch(Optional<SignedBeaconBlock> latestBlock) {
-    return latestBlock
-        .map(SignedBeaconBlock::getSlot)
-        .map(s -> s.isGreaterThanOrEqualTo(maxSlot))
-        .orElse(false);
+  private Optional<SignedBeaconBlock> getLatestReceivedBlock() {
+    return Optional.ofNullable(receivedBlocks.peekLast());
   }
 
   private static class RequestManager {
-    private final Bytes32 lastBlockRoot;
-    private final Optional<SignedBeaconBlock> previousBlock;
+    private final UInt64 endSlot;
+    private final Optional<Bytes32> expectedBlockRoot;
     private final Consumer<SignedBeaconBlock> blockProcessor;
 
-    private final AtomicInteger blocksReceived = new AtomicInteger(0);
-    private final AtomicBoolean foundLastBlock = new AtomicBoolean(false);
+    private Optional<SignedBeaconBlock> previousBlock;
+    private boolean receivedBlocks = false;
+    private boolean foundExpectedBlock = false;
 
     private RequestManager(
-        final Bytes32 lastBlockRoot,
+        final UInt64 endSlot,
+        final Optional<Bytes32> expectedBlockRoot,
         final Optional<SignedBeaconBlock> previousBlock,
         final Consumer<SignedBeaconBlock> blockProcessor) {
-      this.lastBlockRoot = lastBlockRoot;
+      this.endSlot = endSlot;
+      this.expectedBlockRoot = expectedBlockRoot;
       this.previousBlock = previousBlock;
       this.blockProcessor = blockProcessor;
     }
 
-    private SafeFuture<?> processBlock(final SignedBeaconBlock block) {
+    private synchronized SafeFuture<?> processBlock(final SignedBeaconBlock block) {
       return SafeFuture.of(
           () -> {
-            if (blocksReceived.incrementAndGet() == 1 && previousBlock.isPresent()) {
-              if (!block.getParentRoot().equals(previousBlock.get().getRoot())) {
-                throw new InvalidResponseException(
-                    "Expected first block to descend from last received block.");
-              }
+            if (foundExpectedBlock) {
+              // Only process blocks up to the expected block - ignore any extra blocks
+              return SafeFuture.COMPLETE;
             }
-
-            // Only process blocks up to the last block - ignore any extra blocks
-            if (!foundLastBlock.get()) {
-              blockProcessor.accept(block);
+            if (block.getSlot().isGreaterThan(endSlot)) {
+              throw new InvalidResponseException("Received block outside of requested range.");
             }
-            if (block.getRoot().equals(lastBlockRoot)) {
-              foundLastBlock.set(true);
+            if (previousBlock.isPresent()
+                && !block.getParentRoot().equals(previousBlock.get().getRoot())) {
+              throw new InvalidResponseException(
+                  receivedBlocks
+                      ? "Expected blocks to form a chain."
+                      : "Expected first block to descend from last received block.");
             }
 
+            receivedBlocks = true;
+            previousBlock = Optional.of(block);
+            blockProcessor.accept(block);
+            foundExpectedBlock = expectedBlockRoot.map(block.getRoot()::equals).orElse(false);
             return SafeFuture.COMPLETE;
           });
     }
-  }
-
-  private static class RequestParameters {
-    private final UInt64 startSlot;
-    private final UInt64 count;
-
-    private RequestParameters(final UInt64 startSlot, final UInt64 count) {
-      this.startSlot = startSlot;
-      this.count = count;
-    }
-
-    public UInt64 getStartSlot() {
-      return startSlot;
-    }
-
-    public UInt64 getCount() {
-      return count;
-    }
 
-    public UInt64 getEndSlot() {
-      return startSlot.plus(count).safeMinus(1).orElse(startSlot);
+    private synchronized boolean hasReceivedBlocks() {
+      return receivedBlocks;
     }
   }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.sync.historical;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLS;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.config.SpecConfig;
+import tech.pegasys.teku.spec.constants.Domain;
+import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlock;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+
+/**
+ * Verifies the proposer signatures of a batch of historical blocks with a single {@link
+ * BLS#batchVerify(List, List, List)} call.
+ *
+ * <p>Historical blocks are verified without their pre-states. Proposer public keys are looked up in
+ * the latest finalized state instead, which is valid because validator indices are never reused.
+ */
+public class HistoricalBlockSignatureVerifier {
+  private final Spec spec;
+  private final AsyncRunner asyncRunner;
+  private final Supplier<Optional<BeaconState>> finalizedStateSupplier;
+
+  public HistoricalBlockSignatureVerifier(
+      final Spec spec,
+      final AsyncRunner asyncRunner,
+      final Supplier<Optional<BeaconState>> finalizedStateSupplier) {
+    this.spec = spec;
+    this.asyncRunner = asyncRunner;
+    this.finalizedStateSupplier = finalizedStateSupplier;
+  }
+
+  /**
+   * Verify the proposer signatures of the supplied blocks. The genesis block is unsigned and is
+   * skipped.
+   *
+   * @param blocks The blocks to verify
+   * @return A future that resolves to true if all signatures are valid
+   */
+  public SafeFuture<Boolean> verify(final List<SignedBeaconBlock> blocks) {
+    return asyncRunner.runAsync(() -> SafeFuture.completedFuture(verifySignatures(blocks)));
+  }
+
+  private boolean verifySignatures(final List<SignedBeaconBlock> blocks) {
+    final BeaconState finalizedState =
+        finalizedStateSupplier
+            .get()
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "Finalized state is required to verify historical blocks"));
+    final Bytes32 genesisValidatorsRoot = finalizedState.getForkInfo().getGenesisValidatorsRoot();
+
+    final List<List<BLSPublicKey>> proposerPublicKeys = new ArrayList<>(blocks.size());
+    final List<Bytes> signingRoots = new ArrayList<>(blocks.size());
+    final List<BLSSignature> signatures = new ArrayList<>(blocks.size());
+    for (SignedBeaconBlock signedBlock : blocks) {
+      final BeaconBlock block = signedBlock.getMessage();
+      if (block.getSlot().equals(SpecConfig.GENESIS_SLOT)) {
+        continue;
+      }
+      final Optional<BLSPublicKey> proposerPublicKey =
+          spec.getValidatorPubKey(finalizedState, block.getProposerIndex());
+      if (proposerPublicKey.isEmpty()) {
+        // The proposer must be known since the finalized state is newer than the block
+        return false;
+      }
+      final UInt64 epoch = spec.computeEpochAtSlot(block.getSlot());
+      final Bytes32 domain =
+          spec.getDomain(Domain.BEACON_PROPOSER, epoch, spec.fork(epoch), genesisValidatorsRoot);
+      proposerPublicKeys.add(List.of(proposerPublicKey.get()));
+      signingRoots.add(spec.computeSigningRoot(block, domain));
+      signatures.add(signedBlock.getSignature());
+    }
+
+    return signatures.isEmpty() || BLS.batchVerify(proposerPublicKeys, signingRoots, signatures);
+  }
+}
@@ -16,19 +16,27 @@ package tech.pegasys.teku.sync.historical;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.metrics.SettableGauge;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.infrastructure.time.TimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.teku.networking.p2p.network.P2PNetwork;
@@ -36,34 +44,60 @@ import tech.pegasys.teku.networking.p2p.peer.NodeId;
 import tech.pegasys.teku.service.serviceutils.Service;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockSummary;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.sync.events.SyncStateProvider;
+import tech.pegasys.teku.sync.historical.HistoricalBatchAssembler.AssemblyResult;
+import tech.pegasys.teku.sync.historical.HistoricalBatchAssembler.Batch;
+import tech.pegasys.teku.util.config.Constants;
 
 /**
- * Service responsible for syncing missing historical blocks. Blocks are pulled in order from the
- * newest unknown block back to genesis.
+ * Service responsible for syncing missing historical blocks. Blocks are pulled from the newest
+ * unknown block back to genesis.
+ *
+ * <p>Batches of slots are requested from several peers concurrently, with one request per peer. The
+ * size of each batch is based on the throughput previously observed from that peer. Fetched batches
+ * are assembled into a single chain and imported in large sequential groups.
  */
 public class HistoricalBlockSyncService extends Service {
   private static final Logger LOG = LogManager.getLogger();
 
   private static final Duration RETRY_TIMEOUT = Duration.ofMinutes(1);
   private static final UInt64 BATCH_SIZE = UInt64.valueOf(50);
+  private static final UInt64 MAX_BATCH_SIZE = UInt64.valueOf(Constants.MAX_REQUEST_BLOCKS);
+  private static final Duration TARGET_REQUEST_DURATION = Duration.ofSeconds(5);
+  private static final double THROUGHPUT_SMOOTHING_FACTOR = 0.5;
+  private static final int MAX_CONCURRENT_REQUESTS = 5;
+  private static final UInt64 MAX_SLOTS_AHEAD = MAX_BATCH_SIZE.times(MAX_CONCURRENT_REQUESTS * 2);
+  private static final int MIN_IMPORT_SIZE = 1024;
+  private static final int MAX_PENDING_IMPORTS = 2;
 
   private final Spec spec;
   private final SettableGauge historicSyncGauge;
+  private final SettableGauge activeRequestsGauge;
+  private final Counter blocksDownloadedCounter;
   private final StorageUpdateChannel storageUpdateChannel;
   private final AsyncRunner asyncRunner;
   private final P2PNetwork<Eth2Peer> network;
   private final CombinedChainDataClient chainData;
   private final SyncStateProvider syncStateProvider;
+  private final TimeProvider timeProvider;
+  private final HistoricalBlockSignatureVerifier signatureVerifier;
   private final UInt64 batchSize;
 
   private final AtomicLong syncStateSubscription = new AtomicLong(-1);
-  private final AtomicBoolean requestInProgress = new AtomicBoolean(false);
+
+  private final Map<NodeId, Batch> activeRequests = new HashMap<>();
+  private final Deque<SignedBeaconBlock> blocksToImport = new ArrayDeque<>();
+  private Optional<HistoricalBatchAssembler> assembler = Optional.empty();
+  private SafeFuture<Void> importQueue = SafeFuture.COMPLETE;
+  private int pendingImports = 0;
+  private boolean retryScheduled = false;
 
   private volatile BeaconBlockSummary earliestBlock;
   final Set<NodeId> badPeerCache;
+  private final Map<NodeId, Double> peerThroughput;
 
   @VisibleForTesting
   HistoricalBlockSyncService(
@@ -74,6 +108,8 @@ public class HistoricalBlockSyncService extends Service {
       final P2PNetwork<Eth2Peer> network,
       final CombinedChainDataClient chainData,
       final SyncStateProvider syncStateProvider,
+      final TimeProvider timeProvider,
+      final HistoricalBlockSignatureVerifier signatureVerifier,
       final UInt64 batchSize) {
     this.spec = spec;
     this.storageUpdateChannel = storageUpdateChannel;
@@ -82,6 +118,8 @@ public class HistoricalBlockSyncService extends Service {
     this.network = network;
     this.chainData = chainData;
     this.syncStateProvider = syncStateProvider;
+    this.timeProvider = timeProvider;
+    this.signatureVerifier = signatureVerifier;
     this.batchSize = batchSize;
 
     this.badPeerCache =
@@ -92,6 +130,12 @@ public class HistoricalBlockSyncService extends Service {
                 .removalListener(__ -> logBadPeerCacheSize(false))
                 .<NodeId, Boolean>build()
                 .asMap());
+    this.peerThroughput =
+        CacheBuilder.newBuilder()
+            .maximumSize(100)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .<NodeId, Double>build()
+            .asMap();
 
     this.historicSyncGauge =
         SettableGauge.create(
@@ -99,6 +143,17 @@ public class HistoricalBlockSyncService extends Service {
             TekuMetricCategory.BEACON,
             "historical_block_sync_earliest_block",
             "The slot of the earliest block retrieved by the historical block sync service");
+    this.activeRequestsGauge =
+        SettableGauge.create(
+            metricsSystem,
+            TekuMetricCategory.BEACON,
+            "historical_block_sync_active_requests",
+            "The number of peers historical blocks are currently being requested from");
+    this.blocksDownloadedCounter =
+        metricsSystem.createCounter(
+            TekuMetricCategory.BEACON,
+            "historical_block_sync_blocks_downloaded_total",
+            "The number of historical blocks downloaded by the historical block sync service");
   }
 
   public static HistoricalBlockSyncService create(
@@ -108,7 +163,8 @@ public class HistoricalBlockSyncService extends Service {
       final AsyncRunner asyncRunner,
       final P2PNetwork<Eth2Peer> network,
       final CombinedChainDataClient chainData,
-      final SyncStateProvider syncStateProvider) {
+      final SyncStateProvider syncStateProvider,
+      final TimeProvider timeProvider) {
     return new HistoricalBlockSyncService(
         spec,
         metricsSystem,
@@ -117,6 +173,8 @@ public class HistoricalBlockSyncService extends Service {
         network,
         chainData,
         syncStateProvider,
+        timeProvider,
+        new HistoricalBlockSignatureVerifier(spec, asyncRunner, chainData::getFinalizedState),
         BATCH_SIZE);
   }
 
@@ -135,13 +193,9 @@ public class HistoricalBlockSyncService extends Service {
   }
 
   private SafeFuture<Void> initialize() {
-    return chainData
-        .getEarliestAvailableBlockSummary()
-        .thenAccept(
-            beaconBlockSummary -> {
-              this.earliestBlock =
-                  beaconBlockSummary.orElseThrow(
-                      () -> new IllegalStateException("Unable to retrieve earliest block"));
+    return loadEarliestBlock()
+        .thenRun(
+            () -> {
               if (earliestBlock.getSlot().isGreaterThan(UInt64.ZERO)) {
                 LOG.info(
                     "Begin historical sync of blocks prior to slot {}", earliestBlock.getSlot());
@@ -152,32 +206,56 @@ public class HistoricalBlockSyncService extends Service {
             });
   }
 
+  private SafeFuture<Void> loadEarliestBlock() {
+    return chainData
+        .getEarliestAvailableBlockSummary()
+        .thenAccept(
+            beaconBlockSummary -> {
+              this.earliestBlock =
+                  beaconBlockSummary.orElseThrow(
+                      () -> new IllegalStateException("Unable to retrieve earliest block"));
+              resetAssembler();
+            });
+  }
+
+  private synchronized void resetAssembler() {
+    blocksToImport.clear();
+    assembler =
+        getMaxMissingBlockParams()
+            .map(
+                params ->
+                    new HistoricalBatchAssembler(
+                        params.getMaxSlot(), params.getBlockRoot(), MAX_SLOTS_AHEAD));
+  }
+
   private void updateSyncMetrics() {
     if (earliestBlock.getBeaconBlock().isPresent()) {
       historicSyncGauge.set(earliestBlock.getSlot().doubleValue());
     }
   }
 
-  private void fetchBlocks() {
-    SafeFuture.asyncDoWhile(this::findPeerAndRequestBlocks)
-        .always(
-            () -> {
-              if (isSyncDone()) {
-                stop().reportExceptions();
-              }
-            });
-  }
+  private synchronized void fetchBlocks() {
+    if (isSyncDone()) {
+      stop().reportExceptions();
+      return;
+    }
+    if (!isActive() || assembler.isEmpty() || pendingImports >= MAX_PENDING_IMPORTS) {
+      return;
+    }
 
-  private SafeFuture<Boolean> findPeerAndRequestBlocks() {
-    final Optional<MaxMissingBlockParams> blockParams = getMaxMissingBlockParams();
-    if (blockParams.isPresent() && isActive() && requestInProgress.compareAndSet(false, true)) {
-      return findPeer()
-          .map(peer -> requestBlocks(peer, blockParams.get()))
-          .orElseGet(this::waitToRetry)
-          .alwaysRun(() -> requestInProgress.set(false))
-          .thenApply(__ -> true);
-    } else {
-      return SafeFuture.completedFuture(false);
+    while (activeRequests.size() < MAX_CONCURRENT_REQUESTS) {
+      final Optional<Eth2Peer> peer = findPeer();
+      if (peer.isEmpty()) {
+        if (activeRequests.isEmpty()) {
+          scheduleRetry();
+        }
+        return;
+      }
+      final Optional<Batch> batch = assembler.get().assignBatch(getBatchSize(peer.get()));
+      if (batch.isEmpty()) {
+        return;
+      }
+      requestBatch(assembler.get(), peer.get(), batch.get());
     }
   }
 
@@ -185,39 +263,175 @@ public class HistoricalBlockSyncService extends Service {
     return isRunning() && syncStateProvider.getCurrentSyncState().isInSync();
   }
 
-  private SafeFuture<Void> requestBlocks(final Eth2Peer peer, final MaxMissingBlockParams params) {
-    return createFetcher(peer, params)
-        .run()
-        .exceptionally(
-            (err) -> {
-              // We ran into trouble with this peer - ignore it for a while
-              LOG.debug(
-                  "Encountered a problem requesting historical blocks from peer: " + peer, err);
-              if (peer.isConnected()) {
-                // If we didn't disconnect the peer altogether, avoid making new requests for a
-                // while
-                badPeerCache.add(peer.getId());
-                logBadPeerCacheSize(true);
-              }
-              return null;
-            })
-        .thenAccept(
-            newValue -> {
-              if (newValue != null && newValue.getSlot().isLessThanOrEqualTo(params.getMaxSlot())) {
-                LOG.trace("Synced historical blocks to slot {}", newValue.getSlot());
-                earliestBlock = newValue;
-                updateSyncMetrics();
-                if (isSyncDone()) {
-                  LOG.info("Historical block sync is complete");
-                }
+  private void scheduleRetry() {
+    if (retryScheduled) {
+      return;
+    }
+    retryScheduled = true;
+    asyncRunner
+        .runAfterDelay(
+            () -> {
+              synchronized (this) {
+                retryScheduled = false;
+                fetchBlocks();
               }
-            });
+            },
+            RETRY_TIMEOUT)
+        .reportExceptions();
+  }
+
+  private void requestBatch(
+      final HistoricalBatchAssembler batchAssembler, final Eth2Peer peer, final Batch batch) {
+    LOG.trace("Request historical blocks {} from peer {}", batch, peer.getId());
+    activeRequests.put(peer.getId(), batch);
+    activeRequestsGauge.set(activeRequests.size());
+    final UInt64 requestStartTime = timeProvider.getTimeInMillis();
+    createFetcher(batchAssembler, peer, batch)
+        .run()
+        .finish(
+            blocks -> onBatchFetched(batchAssembler, peer, batch, blocks, requestStartTime),
+            error -> onBatchFailed(batchAssembler, peer, batch, error));
+  }
+
+  private synchronized void onBatchFetched(
+      final HistoricalBatchAssembler batchAssembler,
+      final Eth2Peer peer,
+      final Batch batch,
+      final List<SignedBeaconBlock> blocks,
+      final UInt64 requestStartTime) {
+    onRequestComplete(peer);
+    if (!isCurrentAssembler(batchAssembler)) {
+      return;
+    }
+    blocksDownloadedCounter.inc(blocks.size());
+    recordThroughput(peer, batch, requestStartTime);
+
+    final AssemblyResult result = batchAssembler.onBatchFetched(batch, blocks, peer.getId());
+    if (!result.getRejectedBatches().isEmpty()) {
+      LOG.debug(
+          "Historical blocks did not link up with the chain. Refetching batches {}",
+          result.getRejectedBatches());
+      result.getChainBreakingSource().ifPresent(this::addBadPeer);
+    }
+    final List<SignedBeaconBlock> acceptedBlocks = result.getAcceptedBlocks();
+    for (int i = acceptedBlocks.size() - 1; i >= 0; i--) {
+      blocksToImport.addFirst(acceptedBlocks.get(i));
+    }
+    if (blocksToImport.size() >= MIN_IMPORT_SIZE
+        || batchAssembler.isComplete()
+        || activeRequests.isEmpty()) {
+      importBlocks(batchAssembler);
+    }
+    fetchBlocks();
+  }
+
+  private synchronized void onBatchFailed(
+      final HistoricalBatchAssembler batchAssembler,
+      final Eth2Peer peer,
+      final Batch batch,
+      final Throwable error) {
+    onRequestComplete(peer);
+    if (!isCurrentAssembler(batchAssembler)) {
+      return;
+    }
+    batchAssembler.onBatchFailed(batch);
+    // We ran into trouble with this peer - ignore it for a while
+    LOG.debug("Encountered a problem requesting historical blocks from peer: " + peer, error);
+    if (peer.isConnected()) {
+      // If we didn't disconnect the peer altogether, avoid making new requests for a while
+      addBadPeer(peer.getId());
+    }
+    fetchBlocks();
+  }
+
+  private void onRequestComplete(final Eth2Peer peer) {
+    activeRequests.remove(peer.getId());
+    activeRequestsGauge.set(activeRequests.size());
+  }
+
+  private synchronized boolean isCurrentAssembler(final HistoricalBatchAssembler batchAssembler) {
+    return assembler.map(current -> current == batchAssembler).orElse(false);
+  }
+
+  private void importBlocks(final HistoricalBatchAssembler batchAssembler) {
+    if (blocksToImport.isEmpty()) {
+      return;
+    }
+    final List<SignedBeaconBlock> blocks = new ArrayList<>(blocksToImport);
+    blocksToImport.clear();
+    pendingImports++;
+    importQueue =
+        importQueue
+            .thenCompose(
+                __ -> {
+                  if (!isCurrentAssembler(batchAssembler)) {
+                    // An earlier import failed so these blocks no longer link up
+                    return SafeFuture.COMPLETE;
+                  }
+                  LOG.trace("Import batch of {} blocks", blocks.size());
+                  return storageUpdateChannel
+                      .onFinalizedBlocks(blocks)
+                      .thenRun(() -> onBlocksImported(blocks.get(0)));
+                })
+            .exceptionallyCompose(
+                error -> {
+                  LOG.warn("Failed to import historical blocks. Restarting from storage.", error);
+                  return restartFromStorage();
+                })
+            .alwaysRun(this::onImportComplete);
+  }
+
+  private void onBlocksImported(final SignedBeaconBlock newEarliestBlock) {
+    LOG.trace("Synced historical blocks to slot {}", newEarliestBlock.getSlot());
+    earliestBlock = newEarliestBlock;
+    updateSyncMetrics();
+    if (isSyncDone()) {
+      LOG.info("Historical block sync is complete");
+    }
+  }
+
+  private synchronized void onImportComplete() {
+    pendingImports--;
+    fetchBlocks();
+  }
+
+  private SafeFuture<Void> restartFromStorage() {
+    synchronized (this) {
+      assembler = Optional.empty();
+      blocksToImport.clear();
+    }
+    return loadEarliestBlock();
   }
 
   private HistoricalBatchFetcher createFetcher(
-      final Eth2Peer peer, final MaxMissingBlockParams params) {
+      final HistoricalBatchAssembler batchAssembler, final Eth2Peer peer, final Batch batch) {
     return HistoricalBatchFetcher.create(
-        storageUpdateChannel, peer, params.getMaxSlot(), params.getBlockRoot(), batchSize);
+        peer,
+        batch.getStartSlot(),
+        batch.getEndSlot(),
+        batchAssembler.getExpectedBlockRoot(batch),
+        signatureVerifier);
+  }
+
+  private UInt64 getBatchSize(final Eth2Peer peer) {
+    final Double slotsPerSecond = peerThroughput.get(peer.getId());
+    if (slotsPerSecond == null) {
+      return batchSize;
+    }
+    final long targetSize = (long) (slotsPerSecond * TARGET_REQUEST_DURATION.toMillis() / 1000);
+    return UInt64.valueOf(targetSize).max(batchSize).min(MAX_BATCH_SIZE);
+  }
+
+  private void recordThroughput(
+      final Eth2Peer peer, final Batch batch, final UInt64 requestStartTime) {
+    final long elapsedMillis =
+        Math.max(1, timeProvider.getTimeInMillis().minusMinZero(requestStartTime).longValue());
+    final double slotsPerSecond = batch.getSlotCount().doubleValue() * 1000 / elapsedMillis;
+    peerThroughput.merge(
+        peer.getId(),
+        slotsPerSecond,
+        (previous, latest) ->
+            previous * (1 - THROUGHPUT_SMOOTHING_FACTOR) + latest * THROUGHPUT_SMOOTHING_FACTOR);
   }
 
   private boolean isSyncDone() {
@@ -242,21 +456,26 @@ public class HistoricalBlockSyncService extends Service {
     return Optional.of(new MaxMissingBlockParams(lastBlockRoot, maxSlot));
   }
 
-  private SafeFuture<Void> waitToRetry() {
-    return asyncRunner.getDelayedFuture(RETRY_TIMEOUT);
-  }
-
   private Optional<Eth2Peer> findPeer() {
+    // Prefer the fastest peers, trying peers we haven't measured yet first
     return network
         .streamPeers()
         .filter(p -> !badPeerCache.contains(p.getId()))
+        .filter(p -> !activeRequests.containsKey(p.getId()))
         .filter(
             p ->
                 p.getStatus()
                     .getFinalizedCheckpoint()
                     .getEpochStartSlot(spec)
                     .isGreaterThan(earliestBlock.getSlot()))
-        .findAny();
+        .max(
+            Comparator.comparingDouble(
+                p -> peerThroughput.getOrDefault(p.getId(), Double.MAX_VALUE)));
+  }
+
+  private void addBadPeer(final NodeId peerId) {
+    badPeerCache.add(peerId);
+    logBadPeerCacheSize(true);
   }
 
   private void logBadPeerCacheSize(final boolean peerAdded) {
@@ -50,6 +50,8 @@ class BatchImporterTest {
   @BeforeEach
   public void setup() {
     when(batch.getSource()).thenReturn(Optional.of(syncSource));
+    when(blockImporter.importBlocksBatch(any()))
+        .thenReturn(SafeFuture.completedFuture(Optional.empty()));
   }
 
   @Test
@@ -77,6 +79,7 @@ class BatchImporterTest {
     blocks.clear();
 
     asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).importBlocksBatch(List.of(block1, block2, block3)));
 
     blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
@@ -108,6 +111,7 @@ class BatchImporterTest {
     verifyNoInteractions(blockImporter);
 
     asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).importBlocksBatch(List.of(block1, block2, block3)));
 
     blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
@@ -139,6 +143,7 @@ class BatchImporterTest {
     verifyNoInteractions(blockImporter);
 
     asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).importBlocksBatch(List.of(block1, block2)));
 
     blockImportedSuccessfully(block1, importResult1);
     assertThat(result).isNotDone();
@@ -155,6 +160,53 @@ class BatchImporterTest {
     verifyNoMoreInteractions(blockImporter);
   }
 
+  @Test
+  void shouldImportBlocksAsBatchWhenPossible() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    final List<SignedBeaconBlock> blocks = List.of(block1, block2);
+    final SafeFuture<Optional<List<BlockImportResult>>> batchResult = new SafeFuture<>();
+    when(batch.getBlocks()).thenReturn(blocks);
+    when(blockImporter.importBlocksBatch(blocks)).thenReturn(batchResult);
+
+    final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
+
+    // Should not be started on the calling thread
+    verifyNoInteractions(blockImporter);
+
+    asyncRunner.executeQueuedActions();
+    ignoreFuture(verify(blockImporter).importBlocksBatch(blocks));
+    assertThat(result).isNotDone();
+
+    batchResult.complete(
+        Optional.of(
+            List.of(BlockImportResult.successful(block1), BlockImportResult.successful(block2))));
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORTED_ALL_BLOCKS);
+    verifyNoMoreInteractions(blockImporter);
+  }
+
+  @Test
+  void shouldFailWhenBlockInBatchFailsToImport() {
+    final SignedBeaconBlock block1 = dataStructureUtil.randomSignedBeaconBlock(1);
+    final SignedBeaconBlock block2 = dataStructureUtil.randomSignedBeaconBlock(2);
+    final List<SignedBeaconBlock> blocks = List.of(block1, block2);
+    when(batch.getBlocks()).thenReturn(blocks);
+    when(blockImporter.importBlocksBatch(blocks))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                Optional.of(
+                    List.of(
+                        BlockImportResult.successful(block1),
+                        BlockImportResult.FAILED_INVALID_ANCESTRY))));
+
+    final SafeFuture<BatchImportResult> result = importer.importBatch(batch);
+    asyncRunner.executeQueuedActions();
+
+    assertThat(result).isCompletedWithValue(BatchImportResult.IMPORT_FAILED);
+    ignoreFuture(verify(blockImporter).importBlocksBatch(blocks));
+    verifyNoMoreInteractions(blockImporter);
+  }
+
   private void blockImportedSuccessfully(
       final SignedBeaconBlock block, final SafeFuture<BlockImportResult> importResult1) {
     ignoreFuture(verify(blockImporter).importBlock(block));
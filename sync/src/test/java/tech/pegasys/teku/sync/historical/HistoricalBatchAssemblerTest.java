@@ -0,0 +1,222 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.sync.historical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.networking.p2p.mock.MockNodeId;
+import tech.pegasys.teku.networking.p2p.peer.NodeId;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.sync.historical.HistoricalBatchAssembler.AssemblyResult;
+import tech.pegasys.teku.sync.historical.HistoricalBatchAssembler.Batch;
+
+public class HistoricalBatchAssemblerTest {
+  private static final UInt64 BATCH_SIZE = UInt64.valueOf(10);
+  private static final UInt64 MAX_SLOT = UInt64.valueOf(24);
+
+  private final Spec spec = TestSpecFactory.createMinimalPhase0();
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final NodeId peer1 = new MockNodeId(1);
+  private final NodeId peer2 = new MockNodeId(2);
+  private final NodeId peer3 = new MockNodeId(3);
+
+  private final Batch batch1 = new Batch(UInt64.valueOf(15), UInt64.valueOf(24));
+  private final Batch batch2 = new Batch(UInt64.valueOf(5), UInt64.valueOf(14));
+  private final Batch batch3 = new Batch(UInt64.valueOf(0), UInt64.valueOf(4));
+
+  @Test
+  public void assignBatch_shouldAssignBatchesFromNewestSlotToGenesis() {
+    final HistoricalBatchAssembler assembler = createAssembler(Bytes32.ZERO, UInt64.valueOf(100));
+
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch1);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch3);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).isEmpty();
+  }
+
+  @Test
+  public void assignBatch_shouldNotAssignBatchesTooFarAhead() {
+    final HistoricalBatchAssembler assembler = createAssembler(Bytes32.ZERO, UInt64.valueOf(20));
+
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch1);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).isEmpty();
+  }
+
+  @Test
+  public void assignBatch_shouldAssignFailedBatchesFirst() {
+    final HistoricalBatchAssembler assembler = createAssembler(Bytes32.ZERO, UInt64.valueOf(100));
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch1);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+
+    assembler.onBatchFailed(batch2);
+    assembler.onBatchFailed(batch1);
+
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch1);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch3);
+  }
+
+  @Test
+  public void getExpectedBlockRoot_shouldOnlyBeKnownForNextBatchToAssemble() {
+    final List<SignedBeaconBlock> chain = createChain(slots(0, 24));
+    final HistoricalBatchAssembler assembler = createAssembler(chain);
+
+    assertThat(assembler.getExpectedBlockRoot(batch1)).contains(chain.get(24).getRoot());
+    assertThat(assembler.getExpectedBlockRoot(batch2)).isEmpty();
+
+    assembler.onBatchFetched(batch1, blocksIn(chain, batch1), peer1);
+    assertThat(assembler.getExpectedBlockRoot(batch2))
+        .contains(blocksIn(chain, batch2).get(blocksIn(chain, batch2).size() - 1).getRoot());
+  }
+
+  @Test
+  public void onBatchFetched_shouldAssembleBatchesFetchedOutOfOrder() {
+    final List<SignedBeaconBlock> chain = createChain(slots(0, 24));
+    final HistoricalBatchAssembler assembler = createAssembler(chain);
+
+    final AssemblyResult result3 = assembler.onBatchFetched(batch3, blocksIn(chain, batch3), peer3);
+    assertThat(result3.getAcceptedBlocks()).isEmpty();
+    final AssemblyResult result2 = assembler.onBatchFetched(batch2, blocksIn(chain, batch2), peer2);
+    assertThat(result2.getAcceptedBlocks()).isEmpty();
+    assertThat(assembler.isComplete()).isFalse();
+
+    final AssemblyResult result1 = assembler.onBatchFetched(batch1, blocksIn(chain, batch1), peer1);
+    assertThat(result1.getAcceptedBlocks()).containsExactlyElementsOf(chain);
+    assertThat(result1.getRejectedBatches()).isEmpty();
+    assertThat(assembler.isComplete()).isTrue();
+  }
+
+  @Test
+  public void onBatchFetched_shouldRejectBatchFromDifferentChain() {
+    final List<SignedBeaconBlock> chain = createChain(slots(0, 24));
+    final List<SignedBeaconBlock> fork = createChain(slots(0, 24));
+    final HistoricalBatchAssembler assembler = createAssembler(chain);
+
+    assertThat(assembler.onBatchFetched(batch1, blocksIn(chain, batch1), peer1).getAcceptedBlocks())
+        .containsExactlyElementsOf(blocksIn(chain, batch1));
+
+    final AssemblyResult result = assembler.onBatchFetched(batch2, blocksIn(fork, batch2), peer2);
+    assertThat(result.getAcceptedBlocks()).isEmpty();
+    assertThat(result.getRejectedBatches()).containsExactly(batch2);
+    assertThat(result.getChainBreakingSource()).contains(peer2);
+
+    // Rejected batch should be fetched again
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+    assertThat(assembler.onBatchFetched(batch2, blocksIn(chain, batch2), peer3).getAcceptedBlocks())
+        .containsExactlyElementsOf(blocksIn(chain, batch2));
+  }
+
+  @Test
+  public void onBatchFetched_shouldAcceptEmptyBatchForSkippedSlots() {
+    final List<SignedBeaconBlock> chain = createChain(slots(0, 4), slots(15, 24));
+    final HistoricalBatchAssembler assembler = createAssembler(chain);
+
+    assembler.onBatchFetched(batch1, blocksIn(chain, batch1), peer1);
+    assertThat(assembler.onBatchFetched(batch2, Collections.emptyList(), peer2).getAcceptedBlocks())
+        .isEmpty();
+    final AssemblyResult result = assembler.onBatchFetched(batch3, blocksIn(chain, batch3), peer3);
+
+    assertThat(result.getAcceptedBlocks()).containsExactlyElementsOf(blocksIn(chain, batch3));
+    assertThat(result.getRejectedBatches()).isEmpty();
+    assertThat(assembler.isComplete()).isTrue();
+  }
+
+  @Test
+  public void onBatchFetched_shouldRefetchEmptyBatchesWhenNextBatchDoesNotLinkUp() {
+    final List<SignedBeaconBlock> chain = createChain(slots(0, 24));
+    final HistoricalBatchAssembler assembler = createAssembler(chain);
+
+    assembler.onBatchFetched(batch1, blocksIn(chain, batch1), peer1);
+    // Peer withholds blocks
+    assembler.onBatchFetched(batch2, Collections.emptyList(), peer2);
+    final AssemblyResult result = assembler.onBatchFetched(batch3, blocksIn(chain, batch3), peer3);
+
+    assertThat(result.getAcceptedBlocks()).isEmpty();
+    assertThat(result.getRejectedBatches()).containsExactly(batch2, batch3);
+    // Either peer may be at fault
+    assertThat(result.getChainBreakingSource()).isEmpty();
+    assertThat(assembler.isComplete()).isFalse();
+
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch3);
+    assembler.onBatchFetched(batch3, blocksIn(chain, batch3), peer1);
+    assertThat(assembler.onBatchFetched(batch2, blocksIn(chain, batch2), peer1).getAcceptedBlocks())
+        .containsExactlyElementsOf(blocksIn(chain, new Batch(UInt64.ZERO, batch2.getEndSlot())));
+    assertThat(assembler.isComplete()).isTrue();
+  }
+
+  @Test
+  public void onBatchFetched_shouldRefetchEmptyBatchesWhenGenesisIsMissing() {
+    final List<SignedBeaconBlock> chain = createChain(slots(0, 24));
+    final HistoricalBatchAssembler assembler = createAssembler(chain);
+
+    assembler.onBatchFetched(batch1, blocksIn(chain, batch1), peer1);
+    assembler.onBatchFetched(batch2, blocksIn(chain, batch2), peer2);
+    final AssemblyResult result = assembler.onBatchFetched(batch3, Collections.emptyList(), peer3);
+
+    assertThat(result.getRejectedBatches()).containsExactly(batch3);
+    assertThat(assembler.isComplete()).isFalse();
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch3);
+  }
+
+  private HistoricalBatchAssembler createAssembler(final List<SignedBeaconBlock> chain) {
+    final HistoricalBatchAssembler assembler =
+        createAssembler(chain.get(chain.size() - 1).getRoot(), UInt64.valueOf(100));
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch1);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch2);
+    assertThat(assembler.assignBatch(BATCH_SIZE)).contains(batch3);
+    return assembler;
+  }
+
+  private HistoricalBatchAssembler createAssembler(
+      final Bytes32 expectedBlockRoot, final UInt64 maxSlotsAhead) {
+    return new HistoricalBatchAssembler(MAX_SLOT, expectedBlockRoot, maxSlotsAhead);
+  }
+
+  private List<SignedBeaconBlock> createChain(final LongStream... slotRanges) {
+    final List<SignedBeaconBlock> chain = new ArrayList<>();
+    Bytes32 parentRoot = Bytes32.ZERO;
+    for (LongStream slots : slotRanges) {
+      for (long slot : slots.toArray()) {
+        final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(slot, parentRoot);
+        chain.add(block);
+        parentRoot = block.getRoot();
+      }
+    }
+    return chain;
+  }
+
+  private LongStream slots(final long fromSlot, final long toSlot) {
+    return LongStream.rangeClosed(fromSlot, toSlot);
+  }
+
+  private List<SignedBeaconBlock> blocksIn(final List<SignedBeaconBlock> chain, final Batch batch) {
+    return chain.stream()
+        .filter(block -> block.getSlot().isGreaterThanOrEqualTo(batch.getStartSlot()))
+        .filter(block -> block.getSlot().isLessThanOrEqualTo(batch.getEndSlot()))
+        .collect(Collectors.toList());
+  }
+}
@@ -17,17 +17,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SyncAsyncRunner.SYNC_RUNNER;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.core.ChainBuilder;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
@@ -35,41 +33,25 @@ import tech.pegasys.teku.networking.eth2.peers.RespondingEth2Peer;
 import tech.pegasys.teku.networking.eth2.rpc.core.InvalidResponseException;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.TestSpecFactory;
-import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlockSummary;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBlockAndState;
-import tech.pegasys.teku.storage.api.StorageUpdateChannel;
 
 public class HistoricalBatchFetcherTest {
   private final Spec spec = TestSpecFactory.createDefault();
   private final ChainBuilder chainBuilder = ChainBuilder.create(spec);
-  private ChainBuilder forkBuilder;
-
-  @SuppressWarnings("unchecked")
-  private final StorageUpdateChannel storageUpdateChannel = mock(StorageUpdateChannel.class);
-
-  @SuppressWarnings("unchecked")
-  private final ArgumentCaptor<Collection<SignedBeaconBlock>> blockCaptor =
-      ArgumentCaptor.forClass(Collection.class);
 
   private final int maxRequests = 5;
   private List<SignedBeaconBlock> blockBatch;
   private SignedBeaconBlock firstBlockInBatch;
   private SignedBeaconBlock lastBlockInBatch;
+  private HistoricalBlockSignatureVerifier signatureVerifier;
   private HistoricalBatchFetcher fetcher;
   private RespondingEth2Peer peer;
 
   @BeforeEach
   public void setup() {
-    when(storageUpdateChannel.onFinalizedBlocks(any())).thenReturn(SafeFuture.COMPLETE);
-
-    // Set up main chain and fork chain
     chainBuilder.generateGenesis();
-    forkBuilder = chainBuilder.fork();
     chainBuilder.generateBlocksUpToSlot(20);
-    // Fork skips one block then creates a chain of the same size
-    forkBuilder.generateBlockAtSlot(2);
-    forkBuilder.generateBlocksUpToSlot(20);
 
     blockBatch =
         chainBuilder
@@ -79,29 +61,29 @@ public class HistoricalBatchFetcherTest {
     lastBlockInBatch = chainBuilder.getLatestBlockAndState().getBlock();
     firstBlockInBatch = blockBatch.get(0);
 
+    signatureVerifier =
+        new HistoricalBlockSignatureVerifier(
+            spec, SYNC_RUNNER, () -> Optional.of(chainBuilder.getLatestBlockAndState().getState()));
     peer = RespondingEth2Peer.create(spec, chainBuilder);
     fetcher =
         new HistoricalBatchFetcher(
-            storageUpdateChannel,
             peer,
+            firstBlockInBatch.getSlot(),
             lastBlockInBatch.getSlot(),
-            lastBlockInBatch.getRoot(),
-            UInt64.valueOf(blockBatch.size()),
+            Optional.of(lastBlockInBatch.getRoot()),
+            signatureVerifier,
             maxRequests);
   }
 
   @Test
   public void run_returnAllBlocksOnFirstRequest() {
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(1);
     peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    assertThat(future).isCompletedWithValue(firstBlockInBatch);
-
-    verify(storageUpdateChannel).onFinalizedBlocks(blockCaptor.capture());
-    assertThat(blockCaptor.getValue()).containsExactlyElementsOf(blockBatch);
+    assertThat(future).isCompletedWithValue(blockBatch);
   }
 
   @Test
@@ -112,24 +94,20 @@ public class HistoricalBatchFetcherTest {
         allBlocks -> allBlocks.stream().limit(limit).collect(Collectors.toList()));
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(1);
     peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(1);
     peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    assertThat(future).isCompletedWithValue(firstBlockInBatch);
-
-    verify(storageUpdateChannel).onFinalizedBlocks(blockCaptor.capture());
-    assertThat(blockCaptor.getValue()).containsExactlyElementsOf(blockBatch);
+    assertThat(future).isCompletedWithValue(blockBatch);
   }
 
   @Test
   public void run_requestBatchWithSkippedSlots() {
     final ChainBuilder chain = ChainBuilder.create(spec);
-    final int batchSize = 20;
-    final SignedBlockAndState genesis = chain.generateGenesis();
+    chain.generateGenesis();
     chain.generateBlockAtSlot(5);
     chain.generateBlocksUpToSlot(10);
     chain.generateBlockAtSlot(15);
@@ -145,95 +123,96 @@ public class HistoricalBatchFetcherTest {
     peer = RespondingEth2Peer.create(spec, chain);
     fetcher =
         new HistoricalBatchFetcher(
-            storageUpdateChannel,
             peer,
+            UInt64.ZERO,
             latestBlock.getSlot(),
-            latestBlock.getRoot(),
-            UInt64.valueOf(batchSize),
+            Optional.of(latestBlock.getRoot()),
+            signatureVerifier,
             maxRequests);
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(1);
     peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    assertThat(future).isCompletedWithValue(genesis.getBlock());
-
-    verify(storageUpdateChannel).onFinalizedBlocks(blockCaptor.capture());
-    assertThat(blockCaptor.getValue()).containsExactlyElementsOf(targetBatch);
+    assertThat(future).isCompletedWithValue(targetBatch);
   }
 
   @Test
   public void run_requestBatchForRangeOfEmptyBlocks() {
-    final int batchSize = 10;
     fetcher =
         new HistoricalBatchFetcher(
-            storageUpdateChannel,
             peer,
-            // Slot & batch size define an empty set of blocks
-            lastBlockInBatch.getSlot().plus(batchSize * 2),
-            lastBlockInBatch.getRoot(),
-            UInt64.valueOf(batchSize),
+            // Slots after the last block in the chain are empty
+            lastBlockInBatch.getSlot().plus(1),
+            lastBlockInBatch.getSlot().plus(10),
+            Optional.of(lastBlockInBatch.getRoot()),
+            signatureVerifier,
             maxRequests);
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
-    // Request by range will return nothing
-    for (int i = 0; i < maxRequests; i++) {
+    // Empty response
+    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
+    peer.completePendingRequests();
+    // Expected block is requested by root to confirm it is older than the range
+    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
+    peer.completePendingRequests();
+    assertThat(peer.getOutstandingRequests()).isEqualTo(0);
+    assertThat(future).isCompletedWithValue(Collections.emptyList());
+  }
+
+  @Test
+  public void run_failsWhenEmptyRangeCannotBeConfirmed() {
+    // Peer doesn't return anything
+    peer.setBlockRequestFilter(allBlocks -> Collections.emptyList());
+
+    assertThat(peer.getOutstandingRequests()).isEqualTo(0);
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
+
+    for (int i = 0; i < 2; i++) {
       assertThat(peer.getOutstandingRequests()).isEqualTo(1);
       peer.completePendingRequests();
     }
-    // Request by hash should return the final block
-    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
-    peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    assertThat(future).isCompletedWithValue(lastBlockInBatch);
 
-    verify(storageUpdateChannel).onFinalizedBlocks(blockCaptor.capture());
-    assertThat(blockCaptor.getValue()).containsExactly(lastBlockInBatch);
+    assertThat(future).isCompletedExceptionally();
+    assertThatThrownBy(future::get)
+        .hasCauseInstanceOf(InvalidResponseException.class)
+        .hasMessageContaining("Failed to deliver full batch");
   }
 
   @Test
-  public void run_peerReturnBlockFromADifferentChain() {
-    peer = RespondingEth2Peer.create(spec, forkBuilder);
-    fetcher =
-        new HistoricalBatchFetcher(
-            storageUpdateChannel,
-            peer,
-            lastBlockInBatch.getSlot(),
-            lastBlockInBatch.getRoot(),
-            UInt64.valueOf(blockBatch.size()),
-            maxRequests);
+  public void run_failsWhenExpectedBlockIsWithheldFromRange() {
+    // Peer returns nothing by range but knows the expected block
+    peer.setBlockRequestFilter(
+        allBlocks -> allBlocks.size() == 1 ? allBlocks : Collections.emptyList());
 
-    assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
-    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
-    peer.completePendingRequests();
+    for (int i = 0; i < 2; i++) {
+      assertThat(peer.getOutstandingRequests()).isEqualTo(1);
+      peer.completePendingRequests();
+    }
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
 
     assertThat(future).isCompletedExceptionally();
     assertThatThrownBy(future::get)
         .hasCauseInstanceOf(InvalidResponseException.class)
-        .hasMessageContaining("Received invalid blocks from a different chain");
-    verify(storageUpdateChannel, never()).onFinalizedBlocks(any());
+        .hasMessageContaining("Expected block was missing from requested range");
   }
 
   @Test
   public void run_throttleExcessivelyAcrossMultipleRequest() {
-    // Only return one block at a time, and fail to return the last block altogether
+    // Only return one block at a time
     final int limit = 1;
     peer.setBlockRequestFilter(
-        allBlocks ->
-            allBlocks.stream()
-                .filter(b -> !b.equals(lastBlockInBatch))
-                .limit(limit)
-                .collect(Collectors.toList()));
+        allBlocks -> allBlocks.stream().limit(limit).collect(Collectors.toList()));
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
     // We should exhaust blocks-by-range requests and then fail
     for (int i = 0; i < maxRequests; i++) {
@@ -246,12 +225,71 @@ public class HistoricalBatchFetcherTest {
     assertThatThrownBy(future::get)
         .hasCauseInstanceOf(InvalidResponseException.class)
         .hasMessageContaining("Failed to deliver full batch");
-    verify(storageUpdateChannel, never()).onFinalizedBlocks(any());
+  }
+
+  @Test
+  public void run_throttleExcessivelyWithoutExpectedBlock() {
+    fetcher =
+        new HistoricalBatchFetcher(
+            peer,
+            firstBlockInBatch.getSlot(),
+            lastBlockInBatch.getSlot(),
+            Optional.empty(),
+            signatureVerifier,
+            maxRequests);
+    peer.setBlockRequestFilter(
+        allBlocks -> allBlocks.stream().limit(1).collect(Collectors.toList()));
+
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
+
+    for (int i = 0; i < maxRequests; i++) {
+      assertThat(peer.getOutstandingRequests()).isEqualTo(1);
+      peer.completePendingRequests();
+    }
+    assertThat(peer.getOutstandingRequests()).isEqualTo(0);
+
+    // Slots that were never requested must not be treated as empty
+    assertThat(future).isCompletedExceptionally();
+    assertThatThrownBy(future::get)
+        .hasCauseInstanceOf(InvalidResponseException.class)
+        .hasMessageContaining("Failed to deliver full batch");
+  }
+
+  @Test
+  public void run_peerOnDifferentChain() {
+    final ChainBuilder chain = ChainBuilder.create(spec);
+    chain.generateGenesis();
+    chain.generateBlocksUpToSlot(5);
+    final ChainBuilder fork = chain.fork();
+    chain.generateBlocksUpToSlot(20);
+    fork.generateBlockAtSlot(7);
+    fork.generateBlocksUpToSlot(20);
+
+    peer = RespondingEth2Peer.create(spec, fork);
+    fetcher =
+        new HistoricalBatchFetcher(
+            peer,
+            UInt64.valueOf(10),
+            UInt64.valueOf(20),
+            Optional.of(chain.getBlockAtSlot(20).getRoot()),
+            signatureVerifier,
+            maxRequests);
+
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
+
+    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
+    peer.completePendingRequests();
+    assertThat(peer.getOutstandingRequests()).isEqualTo(0);
+
+    assertThat(future).isCompletedExceptionally();
+    assertThatThrownBy(future::get)
+        .hasCauseInstanceOf(InvalidResponseException.class)
+        .hasMessageContaining("Received invalid blocks from a different chain");
+    assertThat(peer.isConnected()).isFalse();
   }
 
   @Test
   public void run_peerReturnsError() {
-    // Only return one block at a time, and fail to return the last block altogether
     final RuntimeException error = new RuntimeException("oops");
     peer.setBlockRequestFilter(
         allBlocks -> {
@@ -259,7 +297,7 @@ public class HistoricalBatchFetcherTest {
         });
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
     // First request should return an error
     assertThat(peer.getOutstandingRequests()).isEqualTo(1);
@@ -268,7 +306,6 @@ public class HistoricalBatchFetcherTest {
 
     assertThat(future).isCompletedExceptionally();
     assertThatThrownBy(future::get).hasCause(error);
-    verify(storageUpdateChannel, never()).onFinalizedBlocks(any());
   }
 
   @Test
@@ -281,10 +318,10 @@ public class HistoricalBatchFetcherTest {
                 .collect(Collectors.toList()));
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
-    // We should exhaust blocks-by-range requests and then fail
-    for (int i = 0; i < maxRequests; i++) {
+    // The remaining slot is requested again before giving up
+    for (int i = 0; i < 2; i++) {
       assertThat(peer.getOutstandingRequests()).isEqualTo(1);
       peer.completePendingRequests();
     }
@@ -294,55 +331,54 @@ public class HistoricalBatchFetcherTest {
     assertThatThrownBy(future::get)
         .hasCauseInstanceOf(InvalidResponseException.class)
         .hasMessageContaining("Failed to deliver full batch");
-    verify(storageUpdateChannel, never()).onFinalizedBlocks(any());
   }
 
   @Test
-  public void run_unresponsivePeer() {
-    // Return nothing
-    peer.setBlockRequestFilter(allBlocks -> Collections.emptyList());
+  public void run_peerReturnsInvalidResponsesWithGaps() {
+    // Skip blocks on the boundary between requests
+    final int limit = (int) Math.ceil(blockBatch.size() / 2.0);
+    peer.setBlockRequestFilter(
+        allBlocks -> allBlocks.stream().limit(limit).skip(1).collect(Collectors.toList()));
 
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
-    // We should exhaust blocks-by-range requests
-    for (int i = 0; i < maxRequests; i++) {
+    // We should fail on the second request
+    for (int i = 0; i < 2; i++) {
       assertThat(peer.getOutstandingRequests()).isEqualTo(1);
       peer.completePendingRequests();
     }
-    // Then a final block-by-hash request before failing
-    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
-    peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
 
     assertThat(future).isCompletedExceptionally();
     assertThatThrownBy(future::get)
         .hasCauseInstanceOf(InvalidResponseException.class)
-        .hasMessageContaining("Failed to deliver full batch");
-    verify(storageUpdateChannel, never()).onFinalizedBlocks(any());
+        .hasMessageContaining("Expected first block to descend from last received block");
   }
 
   @Test
-  public void run_peerReturnsInvalidResponsesWithGaps() {
-    // Skip blocks on the boundary between requests
-    final int limit = (int) Math.ceil(blockBatch.size() / 2.0);
-    peer.setBlockRequestFilter(
-        allBlocks -> allBlocks.stream().limit(limit).skip(1).collect(Collectors.toList()));
+  public void run_peerReturnsBlocksWithInvalidSignatures() {
+    final HistoricalBlockSignatureVerifier signatureVerifier =
+        mock(HistoricalBlockSignatureVerifier.class);
+    when(signatureVerifier.verify(any())).thenReturn(SafeFuture.completedFuture(false));
+    fetcher =
+        new HistoricalBatchFetcher(
+            peer,
+            firstBlockInBatch.getSlot(),
+            lastBlockInBatch.getSlot(),
+            Optional.of(lastBlockInBatch.getRoot()),
+            signatureVerifier,
+            maxRequests);
 
-    assertThat(peer.getOutstandingRequests()).isEqualTo(0);
-    final SafeFuture<BeaconBlockSummary> future = fetcher.run();
+    final SafeFuture<List<SignedBeaconBlock>> future = fetcher.run();
 
-    // We should fail on the second request
-    for (int i = 0; i < 2; i++) {
-      assertThat(peer.getOutstandingRequests()).isEqualTo(1);
-      peer.completePendingRequests();
-    }
+    assertThat(peer.getOutstandingRequests()).isEqualTo(1);
+    peer.completePendingRequests();
     assertThat(peer.getOutstandingRequests()).isEqualTo(0);
 
     assertThat(future).isCompletedExceptionally();
     assertThatThrownBy(future::get)
         .hasCauseInstanceOf(InvalidResponseException.class)
-        .hasMessageContaining("Expected first block to descend from last received block");
-    verify(storageUpdateChannel, never()).onFinalizedBlocks(any());
+        .hasMessageContaining("Received blocks with invalid signatures");
   }
 }
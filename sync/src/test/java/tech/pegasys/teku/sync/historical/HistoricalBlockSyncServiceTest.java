@@ -21,6 +21,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SyncAsyncRunner.SYNC_RUNNER;
 
 import java.util.Collection;
 import java.util.List;
@@ -37,6 +38,7 @@ import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
 import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
 import tech.pegasys.teku.infrastructure.subscribers.Subscribers;
+import tech.pegasys.teku.infrastructure.time.StubTimeProvider;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networking.eth2.peers.Eth2Peer;
 import tech.pegasys.teku.networking.eth2.peers.RespondingEth2Peer;
@@ -77,6 +79,9 @@ public class HistoricalBlockSyncServiceTest {
           network,
           storageSystem.combinedChainDataClient(),
           syncStateProvider,
+          StubTimeProvider.withTimeInSeconds(0),
+          new HistoricalBlockSignatureVerifier(
+              spec, SYNC_RUNNER, storageSystem.combinedChainDataClient()::getFinalizedState),
           batchSize);
   private final Subscribers<SyncStateProvider.SyncStateSubscriber> syncStateSubscribers =
       Subscribers.create(false);
@@ -310,6 +315,55 @@ public class HistoricalBlockSyncServiceTest {
     assertBlocksSaved(expectedBlocks);
   }
 
+  @Test
+  public void shouldFetchBatchesFromMultiplePeersConcurrently() {
+    currentSyncState.set(SyncState.IN_SYNC);
+
+    // Setup chain
+    final int epochHeight = 10;
+    storageSystem.chainBuilder().generateGenesis();
+    storageSystem
+        .chainBuilder()
+        .generateBlocksUpToSlot(Constants.SLOTS_PER_EPOCH * epochHeight + 3);
+    final AnchorPoint anchor =
+        initializeChainAtEpoch(storageSystem.chainBuilder().getLatestEpoch());
+    final List<SignedBeaconBlock> expectedBlocks =
+        storageSystem
+            .chainBuilder()
+            .streamBlocksAndStates(0, anchor.getBlockSlot().longValue())
+            .map(SignedBlockAndState::getBlock)
+            .collect(Collectors.toList());
+
+    // Set up peers to respond
+    final RespondingEth2Peer peer1 = RespondingEth2Peer.create(spec, storageSystem.chainBuilder());
+    final RespondingEth2Peer peer2 = RespondingEth2Peer.create(spec, storageSystem.chainBuilder());
+    for (RespondingEth2Peer peer : List.of(peer1, peer2)) {
+      peer.updateStatus(
+          new Checkpoint(UInt64.valueOf(epochHeight * 2), Bytes32.ZERO),
+          new Checkpoint(UInt64.valueOf(epochHeight * 2), Bytes32.ZERO));
+    }
+    when(network.streamPeers()).thenAnswer(i -> Stream.of(peer1, peer2));
+
+    startService();
+
+    // Both peers should be asked for a batch
+    assertThat(peer1.getOutstandingRequests()).isEqualTo(1);
+    assertThat(peer2.getOutstandingRequests()).isEqualTo(1);
+
+    final int maxRequests =
+        storageSystem.chainBuilder().getLatestSlot().dividedBy(batchSize).plus(1).intValue();
+    int requestCount = 0;
+    while (service.isRunning() && requestCount <= maxRequests) {
+      // Respond from the second peer first so batches may be fetched out of order
+      peer2.completePendingRequests();
+      peer1.completePendingRequests();
+      requestCount++;
+    }
+
+    assertServiceFinished();
+    assertBlocksSaved(expectedBlocks);
+  }
+
   private void finishSyncing(
       final RespondingEth2Peer peer, final List<SignedBeaconBlock> expectedBlocks) {
     final int maxRequests =
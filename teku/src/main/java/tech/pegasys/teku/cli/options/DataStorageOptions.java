@@ -13,8 +13,10 @@
 
 package tech.pegasys.teku.cli.options;
 
+import java.time.Duration;
 import picocli.CommandLine;
 import tech.pegasys.teku.config.TekuConfiguration;
+import tech.pegasys.teku.infrastructure.exceptions.InvalidConfigurationException;
 import tech.pegasys.teku.storage.server.DatabaseVersion;
 import tech.pegasys.teku.storage.server.StateStorageMode;
 import tech.pegasys.teku.storage.server.VersionedDatabaseFactory;
@@ -24,7 +26,9 @@ public class DataStorageOptions {
       names = {"--data-storage-mode"},
       paramLabel = "<STORAGE_MODE>",
       description =
-          "Sets the strategy for handling historical chain data.  (Valid values: ${COMPLETION-CANDIDATES})",
+          "Sets the strategy for handling historical chain data.  (Valid values: ${COMPLETION-CANDIDATES})"
+              + " Note that TREE_ARCHIVE never prunes stored state tree nodes,"
+              + " so its database grows without bound like ARCHIVE.",
       arity = "1")
   private StateStorageMode dataStorageMode = StateStorageMode.PRUNE;
 
@@ -51,17 +55,32 @@ public class DataStorageOptions {
       arity = "0..1")
   private boolean storeNonCanonicalBlocksEnabled = false;
 
+  @CommandLine.Option(
+      names = {"--Xdata-storage-update-batch-delay"},
+      paramLabel = "<MILLISECONDS>",
+      description =
+          "Time to wait for further chain updates to combine into the same database transaction",
+      arity = "1",
+      hidden = true)
+  private long updateBatchDelayMillis = 0;
+
   public StateStorageMode getDataStorageMode() {
     return dataStorageMode;
   }
 
   public void configure(final TekuConfiguration.Builder builder) {
+    if (updateBatchDelayMillis < 0) {
+      throw new InvalidConfigurationException(
+          "Invalid configuration. --Xdata-storage-update-batch-delay must not be negative but was "
+              + updateBatchDelayMillis);
+    }
     builder.storageConfiguration(
         b ->
             b.dataStorageMode(dataStorageMode)
                 .dataStorageFrequency(dataStorageFrequency)
                 .dataStorageCreateDbVersion(parseDatabaseVersion())
-                .storeNonCanonicalBlocks(storeNonCanonicalBlocksEnabled));
+                .storeNonCanonicalBlocks(storeNonCanonicalBlocksEnabled)
+                .updateBatchDelay(Duration.ofMillis(updateBatchDelayMillis)));
   }
 
   private DatabaseVersion parseDatabaseVersion() {
@@ -20,6 +20,7 @@ import org.apache.commons.lang3.StringUtils;
 import picocli.CommandLine;
 import picocli.CommandLine.Option;
 import tech.pegasys.teku.config.TekuConfiguration;
+import tech.pegasys.teku.infrastructure.exceptions.InvalidConfigurationException;
 import tech.pegasys.teku.infrastructure.unsigned.UInt64;
 import tech.pegasys.teku.networks.Eth2NetworkConfiguration;
 
@@ -98,6 +99,16 @@ public class Eth2NetworkOptions {
       hidden = true)
   private Boolean forkChoiceBalanceAttackMitigationEnabled = null;
 
+  @Option(
+      names = {"--Xhash-tree-root-threads"},
+      paramLabel = "<NUMBER>",
+      description =
+          "Number of threads used to hash large modified parts of the state. 0 hashes on the"
+              + " calling thread.",
+      arity = "1",
+      hidden = true)
+  private Integer hashTreeRootThreads = null;
+
   public Eth2NetworkConfiguration getNetworkConfiguration() {
     return createEth2NetworkConfig();
   }
@@ -143,6 +154,14 @@ public class Eth2NetworkOptions {
     if (forkChoiceBalanceAttackMitigationEnabled != null) {
       builder.balanceAttackMitigationEnabled(forkChoiceBalanceAttackMitigationEnabled);
     }
+    if (hashTreeRootThreads != null) {
+      if (hashTreeRootThreads < 0) {
+        throw new InvalidConfigurationException(
+            "Invalid configuration. --Xhash-tree-root-threads must not be negative but was "
+                + hashTreeRootThreads);
+      }
+      builder.hashTreeRootThreads(hashTreeRootThreads);
+    }
     if (altairForkEpoch != null) {
       builder.altairForkEpoch(altairForkEpoch);
     }
@@ -99,6 +99,34 @@ public class ValidatorKeysOptions {
       arity = "1")
   private int validatorExternalSignerConcurrentRequestLimit = 32;
 
+  @CommandLine.Option(
+      names = {"--Xvalidators-external-signer-batch-window"},
+      paramLabel = "<INTEGER>",
+      description =
+          "Time in milliseconds to collect signing requests into a single batch request to the"
+              + " external signer. Batching is disabled when 0. Requires a signer supporting"
+              + " batch signing.",
+      hidden = true,
+      arity = "1")
+  private long validatorExternalSignerBatchWindow = 0;
+
+  @CommandLine.Option(
+      names = {"--Xvalidators-external-signer-batch-size"},
+      paramLabel = "<INTEGER>",
+      description = "The maximum number of signing requests to send to the signer in one batch.",
+      hidden = true,
+      arity = "1")
+  private int validatorExternalSignerBatchSize = 256;
+
+  @CommandLine.Option(
+      names = {"--Xvalidators-external-signer-http2-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description = "Use HTTP/2 for requests to the external signer when it supports it.",
+      hidden = true,
+      fallbackValue = "true",
+      arity = "0..1")
+  private boolean validatorExternalSignerHttp2Enabled = false;
+
   public void configure(TekuConfiguration.Builder builder) {
     builder.validator(
         config ->
@@ -109,6 +137,10 @@ public class ValidatorKeysOptions {
                 .validatorExternalSignerConcurrentRequestLimit(
                     validatorExternalSignerConcurrentRequestLimit)
                 .validatorExternalSignerTimeout(Duration.ofMillis(validatorExternalSignerTimeout))
+                .validatorExternalSignerBatchWindow(
+                    Duration.ofMillis(validatorExternalSignerBatchWindow))
+                .validatorExternalSignerBatchSize(validatorExternalSignerBatchSize)
+                .validatorExternalSignerHttp2Enabled(validatorExternalSignerHttp2Enabled)
                 .validatorExternalSignerKeystore(convertToPath(validatorExternalSignerKeystore))
                 .validatorExternalSignerKeystorePasswordFile(
                     convertToPath(validatorExternalSignerKeystorePasswordFile))
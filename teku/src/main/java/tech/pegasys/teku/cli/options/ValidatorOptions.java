@@ -87,6 +87,17 @@ public class ValidatorOptions {
       arity = "0..1")
   private boolean useDependentRoots = true;
 
+  @Option(
+      names = {"--Xvalidators-slashing-protection-journal-enabled"},
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Record slashing protection updates in a journal, syncing many updates to disk at once."
+              + " Default: false",
+      hidden = true,
+      fallbackValue = "true",
+      arity = "0..1")
+  private boolean slashingProtectionJournalEnabled = false;
+
   public void configure(TekuConfiguration.Builder builder) {
     if (validatorPerformanceTrackingEnabled != null) {
       if (validatorPerformanceTrackingEnabled) {
@@ -107,7 +118,8 @@ public class ValidatorOptions {
                     .graffitiProvider(
                         new FileBackedGraffitiProvider(
                             Optional.ofNullable(graffiti), Optional.ofNullable(graffitiFile)))
-                    .useDependentRoots(useDependentRoots))
+                    .useDependentRoots(useDependentRoots)
+                    .slashingProtectionJournalEnabled(slashingProtectionJournalEnabled))
         // We don't need to update head for empty slots when using dependent roots
         .store(b -> b.updateHeadForEmptySlots(!useDependentRoots));
     validatorKeysOptions.configure(builder);
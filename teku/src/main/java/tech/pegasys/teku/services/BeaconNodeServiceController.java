@@ -21,15 +21,23 @@ import tech.pegasys.teku.services.beaconchain.BeaconChainService;
 import tech.pegasys.teku.services.chainstorage.StorageService;
 import tech.pegasys.teku.services.powchain.PowchainService;
 import tech.pegasys.teku.services.timer.TimerService;
+import tech.pegasys.teku.statetransition.block.BlockEncodingCache;
 import tech.pegasys.teku.validator.client.ValidatorClientService;
 
 public class BeaconNodeServiceController extends ServiceController {
 
   public BeaconNodeServiceController(
       TekuConfiguration tekuConfig, final ServiceConfig serviceConfig) {
+    // Shared so blocks encoded for the network are written to storage without re-serializing.
+    final BlockEncodingCache blockEncodingCache =
+        new BlockEncodingCache(
+            serviceConfig.getMetricsSystem(), BlockEncodingCache.DEFAULT_MAX_SIZE_BYTES);
     // Note services will be started in the order they are added here.
-    services.add(new StorageService(serviceConfig, tekuConfig.storageConfiguration()));
-    services.add(new BeaconChainService(serviceConfig, tekuConfig.beaconChain()));
+    services.add(
+        new StorageService(
+            serviceConfig, tekuConfig.storageConfiguration(), blockEncodingCache::lookupSsz));
+    services.add(
+        new BeaconChainService(serviceConfig, tekuConfig.beaconChain(), blockEncodingCache));
     services.add(ValidatorClientService.create(serviceConfig, tekuConfig.validatorClient()));
     services.add(new TimerService(serviceConfig));
     services.add(
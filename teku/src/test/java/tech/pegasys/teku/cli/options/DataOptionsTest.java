@@ -18,6 +18,7 @@ import static tech.pegasys.teku.storage.server.StateStorageMode.ARCHIVE;
 import static tech.pegasys.teku.storage.server.StateStorageMode.PRUNE;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import tech.pegasys.teku.cli.AbstractBeaconNodeCommandTest;
 import tech.pegasys.teku.config.TekuConfiguration;
@@ -86,4 +87,27 @@ public class DataOptionsTest extends AbstractBeaconNodeCommandTest {
             .storageConfiguration();
     assertThat(config.getDataStorageCreateDbVersion()).isEqualTo(DatabaseVersion.NOOP);
   }
+
+  @Test
+  public void dataStorageUpdateBatchDelay_shouldDefault() {
+    final StorageConfiguration config = getTekuConfigurationFromArguments().storageConfiguration();
+    assertThat(config.getUpdateBatchDelay()).isEqualTo(Duration.ZERO);
+  }
+
+  @Test
+  public void dataStorageUpdateBatchDelay_shouldAcceptNonDefaultValues() {
+    final StorageConfiguration config =
+        getTekuConfigurationFromArguments("--Xdata-storage-update-batch-delay", "50")
+            .storageConfiguration();
+    assertThat(config.getUpdateBatchDelay()).isEqualTo(Duration.ofMillis(50));
+  }
+
+  @Test
+  public void dataStorageUpdateBatchDelay_shouldRejectNegativeValues() {
+    final int result =
+        beaconNodeCommand.parse(new String[] {"--Xdata-storage-update-batch-delay", "-1"});
+    assertThat(result).isGreaterThan(0);
+    assertThat(getCommandLineOutput())
+        .contains("--Xdata-storage-update-batch-delay must not be negative");
+  }
 }
@@ -41,4 +41,24 @@ class Eth2NetworkOptionsTest extends AbstractBeaconNodeCommandTest {
     assertThat(spec.getForkSchedule().getSpecMilestoneAtEpoch(UInt64.valueOf(64)))
         .isEqualTo(SpecMilestone.ALTAIR);
   }
+
+  @Test
+  void shouldHashTreeRootOnCallingThreadByDefault() {
+    final TekuConfiguration config = getTekuConfigurationFromArguments();
+    assertThat(config.eth2NetworkConfiguration().getHashTreeRootThreads()).isZero();
+  }
+
+  @Test
+  void shouldSetHashTreeRootThreads() {
+    final TekuConfiguration config =
+        getTekuConfigurationFromArguments("--Xhash-tree-root-threads", "4");
+    assertThat(config.eth2NetworkConfiguration().getHashTreeRootThreads()).isEqualTo(4);
+  }
+
+  @Test
+  void shouldRejectNegativeHashTreeRootThreads() {
+    final int result = beaconNodeCommand.parse(new String[] {"--Xhash-tree-root-threads", "-1"});
+    assertThat(result).isGreaterThan(0);
+    assertThat(getCommandLineOutput()).contains("--Xhash-tree-root-threads must not be negative");
+  }
 }
@@ -17,9 +17,9 @@ import java.util.List;
 import java.util.Objects;
 
 public class SubmitCommitteeSignaturesResult {
-  private final List<SubmitCommitteeSignatureError> errors;
+  private final List<SubmitDataError> errors;
 
-  public SubmitCommitteeSignaturesResult(final List<SubmitCommitteeSignatureError> errors) {
+  public SubmitCommitteeSignaturesResult(final List<SubmitDataError> errors) {
     this.errors = errors;
   }
 
@@ -36,7 +36,7 @@ public class SubmitCommitteeSignaturesResult {
     return Objects.hash(errors);
   }
 
-  public List<SubmitCommitteeSignatureError> getErrors() {
+  public List<SubmitDataError> getErrors() {
     return errors;
   }
 }
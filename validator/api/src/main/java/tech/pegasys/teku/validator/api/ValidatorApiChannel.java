@@ -75,11 +75,16 @@ public interface ValidatorApiChannel extends ChannelInterface {
 
   void sendSignedAttestation(Attestation attestation, Optional<Integer> validatorIndex);
 
+  SafeFuture<List<SubmitDataError>> sendSignedAttestations(List<Attestation> attestations);
+
   void sendAggregateAndProof(SignedAggregateAndProof aggregateAndProof);
 
+  SafeFuture<List<SubmitDataError>> sendAggregateAndProofs(
+      List<SignedAggregateAndProof> aggregateAndProofs);
+
   SafeFuture<SendSignedBlockResult> sendSignedBlock(SignedBeaconBlock block);
 
-  SafeFuture<List<SubmitCommitteeSignatureError>> sendSyncCommitteeSignatures(
+  SafeFuture<List<SubmitDataError>> sendSyncCommitteeSignatures(
       List<SyncCommitteeSignature> syncCommitteeSignatures);
 
   SafeFuture<Void> sendSignedContributionAndProofs(
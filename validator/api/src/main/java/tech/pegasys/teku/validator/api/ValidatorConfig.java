@@ -41,6 +41,10 @@ public class ValidatorConfig {
   private final Optional<URI> beaconNodeApiEndpoint;
   private final int validatorExternalSignerConcurrentRequestLimit;
   private final boolean useDependentRoots;
+  private final boolean slashingProtectionJournalEnabled;
+  private final Duration validatorExternalSignerBatchWindow;
+  private final int validatorExternalSignerBatchSize;
+  private final boolean validatorExternalSignerHttp2Enabled;
 
   private ValidatorConfig(
       final List<String> validatorKeys,
@@ -57,7 +61,11 @@ public class ValidatorConfig {
       final boolean validatorKeystoreLockingEnabled,
       final boolean validatorExternalSignerSlashingProtectionEnabled,
       final int validatorExternalSignerConcurrentRequestLimit,
-      final boolean useDependentRoots) {
+      final boolean useDependentRoots,
+      final boolean slashingProtectionJournalEnabled,
+      final Duration validatorExternalSignerBatchWindow,
+      final int validatorExternalSignerBatchSize,
+      final boolean validatorExternalSignerHttp2Enabled) {
     this.validatorKeys = validatorKeys;
     this.validatorExternalSignerPublicKeySources = validatorExternalSignerPublicKeySources;
     this.validatorExternalSignerUrl = validatorExternalSignerUrl;
@@ -76,6 +84,10 @@ public class ValidatorConfig {
     this.validatorExternalSignerConcurrentRequestLimit =
         validatorExternalSignerConcurrentRequestLimit;
     this.useDependentRoots = useDependentRoots;
+    this.slashingProtectionJournalEnabled = slashingProtectionJournalEnabled;
+    this.validatorExternalSignerBatchWindow = validatorExternalSignerBatchWindow;
+    this.validatorExternalSignerBatchSize = validatorExternalSignerBatchSize;
+    this.validatorExternalSignerHttp2Enabled = validatorExternalSignerHttp2Enabled;
   }
 
   public static Builder builder() {
@@ -110,6 +122,22 @@ public class ValidatorConfig {
     return validatorExternalSignerConcurrentRequestLimit;
   }
 
+  public boolean isValidatorExternalSignerBatchingEnabled() {
+    return !validatorExternalSignerBatchWindow.isZero();
+  }
+
+  public Duration getValidatorExternalSignerBatchWindow() {
+    return validatorExternalSignerBatchWindow;
+  }
+
+  public int getValidatorExternalSignerBatchSize() {
+    return validatorExternalSignerBatchSize;
+  }
+
+  public boolean isValidatorExternalSignerHttp2Enabled() {
+    return validatorExternalSignerHttp2Enabled;
+  }
+
   public Pair<Path, Path> getValidatorExternalSignerKeystorePasswordFilePair() {
     return Pair.of(validatorExternalSignerKeystore, validatorExternalSignerKeystorePasswordFile);
   }
@@ -143,6 +171,10 @@ public class ValidatorConfig {
     return useDependentRoots;
   }
 
+  public boolean isSlashingProtectionJournalEnabled() {
+    return slashingProtectionJournalEnabled;
+  }
+
   public static final class Builder {
 
     private List<String> validatorKeys = new ArrayList<>();
@@ -160,6 +192,10 @@ public class ValidatorConfig {
     private Optional<URI> beaconNodeApiEndpoint = Optional.empty();
     private boolean validatorExternalSignerSlashingProtectionEnabled = true;
     private boolean useDependentRoots = false;
+    private boolean slashingProtectionJournalEnabled = false;
+    private Duration validatorExternalSignerBatchWindow = Duration.ZERO;
+    private int validatorExternalSignerBatchSize = 256;
+    private boolean validatorExternalSignerHttp2Enabled = false;
 
     private Builder() {}
 
@@ -248,11 +284,35 @@ public class ValidatorConfig {
       return this;
     }
 
+    public Builder slashingProtectionJournalEnabled(
+        final boolean slashingProtectionJournalEnabled) {
+      this.slashingProtectionJournalEnabled = slashingProtectionJournalEnabled;
+      return this;
+    }
+
+    public Builder validatorExternalSignerBatchWindow(
+        final Duration validatorExternalSignerBatchWindow) {
+      this.validatorExternalSignerBatchWindow = validatorExternalSignerBatchWindow;
+      return this;
+    }
+
+    public Builder validatorExternalSignerBatchSize(final int validatorExternalSignerBatchSize) {
+      this.validatorExternalSignerBatchSize = validatorExternalSignerBatchSize;
+      return this;
+    }
+
+    public Builder validatorExternalSignerHttp2Enabled(
+        final boolean validatorExternalSignerHttp2Enabled) {
+      this.validatorExternalSignerHttp2Enabled = validatorExternalSignerHttp2Enabled;
+      return this;
+    }
+
     public ValidatorConfig build() {
       validateExternalSignerUrlAndPublicKeys();
       validateExternalSignerKeystoreAndPasswordFileConfig();
       validateExternalSignerTruststoreAndPasswordFileConfig();
       validateExternalSignerURLScheme();
+      validateExternalSignerBatchConfig();
       return new ValidatorConfig(
           validatorKeys,
           validatorExternalSignerPublicKeySources,
@@ -268,7 +328,26 @@ public class ValidatorConfig {
           validatorKeystoreLockingEnabled,
           validatorExternalSignerSlashingProtectionEnabled,
           validatorExternalSignerConcurrentRequestLimit,
-          useDependentRoots);
+          useDependentRoots,
+          slashingProtectionJournalEnabled,
+          validatorExternalSignerBatchWindow,
+          validatorExternalSignerBatchSize,
+          validatorExternalSignerHttp2Enabled);
+    }
+
+    private void validateExternalSignerBatchConfig() {
+      if (validatorExternalSignerBatchWindow.isNegative()) {
+        throw new InvalidConfigurationException(
+            String.format(
+                "Invalid configuration. '--Xvalidators-external-signer-batch-window' (%s ms) must not be negative",
+                validatorExternalSignerBatchWindow.toMillis()));
+      }
+      if (validatorExternalSignerBatchSize <= 0) {
+        throw new InvalidConfigurationException(
+            String.format(
+                "Invalid configuration. '--Xvalidators-external-signer-batch-size' (%d) must be greater than 0",
+                validatorExternalSignerBatchSize));
+      }
     }
 
     private void validateExternalSignerUrlAndPublicKeys() {
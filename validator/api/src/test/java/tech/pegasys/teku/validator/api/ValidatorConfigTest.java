@@ -16,9 +16,12 @@ package tech.pegasys.teku.validator.api;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import tech.pegasys.teku.bls.BLSTestUtil;
 import tech.pegasys.teku.infrastructure.exceptions.InvalidConfigurationException;
 
@@ -117,4 +120,27 @@ class ValidatorConfigTest {
 
     Assertions.assertThatCode(builder::build).doesNotThrowAnyException();
   }
+
+  @Test
+  public void shouldThrowExceptionIfExternalSignerBatchWindowIsNegative() {
+    final ValidatorConfig.Builder builder =
+        configBuilder.validatorExternalSignerBatchWindow(Duration.ofMillis(-1));
+    Assertions.assertThatExceptionOfType(InvalidConfigurationException.class)
+        .isThrownBy(builder::build)
+        .withMessageContaining(
+            "Invalid configuration. '--Xvalidators-external-signer-batch-window' (-1 ms) must not be negative");
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, -1})
+  public void shouldThrowExceptionIfExternalSignerBatchSizeIsNotPositive(final int batchSize) {
+    final ValidatorConfig.Builder builder =
+        configBuilder.validatorExternalSignerBatchSize(batchSize);
+    Assertions.assertThatExceptionOfType(InvalidConfigurationException.class)
+        .isThrownBy(builder::build)
+        .withMessageContaining(
+            "Invalid configuration. '--Xvalidators-external-signer-batch-size' ("
+                + batchSize
+                + ") must be greater than 0");
+  }
 }
@@ -41,7 +41,7 @@ import tech.pegasys.teku.validator.api.AttesterDuties;
 import tech.pegasys.teku.validator.api.CommitteeSubscriptionRequest;
 import tech.pegasys.teku.validator.api.ProposerDuties;
 import tech.pegasys.teku.validator.api.SendSignedBlockResult;
-import tech.pegasys.teku.validator.api.SubmitCommitteeSignatureError;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.SyncCommitteeDuties;
 import tech.pegasys.teku.validator.api.SyncCommitteeSubnetSubscription;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
@@ -290,12 +290,26 @@ public class MetricRecordingValidatorApiChannel implements ValidatorApiChannel {
     delegate.sendSignedAttestation(attestation, validatorIndex);
   }
 
+  @Override
+  public SafeFuture<List<SubmitDataError>> sendSignedAttestations(
+      final List<Attestation> attestations) {
+    sendAttestationRequestCounter.inc(attestations.size());
+    return delegate.sendSignedAttestations(attestations);
+  }
+
   @Override
   public void sendAggregateAndProof(final SignedAggregateAndProof aggregateAndProof) {
     sendAggregateRequestCounter.inc();
     delegate.sendAggregateAndProof(aggregateAndProof);
   }
 
+  @Override
+  public SafeFuture<List<SubmitDataError>> sendAggregateAndProofs(
+      final List<SignedAggregateAndProof> aggregateAndProofs) {
+    sendAggregateRequestCounter.inc(aggregateAndProofs.size());
+    return delegate.sendAggregateAndProofs(aggregateAndProofs);
+  }
+
   @Override
   public SafeFuture<SendSignedBlockResult> sendSignedBlock(final SignedBeaconBlock block) {
     sendBlockRequestCounter.inc();
@@ -303,7 +317,7 @@ public class MetricRecordingValidatorApiChannel implements ValidatorApiChannel {
   }
 
   @Override
-  public SafeFuture<List<SubmitCommitteeSignatureError>> sendSyncCommitteeSignatures(
+  public SafeFuture<List<SubmitDataError>> sendSyncCommitteeSignatures(
       final List<SyncCommitteeSignature> syncCommitteeSignatures) {
     sendSyncCommitteeSignaturesRequestCounter.inc();
     return delegate.sendSyncCommitteeSignatures(syncCommitteeSignatures);
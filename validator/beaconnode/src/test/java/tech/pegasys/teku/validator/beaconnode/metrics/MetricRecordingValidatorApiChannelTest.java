@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -129,10 +130,21 @@ class MetricRecordingValidatorApiChannelTest {
             "sendSignedAttestation",
             channel -> channel.sendSignedAttestation(dataStructureUtil.randomAttestation()),
             MetricRecordingValidatorApiChannel.PUBLISHED_ATTESTATION_COUNTER_NAME),
+        noResponseTest(
+            "sendSignedAttestations",
+            channel ->
+                channel.sendSignedAttestations(List.of(dataStructureUtil.randomAttestation())),
+            MetricRecordingValidatorApiChannel.PUBLISHED_ATTESTATION_COUNTER_NAME),
         noResponseTest(
             "sendAggregateAndProof",
             channel ->
                 channel.sendAggregateAndProof(dataStructureUtil.randomSignedAggregateAndProof()),
+            MetricRecordingValidatorApiChannel.PUBLISHED_AGGREGATE_COUNTER_NAME),
+        noResponseTest(
+            "sendAggregateAndProofs",
+            channel ->
+                channel.sendAggregateAndProofs(
+                    List.of(dataStructureUtil.randomSignedAggregateAndProof())),
             MetricRecordingValidatorApiChannel.PUBLISHED_AGGREGATE_COUNTER_NAME));
   }
 
@@ -13,11 +13,15 @@
 
 package tech.pegasys.teku.validator.client;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.core.signatures.JournalingSlashingProtector;
 import tech.pegasys.teku.core.signatures.LocalSlashingProtector;
 import tech.pegasys.teku.core.signatures.SlashingProtector;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
@@ -32,6 +36,7 @@ import tech.pegasys.teku.service.serviceutils.layout.DataDirLayout;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.spec.SpecMilestone;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
+import tech.pegasys.teku.validator.api.ValidatorConfig;
 import tech.pegasys.teku.validator.api.ValidatorTimingChannel;
 import tech.pegasys.teku.validator.beaconnode.BeaconNodeApi;
 import tech.pegasys.teku.validator.beaconnode.GenesisDataProvider;
@@ -52,6 +57,7 @@ public class ValidatorClientService extends Service {
   private final ValidatorLoader validatorLoader;
   private final BeaconNodeApi beaconNodeApi;
   private final ForkProvider forkProvider;
+  private final Optional<JournalingSlashingProtector> journalingSlashingProtector;
   private final Spec spec;
 
   private final List<ValidatorTimingChannel> validatorTimingChannels = new ArrayList<>();
@@ -67,12 +73,14 @@ public class ValidatorClientService extends Service {
       final ValidatorLoader validatorLoader,
       final BeaconNodeApi beaconNodeApi,
       final ForkProvider forkProvider,
+      final Optional<JournalingSlashingProtector> journalingSlashingProtector,
       final Spec spec,
       final MetricsSystem metricsSystem) {
     this.eventChannels = eventChannels;
     this.validatorLoader = validatorLoader;
     this.beaconNodeApi = beaconNodeApi;
     this.forkProvider = forkProvider;
+    this.journalingSlashingProtector = journalingSlashingProtector;
     this.spec = spec;
     this.metricsSystem = metricsSystem;
   }
@@ -99,7 +107,15 @@ public class ValidatorClientService extends Service {
         new GenesisDataProvider(asyncRunner, validatorApiChannel);
     final ForkProvider forkProvider = new ForkProvider(config.getSpec(), genesisDataProvider);
 
-    final ValidatorLoader validatorLoader = createValidatorLoader(config, asyncRunner, services);
+    final Path slashingProtectionPath = getSlashingProtectionPath(services.getDataDirLayout());
+    final Optional<JournalingSlashingProtector> journalingSlashingProtector =
+        createJournalingSlashingProtector(config.getValidatorConfig(), slashingProtectionPath);
+    final SlashingProtector slashingProtector =
+        journalingSlashingProtector.isPresent()
+            ? journalingSlashingProtector.get()
+            : new LocalSlashingProtector(new SyncDataAccessor(), slashingProtectionPath);
+    final ValidatorLoader validatorLoader =
+        createValidatorLoader(config, slashingProtector, asyncRunner, services);
 
     ValidatorClientService validatorClientService =
         new ValidatorClientService(
@@ -107,6 +123,7 @@ public class ValidatorClientService extends Service {
             validatorLoader,
             beaconNodeApi,
             forkProvider,
+            journalingSlashingProtector,
             config.getSpec(),
             services.getMetricsSystem());
 
@@ -121,11 +138,9 @@ public class ValidatorClientService extends Service {
 
   private static ValidatorLoader createValidatorLoader(
       final ValidatorClientConfiguration config,
+      final SlashingProtector slashingProtector,
       final AsyncRunner asyncRunner,
       final ServiceConfig services) {
-    final Path slashingProtectionPath = getSlashingProtectionPath(services.getDataDirLayout());
-    final SlashingProtector slashingProtector =
-        new LocalSlashingProtector(new SyncDataAccessor(), slashingProtectionPath);
     return ValidatorLoader.create(
         config.getSpec(),
         config.getValidatorConfig(),
@@ -136,6 +151,22 @@ public class ValidatorClientService extends Service {
         services.getMetricsSystem());
   }
 
+  private static Optional<JournalingSlashingProtector> createJournalingSlashingProtector(
+      final ValidatorConfig validatorConfig, final Path slashingProtectionPath) {
+    try {
+      // A previous run may have used the journal, so fold it whichever protector is used now
+      JournalingSlashingProtector.foldJournal(new SyncDataAccessor(), slashingProtectionPath);
+      if (!validatorConfig.isSlashingProtectionJournalEnabled()) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          JournalingSlashingProtector.create(new SyncDataAccessor(), slashingProtectionPath));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(
+          "Failed to load slashing protection journal from " + slashingProtectionPath, e);
+    }
+  }
+
   private void initializeValidators(
       ValidatorClientConfiguration config,
       ValidatorApiChannel validatorApiChannel,
@@ -231,6 +262,10 @@ public class ValidatorClientService extends Service {
 
   @Override
   protected SafeFuture<?> doStop() {
-    return beaconNodeApi.unsubscribeFromEvents();
+    return SafeFuture.allOf(
+        beaconNodeApi.unsubscribeFromEvents(),
+        journalingSlashingProtector
+            .map(JournalingSlashingProtector::stop)
+            .orElse(SafeFuture.COMPLETE));
   }
 }
@@ -13,9 +13,6 @@
 
 package tech.pegasys.teku.validator.client.duties;
 
-import static java.util.stream.Collectors.toList;
-import static tech.pegasys.teku.validator.client.duties.DutyResult.combine;
-
 import com.google.common.base.MoreObjects;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
@@ -87,18 +84,22 @@ public class AggregationDuty implements Duty {
   @Override
   public SafeFuture<DutyResult> performDuty() {
     LOG.trace("Aggregating attestations at slot {}", slot);
-    return combine(
-        aggregatorsByCommitteeIndex.values().stream()
-            .map(this::aggregateCommittee)
-            .collect(toList()));
+    return SafeFuture.collectAll(
+            aggregatorsByCommitteeIndex.values().stream().map(this::aggregateCommittee))
+        .thenCompose(
+            results ->
+                ProductionResult.send(
+                    results, "aggregate", validatorApiChannel::sendAggregateAndProofs));
   }
 
-  public SafeFuture<DutyResult> aggregateCommittee(final CommitteeAggregator aggregator) {
+  public SafeFuture<ProductionResult<SignedAggregateAndProof>> aggregateCommittee(
+      final CommitteeAggregator aggregator) {
     return aggregator
         .unsignedAttestationFuture
         .thenCompose(this::createAggregate)
-        .thenCompose(maybeAggregate -> sendAggregate(aggregator, maybeAggregate))
-        .exceptionally(error -> DutyResult.forError(aggregator.validator.getPublicKey(), error));
+        .thenCompose(maybeAggregate -> signAggregate(aggregator, maybeAggregate))
+        .exceptionally(
+            error -> ProductionResult.failure(aggregator.validator.getPublicKey(), error));
   }
 
   public CompletionStage<Optional<Attestation>> createAggregate(
@@ -111,11 +112,11 @@ public class AggregationDuty implements Duty {
     return validatorApiChannel.createAggregate(slot, attestationData.hashTreeRoot());
   }
 
-  private SafeFuture<DutyResult> sendAggregate(
+  private SafeFuture<ProductionResult<SignedAggregateAndProof>> signAggregate(
       final CommitteeAggregator aggregator, final Optional<Attestation> maybeAggregate) {
     if (maybeAggregate.isEmpty()) {
       validatorLogger.aggregationSkipped(slot, aggregator.attestationCommitteeIndex);
-      return SafeFuture.completedFuture(DutyResult.NO_OP);
+      return SafeFuture.completedFuture(ProductionResult.noop(aggregator.validator.getPublicKey()));
     }
     final Attestation aggregate = maybeAggregate.get();
     final AggregateAndProof aggregateAndProof =
@@ -126,12 +127,11 @@ public class AggregationDuty implements Duty {
             forkInfo ->
                 aggregator.validator.getSigner().signAggregateAndProof(aggregateAndProof, forkInfo))
         .thenApply(
-            signature -> {
-              validatorApiChannel.sendAggregateAndProof(
-                  new SignedAggregateAndProof(aggregateAndProof, signature));
-              return DutyResult.success(
-                  aggregateAndProof.getAggregate().getData().getBeacon_block_root());
-            });
+            signature ->
+                ProductionResult.success(
+                    aggregator.validator.getPublicKey(),
+                    aggregate.getData().getBeacon_block_root(),
+                    new SignedAggregateAndProof(aggregateAndProof, signature)));
   }
 
   private static class CommitteeAggregator {
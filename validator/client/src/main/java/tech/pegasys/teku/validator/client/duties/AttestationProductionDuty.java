@@ -128,14 +128,14 @@ public class AttestationProductionDuty implements Duty {
 
   private SafeFuture<DutyResult> signAttestationsForCommittee(
       final ForkInfo forkInfo, final Committee validators, final AttestationData attestationData) {
-    return DutyResult.combine(
+    return ProductionResult.sendAsCompleted(
         validators.forEach(
-            validator ->
-                signAttestationForValidator(forkInfo, attestationData, validator)
-                    .exceptionally(error -> DutyResult.forError(validator.getPublicKey(), error))));
+            validator -> signAttestationForValidator(forkInfo, attestationData, validator)),
+        "attestation",
+        validatorApiChannel::sendSignedAttestations);
   }
 
-  private SafeFuture<DutyResult> signAttestationForValidator(
+  private SafeFuture<ProductionResult<Attestation>> signAttestationForValidator(
       final ForkInfo forkInfo,
       final AttestationData attestationData,
       final ValidatorWithCommitteePositionAndIndex validator) {
@@ -147,12 +147,13 @@ public class AttestationProductionDuty implements Duty {
     return validator
         .getSigner()
         .signAttestationData(attestationData, forkInfo)
-        .thenApply(signature -> createSignedAttestation(attestationData, validator, signature))
-        .thenAccept(
-            signedAttestation ->
-                validatorApiChannel.sendSignedAttestation(
-                    signedAttestation, Optional.of(validator.getValidatorIndex())))
-        .thenApply(__ -> DutyResult.success(attestationData.getBeacon_block_root()));
+        .thenApply(
+            signature ->
+                ProductionResult.success(
+                    validator.getPublicKey(),
+                    attestationData.getBeacon_block_root(),
+                    createSignedAttestation(attestationData, validator, signature)))
+        .exceptionally(error -> ProductionResult.failure(validator.getPublicKey(), error));
   }
 
   private Attestation createSignedAttestation(
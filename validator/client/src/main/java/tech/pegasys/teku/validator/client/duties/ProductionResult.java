@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.duties;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.validator.api.SubmitDataError;
+
+/**
+ * The outcome of producing a single signed message for a validator, used by duties which sign
+ * messages for many validators and then submit them to the beacon node as a single list.
+ */
+public class ProductionResult<T> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final BLSPublicKey validatorPublicKey;
+  private final DutyResult result;
+  private final Optional<T> message;
+
+  private ProductionResult(
+      final BLSPublicKey validatorPublicKey, final DutyResult result, final Optional<T> message) {
+    this.validatorPublicKey = validatorPublicKey;
+    this.result = result;
+    this.message = message;
+  }
+
+  public static <T> ProductionResult<T> success(
+      final BLSPublicKey validatorPublicKey, final Bytes32 blockRoot, final T message) {
+    return new ProductionResult<>(
+        validatorPublicKey, DutyResult.success(blockRoot), Optional.of(message));
+  }
+
+  public static <T> ProductionResult<T> noop(final BLSPublicKey validatorPublicKey) {
+    return new ProductionResult<>(validatorPublicKey, DutyResult.NO_OP, Optional.empty());
+  }
+
+  public static <T> ProductionResult<T> failure(
+      final BLSPublicKey validatorPublicKey, final Throwable error) {
+    return new ProductionResult<>(
+        validatorPublicKey, DutyResult.forError(validatorPublicKey, error), Optional.empty());
+  }
+
+  /**
+   * Submits the messages from all successful results in a single request and combines the outcome
+   * of every result, replacing the result of any message the beacon node rejected with an error.
+   *
+   * @param results the production results
+   * @param messageType description of the message type for use in log messages
+   * @param sender function submitting the messages and returning the errors reported for them
+   * @return a future completed with the combined duty result
+   */
+  public static <T> SafeFuture<DutyResult> send(
+      final List<ProductionResult<T>> results,
+      final String messageType,
+      final Function<List<T>, SafeFuture<List<SubmitDataError>>> sender) {
+    // Split into results that produced a message vs those that failed already
+    final List<ProductionResult<T>> messageCreated =
+        results.stream().filter(result -> result.message.isPresent()).collect(toList());
+    final DutyResult combinedFailures =
+        combineResults(
+            results.stream().filter(result -> result.message.isEmpty()).collect(toList()));
+
+    if (messageCreated.isEmpty()) {
+      return SafeFuture.completedFuture(combinedFailures);
+    }
+
+    return sender
+        .apply(
+            messageCreated.stream().map(result -> result.message.orElseThrow()).collect(toList()))
+        .thenApply(
+            errors -> {
+              errors.forEach(error -> replaceResult(messageCreated, messageType, error));
+              return combineResults(messageCreated).combine(combinedFailures);
+            });
+  }
+
+  /**
+   * Submits the messages from results as they complete rather than waiting for every result, so a
+   * slow signer doesn't delay the messages of every other validator.
+   *
+   * <p>Results which are already complete are submitted in a single request. Results completing
+   * while a request is in progress are submitted together in the next request once it finishes.
+   *
+   * @param results the pending production results
+   * @param messageType description of the message type for use in log messages
+   * @param sender function submitting the messages and returning the errors reported for them
+   * @return a future completed with the combined duty result once every message is submitted
+   */
+  public static <T> SafeFuture<DutyResult> sendAsCompleted(
+      final List<SafeFuture<ProductionResult<T>>> results,
+      final String messageType,
+      final Function<List<T>, SafeFuture<List<SubmitDataError>>> sender) {
+    final CompletedResultBatcher<T> batcher = new CompletedResultBatcher<>(messageType, sender);
+    final SafeFuture<Void> allAdded =
+        SafeFuture.allOf(
+            results.stream()
+                .map(result -> result.thenAccept(batcher::add))
+                .toArray(SafeFuture[]::new));
+    batcher.start();
+    return allAdded.thenCompose(__ -> batcher.getCombinedResult());
+  }
+
+  private static <T> DutyResult combineResults(final List<ProductionResult<T>> results) {
+    return results.stream()
+        .map(result -> result.result)
+        .reduce(DutyResult::combine)
+        .orElse(DutyResult.NO_OP);
+  }
+
+  private static <T> void replaceResult(
+      final List<ProductionResult<T>> sentResults,
+      final String messageType,
+      final SubmitDataError error) {
+    if (error.getIndex().isGreaterThanOrEqualTo(sentResults.size())) {
+      LOG.error(
+          "Beacon node reported an error sending {} at index {} with message '{}' but only {}"
+              + " were sent",
+          messageType,
+          error.getIndex(),
+          error.getMessage(),
+          sentResults.size());
+      return;
+    }
+    final int index = error.getIndex().intValue();
+    final BLSPublicKey validatorPublicKey = sentResults.get(index).validatorPublicKey;
+    sentResults.set(
+        index,
+        new ProductionResult<>(
+            validatorPublicKey,
+            DutyResult.forError(
+                validatorPublicKey, new RestApiReportedException(error.getMessage())),
+            Optional.empty()));
+  }
+
+  private static class CompletedResultBatcher<T> {
+    private final String messageType;
+    private final Function<List<T>, SafeFuture<List<SubmitDataError>>> sender;
+    private final SafeFuture<Void> started = new SafeFuture<>();
+
+    private List<ProductionResult<T>> pending = new ArrayList<>();
+    private SafeFuture<DutyResult> lastSend = started.thenApply(__ -> DutyResult.NO_OP);
+
+    private CompletedResultBatcher(
+        final String messageType,
+        final Function<List<T>, SafeFuture<List<SubmitDataError>>> sender) {
+      this.messageType = messageType;
+      this.sender = sender;
+    }
+
+    public synchronized void add(final ProductionResult<T> result) {
+      pending.add(result);
+      if (pending.size() == 1) {
+        // Sent after the previous request, along with anything else added in the meantime
+        lastSend = lastSend.thenCompose(previous -> sendPending().thenApply(previous::combine));
+      }
+    }
+
+    /** Allows the first request to be sent, once the results already complete have been added */
+    public void start() {
+      started.complete(null);
+    }
+
+    public synchronized SafeFuture<DutyResult> getCombinedResult() {
+      return lastSend;
+    }
+
+    private SafeFuture<DutyResult> sendPending() {
+      final List<ProductionResult<T>> batch;
+      synchronized (this) {
+        batch = pending;
+        pending = new ArrayList<>();
+      }
+      return send(batch, messageType, sender)
+          .exceptionally(
+              error ->
+                  DutyResult.forError(
+                      batch.stream().map(result -> result.validatorPublicKey).collect(toSet()),
+                      error));
+    }
+  }
+}
@@ -18,6 +18,7 @@ import static tech.pegasys.teku.infrastructure.logging.StatusLogger.STATUS_LOG;
 
 import java.net.http.HttpClient;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Supplier;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import tech.pegasys.teku.bls.BLSPublicKey;
@@ -25,11 +26,14 @@ import tech.pegasys.teku.core.signatures.Signer;
 import tech.pegasys.teku.infrastructure.async.AsyncRunner;
 import tech.pegasys.teku.infrastructure.async.ThrottlingTaskQueue;
 import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.provider.JsonProvider;
 import tech.pegasys.teku.spec.Spec;
 import tech.pegasys.teku.validator.api.ValidatorConfig;
 import tech.pegasys.teku.validator.client.signer.ExternalSigner;
+import tech.pegasys.teku.validator.client.signer.ExternalSignerBatcher;
 import tech.pegasys.teku.validator.client.signer.ExternalSignerStatusLogger;
 import tech.pegasys.teku.validator.client.signer.ExternalSignerUpcheck;
+import tech.pegasys.teku.validator.client.signer.JsonBatchSigningFormat;
 
 public class ExternalValidatorSource implements ValidatorSource {
 
@@ -38,6 +42,7 @@ public class ExternalValidatorSource implements ValidatorSource {
   private final Supplier<HttpClient> externalSignerHttpClientFactory;
   private final PublicKeyLoader publicKeyLoader;
   private final ThrottlingTaskQueue externalSignerTaskQueue;
+  private final Optional<ExternalSignerBatcher> externalSignerBatcher;
   private final MetricsSystem metricsSystem;
 
   private ExternalValidatorSource(
@@ -46,12 +51,14 @@ public class ExternalValidatorSource implements ValidatorSource {
       final Supplier<HttpClient> externalSignerHttpClientFactory,
       final PublicKeyLoader publicKeyLoader,
       final ThrottlingTaskQueue externalSignerTaskQueue,
+      final Optional<ExternalSignerBatcher> externalSignerBatcher,
       final MetricsSystem metricsSystem) {
     this.spec = spec;
     this.config = config;
     this.externalSignerHttpClientFactory = externalSignerHttpClientFactory;
     this.publicKeyLoader = publicKeyLoader;
     this.externalSignerTaskQueue = externalSignerTaskQueue;
+    this.externalSignerBatcher = externalSignerBatcher;
     this.metricsSystem = metricsSystem;
   }
 
@@ -68,6 +75,20 @@ public class ExternalValidatorSource implements ValidatorSource {
             metricsSystem,
             TekuMetricCategory.VALIDATOR,
             "external_signer_request_queue_size");
+    final Optional<ExternalSignerBatcher> externalSignerBatcher =
+        config.isValidatorExternalSignerBatchingEnabled()
+            ? Optional.of(
+                new ExternalSignerBatcher(
+                    externalSignerHttpClientFactory.get(),
+                    config.getValidatorExternalSignerUrl(),
+                    config.getValidatorExternalSignerTimeout(),
+                    new JsonBatchSigningFormat(new JsonProvider()),
+                    asyncRunner,
+                    externalSignerTaskQueue,
+                    config.getValidatorExternalSignerBatchWindow(),
+                    config.getValidatorExternalSignerBatchSize(),
+                    metricsSystem))
+            : Optional.empty();
     setupExternalSignerStatusLogging(config, externalSignerHttpClientFactory, asyncRunner);
     return new ExternalValidatorSource(
         spec,
@@ -75,6 +96,7 @@ public class ExternalValidatorSource implements ValidatorSource {
         externalSignerHttpClientFactory,
         publicKeyLoader,
         externalSignerTaskQueue,
+        externalSignerBatcher,
         metricsSystem);
   }
 
@@ -132,6 +154,7 @@ public class ExternalValidatorSource implements ValidatorSource {
           publicKey,
           config.getValidatorExternalSignerTimeout(),
           externalSignerTaskQueue,
+          externalSignerBatcher,
           metricsSystem);
     }
   }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import java.util.function.Supplier;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+
+/** A single signing request waiting to be sent to the external signer as part of a batch. */
+public class BatchSigningRequest {
+  private final BLSPublicKey publicKey;
+  private final SigningRequestBody body;
+  private final Supplier<String> slashableMessage;
+  private final SafeFuture<BLSSignature> result = new SafeFuture<>();
+
+  public BatchSigningRequest(
+      final BLSPublicKey publicKey,
+      final SigningRequestBody body,
+      final Supplier<String> slashableMessage) {
+    this.publicKey = publicKey;
+    this.body = body;
+    this.slashableMessage = slashableMessage;
+  }
+
+  public BLSPublicKey getPublicKey() {
+    return publicKey;
+  }
+
+  public SigningRequestBody getBody() {
+    return body;
+  }
+
+  public SafeFuture<BLSSignature> getResult() {
+    return result;
+  }
+
+  public void complete(final BLSSignature signature) {
+    result.complete(signature);
+  }
+
+  /** Fails the request because the signer refused to sign as it may be slashable. */
+  public void refuse() {
+    result.completeExceptionally(new ExternalSignerException(slashableMessage.get()));
+  }
+
+  public void fail(final Throwable error) {
+    result.completeExceptionally(error);
+  }
+}
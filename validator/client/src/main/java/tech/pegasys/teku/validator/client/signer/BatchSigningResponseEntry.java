@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_OK;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Optional;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchSigningResponseEntry {
+  private final Optional<String> signature;
+  private final int status;
+
+  @JsonCreator
+  public BatchSigningResponseEntry(
+      @JsonProperty("signature") final String signature,
+      @JsonProperty("status") final Integer status) {
+    this.signature = Optional.ofNullable(signature);
+    this.status = status != null ? status : SC_OK;
+  }
+
+  public Optional<String> getSignature() {
+    return signature;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+}
@@ -29,6 +29,7 @@ import java.net.http.HttpResponse.BodyHandlers;
 import java.net.http.HttpTimeoutException;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.tuweni.bytes.Bytes;
@@ -59,7 +60,8 @@ import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
 public class ExternalSigner implements Signer {
   public static final String EXTERNAL_SIGNER_ENDPOINT = "/api/v1/eth2/sign";
   private static final String FORK_INFO = "fork_info";
-  private final JsonProvider jsonProvider = new JsonProvider();
+  // Shared by all external signers as each provider holds its own ObjectMapper
+  private static final JsonProvider JSON_PROVIDER = new JsonProvider();
   private final URL signingServiceUrl;
   private final BLSPublicKey blsPublicKey;
   private final Duration timeout;
@@ -67,6 +69,7 @@ public class ExternalSigner implements Signer {
   private final HttpClient httpClient;
   private final ThrottlingTaskQueue taskQueue;
   private final SigningRootUtil signingRootUtil;
+  private final Optional<ExternalSignerBatcher> batcher;
 
   private final Counter successCounter;
   private final Counter failedCounter;
@@ -80,6 +83,26 @@ public class ExternalSigner implements Signer {
       final Duration timeout,
       final ThrottlingTaskQueue taskQueue,
       final MetricsSystem metricsSystem) {
+    this(
+        spec,
+        httpClient,
+        signingServiceUrl,
+        blsPublicKey,
+        timeout,
+        taskQueue,
+        Optional.empty(),
+        metricsSystem);
+  }
+
+  public ExternalSigner(
+      final Spec spec,
+      final HttpClient httpClient,
+      final URL signingServiceUrl,
+      final BLSPublicKey blsPublicKey,
+      final Duration timeout,
+      final ThrottlingTaskQueue taskQueue,
+      final Optional<ExternalSignerBatcher> batcher,
+      final MetricsSystem metricsSystem) {
     this.spec = spec;
     this.httpClient = httpClient;
     this.signingServiceUrl = signingServiceUrl;
@@ -87,6 +110,7 @@ public class ExternalSigner implements Signer {
     this.timeout = timeout;
     this.taskQueue = taskQueue;
     this.signingRootUtil = new SigningRootUtil(spec);
+    this.batcher = batcher;
 
     final LabelledMetric<Counter> labelledCounter =
         metricsSystem.createLabelledCounter(
@@ -273,6 +297,17 @@ public class ExternalSigner implements Signer {
       final SignType type,
       final Map<String, Object> metadata,
       final Supplier<String> slashableMessage) {
+    if (batcher.isPresent()) {
+      return SafeFuture.of(
+              () ->
+                  batcher
+                      .get()
+                      .sign(
+                          blsPublicKey,
+                          new SigningRequestBody(signingRoot, type, metadata),
+                          slashableMessage))
+          .whenComplete(this::recordMetrics);
+    }
     final String publicKey = blsPublicKey.toBytesCompressed().toString();
     return SafeFuture.of(
             () -> {
@@ -297,7 +332,7 @@ public class ExternalSigner implements Signer {
   private String createSigningRequestBody(
       final Bytes signingRoot, final SignType type, final Map<String, Object> metadata) {
     try {
-      return jsonProvider.objectToJSON(new SigningRequestBody(signingRoot, type, metadata));
+      return JSON_PROVIDER.objectToJSON(new SigningRequestBody(signingRoot, type, metadata));
     } catch (final JsonProcessingException e) {
       throw new ExternalSignerException("Unable to create external signing request", e);
     }
@@ -326,7 +361,9 @@ public class ExternalSigner implements Signer {
       final String returnedContentType = response.headers().firstValue("Content-Type").orElse("");
       final String signatureHexStr =
           returnedContentType.startsWith("application/json")
-              ? jsonProvider.jsonToObject(response.body(), SigningResponseBody.class).getSignature()
+              ? JSON_PROVIDER
+                  .jsonToObject(response.body(), SigningResponseBody.class)
+                  .getSignature()
               : response.body();
 
       final Bytes signature = Bytes.fromHexString(signatureHexStr);
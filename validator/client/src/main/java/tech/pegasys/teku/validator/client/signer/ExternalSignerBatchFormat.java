@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/** The wire format used to send a batch of signing requests to the external signer. */
+public interface ExternalSignerBatchFormat {
+
+  HttpRequest createRequest(
+      URI signingServiceUri, Duration timeout, List<BatchSigningRequest> requests);
+
+  /**
+   * Completes each of the requests from the signer's response to the batch. Requests which are not
+   * completed by this method are failed by the caller.
+   */
+  void processResponse(HttpResponse<String> response, List<BatchSigningRequest> requests);
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import com.google.common.base.Throwables;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.AsyncRunner;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.ThrottlingTaskQueue;
+import tech.pegasys.teku.infrastructure.metrics.MetricsHistogram;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+
+/**
+ * Collects signing requests for all external validators and sends them to the external signer in
+ * batches.
+ *
+ * <p>A batch is sent once it reaches the maximum batch size or when the batch window has elapsed
+ * since the first request was queued, whichever comes first. Each caller still receives a future
+ * for its own signature.
+ */
+public class ExternalSignerBatcher {
+  private final HttpClient httpClient;
+  private final URL signingServiceUrl;
+  private final Duration timeout;
+  private final ExternalSignerBatchFormat batchFormat;
+  private final AsyncRunner asyncRunner;
+  private final ThrottlingTaskQueue taskQueue;
+  private final Duration batchWindow;
+  private final int maxBatchSize;
+
+  private final MetricsHistogram batchSizeHistogram;
+  private final MetricsHistogram batchDurationHistogram;
+
+  private List<BatchSigningRequest> pendingRequests = new ArrayList<>();
+  private boolean flushScheduled = false;
+
+  public ExternalSignerBatcher(
+      final HttpClient httpClient,
+      final URL signingServiceUrl,
+      final Duration timeout,
+      final ExternalSignerBatchFormat batchFormat,
+      final AsyncRunner asyncRunner,
+      final ThrottlingTaskQueue taskQueue,
+      final Duration batchWindow,
+      final int maxBatchSize,
+      final MetricsSystem metricsSystem) {
+    this.httpClient = httpClient;
+    this.signingServiceUrl = signingServiceUrl;
+    this.timeout = timeout;
+    this.batchFormat = batchFormat;
+    this.asyncRunner = asyncRunner;
+    this.taskQueue = taskQueue;
+    this.batchWindow = batchWindow;
+    this.maxBatchSize = maxBatchSize;
+
+    batchSizeHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.VALIDATOR,
+            metricsSystem,
+            "external_signer_batch_size",
+            "Histogram of the number of signing requests sent in each batch",
+            1);
+    batchDurationHistogram =
+        MetricsHistogram.create(
+            TekuMetricCategory.VALIDATOR,
+            metricsSystem,
+            "external_signer_batch_duration",
+            "Histogram of the time in milliseconds taken for the signer to respond to a batch",
+            1);
+  }
+
+  public SafeFuture<BLSSignature> sign(
+      final BLSPublicKey publicKey,
+      final SigningRequestBody body,
+      final Supplier<String> slashableMessage) {
+    final BatchSigningRequest request = new BatchSigningRequest(publicKey, body, slashableMessage);
+    final Optional<List<BatchSigningRequest>> fullBatch;
+    synchronized (this) {
+      pendingRequests.add(request);
+      if (pendingRequests.size() >= maxBatchSize) {
+        fullBatch = Optional.of(takePendingRequests());
+      } else {
+        fullBatch = Optional.empty();
+        if (!flushScheduled) {
+          flushScheduled = true;
+          asyncRunner.runAfterDelay(this::flush, batchWindow).reportExceptions();
+        }
+      }
+    }
+    fullBatch.ifPresent(this::sendBatch);
+    return request.getResult();
+  }
+
+  private void flush() {
+    final List<BatchSigningRequest> batch;
+    synchronized (this) {
+      flushScheduled = false;
+      batch = takePendingRequests();
+    }
+    if (!batch.isEmpty()) {
+      sendBatch(batch);
+    }
+  }
+
+  private synchronized List<BatchSigningRequest> takePendingRequests() {
+    final List<BatchSigningRequest> batch = pendingRequests;
+    pendingRequests = new ArrayList<>();
+    return batch;
+  }
+
+  private void sendBatch(final List<BatchSigningRequest> batch) {
+    batchSizeHistogram.recordValue(batch.size());
+    final long startTime = System.nanoTime();
+    taskQueue
+        .queueTask(
+            () ->
+                SafeFuture.of(
+                    () ->
+                        httpClient.sendAsync(
+                            batchFormat.createRequest(signingServiceUrl.toURI(), timeout, batch),
+                            BodyHandlers.ofString())))
+        .thenAccept(
+            response -> {
+              batchDurationHistogram.recordValue(
+                  TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+              batchFormat.processResponse(response, batch);
+            })
+        .finish(
+            () -> {
+              // Fail any requests the response didn't include a result for
+              final ExternalSignerException error =
+                  new ExternalSignerException(
+                      "External signer did not return a result for the signing request");
+              batch.forEach(request -> request.fail(error));
+            },
+            error -> {
+              final Throwable rootCause = Throwables.getRootCause(error);
+              final Throwable failure =
+                  rootCause instanceof ExternalSignerException
+                      ? rootCause
+                      : new ExternalSignerException(
+                          "External signer failed to sign due to " + error.getMessage(), error);
+              batch.forEach(request -> request.fail(failure));
+            });
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import static java.util.stream.Collectors.toList;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_OK;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_PRECONDITION_FAILED;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.tuweni.bytes.Bytes;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.provider.JsonProvider;
+
+/**
+ * Sends a batch as a JSON array of the usual signing request bodies, each with an additional <code>
+ * identifier</code> holding the validator public key. The signer responds with a JSON array
+ * containing an entry for each request in the same order, holding either the signature or the
+ * status code the individual request would have received.
+ */
+public class JsonBatchSigningFormat implements ExternalSignerBatchFormat {
+  public static final String BATCH_SIGNING_ENDPOINT =
+      ExternalSigner.EXTERNAL_SIGNER_ENDPOINT + "/batch";
+  private static final String IDENTIFIER = "identifier";
+
+  private final JsonProvider jsonProvider;
+
+  public JsonBatchSigningFormat(final JsonProvider jsonProvider) {
+    this.jsonProvider = jsonProvider;
+  }
+
+  @Override
+  public HttpRequest createRequest(
+      final URI signingServiceUri,
+      final Duration timeout,
+      final List<BatchSigningRequest> requests) {
+    final List<SigningRequestBody> entries =
+        requests.stream().map(this::createRequestEntry).collect(toList());
+    final String requestBody;
+    try {
+      requestBody = jsonProvider.objectToJSON(entries);
+    } catch (final JsonProcessingException e) {
+      throw new ExternalSignerException("Unable to create external signing batch request", e);
+    }
+    return HttpRequest.newBuilder()
+        .uri(signingServiceUri.resolve(BATCH_SIGNING_ENDPOINT))
+        .timeout(timeout)
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(requestBody))
+        .build();
+  }
+
+  private SigningRequestBody createRequestEntry(final BatchSigningRequest request) {
+    final SigningRequestBody body = request.getBody();
+    final Map<String, Object> metadata = new HashMap<>(body.getMetadata());
+    metadata.put(IDENTIFIER, request.getPublicKey().toBytesCompressed().toString());
+    return new SigningRequestBody(body.getSigningRoot(), body.getType(), metadata);
+  }
+
+  @Override
+  public void processResponse(
+      final HttpResponse<String> response, final List<BatchSigningRequest> requests) {
+    if (response.statusCode() != SC_OK) {
+      throw new ExternalSignerException(
+          "External signer failed to sign batch and returned invalid response status code: "
+              + response.statusCode());
+    }
+
+    final BatchSigningResponseEntry[] entries;
+    try {
+      entries = jsonProvider.jsonToObject(response.body(), BatchSigningResponseEntry[].class);
+    } catch (final JsonProcessingException e) {
+      throw new ExternalSignerException(
+          "External signer returned an invalid batch response: " + e.getMessage(), e);
+    }
+    if (entries.length != requests.size()) {
+      throw new ExternalSignerException(
+          "External signer returned "
+              + entries.length
+              + " results for a batch of "
+              + requests.size()
+              + " signing requests");
+    }
+
+    for (int i = 0; i < entries.length; i++) {
+      processResponseEntry(entries[i], requests.get(i));
+    }
+  }
+
+  private void processResponseEntry(
+      final BatchSigningResponseEntry entry, final BatchSigningRequest request) {
+    if (entry.getStatus() == SC_PRECONDITION_FAILED) {
+      request.refuse();
+      return;
+    }
+    if (entry.getStatus() != SC_OK || entry.getSignature().isEmpty()) {
+      request.fail(
+          new ExternalSignerException(
+              "External signer failed to sign and returned invalid response status code: "
+                  + entry.getStatus()));
+      return;
+    }
+    try {
+      request.complete(
+          BLSSignature.fromBytesCompressed(Bytes.fromHexString(entry.getSignature().get())));
+    } catch (final IllegalArgumentException e) {
+      request.fail(
+          new ExternalSignerException(
+              "External signer returned an invalid signature: " + e.getMessage(), e));
+    }
+  }
+}
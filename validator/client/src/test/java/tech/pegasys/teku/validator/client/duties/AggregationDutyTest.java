@@ -13,12 +13,12 @@
 
 package tech.pegasys.teku.validator.client.duties;
 
+import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -26,10 +26,12 @@ import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.failedFuture;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import tech.pegasys.teku.bls.BLSSignature;
 import tech.pegasys.teku.core.signatures.Signer;
 import tech.pegasys.teku.infrastructure.async.SafeFuture;
@@ -42,6 +44,7 @@ import tech.pegasys.teku.spec.datastructures.operations.SignedAggregateAndProof;
 import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 import tech.pegasys.teku.validator.api.FileBackedGraffitiProvider;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 import tech.pegasys.teku.validator.client.ForkProvider;
 import tech.pegasys.teku.validator.client.Validator;
@@ -67,6 +70,8 @@ class AggregationDutyTest {
   @BeforeEach
   public void setUp() {
     when(forkProvider.getForkInfo(any())).thenReturn(SafeFuture.completedFuture(forkInfo));
+    when(validatorApiChannel.sendAggregateAndProofs(any()))
+        .thenReturn(SafeFuture.completedFuture(emptyList()));
   }
 
   @Test
@@ -101,8 +106,8 @@ class AggregationDutyTest {
     assertThat(duty.performDuty()).isCompleted();
 
     verify(validatorApiChannel)
-        .sendAggregateAndProof(
-            new SignedAggregateAndProof(expectedAggregateAndProof, aggregateSignature));
+        .sendAggregateAndProofs(
+            List.of(new SignedAggregateAndProof(expectedAggregateAndProof, aggregateSignature)));
   }
 
   @Test
@@ -152,12 +157,14 @@ class AggregationDutyTest {
 
     assertThat(duty.performDuty()).isCompleted();
 
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(
-            new SignedAggregateAndProof(aggregateAndProof1, aggregateSignature1));
-
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(
+    // All aggregates are sent in a single request
+    @SuppressWarnings("unchecked")
+    final ArgumentCaptor<List<SignedAggregateAndProof>> captor =
+        ArgumentCaptor.forClass(List.class);
+    verify(validatorApiChannel).sendAggregateAndProofs(captor.capture());
+    assertThat(captor.getValue())
+        .containsExactlyInAnyOrder(
+            new SignedAggregateAndProof(aggregateAndProof1, aggregateSignature1),
             new SignedAggregateAndProof(aggregateAndProof2, aggregateSignature2));
   }
 
@@ -197,10 +204,10 @@ class AggregationDutyTest {
 
     performAndReportDuty();
 
-    verify(validatorApiChannel)
-        .sendAggregateAndProof(new SignedAggregateAndProof(aggregateAndProof, aggregateSignature1));
     // Only one proof should be sent.
-    verify(validatorApiChannel, times(1)).sendAggregateAndProof(any());
+    verify(validatorApiChannel)
+        .sendAggregateAndProofs(
+            List.of(new SignedAggregateAndProof(aggregateAndProof, aggregateSignature1)));
     verify(validatorLogger)
         .dutyCompleted(TYPE, SLOT, 1, Set.of(aggregate.getData().getBeacon_block_root()));
     verifyNoMoreInteractions(validatorLogger);
@@ -248,7 +255,7 @@ class AggregationDutyTest {
         .thenReturn(completedFuture(Optional.empty()));
 
     assertThat(duty.performDuty()).isCompleted();
-    verify(validatorApiChannel, never()).sendAggregateAndProof(any());
+    verify(validatorApiChannel, never()).sendAggregateAndProofs(any());
     verify(validatorLogger).aggregationSkipped(SLOT, 2);
     verifyNoMoreInteractions(validatorLogger);
   }
@@ -267,12 +274,39 @@ class AggregationDutyTest {
         .thenReturn(failedFuture(exception));
 
     performAndReportDuty();
-    verify(validatorApiChannel, never()).sendAggregateAndProof(any());
+    verify(validatorApiChannel, never()).sendAggregateAndProofs(any());
     verify(validatorLogger)
         .dutyFailed(TYPE, SLOT, Set.of(validator1.getPublicKey().toAbbreviatedString()), exception);
     verifyNoMoreInteractions(validatorLogger);
   }
 
+  @Test
+  public void shouldReportFailureWhenBeaconNodeRejectsAggregate() {
+    final AttestationData attestationData = dataStructureUtil.randomAttestationData();
+    final Attestation aggregate = dataStructureUtil.randomAttestation();
+    final BLSSignature proof = dataStructureUtil.randomSignature();
+    duty.addValidator(validator1, 1, proof, 2, completedFuture(Optional.of(attestationData)));
+    when(validatorApiChannel.createAggregate(SLOT, attestationData.hashTreeRoot()))
+        .thenReturn(completedFuture(Optional.of(aggregate)));
+    final AggregateAndProof aggregateAndProof = new AggregateAndProof(UInt64.ONE, aggregate, proof);
+    when(signer1.signAggregateAndProof(aggregateAndProof, forkInfo))
+        .thenReturn(SafeFuture.completedFuture(dataStructureUtil.randomSignature()));
+    when(validatorApiChannel.sendAggregateAndProofs(any()))
+        .thenReturn(
+            SafeFuture.completedFuture(
+                List.of(new SubmitDataError(UInt64.ZERO, "Invalid aggregate"))));
+
+    performAndReportDuty();
+
+    verify(validatorLogger)
+        .dutyFailed(
+            eq(TYPE),
+            eq(SLOT),
+            eq(Set.of(validator1.getPublicKey().toAbbreviatedString())),
+            any(RestApiReportedException.class));
+    verifyNoMoreInteractions(validatorLogger);
+  }
+
   private void performAndReportDuty() {
     final SafeFuture<DutyResult> result = duty.performDuty();
     assertThat(result).isCompleted();
@@ -13,6 +13,7 @@
 
 package tech.pegasys.teku.validator.client.duties;
 
+import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +28,7 @@ import static org.mockito.Mockito.when;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
 import static tech.pegasys.teku.infrastructure.async.SafeFuture.failedFuture;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,6 +45,7 @@ import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
 import tech.pegasys.teku.ssz.collections.SszBitlist;
 import tech.pegasys.teku.validator.api.FileBackedGraffitiProvider;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 import tech.pegasys.teku.validator.client.ForkProvider;
 import tech.pegasys.teku.validator.client.Validator;
@@ -65,6 +68,8 @@ class AttestationProductionDutyTest {
   @BeforeEach
   public void setUp() {
     when(forkProvider.getForkInfo(any())).thenReturn(completedFuture(fork));
+    when(validatorApiChannel.sendSignedAttestations(any()))
+        .thenReturn(completedFuture(emptyList()));
   }
 
   @Test
@@ -126,7 +131,7 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult1).isCompletedWithValue(Optional.empty());
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verify(validatorApiChannel).sendSignedAttestations(List.of(expectedAttestation));
     verify(validatorLogger)
         .dutyCompleted(TYPE, SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
     verify(validatorLogger)
@@ -172,7 +177,7 @@ class AttestationProductionDutyTest {
     assertThatThrownBy(attestationResult1::join).hasRootCause(failure);
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verify(validatorApiChannel).sendSignedAttestations(List.of(expectedAttestation));
 
     verify(validatorLogger)
         .dutyCompleted(TYPE, SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
@@ -209,7 +214,7 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult1).isCompletedWithValue(Optional.of(attestationData));
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verify(validatorApiChannel).sendSignedAttestations(List.of(expectedAttestation));
 
     verify(validatorLogger)
         .dutyCompleted(TYPE, SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
@@ -235,7 +240,7 @@ class AttestationProductionDutyTest {
     performAndReportDuty();
     assertThat(attestationResult).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation, Optional.of(10));
+    verify(validatorApiChannel).sendSignedAttestations(List.of(expectedAttestation));
     verify(validatorLogger)
         .dutyCompleted(TYPE, SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
     verifyNoMoreInteractions(validatorLogger);
@@ -277,9 +282,9 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(attestationData));
     assertThat(attestationResult3).isCompletedWithValue(Optional.of(attestationData));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation1, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation2, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation3, Optional.of(10));
+    verify(validatorApiChannel)
+        .sendSignedAttestations(
+            List.of(expectedAttestation1, expectedAttestation2, expectedAttestation3));
 
     // Should have only needed to create one unsigned attestation and reused it for each validator
     verify(validatorApiChannel, times(1)).createAttestationData(any(), anyInt());
@@ -328,9 +333,10 @@ class AttestationProductionDutyTest {
     assertThat(attestationResult2).isCompletedWithValue(Optional.of(unsignedAttestation2));
     assertThat(attestationResult3).isCompletedWithValue(Optional.of(unsignedAttestation1));
 
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation1, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation2, Optional.of(10));
-    verify(validatorApiChannel).sendSignedAttestation(expectedAttestation3, Optional.of(10));
+    // Attestations are sent as one request per committee
+    verify(validatorApiChannel)
+        .sendSignedAttestations(List.of(expectedAttestation1, expectedAttestation3));
+    verify(validatorApiChannel).sendSignedAttestations(List.of(expectedAttestation2));
 
     // Need to create an unsigned attestation for each committee
     verify(validatorApiChannel, times(2)).createAttestationData(any(), anyInt());
@@ -345,6 +351,81 @@ class AttestationProductionDutyTest {
     verifyNoMoreInteractions(validatorLogger);
   }
 
+  @Test
+  public void shouldSendAttestationsWithoutWaitingForSlowSigners() {
+    final int committeeIndex = 3;
+    final int committeeSize = 33;
+    final int validator1CommitteePosition = 6;
+    final int validator2CommitteePosition = 2;
+    final Validator validator1 = createValidator();
+    final Validator validator2 = createValidator();
+
+    final AttestationData attestationData = expectCreateAttestationData(committeeIndex);
+    final SafeFuture<BLSSignature> slowSignature = new SafeFuture<>();
+    when(validator1.getSigner().signAttestationData(attestationData, fork))
+        .thenReturn(slowSignature);
+    final Attestation expectedAttestation2 =
+        expectSignAttestation(
+            validator2, validator2CommitteePosition, committeeSize, attestationData);
+
+    duty.addValidator(validator1, committeeIndex, validator1CommitteePosition, 10, committeeSize);
+    duty.addValidator(validator2, committeeIndex, validator2CommitteePosition, 11, committeeSize);
+    final SafeFuture<DutyResult> result = duty.performDuty();
+
+    assertThat(result).isNotDone();
+    verify(validatorApiChannel).sendSignedAttestations(List.of(expectedAttestation2));
+
+    final BLSSignature signature = dataStructureUtil.randomSignature();
+    slowSignature.complete(signature);
+    verify(validatorApiChannel)
+        .sendSignedAttestations(
+            List.of(
+                createExpectedAttestation(
+                    attestationData, validator1CommitteePosition, committeeSize, signature)));
+
+    assertThat(result).isCompleted();
+    result.join().report(TYPE, SLOT, validatorLogger);
+    verify(validatorLogger)
+        .dutyCompleted(TYPE, SLOT, 2, Set.of(attestationData.getBeacon_block_root()));
+    verifyNoMoreInteractions(validatorLogger);
+  }
+
+  @Test
+  public void shouldReportFailureWhenBeaconNodeRejectsAttestation() {
+    final int committeeIndex = 3;
+    final int committeeSize = 33;
+    final int validator1CommitteePosition = 6;
+    final int validator2CommitteePosition = 2;
+    final Validator validator1 = createValidator();
+    final Validator validator2 = createValidator();
+
+    final AttestationData attestationData = expectCreateAttestationData(committeeIndex);
+    final Attestation expectedAttestation1 =
+        expectSignAttestation(
+            validator1, validator1CommitteePosition, committeeSize, attestationData);
+    final Attestation expectedAttestation2 =
+        expectSignAttestation(
+            validator2, validator2CommitteePosition, committeeSize, attestationData);
+    when(validatorApiChannel.sendSignedAttestations(
+            List.of(expectedAttestation1, expectedAttestation2)))
+        .thenReturn(
+            completedFuture(List.of(new SubmitDataError(UInt64.ONE, "Invalid attestation"))));
+
+    duty.addValidator(validator1, committeeIndex, validator1CommitteePosition, 10, committeeSize);
+    duty.addValidator(validator2, committeeIndex, validator2CommitteePosition, 11, committeeSize);
+    performAndReportDuty();
+
+    verify(validatorLogger)
+        .dutyCompleted(TYPE, SLOT, 1, Set.of(attestationData.getBeacon_block_root()));
+    verify(validatorLogger)
+        .dutyFailed(
+            eq(TYPE),
+            eq(SLOT),
+            eq(Set.of(validator2.getPublicKey().toAbbreviatedString())),
+            any(RestApiReportedException.class));
+    verifyNoMoreInteractions(validatorLogger);
+  }
+
   public Validator createValidator() {
     final Signer signer = mock(Signer.class);
     return new Validator(
@@ -42,7 +42,7 @@ import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncComm
 import tech.pegasys.teku.spec.datastructures.state.ForkInfo;
 import tech.pegasys.teku.spec.schemas.SchemaDefinitionsAltair;
 import tech.pegasys.teku.spec.util.DataStructureUtil;
-import tech.pegasys.teku.validator.api.SubmitCommitteeSignatureError;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 import tech.pegasys.teku.validator.client.ForkProvider;
 import tech.pegasys.teku.validator.client.Validator;
@@ -144,8 +144,7 @@ class SyncCommitteeProductionDutyTest {
 
     when(validatorApiChannel.sendSyncCommitteeSignatures(any()))
         .thenReturn(
-            SafeFuture.completedFuture(
-                List.of(new SubmitCommitteeSignatureError(UInt64.ZERO, "API Rejected"))));
+            SafeFuture.completedFuture(List.of(new SubmitDataError(UInt64.ZERO, "API Rejected"))));
 
     produceSignaturesAndReport(duties, slot);
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.client.signer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.Bytes48;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.bls.BLSSignature;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.async.StubAsyncRunner;
+import tech.pegasys.teku.infrastructure.async.ThrottlingTaskQueue;
+import tech.pegasys.teku.infrastructure.metrics.StubMetricsSystem;
+import tech.pegasys.teku.infrastructure.metrics.TekuMetricCategory;
+import tech.pegasys.teku.provider.JsonProvider;
+
+class ExternalSignerBatcherTest {
+  private static final int MAX_BATCH_SIZE = 3;
+  private static final Supplier<String> SLASHABLE_MESSAGE = () -> "Slashable";
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final StubAsyncRunner asyncRunner = new StubAsyncRunner();
+  private final HttpClient httpClient = mock(HttpClient.class);
+  private final List<CompletableFuture<HttpResponse<Object>>> sentRequests = new ArrayList<>();
+
+  private final BLSPublicKey publicKey1 = publicKey(1);
+  private final BLSPublicKey publicKey2 = publicKey(2);
+  private final BLSSignature signature1 = signature(1);
+  private final BLSSignature signature2 = signature(2);
+
+  private ExternalSignerBatcher batcher;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(httpClient.sendAsync(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final CompletableFuture<HttpResponse<Object>> response = new CompletableFuture<>();
+              sentRequests.add(response);
+              return response;
+            });
+    batcher =
+        new ExternalSignerBatcher(
+            httpClient,
+            new URL("http://127.0.0.1:9000"),
+            Duration.ofSeconds(5),
+            new JsonBatchSigningFormat(new JsonProvider()),
+            asyncRunner,
+            new ThrottlingTaskQueue(
+                10, metricsSystem, TekuMetricCategory.VALIDATOR, "test_request_queue_size"),
+            Duration.ofMillis(10),
+            MAX_BATCH_SIZE,
+            metricsSystem);
+  }
+
+  @Test
+  void shouldSendRequestsTogetherWhenBatchWindowElapses() {
+    final SafeFuture<BLSSignature> result1 = sign(publicKey1);
+    final SafeFuture<BLSSignature> result2 = sign(publicKey2);
+    verify(httpClient, never()).sendAsync(any(), any());
+
+    asyncRunner.executeQueuedActions();
+    verify(httpClient, times(1)).sendAsync(any(), any());
+
+    respond("[{\"signature\":\"" + signature1 + "\"},{\"signature\":\"" + signature2 + "\"}]");
+    assertThat(result1).isCompletedWithValue(signature1);
+    assertThat(result2).isCompletedWithValue(signature2);
+  }
+
+  @Test
+  void shouldSendBatchImmediatelyWhenFull() {
+    for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+      sign(publicKey1);
+    }
+    verify(httpClient, times(1)).sendAsync(any(), any());
+
+    // Following requests start a new batch
+    sign(publicKey2);
+    verify(httpClient, times(1)).sendAsync(any(), any());
+    asyncRunner.executeQueuedActions();
+    verify(httpClient, times(2)).sendAsync(any(), any());
+  }
+
+  @Test
+  void shouldRefuseRequestsTheSignerConsidersSlashable() {
+    final SafeFuture<BLSSignature> result1 = sign(publicKey1);
+    final SafeFuture<BLSSignature> result2 = sign(publicKey2);
+    asyncRunner.executeQueuedActions();
+
+    respond("[{\"status\":412},{\"signature\":\"" + signature2 + "\"}]");
+    assertThat(result1)
+        .isCompletedExceptionally()
+        .hasFailedWithThrowableThat()
+        .isInstanceOf(ExternalSignerException.class)
+        .hasMessage(SLASHABLE_MESSAGE.get());
+    assertThat(result2).isCompletedWithValue(signature2);
+  }
+
+  @Test
+  void shouldFailAllRequestsWhenResponseDoesNotMatchBatch() {
+    final SafeFuture<BLSSignature> result1 = sign(publicKey1);
+    final SafeFuture<BLSSignature> result2 = sign(publicKey2);
+    asyncRunner.executeQueuedActions();
+
+    respond("[{\"signature\":\"" + signature1 + "\"}]");
+    assertThat(result1).isCompletedExceptionally();
+    assertThat(result2).isCompletedExceptionally();
+  }
+
+  @Test
+  void shouldFailAllRequestsWhenBatchRequestFails() {
+    final SafeFuture<BLSSignature> result1 = sign(publicKey1);
+    final SafeFuture<BLSSignature> result2 = sign(publicKey2);
+    asyncRunner.executeQueuedActions();
+
+    sentRequests.get(0).completeExceptionally(new RuntimeException("Connection refused"));
+    assertThat(result1)
+        .isCompletedExceptionally()
+        .hasFailedWithThrowableThat()
+        .isInstanceOf(ExternalSignerException.class);
+    assertThat(result2).isCompletedExceptionally();
+  }
+
+  private SafeFuture<BLSSignature> sign(final BLSPublicKey publicKey) {
+    return batcher.sign(
+        publicKey,
+        new SigningRequestBody(Bytes32.ZERO, SignType.RANDAO_REVEAL, Map.of()),
+        SLASHABLE_MESSAGE);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void respond(final String body) {
+    final HttpResponse<Object> response = mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(200);
+    when(response.body()).thenReturn(body);
+    sentRequests.get(0).complete(response);
+  }
+
+  private static BLSPublicKey publicKey(final int seed) {
+    return BLSPublicKey.fromBytesCompressed(Bytes48.leftPad(Bytes.of(seed)));
+  }
+
+  private static BLSSignature signature(final int seed) {
+    return BLSSignature.fromBytesCompressed(
+        Bytes.concatenate(Bytes32.ZERO, Bytes32.ZERO, Bytes32.leftPad(Bytes.of(seed))));
+  }
+}
@@ -99,7 +99,8 @@ public class ValidatorApiHandlerIntegrationTest {
           forkChoiceTrigger,
           syncCommitteeSignaturePool,
           syncCommitteeContributionPool,
-          syncCommitteeSubscriptionManager);
+          syncCommitteeSubscriptionManager,
+          new DutyTableCache(spec, combinedChainDataClient));
 
   @BeforeEach
   public void setup() {
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.coordinator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.collections.IntList;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.validator.api.AttesterDuties;
+import tech.pegasys.teku.validator.api.AttesterDuty;
+
+/**
+ * Committee assignments of every validator for a single epoch, computed once by walking all the
+ * committees of the epoch.
+ *
+ * <p>Assignments are stored in a single int array with {@link #FIELD_COUNT} entries per validator
+ * index so looking up the duties of a validator is a constant time array access. The public keys of
+ * assigned validators are copied from the state so the table doesn't keep the state reachable.
+ */
+final class AttesterDutyTable {
+  private static final int FIELD_COUNT = 4;
+  private static final int SLOT_OFFSET = 0;
+  private static final int COMMITTEE_INDEX = 1;
+  private static final int COMMITTEE_POSITION = 2;
+  private static final int COMMITTEE_LENGTH = 3;
+  private static final int UNASSIGNED = -1;
+
+  private final UInt64 epochStartSlot;
+  private final Bytes32 dependentRoot;
+  private final int committeesPerSlot;
+  private final int[] assignments;
+  private final BLSPublicKey[] publicKeys;
+
+  private AttesterDutyTable(
+      final UInt64 epochStartSlot,
+      final Bytes32 dependentRoot,
+      final int committeesPerSlot,
+      final int[] assignments,
+      final BLSPublicKey[] publicKeys) {
+    this.epochStartSlot = epochStartSlot;
+    this.dependentRoot = dependentRoot;
+    this.committeesPerSlot = committeesPerSlot;
+    this.assignments = assignments;
+    this.publicKeys = publicKeys;
+  }
+
+  /**
+   * Computes the table for the given epoch.
+   *
+   * @param spec the spec
+   * @param state a state from which the committees of the epoch can be calculated
+   * @param epoch the epoch to compute assignments for
+   * @return the duty table
+   */
+  static AttesterDutyTable create(final Spec spec, final BeaconState state, final UInt64 epoch) {
+    final Bytes32 dependentRoot =
+        epoch.isGreaterThan(spec.getCurrentEpoch(state))
+            ? spec.atEpoch(epoch).getBeaconStateUtil().getCurrentDutyDependentRoot(state)
+            : spec.atEpoch(epoch).getBeaconStateUtil().getPreviousDutyDependentRoot(state);
+    final int committeesPerSlot = spec.getCommitteeCountPerSlot(state, epoch).intValue();
+    final UInt64 epochStartSlot = spec.computeStartSlotAtEpoch(epoch);
+    final int slotsPerEpoch = spec.slotsPerEpoch(epoch);
+    final int validatorCount = state.getValidators().size();
+    final int[] assignments = new int[validatorCount * FIELD_COUNT];
+    final BLSPublicKey[] publicKeys = new BLSPublicKey[validatorCount];
+    Arrays.fill(assignments, UNASSIGNED);
+
+    for (int slotOffset = 0; slotOffset < slotsPerEpoch; slotOffset++) {
+      final UInt64 slot = epochStartSlot.plus(slotOffset);
+      for (int committeeIndex = 0; committeeIndex < committeesPerSlot; committeeIndex++) {
+        final IntList committee =
+            IntList.copyOf(spec.getBeaconCommittee(state, slot, UInt64.valueOf(committeeIndex)));
+        final int committeeLength = committee.size();
+        for (int position = 0; position < committeeLength; position++) {
+          final int validatorIndex = committee.getInt(position);
+          final int offset = validatorIndex * FIELD_COUNT;
+          assignments[offset + SLOT_OFFSET] = slotOffset;
+          assignments[offset + COMMITTEE_INDEX] = committeeIndex;
+          assignments[offset + COMMITTEE_POSITION] = position;
+          assignments[offset + COMMITTEE_LENGTH] = committeeLength;
+          publicKeys[validatorIndex] =
+              spec.getValidatorPubKey(state, UInt64.valueOf(validatorIndex)).orElse(null);
+        }
+      }
+    }
+    return new AttesterDutyTable(
+        epochStartSlot, dependentRoot, committeesPerSlot, assignments, publicKeys);
+  }
+
+  Bytes32 getDependentRoot() {
+    return dependentRoot;
+  }
+
+  AttesterDuties getDuties(final Collection<Integer> validatorIndices) {
+    final List<AttesterDuty> duties = new ArrayList<>(validatorIndices.size());
+    for (Integer validatorIndex : validatorIndices) {
+      // Checked before multiplying so large indices can't overflow into a valid offset
+      if (validatorIndex < 0 || validatorIndex >= publicKeys.length) {
+        continue;
+      }
+      final int offset = validatorIndex * FIELD_COUNT;
+      final BLSPublicKey publicKey = publicKeys[validatorIndex];
+      if (assignments[offset + SLOT_OFFSET] == UNASSIGNED || publicKey == null) {
+        continue;
+      }
+      duties.add(
+          new AttesterDuty(
+              publicKey,
+              validatorIndex,
+              assignments[offset + COMMITTEE_LENGTH],
+              assignments[offset + COMMITTEE_INDEX],
+              committeesPerSlot,
+              assignments[offset + COMMITTEE_POSITION],
+              epochStartSlot.plus(assignments[offset + SLOT_OFFSET])));
+    }
+    return new AttesterDuties(dependentRoot, duties);
+  }
+}
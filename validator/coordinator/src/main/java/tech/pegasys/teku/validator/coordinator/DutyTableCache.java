@@ -0,0 +1,341 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.coordinator;
+
+import com.google.common.base.MoreObjects;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.infrastructure.async.ExceptionThrowingFutureSupplier;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.blocks.StateAndBlockSummary;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
+import tech.pegasys.teku.storage.api.ChainHeadChannel;
+import tech.pegasys.teku.storage.api.ReorgContext;
+import tech.pegasys.teku.storage.client.CombinedChainDataClient;
+
+/**
+ * Caches the attester, proposer and sync committee duties of all validators so that duty requests
+ * from validator clients are answered by looking up the requested validators rather than
+ * recalculating committee assignments from a state for every request.
+ *
+ * <p>Attester and proposer tables are keyed by epoch and the dependent root of that epoch's duties.
+ * The expected dependent root is read from the current chain head, so a table calculated for one
+ * fork is never served once the head has moved to a different fork. Concurrent requests for the
+ * same table wait for a single calculation.
+ *
+ * <p>Tables for epochs older than the previous epoch are dropped at each epoch transition and
+ * tables that depend on blocks no longer canonical are dropped when a re-org is reported.
+ */
+public class DutyTableCache implements ChainHeadChannel {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Spec spec;
+  private final CombinedChainDataClient combinedChainDataClient;
+
+  private final Map<TableKey, SafeFuture<Optional<AttesterDutyTable>>> attesterTables =
+      new ConcurrentHashMap<>();
+  private final Map<TableKey, SafeFuture<Optional<ProposerDutyTable>>> proposerTables =
+      new ConcurrentHashMap<>();
+  private final Map<UInt64, SafeFuture<Optional<SyncCommitteeDutyTable>>> syncCommitteeTables =
+      new ConcurrentHashMap<>();
+
+  public DutyTableCache(final Spec spec, final CombinedChainDataClient combinedChainDataClient) {
+    this.spec = spec;
+    this.combinedChainDataClient = combinedChainDataClient;
+  }
+
+  SafeFuture<Optional<AttesterDutyTable>> getAttesterDutyTable(final UInt64 epoch) {
+    return getTable(
+        attesterTables,
+        epoch,
+        epoch.minusMinZero(1),
+        AttesterDutyTable::getDependentRoot,
+        () -> {
+          final UInt64 slot = spec.getEarliestQueryableSlotForBeaconCommitteeInTargetEpoch(epoch);
+          LOG.trace(
+              "Calculating attestation duties for epoch {} using state at slot {}", epoch, slot);
+          return combinedChainDataClient
+              .getStateAtSlotExact(slot)
+              .thenApply(
+                  maybeState ->
+                      maybeState.map(state -> AttesterDutyTable.create(spec, state, epoch)));
+        });
+  }
+
+  SafeFuture<Optional<ProposerDutyTable>> getProposerDutyTable(final UInt64 epoch) {
+    return getTable(
+        proposerTables,
+        epoch,
+        epoch,
+        ProposerDutyTable::getDependentRoot,
+        () -> {
+          LOG.trace("Calculating proposer duties for epoch {}", epoch);
+          return combinedChainDataClient
+              .getStateAtSlotExact(spec.computeStartSlotAtEpoch(epoch))
+              .thenApply(
+                  maybeState ->
+                      maybeState.map(state -> ProposerDutyTable.create(spec, state, epoch)));
+        });
+  }
+
+  /**
+   * Returns the sync committee duties table for the sync committee period containing the epoch.
+   *
+   * <p>The returned future fails with {@link IllegalArgumentException} if the epoch is beyond the
+   * next sync committee period and contains an empty optional if sync committees are not active at
+   * the epoch or no suitable state is available.
+   */
+  SafeFuture<Optional<SyncCommitteeDutyTable>> getSyncCommitteeDutyTable(final UInt64 epoch) {
+    final Optional<SyncCommitteeUtil> maybeSyncCommitteeUtil =
+        spec.atEpoch(epoch).getSyncCommitteeUtil();
+    if (maybeSyncCommitteeUtil.isEmpty()) {
+      return SafeFuture.completedFuture(Optional.empty());
+    }
+    final SyncCommitteeUtil syncCommitteeUtil = maybeSyncCommitteeUtil.get();
+    final UInt64 periodStartEpoch =
+        syncCommitteeUtil.computeFirstEpochOfCurrentSyncCommitteePeriod(epoch);
+    final SafeFuture<Optional<SyncCommitteeDutyTable>> cachedTable =
+        syncCommitteeTables.get(periodStartEpoch);
+    if (cachedTable != null) {
+      return cachedTable;
+    }
+
+    return cacheResult(
+        syncCommitteeTables,
+        periodStartEpoch,
+        () ->
+            getStateForSyncCommitteeDuties(syncCommitteeUtil, epoch)
+                .thenApply(
+                    maybeState ->
+                        maybeState.map(
+                            state ->
+                                SyncCommitteeDutyTable.create(syncCommitteeUtil, state, epoch))),
+        Optional::isPresent);
+  }
+
+  private SafeFuture<Optional<BeaconState>> getStateForSyncCommitteeDuties(
+      final SyncCommitteeUtil syncCommitteeUtil, final UInt64 epoch) {
+    final Optional<BeaconState> maybeBestState = combinedChainDataClient.getBestState();
+    if (maybeBestState.isEmpty()) {
+      return SafeFuture.completedFuture(Optional.empty());
+    }
+    final BeaconState bestState = maybeBestState.get();
+    if (syncCommitteeUtil.isStateUsableForCommitteeCalculationAtEpoch(bestState, epoch)) {
+      return SafeFuture.completedFuture(maybeBestState);
+    }
+
+    final UInt64 lastQueryableEpoch =
+        syncCommitteeUtil.computeLastEpochOfNextSyncCommitteePeriod(
+            combinedChainDataClient.getCurrentEpoch());
+    if (lastQueryableEpoch.isLessThan(epoch)) {
+      return SafeFuture.failedFuture(
+          new IllegalArgumentException(
+              "Cannot calculate sync committee duties for epoch "
+                  + epoch
+                  + " because it is not within the current or next sync committee periods"));
+    }
+
+    final UInt64 requiredEpoch;
+    final UInt64 stateEpoch = spec.getCurrentEpoch(bestState);
+    if (epoch.isGreaterThan(stateEpoch)) {
+      // Use the earliest possible epoch since we'll need to process empty slots
+      requiredEpoch = syncCommitteeUtil.getMinEpochForSyncCommitteeAssignments(epoch);
+    } else {
+      // Use the latest possible epoch since it's most likely to still be in memory
+      requiredEpoch = syncCommitteeUtil.computeLastEpochOfCurrentSyncCommitteePeriod(epoch);
+    }
+    return combinedChainDataClient.getStateAtSlotExact(spec.computeStartSlotAtEpoch(requiredEpoch));
+  }
+
+  private <T> SafeFuture<Optional<T>> getTable(
+      final Map<TableKey, SafeFuture<Optional<T>>> tables,
+      final UInt64 epoch,
+      final UInt64 dependentEpoch,
+      final Function<T, Bytes32> dependentRootGetter,
+      final ExceptionThrowingFutureSupplier<Optional<T>> calculator) {
+    final Optional<StateAndBlockSummary> maybeChainHead = combinedChainDataClient.getChainHead();
+    if (maybeChainHead.isEmpty()
+        || epoch.plus(1).isLessThan(spec.getCurrentEpoch(maybeChainHead.get().getState()))) {
+      // Historic duties are requested rarely so aren't worth keeping
+      return SafeFuture.of(calculator);
+    }
+    final Optional<Bytes32> maybeDependentRoot =
+        getDependentRoot(maybeChainHead.get(), dependentEpoch);
+    if (maybeDependentRoot.isEmpty()) {
+      return SafeFuture.of(calculator);
+    }
+    final TableKey key = new TableKey(epoch, maybeDependentRoot.get());
+    final SafeFuture<Optional<T>> cachedTable = tables.get(key);
+    if (cachedTable != null) {
+      return cachedTable;
+    }
+    return cacheResult(
+        tables,
+        key,
+        calculator,
+        maybeTable ->
+            maybeTable
+                .map(table -> dependentRootGetter.apply(table).equals(key.dependentRoot))
+                .orElse(false));
+  }
+
+  /**
+   * Stores the pending result of the calculator so concurrent requests share it. The entry is
+   * removed again if the calculation fails or its result is not suitable for caching.
+   */
+  private <K, T> SafeFuture<T> cacheResult(
+      final Map<K, SafeFuture<T>> tables,
+      final K key,
+      final ExceptionThrowingFutureSupplier<T> calculator,
+      final Predicate<T> isCacheable) {
+    final SafeFuture<T> result = new SafeFuture<>();
+    final SafeFuture<T> existing = tables.putIfAbsent(key, result);
+    if (existing != null) {
+      return existing;
+    }
+    SafeFuture.of(calculator)
+        .whenComplete(
+            (table, error) -> {
+              if (error != null || !isCacheable.test(table)) {
+                tables.remove(key, result);
+              }
+            })
+        .propagateTo(result);
+    return result;
+  }
+
+  /**
+   * Finds the root of the last block before the start of the dependent epoch on the chain of the
+   * current head, matching {@code BeaconStateUtil.getDutyDependentRoot}. Returns empty if the block
+   * is too old to be found in the head state.
+   */
+  private Optional<Bytes32> getDependentRoot(
+      final StateAndBlockSummary chainHead, final UInt64 dependentEpoch) {
+    final BeaconState state = chainHead.getState();
+    final UInt64 dependentSlot = getDependentSlot(dependentEpoch);
+    if (dependentSlot.isGreaterThanOrEqualTo(state.getSlot())) {
+      return Optional.of(chainHead.getRoot());
+    }
+    if (dependentSlot
+        .plus(spec.getSlotsPerHistoricalRoot(state.getSlot()))
+        .isLessThanOrEqualTo(state.getSlot())) {
+      return Optional.empty();
+    }
+    return Optional.of(spec.getBlockRootAtSlot(state, dependentSlot));
+  }
+
+  private UInt64 getDependentSlot(final UInt64 dependentEpoch) {
+    return spec.computeStartSlotAtEpoch(dependentEpoch).minusMinZero(1);
+  }
+
+  @Override
+  public void chainHeadUpdated(
+      final UInt64 slot,
+      final Bytes32 stateRoot,
+      final Bytes32 bestBlockRoot,
+      final boolean epochTransition,
+      final Bytes32 previousDutyDependentRoot,
+      final Bytes32 currentDutyDependentRoot,
+      final Optional<ReorgContext> optionalReorgContext) {
+    optionalReorgContext.ifPresent(
+        reorgContext -> {
+          // Tables that depend on a block after the common ancestor are no longer canonical
+          final UInt64 commonAncestorSlot = reorgContext.getCommonAncestorSlot();
+          attesterTables
+              .keySet()
+              .removeIf(
+                  key ->
+                      getDependentSlot(key.epoch.minusMinZero(1))
+                          .isGreaterThan(commonAncestorSlot));
+          proposerTables
+              .keySet()
+              .removeIf(key -> getDependentSlot(key.epoch).isGreaterThan(commonAncestorSlot));
+          // The sync committee for a period is fixed at the start of the previous period
+          syncCommitteeTables
+              .keySet()
+              .removeIf(
+                  periodStartEpoch ->
+                      spec.atEpoch(periodStartEpoch)
+                          .getSyncCommitteeUtil()
+                          .map(
+                              util ->
+                                  getDependentSlot(
+                                      util.computeFirstEpochOfCurrentSyncCommitteePeriod(
+                                          periodStartEpoch.minusMinZero(1))))
+                          .orElse(UInt64.ZERO)
+                          .isGreaterThan(commonAncestorSlot));
+        });
+
+    if (epochTransition) {
+      final UInt64 previousEpoch = spec.computeEpochAtSlot(slot).minusMinZero(1);
+      attesterTables.keySet().removeIf(key -> key.epoch.isLessThan(previousEpoch));
+      proposerTables.keySet().removeIf(key -> key.epoch.isLessThan(previousEpoch));
+      spec.atEpoch(previousEpoch)
+          .getSyncCommitteeUtil()
+          .ifPresent(
+              util -> {
+                final UInt64 currentPeriodStartEpoch =
+                    util.computeFirstEpochOfCurrentSyncCommitteePeriod(previousEpoch);
+                syncCommitteeTables
+                    .keySet()
+                    .removeIf(epoch -> epoch.isLessThan(currentPeriodStartEpoch));
+              });
+    }
+  }
+
+  private static class TableKey {
+    private final UInt64 epoch;
+    private final Bytes32 dependentRoot;
+
+    private TableKey(final UInt64 epoch, final Bytes32 dependentRoot) {
+      this.epoch = epoch;
+      this.dependentRoot = dependentRoot;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final TableKey that = (TableKey) o;
+      return Objects.equals(epoch, that.epoch) && Objects.equals(dependentRoot, that.dependentRoot);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(epoch, dependentRoot);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("epoch", epoch)
+          .add("dependentRoot", dependentRoot)
+          .toString();
+    }
+  }
+}
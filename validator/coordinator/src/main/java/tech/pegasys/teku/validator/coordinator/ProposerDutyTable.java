@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.coordinator;
+
+import static tech.pegasys.teku.spec.config.SpecConfig.GENESIS_SLOT;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.tuweni.bytes.Bytes32;
+import tech.pegasys.teku.bls.BLSPublicKey;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.validator.api.ProposerDuties;
+import tech.pegasys.teku.validator.api.ProposerDuty;
+
+/** The block proposers for each slot of a single epoch. */
+final class ProposerDutyTable {
+  private final ProposerDuties duties;
+
+  private ProposerDutyTable(final ProposerDuties duties) {
+    this.duties = duties;
+  }
+
+  /**
+   * Computes the table for the given epoch.
+   *
+   * @param spec the spec
+   * @param state a state from the start of the epoch
+   * @param epoch the epoch to compute proposers for
+   * @return the duty table
+   */
+  static ProposerDutyTable create(final Spec spec, final BeaconState state, final UInt64 epoch) {
+    final UInt64 epochStartSlot = spec.computeStartSlotAtEpoch(epoch);
+    final UInt64 startSlot = epochStartSlot.max(GENESIS_SLOT.increment());
+    final UInt64 endSlot = epochStartSlot.plus(spec.slotsPerEpoch(epoch));
+    final List<ProposerDuty> proposerSlots = new ArrayList<>();
+    for (UInt64 slot = startSlot; slot.compareTo(endSlot) < 0; slot = slot.plus(UInt64.ONE)) {
+      final int proposerIndex = spec.getBeaconProposerIndex(state, slot);
+      final BLSPublicKey publicKey =
+          spec.getValidatorPubKey(state, UInt64.valueOf(proposerIndex)).orElseThrow();
+      proposerSlots.add(new ProposerDuty(publicKey, proposerIndex, slot));
+    }
+    final Bytes32 dependentRoot =
+        spec.atEpoch(epoch).getBeaconStateUtil().getCurrentDutyDependentRoot(state);
+    return new ProposerDutyTable(new ProposerDuties(dependentRoot, List.copyOf(proposerSlots)));
+  }
+
+  Bytes32 getDependentRoot() {
+    return duties.getDependentRoot();
+  }
+
+  ProposerDuties getDuties() {
+    return duties;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.coordinator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.util.SyncSubcommitteeAssignments;
+import tech.pegasys.teku.spec.logic.common.util.SyncCommitteeUtil;
+import tech.pegasys.teku.validator.api.SyncCommitteeDuties;
+import tech.pegasys.teku.validator.api.SyncCommitteeDuty;
+
+/** The sync committee duties of the members of the sync committee for one period. */
+final class SyncCommitteeDutyTable {
+  private final Map<Integer, SyncCommitteeDuty> dutiesByValidatorIndex;
+
+  private SyncCommitteeDutyTable(final Map<Integer, SyncCommitteeDuty> dutiesByValidatorIndex) {
+    this.dutiesByValidatorIndex = dutiesByValidatorIndex;
+  }
+
+  /**
+   * Computes the table for the sync committee period containing the given epoch.
+   *
+   * @param syncCommitteeUtil the sync committee util for the epoch
+   * @param state a state from which the sync committee for the epoch can be calculated
+   * @param epoch an epoch within the sync committee period
+   * @return the duty table
+   */
+  static SyncCommitteeDutyTable create(
+      final SyncCommitteeUtil syncCommitteeUtil, final BeaconState state, final UInt64 epoch) {
+    final Map<UInt64, SyncSubcommitteeAssignments> assignments =
+        syncCommitteeUtil.getSyncSubcommittees(state, epoch);
+    final Map<Integer, SyncCommitteeDuty> dutiesByValidatorIndex = new HashMap<>();
+    assignments.forEach(
+        (validatorIndex, assignment) -> {
+          final int index = validatorIndex.intValue();
+          dutiesByValidatorIndex.put(
+              index,
+              new SyncCommitteeDuty(
+                  state.getValidators().get(index).getPublicKey(),
+                  index,
+                  assignment.getCommitteeIndices()));
+        });
+    return new SyncCommitteeDutyTable(Map.copyOf(dutiesByValidatorIndex));
+  }
+
+  SyncCommitteeDuties getDuties(final Collection<Integer> validatorIndices) {
+    final List<SyncCommitteeDuty> duties = new ArrayList<>();
+    for (Integer validatorIndex : validatorIndices) {
+      final SyncCommitteeDuty duty = dutiesByValidatorIndex.get(validatorIndex);
+      if (duty != null) {
+        duties.add(duty);
+      }
+    }
+    return new SyncCommitteeDuties(duties);
+  }
+}
@@ -17,19 +17,16 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static tech.pegasys.teku.infrastructure.logging.LogFormatter.formatBlock;
 import static tech.pegasys.teku.infrastructure.logging.ValidatorLogger.VALIDATOR_LOGGER;
-import static tech.pegasys.teku.spec.config.SpecConfig.GENESIS_SLOT;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiFunction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
@@ -44,7 +41,6 @@ import tech.pegasys.teku.networking.eth2.gossip.BlockGossipChannel;
 import tech.pegasys.teku.networking.eth2.gossip.subnets.AttestationTopicSubscriber;
 import tech.pegasys.teku.networking.eth2.gossip.subnets.SyncCommitteeSubscriptionManager;
 import tech.pegasys.teku.spec.Spec;
-import tech.pegasys.teku.spec.SpecVersion;
 import tech.pegasys.teku.spec.datastructures.attestation.ValidateableAttestation;
 import tech.pegasys.teku.spec.datastructures.blocks.BeaconBlock;
 import tech.pegasys.teku.spec.datastructures.blocks.SignedBeaconBlock;
@@ -58,6 +54,7 @@ import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncComm
 import tech.pegasys.teku.spec.datastructures.operations.versions.altair.SyncCommitteeSignature;
 import tech.pegasys.teku.spec.datastructures.operations.versions.altair.ValidateableSyncCommitteeSignature;
 import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.datastructures.util.AttestationProcessingResult;
 import tech.pegasys.teku.spec.datastructures.validator.SubnetSubscription;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.EpochProcessingException;
 import tech.pegasys.teku.spec.logic.common.statetransition.exceptions.SlotProcessingException;
@@ -74,15 +71,12 @@ import tech.pegasys.teku.statetransition.validation.InternalValidationResult;
 import tech.pegasys.teku.storage.client.CombinedChainDataClient;
 import tech.pegasys.teku.sync.events.SyncStateProvider;
 import tech.pegasys.teku.validator.api.AttesterDuties;
-import tech.pegasys.teku.validator.api.AttesterDuty;
 import tech.pegasys.teku.validator.api.CommitteeSubscriptionRequest;
 import tech.pegasys.teku.validator.api.NodeSyncingException;
 import tech.pegasys.teku.validator.api.ProposerDuties;
-import tech.pegasys.teku.validator.api.ProposerDuty;
 import tech.pegasys.teku.validator.api.SendSignedBlockResult;
-import tech.pegasys.teku.validator.api.SubmitCommitteeSignatureError;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.SyncCommitteeDuties;
-import tech.pegasys.teku.validator.api.SyncCommitteeDuty;
 import tech.pegasys.teku.validator.api.SyncCommitteeSubnetSubscription;
 import tech.pegasys.teku.validator.api.ValidatorApiChannel;
 import tech.pegasys.teku.validator.coordinator.performance.PerformanceTracker;
@@ -114,6 +108,7 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
   private final SyncCommitteeSignaturePool syncCommitteeSignaturePool;
   private final SyncCommitteeSubscriptionManager syncCommitteeSubscriptionManager;
   private final SyncCommitteeContributionPool syncCommitteeContributionPool;
+  private final DutyTableCache dutyTableCache;
 
   public ValidatorApiHandler(
       final ChainDataProvider chainDataProvider,
@@ -132,7 +127,8 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
       final ForkChoiceTrigger forkChoiceTrigger,
       final SyncCommitteeSignaturePool syncCommitteeSignaturePool,
       final SyncCommitteeContributionPool syncCommitteeContributionPool,
-      final SyncCommitteeSubscriptionManager syncCommitteeSubscriptionManager) {
+      final SyncCommitteeSubscriptionManager syncCommitteeSubscriptionManager,
+      final DutyTableCache dutyTableCache) {
     this.chainDataProvider = chainDataProvider;
     this.combinedChainDataClient = combinedChainDataClient;
     this.syncStateProvider = syncStateProvider;
@@ -150,6 +146,7 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
     this.syncCommitteeSignaturePool = syncCommitteeSignaturePool;
     this.syncCommitteeContributionPool = syncCommitteeContributionPool;
     this.syncCommitteeSubscriptionManager = syncCommitteeSubscriptionManager;
+    this.dutyTableCache = dutyTableCache;
   }
 
   @Override
@@ -192,14 +189,10 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
                   "Attestation duties were requested %s epochs ahead, only 1 epoch in future is supported.",
                   epoch.minus(combinedChainDataClient.getCurrentEpoch()).toString())));
     }
-    final UInt64 slot = spec.getEarliestQueryableSlotForBeaconCommitteeInTargetEpoch(epoch);
-    LOG.trace("Retrieving attestation duties from epoch {} using state at slot {}", epoch, slot);
-    return combinedChainDataClient
-        .getStateAtSlotExact(slot)
-        .thenApply(
-            optionalState ->
-                optionalState.map(
-                    state -> getAttesterDutiesFromIndexesAndState(state, epoch, validatorIndexes)));
+    LOG.trace("Retrieving attestation duties from epoch {}", epoch);
+    return dutyTableCache
+        .getAttesterDutyTable(epoch)
+        .thenApply(maybeTable -> maybeTable.map(table -> table.getDuties(validatorIndexes)));
   }
 
   @Override
@@ -208,14 +201,14 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
     if (isSyncActive()) {
       return NodeSyncingException.failedFuture();
     }
-    final SpecVersion specVersion = spec.atEpoch(epoch);
-
-    return getStateForCommitteeDuties(specVersion, epoch)
+    return dutyTableCache
+        .getSyncCommitteeDutyTable(epoch)
         .thenApply(
-            maybeState ->
+            maybeTable ->
                 Optional.of(
-                    getSyncCommitteeDutiesFromIndexesAndState(
-                        maybeState, epoch, validatorIndices)));
+                    maybeTable
+                        .map(table -> table.getDuties(validatorIndices))
+                        .orElseGet(() -> new SyncCommitteeDuties(List.of()))));
   }
 
   @Override
@@ -231,11 +224,9 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
                   combinedChainDataClient.getCurrentEpoch().toString(), epoch)));
     }
     LOG.trace("Retrieving proposer duties from epoch {}", epoch);
-    return combinedChainDataClient
-        .getStateAtSlotExact(spec.computeStartSlotAtEpoch(epoch))
-        .thenApply(
-            optionalState ->
-                optionalState.map(state -> getProposerDutiesFromIndexesAndState(state, epoch)));
+    return dutyTableCache
+        .getProposerDutyTable(epoch)
+        .thenApply(maybeTable -> maybeTable.map(ProposerDutyTable::getDuties));
   }
 
   @Override
@@ -468,6 +459,33 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
     sendSignedAttestation(attestation, Optional.empty());
   }
 
+  @Override
+  public SafeFuture<List<SubmitDataError>> sendSignedAttestations(
+      final List<Attestation> attestations) {
+    return attestationManager
+        .onAttestations(
+            attestations.stream()
+                .map(attestation -> ValidateableAttestation.fromValidator(spec, attestation))
+                .collect(toList()))
+        .thenApply(
+            results -> {
+              final List<SubmitDataError> errors = new ArrayList<>();
+              for (int index = 0; index < results.size(); index++) {
+                final Attestation attestation = attestations.get(index);
+                final AttestationProcessingResult result = results.get(index);
+                if (!result.isInvalid()) {
+                  dutyMetrics.onAttestationPublished(attestation.getData().getSlot());
+                  performanceTracker.saveProducedAttestation(attestation);
+                } else {
+                  VALIDATOR_LOGGER.producedInvalidAttestation(
+                      attestation.getData().getSlot(), result.getInvalidReason());
+                  errors.add(new SubmitDataError(UInt64.valueOf(index), result.getInvalidReason()));
+                }
+              }
+              return errors;
+            });
+  }
+
   @Override
   public void sendAggregateAndProof(final SignedAggregateAndProof aggregateAndProof) {
     attestationManager
@@ -486,6 +504,30 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
                     aggregateAndProof.getMessage().getAggregate().getData().getSlot()));
   }
 
+  @Override
+  public SafeFuture<List<SubmitDataError>> sendAggregateAndProofs(
+      final List<SignedAggregateAndProof> aggregateAndProofs) {
+    return attestationManager
+        .onAttestations(
+            aggregateAndProofs.stream()
+                .map(aggregate -> ValidateableAttestation.aggregateFromValidator(spec, aggregate))
+                .collect(toList()))
+        .thenApply(
+            results -> {
+              final List<SubmitDataError> errors = new ArrayList<>();
+              for (int index = 0; index < results.size(); index++) {
+                final AttestationProcessingResult result = results.get(index);
+                if (result.isInvalid()) {
+                  VALIDATOR_LOGGER.producedInvalidAggregate(
+                      aggregateAndProofs.get(index).getMessage().getAggregate().getData().getSlot(),
+                      result.getInvalidReason());
+                  errors.add(new SubmitDataError(UInt64.valueOf(index), result.getInvalidReason()));
+                }
+              }
+              return errors;
+            });
+  }
+
   @Override
   public SafeFuture<SendSignedBlockResult> sendSignedBlock(final SignedBeaconBlock block) {
     performanceTracker.saveProducedBlock(block);
@@ -517,7 +559,7 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
   }
 
   @Override
-  public SafeFuture<List<SubmitCommitteeSignatureError>> sendSyncCommitteeSignatures(
+  public SafeFuture<List<SubmitDataError>> sendSyncCommitteeSignatures(
       final List<SyncCommitteeSignature> syncCommitteeSignatures) {
 
     final List<SafeFuture<InternalValidationResult>> addedSignatures =
@@ -542,11 +584,11 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
             });
   }
 
-  private List<SubmitCommitteeSignatureError> getSendSyncCommitteesResultFromFutures(
+  private List<SubmitDataError> getSendSyncCommitteesResultFromFutures(
       final List<InternalValidationResult> internalValidationResults) {
-    final List<SubmitCommitteeSignatureError> errorList = new ArrayList<>();
+    final List<SubmitDataError> errorList = new ArrayList<>();
     for (int index = 0; index < internalValidationResults.size(); index++) {
-      final Optional<SubmitCommitteeSignatureError> maybeError =
+      final Optional<SubmitDataError> maybeError =
           fromInternalValidationResult(internalValidationResults.get(index), index);
       maybeError.ifPresent(errorList::add);
     }
@@ -571,13 +613,13 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
             });
   }
 
-  private Optional<SubmitCommitteeSignatureError> fromInternalValidationResult(
+  private Optional<SubmitDataError> fromInternalValidationResult(
       final InternalValidationResult internalValidationResult, final int resultIndex) {
     if (!internalValidationResult.isReject()) {
       return Optional.empty();
     }
     return Optional.of(
-        new SubmitCommitteeSignatureError(
+        new SubmitDataError(
             UInt64.valueOf(resultIndex),
             internalValidationResult.getDescription().orElse("Rejected")));
   }
@@ -586,138 +628,4 @@ public class ValidatorApiHandler implements ValidatorApiChannel {
   boolean isSyncActive() {
     return !syncStateProvider.getCurrentSyncState().isInSync();
   }
-
-  private ProposerDuties getProposerDutiesFromIndexesAndState(
-      final BeaconState state, final UInt64 epoch) {
-    final List<ProposerDuty> result = getProposalSlotsForEpoch(state, epoch);
-    return new ProposerDuties(
-        spec.atEpoch(epoch).getBeaconStateUtil().getCurrentDutyDependentRoot(state), result);
-  }
-
-  private AttesterDuties getAttesterDutiesFromIndexesAndState(
-      final BeaconState state, final UInt64 epoch, final Collection<Integer> validatorIndexes) {
-    final Bytes32 dependentRoot =
-        epoch.isGreaterThan(spec.getCurrentEpoch(state))
-            ? spec.atEpoch(epoch).getBeaconStateUtil().getCurrentDutyDependentRoot(state)
-            : spec.atEpoch(epoch).getBeaconStateUtil().getPreviousDutyDependentRoot(state);
-    return new AttesterDuties(
-        dependentRoot,
-        validatorIndexes.stream()
-            .map(index -> createAttesterDuties(state, epoch, index))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .collect(toList()));
-  }
-
-  private Optional<AttesterDuty> createAttesterDuties(
-      final BeaconState state, final UInt64 epoch, final Integer validatorIndex) {
-
-    return combine(
-        spec.getValidatorPubKey(state, UInt64.valueOf(validatorIndex)),
-        spec.getCommitteeAssignment(state, epoch, validatorIndex),
-        (pkey, committeeAssignment) -> {
-          final UInt64 committeeCountPerSlot = spec.getCommitteeCountPerSlot(state, epoch);
-          return new AttesterDuty(
-              pkey,
-              validatorIndex,
-              committeeAssignment.getCommittee().size(),
-              committeeAssignment.getCommitteeIndex().intValue(),
-              committeeCountPerSlot.intValue(),
-              committeeAssignment.getCommittee().indexOf(validatorIndex),
-              committeeAssignment.getSlot());
-        });
-  }
-
-  private SafeFuture<Optional<BeaconState>> getStateForCommitteeDuties(
-      final SpecVersion specVersion, final UInt64 epoch) {
-    final Optional<SyncCommitteeUtil> maybeSyncCommitteeUtil = specVersion.getSyncCommitteeUtil();
-    if (maybeSyncCommitteeUtil.isEmpty()) {
-      return SafeFuture.completedFuture(Optional.empty());
-    }
-    final SyncCommitteeUtil syncCommitteeUtil = maybeSyncCommitteeUtil.get();
-    final Optional<BeaconState> maybeBestState = combinedChainDataClient.getBestState();
-    if (maybeBestState.isEmpty()) {
-      return SafeFuture.completedFuture(Optional.empty());
-    }
-    final BeaconState bestState = maybeBestState.get();
-    if (syncCommitteeUtil.isStateUsableForCommitteeCalculationAtEpoch(bestState, epoch)) {
-      return SafeFuture.completedFuture(maybeBestState);
-    }
-
-    final UInt64 lastQueryableEpoch =
-        syncCommitteeUtil.computeLastEpochOfNextSyncCommitteePeriod(
-            combinedChainDataClient.getCurrentEpoch());
-    if (lastQueryableEpoch.isLessThan(epoch)) {
-      return SafeFuture.failedFuture(
-          new IllegalArgumentException(
-              "Cannot calculate sync committee duties for epoch "
-                  + epoch
-                  + " because it is not within the current or next sync committee periods"));
-    }
-
-    final UInt64 requiredEpoch;
-    final UInt64 stateEpoch = spec.getCurrentEpoch(bestState);
-    if (epoch.isGreaterThan(stateEpoch)) {
-      // Use the earliest possible epoch since we'll need to process empty slots
-      requiredEpoch = syncCommitteeUtil.getMinEpochForSyncCommitteeAssignments(epoch);
-    } else {
-      // Use the latest possible epoch since it's most likely to still be in memory
-      requiredEpoch = syncCommitteeUtil.computeLastEpochOfCurrentSyncCommitteePeriod(epoch);
-    }
-    return combinedChainDataClient.getStateAtSlotExact(spec.computeStartSlotAtEpoch(requiredEpoch));
-  }
-
-  private SyncCommitteeDuties getSyncCommitteeDutiesFromIndexesAndState(
-      final Optional<BeaconState> maybeState,
-      final UInt64 epoch,
-      final Collection<Integer> validatorIndices) {
-    if (maybeState.isEmpty()) {
-      return new SyncCommitteeDuties(List.of());
-    }
-    final BeaconState state = maybeState.get();
-    return new SyncCommitteeDuties(
-        validatorIndices.stream()
-            .flatMap(validatorIndex -> getSyncCommitteeDuty(state, epoch, validatorIndex).stream())
-            .collect(toList()));
-  }
-
-  private Optional<SyncCommitteeDuty> getSyncCommitteeDuty(
-      final BeaconState state, final UInt64 epoch, final Integer validatorIndex) {
-    final Optional<SyncCommitteeUtil> syncCommitteeUtil =
-        spec.atEpoch(epoch).getSyncCommitteeUtil();
-    final Set<Integer> duties =
-        syncCommitteeUtil
-            .map(util -> util.getCommitteeIndices(state, epoch, UInt64.valueOf(validatorIndex)))
-            .orElse(Collections.emptySet());
-
-    if (duties.isEmpty()) {
-      return Optional.empty();
-    }
-
-    return Optional.of(
-        new SyncCommitteeDuty(
-            state.getValidators().get(validatorIndex).getPublicKey(), validatorIndex, duties));
-  }
-
-  private static <A, B, R> Optional<R> combine(
-      Optional<A> a, Optional<B> b, BiFunction<A, B, R> fun) {
-    if (a.isEmpty() || b.isEmpty()) {
-      return Optional.empty();
-    }
-    return Optional.ofNullable(fun.apply(a.get(), b.get()));
-  }
-
-  private List<ProposerDuty> getProposalSlotsForEpoch(final BeaconState state, final UInt64 epoch) {
-    final UInt64 epochStartSlot = spec.computeStartSlotAtEpoch(epoch);
-    final UInt64 startSlot = epochStartSlot.max(GENESIS_SLOT.increment());
-    final UInt64 endSlot = epochStartSlot.plus(spec.slotsPerEpoch(epoch));
-    final List<ProposerDuty> proposerSlots = new ArrayList<>();
-    for (UInt64 slot = startSlot; slot.compareTo(endSlot) < 0; slot = slot.plus(UInt64.ONE)) {
-      final int proposerIndex = spec.getBeaconProposerIndex(state, slot);
-      final BLSPublicKey publicKey =
-          spec.getValidatorPubKey(state, UInt64.valueOf(proposerIndex)).orElseThrow();
-      proposerSlots.add(new ProposerDuty(publicKey, proposerIndex, slot));
-    }
-    return proposerSlots;
-  }
 }
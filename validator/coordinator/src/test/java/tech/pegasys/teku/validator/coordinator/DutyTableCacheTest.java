@@ -0,0 +1,285 @@
+/*
+ * Copyright 2021 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package tech.pegasys.teku.validator.coordinator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static tech.pegasys.teku.infrastructure.async.SafeFuture.completedFuture;
+import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ONE;
+import static tech.pegasys.teku.infrastructure.unsigned.UInt64.ZERO;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import tech.pegasys.teku.infrastructure.async.SafeFuture;
+import tech.pegasys.teku.infrastructure.unsigned.UInt64;
+import tech.pegasys.teku.spec.Spec;
+import tech.pegasys.teku.spec.TestSpecFactory;
+import tech.pegasys.teku.spec.config.SpecConfig;
+import tech.pegasys.teku.spec.datastructures.blocks.StateAndBlockSummary;
+import tech.pegasys.teku.spec.datastructures.state.CommitteeAssignment;
+import tech.pegasys.teku.spec.datastructures.state.Validator;
+import tech.pegasys.teku.spec.datastructures.state.beaconstate.BeaconState;
+import tech.pegasys.teku.spec.util.DataStructureUtil;
+import tech.pegasys.teku.ssz.SszMutableList;
+import tech.pegasys.teku.storage.api.ReorgContext;
+import tech.pegasys.teku.storage.client.CombinedChainDataClient;
+import tech.pegasys.teku.validator.api.AttesterDuties;
+import tech.pegasys.teku.validator.api.AttesterDuty;
+import tech.pegasys.teku.validator.api.ProposerDuties;
+
+class DutyTableCacheTest {
+  private static final UInt64 EPOCH = UInt64.valueOf(13);
+  private static final UInt64 PREVIOUS_EPOCH = EPOCH.minus(ONE);
+  private static final int VALIDATOR_COUNT = 64;
+
+  private final Spec spec = TestSpecFactory.createMinimalAltair();
+  private final UInt64 previousEpochStartSlot = spec.computeStartSlotAtEpoch(PREVIOUS_EPOCH);
+  private final DataStructureUtil dataStructureUtil = new DataStructureUtil(spec);
+  private final CombinedChainDataClient chainDataClient = mock(CombinedChainDataClient.class);
+
+  private final BeaconState headState = createStateWithActiveValidators(previousEpochStartSlot);
+  private final List<Integer> allValidators =
+      IntStream.range(0, VALIDATOR_COUNT).boxed().collect(Collectors.toList());
+
+  private final DutyTableCache dutyTableCache = new DutyTableCache(spec, chainDataClient);
+
+  @Test
+  void getAttesterDutyTable_shouldMatchCommitteeAssignments() {
+    withChainHead(headState);
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(headState)));
+
+    final AttesterDuties duties = getAttesterDuties(EPOCH);
+
+    final UInt64 committeesPerSlot = spec.getCommitteeCountPerSlot(headState, EPOCH);
+    assertThat(duties.getDependentRoot()).isEqualTo(spec.getCurrentDutyDependentRoot(headState));
+    assertThat(duties.getDuties()).hasSize(VALIDATOR_COUNT);
+    for (AttesterDuty duty : duties.getDuties()) {
+      final CommitteeAssignment assignment =
+          spec.getCommitteeAssignment(headState, EPOCH, duty.getValidatorIndex()).orElseThrow();
+      assertThat(duty.getSlot()).isEqualTo(assignment.getSlot());
+      assertThat(duty.getCommitteeIndex()).isEqualTo(assignment.getCommitteeIndex().intValue());
+      assertThat(duty.getCommitteeLength()).isEqualTo(assignment.getCommittee().size());
+      assertThat(duty.getValidatorCommitteeIndex())
+          .isEqualTo(assignment.getCommittee().indexOf(duty.getValidatorIndex()));
+      assertThat(duty.getCommitteesAtSlot()).isEqualTo(committeesPerSlot.intValue());
+    }
+  }
+
+  @Test
+  void getAttesterDutyTable_shouldSkipUnknownValidators() {
+    withChainHead(headState);
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(headState)));
+
+    final AttesterDuties duties =
+        dutyTableCache
+            .getAttesterDutyTable(EPOCH)
+            .join()
+            .orElseThrow()
+            .getDuties(List.of(-1, 1, VALIDATOR_COUNT, Integer.MAX_VALUE / 2));
+    assertThat(duties.getDuties()).extracting(AttesterDuty::getValidatorIndex).containsExactly(1);
+  }
+
+  @Test
+  void getAttesterDutyTable_shouldReuseTableForSameDependentRoot() {
+    withChainHead(headState);
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(headState)));
+
+    final AttesterDuties first = getAttesterDuties(EPOCH);
+    final AttesterDuties second = getAttesterDuties(EPOCH);
+
+    assertThat(second).isEqualTo(first);
+    verify(chainDataClient, times(1)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void getAttesterDutyTable_shouldShareCalculationBetweenConcurrentRequests() {
+    withChainHead(headState);
+    final SafeFuture<Optional<BeaconState>> stateFuture = new SafeFuture<>();
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot)).thenReturn(stateFuture);
+
+    final SafeFuture<Optional<AttesterDutyTable>> first =
+        dutyTableCache.getAttesterDutyTable(EPOCH);
+    final SafeFuture<Optional<AttesterDutyTable>> second =
+        dutyTableCache.getAttesterDutyTable(EPOCH);
+    assertThat(first).isNotDone();
+
+    stateFuture.complete(Optional.of(headState));
+    assertThat(first.join()).containsSame(second.join().orElseThrow());
+    verify(chainDataClient, times(1)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void getAttesterDutyTable_shouldNotCacheTableFromDifferentFork() {
+    withChainHead(headState);
+    final UInt64 dependentSlot = previousEpochStartSlot.minus(1);
+    final BeaconState forkState =
+        headState.updated(
+            state ->
+                state
+                    .getBlock_roots()
+                    .setElement(
+                        dependentSlot.mod(spec.getSlotsPerHistoricalRoot(dependentSlot)).intValue(),
+                        dataStructureUtil.randomBytes32()));
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(forkState)));
+
+    getAttesterDuties(EPOCH);
+    getAttesterDuties(EPOCH);
+
+    verify(chainDataClient, times(2)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void getAttesterDutyTable_shouldNotCacheWhenStateUnavailable() {
+    withChainHead(headState);
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.empty()));
+
+    assertThat(dutyTableCache.getAttesterDutyTable(EPOCH).join()).isEmpty();
+    assertThat(dutyTableCache.getAttesterDutyTable(EPOCH).join()).isEmpty();
+
+    verify(chainDataClient, times(2)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void getAttesterDutyTable_shouldNotCacheWhenChainHeadUnavailable() {
+    when(chainDataClient.getChainHead()).thenReturn(Optional.empty());
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(headState)));
+
+    getAttesterDuties(EPOCH);
+    getAttesterDuties(EPOCH);
+
+    verify(chainDataClient, times(2)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void chainHeadUpdated_shouldDropTablesDependingOnReorgedBlocks() {
+    withChainHead(headState);
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(headState)));
+    getAttesterDuties(EPOCH);
+
+    final UInt64 dependentSlot = previousEpochStartSlot.minus(1);
+    reorg(dependentSlot);
+    getAttesterDuties(EPOCH);
+    verify(chainDataClient, times(1)).getStateAtSlotExact(any());
+
+    reorg(dependentSlot.minus(1));
+    getAttesterDuties(EPOCH);
+    verify(chainDataClient, times(2)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void chainHeadUpdated_shouldDropTablesForOldEpochsOnEpochTransition() {
+    withChainHead(headState);
+    when(chainDataClient.getStateAtSlotExact(previousEpochStartSlot))
+        .thenReturn(completedFuture(Optional.of(headState)));
+    getAttesterDuties(EPOCH);
+
+    dutyTableCache.chainHeadUpdated(
+        spec.computeStartSlotAtEpoch(EPOCH.plus(1)),
+        Bytes32.ZERO,
+        Bytes32.ZERO,
+        true,
+        Bytes32.ZERO,
+        Bytes32.ZERO,
+        Optional.empty());
+    getAttesterDuties(EPOCH);
+    verify(chainDataClient, times(1)).getStateAtSlotExact(any());
+
+    dutyTableCache.chainHeadUpdated(
+        spec.computeStartSlotAtEpoch(EPOCH.plus(2)),
+        Bytes32.ZERO,
+        Bytes32.ZERO,
+        true,
+        Bytes32.ZERO,
+        Bytes32.ZERO,
+        Optional.empty());
+    getAttesterDuties(EPOCH);
+    verify(chainDataClient, times(2)).getStateAtSlotExact(any());
+  }
+
+  @Test
+  void getProposerDutyTable_shouldReuseTableForSameDependentRoot() {
+    final BeaconState state = createStateWithActiveValidators(spec.computeStartSlotAtEpoch(EPOCH));
+    withChainHead(state);
+    when(chainDataClient.getStateAtSlotExact(spec.computeStartSlotAtEpoch(EPOCH)))
+        .thenReturn(completedFuture(Optional.of(state)));
+
+    final ProposerDuties first =
+        dutyTableCache.getProposerDutyTable(EPOCH).join().orElseThrow().getDuties();
+    final ProposerDuties second =
+        dutyTableCache.getProposerDutyTable(EPOCH).join().orElseThrow().getDuties();
+
+    assertThat(first.getDependentRoot()).isEqualTo(spec.getCurrentDutyDependentRoot(state));
+    assertThat(first.getDuties()).hasSize(spec.slotsPerEpoch(EPOCH));
+    assertThat(second).isSameAs(first);
+    verify(chainDataClient, times(1)).getStateAtSlotExact(any());
+  }
+
+  private AttesterDuties getAttesterDuties(final UInt64 epoch) {
+    return dutyTableCache.getAttesterDutyTable(epoch).join().orElseThrow().getDuties(allValidators);
+  }
+
+  private void withChainHead(final BeaconState state) {
+    when(chainDataClient.getChainHead())
+        .thenReturn(Optional.of(StateAndBlockSummary.create(state)));
+  }
+
+  private void reorg(final UInt64 commonAncestorSlot) {
+    dutyTableCache.chainHeadUpdated(
+        headState.getSlot(),
+        headState.hashTreeRoot(),
+        dataStructureUtil.randomBytes32(),
+        false,
+        Bytes32.ZERO,
+        Bytes32.ZERO,
+        ReorgContext.of(
+            dataStructureUtil.randomBytes32(),
+            dataStructureUtil.randomBytes32(),
+            commonAncestorSlot));
+  }
+
+  private BeaconState createStateWithActiveValidators(final UInt64 slot) {
+    return dataStructureUtil
+        .randomBeaconState(VALIDATOR_COUNT)
+        .updated(
+            state -> {
+              state.setSlot(slot);
+              final SszMutableList<Validator> validators = state.getValidators();
+              for (int i = 0; i < validators.size(); i++) {
+                validators.update(
+                    i,
+                    validator ->
+                        validator
+                            .withActivation_eligibility_epoch(ZERO)
+                            .withActivation_epoch(ZERO)
+                            .withExit_epoch(SpecConfig.FAR_FUTURE_EPOCH)
+                            .withWithdrawable_epoch(SpecConfig.FAR_FUTURE_EPOCH));
+              }
+            });
+  }
+}
@@ -89,7 +89,7 @@ import tech.pegasys.teku.validator.api.NodeSyncingException;
 import tech.pegasys.teku.validator.api.ProposerDuties;
 import tech.pegasys.teku.validator.api.ProposerDuty;
 import tech.pegasys.teku.validator.api.SendSignedBlockResult;
-import tech.pegasys.teku.validator.api.SubmitCommitteeSignatureError;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.SyncCommitteeDuties;
 import tech.pegasys.teku.validator.api.SyncCommitteeSubnetSubscription;
 import tech.pegasys.teku.validator.coordinator.performance.DefaultPerformanceTracker;
@@ -143,7 +143,8 @@ class ValidatorApiHandlerTest {
           forkChoiceTrigger,
           syncCommitteeSignaturePool,
           syncCommitteeContributionPool,
-          syncCommitteeSubscriptionManager);
+          syncCommitteeSubscriptionManager,
+          new DutyTableCache(spec, chainDataClient));
 
   @BeforeEach
   public void setUp() {
@@ -388,7 +389,8 @@ class ValidatorApiHandlerTest {
             forkChoiceTrigger,
             syncCommitteeSignaturePool,
             syncCommitteeContributionPool,
-            syncCommitteeSubscriptionManager);
+            syncCommitteeSubscriptionManager,
+            new DutyTableCache(spec, chainDataClient));
     // Best state is still in Phase0
     final BeaconState state =
         dataStructureUtil.stateBuilderPhase0().slot(PREVIOUS_EPOCH_START_SLOT.minus(1)).build();
@@ -649,6 +651,42 @@ class ValidatorApiHandlerTest {
     verify(performanceTracker, never()).saveProducedAttestation(attestation);
   }
 
+  @Test
+  void sendSignedAttestations_shouldProcessAllAttestationsTogetherAndReportInvalidOnes() {
+    final Attestation attestation1 = dataStructureUtil.randomAttestation();
+    final Attestation attestation2 = dataStructureUtil.randomAttestation();
+    when(attestationManager.onAttestations(any()))
+        .thenReturn(
+            completedFuture(List.of(SUCCESSFUL, AttestationProcessingResult.invalid("Bad juju"))));
+
+    final SafeFuture<List<SubmitDataError>> result =
+        validatorApiHandler.sendSignedAttestations(List.of(attestation1, attestation2));
+
+    assertThat(result).isCompletedWithValue(List.of(new SubmitDataError(UInt64.ONE, "Bad juju")));
+    verify(attestationManager)
+        .onAttestations(
+            List.of(
+                ValidateableAttestation.from(spec, attestation1),
+                ValidateableAttestation.from(spec, attestation2)));
+    verify(dutyMetrics).onAttestationPublished(attestation1.getData().getSlot());
+    verify(performanceTracker).saveProducedAttestation(attestation1);
+    verify(performanceTracker, never()).saveProducedAttestation(attestation2);
+  }
+
+  @Test
+  void sendAggregateAndProofs_shouldReportInvalidAggregates() {
+    final SignedAggregateAndProof aggregate1 = dataStructureUtil.randomSignedAggregateAndProof();
+    final SignedAggregateAndProof aggregate2 = dataStructureUtil.randomSignedAggregateAndProof();
+    when(attestationManager.onAttestations(any()))
+        .thenReturn(
+            completedFuture(List.of(AttestationProcessingResult.invalid("Bad juju"), SUCCESSFUL)));
+
+    final SafeFuture<List<SubmitDataError>> result =
+        validatorApiHandler.sendAggregateAndProofs(List.of(aggregate1, aggregate2));
+
+    assertThat(result).isCompletedWithValue(List.of(new SubmitDataError(UInt64.ZERO, "Bad juju")));
+  }
+
   @Test
   public void sendSignedBlock_shouldConvertSuccessfulResult() {
     final SignedBeaconBlock block = dataStructureUtil.randomSignedBeaconBlock(5);
@@ -726,7 +764,7 @@ class ValidatorApiHandlerTest {
   @Test
   void sendSyncCommitteeSignatures_shouldAllowEmptyRequest() {
     final List<SyncCommitteeSignature> signatures = List.of();
-    final SafeFuture<List<SubmitCommitteeSignatureError>> result =
+    final SafeFuture<List<SubmitDataError>> result =
         validatorApiHandler.sendSyncCommitteeSignatures(signatures);
     assertThat(result).isCompleted();
   }
@@ -737,7 +775,7 @@ class ValidatorApiHandlerTest {
     final List<SyncCommitteeSignature> signatures = List.of(signature);
     when(syncCommitteeSignaturePool.add(any()))
         .thenReturn(SafeFuture.completedFuture(InternalValidationResult.ACCEPT));
-    final SafeFuture<List<SubmitCommitteeSignatureError>> result =
+    final SafeFuture<List<SubmitDataError>> result =
         validatorApiHandler.sendSyncCommitteeSignatures(signatures);
     assertThat(result).isCompletedWithValue(emptyList());
     verify(performanceTracker).saveProducedSyncCommitteeSignature(signature);
@@ -751,10 +789,9 @@ class ValidatorApiHandlerTest {
         .thenReturn(
             SafeFuture.completedFuture(
                 InternalValidationResult.create(ValidationResultCode.REJECT, "Rejected")));
-    final SafeFuture<List<SubmitCommitteeSignatureError>> result =
+    final SafeFuture<List<SubmitDataError>> result =
         validatorApiHandler.sendSyncCommitteeSignatures(signatures);
-    assertThat(result)
-        .isCompletedWithValue(List.of(new SubmitCommitteeSignatureError(UInt64.ZERO, "Rejected")));
+    assertThat(result).isCompletedWithValue(List.of(new SubmitDataError(UInt64.ZERO, "Rejected")));
     verify(performanceTracker, never()).saveProducedSyncCommitteeSignature(signature);
   }
 
@@ -32,7 +32,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.tuweni.bytes.Bytes32;
 import tech.pegasys.teku.api.SchemaObjectProvider;
-import tech.pegasys.teku.api.response.v1.beacon.PostSyncCommitteeFailureResponse;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.api.response.v1.beacon.ValidatorResponse;
 import tech.pegasys.teku.api.response.v1.beacon.ValidatorStatus;
 import tech.pegasys.teku.api.response.v1.validator.PostSyncDutiesResponse;
@@ -61,7 +61,7 @@ import tech.pegasys.teku.validator.api.CommitteeSubscriptionRequest;
 import tech.pegasys.teku.validator.api.ProposerDuties;
 import tech.pegasys.teku.validator.api.ProposerDuty;
 import tech.pegasys.teku.validator.api.SendSignedBlockResult;
-import tech.pegasys.teku.validator.api.SubmitCommitteeSignatureError;
+import tech.pegasys.teku.validator.api.SubmitDataError;
 import tech.pegasys.teku.validator.api.SyncCommitteeDuties;
 import tech.pegasys.teku.validator.api.SyncCommitteeDuty;
 import tech.pegasys.teku.validator.api.SyncCommitteeSubnetSubscription;
@@ -253,6 +253,21 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
     sendSignedAttestation(attestation);
   }
 
+  @Override
+  public SafeFuture<List<SubmitDataError>> sendSignedAttestations(
+      final List<Attestation> attestations) {
+    final List<tech.pegasys.teku.api.schema.Attestation> schemaAttestations =
+        attestations.stream()
+            .map(tech.pegasys.teku.api.schema.Attestation::new)
+            .collect(Collectors.toList());
+    return sendRequest(
+        () ->
+            apiClient
+                .sendSignedAttestations(schemaAttestations)
+                .map(this::responseToSubmitDataErrors)
+                .orElse(emptyList()));
+  }
+
   @Override
   public SafeFuture<Optional<BeaconBlock>> createUnsignedBlock(
       final UInt64 slot, final BLSSignature randaoReveal, final Optional<Bytes32> graffiti) {
@@ -274,7 +289,7 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
   }
 
   @Override
-  public SafeFuture<List<SubmitCommitteeSignatureError>> sendSyncCommitteeSignatures(
+  public SafeFuture<List<SubmitDataError>> sendSyncCommitteeSignatures(
       final List<SyncCommitteeSignature> syncCommitteeSignatures) {
     return sendRequest(
         () ->
@@ -290,7 +305,7 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
                                     new tech.pegasys.teku.api.schema.BLSSignature(
                                         signature.getSignature())))
                         .collect(Collectors.toList()))
-                .map(this::responseToSyncCommitteeSignatures)
+                .map(this::responseToSubmitDataErrors)
                 .orElse(emptyList()));
   }
 
@@ -331,10 +346,10 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
         new tech.pegasys.teku.api.schema.BLSSignature(contribution.getSignature()));
   }
 
-  private List<SubmitCommitteeSignatureError> responseToSyncCommitteeSignatures(
-      final PostSyncCommitteeFailureResponse postSyncCommitteeFailureResponse) {
-    return postSyncCommitteeFailureResponse.failures.stream()
-        .map(i -> new SubmitCommitteeSignatureError(i.index, i.message))
+  private List<SubmitDataError> responseToSubmitDataErrors(
+      final PostDataFailureResponse postDataFailureResponse) {
+    return postDataFailureResponse.failures.stream()
+        .map(i -> new SubmitDataError(i.index, i.message))
         .collect(Collectors.toList());
   }
 
@@ -372,6 +387,21 @@ public class RemoteValidatorApiHandler implements ValidatorApiChannel {
         .finish(error -> LOG.error("Failed to send aggregate and proof", error));
   }
 
+  @Override
+  public SafeFuture<List<SubmitDataError>> sendAggregateAndProofs(
+      final List<SignedAggregateAndProof> aggregateAndProofs) {
+    final List<tech.pegasys.teku.api.schema.SignedAggregateAndProof> schemaAggregateAndProofs =
+        aggregateAndProofs.stream()
+            .map(tech.pegasys.teku.api.schema.SignedAggregateAndProof::new)
+            .collect(Collectors.toList());
+    return sendRequest(
+        () ->
+            apiClient
+                .sendAggregateAndProofs(schemaAggregateAndProofs)
+                .map(this::responseToSubmitDataErrors)
+                .orElse(emptyList()));
+  }
+
   @Override
   public void subscribeToBeaconCommittee(final List<CommitteeSubscriptionRequest> requests) {
     sendRequest(() -> apiClient.subscribeToBeaconCommittee(requests))
@@ -14,6 +14,7 @@
 package tech.pegasys.teku.validator.remote.apiclient;
 
 import static java.util.Collections.emptyMap;
+import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_BAD_REQUEST;
 import static tech.pegasys.teku.infrastructure.http.HttpStatusCodes.SC_NOT_FOUND;
 import static tech.pegasys.teku.validator.remote.apiclient.ValidatorApiMethod.GET_AGGREGATE;
 import static tech.pegasys.teku.validator.remote.apiclient.ValidatorApiMethod.GET_ATTESTATION_DATA;
@@ -61,7 +62,7 @@ import tech.pegasys.teku.api.request.v1.validator.BeaconCommitteeSubscriptionReq
 import tech.pegasys.teku.api.response.v1.beacon.GetBlockHeaderResponse;
 import tech.pegasys.teku.api.response.v1.beacon.GetGenesisResponse;
 import tech.pegasys.teku.api.response.v1.beacon.GetStateValidatorsResponse;
-import tech.pegasys.teku.api.response.v1.beacon.PostSyncCommitteeFailureResponse;
+import tech.pegasys.teku.api.response.v1.beacon.PostDataFailureResponse;
 import tech.pegasys.teku.api.response.v1.beacon.ValidatorResponse;
 import tech.pegasys.teku.api.response.v1.config.GetSpecResponse;
 import tech.pegasys.teku.api.response.v1.validator.GetAggregatedAttestationResponse;
@@ -205,6 +206,12 @@ public class OkHttpValidatorRestApiClient implements ValidatorRestApiClient {
     post(SEND_SIGNED_ATTESTATION, List.of(attestation), createHandler());
   }
 
+  @Override
+  public Optional<PostDataFailureResponse> sendSignedAttestations(
+      final List<Attestation> attestations) {
+    return post(SEND_SIGNED_ATTESTATION, attestations, createPostDataHandler());
+  }
+
   @Override
   public void sendVoluntaryExit(final SignedVoluntaryExit voluntaryExit) {
     post(SEND_SIGNED_VOLUNTARY_EXIT, voluntaryExit, createHandler());
@@ -226,8 +233,9 @@ public class OkHttpValidatorRestApiClient implements ValidatorRestApiClient {
   }
 
   @Override
-  public void sendAggregateAndProofs(final List<SignedAggregateAndProof> signedAggregateAndProof) {
-    post(SEND_SIGNED_AGGREGATE_AND_PROOF, signedAggregateAndProof, createHandler());
+  public Optional<PostDataFailureResponse> sendAggregateAndProofs(
+      final List<SignedAggregateAndProof> signedAggregateAndProof) {
+    return post(SEND_SIGNED_AGGREGATE_AND_PROOF, signedAggregateAndProof, createPostDataHandler());
   }
 
   @Override
@@ -252,12 +260,9 @@ public class OkHttpValidatorRestApiClient implements ValidatorRestApiClient {
   }
 
   @Override
-  public Optional<PostSyncCommitteeFailureResponse> sendSyncCommitteeSignatures(
+  public Optional<PostDataFailureResponse> sendSyncCommitteeSignatures(
       final List<SyncCommitteeSignature> syncCommitteeSignatures) {
-    return post(
-        SEND_SYNC_COMMITTEE_SIGNATURES,
-        syncCommitteeSignatures,
-        createHandler(PostSyncCommitteeFailureResponse.class));
+    return post(SEND_SYNC_COMMITTEE_SIGNATURES, syncCommitteeSignatures, createPostDataHandler());
   }
 
   @Override
@@ -310,6 +315,30 @@ public class OkHttpValidatorRestApiClient implements ValidatorRestApiClient {
     return new ResponseHandler<>(jsonProvider, responseClass);
   }
 
+  private ResponseHandler<PostDataFailureResponse> createPostDataHandler() {
+    return createHandler(PostDataFailureResponse.class)
+        .withHandler(
+            SC_BAD_REQUEST,
+            (request, response) -> {
+              final String body = response.body().string();
+              try {
+                final PostDataFailureResponse failureResponse =
+                    jsonProvider.jsonToObject(body, PostDataFailureResponse.class);
+                if (failureResponse.failures != null) {
+                  return Optional.of(failureResponse);
+                }
+              } catch (final JsonProcessingException e) {
+                LOG.trace("Bad request response did not list individual failures", e);
+              }
+              throw new IllegalArgumentException(
+                  "Invalid params response from Beacon Node API (url = "
+                      + request.url()
+                      + ", response = "
+                      + body
+                      + ")");
+            });
+  }
+
   public <T> Optional<T> get(
       final ValidatorApiMethod apiMethod,
       final Map<String, String> queryParams,